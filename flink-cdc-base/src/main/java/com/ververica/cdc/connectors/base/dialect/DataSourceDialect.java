@@ -72,4 +72,15 @@ public interface DataSourceDialect<ID extends DataCollectionId, S, C extends Sou
 
     /** The task context used for fetch task to fetch data from external systems. */
     FetchTask.Context createFetchTaskContext(SourceSplitBase sourceSplitBase);
+
+    /**
+     * Notifies the dialect that a checkpoint which contains the given offset of the stream split
+     * has completed. The data source can release the change log before the offset, e.g. the
+     * PostgreSQL dialect confirms the LSN of the replication slot.
+     *
+     * @param checkpointId the id of the completed checkpoint.
+     * @param streamOffset the offset of the stream split stored in the completed checkpoint.
+     */
+    default void notifyCheckpointComplete(long checkpointId, Offset streamOffset)
+            throws Exception {}
 }
@@ -28,11 +28,18 @@ public class ConnectionPoolId implements Serializable {
     private final String host;
     private final int port;
     private final String username;
+    // the jdbc url distinguishes the databases of one server, e.g. PostgreSQL connects a database
+    private final String jdbcUrl;
 
     public ConnectionPoolId(String host, int port, String username) {
+        this(host, port, username, null);
+    }
+
+    public ConnectionPoolId(String host, int port, String username, String jdbcUrl) {
         this.host = host;
         this.port = port;
         this.username = username;
+        this.jdbcUrl = jdbcUrl;
     }
 
     @Override
@@ -46,12 +53,13 @@ public class ConnectionPoolId implements Serializable {
         ConnectionPoolId that = (ConnectionPoolId) o;
         return Objects.equals(host, that.host)
                 && Objects.equals(port, that.port)
-                && Objects.equals(username, that.username);
+                && Objects.equals(username, that.username)
+                && Objects.equals(jdbcUrl, that.jdbcUrl);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(host, port, username);
+        return Objects.hash(host, port, username, jdbcUrl);
     }
 
     @Override
@@ -52,7 +52,8 @@ public class JdbcConnectionFactory implements JdbcConnection.ConnectionFactory {
                 new ConnectionPoolId(
                         sourceConfig.getHostname(),
                         sourceConfig.getPort(),
-                        sourceConfig.getUsername());
+                        sourceConfig.getUsername(),
+                        jdbcConnectionPoolFactory.getJdbcUrl(sourceConfig));
 
         HikariDataSource dataSource =
                 JdbcConnectionPools.getInstance(jdbcConnectionPoolFactory)
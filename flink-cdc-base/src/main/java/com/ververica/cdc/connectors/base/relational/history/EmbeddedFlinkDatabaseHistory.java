@@ -16,7 +16,7 @@
  * limitations under the License.
  */
 
-package com.ververica.cdc.connectors.base.experimental;
+package com.ververica.cdc.connectors.base.relational.history;
 
 import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitState;
 import io.debezium.config.Configuration;
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.base.source.hybrid.enumerator;
+
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplit;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A checkpoint of the current state of {@link HybridSourceEnumerator}. It contains all necessary
+ * information that need to be restored in the enumerator.
+ *
+ * @param <SplitT> the type of the splits of the source.
+ */
+public class HybridPendingSplitsState<SplitT extends HybridSourceSplit> {
+
+    /** Whether the snapshot and stream splits have been created. */
+    private final boolean initialized;
+
+    /** The snapshot splits that have not been assigned yet. */
+    private final List<SplitT> remainingSnapshotSplits;
+
+    /** The ids of snapshot splits that have been assigned to the readers. */
+    private final Set<String> assignedSnapshotSplits;
+
+    /** The ids of snapshot splits that the readers reported as finished. */
+    private final Set<String> finishedSnapshotSplits;
+
+    /** The stream splits that have not been assigned yet. */
+    private final List<SplitT> remainingStreamSplits;
+
+    public HybridPendingSplitsState(
+            boolean initialized,
+            List<SplitT> remainingSnapshotSplits,
+            Set<String> assignedSnapshotSplits,
+            Set<String> finishedSnapshotSplits,
+            List<SplitT> remainingStreamSplits) {
+        this.initialized = initialized;
+        this.remainingSnapshotSplits = remainingSnapshotSplits;
+        this.assignedSnapshotSplits = assignedSnapshotSplits;
+        this.finishedSnapshotSplits = finishedSnapshotSplits;
+        this.remainingStreamSplits = remainingStreamSplits;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public List<SplitT> getRemainingSnapshotSplits() {
+        return remainingSnapshotSplits;
+    }
+
+    public Set<String> getAssignedSnapshotSplits() {
+        return assignedSnapshotSplits;
+    }
+
+    public Set<String> getFinishedSnapshotSplits() {
+        return finishedSnapshotSplits;
+    }
+
+    public List<SplitT> getRemainingStreamSplits() {
+        return remainingStreamSplits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HybridPendingSplitsState<?> that = (HybridPendingSplitsState<?>) o;
+        return initialized == that.initialized
+                && Objects.equals(remainingSnapshotSplits, that.remainingSnapshotSplits)
+                && Objects.equals(assignedSnapshotSplits, that.assignedSnapshotSplits)
+                && Objects.equals(finishedSnapshotSplits, that.finishedSnapshotSplits)
+                && Objects.equals(remainingStreamSplits, that.remainingStreamSplits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                initialized,
+                remainingSnapshotSplits,
+                assignedSnapshotSplits,
+                finishedSnapshotSplits,
+                remainingStreamSplits);
+    }
+
+    @Override
+    public String toString() {
+        return "HybridPendingSplitsState{"
+                + "initialized="
+                + initialized
+                + ", remainingSnapshotSplits="
+                + remainingSnapshotSplits
+                + ", assignedSnapshotSplits="
+                + assignedSnapshotSplits
+                + ", finishedSnapshotSplits="
+                + finishedSnapshotSplits
+                + ", remainingStreamSplits="
+                + remainingStreamSplits
+                + '}';
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.base.source.hybrid.enumerator;
+
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplit;
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplitSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@link SimpleVersionedSerializer Serializer} for the {@link HybridPendingSplitsState}.
+ *
+ * @param <SplitT> the type of the splits of the source.
+ */
+public class HybridPendingSplitsStateSerializer<SplitT extends HybridSourceSplit>
+        implements SimpleVersionedSerializer<HybridPendingSplitsState<SplitT>> {
+
+    private static final int VERSION = 1;
+    private static final ThreadLocal<DataOutputSerializer> SERIALIZER_CACHE =
+            ThreadLocal.withInitial(() -> new DataOutputSerializer(64));
+
+    private final HybridSourceSplitSerializer<SplitT> splitSerializer;
+
+    public HybridPendingSplitsStateSerializer(HybridSourceSplitSerializer<SplitT> splitSerializer) {
+        this.splitSerializer = splitSerializer;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(HybridPendingSplitsState<SplitT> state) throws IOException {
+        final DataOutputSerializer out = SERIALIZER_CACHE.get();
+        out.writeBoolean(state.isInitialized());
+        writeSplits(state.getRemainingSnapshotSplits(), out);
+        writeStrings(state.getAssignedSnapshotSplits(), out);
+        writeStrings(state.getFinishedSnapshotSplits(), out);
+        writeSplits(state.getRemainingStreamSplits(), out);
+        final byte[] result = out.getCopyOfBuffer();
+        out.clear();
+        return result;
+    }
+
+    @Override
+    public HybridPendingSplitsState<SplitT> deserialize(int version, byte[] serialized)
+            throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unknown version: " + version);
+        }
+        final DataInputDeserializer in = new DataInputDeserializer(serialized);
+        final boolean initialized = in.readBoolean();
+        final List<SplitT> remainingSnapshotSplits = readSplits(in);
+        final Set<String> assignedSnapshotSplits = readStrings(in);
+        final Set<String> finishedSnapshotSplits = readStrings(in);
+        final List<SplitT> remainingStreamSplits = readSplits(in);
+        return new HybridPendingSplitsState<>(
+                initialized,
+                remainingSnapshotSplits,
+                assignedSnapshotSplits,
+                finishedSnapshotSplits,
+                remainingStreamSplits);
+    }
+
+    private void writeSplits(List<SplitT> splits, DataOutputSerializer out) throws IOException {
+        out.writeInt(splits.size());
+        for (SplitT split : splits) {
+            splitSerializer.writeSplit(split, out);
+        }
+    }
+
+    private List<SplitT> readSplits(DataInputDeserializer in) throws IOException {
+        final int size = in.readInt();
+        final List<SplitT> splits = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            splits.add(splitSerializer.readSplit(in));
+        }
+        return splits;
+    }
+
+    private static void writeStrings(Collection<String> strings, DataOutputSerializer out)
+            throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            out.writeUTF(string);
+        }
+    }
+
+    private static Set<String> readStrings(DataInputDeserializer in) throws IOException {
+        final int size = in.readInt();
+        final Set<String> strings = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            strings.add(in.readUTF());
+        }
+        return strings;
+    }
+}
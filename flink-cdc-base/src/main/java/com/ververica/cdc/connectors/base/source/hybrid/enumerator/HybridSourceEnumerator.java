@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.base.source.hybrid.enumerator;
+
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+
+import com.ververica.cdc.connectors.base.source.hybrid.events.FinishedSnapshotSplitsAckEvent;
+import com.ververica.cdc.connectors.base.source.hybrid.events.FinishedSnapshotSplitsReportEvent;
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The base source enumerator of the sources which read all snapshot splits before the stream
+ * splits. The subclasses create the splits when the enumerator starts for the first time, the
+ * enumerator hands out the snapshot splits on request and the stream splits once all snapshot
+ * splits have been read.
+ *
+ * @param <SplitT> the type of the splits of the source.
+ */
+public abstract class HybridSourceEnumerator<SplitT extends HybridSourceSplit>
+        implements SplitEnumerator<SplitT, HybridPendingSplitsState<SplitT>> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HybridSourceEnumerator.class);
+
+    protected final SplitEnumeratorContext<SplitT> context;
+
+    private boolean initialized;
+    protected final List<SplitT> remainingSnapshotSplits;
+    private final Set<String> assignedSnapshotSplits;
+    private final Set<String> finishedSnapshotSplits;
+    protected final List<SplitT> remainingStreamSplits;
+
+    /** The readers that requested a split while no split could be assigned to them. */
+    private final TreeSet<Integer> awaitingReaders = new TreeSet<>();
+
+    /** The readers that have been assigned stream splits since this enumerator started. */
+    private final Set<Integer> streamReaders = new HashSet<>();
+
+    public HybridSourceEnumerator(
+            SplitEnumeratorContext<SplitT> context,
+            @Nullable HybridPendingSplitsState<SplitT> restoredState) {
+        this.context = context;
+        if (restoredState == null) {
+            this.initialized = false;
+            this.remainingSnapshotSplits = new ArrayList<>();
+            this.assignedSnapshotSplits = new HashSet<>();
+            this.finishedSnapshotSplits = new HashSet<>();
+            this.remainingStreamSplits = new ArrayList<>();
+        } else {
+            this.initialized = restoredState.isInitialized();
+            this.remainingSnapshotSplits =
+                    new ArrayList<>(restoredState.getRemainingSnapshotSplits());
+            this.assignedSnapshotSplits = new HashSet<>(restoredState.getAssignedSnapshotSplits());
+            this.finishedSnapshotSplits = new HashSet<>(restoredState.getFinishedSnapshotSplits());
+            this.remainingStreamSplits = new ArrayList<>(restoredState.getRemainingStreamSplits());
+        }
+    }
+
+    /**
+     * Creates the snapshot and stream splits into {@link #remainingSnapshotSplits} and {@link
+     * #remainingStreamSplits}, which is called once when the enumerator starts without state.
+     */
+    protected abstract void createSplits();
+
+    @Override
+    public void start() {
+        if (!initialized) {
+            createSplits();
+            initialized = true;
+        }
+    }
+
+    @Override
+    public void handleSplitRequest(int subtaskId, @Nullable String requesterHostname) {
+        if (!context.registeredReaders().containsKey(subtaskId)) {
+            // reader failed between sending the request and now. skip this request.
+            return;
+        }
+        if (!remainingSnapshotSplits.isEmpty()) {
+            final SplitT split = remainingSnapshotSplits.remove(0);
+            assignedSnapshotSplits.add(split.splitId());
+            context.assignSplit(split, subtaskId);
+            LOG.info("Assign split {} to subtask {}", split, subtaskId);
+            return;
+        }
+        awaitingReaders.add(subtaskId);
+        assignStreamSplitsIfNeeded();
+    }
+
+    @Override
+    public void addSplitsBack(List<SplitT> splits, int subtaskId) {
+        LOG.debug("Source enumerator adds splits back: {}", splits);
+        for (SplitT split : splits) {
+            if (split.isSnapshotSplit()) {
+                assignedSnapshotSplits.remove(split.splitId());
+                finishedSnapshotSplits.remove(split.splitId());
+                remainingSnapshotSplits.add(split);
+            } else {
+                remainingStreamSplits.add(split);
+            }
+        }
+        streamReaders.remove(subtaskId);
+        awaitingReaders.remove(subtaskId);
+    }
+
+    @Override
+    public void addReader(int subtaskId) {
+        // do nothing
+    }
+
+    @Override
+    public void handleSourceEvent(int subtaskId, SourceEvent sourceEvent) {
+        if (sourceEvent instanceof FinishedSnapshotSplitsReportEvent) {
+            LOG.info(
+                    "The enumerator receives finished splits {} from subtask {}.",
+                    sourceEvent,
+                    subtaskId);
+            final List<String> finishedSplits =
+                    ((FinishedSnapshotSplitsReportEvent) sourceEvent).getFinishedSplits();
+            finishedSnapshotSplits.addAll(finishedSplits);
+            // send acknowledge event
+            context.sendEventToSourceReader(
+                    subtaskId, new FinishedSnapshotSplitsAckEvent(finishedSplits));
+            assignStreamSplitsIfNeeded();
+        }
+    }
+
+    /**
+     * Distributes the stream splits over the awaiting readers once all snapshot splits have been
+     * read. Each awaiting reader takes its share of the remaining stream splits, which leaves a
+     * share for the readers that have not asked for a split yet.
+     */
+    private void assignStreamSplitsIfNeeded() {
+        if (!isSnapshotFinished()) {
+            return;
+        }
+        final Iterator<Integer> readers = awaitingReaders.iterator();
+        while (readers.hasNext() && !remainingStreamSplits.isEmpty()) {
+            final int subtaskId = readers.next();
+            readers.remove();
+            if (!context.registeredReaders().containsKey(subtaskId)) {
+                continue;
+            }
+            final int idleReaders =
+                    Math.max(1, context.currentParallelism() - streamReaders.size());
+            final int share = (remainingStreamSplits.size() + idleReaders - 1) / idleReaders;
+            for (int i = 0; i < share; i++) {
+                final SplitT split = remainingStreamSplits.remove(0);
+                context.assignSplit(split, subtaskId);
+                LOG.info("Assign split {} to subtask {}", split, subtaskId);
+            }
+            streamReaders.add(subtaskId);
+        }
+        if (remainingStreamSplits.isEmpty()) {
+            onStreamSplitsAssigned();
+        }
+    }
+
+    /**
+     * Called after all stream splits have been assigned, the default implementation does nothing.
+     */
+    protected void onStreamSplitsAssigned() {}
+
+    /** Whether all snapshot splits have been read by the readers. */
+    protected boolean isSnapshotFinished() {
+        return initialized
+                && remainingSnapshotSplits.isEmpty()
+                && finishedSnapshotSplits.containsAll(assignedSnapshotSplits);
+    }
+
+    @Override
+    public HybridPendingSplitsState<SplitT> snapshotState(long checkpointId) {
+        return new HybridPendingSplitsState<>(
+                initialized,
+                new ArrayList<>(remainingSnapshotSplits),
+                new HashSet<>(assignedSnapshotSplits),
+                new HashSet<>(finishedSnapshotSplits),
+                new ArrayList<>(remainingStreamSplits));
+    }
+
+    @Override
+    public void close() throws IOException {
+        // nothing to close
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.base.source.hybrid.reader;
+
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.SingleThreadMultiplexSourceReaderBase;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+
+import com.ververica.cdc.connectors.base.source.hybrid.events.FinishedSnapshotSplitsAckEvent;
+import com.ververica.cdc.connectors.base.source.hybrid.events.FinishedSnapshotSplitsReportEvent;
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplit;
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplitState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The base source reader of the sources which read all snapshot splits before the stream splits,
+ * without a backfill of the changes made while a snapshot split is read.
+ *
+ * <p>The finished snapshot splits are kept in the state until the enumerator acknowledges them, so
+ * the enumerator learns about them again after a failover.
+ *
+ * @param <E> the type of the records fetched by the split reader.
+ * @param <T> the type of the records emitted by the source.
+ * @param <SplitT> the type of the splits of the source.
+ * @param <SplitStateT> the type of the mutable states of the splits.
+ */
+public abstract class HybridSourceReader<
+                E,
+                T,
+                SplitT extends HybridSourceSplit,
+                SplitStateT extends HybridSourceSplitState<SplitT>>
+        extends SingleThreadMultiplexSourceReaderBase<E, T, SplitT, SplitStateT> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HybridSourceReader.class);
+
+    private final Map<String, SplitT> finishedUnackedSplits;
+    private final int subtaskId;
+
+    public HybridSourceReader(
+            FutureCompletingBlockingQueue<RecordsWithSplitIds<E>> elementQueue,
+            Supplier<SplitReader<E, SplitT>> splitReaderSupplier,
+            RecordEmitter<E, T, SplitStateT> recordEmitter,
+            Configuration config,
+            SourceReaderContext context) {
+        super(elementQueue, splitReaderSupplier, recordEmitter, config, context);
+        this.finishedUnackedSplits = new HashMap<>();
+        this.subtaskId = context.getIndexOfSubtask();
+    }
+
+    /** Returns the split of a snapshot split state whose records have all been emitted. */
+    protected abstract SplitT toFinishedSplit(SplitStateT splitState);
+
+    @Override
+    public void start() {
+        if (getNumberOfCurrentlyAssignedSplits() == 0) {
+            context.sendSplitRequest();
+        }
+    }
+
+    @Override
+    public List<SplitT> snapshotState(long checkpointId) {
+        List<SplitT> stateSplits = super.snapshotState(checkpointId);
+
+        // unfinished splits
+        List<SplitT> unfinishedSplits =
+                stateSplits.stream()
+                        .filter(split -> !finishedUnackedSplits.containsKey(split.splitId()))
+                        .collect(Collectors.toList());
+
+        // add finished snapshot splits that didn't receive ack yet
+        unfinishedSplits.addAll(finishedUnackedSplits.values());
+        return unfinishedSplits;
+    }
+
+    @Override
+    protected SplitT toSplitType(String splitId, SplitStateT splitState) {
+        return splitState.toSourceSplit();
+    }
+
+    @Override
+    protected void onSplitFinished(Map<String, SplitStateT> finishedSplitIds) {
+        for (SplitStateT splitState : finishedSplitIds.values()) {
+            SplitT split = toFinishedSplit(splitState);
+            finishedUnackedSplits.put(split.splitId(), split);
+        }
+        reportFinishedSnapshotSplitsIfNeed();
+        context.sendSplitRequest();
+    }
+
+    @Override
+    public void addSplits(List<SplitT> splits) {
+        // restore for finishedUnackedSplits
+        List<SplitT> unfinishedSplits = new ArrayList<>();
+        for (SplitT split : splits) {
+            LOG.info("Add Split: " + split);
+            if (split.isSnapshotSplit() && split.isFinished()) {
+                finishedUnackedSplits.put(split.splitId(), split);
+            } else {
+                unfinishedSplits.add(split);
+            }
+        }
+        // notify split enumerator again about the finished unacked snapshot splits
+        reportFinishedSnapshotSplitsIfNeed();
+        // add all un-finished splits to SourceReaderBase
+        if (!unfinishedSplits.isEmpty()) {
+            super.addSplits(unfinishedSplits);
+        }
+    }
+
+    @Override
+    public void handleSourceEvents(SourceEvent sourceEvent) {
+        if (sourceEvent instanceof FinishedSnapshotSplitsAckEvent) {
+            FinishedSnapshotSplitsAckEvent ackEvent = (FinishedSnapshotSplitsAckEvent) sourceEvent;
+            LOG.debug(
+                    "The subtask {} receives ack event for {} from enumerator.",
+                    subtaskId,
+                    ackEvent.getFinishedSplits());
+            for (String splitId : ackEvent.getFinishedSplits()) {
+                this.finishedUnackedSplits.remove(splitId);
+            }
+        } else {
+            super.handleSourceEvents(sourceEvent);
+        }
+    }
+
+    private void reportFinishedSnapshotSplitsIfNeed() {
+        if (!finishedUnackedSplits.isEmpty()) {
+            final List<String> finishedSplits = new ArrayList<>(finishedUnackedSplits.keySet());
+            context.sendSourceEventToCoordinator(
+                    new FinishedSnapshotSplitsReportEvent(finishedSplits));
+            LOG.debug(
+                    "The subtask {} reports finished snapshot splits {}.",
+                    subtaskId,
+                    finishedSplits);
+        }
+    }
+}
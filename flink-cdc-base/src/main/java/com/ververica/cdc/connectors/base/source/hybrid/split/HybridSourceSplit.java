@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.base.source.hybrid.split;
+
+import org.apache.flink.api.connector.source.SourceSplit;
+
+import com.ververica.cdc.connectors.base.source.hybrid.reader.HybridSourceReader;
+
+import java.util.Objects;
+
+/**
+ * The split of a {@link HybridSourceReader}, which is either a snapshot split that reads a chunk of
+ * the captured data or a stream split that reads the change events after the snapshot.
+ */
+public abstract class HybridSourceSplit implements SourceSplit {
+
+    protected final String splitId;
+
+    /** The serialized form of the split, cached by the {@link HybridSourceSplitSerializer}. */
+    transient byte[] serializedFormCache;
+
+    public HybridSourceSplit(String splitId) {
+        this.splitId = splitId;
+    }
+
+    @Override
+    public String splitId() {
+        return splitId;
+    }
+
+    /** Checks whether this split is a snapshot split. */
+    public abstract boolean isSnapshotSplit();
+
+    /** Checks whether this split is a stream split. */
+    public final boolean isStreamSplit() {
+        return !isSnapshotSplit();
+    }
+
+    /** Whether this split is a snapshot split which has been read completely. */
+    public boolean isFinished() {
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HybridSourceSplit that = (HybridSourceSplit) o;
+        return Objects.equals(splitId, that.splitId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(splitId);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.base.source.hybrid.split;
+
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+
+/**
+ * A serializer for the {@link HybridSourceSplit}, the subclasses write and read the fields of their
+ * snapshot and stream splits.
+ *
+ * @param <SplitT> the type of the splits of the source.
+ */
+public abstract class HybridSourceSplitSerializer<SplitT extends HybridSourceSplit>
+        implements SimpleVersionedSerializer<SplitT> {
+
+    protected static final int SNAPSHOT_SPLIT_FLAG = 1;
+    protected static final int STREAM_SPLIT_FLAG = 2;
+
+    private static final int VERSION = 1;
+    private static final ThreadLocal<DataOutputSerializer> SERIALIZER_CACHE =
+            ThreadLocal.withInitial(() -> new DataOutputSerializer(64));
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(SplitT split) throws IOException {
+        // optimization: the splits lazily cache their own serialized form
+        if (split.serializedFormCache != null) {
+            return split.serializedFormCache;
+        }
+        final DataOutputSerializer out = SERIALIZER_CACHE.get();
+        writeSplit(split, out);
+        final byte[] result = out.getCopyOfBuffer();
+        out.clear();
+        split.serializedFormCache = result;
+        return result;
+    }
+
+    @Override
+    public SplitT deserialize(int version, byte[] serialized) throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unknown version: " + version);
+        }
+        return readSplit(new DataInputDeserializer(serialized));
+    }
+
+    /**
+     * Writes the split, starting with its {@link #SNAPSHOT_SPLIT_FLAG} or {@link
+     * #STREAM_SPLIT_FLAG}.
+     */
+    public abstract void writeSplit(SplitT split, DataOutputView out) throws IOException;
+
+    /** Reads a split which has been written by {@link #writeSplit}. */
+    public abstract SplitT readSplit(DataInputView in) throws IOException;
+
+    protected static void writeNullableString(String value, DataOutputView out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    protected static String readNullableString(DataInputView in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -57,6 +57,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -76,6 +77,8 @@ public class JdbcIncrementalSourceReader<T>
 
     private final Map<String, SnapshotSplit> finishedUnackedSplits;
     private final Map<String, StreamSplit> uncompletedBinlogSplits;
+    // checkpoint id -> the offset of the stream split stored in the checkpoint
+    private final TreeMap<Long, Offset> streamOffsetsToCommit;
     private final int subtaskId;
     private final SourceSplitSerializer sourceSplitSerializer;
     private final JdbcSourceConfig sourceConfig;
@@ -99,6 +102,7 @@ public class JdbcIncrementalSourceReader<T>
         this.sourceConfig = sourceConfig;
         this.finishedUnackedSplits = new HashMap<>();
         this.uncompletedBinlogSplits = new HashMap<>();
+        this.streamOffsetsToCommit = new TreeMap<>();
         this.subtaskId = context.getIndexOfSubtask();
         this.sourceSplitSerializer = checkNotNull(sourceSplitSerializer);
         this.dialect = dialect;
@@ -131,9 +135,24 @@ public class JdbcIncrementalSourceReader<T>
         // add binlog splits who are uncompleted
         stateSplits.addAll(uncompletedBinlogSplits.values());
 
+        for (SourceSplitBase split : stateSplits) {
+            if (split.isStreamSplit()) {
+                streamOffsetsToCommit.put(checkpointId, split.asStreamSplit().getStartingOffset());
+            }
+        }
         return stateSplits;
     }
 
+    @Override
+    public void notifyCheckpointComplete(long checkpointId) throws Exception {
+        final Map.Entry<Long, Offset> completed = streamOffsetsToCommit.floorEntry(checkpointId);
+        if (completed != null) {
+            // the offsets of the older checkpoints are covered by the completed one
+            streamOffsetsToCommit.headMap(checkpointId, true).clear();
+            dialect.notifyCheckpointComplete(checkpointId, completed.getValue());
+        }
+    }
+
     @Override
     protected void onSplitFinished(Map<String, SourceSplitState> finishedSplitIds) {
         for (SourceSplitState splitState : finishedSplitIds.values()) {
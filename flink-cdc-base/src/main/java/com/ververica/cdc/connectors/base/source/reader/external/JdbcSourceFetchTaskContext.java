@@ -26,6 +26,7 @@ import com.ververica.cdc.connectors.base.dialect.JdbcDataSourceDialect;
 import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher;
 import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
 import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.utils.SourceRecordUtils;
 import io.debezium.config.CommonConnectorConfig;
 import io.debezium.connector.base.ChangeEventQueue;
 import io.debezium.pipeline.DataChangeEvent;
@@ -33,6 +34,7 @@ import io.debezium.pipeline.ErrorHandler;
 import io.debezium.pipeline.spi.OffsetContext;
 import io.debezium.relational.RelationalDatabaseSchema;
 import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
 import io.debezium.util.SchemaNameAdjuster;
 import org.apache.kafka.connect.source.SourceRecord;
 
@@ -67,7 +69,15 @@ public abstract class JdbcSourceFetchTaskContext implements FetchTask.Context {
     }
 
     public SchemaNameAdjuster getSchemaNameAdjuster() {
-        return null;
+        return schemaNameAdjuster;
+    }
+
+    /**
+     * Returns the {@link TableId} of the given data change record, the default implementation reads
+     * the database and table name of the record's source info.
+     */
+    public TableId getTableId(SourceRecord sourceRecord) {
+        return SourceRecordUtils.getTableId(sourceRecord);
     }
 
     public abstract RelationalDatabaseSchema getDatabaseSchema();
@@ -83,4 +93,10 @@ public abstract class JdbcSourceFetchTaskContext implements FetchTask.Context {
     public abstract ChangeEventQueue<DataChangeEvent> getQueue();
 
     public abstract Offset getStreamOffset(SourceRecord sourceRecord);
+
+    /**
+     * Closes the resources which the context keeps across the splits of a reader, the default
+     * implementation has nothing to close.
+     */
+    public void close() throws Exception {}
 }
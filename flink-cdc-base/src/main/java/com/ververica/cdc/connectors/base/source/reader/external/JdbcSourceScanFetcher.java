@@ -27,7 +27,6 @@ import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
 import com.ververica.cdc.connectors.base.utils.SourceRecordUtils;
 import io.debezium.connector.base.ChangeEventQueue;
 import io.debezium.pipeline.DataChangeEvent;
-import io.debezium.util.SchemaNameAdjuster;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -127,12 +126,7 @@ public class JdbcSourceScanFetcher implements Fetcher<SourceRecord, SourceSplitB
             return SourceRecordUtils.normalizedSplitRecords(
                             currentSnapshotSplit,
                             sourceRecords,
-                            new SchemaNameAdjuster() {
-                                @Override
-                                public String adjust(String proposedName) {
-                                    return null;
-                                }
-                            })
+                            taskContext.getSchemaNameAdjuster())
                     .iterator();
         }
         // the data has been polled, no more data
@@ -151,5 +145,11 @@ public class JdbcSourceScanFetcher implements Fetcher<SourceRecord, SourceSplitB
     }
 
     @Override
-    public void close() {}
+    public void close() {
+        try {
+            taskContext.close();
+        } catch (Exception e) {
+            LOG.warn("Failed to close the task context of the snapshot split reader.", e);
+        }
+    }
 }
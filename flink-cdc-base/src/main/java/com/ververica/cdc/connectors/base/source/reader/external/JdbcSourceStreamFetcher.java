@@ -30,6 +30,7 @@ import com.ververica.cdc.connectors.base.source.meta.split.StreamSplit;
 import com.ververica.cdc.connectors.base.utils.SourceRecordUtils;
 import io.debezium.connector.base.ChangeEventQueue;
 import io.debezium.pipeline.DataChangeEvent;
+import io.debezium.relational.RelationalDatabaseConnectorConfig;
 import io.debezium.relational.TableId;
 import io.debezium.relational.Tables;
 import org.apache.kafka.connect.source.SourceRecord;
@@ -47,7 +48,6 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 
-import static com.ververica.cdc.connectors.base.utils.SourceRecordUtils.getTableId;
 import static com.ververica.cdc.connectors.base.utils.SourceRecordUtils.isDataChangeRecord;
 import static com.ververica.cdc.connectors.base.utils.SourceRecordUtils.splitKeyRangeContains;
 
@@ -81,6 +81,7 @@ public class JdbcSourceStreamFetcher implements Fetcher<SourceRecord, SourceSpli
         this.currentStreamSplit = fetchTask.getSplit().asStreamSplit();
         taskContext.configure(currentStreamSplit);
         this.queue = taskContext.getQueue();
+        configureFilter();
         executor.submit(
                 () -> {
                     try {
@@ -147,7 +148,7 @@ public class JdbcSourceStreamFetcher implements Fetcher<SourceRecord, SourceSpli
      */
     private boolean shouldEmit(SourceRecord sourceRecord) {
         if (isDataChangeRecord(sourceRecord)) {
-            TableId tableId = getTableId(sourceRecord);
+            TableId tableId = taskContext.getTableId(sourceRecord);
             Offset position = taskContext.getStreamOffset(sourceRecord);
             if (hasEnterPureBinlogPhase(tableId, position)) {
                 return true;
@@ -215,5 +216,9 @@ public class JdbcSourceStreamFetcher implements Fetcher<SourceRecord, SourceSpli
         }
         this.finishedSplitsInfo = splitsInfoMap;
         this.maxSplitHighWatermarkMap = tableIdBinlogPositionMap;
+        this.capturedTableFilter =
+                ((RelationalDatabaseConnectorConfig) taskContext.getDbzConnectorConfig())
+                        .getTableFilters()
+                        .dataCollectionFilter();
     }
 }
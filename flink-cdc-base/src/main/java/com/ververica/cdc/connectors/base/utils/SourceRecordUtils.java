@@ -32,6 +32,7 @@ import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Instant;
@@ -192,6 +193,10 @@ public class SourceRecordUtils {
     private static int compareObjects(Object o1, Object o2) {
         if (o1 instanceof Comparable && o1.getClass().equals(o2.getClass())) {
             return ((Comparable) o1).compareTo(o2);
+        } else if (o1 instanceof Number && o2 instanceof Number) {
+            // the split boundaries may be read as BigDecimal, e.g. the NUMBER columns of Oracle,
+            // while the record keys are converted to the narrowest integral type
+            return new BigDecimal(o1.toString()).compareTo(new BigDecimal(o2.toString()));
         } else {
             return o1.toString().compareTo(o2.toString());
         }
@@ -19,7 +19,7 @@
 package com.ververica.cdc.connectors.base.experimental.config;
 
 import com.ververica.cdc.connectors.base.config.JdbcSourceConfigFactory;
-import com.ververica.cdc.connectors.base.experimental.EmbeddedFlinkDatabaseHistory;
+import com.ververica.cdc.connectors.base.relational.history.EmbeddedFlinkDatabaseHistory;
 import io.debezium.config.Configuration;
 import io.debezium.connector.mysql.MySqlConnectorConfig;
 
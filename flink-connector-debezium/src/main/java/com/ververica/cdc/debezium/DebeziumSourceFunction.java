@@ -130,6 +130,19 @@ public class DebeziumSourceFunction<T> extends RichSourceFunction<T>
     /** The configuration value represents legacy implementation. */
     public static final String LEGACY_IMPLEMENTATION_VALUE = "legacy";
 
+    /**
+     * The configuration of the maximum number of record batches which are buffered between the
+     * Debezium engine and the emitting thread, see {@link Handover#DEFAULT_CAPACITY} for the
+     * default value.
+     */
+    public static final String HANDOVER_CAPACITY_KEY = "handover.capacity";
+
+    /**
+     * The configuration of the maximum number of records which are buffered between the Debezium
+     * engine and the emitting thread, unbounded by default.
+     */
+    public static final String HANDOVER_MAX_BUFFERED_RECORDS_KEY = "handover.max-buffered-records";
+
     // ---------------------------------------------------------------------------------------
     // Properties
     // ---------------------------------------------------------------------------------------
@@ -218,7 +231,16 @@ public class DebeziumSourceFunction<T> extends RichSourceFunction<T>
         ThreadFactory threadFactory =
                 new ThreadFactoryBuilder().setNameFormat("debezium-engine").build();
         this.executor = Executors.newSingleThreadExecutor(threadFactory);
-        this.handover = new Handover();
+        this.handover =
+                new Handover(
+                        Integer.parseInt(
+                                properties.getProperty(
+                                        HANDOVER_CAPACITY_KEY,
+                                        String.valueOf(Handover.DEFAULT_CAPACITY))),
+                        Integer.parseInt(
+                                properties.getProperty(
+                                        HANDOVER_MAX_BUFFERED_RECORDS_KEY,
+                                        String.valueOf(Integer.MAX_VALUE))));
         this.changeConsumer = new DebeziumChangeConsumer(handover);
     }
 
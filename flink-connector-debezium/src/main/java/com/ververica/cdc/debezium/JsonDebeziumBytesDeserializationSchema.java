@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.debezium;
+
+import org.apache.flink.api.common.typeinfo.PrimitiveArrayTypeInfo;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.util.Collector;
+
+import com.ververica.cdc.debezium.internal.JsonRecordSerializer;
+import org.apache.kafka.connect.json.JsonConverter;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import java.util.Map;
+
+/**
+ * A JSON format implementation of {@link DebeziumDeserializationSchema} which deserializes the
+ * received {@link SourceRecord} to UTF-8 encoded JSON bytes, e.g. to write them to Kafka without
+ * the copy into a String.
+ *
+ * <p>With {@link JsonSchemaMode#FINGERPRINT} the full schema is only included in a message when the
+ * schema of a topic has changed, the other messages only reference the schema by its fingerprint.
+ */
+public class JsonDebeziumBytesDeserializationSchema
+        implements DebeziumDeserializationSchema<byte[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final JsonRecordSerializer serializer;
+
+    public JsonDebeziumBytesDeserializationSchema() {
+        this(JsonSchemaMode.NONE);
+    }
+
+    /** @param schemaMode how to include the schema in messages */
+    public JsonDebeziumBytesDeserializationSchema(JsonSchemaMode schemaMode) {
+        this(schemaMode, null);
+    }
+
+    /**
+     * @param schemaMode how to include the schema in messages
+     * @param customConverterConfigs the custom configurations for {@link JsonConverter}
+     */
+    public JsonDebeziumBytesDeserializationSchema(
+            JsonSchemaMode schemaMode, Map<String, Object> customConverterConfigs) {
+        this.serializer = new JsonRecordSerializer(schemaMode, customConverterConfigs);
+    }
+
+    @Override
+    public void deserialize(SourceRecord record, Collector<byte[]> out) throws Exception {
+        out.collect(serializer.serialize(record));
+    }
+
+    @Override
+    public TypeInformation<byte[]> getProducedType() {
+        return PrimitiveArrayTypeInfo.BYTE_PRIMITIVE_ARRAY_TYPE_INFO;
+    }
+}
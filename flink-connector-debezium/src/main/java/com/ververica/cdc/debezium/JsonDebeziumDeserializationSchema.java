@@ -22,68 +22,61 @@ import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.util.Collector;
 
+import com.ververica.cdc.debezium.internal.JsonRecordSerializer;
 import org.apache.kafka.connect.json.JsonConverter;
 import org.apache.kafka.connect.json.JsonConverterConfig;
 import org.apache.kafka.connect.source.SourceRecord;
-import org.apache.kafka.connect.storage.ConverterConfig;
-import org.apache.kafka.connect.storage.ConverterType;
 
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
  * A JSON format implementation of {@link DebeziumDeserializationSchema} which deserializes the
  * received {@link SourceRecord} to JSON String.
+ *
+ * <p>Use {@link JsonDebeziumBytesDeserializationSchema} if the JSON is written out as bytes, which
+ * saves the copy into a String.
  */
 public class JsonDebeziumDeserializationSchema implements DebeziumDeserializationSchema<String> {
 
     private static final long serialVersionUID = 1L;
 
-    private transient JsonConverter jsonConverter;
-
-    /**
-     * Configuration whether to enable {@link JsonConverterConfig#SCHEMAS_ENABLE_CONFIG} to include
-     * schema in messages.
-     */
-    private final Boolean includeSchema;
-
-    /** The custom configurations for {@link JsonConverter}. */
-    private Map<String, Object> customConverterConfigs;
+    private final JsonRecordSerializer serializer;
 
     public JsonDebeziumDeserializationSchema() {
         this(false);
     }
 
+    /**
+     * @param includeSchema whether to enable {@link JsonConverterConfig#SCHEMAS_ENABLE_CONFIG} to
+     *     include schema in messages
+     */
     public JsonDebeziumDeserializationSchema(Boolean includeSchema) {
-        this.includeSchema = includeSchema;
+        this(includeSchema, null);
     }
 
+    /**
+     * @param includeSchema whether to enable {@link JsonConverterConfig#SCHEMAS_ENABLE_CONFIG} to
+     *     include schema in messages
+     * @param customConverterConfigs the custom configurations for {@link JsonConverter}
+     */
     public JsonDebeziumDeserializationSchema(
             Boolean includeSchema, Map<String, Object> customConverterConfigs) {
-        this.includeSchema = includeSchema;
-        this.customConverterConfigs = customConverterConfigs;
+        this(includeSchema ? JsonSchemaMode.FULL : JsonSchemaMode.NONE, customConverterConfigs);
     }
 
-    @Override
-    public void deserialize(SourceRecord record, Collector<String> out) throws Exception {
-        if (jsonConverter == null) {
-            initializeJsonConverter();
-        }
-        byte[] bytes =
-                jsonConverter.fromConnectData(record.topic(), record.valueSchema(), record.value());
-        out.collect(new String(bytes));
+    /**
+     * @param schemaMode how to include the schema in messages
+     * @param customConverterConfigs the custom configurations for {@link JsonConverter}
+     */
+    public JsonDebeziumDeserializationSchema(
+            JsonSchemaMode schemaMode, Map<String, Object> customConverterConfigs) {
+        this.serializer = new JsonRecordSerializer(schemaMode, customConverterConfigs);
     }
 
-    /** Initialize {@link JsonConverter} with given configs. */
-    private void initializeJsonConverter() {
-        jsonConverter = new JsonConverter();
-        final HashMap<String, Object> configs = new HashMap<>(2);
-        configs.put(ConverterConfig.TYPE_CONFIG, ConverterType.VALUE.getName());
-        configs.put(JsonConverterConfig.SCHEMAS_ENABLE_CONFIG, includeSchema);
-        if (customConverterConfigs != null) {
-            configs.putAll(customConverterConfigs);
-        }
-        jsonConverter.configure(configs);
+    @Override
+    public void deserialize(SourceRecord record, Collector<String> out) throws Exception {
+        out.collect(new String(serializer.serialize(record), StandardCharsets.UTF_8));
     }
 
     @Override
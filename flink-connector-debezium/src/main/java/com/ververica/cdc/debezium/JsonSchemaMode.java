@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.debezium;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+/** Defines how the schema of the records is included in the JSON messages. */
+@PublicEvolving
+public enum JsonSchemaMode {
+
+    /** Only the payload is serialized, e.g. {@code {"before":null,"after":{...},...}}. */
+    NONE,
+
+    /**
+     * The full schema is serialized into every message together with the payload, e.g. {@code
+     * {"schema":{...},"payload":{...}}}.
+     */
+    FULL,
+
+    /**
+     * Every message contains the fingerprint of its schema and the payload, the full schema is only
+     * included in the first message of a topic and in the messages whose schema has changed, e.g.
+     * {@code {"schemaId":"7f3a5c0e9b21d4a6","schema":{...},"payload":{...}}} followed by {@code
+     * {"schemaId":"7f3a5c0e9b21d4a6","payload":{...}}}.
+     *
+     * <p>The schemas are tracked by every parallel instance of the source, so the consumers should
+     * cache the schemas by the fingerprint and the full schema is emitted again after the job is
+     * restarted.
+     */
+    FINGERPRINT
+}
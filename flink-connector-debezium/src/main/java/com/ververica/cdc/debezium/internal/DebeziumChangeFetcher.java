@@ -34,10 +34,7 @@ import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayDeque;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
 
 /**
  * A Handler that convert change messages from {@link DebeziumEngine} to data in Flink. Considering
@@ -64,7 +61,7 @@ public class DebeziumChangeFetcher<T> {
     /** The schema to convert from Debezium's messages into Flink's objects. */
     private final DebeziumDeserializationSchema<T> deserialization;
 
-    /** A collector to emit records in batch (bundle). */
+    /** A collector to emit the deserialized records to the source context. */
     private final DebeziumCollector debeziumCollector;
 
     private final DebeziumOffset debeziumOffset;
@@ -83,7 +80,10 @@ public class DebeziumChangeFetcher<T> {
     // Metrics
     // ---------------------------------------------------------------------------------------
 
-    /** Timestamp of change event. If the event is a snapshot event, the timestamp is 0L. */
+    /**
+     * Timestamp of the last change event of a batch. If the event is a snapshot event, the
+     * timestamp is 0L.
+     */
     private volatile long messageTimestamp = 0L;
 
     /** The last record processing time. */
@@ -91,13 +91,13 @@ public class DebeziumChangeFetcher<T> {
 
     /**
      * currentFetchEventTimeLag = FetchTime - messageTimestamp, where the FetchTime is the time the
-     * record fetched into the source operator.
+     * record fetched into the source operator. It's sampled once per batch.
      */
     private volatile long fetchDelay = 0L;
 
     /**
      * emitDelay = EmitTime - messageTimestamp, where the EmitTime is the time the record leaves the
-     * source operator.
+     * source operator. It's sampled once per batch.
      */
     private volatile long emitDelay = 0L;
 
@@ -211,49 +211,39 @@ public class DebeziumChangeFetcher<T> {
         }
         this.processTime = System.currentTimeMillis();
 
-        for (ChangeEvent<SourceRecord, SourceRecord> event : changeEvents) {
-            SourceRecord record = event.value();
-            updateMessageTimestamp(record);
-            fetchDelay = isInDbSnapshotPhase ? 0L : processTime - messageTimestamp;
-
-            if (isHeartbeatEvent(record)) {
-                // keep offset update
-                synchronized (checkpointLock) {
-                    debeziumOffset.setSourcePartition(record.sourcePartition());
-                    debeziumOffset.setSourceOffset(record.sourceOffset());
+        // deserialize and emit the whole batch under one acquisition of the checkpoint lock, the
+        // records are emitted as soon as they are deserialized, as the deserializer may reuse the
+        // emitted objects. The synchronized checkpointLock is reentrant, it's safe to sync again in
+        // snapshot mode.
+        SourceRecord lastRecord = null;
+        SourceRecord lastDataRecord = null;
+        synchronized (checkpointLock) {
+            for (ChangeEvent<SourceRecord, SourceRecord> event : changeEvents) {
+                SourceRecord record = event.value();
+                lastRecord = record;
+                if (isHeartbeatEvent(record)) {
+                    // keep offset update, drop heartbeat events
+                    continue;
                 }
-                // drop heartbeat events
-                continue;
-            }
+                lastDataRecord = record;
 
-            deserialization.deserialize(record, debeziumCollector);
+                deserialization.deserialize(record, debeziumCollector);
 
-            if (!isSnapshotRecord(record)) {
-                LOG.debug("Snapshot phase finishes.");
-                isInDbSnapshotPhase = false;
+                if (isInDbSnapshotPhase && !isSnapshotRecord(record)) {
+                    LOG.debug("Snapshot phase finishes.");
+                    isInDbSnapshotPhase = false;
+                }
             }
-
-            // emit the actual records. this also updates offset state atomically
-            emitRecordsUnderCheckpointLock(
-                    debeziumCollector.records, record.sourcePartition(), record.sourceOffset());
+            // update offset to state atomically with the emitted records
+            debeziumOffset.setSourcePartition(lastRecord.sourcePartition());
+            debeziumOffset.setSourceOffset(lastRecord.sourceOffset());
         }
-    }
 
-    private void emitRecordsUnderCheckpointLock(
-            Queue<T> records, Map<String, ?> sourcePartition, Map<String, ?> sourceOffset) {
-        // Emit the records. Use the checkpoint lock to guarantee
-        // atomicity of record emission and offset state update.
-        // The synchronized checkpointLock is reentrant. It's safe to sync again in snapshot mode.
-        synchronized (checkpointLock) {
-            T record;
-            while ((record = records.poll()) != null) {
-                emitDelay =
-                        isInDbSnapshotPhase ? 0L : System.currentTimeMillis() - messageTimestamp;
-                sourceContext.collect(record);
-            }
-            // update offset to state
-            debeziumOffset.setSourcePartition(sourcePartition);
-            debeziumOffset.setSourceOffset(sourceOffset);
+        // the delays are sampled with the last record of the batch
+        if (lastDataRecord != null) {
+            updateMessageTimestamp(lastDataRecord);
+            fetchDelay = isInDbSnapshotPhase ? 0L : processTime - messageTimestamp;
+            emitDelay = isInDbSnapshotPhase ? 0L : System.currentTimeMillis() - messageTimestamp;
         }
     }
 
@@ -297,11 +287,9 @@ public class DebeziumChangeFetcher<T> {
 
     private class DebeziumCollector implements Collector<T> {
 
-        private final Queue<T> records = new ArrayDeque<>();
-
         @Override
         public void collect(T record) {
-            records.add(record);
+            sourceContext.collect(record);
         }
 
         @Override
@@ -26,23 +26,29 @@ import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.Closeable;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /**
- * The Handover is a utility to hand over data (a buffer of records) and exception from a
- * <i>producer</i> thread to a <i>consumer</i> thread. It effectively behaves like a "size one
- * blocking queue", with some extras around exception reporting, closing, and waking up thread
+ * The Handover is a utility to hand over data (buffers of records) and exception from a
+ * <i>producer</i> thread to a <i>consumer</i> thread. It effectively behaves like a bounded
+ * blocking queue, with some extras around exception reporting, closing, and waking up thread
  * without {@link Thread#interrupt() interrupting} threads.
  *
  * <p>This class is used in the Flink Debezium Engine Consumer to hand over data and exceptions
- * between the thread that runs the DebeziumEngine class and the main thread.
+ * between the thread that runs the DebeziumEngine class and the main thread. The buffers are kept
+ * in a lock-free single-producer single-consumer ring, which is bounded by the number of buffers
+ * and the number of records in them, so the engine can fetch the next buffers while the main thread
+ * is still emitting the previous ones. A thread only parks when the ring is full or empty.
  *
  * <p>The Handover can also be "closed", signalling from one thread to the other that it the thread
  * has terminated.
@@ -52,15 +58,48 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
 public class Handover implements Closeable {
 
     private static final Logger LOG = LoggerFactory.getLogger(Handover.class);
-    private final Object lock = new Object();
 
-    @GuardedBy("lock")
-    private List<ChangeEvent<SourceRecord, SourceRecord>> next;
+    /** The default number of buffers which can be handed over without being polled. */
+    public static final int DEFAULT_CAPACITY = 4;
 
-    @GuardedBy("lock")
-    private Throwable error;
+    private final List<ChangeEvent<SourceRecord, SourceRecord>>[] ring;
 
-    private boolean wakeupProducer;
+    /**
+     * The maximum number of records in the buffers which haven't been polled. A single buffer which
+     * has more records is still accepted when the ring is empty.
+     */
+    private final int maxBufferedRecords;
+
+    private final AtomicInteger bufferedRecords = new AtomicInteger();
+
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    /** The position of the next buffer to poll, only written by the consumer. */
+    private volatile long head;
+
+    /** The position of the next buffer to produce, only written by the producer. */
+    private volatile long tail;
+
+    private volatile Thread parkedConsumer;
+
+    private volatile Thread parkedProducer;
+
+    public Handover() {
+        this(DEFAULT_CAPACITY, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a Handover which buffers at most {@code capacity} buffers with at most {@code
+     * maxBufferedRecords} records in total.
+     */
+    @SuppressWarnings("unchecked")
+    public Handover(int capacity, int maxBufferedRecords) {
+        checkArgument(capacity > 0, "The capacity of Handover must be positive.");
+        checkArgument(
+                maxBufferedRecords > 0, "The max buffered records of Handover must be positive.");
+        this.ring = new List[capacity];
+        this.maxBufferedRecords = maxBufferedRecords;
+    }
 
     /**
      * Polls the next element from the Handover, possibly blocking until the next element is
@@ -69,64 +108,105 @@ public class Handover implements Closeable {
      * <p>If an exception was handed in by the producer ({@link #reportError(Throwable)}), then that
      * exception is thrown rather than an element being returned.
      *
+     * <p>The elements which were handed over before the Handover was {@link #close() closed} are
+     * still returned, so that the records of a finished engine are not lost.
+     *
      * @return The next element (buffer of records, never null).
-     * @throws ClosedException Thrown if the Handover was {@link #close() closed}.
+     * @throws ClosedException Thrown if the Handover was {@link #close() closed} and all the
+     *     elements handed over before have been polled.
      * @throws Exception Rethrows exceptions from the {@link #reportError(Throwable)} method.
      */
     public List<ChangeEvent<SourceRecord, SourceRecord>> pollNext() throws Exception {
-        synchronized (lock) {
-            while (next == null && error == null) {
-                lock.wait();
-            }
-            List<ChangeEvent<SourceRecord, SourceRecord>> n = next;
-            if (n != null) {
-                next = null;
-                lock.notifyAll();
-                return n;
-            } else {
-                ExceptionUtils.rethrowException(error, error.getMessage());
+        while (true) {
+            // read the error before the tail, so that the buffers produced before the handover
+            // was closed are visible and polled before the ClosedException is thrown
+            final Throwable t = error.get();
+            if (t != null && !(t instanceof ClosedException)) {
+                ExceptionUtils.rethrowException(t, t.getMessage());
 
                 // this statement cannot be reached since the above method always throws an
                 // exception this is only here to silence the compiler and any warnings
                 return Collections.emptyList();
             }
+
+            final long currentHead = head;
+            if (currentHead < tail) {
+                final int index = (int) (currentHead % ring.length);
+                final List<ChangeEvent<SourceRecord, SourceRecord>> next = ring[index];
+                ring[index] = null;
+                bufferedRecords.addAndGet(-next.size());
+                head = currentHead + 1;
+                LockSupport.unpark(parkedProducer);
+                return next;
+            }
+            if (t != null) {
+                throw (ClosedException) t;
+            }
+
+            parkedConsumer = Thread.currentThread();
+            // check again after publishing the parked thread, the producer may have just produced
+            if (head == tail && error.get() == null) {
+                LockSupport.park(this);
+            }
+            parkedConsumer = null;
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
         }
     }
 
     /**
-     * Hands over an element from the producer. If the Handover already has an element that was not
-     * yet picked up by the consumer thread, this call blocks until the consumer picks up that
-     * previous element.
+     * Hands over an element from the producer. If the Handover is full, i.e. it has reached the
+     * capacity or the max buffered records, this call blocks until the consumer picks up the
+     * previous elements.
      *
-     * <p>This behavior is similar to a "size one" blocking queue.
+     * <p>This behavior is similar to a bounded blocking queue.
      *
      * @param element The next element to hand over.
      * @throws InterruptedException Thrown, if the thread is interrupted while blocking for the
-     *     Handover to be empty.
+     *     Handover to have space.
      */
     public void produce(final List<ChangeEvent<SourceRecord, SourceRecord>> element)
             throws InterruptedException {
 
         checkNotNull(element);
 
-        synchronized (lock) {
-            while (next != null && !wakeupProducer) {
-                lock.wait();
+        while (true) {
+            // an error marks this as closed for the producer
+            final Throwable t = error.get();
+            if (t != null) {
+                ExceptionUtils.rethrow(t, t.getMessage());
             }
 
-            wakeupProducer = false;
-
-            // an error marks this as closed for the producer
-            if (error != null) {
-                ExceptionUtils.rethrow(error, error.getMessage());
-            } else {
+            final long currentTail = tail;
+            if (hasSpace(currentTail, element.size())) {
                 // if there is no error, then this is open and can accept this element
-                next = element;
-                lock.notifyAll();
+                ring[(int) (currentTail % ring.length)] = element;
+                bufferedRecords.addAndGet(element.size());
+                tail = currentTail + 1;
+                LockSupport.unpark(parkedConsumer);
+                return;
+            }
+
+            parkedProducer = Thread.currentThread();
+            // check again after publishing the parked thread, the consumer may have just polled
+            if (!hasSpace(currentTail, element.size()) && error.get() == null) {
+                LockSupport.park(this);
+            }
+            parkedProducer = null;
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
             }
         }
     }
 
+    private boolean hasSpace(long currentTail, int size) {
+        final long currentHead = head;
+        return currentTail - currentHead < ring.length
+                && (currentHead == currentTail
+                        || bufferedRecords.get() + (long) size <= maxBufferedRecords);
+    }
+
     /**
      * Reports an exception. The consumer will throw the given exception immediately, if it is
      * currently blocked in the {@link #pollNext()} method, or the next time it calls that method.
@@ -143,15 +223,10 @@ public class Handover implements Closeable {
     public void reportError(Throwable t) {
         checkNotNull(t);
 
-        synchronized (lock) {
-            LOG.error("Reporting error:", t);
-            // do not override the initial exception
-            if (error == null) {
-                error = t;
-            }
-            next = null;
-            lock.notifyAll();
-        }
+        LOG.error("Reporting error:", t);
+        // do not override the initial exception
+        error.compareAndSet(null, t);
+        wakeUpParkedThreads();
     }
 
     /**
@@ -160,12 +235,13 @@ public class Handover implements Closeable {
      * @return whether there is an error
      */
     public boolean hasError() {
-        return error != null;
+        return error.get() != null;
     }
 
     /**
-     * Closes the handover. Both the {@link #produce(List)} method and the {@link #pollNext()} will
-     * throw a {@link ClosedException} on any currently blocking and future invocations.
+     * Closes the handover. The {@link #produce(List)} method will throw a {@link ClosedException}
+     * on any currently blocking and future invocations, and the {@link #pollNext()} method will
+     * throw it once the elements handed over before have been polled.
      *
      * <p>If an exception was previously reported via the {@link #reportError(Throwable)} method,
      * that exception will not be overridden. The consumer thread will throw that exception upon
@@ -173,15 +249,13 @@ public class Handover implements Closeable {
      */
     @Override
     public void close() {
-        synchronized (lock) {
-            next = null;
-            wakeupProducer = false;
+        error.compareAndSet(null, new ClosedException());
+        wakeUpParkedThreads();
+    }
 
-            if (error == null) {
-                error = new ClosedException();
-            }
-            lock.notifyAll();
-        }
+    private void wakeUpParkedThreads() {
+        LockSupport.unpark(parkedConsumer);
+        LockSupport.unpark(parkedProducer);
     }
 
     // ------------------------------------------------------------------------
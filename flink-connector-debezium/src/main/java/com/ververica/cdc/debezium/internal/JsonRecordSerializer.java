@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.debezium.internal;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.StringUtils;
+
+import com.ververica.cdc.debezium.JsonSchemaMode;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.json.JsonConverter;
+import org.apache.kafka.connect.json.JsonConverterConfig;
+import org.apache.kafka.connect.json.JsonSerializer;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.storage.ConverterConfig;
+import org.apache.kafka.connect.storage.ConverterType;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Serializes the value of a {@link SourceRecord} to JSON bytes with Kafka Connect's {@link
+ * JsonConverter} according to the {@link JsonSchemaMode}.
+ *
+ * <p>In {@link JsonSchemaMode#FINGERPRINT} mode the JSON of a schema and its fingerprint are
+ * computed once per schema instance, and the message is assembled from the cached schema bytes and
+ * the payload bytes without parsing them again.
+ */
+@Internal
+public final class JsonRecordSerializer implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte[] SCHEMA_ID_PREFIX = bytes("{\"schemaId\":\"");
+    private static final byte[] SCHEMA_PREFIX = bytes("\",\"schema\":");
+    private static final byte[] PAYLOAD_PREFIX_AFTER_SCHEMA = bytes(",\"payload\":");
+    private static final byte[] PAYLOAD_PREFIX_AFTER_SCHEMA_ID = bytes("\",\"payload\":");
+    private static final byte SUFFIX = '}';
+
+    /** The number of bytes of the schema digest which are used as fingerprint. */
+    private static final int FINGERPRINT_LENGTH = 8;
+
+    /** The maximum number of schema instances whose fingerprints are cached. */
+    private static final int MAX_CACHED_SCHEMAS = 1024;
+
+    private final JsonSchemaMode schemaMode;
+
+    /** The custom configurations for {@link JsonConverter}. */
+    @Nullable private final Map<String, Object> customConverterConfigs;
+
+    private transient JsonConverter jsonConverter;
+
+    private transient JsonSerializer jsonSerializer;
+
+    /** The fingerprints of the schemas, Debezium reuses the schema instances of a table. */
+    private transient Map<Schema, SchemaFingerprint> fingerprints;
+
+    /** The fingerprint of the last schema which has been emitted for every topic. */
+    private transient Map<String, String> emittedSchemaIds;
+
+    public JsonRecordSerializer(
+            JsonSchemaMode schemaMode, @Nullable Map<String, Object> customConverterConfigs) {
+        this.schemaMode = schemaMode;
+        this.customConverterConfigs = customConverterConfigs;
+    }
+
+    /** Serializes the value of the record, returns null for a tombstone without schema. */
+    public byte[] serialize(SourceRecord record) {
+        if (jsonConverter == null) {
+            initializeJsonConverter();
+        }
+        final byte[] payload =
+                jsonConverter.fromConnectData(record.topic(), record.valueSchema(), record.value());
+        if (schemaMode != JsonSchemaMode.FINGERPRINT || record.valueSchema() == null) {
+            return payload;
+        }
+
+        final SchemaFingerprint fingerprint = getFingerprint(record.topic(), record.valueSchema());
+        final boolean schemaChanged =
+                !fingerprint.schemaId.equals(
+                        emittedSchemaIds.put(record.topic(), fingerprint.schemaId));
+
+        int length =
+                SCHEMA_ID_PREFIX.length + fingerprint.schemaIdBytes.length + payload.length + 1;
+        if (schemaChanged) {
+            length +=
+                    SCHEMA_PREFIX.length
+                            + fingerprint.schemaJson.length
+                            + PAYLOAD_PREFIX_AFTER_SCHEMA.length;
+        } else {
+            length += PAYLOAD_PREFIX_AFTER_SCHEMA_ID.length;
+        }
+        final byte[] message = new byte[length];
+        int pos = append(message, 0, SCHEMA_ID_PREFIX);
+        pos = append(message, pos, fingerprint.schemaIdBytes);
+        if (schemaChanged) {
+            pos = append(message, pos, SCHEMA_PREFIX);
+            pos = append(message, pos, fingerprint.schemaJson);
+            pos = append(message, pos, PAYLOAD_PREFIX_AFTER_SCHEMA);
+        } else {
+            pos = append(message, pos, PAYLOAD_PREFIX_AFTER_SCHEMA_ID);
+        }
+        pos = append(message, pos, payload);
+        message[pos] = SUFFIX;
+        return message;
+    }
+
+    /** Initialize {@link JsonConverter} with given configs. */
+    private void initializeJsonConverter() {
+        jsonConverter = new JsonConverter();
+        final HashMap<String, Object> configs = new HashMap<>(2);
+        configs.put(ConverterConfig.TYPE_CONFIG, ConverterType.VALUE.getName());
+        configs.put(JsonConverterConfig.SCHEMAS_ENABLE_CONFIG, schemaMode == JsonSchemaMode.FULL);
+        if (customConverterConfigs != null) {
+            configs.putAll(customConverterConfigs);
+        }
+        if (schemaMode == JsonSchemaMode.FINGERPRINT) {
+            // the schema is written separately
+            configs.put(JsonConverterConfig.SCHEMAS_ENABLE_CONFIG, false);
+            jsonSerializer = new JsonSerializer();
+            fingerprints = new IdentityHashMap<>();
+            emittedSchemaIds = new HashMap<>();
+        }
+        jsonConverter.configure(configs);
+    }
+
+    private SchemaFingerprint getFingerprint(String topic, Schema schema) {
+        SchemaFingerprint fingerprint = fingerprints.get(schema);
+        if (fingerprint == null) {
+            if (fingerprints.size() >= MAX_CACHED_SCHEMAS) {
+                fingerprints.clear();
+            }
+            final byte[] schemaJson =
+                    jsonSerializer.serialize(topic, jsonConverter.asJsonSchema(schema));
+            fingerprint = new SchemaFingerprint(computeSchemaId(schemaJson), schemaJson);
+            fingerprints.put(schema, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private static String computeSchemaId(byte[] schemaJson) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(schemaJson);
+            return StringUtils.byteToHexString(digest, 0, FINGERPRINT_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new FlinkRuntimeException("Failed to compute the fingerprint of schema.", e);
+        }
+    }
+
+    private static int append(byte[] target, int pos, byte[] source) {
+        System.arraycopy(source, 0, target, pos, source.length);
+        return pos + source.length;
+    }
+
+    private static byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** The serialized JSON of a schema and its fingerprint. */
+    private static final class SchemaFingerprint {
+
+        private final String schemaId;
+        private final byte[] schemaIdBytes;
+        private final byte[] schemaJson;
+
+        private SchemaFingerprint(String schemaId, byte[] schemaJson) {
+            this.schemaId = schemaId;
+            this.schemaIdBytes = bytes(schemaId);
+            this.schemaJson = schemaJson;
+        }
+    }
+}
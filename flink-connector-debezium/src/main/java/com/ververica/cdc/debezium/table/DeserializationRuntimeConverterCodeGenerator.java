@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.debezium.table;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.binary.BinaryStringData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.addReferenceMember;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.generateClass;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.getUserCodeClassLoader;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.newClassName;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.quoteString;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.typeTerm;
+
+/**
+ * Generates a {@link DeserializationRuntimeConverter} class for a {@link RowType}, which converts
+ * the fields of a Debezium {@link Struct} one after another in straight-line code.
+ *
+ * <p>Compared to the converters created by {@link RowDataDebeziumDeserializeSchema}, every field is
+ * converted at its own call site and the null checks are inlined, so the call sites stay
+ * monomorphic and can be inlined by the JIT compiler. The conversions of the common primitive types
+ * and strings are generated inline, the other fields are delegated to the converters created by
+ * {@link RowDataDebeziumDeserializeSchema#createNotNullConverter}.
+ */
+@Internal
+public final class DeserializationRuntimeConverterCodeGenerator {
+
+    private DeserializationRuntimeConverterCodeGenerator() {}
+
+    /**
+     * Generates a null safe converter which converts a {@link Struct} into a {@link GenericRowData}
+     * of the given row type, the user defined converters have a higher resolve order like in {@link
+     * RowDataDebeziumDeserializeSchema#createNotNullConverter}.
+     */
+    public static DeserializationRuntimeConverter generateRowConverter(
+            RowType rowType,
+            ZoneId serverTimeZone,
+            DeserializationRuntimeConverterFactory userDefinedConverterFactory) {
+        final String className = newClassName("DebeziumRowConverter");
+        final String converterType = typeTerm(DeserializationRuntimeConverter.class);
+        final String structFieldType = typeTerm(Field.class);
+        final String schemaType = typeTerm(Schema.class);
+        final List<Object> references = new ArrayList<>();
+        final StringBuilder memberDeclarations = new StringBuilder();
+        final StringBuilder memberInitializations = new StringBuilder();
+        final StringBuilder fieldResolutions = new StringBuilder();
+        final StringBuilder fieldConversions = new StringBuilder();
+
+        final List<RowType.RowField> fields = rowType.getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            final RowType.RowField field = fields.get(i);
+            final LogicalType fieldType = field.getType();
+
+            String conversion = null;
+            final Optional<DeserializationRuntimeConverter> userDefinedConverter =
+                    userDefinedConverterFactory.createUserDefinedConverter(
+                            fieldType, serverTimeZone);
+            if (!userDefinedConverter.isPresent()) {
+                conversion = generateInlineConversion(fieldType, i);
+            }
+            if (conversion == null) {
+                final DeserializationRuntimeConverter converter;
+                if (userDefinedConverter.isPresent()) {
+                    converter = userDefinedConverter.get();
+                } else if (fieldType instanceof RowType) {
+                    converter =
+                            generateRowConverter(
+                                    (RowType) fieldType,
+                                    serverTimeZone,
+                                    userDefinedConverterFactory);
+                } else {
+                    converter =
+                            RowDataDebeziumDeserializeSchema.createNotNullConverter(
+                                    fieldType, serverTimeZone, userDefinedConverterFactory);
+                }
+                final String converterTerm = "converter" + references.size();
+                addReferenceMember(
+                        memberDeclarations,
+                        memberInitializations,
+                        converterType,
+                        converterTerm,
+                        references.size());
+                references.add(converter);
+                conversion =
+                        "row.setField("
+                                + i
+                                + ", "
+                                + converterTerm
+                                + ".convert(value, field.schema()));\n";
+            }
+
+            fieldResolutions
+                    .append("    fields[")
+                    .append(i)
+                    .append("] = schema.field(")
+                    .append(quoteString(field.getName()))
+                    .append(");\n");
+            fieldConversions
+                    .append("    field = fields[")
+                    .append(i)
+                    .append("];\n")
+                    .append("    if (field != null) {\n")
+                    // Struct#get(Field) falls back to the default value of the field, which must
+                    // not be used for a null column value
+                    .append("      value = field.schema().defaultValue() == null\n")
+                    .append("          ? struct.get(field)\n")
+                    .append("          : struct.getWithoutDefault(field.name());\n")
+                    .append("      if (value != null) {\n")
+                    .append(conversion)
+                    .append("      }\n")
+                    .append("    }\n");
+        }
+
+        // the fields are resolved by name once per schema instead of once per record, the schema
+        // of a table only changes on schema changes
+        memberDeclarations
+                .append("  private final ")
+                .append(structFieldType)
+                .append("[] fields = new ")
+                .append(structFieldType)
+                .append('[')
+                .append(fields.size())
+                .append("];\n")
+                .append("  private ")
+                .append(schemaType)
+                .append(" resolvedSchema;\n");
+
+        final String methods =
+                "  public Object convert(Object dbzObj, "
+                        + schemaType
+                        + " schema) throws Exception {\n"
+                        + "    if (dbzObj == null) {\n"
+                        + "      return null;\n"
+                        + "    }\n"
+                        + "    final "
+                        + typeTerm(Struct.class)
+                        + " struct = ("
+                        + typeTerm(Struct.class)
+                        + ") dbzObj;\n"
+                        + "    if (struct.schema() != resolvedSchema) {\n"
+                        + "      resolveFields(struct.schema());\n"
+                        + "    }\n"
+                        + "    final "
+                        + typeTerm(GenericRowData.class)
+                        + " row = new "
+                        + typeTerm(GenericRowData.class)
+                        + "("
+                        + fields.size()
+                        + ");\n"
+                        + "    "
+                        + structFieldType
+                        + " field;\n"
+                        + "    Object value;\n"
+                        + fieldConversions
+                        + "    return row;\n"
+                        + "  }\n"
+                        + "\n"
+                        + "  private void resolveFields("
+                        + schemaType
+                        + " schema) {\n"
+                        + fieldResolutions
+                        + "    resolvedSchema = schema;\n"
+                        + "  }\n";
+        final String code =
+                generateClass(
+                        className,
+                        DeserializationRuntimeConverter.class,
+                        memberDeclarations,
+                        memberInitializations,
+                        methods);
+
+        return new CodeGeneratedConverter(
+                new GeneratedConverter<>(className, code, references.toArray()));
+    }
+
+    /**
+     * Generates the statements which convert the non-null {@code value} and set it to the field at
+     * the given position of {@code row}, returns null if the type should be converted by a
+     * delegated converter. The conversions are the same as the ones in {@link
+     * RowDataDebeziumDeserializeSchema}.
+     */
+    private static String generateInlineConversion(LogicalType type, int pos) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                return "if (value instanceof Boolean) {\n"
+                        + setField(pos, "value")
+                        + "} else if (value instanceof Byte) {\n"
+                        + setField(pos, "Boolean.valueOf(((Byte) value).byteValue() == 1)")
+                        + "} else if (value instanceof Short) {\n"
+                        + setField(pos, "Boolean.valueOf(((Short) value).shortValue() == 1)")
+                        + "} else {\n"
+                        + setField(pos, "Boolean.valueOf(Boolean.parseBoolean(value.toString()))")
+                        + "}\n";
+            case INTEGER:
+            case INTERVAL_YEAR_MONTH:
+                return "if (value instanceof Integer) {\n"
+                        + setField(pos, "value")
+                        + "} else if (value instanceof Long) {\n"
+                        + setField(pos, "Integer.valueOf(((Long) value).intValue())")
+                        + "} else {\n"
+                        + setField(pos, "Integer.valueOf(Integer.parseInt(value.toString()))")
+                        + "}\n";
+            case BIGINT:
+            case INTERVAL_DAY_TIME:
+                return "if (value instanceof Long) {\n"
+                        + setField(pos, "value")
+                        + "} else if (value instanceof Integer) {\n"
+                        + setField(pos, "Long.valueOf(((Integer) value).longValue())")
+                        + "} else {\n"
+                        + setField(pos, "Long.valueOf(Long.parseLong(value.toString()))")
+                        + "}\n";
+            case FLOAT:
+                return "if (value instanceof Float) {\n"
+                        + setField(pos, "value")
+                        + "} else if (value instanceof Double) {\n"
+                        + setField(pos, "Float.valueOf(((Double) value).floatValue())")
+                        + "} else {\n"
+                        + setField(pos, "Float.valueOf(Float.parseFloat(value.toString()))")
+                        + "}\n";
+            case DOUBLE:
+                return "if (value instanceof Double) {\n"
+                        + setField(pos, "value")
+                        + "} else if (value instanceof Float) {\n"
+                        + setField(pos, "Double.valueOf(((Float) value).doubleValue())")
+                        + "} else {\n"
+                        + setField(pos, "Double.valueOf(Double.parseDouble(value.toString()))")
+                        + "}\n";
+            case CHAR:
+            case VARCHAR:
+                // calls the static method of the class instead of the StringData interface, as
+                // Janino doesn't compile the invocations of static interface methods correctly
+                return setField(
+                        pos, typeTerm(BinaryStringData.class) + ".fromString(value.toString())");
+            default:
+                return null;
+        }
+    }
+
+    private static String setField(int pos, String valueTerm) {
+        return "row.setField(" + pos + ", " + valueTerm + ");\n";
+    }
+
+    /**
+     * A serializable {@link DeserializationRuntimeConverter} which compiles the generated converter
+     * class when it's used for the first time.
+     */
+    private static final class CodeGeneratedConverter implements DeserializationRuntimeConverter {
+
+        private static final long serialVersionUID = 1L;
+
+        private final GeneratedConverter<DeserializationRuntimeConverter> generatedConverter;
+
+        private transient DeserializationRuntimeConverter converter;
+
+        private CodeGeneratedConverter(
+                GeneratedConverter<DeserializationRuntimeConverter> generatedConverter) {
+            this.generatedConverter = generatedConverter;
+        }
+
+        @Override
+        public Object convert(Object dbzObj, Schema schema) throws Exception {
+            if (converter == null) {
+                converter = generatedConverter.newInstance(getUserCodeClassLoader());
+            }
+            return converter.convert(dbzObj, schema);
+        }
+    }
+}
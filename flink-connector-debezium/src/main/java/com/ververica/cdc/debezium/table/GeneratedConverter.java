@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.debezium.table;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.runtime.generated.GeneratedClass;
+
+/**
+ * The source code of a generated converter class and the objects referenced by it. The code is
+ * shipped to the task managers and compiled by Janino when the converter is instantiated, the
+ * generated class must have a public constructor which accepts the references as {@code Object[]}.
+ *
+ * @param <T> the type of the converter
+ */
+@Internal
+public final class GeneratedConverter<T> extends GeneratedClass<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    public GeneratedConverter(String className, String code, Object[] references) {
+        super(className, code, references, new Configuration());
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.debezium.table;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.GenericRowData;
+
+import io.debezium.data.Envelope;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+import java.io.Serializable;
+
+/**
+ * Converts the before and after images of Debezium change events into two reusable {@link
+ * GenericRowData}s.
+ *
+ * <p>The {@link Field}s of the envelope and of the physical columns are resolved once per value
+ * schema, the field values are then accessed by index instead of looking up the fields by name for
+ * every record. The value schemas of the records of a table are the same instance until the table
+ * schema changes, so the resolved fields are cached by the identity of the value schema.
+ *
+ * <p>The returned rows are only valid until the next record is converted.
+ */
+@Internal
+final class ReusableRowDataConverter implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String[] fieldNames;
+    private final DeserializationRuntimeConverter[] fieldConverters;
+
+    private transient Schema cachedValueSchema;
+    private transient Field operationField;
+    private transient ImageFields beforeFields;
+    private transient ImageFields afterFields;
+    private transient GenericRowData reuseBefore;
+    private transient GenericRowData reuseAfter;
+
+    ReusableRowDataConverter(
+            String[] fieldNames, DeserializationRuntimeConverter[] fieldConverters) {
+        this.fieldNames = fieldNames;
+        this.fieldConverters = fieldConverters;
+    }
+
+    /** Returns the operation of the change event. */
+    Envelope.Operation operation(Struct value, Schema valueSchema) {
+        resolve(valueSchema);
+        if (operationField == null) {
+            return null;
+        }
+        final String code = (String) value.get(operationField);
+        return code == null ? null : Envelope.Operation.forCode(code);
+    }
+
+    /** Converts the before image into the reused before row. */
+    GenericRowData convertBefore(Struct value, Schema valueSchema) throws Exception {
+        resolve(valueSchema);
+        if (reuseBefore == null) {
+            reuseBefore = new GenericRowData(fieldNames.length);
+        }
+        return convert(value, beforeFields, reuseBefore);
+    }
+
+    /** Converts the after image into the reused after row. */
+    GenericRowData convertAfter(Struct value, Schema valueSchema) throws Exception {
+        resolve(valueSchema);
+        if (reuseAfter == null) {
+            reuseAfter = new GenericRowData(fieldNames.length);
+        }
+        return convert(value, afterFields, reuseAfter);
+    }
+
+    private GenericRowData convert(Struct value, ImageFields imageFields, GenericRowData reuse)
+            throws Exception {
+        final Struct image = (Struct) value.get(imageFields.imageField);
+        if (image == null) {
+            return null;
+        }
+        for (int i = 0; i < fieldNames.length; i++) {
+            final Field field = imageFields.fields[i];
+            if (field == null) {
+                reuse.setField(i, null);
+                continue;
+            }
+            // Struct#get(Field) falls back to the default value of the field, which must not be
+            // used for a null column value
+            final Object fieldValue =
+                    imageFields.hasDefaultValue[i]
+                            ? image.getWithoutDefault(field.name())
+                            : image.get(field);
+            reuse.setField(
+                    i,
+                    fieldValue == null
+                            ? null
+                            : fieldConverters[i].convert(fieldValue, field.schema()));
+        }
+        return reuse;
+    }
+
+    private void resolve(Schema valueSchema) {
+        if (valueSchema == cachedValueSchema) {
+            return;
+        }
+        operationField = valueSchema.field(Envelope.FieldName.OPERATION);
+        beforeFields = resolveImage(valueSchema.field(Envelope.FieldName.BEFORE));
+        afterFields = resolveImage(valueSchema.field(Envelope.FieldName.AFTER));
+        cachedValueSchema = valueSchema;
+    }
+
+    private ImageFields resolveImage(Field imageField) {
+        if (imageField == null) {
+            return null;
+        }
+        final Schema imageSchema = imageField.schema();
+        final Field[] fields = new Field[fieldNames.length];
+        final boolean[] hasDefaultValue = new boolean[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            fields[i] = imageSchema.field(fieldNames[i]);
+            hasDefaultValue[i] = fields[i] != null && fields[i].schema().defaultValue() != null;
+        }
+        return new ImageFields(imageField, fields, hasDefaultValue);
+    }
+
+    /** The resolved fields of the before or after image. */
+    private static final class ImageFields {
+        private final Field imageField;
+        // the field of each physical column, null if the column is absent
+        private final Field[] fields;
+        private final boolean[] hasDefaultValue;
+
+        private ImageFields(Field imageField, Field[] fields, boolean[] hasDefaultValue) {
+            this.imageField = imageField;
+            this.fields = fields;
+            this.hasDefaultValue = hasDefaultValue;
+        }
+    }
+}
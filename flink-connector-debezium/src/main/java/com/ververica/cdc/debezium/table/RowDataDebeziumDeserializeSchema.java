@@ -46,6 +46,8 @@ import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 
+import javax.annotation.Nullable;
+
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
@@ -64,7 +66,10 @@ public final class RowDataDebeziumDeserializeSchema
         implements DebeziumDeserializationSchema<RowData> {
     private static final long serialVersionUID = 2L;
 
-    /** Custom validator to validate the row value. */
+    /**
+     * Custom validator to validate the row value. The before row of an UPDATE event is null if the
+     * event has no before image, and it's skipped if the validator accepts it.
+     */
     public interface ValueValidator extends Serializable {
         void validate(RowData rowData, RowKind rowKind) throws Exception;
     }
@@ -89,6 +94,12 @@ public final class RowDataDebeziumDeserializeSchema
     /** Validator to validate the row value. */
     private final ValueValidator validator;
 
+    /**
+     * Converter that writes the physical column values into reused rows, only available in object
+     * reuse mode.
+     */
+    @Nullable private final ReusableRowDataConverter reusableConverter;
+
     /** Returns a builder to build {@link RowDataDebeziumDeserializeSchema}. */
     public static Builder newBuilder() {
         return new Builder();
@@ -100,20 +111,32 @@ public final class RowDataDebeziumDeserializeSchema
             TypeInformation<RowData> resultTypeInfo,
             ValueValidator validator,
             ZoneId serverTimeZone,
-            DeserializationRuntimeConverterFactory userDefinedConverterFactory) {
+            DeserializationRuntimeConverterFactory userDefinedConverterFactory,
+            boolean objectReuse,
+            boolean converterCodeGeneration) {
         this.hasMetadata = checkNotNull(metadataConverters).length > 0;
         this.appendMetadataCollector = new AppendMetadataCollector(metadataConverters);
         this.physicalConverter =
-                createConverter(
+                createPhysicalConverter(
                         checkNotNull(physicalDataType),
                         serverTimeZone,
-                        userDefinedConverterFactory);
+                        userDefinedConverterFactory,
+                        converterCodeGeneration);
         this.resultTypeInfo = checkNotNull(resultTypeInfo);
         this.validator = checkNotNull(validator);
+        this.reusableConverter =
+                objectReuse
+                        ? createReusableConverter(
+                                physicalDataType, serverTimeZone, userDefinedConverterFactory)
+                        : null;
     }
 
     @Override
     public void deserialize(SourceRecord record, Collector<RowData> out) throws Exception {
+        if (reusableConverter != null) {
+            deserializeReusing(record, out);
+            return;
+        }
         Envelope.Operation op = Envelope.operationFor(record);
         Struct value = (Struct) record.value();
         Schema valueSchema = record.valueSchema();
@@ -130,8 +153,11 @@ public final class RowDataDebeziumDeserializeSchema
         } else {
             GenericRowData before = extractBeforeRow(value, valueSchema);
             validator.validate(before, RowKind.UPDATE_BEFORE);
-            before.setRowKind(RowKind.UPDATE_BEFORE);
-            emit(record, before, out);
+            // the validator accepts a missing before image when it's restored downstream
+            if (before != null) {
+                before.setRowKind(RowKind.UPDATE_BEFORE);
+                emit(record, before, out);
+            }
 
             GenericRowData after = extractAfterRow(value, valueSchema);
             validator.validate(after, RowKind.UPDATE_AFTER);
@@ -140,6 +166,36 @@ public final class RowDataDebeziumDeserializeSchema
         }
     }
 
+    private void deserializeReusing(SourceRecord record, Collector<RowData> out) throws Exception {
+        Struct value = (Struct) record.value();
+        Schema valueSchema = record.valueSchema();
+        Envelope.Operation op = reusableConverter.operation(value, valueSchema);
+        if (op == Envelope.Operation.CREATE || op == Envelope.Operation.READ) {
+            GenericRowData insert = reusableConverter.convertAfter(value, valueSchema);
+            validator.validate(insert, RowKind.INSERT);
+            insert.setRowKind(RowKind.INSERT);
+            emit(record, insert, out);
+        } else if (op == Envelope.Operation.DELETE) {
+            GenericRowData delete = reusableConverter.convertBefore(value, valueSchema);
+            validator.validate(delete, RowKind.DELETE);
+            delete.setRowKind(RowKind.DELETE);
+            emit(record, delete, out);
+        } else {
+            GenericRowData before = reusableConverter.convertBefore(value, valueSchema);
+            validator.validate(before, RowKind.UPDATE_BEFORE);
+            // the validator accepts a missing before image when it's restored downstream
+            if (before != null) {
+                before.setRowKind(RowKind.UPDATE_BEFORE);
+                emit(record, before, out);
+            }
+
+            GenericRowData after = reusableConverter.convertAfter(value, valueSchema);
+            validator.validate(after, RowKind.UPDATE_AFTER);
+            after.setRowKind(RowKind.UPDATE_AFTER);
+            emit(record, after, out);
+        }
+    }
+
     private GenericRowData extractAfterRow(Struct value, Schema valueSchema) throws Exception {
         Schema afterSchema = valueSchema.field(Envelope.FieldName.AFTER).schema();
         Struct after = value.getStruct(Envelope.FieldName.AFTER);
@@ -181,6 +237,8 @@ public final class RowDataDebeziumDeserializeSchema
         private ZoneId serverTimeZone = ZoneId.of("UTC");
         private DeserializationRuntimeConverterFactory userDefinedConverterFactory =
                 DeserializationRuntimeConverterFactory.DEFAULT;
+        private boolean objectReuse = false;
+        private boolean converterCodeGeneration = false;
 
         public Builder setPhysicalRowType(RowType physicalRowType) {
             this.physicalRowType = physicalRowType;
@@ -213,6 +271,26 @@ public final class RowDataDebeziumDeserializeSchema
             return this;
         }
 
+        /**
+         * Whether to write the physical column values into reused rows instead of creating new rows
+         * for every record. The emitted rows are only valid until the next record is deserialized,
+         * so this should only be enabled when the object reuse of the pipeline is enabled.
+         */
+        public Builder setObjectReuse(boolean objectReuse) {
+            this.objectReuse = objectReuse;
+            return this;
+        }
+
+        /**
+         * Whether to compile a specialised converter class for the physical row type by Janino,
+         * which converts the fields in straight-line code instead of going through a chain of
+         * generic converters. It doesn't apply to the object reuse mode.
+         */
+        public Builder setConverterCodeGeneration(boolean converterCodeGeneration) {
+            this.converterCodeGeneration = converterCodeGeneration;
+            return this;
+        }
+
         public RowDataDebeziumDeserializeSchema build() {
             return new RowDataDebeziumDeserializeSchema(
                     physicalRowType,
@@ -220,7 +298,9 @@ public final class RowDataDebeziumDeserializeSchema
                     resultTypeInfo,
                     validator,
                     serverTimeZone,
-                    userDefinedConverterFactory);
+                    userDefinedConverterFactory,
+                    objectReuse,
+                    converterCodeGeneration);
         }
     }
 
@@ -237,6 +317,41 @@ public final class RowDataDebeziumDeserializeSchema
                 createNotNullConverter(type, serverTimeZone, userDefinedConverterFactory));
     }
 
+    /** Creates the runtime converter of the physical row, which may be code generated. */
+    private static DeserializationRuntimeConverter createPhysicalConverter(
+            RowType physicalDataType,
+            ZoneId serverTimeZone,
+            DeserializationRuntimeConverterFactory userDefinedConverterFactory,
+            boolean converterCodeGeneration) {
+        if (converterCodeGeneration
+                && !userDefinedConverterFactory
+                        .createUserDefinedConverter(physicalDataType, serverTimeZone)
+                        .isPresent()) {
+            return DeserializationRuntimeConverterCodeGenerator.generateRowConverter(
+                    physicalDataType, serverTimeZone, userDefinedConverterFactory);
+        }
+        return createConverter(physicalDataType, serverTimeZone, userDefinedConverterFactory);
+    }
+
+    /** Creates a converter which writes the physical column values into reused rows. */
+    private static ReusableRowDataConverter createReusableConverter(
+            RowType rowType,
+            ZoneId serverTimeZone,
+            DeserializationRuntimeConverterFactory userDefinedConverterFactory) {
+        final DeserializationRuntimeConverter[] fieldConverters =
+                rowType.getFields().stream()
+                        .map(RowType.RowField::getType)
+                        .map(
+                                logicType ->
+                                        createConverter(
+                                                logicType,
+                                                serverTimeZone,
+                                                userDefinedConverterFactory))
+                        .toArray(DeserializationRuntimeConverter[]::new);
+        final String[] fieldNames = rowType.getFieldNames().toArray(new String[0]);
+        return new ReusableRowDataConverter(fieldNames, fieldConverters);
+    }
+
     // --------------------------------------------------------------------------------
     // IMPORTANT! We use anonymous classes instead of lambdas for a reason here. It is
     // necessary because the maven shade plugin cannot relocate classes in
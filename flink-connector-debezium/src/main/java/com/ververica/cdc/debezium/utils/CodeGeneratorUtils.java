@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.debezium.utils;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.utils.EncodingUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Utilities to generate the code of the converters. */
+@Internal
+public class CodeGeneratorUtils {
+
+    private static final AtomicLong NAME_COUNTER = new AtomicLong(0);
+
+    private CodeGeneratorUtils() {}
+
+    /** Returns a class name with the given prefix which is unique in the current JVM. */
+    public static String newClassName(String prefix) {
+        return prefix + "$" + NAME_COUNTER.getAndIncrement();
+    }
+
+    /**
+     * Returns the name of the given class to be used in the generated code. The name is resolved
+     * from the class instead of being written as a literal, because the classes may be relocated in
+     * the shaded SQL connector jars.
+     */
+    public static String typeTerm(Class<?> clazz) {
+        return clazz.getCanonicalName();
+    }
+
+    /**
+     * Returns the class loader to compile the generated classes with. The context class loader of
+     * the task threads is the user code class loader, which can also load the classes of the
+     * connector when it's shipped with the user jar instead of being placed in the lib folder.
+     */
+    public static ClassLoader getUserCodeClassLoader() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null
+                ? contextClassLoader
+                : CodeGeneratorUtils.class.getClassLoader();
+    }
+
+    /** Returns the Java string literal of the given string. */
+    public static String quoteString(String str) {
+        return "\"" + EncodingUtils.escapeJava(str) + "\"";
+    }
+
+    /**
+     * Appends the declaration of a final member of the generated class and its initialization from
+     * the references passed to the constructor, see {@link #generateClass}.
+     */
+    public static void addReferenceMember(
+            StringBuilder memberDeclarations,
+            StringBuilder memberInitializations,
+            String memberType,
+            String memberTerm,
+            int referenceIndex) {
+        memberDeclarations
+                .append("  private final ")
+                .append(memberType)
+                .append(' ')
+                .append(memberTerm)
+                .append(";\n");
+        memberInitializations
+                .append("    ")
+                .append(memberTerm)
+                .append(" = (")
+                .append(memberType)
+                .append(") references[")
+                .append(referenceIndex)
+                .append("];\n");
+    }
+
+    /**
+     * Returns the code of a final class implementing the given interface, whose public constructor
+     * accepts the references as {@code Object[]} as required by {@link
+     * com.ververica.cdc.debezium.table.GeneratedConverter}.
+     */
+    public static String generateClass(
+            String className,
+            Class<?> interfaceClass,
+            CharSequence memberDeclarations,
+            CharSequence memberInitializations,
+            CharSequence methods) {
+        return "public final class "
+                + className
+                + " implements "
+                + typeTerm(interfaceClass)
+                + " {\n"
+                + memberDeclarations
+                + "\n"
+                + "  public "
+                + className
+                + "(Object[] references) {\n"
+                + memberInitializations
+                + "  }\n"
+                + "\n"
+                + methods
+                + "}\n";
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.debezium;
+
+import org.apache.flink.util.Collector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Unit test for {@link JsonDebeziumBytesDeserializationSchema}. */
+public class JsonDebeziumBytesDeserializationSchemaTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final Schema SCHEMA =
+            SchemaBuilder.struct()
+                    .name("products.Value")
+                    .field("id", Schema.INT64_SCHEMA)
+                    .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+                    .build();
+
+    private static final Schema NEW_SCHEMA =
+            SchemaBuilder.struct()
+                    .name("products.Value")
+                    .field("id", Schema.INT64_SCHEMA)
+                    .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+                    .field("weight", Schema.OPTIONAL_FLOAT64_SCHEMA)
+                    .build();
+
+    @Test
+    public void testSameAsJsonString() throws Exception {
+        final SourceRecord record = record("products", SCHEMA, 101L);
+        for (boolean includeSchema : new boolean[] {false, true}) {
+            final List<String> expected = new ArrayList<>();
+            new JsonDebeziumDeserializationSchema(includeSchema)
+                    .deserialize(record, new ListCollector<>(expected));
+            final List<byte[]> actual =
+                    deserialize(
+                            new JsonDebeziumBytesDeserializationSchema(
+                                    includeSchema ? JsonSchemaMode.FULL : JsonSchemaMode.NONE),
+                            record);
+            assertArrayEquals(expected.get(0).getBytes(StandardCharsets.UTF_8), actual.get(0));
+        }
+    }
+
+    @Test
+    public void testSchemaFingerprint() throws Exception {
+        final List<byte[]> messages =
+                deserialize(
+                        new JsonDebeziumBytesDeserializationSchema(JsonSchemaMode.FINGERPRINT),
+                        record("products", SCHEMA, 101L),
+                        record("products", SCHEMA, 102L),
+                        record("orders", SCHEMA, 103L),
+                        record("products", NEW_SCHEMA, 104L),
+                        record("products", NEW_SCHEMA, 105L));
+        final List<JsonNode> nodes = new ArrayList<>();
+        for (byte[] message : messages) {
+            nodes.add(OBJECT_MAPPER.readTree(message));
+        }
+
+        final List<byte[]> payloads =
+                deserialize(
+                        new JsonDebeziumBytesDeserializationSchema(JsonSchemaMode.NONE),
+                        record("products", SCHEMA, 101L));
+        assertEquals(OBJECT_MAPPER.readTree(payloads.get(0)), nodes.get(0).get("payload"));
+
+        final List<byte[]> fullMessages =
+                deserialize(
+                        new JsonDebeziumBytesDeserializationSchema(JsonSchemaMode.FULL),
+                        record("products", SCHEMA, 101L));
+        assertEquals(
+                OBJECT_MAPPER.readTree(fullMessages.get(0)).get("schema"),
+                nodes.get(0).get("schema"));
+
+        // the schema is only emitted when the schema of the topic changes
+        assertTrue(nodes.get(0).has("schema"));
+        assertFalse(nodes.get(1).has("schema"));
+        assertTrue(nodes.get(2).has("schema"));
+        assertTrue(nodes.get(3).has("schema"));
+        assertFalse(nodes.get(4).has("schema"));
+
+        final String schemaId = nodes.get(0).get("schemaId").asText();
+        assertEquals(schemaId, nodes.get(1).get("schemaId").asText());
+        assertEquals(schemaId, nodes.get(2).get("schemaId").asText());
+        assertNotEquals(schemaId, nodes.get(3).get("schemaId").asText());
+        assertEquals(nodes.get(3).get("schemaId").asText(), nodes.get(4).get("schemaId").asText());
+        assertEquals(105L, nodes.get(4).get("payload").get("id").asLong());
+    }
+
+    private static SourceRecord record(String topic, Schema schema, long id) {
+        return new SourceRecord(
+                Collections.emptyMap(),
+                Collections.emptyMap(),
+                topic,
+                schema,
+                new Struct(schema).put("id", id).put("name", "scooter"));
+    }
+
+    private static List<byte[]> deserialize(
+            JsonDebeziumBytesDeserializationSchema deserializer, SourceRecord... records)
+            throws Exception {
+        final List<byte[]> messages = new ArrayList<>();
+        for (SourceRecord record : records) {
+            deserializer.deserialize(record, new ListCollector<>(messages));
+        }
+        return messages;
+    }
+
+    private static class ListCollector<T> implements Collector<T> {
+
+        private final List<T> list;
+
+        private ListCollector(List<T> list) {
+            this.list = list;
+        }
+
+        @Override
+        public void collect(T record) {
+            list.add(record);
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.debezium.internal;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.core.testutils.CheckedThread;
+import org.apache.flink.streaming.api.functions.source.SourceFunction;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.RowKind;
+
+import com.ververica.cdc.debezium.table.RowDataDebeziumDeserializeSchema;
+import io.debezium.data.Envelope;
+import io.debezium.engine.ChangeEvent;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/** Unit test for {@link DebeziumChangeFetcher}. */
+public class DebeziumChangeFetcherTest {
+
+    private static final RowType ROW_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("id", DataTypes.BIGINT().notNull()),
+                                    DataTypes.FIELD("name", DataTypes.STRING()))
+                            .getLogicalType();
+
+    private static final Schema SOURCE_SCHEMA =
+            SchemaBuilder.struct()
+                    .name("source")
+                    .field("db", Schema.STRING_SCHEMA)
+                    .field("table", Schema.STRING_SCHEMA)
+                    .build();
+
+    private static final Schema ROW_SCHEMA =
+            SchemaBuilder.struct()
+                    .name("inventory.products.Value")
+                    .field("id", Schema.INT64_SCHEMA)
+                    .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+                    .optional()
+                    .build();
+
+    private static final Envelope ENVELOPE =
+            Envelope.defineSchema()
+                    .withName("inventory.products.Envelope")
+                    .withRecord(ROW_SCHEMA)
+                    .withSource(SOURCE_SCHEMA)
+                    .build();
+
+    @Test
+    public void testEmitBatchWithObjectReuse() throws Exception {
+        final RowDataDebeziumDeserializeSchema deserializer =
+                RowDataDebeziumDeserializeSchema.newBuilder()
+                        .setPhysicalRowType(ROW_TYPE)
+                        .setResultTypeInfo(TypeInformation.of(RowData.class))
+                        .setObjectReuse(true)
+                        .build();
+        final CopyingSourceContext sourceContext = new CopyingSourceContext();
+        final Handover handover = new Handover();
+        final DebeziumChangeFetcher<RowData> fetcher =
+                new DebeziumChangeFetcher<>(
+                        sourceContext, deserializer, false, "__debezium-heartbeat", handover);
+
+        final CheckedThread fetchThread =
+                new CheckedThread() {
+                    @Override
+                    public void go() throws Exception {
+                        fetcher.runFetchLoop();
+                    }
+                };
+        fetchThread.start();
+
+        handover.produce(
+                Arrays.asList(
+                        event(ENVELOPE.create(row(101L, "scooter"), source(), Instant.now())),
+                        event(
+                                ENVELOPE.update(
+                                        row(101L, "scooter"),
+                                        row(101L, "car"),
+                                        source(),
+                                        Instant.now())),
+                        event(ENVELOPE.create(row(102L, "bike"), source(), Instant.now()))));
+
+        final List<RowData> expected =
+                Arrays.asList(
+                        GenericRowData.ofKind(
+                                RowKind.INSERT, 101L, StringData.fromString("scooter")),
+                        GenericRowData.ofKind(
+                                RowKind.UPDATE_BEFORE, 101L, StringData.fromString("scooter")),
+                        GenericRowData.ofKind(
+                                RowKind.UPDATE_AFTER, 101L, StringData.fromString("car")),
+                        GenericRowData.ofKind(RowKind.INSERT, 102L, StringData.fromString("bike")));
+        while (sourceContext.size() < expected.size()) {
+            Thread.sleep(10);
+        }
+        fetcher.close();
+        fetchThread.sync();
+
+        assertEquals(expected, sourceContext.getRows());
+    }
+
+    private static Struct row(long id, String name) {
+        return new Struct(ROW_SCHEMA).put("id", id).put("name", name);
+    }
+
+    private static Struct source() {
+        return new Struct(SOURCE_SCHEMA).put("db", "inventory").put("table", "products");
+    }
+
+    private static ChangeEvent<SourceRecord, SourceRecord> event(Struct value) {
+        final SourceRecord record =
+                new SourceRecord(
+                        Collections.emptyMap(),
+                        Collections.emptyMap(),
+                        "inventory.products",
+                        ENVELOPE.schema(),
+                        value);
+        return new ChangeEvent<SourceRecord, SourceRecord>() {
+            @Override
+            public SourceRecord key() {
+                return null;
+            }
+
+            @Override
+            public SourceRecord value() {
+                return record;
+            }
+
+            @Override
+            public String destination() {
+                return record.topic();
+            }
+        };
+    }
+
+    /**
+     * A {@link SourceFunction.SourceContext} which copies the emitted rows, as the downstream
+     * operators consume the rows before the next row is emitted.
+     */
+    private static class CopyingSourceContext implements SourceFunction.SourceContext<RowData> {
+
+        private final Object lock = new Object();
+        private final List<RowData> rows = new ArrayList<>();
+
+        @Override
+        public void collect(RowData row) {
+            final GenericRowData genericRow = (GenericRowData) row;
+            final GenericRowData copy = new GenericRowData(genericRow.getArity());
+            copy.setRowKind(genericRow.getRowKind());
+            for (int i = 0; i < genericRow.getArity(); i++) {
+                copy.setField(i, genericRow.getField(i));
+            }
+            synchronized (rows) {
+                rows.add(copy);
+            }
+        }
+
+        int size() {
+            synchronized (rows) {
+                return rows.size();
+            }
+        }
+
+        List<RowData> getRows() {
+            synchronized (rows) {
+                return new ArrayList<>(rows);
+            }
+        }
+
+        @Override
+        public void collectWithTimestamp(RowData element, long timestamp) {
+            collect(element);
+        }
+
+        @Override
+        public void emitWatermark(Watermark mark) {}
+
+        @Override
+        public void markAsTemporarilyIdle() {}
+
+        @Override
+        public Object getCheckpointLock() {
+            return lock;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
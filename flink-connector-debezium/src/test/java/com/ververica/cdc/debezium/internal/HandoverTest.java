@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.debezium.internal;
+
+import org.apache.flink.core.testutils.CheckedThread;
+
+import io.debezium.engine.ChangeEvent;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/** Unit test for {@link Handover}. */
+public class HandoverTest {
+
+    @Test
+    public void testHandOverInOrder() throws Exception {
+        final Handover handover = new Handover(3, 100);
+        final int numBatches = 10_000;
+        final CheckedThread producer =
+                new CheckedThread() {
+                    @Override
+                    public void go() throws Exception {
+                        for (int i = 0; i < numBatches; i++) {
+                            handover.produce(batch(i % 7));
+                        }
+                    }
+                };
+        producer.start();
+
+        for (int i = 0; i < numBatches; i++) {
+            assertEquals(i % 7, handover.pollNext().size());
+        }
+        producer.sync();
+    }
+
+    @Test
+    public void testBufferMultipleBatches() throws Exception {
+        final Handover handover = new Handover(2, 100);
+        final List<ChangeEvent<SourceRecord, SourceRecord>> first = batch(1);
+        final List<ChangeEvent<SourceRecord, SourceRecord>> second = batch(2);
+        // doesn't block until the consumer polls
+        handover.produce(first);
+        handover.produce(second);
+
+        assertSame(first, handover.pollNext());
+        assertSame(second, handover.pollNext());
+    }
+
+    @Test
+    public void testBlockProducerWhenFull() throws Exception {
+        final Handover handover = new Handover(4, 3);
+        // a batch which is larger than the max buffered records is accepted by an empty handover
+        handover.produce(batch(5));
+        final CheckedThread producer =
+                new CheckedThread() {
+                    @Override
+                    public void go() throws Exception {
+                        handover.produce(batch(1));
+                    }
+                };
+        producer.start();
+        producer.join(100);
+        assertTrue(producer.isAlive());
+
+        assertEquals(5, handover.pollNext().size());
+        producer.sync();
+        assertEquals(1, handover.pollNext().size());
+    }
+
+    @Test
+    public void testErrorWakesUpConsumer() throws Exception {
+        final Handover handover = new Handover();
+        final CheckedThread consumer =
+                new CheckedThread() {
+                    @Override
+                    public void go() throws Exception {
+                        handover.pollNext();
+                    }
+                };
+        consumer.start();
+        final Exception error = new Exception("test error");
+        handover.reportError(error);
+        // the first error isn't overridden
+        handover.close();
+
+        try {
+            consumer.sync();
+            fail("The reported error should be thrown.");
+        } catch (Exception e) {
+            assertSame(error, e);
+        }
+        assertTrue(handover.hasError());
+    }
+
+    @Test
+    public void testCloseWakesUpProducer() throws Exception {
+        final Handover handover = new Handover(1, 100);
+        handover.produce(batch(1));
+        final CheckedThread producer =
+                new CheckedThread() {
+                    @Override
+                    public void go() throws Exception {
+                        handover.produce(batch(1));
+                    }
+                };
+        producer.start();
+        handover.close();
+
+        try {
+            producer.sync();
+            fail("The producer should fail after the handover is closed.");
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof Handover.ClosedException);
+        }
+        // the batch handed over before the handover was closed is still polled
+        assertEquals(1, handover.pollNext().size());
+        try {
+            handover.pollNext();
+            fail("The consumer should fail after the handover is closed.");
+        } catch (Handover.ClosedException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testPollPendingBatchesAfterClose() throws Exception {
+        final Handover handover = new Handover(4, 100);
+        final int numBatches = 3;
+        for (int i = 0; i < numBatches; i++) {
+            handover.produce(batch(i + 1));
+        }
+        handover.close();
+
+        for (int i = 0; i < numBatches; i++) {
+            assertEquals(i + 1, handover.pollNext().size());
+        }
+        try {
+            handover.pollNext();
+            fail("The consumer should fail after all the pending batches are polled.");
+        } catch (Handover.ClosedException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testErrorIsThrownBeforePendingBatches() throws Exception {
+        final Handover handover = new Handover(4, 100);
+        handover.produce(batch(1));
+        final Exception error = new Exception("test error");
+        handover.reportError(error);
+
+        try {
+            handover.pollNext();
+            fail("The reported error should be thrown.");
+        } catch (Exception e) {
+            assertSame(error, e);
+        }
+    }
+
+    private static List<ChangeEvent<SourceRecord, SourceRecord>> batch(int size) {
+        final List<ChangeEvent<SourceRecord, SourceRecord>> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(null);
+        }
+        return Collections.unmodifiableList(batch);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.debezium.table;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.InstantiationUtil;
+
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/** Unit test for {@link DeserializationRuntimeConverterCodeGenerator}. */
+public class DeserializationRuntimeConverterCodeGeneratorTest {
+
+    private static final ZoneId SERVER_TIME_ZONE = ZoneId.of("UTC");
+
+    private static final RowType ROW_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("id", DataTypes.BIGINT().notNull()),
+                                    DataTypes.FIELD("name", DataTypes.STRING()),
+                                    DataTypes.FIELD("flag", DataTypes.BOOLEAN()),
+                                    DataTypes.FIELD("quantity", DataTypes.INT()),
+                                    DataTypes.FIELD("weight", DataTypes.DOUBLE()),
+                                    DataTypes.FIELD("ratio", DataTypes.FLOAT()),
+                                    DataTypes.FIELD("price", DataTypes.DECIMAL(10, 2)),
+                                    DataTypes.FIELD(
+                                            "address",
+                                            DataTypes.ROW(
+                                                    DataTypes.FIELD("city", DataTypes.STRING()),
+                                                    DataTypes.FIELD("zip", DataTypes.INT()))),
+                                    DataTypes.FIELD("absent", DataTypes.STRING()))
+                            .getLogicalType();
+
+    private static final Schema ADDRESS_SCHEMA =
+            SchemaBuilder.struct()
+                    .field("city", Schema.OPTIONAL_STRING_SCHEMA)
+                    .field("zip", Schema.OPTIONAL_INT32_SCHEMA)
+                    .optional()
+                    .build();
+
+    private static final Schema ROW_SCHEMA =
+            SchemaBuilder.struct()
+                    .field("id", Schema.INT64_SCHEMA)
+                    .field("name", SchemaBuilder.string().optional().defaultValue("unknown"))
+                    .field("flag", Schema.OPTIONAL_INT16_SCHEMA)
+                    .field("quantity", Schema.OPTIONAL_INT64_SCHEMA)
+                    .field("weight", Schema.OPTIONAL_FLOAT32_SCHEMA)
+                    .field("ratio", Schema.OPTIONAL_FLOAT32_SCHEMA)
+                    .field("price", Decimal.builder(2).optional().build())
+                    .field("address", ADDRESS_SCHEMA)
+                    .build();
+
+    @Test
+    public void testConvertSameAsDefaultConverter() throws Exception {
+        final DeserializationRuntimeConverter generated =
+                DeserializationRuntimeConverterCodeGenerator.generateRowConverter(
+                        ROW_TYPE, SERVER_TIME_ZONE, DeserializationRuntimeConverterFactory.DEFAULT);
+        final DeserializationRuntimeConverter expected =
+                RowDataDebeziumDeserializeSchema.createNotNullConverter(
+                        ROW_TYPE, SERVER_TIME_ZONE, DeserializationRuntimeConverterFactory.DEFAULT);
+
+        final Struct row =
+                new Struct(ROW_SCHEMA)
+                        .put("id", 101L)
+                        .put("name", "scooter")
+                        .put("flag", (short) 1)
+                        .put("quantity", 3L)
+                        .put("weight", 5.5f)
+                        .put("ratio", 0.25f)
+                        .put("price", new BigDecimal("3.14"))
+                        .put(
+                                "address",
+                                new Struct(ADDRESS_SCHEMA).put("city", "Hangzhou").put("zip", 3));
+        assertEquals(expected.convert(row, ROW_SCHEMA), generated.convert(row, ROW_SCHEMA));
+
+        // the null value shouldn't be filled with the default value
+        final Struct nullRow = new Struct(ROW_SCHEMA).put("id", 102L);
+        final GenericRowData converted = (GenericRowData) generated.convert(nullRow, ROW_SCHEMA);
+        assertEquals(expected.convert(nullRow, ROW_SCHEMA), converted);
+        assertNull(converted.getField(1));
+
+        assertNull(generated.convert(null, ROW_SCHEMA));
+    }
+
+    @Test
+    public void testConvertAfterSchemaChange() throws Exception {
+        final DeserializationRuntimeConverter generated =
+                DeserializationRuntimeConverterCodeGenerator.generateRowConverter(
+                        ROW_TYPE, SERVER_TIME_ZONE, DeserializationRuntimeConverterFactory.DEFAULT);
+        final Schema changedSchema =
+                SchemaBuilder.struct()
+                        .field("quantity", Schema.OPTIONAL_INT32_SCHEMA)
+                        .field("id", Schema.INT64_SCHEMA)
+                        .field("absent", Schema.OPTIONAL_STRING_SCHEMA)
+                        .build();
+
+        final Struct row = new Struct(ROW_SCHEMA).put("id", 101L).put("name", "scooter");
+        final Struct changedRow =
+                new Struct(changedSchema).put("quantity", 3).put("id", 102L).put("absent", "x");
+        assertEquals(
+                GenericRowData.of(
+                        101L,
+                        StringData.fromString("scooter"),
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null),
+                generated.convert(row, ROW_SCHEMA));
+        // the fields are resolved again for the changed schema
+        assertEquals(
+                GenericRowData.of(
+                        102L, null, null, 3, null, null, null, null, StringData.fromString("x")),
+                generated.convert(changedRow, changedSchema));
+        assertEquals(
+                GenericRowData.of(
+                        101L,
+                        StringData.fromString("scooter"),
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null),
+                generated.convert(row, ROW_SCHEMA));
+    }
+
+    @Test
+    public void testUserDefinedConverter() throws Exception {
+        final DeserializationRuntimeConverterFactory factory =
+                new DeserializationRuntimeConverterFactory() {
+
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public Optional<DeserializationRuntimeConverter> createUserDefinedConverter(
+                            LogicalType logicalType, ZoneId serverTimeZone) {
+                        if (logicalType.getTypeRoot() != LogicalTypeRoot.VARCHAR) {
+                            return Optional.empty();
+                        }
+                        return Optional.of(
+                                new DeserializationRuntimeConverter() {
+
+                                    private static final long serialVersionUID = 1L;
+
+                                    @Override
+                                    public Object convert(Object dbzObj, Schema schema) {
+                                        return StringData.fromString(
+                                                dbzObj.toString().toUpperCase());
+                                    }
+                                });
+                    }
+                };
+        final RowType rowType =
+                (RowType)
+                        DataTypes.ROW(
+                                        DataTypes.FIELD("id", DataTypes.BIGINT()),
+                                        DataTypes.FIELD("name", DataTypes.STRING()))
+                                .getLogicalType();
+        final DeserializationRuntimeConverter generated =
+                DeserializationRuntimeConverterCodeGenerator.generateRowConverter(
+                        rowType, SERVER_TIME_ZONE, factory);
+
+        final Struct row = new Struct(ROW_SCHEMA).put("id", 101L).put("name", "scooter");
+        assertEquals(
+                GenericRowData.of(101L, StringData.fromString("SCOOTER")),
+                generated.convert(row, ROW_SCHEMA));
+    }
+
+    @Test
+    public void testSerializeGeneratedConverter() throws Exception {
+        final DeserializationRuntimeConverter generated =
+                DeserializationRuntimeConverterCodeGenerator.generateRowConverter(
+                        ROW_TYPE, SERVER_TIME_ZONE, DeserializationRuntimeConverterFactory.DEFAULT);
+        final Struct row = new Struct(ROW_SCHEMA).put("id", 101L).put("name", "scooter");
+        final Object expected = generated.convert(row, ROW_SCHEMA);
+
+        final DeserializationRuntimeConverter copy =
+                InstantiationUtil.clone(generated, getClass().getClassLoader());
+        assertEquals(expected, copy.convert(row, ROW_SCHEMA));
+    }
+}
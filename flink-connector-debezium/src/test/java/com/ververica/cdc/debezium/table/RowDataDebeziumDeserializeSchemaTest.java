@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.debezium.table;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import io.debezium.data.Envelope;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/** Unit test for {@link RowDataDebeziumDeserializeSchema}. */
+public class RowDataDebeziumDeserializeSchemaTest {
+
+    private static final RowType PHYSICAL_ROW_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("id", DataTypes.BIGINT().notNull()),
+                                    DataTypes.FIELD("name", DataTypes.STRING()),
+                                    DataTypes.FIELD("weight", DataTypes.DOUBLE()))
+                            .getLogicalType();
+
+    private static final Schema SOURCE_SCHEMA =
+            SchemaBuilder.struct()
+                    .name("source")
+                    .field("db", Schema.STRING_SCHEMA)
+                    .field("table", Schema.STRING_SCHEMA)
+                    .build();
+
+    private static final Schema ROW_SCHEMA =
+            SchemaBuilder.struct()
+                    .name("inventory.products.Value")
+                    .field("id", Schema.INT64_SCHEMA)
+                    .field("name", SchemaBuilder.string().optional().defaultValue("unknown"))
+                    .optional()
+                    .build();
+
+    private static final Envelope ENVELOPE =
+            Envelope.defineSchema()
+                    .withName("inventory.products.Envelope")
+                    .withRecord(ROW_SCHEMA)
+                    .withSource(SOURCE_SCHEMA)
+                    .build();
+
+    @Test
+    public void testObjectReuseProducesSameRows() throws Exception {
+        final List<SourceRecord> records =
+                Arrays.asList(
+                        createRecord(ENVELOPE, row(ROW_SCHEMA, 101L, "scooter")),
+                        updateRecord(
+                                ENVELOPE,
+                                row(ROW_SCHEMA, 101L, "scooter"),
+                                row(ROW_SCHEMA, 101L, "car")),
+                        // the null value shouldn't be filled with the default value
+                        createRecord(ENVELOPE, row(ROW_SCHEMA, 102L, null)),
+                        deleteRecord(ENVELOPE, row(ROW_SCHEMA, 102L, null)));
+
+        final RowDataDebeziumDeserializeSchema deserializer = createDeserializer(false);
+        final RowDataDebeziumDeserializeSchema reusingDeserializer = createDeserializer(true);
+        for (SourceRecord record : records) {
+            assertEquals(
+                    deserialize(deserializer, record), deserialize(reusingDeserializer, record));
+        }
+        assertEquals(
+                Collections.singletonList(GenericRowData.ofKind(RowKind.INSERT, 102L, null, null)),
+                deserialize(reusingDeserializer, records.get(2)));
+    }
+
+    @Test
+    public void testObjectReuseReusesRows() throws Exception {
+        final RowDataDebeziumDeserializeSchema deserializer = createDeserializer(true);
+
+        final List<RowData> first =
+                deserializeWithoutCopy(
+                        deserializer,
+                        updateRecord(
+                                ENVELOPE,
+                                row(ROW_SCHEMA, 101L, "scooter"),
+                                row(ROW_SCHEMA, 101L, "car")));
+        final List<RowData> second =
+                deserializeWithoutCopy(
+                        deserializer,
+                        updateRecord(
+                                ENVELOPE,
+                                row(ROW_SCHEMA, 102L, "bike"),
+                                row(ROW_SCHEMA, 102L, null)));
+
+        assertNotSame(first.get(0), first.get(1));
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(1), second.get(1));
+    }
+
+    @Test
+    public void testObjectReuseWithDownstreamKeepingRows() throws Exception {
+        final List<SourceRecord> records =
+                Arrays.asList(
+                        createRecord(ENVELOPE, row(ROW_SCHEMA, 101L, "scooter")),
+                        updateRecord(
+                                ENVELOPE,
+                                row(ROW_SCHEMA, 101L, "scooter"),
+                                row(ROW_SCHEMA, 101L, "car")),
+                        createRecord(ENVELOPE, row(ROW_SCHEMA, 102L, "bike")),
+                        deleteRecord(ENVELOPE, row(ROW_SCHEMA, 101L, "car")));
+        final List<RowData> expected = new ArrayList<>();
+        final RowDataDebeziumDeserializeSchema deserializer = createDeserializer(false);
+        for (SourceRecord record : records) {
+            expected.addAll(deserializeWithoutCopy(deserializer, record));
+        }
+
+        // a downstream operator which buffers the rows, the rows are copied with the serializer of
+        // the produced type before they are handed over, as Flink does between chained operators
+        // if the object reuse of the pipeline is disabled
+        final RowDataDebeziumDeserializeSchema reusingDeserializer = createDeserializer(true);
+        final TypeSerializer<RowData> serializer =
+                reusingDeserializer.getProducedType().createSerializer(new ExecutionConfig());
+        final List<RowData> keptCopies = new ArrayList<>();
+        final List<RowData> keptRows = new ArrayList<>();
+        for (SourceRecord record : records) {
+            for (RowData row : deserializeWithoutCopy(reusingDeserializer, record)) {
+                keptCopies.add(serializer.copy(row));
+                keptRows.add(row);
+            }
+        }
+        assertEquals(expected, keptCopies);
+
+        // the rows kept without copying are overwritten by the later records
+        assertSame(keptRows.get(0), keptRows.get(2));
+        assertEquals(
+                GenericRowData.ofKind(RowKind.INSERT, 102L, StringData.fromString("bike"), null),
+                keptRows.get(0));
+        assertEquals(
+                GenericRowData.ofKind(RowKind.DELETE, 101L, StringData.fromString("car"), null),
+                keptRows.get(1));
+    }
+
+    @Test
+    public void testObjectReuseWithSchemaChange() throws Exception {
+        final RowDataDebeziumDeserializeSchema deserializer = createDeserializer(true);
+        assertEquals(
+                Collections.singletonList(
+                        GenericRowData.ofKind(
+                                RowKind.INSERT, 101L, StringData.fromString("scooter"), null)),
+                deserialize(
+                        deserializer, createRecord(ENVELOPE, row(ROW_SCHEMA, 101L, "scooter"))));
+
+        // a column is added in front of the existing columns
+        final Schema newRowSchema =
+                SchemaBuilder.struct()
+                        .name("inventory.products.Value")
+                        .field("weight", Schema.OPTIONAL_FLOAT64_SCHEMA)
+                        .field("id", Schema.INT64_SCHEMA)
+                        .field("name", Schema.OPTIONAL_STRING_SCHEMA)
+                        .optional()
+                        .build();
+        final Envelope newEnvelope =
+                Envelope.defineSchema()
+                        .withName("inventory.products.Envelope")
+                        .withRecord(newRowSchema)
+                        .withSource(SOURCE_SCHEMA)
+                        .build();
+        final Struct newRow =
+                new Struct(newRowSchema).put("weight", 5.5).put("id", 102L).put("name", "car");
+        assertEquals(
+                Collections.singletonList(
+                        GenericRowData.ofKind(
+                                RowKind.INSERT, 102L, StringData.fromString("car"), 5.5)),
+                deserialize(deserializer, createRecord(newEnvelope, newRow)));
+    }
+
+    @Test
+    public void testUpdateWithoutBeforeImage() throws Exception {
+        final SourceRecord record = updateRecord(ENVELOPE, null, row(ROW_SCHEMA, 101L, "car"));
+        final List<RowData> expected =
+                Collections.singletonList(
+                        GenericRowData.ofKind(
+                                RowKind.UPDATE_AFTER, 101L, StringData.fromString("car"), null));
+        assertEquals(expected, deserialize(createDeserializer(false), record));
+        assertEquals(expected, deserialize(createDeserializer(true), record));
+    }
+
+    private static RowDataDebeziumDeserializeSchema createDeserializer(boolean objectReuse) {
+        return RowDataDebeziumDeserializeSchema.newBuilder()
+                .setPhysicalRowType(PHYSICAL_ROW_TYPE)
+                .setResultTypeInfo(InternalTypeInfo.of(PHYSICAL_ROW_TYPE))
+                .setObjectReuse(objectReuse)
+                .build();
+    }
+
+    /** Deserializes the record and copies the emitted rows, as the rows may be reused. */
+    private static List<RowData> deserialize(
+            RowDataDebeziumDeserializeSchema deserializer, SourceRecord record) throws Exception {
+        final List<RowData> rows = new ArrayList<>();
+        for (RowData row : deserializeWithoutCopy(deserializer, record)) {
+            final GenericRowData genericRow = (GenericRowData) row;
+            final GenericRowData copy = new GenericRowData(genericRow.getArity());
+            copy.setRowKind(genericRow.getRowKind());
+            for (int i = 0; i < genericRow.getArity(); i++) {
+                copy.setField(i, genericRow.getField(i));
+            }
+            rows.add(copy);
+        }
+        return rows;
+    }
+
+    private static List<RowData> deserializeWithoutCopy(
+            RowDataDebeziumDeserializeSchema deserializer, SourceRecord record) throws Exception {
+        final List<RowData> rows = new ArrayList<>();
+        deserializer.deserialize(
+                record,
+                new Collector<RowData>() {
+                    @Override
+                    public void collect(RowData row) {
+                        rows.add(row);
+                    }
+
+                    @Override
+                    public void close() {}
+                });
+        return rows;
+    }
+
+    private static Struct row(Schema rowSchema, long id, String name) {
+        return new Struct(rowSchema).put("id", id).put("name", name);
+    }
+
+    private static Struct source() {
+        return new Struct(SOURCE_SCHEMA).put("db", "inventory").put("table", "products");
+    }
+
+    private static SourceRecord createRecord(Envelope envelope, Struct after) {
+        return record(envelope, envelope.create(after, source(), Instant.now()));
+    }
+
+    private static SourceRecord updateRecord(Envelope envelope, Struct before, Struct after) {
+        return record(envelope, envelope.update(before, after, source(), Instant.now()));
+    }
+
+    private static SourceRecord deleteRecord(Envelope envelope, Struct before) {
+        return record(envelope, envelope.delete(before, source(), Instant.now()));
+    }
+
+    private static SourceRecord record(Envelope envelope, Struct value) {
+        return new SourceRecord(
+                Collections.emptyMap(),
+                Collections.emptyMap(),
+                "inventory.products",
+                envelope.schema(),
+                value);
+    }
+}
@@ -33,6 +33,8 @@ import com.ververica.cdc.debezium.Validator;
 import io.debezium.heartbeat.Heartbeat;
 import org.apache.commons.lang3.StringUtils;
 
+import javax.annotation.Nullable;
+
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -109,10 +111,41 @@ public class MongoDBSource {
                     + "  ]"
                     + "}";
 
+    // Same as the default schema, but carries the documents as raw BSON bytes instead of JSON
+    public static final String OUTPUT_SCHEMA_VALUE_RAW_BSON =
+            OUTPUT_SCHEMA_VALUE_DEFAULT
+                    .replace(
+                            "{ \"name\": \"fullDocument\", \"type\": [\"string\", \"null\"] }",
+                            "{ \"name\": \"fullDocument\", \"type\": [\"bytes\", \"null\"] }")
+                    .replace(
+                            "{ \"name\": \"documentKey\", \"type\": [\"string\", \"null\"] }",
+                            "{ \"name\": \"documentKey\", \"type\": [\"bytes\", \"null\"] }");
+
     public static <T> Builder<T> builder() {
         return new Builder<>();
     }
 
+    /** Builds the connection string of the MongoDB servers from the given connection options. */
+    public static ConnectionString buildConnectionString(
+            String hosts,
+            @Nullable String username,
+            @Nullable String password,
+            @Nullable String connectionOptions) {
+        StringBuilder sb = new StringBuilder(MONGODB_SCHEME).append("://");
+
+        if (StringUtils.isNotEmpty(username) && StringUtils.isNotEmpty(password)) {
+            sb.append(encodeValue(username)).append(":").append(encodeValue(password)).append("@");
+        }
+
+        sb.append(checkNotNull(hosts));
+
+        if (StringUtils.isNotEmpty(connectionOptions)) {
+            sb.append("/?").append(connectionOptions);
+        }
+
+        return new ConnectionString(sb.toString());
+    }
+
     private static String encodeValue(String value) {
         try {
             return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
@@ -137,9 +170,11 @@ public class MongoDBSource {
         private Integer copyExistingMaxThreads;
         private Integer copyExistingQueueSize;
         private String copyExistingPipeline;
+        private String pipeline;
         private Boolean errorsLogEnable;
         private String errorsTolerance;
         private Integer heartbeatIntervalMillis;
+        private boolean rawBsonOutput = false;
         private DebeziumDeserializationSchema<T> deserializer;
 
         /** The comma-separated list of hostname and port pairs of mongodb servers. */
@@ -268,6 +303,19 @@ public class MongoDBSource {
             return this;
         }
 
+        /**
+         * pipeline eg. [ { "$match": { "operationType": "insert" } } ]
+         *
+         * <p>An array of JSON objects describing the pipeline operations to run on the change
+         * stream, which also run on the copied documents after they have been converted to change
+         * stream events. The pipeline is appended to the stages that filter the captured
+         * namespaces.
+         */
+        public Builder<T> pipeline(String pipeline) {
+            this.pipeline = pipeline;
+            return this;
+        }
+
         /**
          * errors.log.enable
          *
@@ -309,6 +357,17 @@ public class MongoDBSource {
             return this;
         }
 
+        /**
+         * Whether the fullDocument and documentKey fields of the records are raw BSON bytes instead
+         * of extended JSON strings. The raw bytes are copied from the change stream without being
+         * re-encoded, which saves the JSON round trip for deserializers that read BSON. Default:
+         * false
+         */
+        public Builder<T> rawBsonOutput(boolean rawBsonOutput) {
+            this.rawBsonOutput = rawBsonOutput;
+            return this;
+        }
+
         /**
          * The deserializer used to convert from consumed {@link
          * org.apache.kafka.connect.source.SourceRecord}.
@@ -321,22 +380,7 @@ public class MongoDBSource {
         /** Build connection uri. */
         @VisibleForTesting
         public ConnectionString buildConnectionUri() {
-            StringBuilder sb = new StringBuilder(MONGODB_SCHEME).append("://");
-
-            if (StringUtils.isNotEmpty(username) && StringUtils.isNotEmpty(password)) {
-                sb.append(encodeValue(username))
-                        .append(":")
-                        .append(encodeValue(password))
-                        .append("@");
-            }
-
-            sb.append(checkNotNull(hosts));
-
-            if (StringUtils.isNotEmpty(connectionOptions)) {
-                sb.append("/?").append(connectionOptions);
-            }
-
-            return new ConnectionString(sb.toString());
+            return buildConnectionString(hosts, username, password, connectionOptions);
         }
 
         /**
@@ -373,7 +417,8 @@ public class MongoDBSource {
                     MongoSourceConfig.OUTPUT_SCHEMA_INFER_VALUE_CONFIG,
                     String.valueOf(Boolean.FALSE));
             props.setProperty(
-                    MongoSourceConfig.OUTPUT_SCHEMA_VALUE_CONFIG, OUTPUT_SCHEMA_VALUE_DEFAULT);
+                    MongoSourceConfig.OUTPUT_SCHEMA_VALUE_CONFIG,
+                    rawBsonOutput ? OUTPUT_SCHEMA_VALUE_RAW_BSON : OUTPUT_SCHEMA_VALUE_DEFAULT);
 
             if (batchSize != null) {
                 props.setProperty(MongoSourceConfig.BATCH_SIZE_CONFIG, String.valueOf(batchSize));
@@ -423,6 +468,10 @@ public class MongoDBSource {
                         MongoSourceConfig.COPY_EXISTING_PIPELINE_CONFIG, copyExistingPipeline);
             }
 
+            if (pipeline != null) {
+                props.setProperty(MongoSourceConfig.PIPELINE_CONFIG, pipeline);
+            }
+
             if (heartbeatIntervalMillis != null) {
                 props.setProperty(
                         MongoSourceConfig.HEARTBEAT_INTERVAL_MS_CONFIG,
@@ -34,6 +34,8 @@ import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.apache.kafka.connect.source.SourceTask;
 import org.apache.kafka.connect.source.SourceTaskContext;
+import org.bson.BsonArray;
+import org.bson.BsonValue;
 import org.bson.conversions.Bson;
 import org.bson.json.JsonReader;
 
@@ -315,6 +317,7 @@ public class MongoDBConnectorSourceTask extends SourceTask {
                     }
                 }
                 pipeline.add(match(nsFilter));
+                pipeline.addAll(configuredPipeline(props));
 
                 props.put(MongoSourceConfig.PIPELINE_CONFIG, bsonListToJson(pipeline));
 
@@ -344,6 +347,7 @@ public class MongoDBConnectorSourceTask extends SourceTask {
 
                 List<Bson> pipeline = new ArrayList<>();
                 pipeline.add(match(regex("ns.db", databaseRegex)));
+                pipeline.addAll(configuredPipeline(props));
                 props.put(MongoSourceConfig.PIPELINE_CONFIG, bsonListToJson(pipeline));
 
                 String copyExistingNamespaceRegex =
@@ -359,4 +363,16 @@ public class MongoDBConnectorSourceTask extends SourceTask {
             // Watching all changes on the cluster by default, we do nothing here
         }
     }
+
+    /** The stages of the configured pipeline, which are appended to the namespace filter. */
+    private static List<Bson> configuredPipeline(Map<String, String> props) {
+        List<Bson> pipeline = new ArrayList<>();
+        String configured = props.get(MongoSourceConfig.PIPELINE_CONFIG);
+        if (configured != null) {
+            for (BsonValue stage : BsonArray.parse(configured)) {
+                pipeline.add(stage.asDocument());
+            }
+        }
+        return pipeline;
+    }
 }
@@ -28,6 +28,8 @@ public class MongoDBEnvelope {
 
     public static final String FULL_DOCUMENT_FIELD = "fullDocument";
 
+    public static final String FULL_DOCUMENT_BEFORE_CHANGE_FIELD = "fullDocumentBeforeChange";
+
     public static final String DOCUMENT_KEY_FIELD = "documentKey";
 
     public static final String OPERATION_TYPE_FIELD = "operationType";
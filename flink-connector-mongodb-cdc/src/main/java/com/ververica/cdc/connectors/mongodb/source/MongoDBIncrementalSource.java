@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.connector.source.Boundedness;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsState;
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsStateSerializer;
+import com.ververica.cdc.connectors.mongodb.MongoDBSource;
+import com.ververica.cdc.connectors.mongodb.source.enumerator.MongoDBSourceEnumerator;
+import com.ververica.cdc.connectors.mongodb.source.reader.MongoDBRecord;
+import com.ververica.cdc.connectors.mongodb.source.reader.MongoDBRecordEmitter;
+import com.ververica.cdc.connectors.mongodb.source.reader.MongoDBSourceReader;
+import com.ververica.cdc.connectors.mongodb.source.reader.MongoDBSplitReader;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSourceSplit;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSourceSplitSerializer;
+import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.ververica.cdc.connectors.mongodb.MongoDBSource.POLL_AWAIT_TIME_MILLIS_DEFAULT;
+import static com.ververica.cdc.connectors.mongodb.MongoDBSource.POLL_MAX_BATCH_SIZE_DEFAULT;
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The MongoDB CDC Source based on FLIP-27 which reads the snapshot of the captured collections in
+ * parallel and then continues to read the change stream.
+ *
+ * <p>The enumerator splits each collection into chunks of {@code _id} ranges of about {@link
+ * Builder#chunkSizeMB(int)}, the snapshot splits are read in parallel and checkpointed per split.
+ * The change stream starts from the position taken before the collections are split once all
+ * snapshot splits have been read, the replayed changes are idempotent as the changelog is keyed by
+ * {@code _id}.
+ *
+ * <pre>
+ *     MongoDBIncrementalSource
+ *         .&lt;RowData&gt;builder()
+ *         .hosts("localhost:27017")
+ *         .database("db")
+ *         .collectionList("coll1", "coll2")
+ *         .deserializer(deserializer)
+ *         .build();
+ * </pre>
+ *
+ * <p>See {@link Builder} for more details.
+ *
+ * @param <T> the output type of the source.
+ */
+public class MongoDBIncrementalSource<T>
+        implements Source<T, MongoDBSourceSplit, HybridPendingSplitsState<MongoDBSourceSplit>>,
+                ResultTypeQueryable<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int CHUNK_SIZE_MB_DEFAULT = 64;
+
+    public static final int BATCH_SIZE_DEFAULT = 1024;
+
+    private final DebeziumDeserializationSchema<T> deserializer;
+    private final String connectionString;
+    private final String database;
+    private final List<String> collectionList;
+    private final boolean copyExisting;
+    private final int chunkSizeMB;
+    private final boolean perShardChangeStreams;
+    private final boolean fullChangelog;
+    private final int batchSize;
+    private final int pollAwaitTimeMillis;
+    private final int pollMaxBatchSize;
+    @Nullable private final String copyExistingPipeline;
+    @Nullable private final String pipeline;
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    MongoDBIncrementalSource(
+            DebeziumDeserializationSchema<T> deserializer,
+            String connectionString,
+            String database,
+            List<String> collectionList,
+            boolean copyExisting,
+            int chunkSizeMB,
+            boolean perShardChangeStreams,
+            boolean fullChangelog,
+            int batchSize,
+            int pollAwaitTimeMillis,
+            int pollMaxBatchSize,
+            @Nullable String copyExistingPipeline,
+            @Nullable String pipeline) {
+        this.deserializer = deserializer;
+        this.connectionString = connectionString;
+        this.database = database;
+        this.collectionList = collectionList;
+        this.copyExisting = copyExisting;
+        this.chunkSizeMB = chunkSizeMB;
+        this.perShardChangeStreams = perShardChangeStreams;
+        this.fullChangelog = fullChangelog;
+        this.batchSize = batchSize;
+        this.pollAwaitTimeMillis = pollAwaitTimeMillis;
+        this.pollMaxBatchSize = pollMaxBatchSize;
+        this.copyExistingPipeline = copyExistingPipeline;
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public Boundedness getBoundedness() {
+        return Boundedness.CONTINUOUS_UNBOUNDED;
+    }
+
+    @Override
+    public SourceReader<T, MongoDBSourceSplit> createReader(SourceReaderContext readerContext) {
+        FutureCompletingBlockingQueue<RecordsWithSplitIds<MongoDBRecord>> elementsQueue =
+                new FutureCompletingBlockingQueue<>();
+        return new MongoDBSourceReader<>(
+                elementsQueue,
+                () ->
+                        new MongoDBSplitReader(
+                                connectionString,
+                                batchSize,
+                                pollAwaitTimeMillis,
+                                pollMaxBatchSize,
+                                copyExistingPipeline,
+                                pipeline,
+                                fullChangelog),
+                new MongoDBRecordEmitter<>(deserializer),
+                readerContext.getConfiguration(),
+                readerContext);
+    }
+
+    @Override
+    public SplitEnumerator<MongoDBSourceSplit, HybridPendingSplitsState<MongoDBSourceSplit>>
+            createEnumerator(SplitEnumeratorContext<MongoDBSourceSplit> enumContext) {
+        return new MongoDBSourceEnumerator(
+                enumContext,
+                connectionString,
+                database,
+                collectionList,
+                copyExisting,
+                chunkSizeMB,
+                perShardChangeStreams,
+                fullChangelog,
+                null);
+    }
+
+    @Override
+    public SplitEnumerator<MongoDBSourceSplit, HybridPendingSplitsState<MongoDBSourceSplit>>
+            restoreEnumerator(
+                    SplitEnumeratorContext<MongoDBSourceSplit> enumContext,
+                    HybridPendingSplitsState<MongoDBSourceSplit> checkpoint) {
+        return new MongoDBSourceEnumerator(
+                enumContext,
+                connectionString,
+                database,
+                collectionList,
+                copyExisting,
+                chunkSizeMB,
+                perShardChangeStreams,
+                fullChangelog,
+                checkpoint);
+    }
+
+    @Override
+    public SimpleVersionedSerializer<MongoDBSourceSplit> getSplitSerializer() {
+        return MongoDBSourceSplitSerializer.INSTANCE;
+    }
+
+    @Override
+    public SimpleVersionedSerializer<HybridPendingSplitsState<MongoDBSourceSplit>>
+            getEnumeratorCheckpointSerializer() {
+        return new HybridPendingSplitsStateSerializer<>(MongoDBSourceSplitSerializer.INSTANCE);
+    }
+
+    @Override
+    public TypeInformation<T> getProducedType() {
+        return deserializer.getProducedType();
+    }
+
+    /** Builder class of {@link MongoDBIncrementalSource}. */
+    public static class Builder<T> {
+
+        private String hosts;
+        private String username;
+        private String password;
+        private String connectionOptions;
+        private String database;
+        private List<String> collectionList;
+        private boolean copyExisting = true;
+        private int chunkSizeMB = CHUNK_SIZE_MB_DEFAULT;
+        private boolean perShardChangeStreams = false;
+        private boolean fullChangelog = false;
+        private int batchSize = BATCH_SIZE_DEFAULT;
+        private int pollAwaitTimeMillis = POLL_AWAIT_TIME_MILLIS_DEFAULT;
+        private int pollMaxBatchSize = POLL_MAX_BATCH_SIZE_DEFAULT;
+        private String copyExistingPipeline;
+        private String pipeline;
+        private DebeziumDeserializationSchema<T> deserializer;
+
+        /**
+         * The comma-separated list of hostname and port pairs of the MongoDB servers. eg.
+         * localhost:27017,localhost:27018
+         */
+        public Builder<T> hosts(String hosts) {
+            this.hosts = hosts;
+            return this;
+        }
+
+        /** Name of the database user to be used when connecting to MongoDB. */
+        public Builder<T> username(String username) {
+            this.username = username;
+            return this;
+        }
+
+        /** Password to be used when connecting to MongoDB. */
+        public Builder<T> password(String password) {
+            this.password = password;
+            return this;
+        }
+
+        /** The ampersand-separated MongoDB connection options. */
+        public Builder<T> connectionOptions(String connectionOptions) {
+            this.connectionOptions = connectionOptions;
+            return this;
+        }
+
+        /** Name of the database to watch for changes. */
+        public Builder<T> database(String database) {
+            this.database = database;
+            return this;
+        }
+
+        /** Names of the collections in the database to watch for changes. */
+        public Builder<T> collectionList(String... collectionList) {
+            this.collectionList = Arrays.asList(collectionList);
+            return this;
+        }
+
+        /** Whether to copy the existing documents of the collections before the changes. */
+        public Builder<T> copyExisting(boolean copyExisting) {
+            this.copyExisting = copyExisting;
+            return this;
+        }
+
+        /** The approximate size in MB of the chunks that the collections are split into. */
+        public Builder<T> chunkSizeMB(int chunkSizeMB) {
+            checkArgument(chunkSizeMB > 0, "chunkSizeMB must be positive");
+            this.chunkSizeMB = chunkSizeMB;
+            return this;
+        }
+
+        /**
+         * Whether to read the change stream of a sharded cluster from each shard instead of from
+         * the router, one stream split per shard. The changes of a document are only in order as
+         * long as the document is not migrated to another shard while the source runs.
+         */
+        public Builder<T> perShardChangeStreams(boolean perShardChangeStreams) {
+            this.perShardChangeStreams = perShardChangeStreams;
+            return this;
+        }
+
+        /**
+         * Whether to read the pre- and post-images of the changed documents instead of looking up
+         * the documents after updates, which requires MongoDB 6.0+ and {@code
+         * changeStreamPreAndPostImages} to be enabled on the collections. The updates and deletes
+         * then carry the documents before the change, and the snapshot is read at the cluster time
+         * the change stream starts after, so that it has to finish within the snapshot history
+         * window of the server, see {@code minSnapshotHistoryWindowInSeconds}.
+         */
+        public Builder<T> fullChangelog(boolean fullChangelog) {
+            this.fullChangelog = fullChangelog;
+            return this;
+        }
+
+        /** The cursor batch size and the max number of documents read per snapshot fetch. */
+        public Builder<T> batchSize(int batchSize) {
+            checkArgument(batchSize > 0, "batchSize must be positive");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /** The amount of time to wait before checking for new results on the change stream. */
+        public Builder<T> pollAwaitTimeMillis(int pollAwaitTimeMillis) {
+            checkArgument(pollAwaitTimeMillis > 0, "pollAwaitTimeMillis must be positive");
+            this.pollAwaitTimeMillis = pollAwaitTimeMillis;
+            return this;
+        }
+
+        /** The maximum number of change stream events polled per fetch. */
+        public Builder<T> pollMaxBatchSize(int pollMaxBatchSize) {
+            checkArgument(pollMaxBatchSize > 0, "pollMaxBatchSize must be positive");
+            this.pollMaxBatchSize = pollMaxBatchSize;
+            return this;
+        }
+
+        /**
+         * An array of JSON objects describing the pipeline operations to run on the documents of a
+         * snapshot split, which must keep the {@code _id} field.
+         */
+        public Builder<T> copyExistingPipeline(String copyExistingPipeline) {
+            this.copyExistingPipeline = copyExistingPipeline;
+            return this;
+        }
+
+        /**
+         * An array of JSON objects describing the pipeline operations to run on the change stream,
+         * which must keep the {@code _id} field.
+         */
+        public Builder<T> pipeline(String pipeline) {
+            this.pipeline = pipeline;
+            return this;
+        }
+
+        /**
+         * The deserializer used to convert the records, which carry the documents as raw BSON
+         * bytes.
+         */
+        public Builder<T> deserializer(DebeziumDeserializationSchema<T> deserializer) {
+            this.deserializer = deserializer;
+            return this;
+        }
+
+        public MongoDBIncrementalSource<T> build() {
+            checkNotNull(hosts, "hosts is required");
+            checkNotNull(database, "database is required");
+            checkArgument(
+                    collectionList != null && !collectionList.isEmpty(),
+                    "collectionList should not be empty");
+            return new MongoDBIncrementalSource<>(
+                    checkNotNull(deserializer, "deserializer is required"),
+                    MongoDBSource.buildConnectionString(
+                                    hosts, username, password, connectionOptions)
+                            .getConnectionString(),
+                    database,
+                    collectionList,
+                    copyExisting,
+                    chunkSizeMB,
+                    perShardChangeStreams,
+                    fullChangelog,
+                    batchSize,
+                    pollAwaitTimeMillis,
+                    pollMaxBatchSize,
+                    copyExistingPipeline,
+                    pipeline);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.enumerator;
+
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsState;
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridSourceEnumerator;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSnapshotSplit;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSourceSplit;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBStreamSplit;
+import com.ververica.cdc.connectors.mongodb.source.utils.MongoDBChunkUtils;
+import com.ververica.cdc.connectors.mongodb.source.utils.MongoDBShardUtils;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonMaxKey;
+import org.bson.BsonMinKey;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.ververica.cdc.connectors.mongodb.source.split.MongoDBStreamSplit.changeStreamPipeline;
+
+/**
+ * A MongoDB source enumerator that splits each captured collection into chunks of {@code _id}
+ * ranges and hands out the stream split once all snapshot splits have been read.
+ *
+ * <p>The position of the change stream is taken before the collections are split, so no change made
+ * while the snapshot is read is missed. The changes of documents that have been read by the
+ * snapshot are replayed by the change stream, which is idempotent as the changelog is keyed by
+ * {@code _id}.
+ */
+public class MongoDBSourceEnumerator extends HybridSourceEnumerator<MongoDBSourceSplit> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoDBSourceEnumerator.class);
+
+    private final String connectionString;
+    private final String database;
+    private final List<String> collectionList;
+    private final boolean copyExisting;
+    private final int chunkSizeMB;
+    private final boolean perShardChangeStreams;
+    private final boolean fullChangelog;
+
+    public MongoDBSourceEnumerator(
+            SplitEnumeratorContext<MongoDBSourceSplit> context,
+            String connectionString,
+            String database,
+            List<String> collectionList,
+            boolean copyExisting,
+            int chunkSizeMB,
+            boolean perShardChangeStreams,
+            boolean fullChangelog,
+            @Nullable HybridPendingSplitsState<MongoDBSourceSplit> restoredState) {
+        super(context, restoredState);
+        this.connectionString = connectionString;
+        this.database = database;
+        this.collectionList = collectionList;
+        this.copyExisting = copyExisting;
+        this.chunkSizeMB = chunkSizeMB;
+        this.perShardChangeStreams = perShardChangeStreams;
+        this.fullChangelog = fullChangelog;
+    }
+
+    @Override
+    protected void createSplits() {
+        try (MongoClient client = MongoClients.create(connectionString)) {
+            final MongoDatabase db = client.getDatabase(database);
+            final Map<String, String> shardHosts =
+                    perShardChangeStreams
+                            ? MongoDBShardUtils.listShardHosts(client)
+                            : Collections.emptyMap();
+            // the full changelog reads the snapshot at the cluster time right before the change
+            // streams start, so that the snapshot and the changes do not overlap
+            final long snapshotTimestamp = fullChangelog ? currentOperationTime(db) : 0L;
+            if (shardHosts.isEmpty()) {
+                remainingStreamSplits.add(createStreamSplit(db, snapshotTimestamp));
+            } else {
+                remainingStreamSplits.addAll(
+                        createShardStreamSplits(db, shardHosts, snapshotTimestamp));
+            }
+            if (!copyExisting) {
+                return;
+            }
+            for (String collection : collectionList) {
+                final List<BsonValue> bounds = new ArrayList<>();
+                bounds.add(new BsonMinKey());
+                bounds.addAll(MongoDBChunkUtils.splitKeys(db, collection, chunkSizeMB));
+                bounds.add(new BsonMaxKey());
+                for (int i = 0; i < bounds.size() - 1; i++) {
+                    remainingSnapshotSplits.add(
+                            new MongoDBSnapshotSplit(
+                                    database + "." + collection + ":" + i,
+                                    database,
+                                    collection,
+                                    MongoDBSnapshotSplit.toBound(bounds.get(i)),
+                                    true,
+                                    MongoDBSnapshotSplit.toBound(bounds.get(i + 1)),
+                                    snapshotTimestamp,
+                                    false));
+                }
+                LOG.info(
+                        "Split collection {}.{} into {} snapshot splits",
+                        database,
+                        collection,
+                        bounds.size() - 1);
+            }
+        } catch (Exception e) {
+            throw new FlinkRuntimeException("Failed to create the MongoDB source splits", e);
+        }
+    }
+
+    /**
+     * Creates the stream split starting at the current position of the change stream of the
+     * database, which is the post batch resume token of an empty change stream or the operation
+     * time of the cluster if the server does not return such a token. The split starts right after
+     * the snapshot timestamp instead if there is one.
+     */
+    private MongoDBStreamSplit createStreamSplit(MongoDatabase db, long snapshotTimestamp) {
+        BsonDocument resumeToken = null;
+        if (snapshotTimestamp == 0L) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor =
+                    db.watch(changeStreamPipeline(collectionList)).cursor()) {
+                resumeToken = cursor.getResumeToken();
+            }
+        }
+        final MongoDBStreamSplit split =
+                new MongoDBStreamSplit(
+                        "stream-" + database,
+                        database,
+                        collectionList,
+                        null,
+                        resumeToken == null ? null : resumeToken.toJson(),
+                        resumeToken == null ? startAtOperationTime(db, snapshotTimestamp) : 0L);
+        LOG.info("Start the change stream of database {} at {}", database, split);
+        return split;
+    }
+
+    /**
+     * Creates one stream split per shard, which all start at the current cluster time. The resume
+     * tokens of the router are not valid on the shards, so the per shard streams start at an
+     * operation time.
+     */
+    private List<MongoDBStreamSplit> createShardStreamSplits(
+            MongoDatabase db, Map<String, String> shardHosts, long snapshotTimestamp) {
+        final long startAtOperationTime = startAtOperationTime(db, snapshotTimestamp);
+        final List<MongoDBStreamSplit> splits = new ArrayList<>();
+        for (Map.Entry<String, String> shard : shardHosts.entrySet()) {
+            splits.add(
+                    new MongoDBStreamSplit(
+                            "stream-" + database + "-" + shard.getKey(),
+                            database,
+                            collectionList,
+                            shard.getValue(),
+                            null,
+                            startAtOperationTime));
+        }
+        LOG.info(
+                "Start the change streams of database {} on {} shards at {}",
+                database,
+                splits.size(),
+                startAtOperationTime);
+        return splits;
+    }
+
+    /**
+     * Returns the operation time right after the snapshot timestamp, or the current operation time
+     * if the snapshot is not read at a timestamp. The increment is kept in the low bits, so adding
+     * one moves to the next operation of the same second.
+     */
+    private static long startAtOperationTime(MongoDatabase db, long snapshotTimestamp) {
+        return snapshotTimestamp == 0L ? currentOperationTime(db) : snapshotTimestamp + 1;
+    }
+
+    private static long currentOperationTime(MongoDatabase db) {
+        final BsonTimestamp operationTime =
+                db.runCommand(new BsonDocument("ping", new BsonInt32(1)), BsonDocument.class)
+                        .getTimestamp("operationTime");
+        return operationTime.getValue();
+    }
+}
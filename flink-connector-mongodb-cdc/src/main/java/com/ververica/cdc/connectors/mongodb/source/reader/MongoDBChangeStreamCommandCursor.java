@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.reader;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoDatabase;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static com.ververica.cdc.connectors.mongodb.source.split.MongoDBSnapshotSplit.ID_FIELD;
+
+/**
+ * A change stream cursor that runs the {@code aggregate} and {@code getMore} commands itself, for
+ * the {@code $changeStream} options the driver does not support, e.g. {@code
+ * fullDocumentBeforeChange}.
+ *
+ * <p>Like the cursors of {@code watch()}, it reports the {@code postBatchResumeToken} of each batch
+ * as its resume token, and resumes from the latest token once after a resumable error as defined by
+ * the change stream specification. On a sharded cluster with several routers in the connection
+ * string, a {@code getMore} may be routed to another router, which fails with {@code
+ * CursorNotFound} and resumes the stream from the latest token.
+ */
+class MongoDBChangeStreamCommandCursor implements MongoChangeStreamCursor<RawBsonDocument> {
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(MongoDBChangeStreamCommandCursor.class);
+
+    private static final String RESUMABLE_CHANGE_STREAM_ERROR = "ResumableChangeStreamError";
+
+    private static final int CURSOR_NOT_FOUND = 43;
+
+    private final MongoDatabase database;
+    private final BsonDocument options;
+    private final List<Bson> pipeline;
+    private final long startAtOperationTime;
+    private final int batchSize;
+    private final int maxAwaitTimeMillis;
+    private final ArrayDeque<RawBsonDocument> batch = new ArrayDeque<>();
+
+    /** The token to resume after, null until the first batch if the stream starts at a time. */
+    @Nullable private BsonDocument resumeToken;
+
+    @Nullable private BsonDocument postBatchResumeToken;
+    private String collection;
+    private long cursorId;
+    private boolean closed;
+
+    /**
+     * Opens a change stream on the database.
+     *
+     * @param options the {@code $changeStream} options without the start position.
+     * @param pipeline the stages after the {@code $changeStream} stage.
+     * @param resumeToken the token to resume after, null to start at the operation time.
+     */
+    MongoDBChangeStreamCommandCursor(
+            MongoDatabase database,
+            BsonDocument options,
+            List<Bson> pipeline,
+            @Nullable BsonDocument resumeToken,
+            long startAtOperationTime,
+            int batchSize,
+            int maxAwaitTimeMillis) {
+        this.database = database;
+        this.options = options;
+        this.pipeline = pipeline;
+        this.resumeToken = resumeToken;
+        this.startAtOperationTime = startAtOperationTime;
+        this.batchSize = batchSize;
+        this.maxAwaitTimeMillis = maxAwaitTimeMillis;
+        open();
+    }
+
+    private void open() {
+        final BsonDocument changeStream = options.clone();
+        if (resumeToken != null) {
+            changeStream.append("resumeAfter", resumeToken);
+        } else {
+            changeStream.append("startAtOperationTime", new BsonTimestamp(startAtOperationTime));
+        }
+        final BsonArray stages = new BsonArray();
+        stages.add(new BsonDocument("$changeStream", changeStream));
+        for (Bson stage : pipeline) {
+            stages.add(stage.toBsonDocument(BsonDocument.class, database.getCodecRegistry()));
+        }
+        // the first batch is empty, so opening the stream does not wait for events
+        final BsonDocument command =
+                new BsonDocument("aggregate", new BsonInt32(1))
+                        .append("pipeline", stages)
+                        .append("cursor", new BsonDocument("batchSize", new BsonInt32(0)));
+        final BsonDocument cursor =
+                database.runCommand(command, RawBsonDocument.class).getDocument("cursor");
+        final String namespace = cursor.getString("ns").getValue();
+        collection = namespace.substring(namespace.indexOf('.') + 1);
+        readBatch(cursor, "firstBatch");
+    }
+
+    private void getMore() {
+        final BsonDocument command =
+                new BsonDocument("getMore", new BsonInt64(cursorId))
+                        .append("collection", new BsonString(collection))
+                        .append("batchSize", new BsonInt32(batchSize))
+                        .append("maxTimeMS", new BsonInt64(maxAwaitTimeMillis));
+        readBatch(
+                database.runCommand(command, RawBsonDocument.class).getDocument("cursor"),
+                "nextBatch");
+    }
+
+    private void readBatch(BsonDocument cursor, String batchField) {
+        cursorId = cursor.getNumber("id").longValue();
+        for (BsonValue event : cursor.getArray(batchField)) {
+            batch.add(toRawDocument(event.asDocument()));
+        }
+        postBatchResumeToken =
+                cursor.containsKey("postBatchResumeToken")
+                        ? cursor.getDocument("postBatchResumeToken")
+                        : null;
+        if (batch.isEmpty() && postBatchResumeToken != null) {
+            resumeToken = postBatchResumeToken;
+        }
+    }
+
+    private static RawBsonDocument toRawDocument(BsonDocument document) {
+        return document instanceof RawBsonDocument
+                ? (RawBsonDocument) document
+                : new RawBsonDocument(document, new BsonDocumentCodec());
+    }
+
+    /**
+     * Fetches the next batch, resumes the stream once if the fetch failed with a resumable error.
+     */
+    private void fetch() {
+        try {
+            getMore();
+        } catch (MongoException e) {
+            if (!isResumable(e)) {
+                throw e;
+            }
+            LOG.warn(
+                    "Resuming the change stream of {} after {}",
+                    database.getName(),
+                    resumeToken,
+                    e);
+            killCursor();
+            open();
+        }
+    }
+
+    private static boolean isResumable(MongoException e) {
+        return e instanceof MongoSocketException
+                || e instanceof MongoNotPrimaryException
+                || e instanceof MongoNodeIsRecoveringException
+                || e.hasErrorLabel(RESUMABLE_CHANGE_STREAM_ERROR)
+                || (e instanceof MongoCommandException && e.getCode() == CURSOR_NOT_FOUND);
+    }
+
+    @Nullable
+    @Override
+    public RawBsonDocument tryNext() {
+        if (closed) {
+            throw new IllegalStateException("The change stream cursor is closed");
+        }
+        if (batch.isEmpty() && cursorId != 0L) {
+            fetch();
+        }
+        final RawBsonDocument event = batch.poll();
+        if (event != null) {
+            resumeToken = event.getDocument(ID_FIELD);
+            if (batch.isEmpty() && postBatchResumeToken != null) {
+                resumeToken = postBatchResumeToken;
+            }
+        }
+        return event;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (batch.isEmpty() && cursorId != 0L && !closed) {
+            fetch();
+        }
+        return !batch.isEmpty();
+    }
+
+    @Override
+    public RawBsonDocument next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return tryNext();
+    }
+
+    @Nullable
+    @Override
+    public BsonDocument getResumeToken() {
+        return resumeToken;
+    }
+
+    @Nullable
+    @Override
+    public ServerCursor getServerCursor() {
+        // the server of the cursor is selected per command by the client
+        return null;
+    }
+
+    @Override
+    public ServerAddress getServerAddress() {
+        throw new UnsupportedOperationException(
+                "The server of a change stream command cursor is not tracked");
+    }
+
+    private void killCursor() {
+        if (cursorId == 0L) {
+            return;
+        }
+        try {
+            database.runCommand(
+                    new BsonDocument("killCursors", new BsonString(collection))
+                            .append(
+                                    "cursors",
+                                    new BsonArray(
+                                            Collections.singletonList(new BsonInt64(cursorId)))));
+        } catch (MongoException e) {
+            LOG.debug("Failed to kill the change stream cursor {}", cursorId, e);
+        }
+        cursorId = 0L;
+        batch.clear();
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            killCursor();
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.reader;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * A record fetched by the {@link MongoDBSplitReader}, which is either a document of a snapshot
+ * split, a change event or a resume token marker of a stream split.
+ */
+public final class MongoDBRecord {
+
+    private final SourceRecord record;
+    private final BsonValue id;
+    private final BsonDocument resumeToken;
+
+    private MongoDBRecord(SourceRecord record, BsonValue id, BsonDocument resumeToken) {
+        this.record = record;
+        this.id = id;
+        this.resumeToken = resumeToken;
+    }
+
+    public static MongoDBRecord ofSnapshot(SourceRecord record, BsonValue id) {
+        return new MongoDBRecord(record, id, null);
+    }
+
+    public static MongoDBRecord ofChange(SourceRecord record, BsonDocument resumeToken) {
+        return new MongoDBRecord(record, null, resumeToken);
+    }
+
+    public static MongoDBRecord ofResumeToken(BsonDocument resumeToken) {
+        return new MongoDBRecord(null, null, resumeToken);
+    }
+
+    public boolean isSnapshotRecord() {
+        return id != null;
+    }
+
+    /** Returns the source record of the document or change event, null for a marker. */
+    public SourceRecord getRecord() {
+        return record;
+    }
+
+    /** Returns the {@code _id} of the snapshot document. */
+    public BsonValue getId() {
+        return id;
+    }
+
+    /** Returns the resume token after the change event or of the marker. */
+    public BsonDocument getResumeToken() {
+        return resumeToken;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.reader;
+
+import org.apache.flink.api.connector.source.SourceOutput;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.util.Collector;
+
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSourceSplitState;
+import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+
+/**
+ * The {@link RecordEmitter} implementation for {@link MongoDBSourceReader}.
+ *
+ * <p>The {@link RecordEmitter} deserializes the records with the deserializer and updates the split
+ * state to the position after the emitted record.
+ */
+public final class MongoDBRecordEmitter<T>
+        implements RecordEmitter<MongoDBRecord, T, MongoDBSourceSplitState> {
+
+    private final DebeziumDeserializationSchema<T> deserializationSchema;
+    private final OutputCollector<T> outputCollector;
+
+    public MongoDBRecordEmitter(DebeziumDeserializationSchema<T> deserializationSchema) {
+        this.deserializationSchema = deserializationSchema;
+        this.outputCollector = new OutputCollector<>();
+    }
+
+    @Override
+    public void emitRecord(
+            MongoDBRecord element, SourceOutput<T> output, MongoDBSourceSplitState splitState)
+            throws Exception {
+        outputCollector.output = output;
+        if (element.getRecord() != null) {
+            deserializationSchema.deserialize(element.getRecord(), outputCollector);
+        }
+        if (element.isSnapshotRecord()) {
+            splitState.asSnapshotSplitState().setLastId(element.getId());
+        } else {
+            splitState.asStreamSplitState().setResumeToken(element.getResumeToken());
+        }
+    }
+
+    private static class OutputCollector<T> implements Collector<T> {
+        private SourceOutput<T> output;
+
+        @Override
+        public void collect(T record) {
+            output.collect(record);
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.reader;
+
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+
+import com.ververica.cdc.connectors.base.source.hybrid.reader.HybridSourceReader;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSnapshotSplitState;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSourceSplit;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSourceSplitState;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBStreamSplitState;
+
+import java.util.function.Supplier;
+
+/** The source reader for MongoDB source splits. */
+public class MongoDBSourceReader<T>
+        extends HybridSourceReader<MongoDBRecord, T, MongoDBSourceSplit, MongoDBSourceSplitState> {
+
+    public MongoDBSourceReader(
+            FutureCompletingBlockingQueue<RecordsWithSplitIds<MongoDBRecord>> elementQueue,
+            Supplier<MongoDBSplitReader> splitReaderSupplier,
+            RecordEmitter<MongoDBRecord, T, MongoDBSourceSplitState> recordEmitter,
+            Configuration config,
+            SourceReaderContext context) {
+        super(elementQueue, splitReaderSupplier::get, recordEmitter, config, context);
+    }
+
+    @Override
+    protected MongoDBSourceSplitState initializedState(MongoDBSourceSplit split) {
+        if (split.isSnapshotSplit()) {
+            return new MongoDBSnapshotSplitState(split.asSnapshotSplit());
+        } else {
+            return new MongoDBStreamSplitState(split.asStreamSplit());
+        }
+    }
+
+    @Override
+    protected MongoDBSourceSplit toFinishedSplit(MongoDBSourceSplitState splitState) {
+        return splitState.asSnapshotSplitState().toSourceSplit().asFinished();
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.reader;
+
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSnapshotSplit;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSourceSplit;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBStreamSplit;
+import com.ververica.cdc.connectors.mongodb.source.utils.MongoDBRecordUtils;
+import com.ververica.cdc.connectors.mongodb.source.utils.MongoDBShardUtils;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.ververica.cdc.connectors.mongodb.source.split.MongoDBSnapshotSplit.ID_FIELD;
+
+/**
+ * The {@link SplitReader} implementation for the MongoDB source. Snapshot splits are read one batch
+ * per fetch so the reader can checkpoint in between, stream splits are polled together once there
+ * are no snapshot splits left.
+ */
+public class MongoDBSplitReader implements SplitReader<MongoDBRecord, MongoDBSourceSplit> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoDBSplitReader.class);
+
+    private static final String REQUIRED = "required";
+
+    private final String connectionString;
+    private final int batchSize;
+    private final int pollAwaitTimeMillis;
+    private final int pollMaxBatchSize;
+    private final List<Bson> copyExistingPipeline;
+    private final List<Bson> pipeline;
+    private final boolean fullChangelog;
+    private final ArrayDeque<MongoDBSnapshotSplit> snapshotSplits = new ArrayDeque<>();
+    private final List<StreamSplitReader> streamSplitReaders = new ArrayList<>();
+
+    private MongoClient client;
+
+    @Nullable private MongoDBSnapshotSplit currentSnapshotSplit;
+    @Nullable private MongoCursor<RawBsonDocument> snapshotCursor;
+    @Nullable private ClientSession snapshotSession;
+
+    public MongoDBSplitReader(
+            String connectionString,
+            int batchSize,
+            int pollAwaitTimeMillis,
+            int pollMaxBatchSize,
+            @Nullable String copyExistingPipeline,
+            @Nullable String pipeline,
+            boolean fullChangelog) {
+        this.connectionString = connectionString;
+        this.batchSize = batchSize;
+        this.pollAwaitTimeMillis = pollAwaitTimeMillis;
+        this.pollMaxBatchSize = pollMaxBatchSize;
+        this.copyExistingPipeline = parsePipeline(copyExistingPipeline);
+        this.pipeline = parsePipeline(pipeline);
+        this.fullChangelog = fullChangelog;
+    }
+
+    private static List<Bson> parsePipeline(@Nullable String pipeline) {
+        final List<Bson> stages = new ArrayList<>();
+        if (pipeline != null) {
+            for (BsonValue stage : BsonArray.parse(pipeline)) {
+                stages.add(stage.asDocument());
+            }
+        }
+        return stages;
+    }
+
+    @Override
+    public RecordsWithSplitIds<MongoDBRecord> fetch() throws IOException {
+        try {
+            if (currentSnapshotSplit == null && !snapshotSplits.isEmpty()) {
+                currentSnapshotSplit = snapshotSplits.poll();
+                snapshotCursor = openSnapshotCursor(currentSnapshotSplit);
+                LOG.info("Start reading snapshot split {}", currentSnapshotSplit);
+            }
+            if (currentSnapshotSplit != null) {
+                return pollSnapshotSplit();
+            }
+            return pollStreamSplits();
+        } catch (RuntimeException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private MongoCursor<RawBsonDocument> openSnapshotCursor(MongoDBSnapshotSplit split) {
+        final BsonDocument idIndex = new BsonDocument(ID_FIELD, new BsonInt32(1));
+        final MongoCollection<RawBsonDocument> collection =
+                getClient()
+                        .getDatabase(split.getDatabase())
+                        .getCollection(split.getCollection(), RawBsonDocument.class);
+        if (split.getSnapshotTimestamp() != 0L) {
+            // read the split at the cluster time the change streams start after
+            snapshotSession =
+                    getClient().startSession(ClientSessionOptions.builder().snapshot(true).build());
+            snapshotSession.setSnapshotTimestamp(new BsonTimestamp(split.getSnapshotTimestamp()));
+        }
+        if (copyExistingPipeline.isEmpty()) {
+            return (snapshotSession == null
+                            ? collection.find(split.toFilter())
+                            : collection.find(snapshotSession, split.toFilter()))
+                    .sort(idIndex)
+                    .hint(idIndex)
+                    .batchSize(batchSize)
+                    .cursor();
+        }
+        final List<Bson> stages = new ArrayList<>();
+        stages.add(Aggregates.match(split.toFilter()));
+        stages.add(Aggregates.sort(idIndex));
+        stages.addAll(copyExistingPipeline);
+        return (snapshotSession == null
+                        ? collection.aggregate(stages)
+                        : collection.aggregate(snapshotSession, stages))
+                .hint(idIndex)
+                .batchSize(batchSize)
+                .cursor();
+    }
+
+    private void closeSnapshotCursor() {
+        if (snapshotCursor != null) {
+            snapshotCursor.close();
+            snapshotCursor = null;
+        }
+        if (snapshotSession != null) {
+            snapshotSession.close();
+            snapshotSession = null;
+        }
+    }
+
+    private RecordsWithSplitIds<MongoDBRecord> pollSnapshotSplit() {
+        final RecordsBySplits.Builder<MongoDBRecord> builder = new RecordsBySplits.Builder<>();
+        final MongoDBSnapshotSplit split = currentSnapshotSplit;
+        for (int i = 0; i < batchSize && snapshotCursor.hasNext(); i++) {
+            final RawBsonDocument document = snapshotCursor.next();
+            builder.add(
+                    split,
+                    MongoDBRecord.ofSnapshot(
+                            MongoDBRecordUtils.createSnapshotRecord(
+                                    split.getDatabase(), split.getCollection(), document),
+                            document.get(ID_FIELD)));
+        }
+        if (!snapshotCursor.hasNext()) {
+            LOG.info("Finished reading snapshot split {}", split);
+            builder.addFinishedSplit(split.splitId());
+            closeSnapshotCursor();
+            currentSnapshotSplit = null;
+        }
+        return builder.build();
+    }
+
+    private RecordsWithSplitIds<MongoDBRecord> pollStreamSplits() {
+        final RecordsBySplits.Builder<MongoDBRecord> builder = new RecordsBySplits.Builder<>();
+        for (StreamSplitReader reader : streamSplitReaders) {
+            reader.poll(builder);
+        }
+        return builder.build();
+    }
+
+    private MongoClient getClient() {
+        if (client == null) {
+            client = MongoClients.create(connectionString);
+        }
+        return client;
+    }
+
+    @Override
+    public void handleSplitsChanges(SplitsChange<MongoDBSourceSplit> splitsChanges) {
+        if (!(splitsChanges instanceof SplitsAddition)) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "The SplitChange type of %s is not supported.",
+                            splitsChanges.getClass()));
+        }
+        LOG.debug("Handling split change {}", splitsChanges);
+        for (MongoDBSourceSplit split : splitsChanges.splits()) {
+            if (split.isSnapshotSplit()) {
+                snapshotSplits.add(split.asSnapshotSplit());
+            } else {
+                streamSplitReaders.add(new StreamSplitReader(split.asStreamSplit()));
+            }
+        }
+    }
+
+    @Override
+    public void wakeUp() {
+        // the fetch is bounded by the snapshot batch and the change stream await time
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (StreamSplitReader reader : streamSplitReaders) {
+            reader.close();
+        }
+        streamSplitReaders.clear();
+        closeSnapshotCursor();
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+
+    /** Reads the change stream of a stream split. */
+    private class StreamSplitReader {
+
+        private final MongoDBStreamSplit split;
+        private MongoChangeStreamCursor<RawBsonDocument> cursor;
+        @Nullable private BsonDocument resumeToken;
+
+        /** The client connected to the shard of the split, null if the split reads all shards. */
+        @Nullable private MongoClient shardClient;
+
+        private StreamSplitReader(MongoDBStreamSplit split) {
+            this.split = split;
+            this.resumeToken =
+                    split.getResumeToken() == null
+                            ? null
+                            : BsonDocument.parse(split.getResumeToken());
+        }
+
+        private void poll(RecordsBySplits.Builder<MongoDBRecord> builder) {
+            if (cursor == null) {
+                LOG.info("Start reading stream split {} after {}", split, resumeToken);
+                cursor = openCursor();
+            }
+            for (int i = 0; i < pollMaxBatchSize; i++) {
+                final RawBsonDocument event = cursor.tryNext();
+                if (event == null) {
+                    break;
+                }
+                resumeToken = event.getDocument(ID_FIELD);
+                builder.add(
+                        split,
+                        MongoDBRecord.ofChange(
+                                MongoDBRecordUtils.createChangeRecord(event), resumeToken));
+            }
+            final BsonDocument cursorToken = cursor.getResumeToken();
+            if (cursorToken != null && !cursorToken.equals(resumeToken)) {
+                // the marker moves the checkpointed resume token past the filtered out events
+                resumeToken = cursorToken;
+                builder.add(split, MongoDBRecord.ofResumeToken(resumeToken));
+            }
+        }
+
+        private MongoChangeStreamCursor<RawBsonDocument> openCursor() {
+            final MongoClient streamClient;
+            if (split.getShardHost() == null) {
+                streamClient = getClient();
+            } else {
+                shardClient =
+                        MongoDBShardUtils.createShardClient(connectionString, split.getShardHost());
+                streamClient = shardClient;
+            }
+            final MongoDatabase database = streamClient.getDatabase(split.getDatabase());
+            if (fullChangelog) {
+                return openFullChangelogCursor(database);
+            }
+            final ChangeStreamIterable<RawBsonDocument> changeStream =
+                    database.watch(changeStreamPipeline(), RawBsonDocument.class)
+                            .fullDocument(FullDocument.UPDATE_LOOKUP)
+                            .maxAwaitTime(pollAwaitTimeMillis, TimeUnit.MILLISECONDS);
+            if (resumeToken != null) {
+                changeStream.resumeAfter(resumeToken);
+            } else {
+                changeStream.startAtOperationTime(
+                        new BsonTimestamp(split.getStartAtOperationTime()));
+            }
+            // decode the events as raw BSON, the documents are copied once into the records
+            return (MongoChangeStreamCursor<RawBsonDocument>)
+                    changeStream.withDocumentClass(RawBsonDocument.class).cursor();
+        }
+
+        /**
+         * Opens the change stream with the pre- and post-images of the changed documents. The
+         * driver does not support the {@code fullDocumentBeforeChange} option, so the stream is
+         * read by running the change stream commands directly.
+         */
+        private MongoChangeStreamCursor<RawBsonDocument> openFullChangelogCursor(
+                MongoDatabase database) {
+            final BsonDocument options =
+                    new BsonDocument("fullDocument", new BsonString(REQUIRED))
+                            .append("fullDocumentBeforeChange", new BsonString(REQUIRED));
+            return new MongoDBChangeStreamCommandCursor(
+                    database,
+                    options,
+                    changeStreamPipeline(),
+                    resumeToken,
+                    split.getStartAtOperationTime(),
+                    pollMaxBatchSize,
+                    pollAwaitTimeMillis);
+        }
+
+        private List<Bson> changeStreamPipeline() {
+            final List<Bson> stages = new ArrayList<>(split.toPipeline());
+            stages.addAll(pipeline);
+            return stages;
+        }
+
+        private void close() {
+            if (cursor != null) {
+                cursor.close();
+            }
+            if (shardClient != null) {
+                shardClient.close();
+            }
+        }
+    }
+}
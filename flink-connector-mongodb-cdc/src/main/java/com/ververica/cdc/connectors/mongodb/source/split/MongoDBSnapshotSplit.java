@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.split;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import java.util.Objects;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.gt;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Filters.lt;
+
+/**
+ * The split to describe a chunk of a collection, i.e. the documents whose {@code _id} is within a
+ * range. The bounds are kept as extended JSON of {@code {_id: value}} documents, so that the type
+ * of the values is preserved.
+ */
+public class MongoDBSnapshotSplit extends MongoDBSourceSplit {
+
+    public static final String ID_FIELD = "_id";
+
+    private static final JsonWriterSettings BOUND_JSON_SETTINGS =
+            JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+    private final String database;
+    private final String collection;
+
+    /** The lower bound of the {@code _id} of the split. */
+    private final String lowerBound;
+
+    /** Whether the documents whose {@code _id} equals the lower bound belong to the split. */
+    private final boolean lowerBoundInclusive;
+
+    /** The upper bound of the {@code _id} of the split, exclusive. */
+    private final String upperBound;
+
+    /** The cluster time to read the split at, 0 to read the latest data. */
+    private final long snapshotTimestamp;
+
+    private final boolean finished;
+
+    public MongoDBSnapshotSplit(
+            String splitId,
+            String database,
+            String collection,
+            String lowerBound,
+            boolean lowerBoundInclusive,
+            String upperBound,
+            long snapshotTimestamp,
+            boolean finished) {
+        super(splitId);
+        this.database = database;
+        this.collection = collection;
+        this.lowerBound = lowerBound;
+        this.lowerBoundInclusive = lowerBoundInclusive;
+        this.upperBound = upperBound;
+        this.snapshotTimestamp = snapshotTimestamp;
+        this.finished = finished;
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public String getLowerBound() {
+        return lowerBound;
+    }
+
+    public boolean isLowerBoundInclusive() {
+        return lowerBoundInclusive;
+    }
+
+    public String getUpperBound() {
+        return upperBound;
+    }
+
+    public long getSnapshotTimestamp() {
+        return snapshotTimestamp;
+    }
+
+    /** Whether all documents of the split have been read. */
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** Returns the filter of the documents of the split. */
+    public Bson toFilter() {
+        final BsonValue lower = BsonDocument.parse(lowerBound).get(ID_FIELD);
+        final BsonValue upper = BsonDocument.parse(upperBound).get(ID_FIELD);
+        return and(
+                lowerBoundInclusive ? gte(ID_FIELD, lower) : gt(ID_FIELD, lower),
+                lt(ID_FIELD, upper));
+    }
+
+    /** Returns a copy of this split which has been read completely. */
+    public MongoDBSnapshotSplit asFinished() {
+        return new MongoDBSnapshotSplit(
+                splitId,
+                database,
+                collection,
+                lowerBound,
+                lowerBoundInclusive,
+                upperBound,
+                snapshotTimestamp,
+                true);
+    }
+
+    /** Encodes an {@code _id} value as a bound of a split. */
+    public static String toBound(BsonValue id) {
+        return new BsonDocument(ID_FIELD, id).toJson(BOUND_JSON_SETTINGS);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        MongoDBSnapshotSplit that = (MongoDBSnapshotSplit) o;
+        return lowerBoundInclusive == that.lowerBoundInclusive
+                && snapshotTimestamp == that.snapshotTimestamp
+                && finished == that.finished
+                && Objects.equals(database, that.database)
+                && Objects.equals(collection, that.collection)
+                && Objects.equals(lowerBound, that.lowerBound)
+                && Objects.equals(upperBound, that.upperBound);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                super.hashCode(),
+                database,
+                collection,
+                lowerBound,
+                lowerBoundInclusive,
+                upperBound,
+                snapshotTimestamp,
+                finished);
+    }
+
+    @Override
+    public String toString() {
+        return "MongoDBSnapshotSplit{"
+                + "splitId='"
+                + splitId
+                + '\''
+                + ", namespace="
+                + database
+                + '.'
+                + collection
+                + ", lowerBound="
+                + lowerBound
+                + ", lowerBoundInclusive="
+                + lowerBoundInclusive
+                + ", upperBound="
+                + upperBound
+                + ", snapshotTimestamp="
+                + snapshotTimestamp
+                + ", finished="
+                + finished
+                + '}';
+    }
+}
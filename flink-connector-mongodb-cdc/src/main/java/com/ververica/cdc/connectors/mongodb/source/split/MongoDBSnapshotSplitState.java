@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.split;
+
+import org.bson.BsonValue;
+
+import javax.annotation.Nullable;
+
+/** The state of split to describe the read progress of a {@link MongoDBSnapshotSplit}. */
+public class MongoDBSnapshotSplitState extends MongoDBSourceSplitState {
+
+    private final MongoDBSnapshotSplit split;
+
+    /** The {@code _id} of the last emitted document, null if no document has been emitted. */
+    @Nullable private BsonValue lastId;
+
+    public MongoDBSnapshotSplitState(MongoDBSnapshotSplit split) {
+        this.split = split;
+    }
+
+    public void setLastId(BsonValue lastId) {
+        this.lastId = lastId;
+    }
+
+    @Override
+    public MongoDBSnapshotSplit toSourceSplit() {
+        if (lastId == null) {
+            return split;
+        }
+        // resume after the last emitted document
+        return new MongoDBSnapshotSplit(
+                split.splitId(),
+                split.getDatabase(),
+                split.getCollection(),
+                MongoDBSnapshotSplit.toBound(lastId),
+                false,
+                split.getUpperBound(),
+                split.getSnapshotTimestamp(),
+                split.isFinished());
+    }
+
+    @Override
+    public String toString() {
+        return "MongoDBSnapshotSplitState{" + "split=" + split + ", lastId=" + lastId + '}';
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.split;
+
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplit;
+
+/**
+ * The split of collections which is read by {@link MongoDBSnapshotSplit} or {@link
+ * MongoDBStreamSplit}.
+ */
+public abstract class MongoDBSourceSplit extends HybridSourceSplit {
+
+    public MongoDBSourceSplit(String splitId) {
+        super(splitId);
+    }
+
+    @Override
+    public final boolean isSnapshotSplit() {
+        return getClass() == MongoDBSnapshotSplit.class;
+    }
+
+    /** Casts this split into a {@link MongoDBSnapshotSplit}. */
+    public final MongoDBSnapshotSplit asSnapshotSplit() {
+        return (MongoDBSnapshotSplit) this;
+    }
+
+    /** Casts this split into a {@link MongoDBStreamSplit}. */
+    public final MongoDBStreamSplit asStreamSplit() {
+        return (MongoDBStreamSplit) this;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.split;
+
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplitSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A serializer for the {@link MongoDBSourceSplit}. */
+public final class MongoDBSourceSplitSerializer
+        extends HybridSourceSplitSerializer<MongoDBSourceSplit> {
+
+    public static final MongoDBSourceSplitSerializer INSTANCE = new MongoDBSourceSplitSerializer();
+
+    @Override
+    public void writeSplit(MongoDBSourceSplit split, DataOutputView out) throws IOException {
+        if (split.isSnapshotSplit()) {
+            final MongoDBSnapshotSplit snapshotSplit = split.asSnapshotSplit();
+            out.writeInt(SNAPSHOT_SPLIT_FLAG);
+            out.writeUTF(snapshotSplit.splitId());
+            out.writeUTF(snapshotSplit.getDatabase());
+            out.writeUTF(snapshotSplit.getCollection());
+            out.writeUTF(snapshotSplit.getLowerBound());
+            out.writeBoolean(snapshotSplit.isLowerBoundInclusive());
+            out.writeUTF(snapshotSplit.getUpperBound());
+            out.writeLong(snapshotSplit.getSnapshotTimestamp());
+            out.writeBoolean(snapshotSplit.isFinished());
+        } else {
+            final MongoDBStreamSplit streamSplit = split.asStreamSplit();
+            out.writeInt(STREAM_SPLIT_FLAG);
+            out.writeUTF(streamSplit.splitId());
+            out.writeUTF(streamSplit.getDatabase());
+            out.writeInt(streamSplit.getCollections().size());
+            for (String collection : streamSplit.getCollections()) {
+                out.writeUTF(collection);
+            }
+            writeNullableString(streamSplit.getShardHost(), out);
+            writeNullableString(streamSplit.getResumeToken(), out);
+            out.writeLong(streamSplit.getStartAtOperationTime());
+        }
+    }
+
+    @Override
+    public MongoDBSourceSplit readSplit(DataInputView in) throws IOException {
+        final int splitKind = in.readInt();
+        if (splitKind == SNAPSHOT_SPLIT_FLAG) {
+            return new MongoDBSnapshotSplit(
+                    in.readUTF(),
+                    in.readUTF(),
+                    in.readUTF(),
+                    in.readUTF(),
+                    in.readBoolean(),
+                    in.readUTF(),
+                    in.readLong(),
+                    in.readBoolean());
+        } else if (splitKind == STREAM_SPLIT_FLAG) {
+            final String splitId = in.readUTF();
+            final String database = in.readUTF();
+            final int size = in.readInt();
+            final List<String> collections = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                collections.add(in.readUTF());
+            }
+            final String shardHost = readNullableString(in);
+            final String resumeToken = readNullableString(in);
+            return new MongoDBStreamSplit(
+                    splitId, database, collections, shardHost, resumeToken, in.readLong());
+        } else {
+            throw new IOException("Unknown split kind: " + splitKind);
+        }
+    }
+}
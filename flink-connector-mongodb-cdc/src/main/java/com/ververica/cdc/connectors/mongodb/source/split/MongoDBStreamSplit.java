@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.split;
+
+import org.bson.conversions.Bson;
+
+import javax.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static com.mongodb.client.model.Aggregates.match;
+import static com.mongodb.client.model.Filters.in;
+
+/**
+ * The split to describe the change stream of the captured collections of a database, either through
+ * the router of the cluster or directly on one shard. The stream resumes after the resume token, or
+ * starts at the operation time if there is no resume token yet.
+ */
+public class MongoDBStreamSplit extends MongoDBSourceSplit {
+
+    private final String database;
+    private final List<String> collections;
+
+    /**
+     * The hosts of the shard in the form of {@code replicaSet/host1,host2}, null for all shards.
+     */
+    @Nullable private final String shardHost;
+
+    /** The extended JSON of the resume token of the last change that has been emitted. */
+    @Nullable private final String resumeToken;
+
+    /** The value of the BSON timestamp to start the change stream at without resume token. */
+    private final long startAtOperationTime;
+
+    public MongoDBStreamSplit(
+            String splitId,
+            String database,
+            List<String> collections,
+            @Nullable String shardHost,
+            @Nullable String resumeToken,
+            long startAtOperationTime) {
+        super(splitId);
+        this.database = database;
+        this.collections = collections;
+        this.shardHost = shardHost;
+        this.resumeToken = resumeToken;
+        this.startAtOperationTime = startAtOperationTime;
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    public List<String> getCollections() {
+        return collections;
+    }
+
+    @Nullable
+    public String getShardHost() {
+        return shardHost;
+    }
+
+    @Nullable
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    public long getStartAtOperationTime() {
+        return startAtOperationTime;
+    }
+
+    /** Returns the pipeline of the change stream, which filters the changes of the collections. */
+    public List<Bson> toPipeline() {
+        return changeStreamPipeline(collections);
+    }
+
+    /** Returns the pipeline of a database change stream which captures the given collections. */
+    public static List<Bson> changeStreamPipeline(List<String> collections) {
+        return Collections.singletonList(match(in("ns.coll", collections)));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        MongoDBStreamSplit that = (MongoDBStreamSplit) o;
+        return startAtOperationTime == that.startAtOperationTime
+                && Objects.equals(database, that.database)
+                && Objects.equals(collections, that.collections)
+                && Objects.equals(shardHost, that.shardHost)
+                && Objects.equals(resumeToken, that.resumeToken);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                super.hashCode(),
+                database,
+                collections,
+                shardHost,
+                resumeToken,
+                startAtOperationTime);
+    }
+
+    @Override
+    public String toString() {
+        return "MongoDBStreamSplit{"
+                + "splitId='"
+                + splitId
+                + '\''
+                + ", database="
+                + database
+                + ", collections="
+                + collections
+                + ", shardHost="
+                + shardHost
+                + ", resumeToken="
+                + resumeToken
+                + ", startAtOperationTime="
+                + startAtOperationTime
+                + '}';
+    }
+}
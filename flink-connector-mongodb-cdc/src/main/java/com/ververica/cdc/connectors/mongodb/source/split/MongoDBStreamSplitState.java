@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.split;
+
+import org.bson.BsonDocument;
+
+import javax.annotation.Nullable;
+
+/** The state of split to describe the resume token of a {@link MongoDBStreamSplit}. */
+public class MongoDBStreamSplitState extends MongoDBSourceSplitState {
+
+    private final MongoDBStreamSplit split;
+
+    @Nullable private BsonDocument resumeToken;
+
+    public MongoDBStreamSplitState(MongoDBStreamSplit split) {
+        this.split = split;
+    }
+
+    public void setResumeToken(BsonDocument resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+
+    @Override
+    public MongoDBStreamSplit toSourceSplit() {
+        if (resumeToken == null) {
+            return split;
+        }
+        return new MongoDBStreamSplit(
+                split.splitId(),
+                split.getDatabase(),
+                split.getCollections(),
+                split.getShardHost(),
+                resumeToken.toJson(),
+                split.getStartAtOperationTime());
+    }
+
+    @Override
+    public String toString() {
+        return "MongoDBStreamSplitState{" + "split=" + split + ", resumeToken=" + resumeToken + '}';
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.utils;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.ververica.cdc.connectors.mongodb.source.split.MongoDBSnapshotSplit.ID_FIELD;
+
+/** Utilities to split a collection into chunks of {@code _id} ranges. */
+public class MongoDBChunkUtils {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoDBChunkUtils.class);
+
+    /** The number of documents sampled per chunk if the split points cannot be computed. */
+    private static final int SAMPLES_PER_CHUNK = 10;
+
+    private MongoDBChunkUtils() {}
+
+    /**
+     * Returns the ordered {@code _id} values that split the collection into chunks of about the
+     * given size, an empty list if the collection fits into one chunk.
+     *
+     * <p>The split points are computed by the {@code splitVector} command on the {@code _id} index.
+     * If the command is not allowed, e.g. on a sharded cluster or without the privilege, they are
+     * estimated from random samples of the collection.
+     */
+    public static List<BsonValue> splitKeys(
+            MongoDatabase database, String collection, int chunkSizeMB) {
+        try {
+            return splitVector(database, collection, chunkSizeMB);
+        } catch (MongoCommandException e) {
+            LOG.info(
+                    "Command splitVector is not available for {}.{}, split by samples instead: {}",
+                    database.getName(),
+                    collection,
+                    e.getErrorMessage());
+            return sampleSplitKeys(database, collection, chunkSizeMB);
+        }
+    }
+
+    private static List<BsonValue> splitVector(
+            MongoDatabase database, String collection, int chunkSizeMB) {
+        final BsonDocument command =
+                new BsonDocument(
+                                "splitVector",
+                                new BsonString(database.getName() + "." + collection))
+                        .append("keyPattern", new BsonDocument(ID_FIELD, new BsonInt32(1)))
+                        .append("maxChunkSize", new BsonInt32(chunkSizeMB));
+        final BsonArray splitKeys =
+                database.runCommand(command, BsonDocument.class).getArray("splitKeys");
+        final List<BsonValue> keys = new ArrayList<>(splitKeys.size());
+        for (BsonValue splitKey : splitKeys) {
+            keys.add(splitKey.asDocument().get(ID_FIELD));
+        }
+        return keys;
+    }
+
+    private static List<BsonValue> sampleSplitKeys(
+            MongoDatabase database, String collection, int chunkSizeMB) {
+        final BsonDocument stats =
+                database.runCommand(
+                        new BsonDocument("collStats", new BsonString(collection)),
+                        BsonDocument.class);
+        final long size = stats.getNumber("size").longValue();
+        final long chunks = size / (chunkSizeMB * 1024L * 1024L);
+        if (chunks <= 1) {
+            return new ArrayList<>();
+        }
+        final List<BsonValue> samples = new ArrayList<>();
+        database.getCollection(collection, BsonDocument.class)
+                .aggregate(
+                        Arrays.asList(
+                                Aggregates.sample((int) (chunks * SAMPLES_PER_CHUNK)),
+                                Aggregates.project(Projections.include(ID_FIELD)),
+                                Aggregates.sort(Sorts.ascending(ID_FIELD))))
+                .allowDiskUse(true)
+                .forEach(document -> samples.add(document.get(ID_FIELD)));
+        final List<BsonValue> keys = new ArrayList<>();
+        for (int i = SAMPLES_PER_CHUNK; i < samples.size(); i += SAMPLES_PER_CHUNK) {
+            final BsonValue key = samples.get(i);
+            // samples may repeat, the split points must be strictly increasing
+            if (keys.isEmpty() || !keys.get(keys.size() - 1).equals(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.utils;
+
+import com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope;
+import io.debezium.connector.AbstractSourceInfo;
+import io.debezium.data.Envelope;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import static com.ververica.cdc.connectors.mongodb.source.split.MongoDBSnapshotSplit.ID_FIELD;
+
+/**
+ * Utilities to wrap the documents read by the MongoDB source into {@link SourceRecord}s of the same
+ * layout as the ones produced by the MongoDB kafka connector with raw BSON output, so that the
+ * existing deserializers can be reused.
+ */
+public class MongoDBRecordUtils {
+
+    public static final String SNAPSHOT_KEY = "snapshot";
+
+    public static final Schema SOURCE_SCHEMA =
+            SchemaBuilder.struct()
+                    .field(AbstractSourceInfo.TIMESTAMP_KEY, Schema.INT64_SCHEMA)
+                    .field(SNAPSHOT_KEY, Schema.OPTIONAL_STRING_SCHEMA)
+                    .optional()
+                    .build();
+
+    public static final Schema NAMESPACE_SCHEMA =
+            SchemaBuilder.struct()
+                    .field(MongoDBEnvelope.NAMESPACE_DATABASE_FIELD, Schema.STRING_SCHEMA)
+                    .field(
+                            MongoDBEnvelope.NAMESPACE_COLLECTION_FIELD,
+                            Schema.OPTIONAL_STRING_SCHEMA)
+                    .optional()
+                    .build();
+
+    public static final Schema VALUE_SCHEMA =
+            SchemaBuilder.struct()
+                    .field(MongoDBEnvelope.OPERATION_TYPE_FIELD, Schema.OPTIONAL_STRING_SCHEMA)
+                    .field(MongoDBEnvelope.FULL_DOCUMENT_FIELD, Schema.OPTIONAL_BYTES_SCHEMA)
+                    .field(
+                            MongoDBEnvelope.FULL_DOCUMENT_BEFORE_CHANGE_FIELD,
+                            Schema.OPTIONAL_BYTES_SCHEMA)
+                    .field(MongoDBEnvelope.DOCUMENT_KEY_FIELD, Schema.OPTIONAL_BYTES_SCHEMA)
+                    .field(Envelope.FieldName.SOURCE, SOURCE_SCHEMA)
+                    .field(MongoDBEnvelope.NAMESPACE_FIELD, NAMESPACE_SCHEMA)
+                    .build();
+
+    private static final String INSERT_OPERATION = "insert";
+
+    private static final BsonDocumentCodec DOCUMENT_CODEC = new BsonDocumentCodec();
+
+    private MongoDBRecordUtils() {}
+
+    /** Creates an insert record of a document read from a snapshot split. */
+    public static SourceRecord createSnapshotRecord(
+            String database, String collection, RawBsonDocument document) {
+        final Struct value = new Struct(VALUE_SCHEMA);
+        value.put(MongoDBEnvelope.OPERATION_TYPE_FIELD, INSERT_OPERATION);
+        value.put(MongoDBEnvelope.FULL_DOCUMENT_FIELD, toBytes(document));
+        value.put(
+                MongoDBEnvelope.DOCUMENT_KEY_FIELD,
+                toBytes(
+                        new RawBsonDocument(
+                                new BsonDocument(ID_FIELD, document.get(ID_FIELD)),
+                                DOCUMENT_CODEC)));
+        value.put(
+                Envelope.FieldName.SOURCE,
+                new Struct(SOURCE_SCHEMA)
+                        .put(AbstractSourceInfo.TIMESTAMP_KEY, 0L)
+                        .put(SNAPSHOT_KEY, "true"));
+        value.put(MongoDBEnvelope.NAMESPACE_FIELD, createNamespace(database, collection));
+        return createRecord(database, collection, value);
+    }
+
+    /** Creates a record of a change stream event. */
+    public static SourceRecord createChangeRecord(RawBsonDocument event) {
+        final BsonDocument ns = event.getDocument(MongoDBEnvelope.NAMESPACE_FIELD);
+        final String database = ns.getString(MongoDBEnvelope.NAMESPACE_DATABASE_FIELD).getValue();
+        final String collection =
+                ns.containsKey(MongoDBEnvelope.NAMESPACE_COLLECTION_FIELD)
+                        ? ns.getString(MongoDBEnvelope.NAMESPACE_COLLECTION_FIELD).getValue()
+                        : null;
+        final BsonTimestamp clusterTime =
+                event.getTimestamp(MongoDBEnvelope.CLUSTER_TIME_FIELD, new BsonTimestamp());
+
+        final Struct value = new Struct(VALUE_SCHEMA);
+        value.put(
+                MongoDBEnvelope.OPERATION_TYPE_FIELD,
+                event.getString(MongoDBEnvelope.OPERATION_TYPE_FIELD).getValue());
+        if (event.isDocument(MongoDBEnvelope.FULL_DOCUMENT_FIELD)) {
+            value.put(
+                    MongoDBEnvelope.FULL_DOCUMENT_FIELD,
+                    toBytes(
+                            (RawBsonDocument)
+                                    event.getDocument(MongoDBEnvelope.FULL_DOCUMENT_FIELD)));
+        }
+        if (event.isDocument(MongoDBEnvelope.FULL_DOCUMENT_BEFORE_CHANGE_FIELD)) {
+            value.put(
+                    MongoDBEnvelope.FULL_DOCUMENT_BEFORE_CHANGE_FIELD,
+                    toBytes(
+                            (RawBsonDocument)
+                                    event.getDocument(
+                                            MongoDBEnvelope.FULL_DOCUMENT_BEFORE_CHANGE_FIELD)));
+        }
+        if (event.isDocument(MongoDBEnvelope.DOCUMENT_KEY_FIELD)) {
+            value.put(
+                    MongoDBEnvelope.DOCUMENT_KEY_FIELD,
+                    toBytes(
+                            (RawBsonDocument)
+                                    event.getDocument(MongoDBEnvelope.DOCUMENT_KEY_FIELD)));
+        }
+        value.put(
+                Envelope.FieldName.SOURCE,
+                new Struct(SOURCE_SCHEMA)
+                        .put(AbstractSourceInfo.TIMESTAMP_KEY, clusterTime.getTime() * 1000L));
+        value.put(MongoDBEnvelope.NAMESPACE_FIELD, createNamespace(database, collection));
+        return createRecord(database, collection, value);
+    }
+
+    private static Struct createNamespace(String database, String collection) {
+        return new Struct(NAMESPACE_SCHEMA)
+                .put(MongoDBEnvelope.NAMESPACE_DATABASE_FIELD, database)
+                .put(MongoDBEnvelope.NAMESPACE_COLLECTION_FIELD, collection);
+    }
+
+    private static SourceRecord createRecord(String database, String collection, Struct value) {
+        final String topic = collection == null ? database : database + "." + collection;
+        return new SourceRecord(
+                Collections.emptyMap(), Collections.emptyMap(), topic, VALUE_SCHEMA, value);
+    }
+
+    /** Copies the bytes of a raw document, the sub documents of raw documents share a buffer. */
+    static byte[] toBytes(RawBsonDocument document) {
+        final ByteBuffer buffer = document.getByteBuffer().asNIO();
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
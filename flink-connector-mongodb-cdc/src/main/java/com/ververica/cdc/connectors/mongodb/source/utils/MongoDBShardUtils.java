@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source.utils;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.connection.ClusterConnectionMode;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Utilities to read the change streams of a sharded cluster directly from its shards. */
+public class MongoDBShardUtils {
+
+    private static final String CONFIG_DATABASE = "config";
+
+    private static final String SHARDS_COLLECTION = "shards";
+
+    private MongoDBShardUtils() {}
+
+    /**
+     * Returns the hosts of the shards of the cluster by shard name, empty if the cluster is not
+     * sharded. The hosts are in the form of {@code replicaSet/host1:port1,host2:port2}.
+     */
+    public static Map<String, String> listShardHosts(MongoClient client) {
+        final Map<String, String> shardHosts = new LinkedHashMap<>();
+        client.getDatabase(CONFIG_DATABASE)
+                .getCollection(SHARDS_COLLECTION, BsonDocument.class)
+                .find()
+                .sort(new BsonDocument("_id", new BsonInt32(1)))
+                .forEach(
+                        shard ->
+                                shardHosts.put(
+                                        shard.getString("_id").getValue(),
+                                        shard.getString("host").getValue()));
+        return shardHosts;
+    }
+
+    /**
+     * Creates a client connected to the replica set of a shard, with the credentials and options of
+     * the connection string of the cluster.
+     */
+    public static MongoClient createShardClient(String connectionString, String shardHost) {
+        final int separator = shardHost.indexOf('/');
+        final String replicaSet = separator < 0 ? null : shardHost.substring(0, separator);
+        final List<ServerAddress> hosts = new ArrayList<>();
+        for (String host : shardHost.substring(separator + 1).split(",")) {
+            final int port = host.lastIndexOf(':');
+            hosts.add(
+                    port < 0
+                            ? new ServerAddress(host)
+                            : new ServerAddress(
+                                    host.substring(0, port),
+                                    Integer.parseInt(host.substring(port + 1))));
+        }
+        final ConnectionString cluster = new ConnectionString(connectionString);
+        final MongoClientSettings settings =
+                MongoClientSettings.builder()
+                        .applyConnectionString(cluster)
+                        .applyToClusterSettings(
+                                builder -> {
+                                    if (cluster.isSrvProtocol()) {
+                                        // the shard hosts replace the SRV record of the router
+                                        builder.srvHost(null);
+                                    }
+                                    builder.hosts(hosts)
+                                            .mode(ClusterConnectionMode.MULTIPLE)
+                                            .requiredReplicaSetName(replicaSet);
+                                })
+                        .build();
+        return MongoClients.create(settings);
+    }
+}
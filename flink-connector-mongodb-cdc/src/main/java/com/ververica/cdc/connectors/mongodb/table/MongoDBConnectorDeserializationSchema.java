@@ -43,6 +43,7 @@ import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.bson.BsonBinary;
+import org.bson.BsonBinaryReader;
 import org.bson.BsonBinarySubType;
 import org.bson.BsonDateTime;
 import org.bson.BsonDocument;
@@ -50,13 +51,19 @@ import org.bson.BsonMaxKey;
 import org.bson.BsonMinKey;
 import org.bson.BsonRegularExpression;
 import org.bson.BsonTimestamp;
+import org.bson.BsonType;
 import org.bson.BsonUndefined;
 import org.bson.BsonValue;
+import org.bson.codecs.BsonValueCodec;
+import org.bson.codecs.DecoderContext;
 import org.bson.types.Decimal128;
 
+import javax.annotation.Nullable;
+
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -64,8 +71,10 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static java.time.format.DateTimeFormatter.ISO_OFFSET_DATE_TIME;
 import static org.apache.flink.util.Preconditions.checkArgument;
@@ -80,6 +89,10 @@ public class MongoDBConnectorDeserializationSchema
 
     private static final long serialVersionUID = 1750787080613035184L;
 
+    private static final BsonValueCodec BSON_VALUE_CODEC = new BsonValueCodec();
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
     /** TypeInformation of the produced {@link RowData}. */
     private final TypeInformation<RowData> resultTypeInfo;
 
@@ -93,6 +106,9 @@ public class MongoDBConnectorDeserializationSchema
      */
     protected final DeserializationRuntimeConverter physicalConverter;
 
+    /** Names of the physical columns, the other fields of raw BSON documents are skipped. */
+    private final Set<String> physicalFieldNames;
+
     /** Whether the deserializer needs to handle metadata columns. */
     protected final boolean hasMetadata;
 
@@ -106,9 +122,22 @@ public class MongoDBConnectorDeserializationSchema
             MetadataConverter[] metadataConverters,
             TypeInformation<RowData> resultTypeInfo,
             ZoneId localTimeZone) {
+        this(physicalDataType, metadataConverters, resultTypeInfo, localTimeZone, false);
+    }
+
+    public MongoDBConnectorDeserializationSchema(
+            RowType physicalDataType,
+            MetadataConverter[] metadataConverters,
+            TypeInformation<RowData> resultTypeInfo,
+            ZoneId localTimeZone,
+            boolean converterCodeGeneration) {
         this.hasMetadata = checkNotNull(metadataConverters).length > 0;
         this.appendMetadataCollector = new AppendMetadataCollector(metadataConverters);
-        this.physicalConverter = createConverter(physicalDataType);
+        this.physicalConverter =
+                converterCodeGeneration
+                        ? createCodeGeneratedRowConverter(physicalDataType)
+                        : createConverter(physicalDataType);
+        this.physicalFieldNames = new HashSet<>(physicalDataType.getFieldNames());
         this.resultTypeInfo = resultTypeInfo;
         this.localTimeZone = localTimeZone;
     }
@@ -125,6 +154,11 @@ public class MongoDBConnectorDeserializationSchema
                                 value, valueSchema, MongoDBEnvelope.DOCUMENT_KEY_FIELD));
         BsonDocument fullDocument =
                 extractBsonDocument(value, valueSchema, MongoDBEnvelope.FULL_DOCUMENT_FIELD);
+        // the pre-image is only present if the change stream is opened with
+        // fullDocumentBeforeChange on MongoDB 6.0+
+        BsonDocument fullDocumentBeforeChange =
+                extractBsonDocument(
+                        value, valueSchema, MongoDBEnvelope.FULL_DOCUMENT_BEFORE_CHANGE_FIELD);
 
         switch (op) {
             case INSERT:
@@ -133,7 +167,11 @@ public class MongoDBConnectorDeserializationSchema
                 emit(record, insert, out);
                 break;
             case DELETE:
-                GenericRowData delete = extractRowData(documentKey);
+                GenericRowData delete =
+                        extractRowData(
+                                fullDocumentBeforeChange == null
+                                        ? documentKey
+                                        : fullDocumentBeforeChange);
                 delete.setRowKind(RowKind.DELETE);
                 emit(record, delete, out);
                 break;
@@ -143,11 +181,13 @@ public class MongoDBConnectorDeserializationSchema
                 if (fullDocument == null) {
                     break;
                 }
+                emitUpdateBefore(record, fullDocumentBeforeChange, out);
                 GenericRowData updateAfter = extractRowData(fullDocument);
                 updateAfter.setRowKind(RowKind.UPDATE_AFTER);
                 emit(record, updateAfter, out);
                 break;
             case REPLACE:
+                emitUpdateBefore(record, fullDocumentBeforeChange, out);
                 GenericRowData replaceAfter = extractRowData(fullDocument);
                 replaceAfter.setRowKind(RowKind.UPDATE_AFTER);
                 emit(record, replaceAfter, out);
@@ -162,6 +202,18 @@ public class MongoDBConnectorDeserializationSchema
         }
     }
 
+    private void emitUpdateBefore(
+            SourceRecord record,
+            @Nullable BsonDocument fullDocumentBeforeChange,
+            Collector<RowData> out)
+            throws Exception {
+        if (fullDocumentBeforeChange != null) {
+            GenericRowData updateBefore = extractRowData(fullDocumentBeforeChange);
+            updateBefore.setRowKind(RowKind.UPDATE_BEFORE);
+            emit(record, updateBefore, out);
+        }
+    }
+
     private GenericRowData extractRowData(BsonDocument document) throws Exception {
         checkNotNull(document);
         return (GenericRowData) physicalConverter.convert(document);
@@ -169,14 +221,42 @@ public class MongoDBConnectorDeserializationSchema
 
     private BsonDocument extractBsonDocument(Struct value, Schema valueSchema, String fieldName) {
         if (valueSchema.field(fieldName) != null) {
-            String docString = value.getString(fieldName);
-            if (docString != null) {
-                return BsonDocument.parse(value.getString(fieldName));
+            if (valueSchema.field(fieldName).schema().type() == Schema.Type.BYTES) {
+                byte[] docBytes = value.getBytes(fieldName);
+                if (docBytes != null) {
+                    return decodePhysicalFields(docBytes);
+                }
+            } else {
+                String docString = value.getString(fieldName);
+                if (docString != null) {
+                    return BsonDocument.parse(docString);
+                }
             }
         }
         return null;
     }
 
+    /**
+     * Decodes the physical columns of a raw BSON document in one pass, the values of the other
+     * fields are skipped without being decoded.
+     */
+    private BsonDocument decodePhysicalFields(byte[] docBytes) {
+        BsonDocument document = new BsonDocument();
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(docBytes))) {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                String name = reader.readName();
+                if (physicalFieldNames.contains(name)) {
+                    document.put(name, BSON_VALUE_CODEC.decode(reader, DECODER_CONTEXT));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+        }
+        return document;
+    }
+
     @Override
     public TypeInformation<RowData> getProducedType() {
         return resultTypeInfo;
@@ -204,10 +284,10 @@ public class MongoDBConnectorDeserializationSchema
 
     /**
      * Runtime converter that converts objects of MongoDB Connect into objects of Flink Table & SQL
-     * internal data structures.
+     * internal data structures. It's public as it's implemented by the generated converter classes.
      */
     @FunctionalInterface
-    private interface DeserializationRuntimeConverter extends Serializable {
+    public interface DeserializationRuntimeConverter extends Serializable {
         Object convert(BsonValue docObj) throws Exception;
     }
 
@@ -216,6 +296,17 @@ public class MongoDBConnectorDeserializationSchema
         return wrapIntoNullableConverter(createNotNullConverter(type));
     }
 
+    /** Creates a null safe runtime converter of the row type whose class is code generated. */
+    private DeserializationRuntimeConverter createCodeGeneratedRowConverter(RowType rowType) {
+        final DeserializationRuntimeConverter[] fieldConverters =
+                rowType.getFields().stream()
+                        .map(RowType.RowField::getType)
+                        .map(this::createNotNullConverter)
+                        .toArray(DeserializationRuntimeConverter[]::new);
+        return MongoDBDeserializationRuntimeConverterCodeGenerator.generateRowConverter(
+                rowType, fieldConverters);
+    }
+
     /** Creates a runtime converter which assuming input object is not null. */
     private DeserializationRuntimeConverter createNotNullConverter(LogicalType type) {
         switch (type.getTypeRoot()) {
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.table;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.ververica.cdc.connectors.mongodb.table.MongoDBConnectorDeserializationSchema.DeserializationRuntimeConverter;
+import com.ververica.cdc.debezium.table.GeneratedConverter;
+import org.bson.BsonDocument;
+import org.bson.BsonUndefined;
+import org.bson.BsonValue;
+
+import java.util.List;
+
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.addReferenceMember;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.generateClass;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.getUserCodeClassLoader;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.newClassName;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.quoteString;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.typeTerm;
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Generates a {@link DeserializationRuntimeConverter} class for a {@link RowType}, which converts
+ * the fields of a {@link BsonDocument} one after another in straight-line code.
+ *
+ * <p>Every field is converted at its own call site and the null checks are inlined, so the call
+ * sites of the field converters stay monomorphic and can be inlined by the JIT compiler.
+ */
+@Internal
+final class MongoDBDeserializationRuntimeConverterCodeGenerator {
+
+    private MongoDBDeserializationRuntimeConverterCodeGenerator() {}
+
+    /**
+     * Generates a null safe converter which converts a {@link BsonDocument} into a {@link
+     * GenericRowData} of the given row type.
+     *
+     * @param fieldConverters the converters of the fields which assume the input is not null
+     */
+    static DeserializationRuntimeConverter generateRowConverter(
+            RowType rowType, DeserializationRuntimeConverter[] fieldConverters) {
+        final List<RowType.RowField> fields = rowType.getFields();
+        checkArgument(fields.size() == fieldConverters.length);
+
+        final String className = newClassName("MongoDBRowConverter");
+        final String converterType = typeTerm(DeserializationRuntimeConverter.class);
+        final String undefinedType = typeTerm(BsonUndefined.class);
+        final StringBuilder memberDeclarations = new StringBuilder();
+        final StringBuilder memberInitializations = new StringBuilder();
+        final StringBuilder fieldConversions = new StringBuilder();
+
+        for (int i = 0; i < fields.size(); i++) {
+            addReferenceMember(
+                    memberDeclarations, memberInitializations, converterType, "converter" + i, i);
+            fieldConversions
+                    .append("    value = document.get(")
+                    .append(quoteString(fields.get(i).getName()))
+                    .append(");\n")
+                    .append("    if (value != null\n")
+                    .append("        && !value.isNull()\n")
+                    .append("        && !(value instanceof ")
+                    .append(undefinedType)
+                    .append(")\n")
+                    .append("        && !(value.isDecimal128()")
+                    .append(" && value.asDecimal128().getValue().isNaN())) {\n")
+                    .append("      row.setField(")
+                    .append(i)
+                    .append(", converter")
+                    .append(i)
+                    .append(".convert(value));\n")
+                    .append("    }\n");
+        }
+
+        final String methods =
+                "  public Object convert("
+                        + typeTerm(BsonValue.class)
+                        + " docObj) throws Exception {\n"
+                        + "    if (docObj == null || docObj.isNull() || docObj instanceof "
+                        + undefinedType
+                        + ") {\n"
+                        + "      return null;\n"
+                        + "    }\n"
+                        + "    if (docObj.isDecimal128() && docObj.asDecimal128().getValue().isNaN()) {\n"
+                        + "      return null;\n"
+                        + "    }\n"
+                        + "    if (!docObj.isDocument()) {\n"
+                        + "      throw new IllegalArgumentException(\n"
+                        + "          \"Unable to convert to rowType from unexpected value '\"\n"
+                        + "              + docObj + \"' of type \" + docObj.getBsonType());\n"
+                        + "    }\n"
+                        + "    final "
+                        + typeTerm(BsonDocument.class)
+                        + " document = docObj.asDocument();\n"
+                        + "    final "
+                        + typeTerm(GenericRowData.class)
+                        + " row = new "
+                        + typeTerm(GenericRowData.class)
+                        + "("
+                        + fields.size()
+                        + ");\n"
+                        + "    "
+                        + typeTerm(BsonValue.class)
+                        + " value;\n"
+                        + fieldConversions
+                        + "    return row;\n"
+                        + "  }\n";
+        final String code =
+                generateClass(
+                        className,
+                        DeserializationRuntimeConverter.class,
+                        memberDeclarations,
+                        memberInitializations,
+                        methods);
+
+        return new CodeGeneratedConverter(
+                new GeneratedConverter<>(className, code, fieldConverters.clone()));
+    }
+
+    /**
+     * A serializable {@link DeserializationRuntimeConverter} which compiles the generated converter
+     * class when it's used for the first time.
+     */
+    private static final class CodeGeneratedConverter implements DeserializationRuntimeConverter {
+
+        private static final long serialVersionUID = 1L;
+
+        private final GeneratedConverter<DeserializationRuntimeConverter> generatedConverter;
+
+        private transient DeserializationRuntimeConverter converter;
+
+        private CodeGeneratedConverter(
+                GeneratedConverter<DeserializationRuntimeConverter> generatedConverter) {
+            this.generatedConverter = generatedConverter;
+        }
+
+        @Override
+        public Object convert(BsonValue docObj) throws Exception {
+            if (converter == null) {
+                converter = generatedConverter.newInstance(getUserCodeClassLoader());
+            }
+            return converter.convert(docObj);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.table;
+
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+
+import com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope;
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.ververica.cdc.connectors.mongodb.utils.CollectionDiscoveryUtils.bsonListToJson;
+
+/**
+ * Utilities to derive the {@code $match} and {@code $project} stages of the change stream and copy
+ * existing pipelines from the projected columns and the pushed down filters of a {@link
+ * MongoDBTableSource}.
+ *
+ * <p>The deserializer converts values of many BSON types into a column, so a comparison only
+ * filters the documents whose field has a BSON type that converts to the same value, documents with
+ * a field of another type are kept for Flink to evaluate. The {@code $match} of the change stream
+ * only drops inserts, as the update of a matching document to a not matching one must still reach
+ * Flink to retract the old row.
+ */
+public class MongoDBPushDownUtils {
+
+    private static final String ID_FIELD = "_id";
+
+    private MongoDBPushDownUtils() {}
+
+    /** Returns whether a filter can be translated into a {@code $match} condition. */
+    public static boolean isTranslatable(ResolvedExpression filter) {
+        return toCondition(filter, "") != null;
+    }
+
+    /** Returns whether the columns can be translated into a {@code $project} stage. */
+    public static boolean isProjectable(List<String> fieldNames) {
+        return fieldNames.stream().allMatch(MongoDBPushDownUtils::isPlainFieldName);
+    }
+
+    /**
+     * Returns the stages to append to the change stream pipeline, which also applies to the copied
+     * documents after they have been converted to change stream events.
+     */
+    public static List<BsonDocument> changeStreamStages(
+            @Nullable List<String> projectedFields, List<ResolvedExpression> filters) {
+        final String prefix = MongoDBEnvelope.FULL_DOCUMENT_FIELD + ".";
+        final List<BsonDocument> stages = new ArrayList<>();
+        final BsonDocument condition = toConditions(filters, prefix);
+        if (condition != null) {
+            stages.add(
+                    new BsonDocument(
+                            "$match",
+                            new BsonDocument(
+                                    "$or",
+                                    new BsonArray(
+                                            Arrays.asList(
+                                                    new BsonDocument(
+                                                            MongoDBEnvelope.OPERATION_TYPE_FIELD,
+                                                            new BsonDocument(
+                                                                    "$ne",
+                                                                    new BsonString("insert"))),
+                                                    condition)))));
+        }
+        if (projectedFields != null) {
+            final BsonDocument projection =
+                    new BsonDocument(MongoDBEnvelope.OPERATION_TYPE_FIELD, new BsonInt32(1))
+                            .append(MongoDBEnvelope.NAMESPACE_FIELD, new BsonInt32(1))
+                            .append(MongoDBEnvelope.DOCUMENT_KEY_FIELD, new BsonInt32(1))
+                            .append(MongoDBEnvelope.CLUSTER_TIME_FIELD, new BsonInt32(1));
+            for (String field : projectedFields) {
+                projection.append(prefix + field, new BsonInt32(1));
+                projection.append(
+                        MongoDBEnvelope.FULL_DOCUMENT_BEFORE_CHANGE_FIELD + "." + field,
+                        new BsonInt32(1));
+            }
+            stages.add(new BsonDocument("$project", projection));
+        }
+        return stages;
+    }
+
+    /** Returns the stages to append to the pipeline that reads the existing documents. */
+    public static List<BsonDocument> copyExistingStages(
+            @Nullable List<String> projectedFields, List<ResolvedExpression> filters) {
+        final List<BsonDocument> stages = new ArrayList<>();
+        final BsonDocument condition = toConditions(filters, "");
+        if (condition != null) {
+            stages.add(new BsonDocument("$match", condition));
+        }
+        if (projectedFields != null) {
+            final BsonDocument projection = new BsonDocument(ID_FIELD, new BsonInt32(1));
+            for (String field : projectedFields) {
+                projection.append(field, new BsonInt32(1));
+            }
+            stages.add(new BsonDocument("$project", projection));
+        }
+        return stages;
+    }
+
+    /** Appends the stages to a pipeline given as JSON array, which may be null. */
+    public static String appendStages(@Nullable String pipeline, List<BsonDocument> stages) {
+        final List<Bson> merged = new ArrayList<>();
+        if (pipeline != null) {
+            for (BsonValue stage : BsonArray.parse(pipeline)) {
+                merged.add(stage.asDocument());
+            }
+        }
+        merged.addAll(stages);
+        return bsonListToJson(merged);
+    }
+
+    @Nullable
+    private static BsonDocument toConditions(List<ResolvedExpression> filters, String prefix) {
+        final BsonArray conditions = new BsonArray();
+        for (ResolvedExpression filter : filters) {
+            final BsonDocument condition = toCondition(filter, prefix);
+            if (condition != null) {
+                conditions.add(condition);
+            }
+        }
+        if (conditions.isEmpty()) {
+            return null;
+        }
+        return conditions.size() == 1
+                ? conditions.get(0).asDocument()
+                : new BsonDocument("$and", conditions);
+    }
+
+    @Nullable
+    private static BsonDocument toCondition(ResolvedExpression filter, String prefix) {
+        if (!(filter instanceof CallExpression)) {
+            return null;
+        }
+        final CallExpression call = (CallExpression) filter;
+        final FunctionDefinition function = call.getFunctionDefinition();
+        if (function == BuiltInFunctionDefinitions.OR) {
+            final BsonArray conditions = new BsonArray();
+            for (ResolvedExpression child : call.getResolvedChildren()) {
+                final BsonDocument condition = toCondition(child, prefix);
+                if (condition == null) {
+                    return null;
+                }
+                conditions.add(condition);
+            }
+            return new BsonDocument("$or", conditions);
+        }
+        if (call.getResolvedChildren().size() != 2) {
+            return null;
+        }
+        ResolvedExpression field = call.getResolvedChildren().get(0);
+        ResolvedExpression literal = call.getResolvedChildren().get(1);
+        String operator = toOperator(function);
+        if (field instanceof ValueLiteralExpression
+                && literal instanceof FieldReferenceExpression) {
+            field = call.getResolvedChildren().get(1);
+            literal = call.getResolvedChildren().get(0);
+            operator = flip(operator);
+        }
+        if (operator == null
+                || !(field instanceof FieldReferenceExpression)
+                || !(literal instanceof ValueLiteralExpression)) {
+            return null;
+        }
+        final String fieldName = ((FieldReferenceExpression) field).getName();
+        if (!isPlainFieldName(fieldName)) {
+            return null;
+        }
+        final LogicalTypeRoot typeRoot = field.getOutputDataType().getLogicalType().getTypeRoot();
+        final ValueLiteralExpression value = (ValueLiteralExpression) literal;
+        final BsonValue bsonValue;
+        final BsonArray exactTypes;
+        switch (typeRoot) {
+            case INTEGER:
+                bsonValue = value.getValueAs(Integer.class).map(BsonInt32::new).orElse(null);
+                exactTypes = types("int");
+                break;
+            case BIGINT:
+                bsonValue = value.getValueAs(Long.class).map(BsonInt64::new).orElse(null);
+                exactTypes = types("int", "long");
+                break;
+            case DOUBLE:
+                bsonValue = value.getValueAs(Double.class).map(BsonDouble::new).orElse(null);
+                // longs are not exact as doubles
+                exactTypes = types("double", "int");
+                break;
+            case BOOLEAN:
+                bsonValue =
+                        isEquality(operator)
+                                ? value.getValueAs(Boolean.class)
+                                        .map(BsonBoolean::valueOf)
+                                        .orElse(null)
+                                : null;
+                exactTypes = types("bool");
+                break;
+            case CHAR:
+            case VARCHAR:
+                // the collation of the collection may compare strings differently, only equality
+                // matches a superset of the equal strings
+                bsonValue =
+                        "$eq".equals(operator)
+                                ? value.getValueAs(String.class).map(BsonString::new).orElse(null)
+                                : null;
+                exactTypes = types("string");
+                break;
+            default:
+                return null;
+        }
+        if (bsonValue == null) {
+            return null;
+        }
+        final String path = prefix + fieldName;
+        return new BsonDocument(
+                "$or",
+                new BsonArray(
+                        Arrays.asList(
+                                new BsonDocument(path, new BsonDocument(operator, bsonValue)),
+                                new BsonDocument(
+                                        path,
+                                        new BsonDocument(
+                                                "$not", new BsonDocument("$type", exactTypes))))));
+    }
+
+    @Nullable
+    private static String toOperator(FunctionDefinition function) {
+        if (function == BuiltInFunctionDefinitions.EQUALS) {
+            return "$eq";
+        } else if (function == BuiltInFunctionDefinitions.NOT_EQUALS) {
+            return "$ne";
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN) {
+            return "$gt";
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL) {
+            return "$gte";
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN) {
+            return "$lt";
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL) {
+            return "$lte";
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String flip(@Nullable String operator) {
+        if ("$gt".equals(operator)) {
+            return "$lt";
+        } else if ("$gte".equals(operator)) {
+            return "$lte";
+        } else if ("$lt".equals(operator)) {
+            return "$gt";
+        } else if ("$lte".equals(operator)) {
+            return "$gte";
+        }
+        return operator;
+    }
+
+    private static boolean isEquality(String operator) {
+        return "$eq".equals(operator) || "$ne".equals(operator);
+    }
+
+    private static boolean isPlainFieldName(String fieldName) {
+        return !fieldName.isEmpty() && !fieldName.startsWith("$") && !fieldName.contains(".");
+    }
+
+    private static BsonArray types(String... aliases) {
+        final BsonArray types = new BsonArray();
+        for (String alias : aliases) {
+            types.add(new BsonString(alias));
+        }
+        return types;
+    }
+}
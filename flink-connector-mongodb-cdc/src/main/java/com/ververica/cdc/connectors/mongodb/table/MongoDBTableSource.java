@@ -24,21 +24,29 @@ import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.connector.source.SourceFunctionProvider;
+import org.apache.flink.table.connector.source.SourceProvider;
+import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
+import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsReadingMetadata;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.utils.DataTypeUtils;
 import org.apache.flink.types.RowKind;
 
 import com.ververica.cdc.connectors.mongodb.MongoDBSource;
+import com.ververica.cdc.connectors.mongodb.source.MongoDBIncrementalSource;
 import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
 import com.ververica.cdc.debezium.DebeziumSourceFunction;
 import com.ververica.cdc.debezium.table.MetadataConverter;
 import org.apache.commons.lang3.StringUtils;
+import org.bson.BsonDocument;
 
 import javax.annotation.Nullable;
 
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -56,7 +64,11 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * A {@link DynamicTableSource} that describes how to create a MongoDB change stream events source
  * from a logical description.
  */
-public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetadata {
+public class MongoDBTableSource
+        implements ScanTableSource,
+                SupportsReadingMetadata,
+                SupportsProjectionPushDown,
+                SupportsFilterPushDown {
 
     private final ResolvedSchema physicalSchema;
     private final String hosts;
@@ -75,14 +87,28 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
     private final Integer pollAwaitTimeMillis;
     private final Integer heartbeatIntervalMillis;
     private final ZoneId localTimeZone;
+    private final boolean converterCodeGenerationEnabled;
+    private final boolean enableParallelRead;
+    private final int chunkSizeMB;
+    private final boolean perShardChangeStreams;
+    private final boolean fullChangelog;
 
     // --------------------------------------------------------------------------------------------
     // Mutable attributes
     // --------------------------------------------------------------------------------------------
 
+    /** Data type of the physical columns to read, all physical columns if not projected. */
+    protected DataType physicalDataType;
+
     /** Data type that describes the final output of the source. */
     protected DataType producedDataType;
 
+    /** The pushed down filters that are translated into the pipelines. */
+    protected List<ResolvedExpression> pushedFilters;
+
+    /** Whether the physical columns have been projected. */
+    protected boolean projected;
+
     /** Metadata that is appended at the end of a physical source row. */
     protected List<String> metadataKeys;
 
@@ -103,7 +129,12 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
             @Nullable Integer pollMaxBatchSize,
             @Nullable Integer pollAwaitTimeMillis,
             @Nullable Integer heartbeatIntervalMillis,
-            ZoneId localTimeZone) {
+            ZoneId localTimeZone,
+            boolean converterCodeGenerationEnabled,
+            boolean enableParallelRead,
+            int chunkSizeMB,
+            boolean perShardChangeStreams,
+            boolean fullChangelog) {
         this.physicalSchema = physicalSchema;
         this.hosts = checkNotNull(hosts);
         this.username = username;
@@ -121,12 +152,23 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
         this.pollAwaitTimeMillis = pollAwaitTimeMillis;
         this.heartbeatIntervalMillis = heartbeatIntervalMillis;
         this.localTimeZone = localTimeZone;
+        this.converterCodeGenerationEnabled = converterCodeGenerationEnabled;
+        this.enableParallelRead = enableParallelRead;
+        this.chunkSizeMB = chunkSizeMB;
+        this.perShardChangeStreams = perShardChangeStreams;
+        this.fullChangelog = fullChangelog;
+        this.physicalDataType = physicalSchema.toPhysicalRowDataType();
         this.producedDataType = physicalSchema.toPhysicalRowDataType();
         this.metadataKeys = Collections.emptyList();
+        this.pushedFilters = Collections.emptyList();
+        this.projected = false;
     }
 
     @Override
     public ChangelogMode getChangelogMode() {
+        if (fullChangelog) {
+            return ChangelogMode.all();
+        }
         return ChangelogMode.newBuilder()
                 .addContainedKind(RowKind.INSERT)
                 .addContainedKind(RowKind.UPDATE_AFTER)
@@ -136,17 +178,56 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
 
     @Override
     public ScanRuntimeProvider getScanRuntimeProvider(ScanContext scanContext) {
-        RowType physicalDataType =
-                (RowType) physicalSchema.toPhysicalRowDataType().getLogicalType();
+        RowType physicalDataType = (RowType) this.physicalDataType.getLogicalType();
         MetadataConverter[] metadataConverters = getMetadataConverters();
         TypeInformation<RowData> typeInfo = scanContext.createTypeInformation(producedDataType);
 
         DebeziumDeserializationSchema<RowData> deserializer =
                 new MongoDBConnectorDeserializationSchema(
-                        physicalDataType, metadataConverters, typeInfo, localTimeZone);
+                        physicalDataType,
+                        metadataConverters,
+                        typeInfo,
+                        localTimeZone,
+                        converterCodeGenerationEnabled);
+
+        List<String> projectedFields = projected ? physicalDataType.getFieldNames() : null;
+        List<BsonDocument> changeStreamStages =
+                MongoDBPushDownUtils.changeStreamStages(projectedFields, pushedFilters);
+        List<BsonDocument> copyExistingStages =
+                MongoDBPushDownUtils.copyExistingStages(projectedFields, pushedFilters);
+
+        if (enableParallelRead) {
+            MongoDBIncrementalSource.Builder<RowData> builder =
+                    MongoDBIncrementalSource.<RowData>builder()
+                            .hosts(hosts)
+                            .database(database)
+                            .collectionList(collection)
+                            .chunkSizeMB(chunkSizeMB)
+                            .perShardChangeStreams(perShardChangeStreams)
+                            .fullChangelog(fullChangelog)
+                            .deserializer(deserializer);
+            Optional.ofNullable(username).ifPresent(builder::username);
+            Optional.ofNullable(password).ifPresent(builder::password);
+            Optional.ofNullable(connectionOptions).ifPresent(builder::connectionOptions);
+            Optional.ofNullable(copyExisting).ifPresent(builder::copyExisting);
+            Optional.ofNullable(pollMaxBatchSize).ifPresent(builder::pollMaxBatchSize);
+            Optional.ofNullable(pollAwaitTimeMillis).ifPresent(builder::pollAwaitTimeMillis);
+            if (!copyExistingStages.isEmpty()) {
+                builder.copyExistingPipeline(
+                        MongoDBPushDownUtils.appendStages(null, copyExistingStages));
+            }
+            if (!changeStreamStages.isEmpty()) {
+                builder.pipeline(MongoDBPushDownUtils.appendStages(null, changeStreamStages));
+            }
+            return SourceProvider.of(builder.build());
+        }
 
         MongoDBSource.Builder<RowData> builder =
-                MongoDBSource.<RowData>builder().hosts(hosts).deserializer(deserializer);
+                MongoDBSource.<RowData>builder()
+                        .hosts(hosts)
+                        .deserializer(deserializer)
+                        // the deserializer reads the physical columns from the raw BSON documents
+                        .rawBsonOutput(true);
 
         if (StringUtils.isNotEmpty(database) && StringUtils.isNotEmpty(collection)) {
             // explicitly specified database and collection.
@@ -174,7 +255,13 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
         Optional.ofNullable(errorsLogEnable).ifPresent(builder::errorsLogEnable);
         Optional.ofNullable(errorsTolerance).ifPresent(builder::errorsTolerance);
         Optional.ofNullable(copyExisting).ifPresent(builder::copyExisting);
-        Optional.ofNullable(copyExistingPipeline).ifPresent(builder::copyExistingPipeline);
+        if (copyExistingPipeline != null || !copyExistingStages.isEmpty()) {
+            builder.copyExistingPipeline(
+                    MongoDBPushDownUtils.appendStages(copyExistingPipeline, copyExistingStages));
+        }
+        if (!changeStreamStages.isEmpty()) {
+            builder.pipeline(MongoDBPushDownUtils.appendStages(null, changeStreamStages));
+        }
         Optional.ofNullable(copyExistingMaxThreads).ifPresent(builder::copyExistingMaxThreads);
         Optional.ofNullable(copyExistingQueueSize).ifPresent(builder::copyExistingQueueSize);
         Optional.ofNullable(pollMaxBatchSize).ifPresent(builder::pollMaxBatchSize);
@@ -237,9 +324,17 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
                         pollMaxBatchSize,
                         pollAwaitTimeMillis,
                         heartbeatIntervalMillis,
-                        localTimeZone);
+                        localTimeZone,
+                        converterCodeGenerationEnabled,
+                        enableParallelRead,
+                        chunkSizeMB,
+                        perShardChangeStreams,
+                        fullChangelog);
         source.metadataKeys = metadataKeys;
+        source.physicalDataType = physicalDataType;
         source.producedDataType = producedDataType;
+        source.pushedFilters = pushedFilters;
+        source.projected = projected;
         return source;
     }
 
@@ -269,8 +364,16 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
                 && Objects.equals(pollAwaitTimeMillis, that.pollAwaitTimeMillis)
                 && Objects.equals(heartbeatIntervalMillis, that.heartbeatIntervalMillis)
                 && Objects.equals(localTimeZone, that.localTimeZone)
+                && converterCodeGenerationEnabled == that.converterCodeGenerationEnabled
+                && enableParallelRead == that.enableParallelRead
+                && chunkSizeMB == that.chunkSizeMB
+                && perShardChangeStreams == that.perShardChangeStreams
+                && fullChangelog == that.fullChangelog
+                && Objects.equals(physicalDataType, that.physicalDataType)
                 && Objects.equals(producedDataType, that.producedDataType)
-                && Objects.equals(metadataKeys, that.metadataKeys);
+                && Objects.equals(metadataKeys, that.metadataKeys)
+                && Objects.equals(pushedFilters, that.pushedFilters)
+                && projected == that.projected;
     }
 
     @Override
@@ -293,8 +396,46 @@ public class MongoDBTableSource implements ScanTableSource, SupportsReadingMetad
                 pollAwaitTimeMillis,
                 heartbeatIntervalMillis,
                 localTimeZone,
+                converterCodeGenerationEnabled,
+                enableParallelRead,
+                chunkSizeMB,
+                perShardChangeStreams,
+                fullChangelog,
+                physicalDataType,
                 producedDataType,
-                metadataKeys);
+                metadataKeys,
+                pushedFilters,
+                projected);
+    }
+
+    @Override
+    public boolean supportsNestedProjection() {
+        return false;
+    }
+
+    @Override
+    public void applyProjection(int[][] projectedFields) {
+        this.physicalDataType =
+                DataTypeUtils.projectRow(physicalSchema.toPhysicalRowDataType(), projectedFields);
+        this.producedDataType = physicalDataType;
+        // the documents are only projected if all columns are plain top level fields
+        this.projected =
+                MongoDBPushDownUtils.isProjectable(
+                        ((RowType) physicalDataType.getLogicalType()).getFieldNames());
+    }
+
+    @Override
+    public Result applyFilters(List<ResolvedExpression> filters) {
+        // the pipelines only drop documents that cannot match, so all filters are still evaluated
+        // on the produced rows
+        List<ResolvedExpression> acceptedFilters = new ArrayList<>();
+        for (ResolvedExpression filter : filters) {
+            if (MongoDBPushDownUtils.isTranslatable(filter)) {
+                acceptedFilters.add(filter);
+            }
+        }
+        this.pushedFilters = acceptedFilters;
+        return Result.of(acceptedFilters, filters);
     }
 
     @Override
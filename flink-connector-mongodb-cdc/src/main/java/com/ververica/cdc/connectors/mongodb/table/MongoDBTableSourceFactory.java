@@ -18,6 +18,7 @@
 
 package com.ververica.cdc.connectors.mongodb.table;
 
+import org.apache.flink.annotation.Experimental;
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
 import org.apache.flink.configuration.ReadableConfig;
@@ -35,6 +36,8 @@ import java.util.Set;
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.ERROR_TOLERANCE_NONE;
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.POLL_AWAIT_TIME_MILLIS_DEFAULT;
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.POLL_MAX_BATCH_SIZE_DEFAULT;
+import static com.ververica.cdc.connectors.mongodb.source.MongoDBIncrementalSource.CHUNK_SIZE_MB_DEFAULT;
+import static com.ververica.cdc.connectors.mongodb.utils.CollectionDiscoveryUtils.containsRegexMetaCharacters;
 import static com.ververica.cdc.debezium.utils.ResolvedSchemaUtils.getPhysicalSchema;
 import static org.apache.flink.util.Preconditions.checkArgument;
 
@@ -178,6 +181,58 @@ public class MongoDBTableSourceFactory implements DynamicTableSourceFactory {
                                     + "have been published in the specified interval. This improves the resumability of the connector "
                                     + "for low volume namespaces. Use 0 to disable. Defaults to 0.");
 
+    @Experimental
+    private static final ConfigOption<Boolean> SCAN_CONVERTER_CODE_GENERATION_ENABLED =
+            ConfigOptions.key("scan.converter-code-generation.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to compile a specialised converter class for the physical row type,"
+                                    + " which converts the change stream documents to RowData in straight-line code,"
+                                    + " by default is false.");
+
+    private static final ConfigOption<Boolean> SCAN_INCREMENTAL_SNAPSHOT_ENABLED =
+            ConfigOptions.key("scan.incremental.snapshot.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to read the snapshot with the FLIP-27 source, which splits the collection"
+                                    + " into chunks of _id ranges, reads the chunks in parallel and checkpoints per chunk,"
+                                    + " by default is false. The database and collection must be specified without"
+                                    + " regular expressions.");
+
+    private static final ConfigOption<Integer> SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE_MB =
+            ConfigOptions.key("scan.incremental.snapshot.chunk.size.mb")
+                    .intType()
+                    .defaultValue(CHUNK_SIZE_MB_DEFAULT)
+                    .withDescription(
+                            "The approximate size in MB of the chunks of a collection when reading the"
+                                    + " snapshot with the FLIP-27 source. Defaults to 64.");
+
+    private static final ConfigOption<Boolean> SCAN_INCREMENTAL_STREAM_PER_SHARD_ENABLED =
+            ConfigOptions.key("scan.incremental.stream.per-shard.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the FLIP-27 source reads the change stream of a sharded cluster from"
+                                    + " each shard in parallel instead of from the mongos router, by default is false."
+                                    + " The changes of a document are only in order as long as the document is not"
+                                    + " migrated to another shard while the job runs. Only takes effect when the"
+                                    + " incremental snapshot is enabled.");
+
+    private static final ConfigOption<Boolean> SCAN_FULL_CHANGELOG =
+            ConfigOptions.key("scan.full-changelog")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to read the pre- and post-images of the changed documents instead of"
+                                    + " looking up the documents after updates, by default is false. The source then"
+                                    + " produces UPDATE_BEFORE and complete DELETE rows, so that no changelog"
+                                    + " normalization is needed downstream. Requires MongoDB 6.0+, the"
+                                    + " changeStreamPreAndPostImages option enabled on the collection and the"
+                                    + " incremental snapshot. The snapshot is read at the start time of the change"
+                                    + " stream and has to finish within minSnapshotHistoryWindowInSeconds of the server.");
+
     @Override
     public DynamicTableSource createDynamicTableSource(Context context) {
         final FactoryUtil.TableFactoryHelper helper =
@@ -220,6 +275,21 @@ public class MongoDBTableSourceFactory implements DynamicTableSourceFactory {
         checkArgument(physicalSchema.getPrimaryKey().isPresent(), "Primary key must be present");
         checkPrimaryKey(physicalSchema.getPrimaryKey().get(), "Primary key must be _id field");
 
+        boolean enableParallelRead = config.get(SCAN_INCREMENTAL_SNAPSHOT_ENABLED);
+        boolean fullChangelog = config.get(SCAN_FULL_CHANGELOG);
+        checkArgument(
+                !fullChangelog || enableParallelRead,
+                "The full changelog requires the incremental snapshot to be enabled");
+        if (enableParallelRead) {
+            checkArgument(
+                    database != null
+                            && collection != null
+                            && !containsRegexMetaCharacters(database)
+                            && !containsRegexMetaCharacters(collection),
+                    "The database and collection without regular expressions must be specified"
+                            + " when the incremental snapshot is enabled");
+        }
+
         return new MongoDBTableSource(
                 physicalSchema,
                 hosts,
@@ -237,7 +307,12 @@ public class MongoDBTableSourceFactory implements DynamicTableSourceFactory {
                 pollMaxBatchSize,
                 pollAwaitTimeMillis,
                 heartbeatIntervalMillis,
-                localTimeZone);
+                localTimeZone,
+                config.get(SCAN_CONVERTER_CODE_GENERATION_ENABLED),
+                enableParallelRead,
+                config.get(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE_MB),
+                config.get(SCAN_INCREMENTAL_STREAM_PER_SHARD_ENABLED),
+                fullChangelog);
     }
 
     private void checkPrimaryKey(UniqueConstraint pk, String message) {
@@ -275,6 +350,11 @@ public class MongoDBTableSourceFactory implements DynamicTableSourceFactory {
         options.add(POLL_MAX_BATCH_SIZE);
         options.add(POLL_AWAIT_TIME_MILLIS);
         options.add(HEARTBEAT_INTERVAL_MILLIS);
+        options.add(SCAN_CONVERTER_CODE_GENERATION_ENABLED);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_ENABLED);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE_MB);
+        options.add(SCAN_INCREMENTAL_STREAM_PER_SHARD_ENABLED);
+        options.add(SCAN_FULL_CHANGELOG);
         return options;
     }
 }
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source;
+
+import org.apache.flink.api.common.restartstrategy.RestartStrategies;
+import org.apache.flink.runtime.minicluster.MiniCluster;
+import org.apache.flink.runtime.minicluster.RpcServiceSharing;
+import org.apache.flink.runtime.testutils.MiniClusterResourceConfiguration;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.table.api.EnvironmentSettings;
+import org.apache.flink.table.api.TableResult;
+import org.apache.flink.table.api.bridge.java.StreamTableEnvironment;
+import org.apache.flink.table.planner.factories.TestValuesTableFactory;
+import org.apache.flink.table.utils.LegacyRowResource;
+import org.apache.flink.test.util.MiniClusterWithClientResource;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import com.ververica.cdc.connectors.mongodb.MongoDBTestBase;
+import com.ververica.cdc.connectors.mongodb.source.utils.MongoDBChunkUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static com.ververica.cdc.connectors.mongodb.utils.MongoDBTestUtils.waitForSinkSize;
+import static com.ververica.cdc.connectors.mongodb.utils.MongoDBTestUtils.waitForSnapshotStarted;
+import static org.junit.Assert.assertTrue;
+
+/** IT tests for the chunked snapshot of {@link MongoDBIncrementalSource}. */
+public class MongoDBIncrementalSourceITCase extends MongoDBTestBase {
+
+    private static final int DEFAULT_PARALLELISM = 2;
+
+    /** About 12 MB of documents, which are split into several chunks of 1 MB. */
+    private static final int DOCUMENTS = 40_000;
+
+    private static final String PADDING = StringUtils.repeat('x', 256);
+
+    @ClassRule public static LegacyRowResource usesLegacyRows = LegacyRowResource.INSTANCE;
+
+    @Rule public final Timeout timeoutPerTest = Timeout.seconds(300);
+
+    @Rule
+    public final MiniClusterWithClientResource miniClusterResource =
+            new MiniClusterWithClientResource(
+                    new MiniClusterResourceConfiguration.Builder()
+                            .setNumberTaskManagers(1)
+                            .setNumberSlotsPerTaskManager(DEFAULT_PARALLELISM)
+                            .setRpcServiceSharing(RpcServiceSharing.DEDICATED)
+                            .withHaLeadershipControl()
+                            .build());
+
+    private final StreamExecutionEnvironment env =
+            StreamExecutionEnvironment.getExecutionEnvironment()
+                    .setParallelism(DEFAULT_PARALLELISM);
+    private final StreamTableEnvironment tEnv =
+            StreamTableEnvironment.create(
+                    env,
+                    EnvironmentSettings.newInstance().useBlinkPlanner().inStreamingMode().build());
+
+    @Before
+    public void before() {
+        TestValuesTableFactory.clearAllData();
+        env.enableCheckpointing(200L);
+        env.setRestartStrategy(RestartStrategies.fixedDelayRestart(1, 0));
+    }
+
+    @Test
+    public void testReadChunkedSnapshot() throws Exception {
+        final String database = createChunkedCollection();
+        final TreeMap<Integer, String> expected = initialDocuments();
+
+        final TableResult result = startJob(database);
+        waitForSinkResults("sink", expected);
+
+        result.getJobClient().get().cancel().get();
+    }
+
+    @Test
+    public void testRestoreFromCheckpointInsideSplit() throws Exception {
+        final String database = createChunkedCollection();
+        final TreeMap<Integer, String> expected = initialDocuments();
+
+        final TableResult result = startJob(database);
+
+        // the chunks are checkpointed after each batch of documents, the restored chunks resume
+        // after the last emitted _id instead of reading the whole chunk again
+        waitForSnapshotStarted("sink");
+        restartTaskManager(miniClusterResource.getMiniCluster());
+        waitForSinkResults("sink", expected);
+
+        final MongoCollection<Document> products =
+                getMongoDatabase(database).getCollection("products");
+        products.updateOne(Filters.eq("seq", 1), Updates.set("name", "updated-1"));
+        products.deleteOne(Filters.eq("seq", 2));
+        products.insertOne(productDocOf(DOCUMENTS));
+        expected.put(1, "updated-1");
+        expected.remove(2);
+        expected.put(DOCUMENTS, "product-" + DOCUMENTS);
+        waitForSinkResults("sink", expected);
+
+        result.getJobClient().get().cancel().get();
+    }
+
+    @Test
+    public void testChangesDuringSnapshot() throws Exception {
+        final String database = createChunkedCollection();
+        final TreeMap<Integer, String> expected = initialDocuments();
+
+        final TableResult result = startJob(database);
+        waitForSnapshotStarted("sink");
+
+        // change documents in every chunk while the chunks are read, the change stream starts
+        // before the collection is split so the changes are replayed after the snapshot
+        final MongoCollection<Document> products =
+                getMongoDatabase(database).getCollection("products");
+        for (int seq = 0; seq < DOCUMENTS; seq += 1000) {
+            products.updateOne(Filters.eq("seq", seq), Updates.set("name", "updated-" + seq));
+            products.deleteOne(Filters.eq("seq", seq + 1));
+            products.insertOne(productDocOf(DOCUMENTS + seq));
+            expected.put(seq, "updated-" + seq);
+            expected.remove(seq + 1);
+            expected.put(DOCUMENTS + seq, "product-" + (DOCUMENTS + seq));
+        }
+        waitForSinkResults("sink", expected);
+
+        result.getJobClient().get().cancel().get();
+    }
+
+    private TableResult startJob(String database) {
+        tEnv.executeSql(
+                String.format(
+                        "CREATE TABLE mongodb_source ("
+                                + " _id STRING NOT NULL,"
+                                + " seq INT,"
+                                + " name STRING,"
+                                + " PRIMARY KEY (_id) NOT ENFORCED"
+                                + ") WITH ("
+                                + " 'connector' = 'mongodb-cdc',"
+                                + " 'hosts' = '%s',"
+                                + " 'username' = '%s',"
+                                + " 'password' = '%s',"
+                                + " 'database' = '%s',"
+                                + " 'collection' = '%s',"
+                                + " 'scan.incremental.snapshot.enabled' = 'true',"
+                                + " 'scan.incremental.snapshot.chunk.size.mb' = '1',"
+                                + " 'heartbeat.interval.ms' = '1000'"
+                                + ")",
+                        MONGODB_CONTAINER.getHostAndPort(),
+                        FLINK_USER,
+                        FLINK_USER_PASSWORD,
+                        database,
+                        "products"));
+        tEnv.executeSql(
+                "CREATE TABLE sink ("
+                        + " seq INT NOT NULL,"
+                        + " name STRING,"
+                        + " PRIMARY KEY (seq) NOT ENFORCED"
+                        + ") WITH ("
+                        + " 'connector' = 'values',"
+                        + " 'sink-insert-only' = 'false'"
+                        + ")");
+        return tEnv.executeSql("INSERT INTO sink SELECT seq, name FROM mongodb_source");
+    }
+
+    /** Creates a collection which is split into several chunks of 1 MB. */
+    private static String createChunkedCollection() {
+        final String database = "chunks_" + Integer.toUnsignedString(new Random().nextInt(), 36);
+        final MongoDatabase db = getMongoDatabase(database);
+        final MongoCollection<Document> products = db.getCollection("products");
+        final List<Document> documents = new ArrayList<>(1000);
+        for (int seq = 0; seq < DOCUMENTS; seq++) {
+            documents.add(productDocOf(seq));
+            if (documents.size() == 1000) {
+                products.insertMany(documents);
+                documents.clear();
+            }
+        }
+        products.createIndex(new Document("seq", 1));
+        assertTrue(MongoDBChunkUtils.splitKeys(db, "products", 1).size() > 1);
+        return database;
+    }
+
+    private static TreeMap<Integer, String> initialDocuments() {
+        final TreeMap<Integer, String> documents = new TreeMap<>();
+        for (int seq = 0; seq < DOCUMENTS; seq++) {
+            documents.put(seq, "product-" + seq);
+        }
+        return documents;
+    }
+
+    private static Document productDocOf(int seq) {
+        return new Document()
+                .append("_id", new ObjectId())
+                .append("seq", seq)
+                .append("name", "product-" + seq)
+                .append("padding", PADDING);
+    }
+
+    private static void restartTaskManager(MiniCluster miniCluster) throws Exception {
+        miniCluster.terminateTaskManager(0).get();
+        Thread.sleep(100);
+        miniCluster.startTaskManager();
+    }
+
+    private static void waitForSinkResults(String sinkName, TreeMap<Integer, String> expected)
+            throws InterruptedException {
+        waitForSinkSize(sinkName, expected.size());
+        final List<String> sortedExpected = new ArrayList<>();
+        expected.forEach((seq, name) -> sortedExpected.add(seq + "," + name));
+        Collections.sort(sortedExpected);
+        while (!sortedExpected.equals(results(sinkName))) {
+            Thread.sleep(100);
+        }
+    }
+
+    private static List<String> results(String sinkName) {
+        synchronized (TestValuesTableFactory.class) {
+            try {
+                final List<String> results =
+                        new ArrayList<>(TestValuesTableFactory.getResults(sinkName));
+                Collections.sort(results);
+                return results;
+            } catch (IllegalArgumentException e) {
+                // job is not started yet
+                return Collections.emptyList();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.source;
+
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsState;
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsStateSerializer;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSnapshotSplit;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSnapshotSplitState;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSourceSplit;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBSourceSplitSerializer;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBStreamSplit;
+import com.ververica.cdc.connectors.mongodb.source.split.MongoDBStreamSplitState;
+import org.bson.BsonDocument;
+import org.bson.BsonMaxKey;
+import org.bson.BsonMinKey;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for the serializers of {@link MongoDBSourceSplit} and {@link HybridPendingSplitsState}. */
+public class MongoDBSourceSplitSerializerTest {
+
+    private static final BsonValue SPLIT_KEY = new BsonObjectId(new ObjectId());
+
+    @Test
+    public void testSnapshotSplitSerde() throws Exception {
+        MongoDBSnapshotSplit split = snapshotSplit("db.coll:0", new BsonMinKey(), SPLIT_KEY);
+        assertEquals(split, serdeSplit(split));
+        assertEquals(split.asFinished(), serdeSplit(split.asFinished()));
+    }
+
+    @Test
+    public void testStreamSplitSerde() throws Exception {
+        MongoDBStreamSplit split = streamSplit(null, null);
+        assertEquals(split, serdeSplit(split));
+
+        MongoDBStreamSplit resumed = streamSplit(null, "{\"_data\": \"8262A1\"}");
+        assertEquals(resumed, serdeSplit(resumed));
+
+        MongoDBStreamSplit shard = streamSplit("rs0/h1:27017,h2:27017", null);
+        assertEquals(shard, serdeSplit(shard));
+        assertEquals("rs0/h1:27017,h2:27017", serdeSplit(shard).asStreamSplit().getShardHost());
+    }
+
+    @Test
+    public void testSnapshotSplitStateKeepsProgress() throws Exception {
+        MongoDBSnapshotSplit split = snapshotSplit("db.coll:1", SPLIT_KEY, new BsonMaxKey());
+        MongoDBSnapshotSplitState state = new MongoDBSnapshotSplitState(split);
+        BsonValue lastId = new BsonObjectId(new ObjectId());
+        state.setLastId(lastId);
+
+        MongoDBSnapshotSplit restored = serdeSplit(state.toSourceSplit()).asSnapshotSplit();
+        assertFalse(restored.isLowerBoundInclusive());
+        assertEquals(lastId, BsonDocument.parse(restored.getLowerBound()).get("_id"));
+        assertEquals(split.getUpperBound(), restored.getUpperBound());
+    }
+
+    @Test
+    public void testStreamSplitStateKeepsResumeToken() throws Exception {
+        MongoDBStreamSplitState state = new MongoDBStreamSplitState(streamSplit(null, null));
+        BsonDocument resumeToken = new BsonDocument("_data", new BsonString("8262A1"));
+        state.setResumeToken(resumeToken);
+
+        MongoDBStreamSplit restored = serdeSplit(state.toSourceSplit()).asStreamSplit();
+        assertEquals(resumeToken, BsonDocument.parse(restored.getResumeToken()));
+    }
+
+    @Test
+    public void testPendingSplitsStateSerde() throws Exception {
+        HybridPendingSplitsState<MongoDBSourceSplit> state =
+                new HybridPendingSplitsState<>(
+                        true,
+                        Arrays.asList(snapshotSplit("db.coll:1", SPLIT_KEY, new BsonMaxKey())),
+                        new HashSet<>(Arrays.asList("db.coll:0", "db.coll:1")),
+                        new HashSet<>(Collections.singletonList("db.coll:0")),
+                        Collections.singletonList(streamSplit(null, null)));
+        HybridPendingSplitsStateSerializer<MongoDBSourceSplit> serializer =
+                new HybridPendingSplitsStateSerializer<>(MongoDBSourceSplitSerializer.INSTANCE);
+        HybridPendingSplitsState<MongoDBSourceSplit> restored =
+                serializer.deserialize(serializer.getVersion(), serializer.serialize(state));
+        assertEquals(state, restored);
+        assertTrue(restored.isInitialized());
+    }
+
+    private static MongoDBSnapshotSplit snapshotSplit(
+            String splitId, BsonValue lower, BsonValue upper) {
+        return new MongoDBSnapshotSplit(
+                splitId,
+                "db",
+                "coll",
+                MongoDBSnapshotSplit.toBound(lower),
+                true,
+                MongoDBSnapshotSplit.toBound(upper),
+                7000L << 32,
+                false);
+    }
+
+    private static MongoDBStreamSplit streamSplit(String shardHost, String resumeToken) {
+        return new MongoDBStreamSplit(
+                "stream-db",
+                "db",
+                Arrays.asList("coll", "coll2"),
+                shardHost,
+                resumeToken,
+                7000L << 32);
+    }
+
+    private static MongoDBSourceSplit serdeSplit(MongoDBSourceSplit split) throws Exception {
+        MongoDBSourceSplitSerializer serializer = MongoDBSourceSplitSerializer.INSTANCE;
+        return serializer.deserialize(serializer.getVersion(), serializer.serialize(split));
+    }
+}
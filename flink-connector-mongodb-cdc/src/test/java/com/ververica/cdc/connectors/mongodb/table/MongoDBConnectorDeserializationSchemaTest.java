@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.table;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+import org.apache.flink.util.InstantiationUtil;
+
+import com.ververica.cdc.connectors.mongodb.internal.MongoDBEnvelope;
+import com.ververica.cdc.connectors.mongodb.source.utils.MongoDBRecordUtils;
+import com.ververica.cdc.debezium.table.MetadataConverter;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/** Unit test for {@link MongoDBConnectorDeserializationSchema}. */
+public class MongoDBConnectorDeserializationSchemaTest {
+
+    private static final RowType PHYSICAL_ROW_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("_id", DataTypes.STRING().notNull()),
+                                    DataTypes.FIELD("name", DataTypes.STRING()),
+                                    DataTypes.FIELD("weight", DataTypes.DOUBLE()),
+                                    DataTypes.FIELD("price", DataTypes.DECIMAL(10, 2)),
+                                    DataTypes.FIELD("tags", DataTypes.ARRAY(DataTypes.STRING())),
+                                    DataTypes.FIELD(
+                                            "address",
+                                            DataTypes.ROW(
+                                                    DataTypes.FIELD("city", DataTypes.STRING()),
+                                                    DataTypes.FIELD("zip", DataTypes.INT()))),
+                                    DataTypes.FIELD("absent", DataTypes.BIGINT()))
+                            .getLogicalType();
+
+    private static final Schema VALUE_SCHEMA =
+            SchemaBuilder.struct()
+                    .field(MongoDBEnvelope.OPERATION_TYPE_FIELD, Schema.OPTIONAL_STRING_SCHEMA)
+                    .field(MongoDBEnvelope.FULL_DOCUMENT_FIELD, Schema.OPTIONAL_STRING_SCHEMA)
+                    .field(MongoDBEnvelope.DOCUMENT_KEY_FIELD, Schema.OPTIONAL_STRING_SCHEMA)
+                    .build();
+
+    private static final Schema RAW_BSON_VALUE_SCHEMA =
+            SchemaBuilder.struct()
+                    .field(MongoDBEnvelope.OPERATION_TYPE_FIELD, Schema.OPTIONAL_STRING_SCHEMA)
+                    .field(MongoDBEnvelope.FULL_DOCUMENT_FIELD, Schema.OPTIONAL_BYTES_SCHEMA)
+                    .field(MongoDBEnvelope.DOCUMENT_KEY_FIELD, Schema.OPTIONAL_BYTES_SCHEMA)
+                    .build();
+
+    @Test
+    public void testCodeGeneratedConverterProducesSameRows() throws Exception {
+        final List<SourceRecord> records = records();
+
+        final MongoDBConnectorDeserializationSchema deserializer = createDeserializer(false);
+        final MongoDBConnectorDeserializationSchema codeGeneratedDeserializer =
+                InstantiationUtil.clone(createDeserializer(true), getClass().getClassLoader());
+        for (SourceRecord record : records) {
+            final List<RowData> expected = deserialize(deserializer, record);
+            assertEquals(1, expected.size());
+            assertEquals(expected, deserialize(codeGeneratedDeserializer, record));
+        }
+    }
+
+    @Test
+    public void testRawBsonDocumentsProduceSameRows() throws Exception {
+        final MongoDBConnectorDeserializationSchema deserializer = createDeserializer(false);
+        final MongoDBConnectorDeserializationSchema codeGeneratedDeserializer =
+                createDeserializer(true);
+        for (SourceRecord record : records()) {
+            final SourceRecord rawBsonRecord = toRawBsonRecord(record);
+            final List<RowData> expected = deserialize(deserializer, record);
+            assertEquals(expected, deserialize(deserializer, rawBsonRecord));
+            assertEquals(expected, deserialize(codeGeneratedDeserializer, rawBsonRecord));
+        }
+    }
+
+    @Test
+    public void testPreImagesProduceUpdateBeforeAndFullDelete() throws Exception {
+        final MongoDBConnectorDeserializationSchema deserializer = createDeserializer(true);
+
+        final List<RowData> updated =
+                deserialize(
+                        deserializer,
+                        MongoDBRecordUtils.createChangeRecord(
+                                changeEvent(
+                                        "update",
+                                        "fullDocument: {_id: '101', name: 'scooter', weight: 5.5},"
+                                                + " fullDocumentBeforeChange:"
+                                                + " {_id: '101', name: 'scooter', weight: 3.5}")));
+        assertEquals(2, updated.size());
+        assertEquals(RowKind.UPDATE_BEFORE, updated.get(0).getRowKind());
+        assertEquals(3.5, updated.get(0).getDouble(2), 0);
+        assertEquals(RowKind.UPDATE_AFTER, updated.get(1).getRowKind());
+        assertEquals(5.5, updated.get(1).getDouble(2), 0);
+
+        final List<RowData> deleted =
+                deserialize(
+                        deserializer,
+                        MongoDBRecordUtils.createChangeRecord(
+                                changeEvent(
+                                        "delete",
+                                        "fullDocumentBeforeChange:"
+                                                + " {_id: '101', name: 'scooter', weight: 5.5}")));
+        assertEquals(1, deleted.size());
+        assertEquals(RowKind.DELETE, deleted.get(0).getRowKind());
+        assertEquals(StringData.fromString("scooter"), deleted.get(0).getString(1));
+    }
+
+    private static RawBsonDocument changeEvent(String operation, String documents) {
+        return RawBsonDocument.parse(
+                "{_id: {_data: '8262A1'}, operationType: '"
+                        + operation
+                        + "', ns: {db: 'inventory', coll: 'products'},"
+                        + " documentKey: {_id: '101'},"
+                        + " clusterTime: Timestamp(1650000000, 1), "
+                        + documents
+                        + "}");
+    }
+
+    private static List<SourceRecord> records() {
+        final List<SourceRecord> records = new ArrayList<>();
+        records.add(
+                record(
+                        "insert",
+                        "{\"_id\": \"101\", \"name\": \"scooter\", \"weight\": 5.5, "
+                                + "\"price\": {\"$numberDecimal\": \"3.14\"}, "
+                                + "\"tags\": [\"a\", \"b\"], "
+                                + "\"address\": {\"city\": \"Hangzhou\", \"zip\": 310000}}",
+                        "{\"_id\": \"101\"}"));
+        records.add(
+                record(
+                        "update",
+                        "{\"_id\": \"101\", \"name\": null, \"weight\": {\"$numberDecimal\": \"NaN\"}, "
+                                + "\"address\": {\"city\": {\"$undefined\": true}}}",
+                        "{\"_id\": \"101\"}"));
+        records.add(
+                record(
+                        "insert",
+                        "{\"_id\": \"102\", \"unused\": {\"nested\": [1, 2, 3]}, "
+                                + "\"name\": \"car battery\", \"weight\": 8.1}",
+                        "{\"_id\": \"102\"}"));
+        records.add(record("delete", null, "{\"_id\": \"101\"}"));
+        return records;
+    }
+
+    private static MongoDBConnectorDeserializationSchema createDeserializer(
+            boolean converterCodeGeneration) {
+        return new MongoDBConnectorDeserializationSchema(
+                PHYSICAL_ROW_TYPE,
+                new MetadataConverter[0],
+                TypeInformation.of(RowData.class),
+                ZoneId.of("UTC"),
+                converterCodeGeneration);
+    }
+
+    private static List<RowData> deserialize(
+            MongoDBConnectorDeserializationSchema deserializer, SourceRecord record)
+            throws Exception {
+        final List<RowData> rows = new ArrayList<>();
+        deserializer.deserialize(
+                record,
+                new Collector<RowData>() {
+                    @Override
+                    public void collect(RowData row) {
+                        rows.add(row);
+                    }
+
+                    @Override
+                    public void close() {}
+                });
+        return rows;
+    }
+
+    private static SourceRecord toRawBsonRecord(SourceRecord record) {
+        final Struct value = (Struct) record.value();
+        final Struct rawBsonValue =
+                new Struct(RAW_BSON_VALUE_SCHEMA)
+                        .put(
+                                MongoDBEnvelope.OPERATION_TYPE_FIELD,
+                                value.getString(MongoDBEnvelope.OPERATION_TYPE_FIELD))
+                        .put(
+                                MongoDBEnvelope.FULL_DOCUMENT_FIELD,
+                                toRawBson(value.getString(MongoDBEnvelope.FULL_DOCUMENT_FIELD)))
+                        .put(
+                                MongoDBEnvelope.DOCUMENT_KEY_FIELD,
+                                toRawBson(value.getString(MongoDBEnvelope.DOCUMENT_KEY_FIELD)));
+        return new SourceRecord(
+                record.sourcePartition(),
+                record.sourceOffset(),
+                record.topic(),
+                RAW_BSON_VALUE_SCHEMA,
+                rawBsonValue);
+    }
+
+    private static byte[] toRawBson(String json) {
+        if (json == null) {
+            return null;
+        }
+        final RawBsonDocument document =
+                new RawBsonDocument(BsonDocument.parse(json), new BsonDocumentCodec());
+        return document.getByteBuffer().array();
+    }
+
+    private static SourceRecord record(String operation, String fullDocument, String documentKey) {
+        final Struct value =
+                new Struct(VALUE_SCHEMA)
+                        .put(MongoDBEnvelope.OPERATION_TYPE_FIELD, operation)
+                        .put(MongoDBEnvelope.FULL_DOCUMENT_FIELD, fullDocument)
+                        .put(MongoDBEnvelope.DOCUMENT_KEY_FIELD, documentKey);
+        return new SourceRecord(
+                Collections.emptyMap(),
+                Collections.emptyMap(),
+                "inventory.products",
+                VALUE_SCHEMA,
+                value);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mongodb.table;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+
+import org.bson.BsonDocument;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Unit tests for {@link MongoDBPushDownUtils}. */
+public class MongoDBPushDownUtilsTest {
+
+    private static final FieldReferenceExpression AGE =
+            new FieldReferenceExpression("age", DataTypes.BIGINT(), 0, 0);
+    private static final FieldReferenceExpression NAME =
+            new FieldReferenceExpression("name", DataTypes.STRING(), 0, 1);
+
+    @Test
+    public void testCopyExistingStages() {
+        // literal first, 18 <= age
+        ResolvedExpression age =
+                call(
+                        BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL,
+                        new ValueLiteralExpression(18L),
+                        AGE);
+        ResolvedExpression name =
+                call(BuiltInFunctionDefinitions.EQUALS, NAME, new ValueLiteralExpression("a"));
+
+        List<BsonDocument> stages =
+                MongoDBPushDownUtils.copyExistingStages(
+                        Arrays.asList("age", "name"), Arrays.asList(age, name));
+
+        assertEquals(
+                Arrays.asList(
+                        BsonDocument.parse(
+                                "{$match: {$and: ["
+                                        + "{$or: [{age: {$gte: {$numberLong: '18'}}},"
+                                        + " {age: {$not: {$type: ['int', 'long']}}}]},"
+                                        + "{$or: [{name: {$eq: 'a'}},"
+                                        + " {name: {$not: {$type: ['string']}}}]}]}}"),
+                        BsonDocument.parse("{$project: {_id: 1, age: 1, name: 1}}")),
+                stages);
+    }
+
+    @Test
+    public void testChangeStreamStagesKeepNonInserts() {
+        ResolvedExpression age =
+                call(BuiltInFunctionDefinitions.GREATER_THAN, AGE, new ValueLiteralExpression(18L));
+
+        List<BsonDocument> stages =
+                MongoDBPushDownUtils.changeStreamStages(null, Collections.singletonList(age));
+
+        assertEquals(
+                Collections.singletonList(
+                        BsonDocument.parse(
+                                "{$match: {$or: [{operationType: {$ne: 'insert'}},"
+                                        + " {$or: [{'fullDocument.age': {$gt: {$numberLong: '18'}}},"
+                                        + " {'fullDocument.age': {$not: {$type: ['int', 'long']}}}]}]}}")),
+                stages);
+    }
+
+    @Test
+    public void testUntranslatableFilters() {
+        // strings are only compared for equality, as the collation may order them differently
+        assertFalse(
+                MongoDBPushDownUtils.isTranslatable(
+                        call(
+                                BuiltInFunctionDefinitions.LESS_THAN,
+                                NAME,
+                                new ValueLiteralExpression("a"))));
+        assertFalse(
+                MongoDBPushDownUtils.isTranslatable(
+                        call(
+                                BuiltInFunctionDefinitions.EQUALS,
+                                new FieldReferenceExpression("a.b", DataTypes.BIGINT(), 0, 2),
+                                new ValueLiteralExpression(1L))));
+        assertTrue(
+                MongoDBPushDownUtils.isTranslatable(
+                        call(
+                                BuiltInFunctionDefinitions.OR,
+                                call(
+                                        BuiltInFunctionDefinitions.EQUALS,
+                                        AGE,
+                                        new ValueLiteralExpression(1L)),
+                                call(
+                                        BuiltInFunctionDefinitions.EQUALS,
+                                        NAME,
+                                        new ValueLiteralExpression("a")))));
+        assertFalse(MongoDBPushDownUtils.isProjectable(Arrays.asList("_id", "$name")));
+    }
+
+    @Test
+    public void testAppendStages() {
+        String pipeline =
+                MongoDBPushDownUtils.appendStages(
+                        "[{\"$match\": {\"closed\": \"false\"}}]",
+                        Collections.singletonList(BsonDocument.parse("{$project: {a: 1}}")));
+        assertEquals(
+                "[{\"$match\": {\"closed\": \"false\"}},{\"$project\": {\"a\": 1}}]", pipeline);
+    }
+
+    private static CallExpression call(
+            FunctionDefinition function, ResolvedExpression left, ResolvedExpression right) {
+        return new CallExpression(function, Arrays.asList(left, right), DataTypes.BOOLEAN());
+    }
+}
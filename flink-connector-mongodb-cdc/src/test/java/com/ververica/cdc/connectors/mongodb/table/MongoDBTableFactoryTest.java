@@ -49,6 +49,7 @@ import java.util.Map;
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.ERROR_TOLERANCE_ALL;
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.POLL_AWAIT_TIME_MILLIS_DEFAULT;
 import static com.ververica.cdc.connectors.mongodb.MongoDBSource.POLL_MAX_BATCH_SIZE_DEFAULT;
+import static com.ververica.cdc.connectors.mongodb.source.MongoDBIncrementalSource.CHUNK_SIZE_MB_DEFAULT;
 import static com.ververica.cdc.connectors.utils.AssertUtils.assertProducedTypeOfSourceFunction;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -115,7 +116,12 @@ public class MongoDBTableFactoryTest {
                         POLL_MAX_BATCH_SIZE_DEFAULT,
                         POLL_AWAIT_TIME_MILLIS_DEFAULT,
                         null,
-                        LOCAL_TIME_ZONE);
+                        LOCAL_TIME_ZONE,
+                        false,
+                        false,
+                        CHUNK_SIZE_MB_DEFAULT,
+                        false,
+                        false);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -132,6 +138,11 @@ public class MongoDBTableFactoryTest {
         options.put("poll.max.batch.size", "102");
         options.put("poll.await.time.ms", "103");
         options.put("heartbeat.interval.ms", "104");
+        options.put("scan.converter-code-generation.enabled", "true");
+        options.put("scan.incremental.snapshot.enabled", "true");
+        options.put("scan.incremental.snapshot.chunk.size.mb", "16");
+        options.put("scan.incremental.stream.per-shard.enabled", "true");
+        options.put("scan.full-changelog", "true");
         DynamicTableSource actualSource = createTableSource(SCHEMA, options);
 
         MongoDBTableSource expectedSource =
@@ -152,7 +163,12 @@ public class MongoDBTableFactoryTest {
                         102,
                         103,
                         104,
-                        LOCAL_TIME_ZONE);
+                        LOCAL_TIME_ZONE,
+                        true,
+                        true,
+                        16,
+                        true,
+                        true);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -186,7 +202,12 @@ public class MongoDBTableFactoryTest {
                         POLL_MAX_BATCH_SIZE_DEFAULT,
                         POLL_AWAIT_TIME_MILLIS_DEFAULT,
                         null,
-                        LOCAL_TIME_ZONE);
+                        LOCAL_TIME_ZONE,
+                        false,
+                        false,
+                        CHUNK_SIZE_MB_DEFAULT,
+                        false,
+                        false);
 
         expectedSource.producedDataType = SCHEMA_WITH_METADATA.toSourceRowDataType();
         expectedSource.metadataKeys = Arrays.asList("op_ts", "database_name");
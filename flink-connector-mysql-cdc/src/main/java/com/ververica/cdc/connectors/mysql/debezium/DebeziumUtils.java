@@ -129,7 +129,8 @@ public class DebeziumUtils {
 
     // --------------------------------------------------------------------------------------------
 
-    private static MySqlValueConverters getValueConverters(MySqlConnectorConfig dbzMySqlConfig) {
+    /** Creates the {@link MySqlValueConverters} for the given Debezium MySQL connector config. */
+    public static MySqlValueConverters getValueConverters(MySqlConnectorConfig dbzMySqlConfig) {
         TemporalPrecisionMode timePrecisionMode = dbzMySqlConfig.getTemporalPrecisionMode();
         JdbcValueConverters.DecimalMode decimalMode = dbzMySqlConfig.getDecimalMode();
         String bigIntUnsignedHandlingModeStr =
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mysql.debezium.converter;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.writer.BinaryRowWriter;
+import org.apache.flink.table.data.writer.BinaryWriter;
+import org.apache.flink.table.runtime.typeutils.InternalSerializers;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.ververica.cdc.connectors.mysql.table.MySqlDeserializationConverterFactory;
+import com.ververica.cdc.debezium.table.DeserializationRuntimeConverter;
+import com.ververica.cdc.debezium.table.RowDataDebeziumDeserializeSchema;
+import io.debezium.relational.Column;
+import io.debezium.relational.CustomConverterRegistry;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableSchema;
+import io.debezium.relational.ValueConverter;
+import io.debezium.relational.ValueConverterProvider;
+import io.debezium.relational.mapping.ColumnMappers;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A converter that writes the column values of a MySQL row directly into a {@link BinaryRowData} of
+ * the physical {@link RowType}, without building the intermediate Debezium {@link
+ * org.apache.kafka.connect.data.Struct} and {@link org.apache.flink.table.data.GenericRowData}.
+ *
+ * <p>Each column value is converted by the Debezium {@link ValueConverter} of the column first,
+ * which is the same conversion used to build a Debezium change event, and then by the {@link
+ * DeserializationRuntimeConverter} that {@link RowDataDebeziumDeserializeSchema} uses for the
+ * field. Thus the converted rows are the same as the rows produced by the deserializer.
+ *
+ * <p>The converter is bound to the {@link TableSchema} it was created from, a new converter must be
+ * created once the schema of the table changed. The converter is not thread-safe.
+ */
+public class MySqlRowDataConverter {
+
+    private final TableSchema tableSchema;
+    private final int arity;
+    // the index of the column value in the row for each field, -1 if the field is absent
+    private final int[] columnIndexes;
+    private final ValueConverter[] valueConverters;
+    private final Schema[] fieldSchemas;
+    private final DeserializationRuntimeConverter[] fieldConverters;
+    private final LogicalType[] fieldTypes;
+    private final TypeSerializer<?>[] fieldSerializers;
+
+    private final BinaryRowData reuseRow;
+    private final BinaryRowWriter rowWriter;
+
+    private MySqlRowDataConverter(
+            TableSchema tableSchema,
+            int[] columnIndexes,
+            ValueConverter[] valueConverters,
+            Schema[] fieldSchemas,
+            DeserializationRuntimeConverter[] fieldConverters,
+            LogicalType[] fieldTypes,
+            TypeSerializer<?>[] fieldSerializers) {
+        this.tableSchema = tableSchema;
+        this.arity = columnIndexes.length;
+        this.columnIndexes = columnIndexes;
+        this.valueConverters = valueConverters;
+        this.fieldSchemas = fieldSchemas;
+        this.fieldConverters = fieldConverters;
+        this.fieldTypes = fieldTypes;
+        this.fieldSerializers = fieldSerializers;
+        this.reuseRow = new BinaryRowData(arity);
+        this.rowWriter = new BinaryRowWriter(reuseRow);
+    }
+
+    /**
+     * Creates a converter of the given table, returns {@link Optional#empty()} if the table
+     * contains a column that can't be converted directly, e.g. the column is mapped by a column
+     * mapper or a custom converter.
+     */
+    public static Optional<MySqlRowDataConverter> create(
+            Table table,
+            TableSchema tableSchema,
+            RowType rowType,
+            ValueConverterProvider valueConverterProvider,
+            ColumnMappers columnMappers,
+            CustomConverterRegistry customConverterRegistry,
+            ZoneId serverTimeZone) {
+        final List<RowType.RowField> rowFields = rowType.getFields();
+        final int arity = rowFields.size();
+        final int[] columnIndexes = new int[arity];
+        final ValueConverter[] valueConverters = new ValueConverter[arity];
+        final Schema[] fieldSchemas = new Schema[arity];
+        final DeserializationRuntimeConverter[] fieldConverters =
+                new DeserializationRuntimeConverter[arity];
+        final LogicalType[] fieldTypes = new LogicalType[arity];
+        final TypeSerializer<?>[] fieldSerializers = new TypeSerializer<?>[arity];
+
+        for (int i = 0; i < arity; i++) {
+            final RowType.RowField rowField = rowFields.get(i);
+            final Field field = tableSchema.valueSchema().field(rowField.getName());
+            if (field == null) {
+                // the deserializer also fills null for the absent fields
+                columnIndexes[i] = -1;
+                continue;
+            }
+            final Column column = table.columnWithName(field.name());
+            if (column == null
+                    || columnMappers.mappingConverterFor(table.id(), column) != null
+                    || customConverterRegistry.getValueConverter(table.id(), column).isPresent()) {
+                return Optional.empty();
+            }
+            final ValueConverter valueConverter = valueConverterProvider.converter(column, field);
+            if (valueConverter == null) {
+                return Optional.empty();
+            }
+            final LogicalType fieldType = rowField.getType();
+            columnIndexes[i] = column.position() - 1;
+            valueConverters[i] = valueConverter;
+            fieldSchemas[i] = field.schema();
+            fieldConverters[i] =
+                    RowDataDebeziumDeserializeSchema.createNotNullConverter(
+                            fieldType,
+                            serverTimeZone,
+                            MySqlDeserializationConverterFactory.instance());
+            fieldTypes[i] = fieldType;
+            fieldSerializers[i] = InternalSerializers.create(fieldType);
+        }
+        return Optional.of(
+                new MySqlRowDataConverter(
+                        tableSchema,
+                        columnIndexes,
+                        valueConverters,
+                        fieldSchemas,
+                        fieldConverters,
+                        fieldTypes,
+                        fieldSerializers));
+    }
+
+    /** Returns the {@link TableSchema} that the converter was created from. */
+    public TableSchema getTableSchema() {
+        return tableSchema;
+    }
+
+    /**
+     * Converts the column values of a row to a {@link BinaryRowData}.
+     *
+     * <p>The returned row is a copy of the reused row, it's safe to hand it over to another thread.
+     */
+    public BinaryRowData convert(Object[] columnValues) throws Exception {
+        rowWriter.reset();
+        for (int i = 0; i < arity; i++) {
+            final int columnIndex = columnIndexes[i];
+            if (columnIndex < 0) {
+                rowWriter.setNullAt(i);
+                continue;
+            }
+            if (columnIndex >= columnValues.length) {
+                throw new IllegalStateException(
+                        String.format(
+                                "Data row of table %s is smaller than the column index %d, the internal schema"
+                                        + " representation is probably out of sync with the real database schema.",
+                                tableSchema.id(), columnIndex));
+            }
+            final Object dbzValue = valueConverters[i].convert(columnValues[columnIndex]);
+            if (dbzValue == null) {
+                rowWriter.setNullAt(i);
+            } else {
+                BinaryWriter.write(
+                        rowWriter,
+                        i,
+                        fieldConverters[i].convert(dbzValue, fieldSchemas[i]),
+                        fieldTypes[i],
+                        fieldSerializers[i]);
+            }
+        }
+        rowWriter.complete();
+        return reuseRow.copy();
+    }
+}
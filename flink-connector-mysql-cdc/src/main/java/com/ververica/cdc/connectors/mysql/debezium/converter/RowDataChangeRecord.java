@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mysql.debezium.converter;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import io.debezium.data.Envelope;
+import io.debezium.relational.TableId;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import javax.annotation.Nullable;
+
+import java.util.Map;
+
+/**
+ * A {@link SourceRecord} of a data change event whose before and after images have already been
+ * converted to {@link RowData} by {@link MySqlRowDataConverter}.
+ *
+ * <p>The record keeps the source partition, source offset and the key of the change event, so the
+ * split readers can handle it like a regular change record, but it carries no value struct.
+ */
+public class RowDataChangeRecord extends SourceRecord {
+
+    private final TableId tableId;
+    private final Envelope.Operation operation;
+    @Nullable private final RowData before;
+    @Nullable private final RowData after;
+    private final long messageTimestamp;
+    private final long fetchTimestamp;
+
+    public RowDataChangeRecord(
+            Map<String, ?> sourcePartition,
+            Map<String, ?> sourceOffset,
+            String topic,
+            Schema keySchema,
+            Struct key,
+            TableId tableId,
+            Envelope.Operation operation,
+            @Nullable RowData before,
+            @Nullable RowData after,
+            long messageTimestamp,
+            long fetchTimestamp) {
+        super(sourcePartition, sourceOffset, topic, null, keySchema, key, null, null);
+        this.tableId = tableId;
+        this.operation = operation;
+        this.before = before;
+        this.after = after;
+        this.messageTimestamp = messageTimestamp;
+        this.fetchTimestamp = fetchTimestamp;
+    }
+
+    public TableId getTableId() {
+        return tableId;
+    }
+
+    public Envelope.Operation getOperation() {
+        return operation;
+    }
+
+    @Nullable
+    public RowData getBefore() {
+        return before;
+    }
+
+    @Nullable
+    public RowData getAfter() {
+        return after;
+    }
+
+    /** Returns the time when the change event is operated in MySQL. */
+    public long getMessageTimestamp() {
+        return messageTimestamp;
+    }
+
+    /** Returns the time when the change event is fetched by the reader. */
+    public long getFetchTimestamp() {
+        return fetchTimestamp;
+    }
+
+    /**
+     * Emits the change as {@link RowData}, the {@link RowKind}s are the same as the ones emitted by
+     * {@link com.ververica.cdc.debezium.table.RowDataDebeziumDeserializeSchema}.
+     */
+    public void emit(Collector<RowData> out) {
+        if (operation == Envelope.Operation.CREATE || operation == Envelope.Operation.READ) {
+            after.setRowKind(RowKind.INSERT);
+            out.collect(after);
+        } else if (operation == Envelope.Operation.DELETE) {
+            before.setRowKind(RowKind.DELETE);
+            out.collect(before);
+        } else {
+            before.setRowKind(RowKind.UPDATE_BEFORE);
+            out.collect(before);
+            after.setRowKind(RowKind.UPDATE_AFTER);
+            out.collect(after);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RowDataChangeRecord{"
+                + "tableId="
+                + tableId
+                + ", operation="
+                + operation
+                + ", before="
+                + before
+                + ", after="
+                + after
+                + ", sourceOffset="
+                + sourceOffset()
+                + '}';
+    }
+}
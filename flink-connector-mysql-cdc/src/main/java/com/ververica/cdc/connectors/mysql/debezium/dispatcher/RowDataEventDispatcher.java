@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mysql.debezium.dispatcher;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.ververica.cdc.connectors.mysql.debezium.converter.MySqlRowDataConverter;
+import com.ververica.cdc.connectors.mysql.debezium.converter.RowDataChangeRecord;
+import io.debezium.DebeziumException;
+import io.debezium.connector.base.ChangeEventQueue;
+import io.debezium.connector.mysql.MySqlConnectorConfig;
+import io.debezium.connector.mysql.MySqlDatabaseSchema;
+import io.debezium.connector.mysql.MySqlOffsetContext;
+import io.debezium.connector.mysql.MySqlValueConverters;
+import io.debezium.data.Envelope;
+import io.debezium.pipeline.DataChangeEvent;
+import io.debezium.relational.CustomConverterRegistry;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.relational.TableSchema;
+import io.debezium.relational.mapping.ColumnMappers;
+import io.debezium.schema.DataCollectionFilters;
+import io.debezium.schema.TopicSelector;
+import io.debezium.util.Clock;
+import org.apache.kafka.connect.data.Struct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A dispatcher that converts the snapshot rows and the binlog row changes to {@link RowData}
+ * directly and enqueues them as {@link RowDataChangeRecord}s, which skips building the Debezium
+ * change event {@link Struct}s that would be deserialized to {@link RowData} again in the Flink
+ * source reader.
+ *
+ * <p>The rows of tables that can't be converted directly are dispatched by the {@link
+ * EventDispatcherImpl} as usual.
+ */
+public class RowDataEventDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RowDataEventDispatcher.class);
+
+    private final MySqlDatabaseSchema schema;
+    private final TopicSelector<TableId> topicSelector;
+    private final ChangeEventQueue<DataChangeEvent> queue;
+    private final DataCollectionFilters.DataCollectionFilter<TableId> filter;
+    private final EventDispatcherImpl<TableId> dispatcher;
+    private final MySqlValueConverters valueConverters;
+    private final ColumnMappers columnMappers;
+    private final CustomConverterRegistry customConverterRegistry;
+    private final RowType rowType;
+    private final ZoneId serverTimeZone;
+    private final Clock clock;
+
+    private final Map<TableId, MySqlRowDataConverter> converters = new HashMap<>();
+    // tables that can't be converted directly, mapped to the schema when they were checked
+    private final Map<TableId, TableSchema> unsupportedTables = new HashMap<>();
+
+    public RowDataEventDispatcher(
+            MySqlConnectorConfig connectorConfig,
+            MySqlDatabaseSchema schema,
+            TopicSelector<TableId> topicSelector,
+            ChangeEventQueue<DataChangeEvent> queue,
+            DataCollectionFilters.DataCollectionFilter<TableId> filter,
+            EventDispatcherImpl<TableId> dispatcher,
+            MySqlValueConverters valueConverters,
+            RowType rowType,
+            ZoneId serverTimeZone,
+            Clock clock) {
+        this.schema = schema;
+        this.topicSelector = topicSelector;
+        this.queue = queue;
+        this.filter = filter;
+        this.dispatcher = dispatcher;
+        this.valueConverters = valueConverters;
+        this.columnMappers = ColumnMappers.create(connectorConfig);
+        this.customConverterRegistry = connectorConfig.customConverterRegistry();
+        this.rowType = rowType;
+        this.serverTimeZone = serverTimeZone;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns whether the rows of the given table can be converted to {@link RowData} directly, the
+     * rows of a convertible table can be dispatched by {@link #dispatchSnapshotEvent}.
+     */
+    public boolean isConvertible(TableId tableId) {
+        final TableSchema tableSchema = schema.schemaFor(tableId);
+        return tableSchema != null && getConverter(tableId, tableSchema) != null;
+    }
+
+    /**
+     * Dispatches a row read in the snapshot phase, the table of the row must be {@link
+     * #isConvertible convertible}.
+     *
+     * <p>The row is converted before this method returns, thus the caller can reuse the row array.
+     */
+    public void dispatchSnapshotEvent(
+            TableId tableId, Object[] row, MySqlOffsetContext offsetContext, Instant eventTimestamp)
+            throws InterruptedException {
+        final TableSchema tableSchema = schema.schemaFor(tableId);
+        final MySqlRowDataConverter converter =
+                tableSchema == null ? null : getConverter(tableId, tableSchema);
+        if (converter == null) {
+            throw new IllegalStateException(
+                    "The rows of table " + tableId + " can't be converted to RowData directly.");
+        }
+        try {
+            enqueue(
+                    tableSchema,
+                    tableSchema.keyFromColumnData(row),
+                    Envelope.Operation.READ,
+                    null,
+                    converter.convert(row),
+                    offsetContext,
+                    eventTimestamp.toEpochMilli(),
+                    clock.currentTimeInMillis());
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DebeziumException(
+                    "Error while converting the snapshot row of table " + tableId, e);
+        }
+    }
+
+    /**
+     * Dispatches the change of a single row.
+     *
+     * @return false if the row can't be converted directly, the caller should dispatch the row by
+     *     the {@link EventDispatcherImpl} instead.
+     */
+    public boolean dispatchDataChangeEvent(
+            TableId tableId,
+            Envelope.Operation operation,
+            Object[] before,
+            Object[] after,
+            MySqlOffsetContext offsetContext,
+            Instant eventTimestamp)
+            throws InterruptedException {
+        if (!filter.isIncluded(tableId)) {
+            return false;
+        }
+        final TableSchema tableSchema = schema.schemaFor(tableId);
+        if (tableSchema == null) {
+            return false;
+        }
+        final MySqlRowDataConverter converter = getConverter(tableId, tableSchema);
+        if (converter == null) {
+            return false;
+        }
+
+        try {
+            final long messageTimestamp =
+                    eventTimestamp == null ? 0L : eventTimestamp.toEpochMilli();
+            final long fetchTimestamp = clock.currentTimeInMillis();
+            switch (operation) {
+                case CREATE:
+                    enqueue(
+                            tableSchema,
+                            tableSchema.keyFromColumnData(after),
+                            Envelope.Operation.CREATE,
+                            null,
+                            converter.convert(after),
+                            offsetContext,
+                            messageTimestamp,
+                            fetchTimestamp);
+                    break;
+                case DELETE:
+                    enqueue(
+                            tableSchema,
+                            tableSchema.keyFromColumnData(before),
+                            Envelope.Operation.DELETE,
+                            converter.convert(before),
+                            null,
+                            offsetContext,
+                            messageTimestamp,
+                            fetchTimestamp);
+                    break;
+                case UPDATE:
+                    final Struct oldKey = tableSchema.keyFromColumnData(before);
+                    final Struct newKey = tableSchema.keyFromColumnData(after);
+                    if (Objects.equals(oldKey, newKey)) {
+                        enqueue(
+                                tableSchema,
+                                newKey,
+                                Envelope.Operation.UPDATE,
+                                converter.convert(before),
+                                converter.convert(after),
+                                offsetContext,
+                                messageTimestamp,
+                                fetchTimestamp);
+                    } else {
+                        // the primary key has been changed, emits a delete and a create event
+                        // like Debezium does
+                        enqueue(
+                                tableSchema,
+                                oldKey,
+                                Envelope.Operation.DELETE,
+                                converter.convert(before),
+                                null,
+                                offsetContext,
+                                messageTimestamp,
+                                fetchTimestamp);
+                        enqueue(
+                                tableSchema,
+                                newKey,
+                                Envelope.Operation.CREATE,
+                                null,
+                                converter.convert(after),
+                                offsetContext,
+                                messageTimestamp,
+                                fetchTimestamp);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected operation " + operation);
+            }
+            dispatcher.dispatchHeartbeatEvent(offsetContext);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DebeziumException(
+                    "Error while converting the change event of table " + tableId, e);
+        }
+        return true;
+    }
+
+    private void enqueue(
+            TableSchema tableSchema,
+            Struct key,
+            Envelope.Operation operation,
+            RowData before,
+            RowData after,
+            MySqlOffsetContext offsetContext,
+            long messageTimestamp,
+            long fetchTimestamp)
+            throws InterruptedException {
+        final TableId tableId = (TableId) tableSchema.id();
+        queue.enqueue(
+                new DataChangeEvent(
+                        new RowDataChangeRecord(
+                                offsetContext.getPartition(),
+                                offsetContext.getOffset(),
+                                topicSelector.topicNameFor(tableId),
+                                tableSchema.keySchema(),
+                                key,
+                                tableId,
+                                operation,
+                                before,
+                                after,
+                                messageTimestamp,
+                                fetchTimestamp)));
+    }
+
+    private MySqlRowDataConverter getConverter(TableId tableId, TableSchema tableSchema) {
+        if (unsupportedTables.get(tableId) == tableSchema) {
+            return null;
+        }
+        MySqlRowDataConverter converter = converters.get(tableId);
+        // the table schema is rebuilt once the table is changed
+        if (converter != null && converter.getTableSchema() == tableSchema) {
+            return converter;
+        }
+        final Table table = schema.tableFor(tableId);
+        final Optional<MySqlRowDataConverter> created =
+                table == null
+                        ? Optional.empty()
+                        : MySqlRowDataConverter.create(
+                                table,
+                                tableSchema,
+                                rowType,
+                                valueConverters,
+                                columnMappers,
+                                customConverterRegistry,
+                                serverTimeZone);
+        if (created.isPresent()) {
+            converters.put(tableId, created.get());
+            unsupportedTables.remove(tableId);
+            return created.get();
+        } else {
+            LOG.info(
+                    "The rows of table {} can't be converted to RowData directly, "
+                            + "fall back to deserialize the Debezium change events.",
+                    tableId);
+            converters.remove(tableId);
+            unsupportedTables.put(tableId, tableSchema);
+            return null;
+        }
+    }
+}
@@ -104,7 +104,8 @@ public class BinlogSplitReader implements DebeziumReader<SourceRecord, MySqlSpli
                         statefulTaskContext.getTaskContext(),
                         (MySqlStreamingChangeEventSourceMetrics)
                                 statefulTaskContext.getStreamingChangeEventSourceMetrics(),
-                        currentBinlogSplit);
+                        currentBinlogSplit,
+                        statefulTaskContext.getRowDataEventDispatcher());
 
         executor.submit(
                 () -> {
@@ -20,6 +20,7 @@ package com.ververica.cdc.connectors.mysql.debezium.task;
 
 import com.github.shyiko.mysql.binlog.event.Event;
 import com.ververica.cdc.connectors.mysql.debezium.dispatcher.EventDispatcherImpl;
+import com.ververica.cdc.connectors.mysql.debezium.dispatcher.RowDataEventDispatcher;
 import com.ververica.cdc.connectors.mysql.debezium.dispatcher.SignalEventDispatcher;
 import com.ververica.cdc.connectors.mysql.debezium.reader.SnapshotSplitReader.SnapshotBinlogSplitChangeEventSourceContextImpl;
 import com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset;
@@ -31,12 +32,17 @@ import io.debezium.connector.mysql.MySqlOffsetContext;
 import io.debezium.connector.mysql.MySqlStreamingChangeEventSource;
 import io.debezium.connector.mysql.MySqlStreamingChangeEventSourceMetrics;
 import io.debezium.connector.mysql.MySqlTaskContext;
+import io.debezium.data.Envelope;
 import io.debezium.pipeline.ErrorHandler;
 import io.debezium.relational.TableId;
 import io.debezium.util.Clock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+
 import static com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset.NO_STOPPING_OFFSET;
 import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getBinlogPosition;
 
@@ -51,6 +57,7 @@ public class MySqlBinlogSplitReadTask extends MySqlStreamingChangeEventSource {
     private final EventDispatcherImpl<TableId> eventDispatcher;
     private final SignalEventDispatcher signalEventDispatcher;
     private final ErrorHandler errorHandler;
+    @Nullable private final RowDataEventDispatcher rowDataEventDispatcher;
     private ChangeEventSourceContext context;
 
     public MySqlBinlogSplitReadTask(
@@ -62,12 +69,14 @@ public class MySqlBinlogSplitReadTask extends MySqlStreamingChangeEventSource {
             Clock clock,
             MySqlTaskContext taskContext,
             MySqlStreamingChangeEventSourceMetrics metrics,
-            MySqlBinlogSplit binlogSplit) {
+            MySqlBinlogSplit binlogSplit,
+            @Nullable RowDataEventDispatcher rowDataEventDispatcher) {
         super(connectorConfig, connection, dispatcher, errorHandler, clock, taskContext, metrics);
         this.binlogSplit = binlogSplit;
         this.eventDispatcher = dispatcher;
         this.errorHandler = errorHandler;
         this.signalEventDispatcher = signalEventDispatcher;
+        this.rowDataEventDispatcher = rowDataEventDispatcher;
     }
 
     @Override
@@ -102,6 +111,21 @@ public class MySqlBinlogSplitReadTask extends MySqlStreamingChangeEventSource {
         }
     }
 
+    @Override
+    protected void dispatchChangeEvent(
+            MySqlOffsetContext offsetContext,
+            TableId tableId,
+            Envelope.Operation operation,
+            Serializable[] before,
+            Serializable[] after)
+            throws InterruptedException {
+        if (rowDataEventDispatcher == null
+                || !rowDataEventDispatcher.dispatchDataChangeEvent(
+                        tableId, operation, before, after, offsetContext, getEventTimestamp())) {
+            super.dispatchChangeEvent(offsetContext, tableId, operation, before, after);
+        }
+    }
+
     private boolean isBoundedRead() {
         return !NO_STOPPING_OFFSET.equals(binlogSplit.getEndingOffset());
     }
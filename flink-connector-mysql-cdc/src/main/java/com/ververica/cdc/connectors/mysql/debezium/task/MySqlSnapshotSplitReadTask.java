@@ -19,6 +19,7 @@
 package com.ververica.cdc.connectors.mysql.debezium.task;
 
 import com.ververica.cdc.connectors.mysql.debezium.dispatcher.EventDispatcherImpl;
+import com.ververica.cdc.connectors.mysql.debezium.dispatcher.RowDataEventDispatcher;
 import com.ververica.cdc.connectors.mysql.debezium.dispatcher.SignalEventDispatcher;
 import com.ververica.cdc.connectors.mysql.debezium.reader.SnapshotSplitReader;
 import com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset;
@@ -49,6 +50,8 @@ import org.apache.kafka.connect.errors.ConnectException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.UnsupportedEncodingException;
 import java.sql.Blob;
 import java.sql.PreparedStatement;
@@ -56,6 +59,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Calendar;
 
 import static com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils.currentBinlogOffset;
@@ -78,6 +82,7 @@ public class MySqlSnapshotSplitReadTask
     private final TopicSelector<TableId> topicSelector;
     private final EventDispatcher.SnapshotReceiver snapshotReceiver;
     private final SnapshotChangeEventSourceMetrics snapshotChangeEventSourceMetrics;
+    @Nullable private final RowDataEventDispatcher rowDataEventDispatcher;
 
     public MySqlSnapshotSplitReadTask(
             MySqlConnectorConfig connectorConfig,
@@ -88,7 +93,8 @@ public class MySqlSnapshotSplitReadTask
             TopicSelector<TableId> topicSelector,
             EventDispatcher.SnapshotReceiver snapshotReceiver,
             Clock clock,
-            MySqlSnapshotSplit snapshotSplit) {
+            MySqlSnapshotSplit snapshotSplit,
+            @Nullable RowDataEventDispatcher rowDataEventDispatcher) {
         super(connectorConfig, snapshotChangeEventSourceMetrics);
         this.connectorConfig = connectorConfig;
         this.databaseSchema = databaseSchema;
@@ -99,6 +105,7 @@ public class MySqlSnapshotSplitReadTask
         this.topicSelector = topicSelector;
         this.snapshotReceiver = snapshotReceiver;
         this.snapshotChangeEventSourceMetrics = snapshotChangeEventSourceMetrics;
+        this.rowDataEventDispatcher = rowDataEventDispatcher;
     }
 
     @Override
@@ -234,10 +241,19 @@ public class MySqlSnapshotSplitReadTask
             ColumnUtils.ColumnArray columnArray = ColumnUtils.toArray(rs, table);
             long rows = 0;
             Threads.Timer logTimer = getTableScanLogTimer();
+            // the rows converted to RowData directly don't need to be kept, reuse the row array
+            final boolean convertDirectly =
+                    rowDataEventDispatcher != null
+                            && rowDataEventDispatcher.isConvertible(table.id());
+            final Object[] reuseRow =
+                    convertDirectly ? new Object[columnArray.getGreatestColumnPosition()] : null;
 
             while (rs.next()) {
                 rows++;
-                final Object[] row = new Object[columnArray.getGreatestColumnPosition()];
+                final Object[] row =
+                        convertDirectly
+                                ? reuseRow
+                                : new Object[columnArray.getGreatestColumnPosition()];
                 for (int i = 0; i < columnArray.getColumns().length; i++) {
                     Column actualColumn = table.columns().get(i);
                     row[columnArray.getColumns()[i].position() - 1] =
@@ -253,10 +269,19 @@ public class MySqlSnapshotSplitReadTask
                     snapshotChangeEventSourceMetrics.rowsScanned(table.id(), rows);
                     logTimer = getTableScanLogTimer();
                 }
-                dispatcher.dispatchSnapshotEvent(
-                        table.id(),
-                        getChangeRecordEmitter(snapshotContext, table.id(), row),
-                        snapshotReceiver);
+                if (convertDirectly) {
+                    final MySqlOffsetContext offsetContext =
+                            (MySqlOffsetContext) snapshotContext.offset;
+                    final Instant eventTimestamp = clock.currentTime();
+                    offsetContext.event(table.id(), eventTimestamp);
+                    rowDataEventDispatcher.dispatchSnapshotEvent(
+                            table.id(), row, offsetContext, eventTimestamp);
+                } else {
+                    dispatcher.dispatchSnapshotEvent(
+                            table.id(),
+                            getChangeRecordEmitter(snapshotContext, table.id(), row),
+                            snapshotReceiver);
+                }
             }
             LOG.info(
                     "Finished exporting {} records for split '{}', total duration '{}'",
@@ -22,6 +22,7 @@ import com.github.shyiko.mysql.binlog.BinaryLogClient;
 import com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils;
 import com.ververica.cdc.connectors.mysql.debezium.EmbeddedFlinkDatabaseHistory;
 import com.ververica.cdc.connectors.mysql.debezium.dispatcher.EventDispatcherImpl;
+import com.ververica.cdc.connectors.mysql.debezium.dispatcher.RowDataEventDispatcher;
 import com.ververica.cdc.connectors.mysql.debezium.dispatcher.SignalEventDispatcher;
 import com.ververica.cdc.connectors.mysql.source.config.MySqlSourceConfig;
 import com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset;
@@ -54,7 +55,10 @@ import org.apache.kafka.connect.data.Struct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.time.Instant;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 
@@ -88,6 +92,7 @@ public class StatefulTaskContext {
     private EventDispatcherImpl<TableId> dispatcher;
     private EventDispatcher.SnapshotReceiver snapshotReceiver;
     private SignalEventDispatcher signalEventDispatcher;
+    @Nullable private RowDataEventDispatcher rowDataEventDispatcher;
     private ChangeEventQueue<DataChangeEvent> queue;
     private ErrorHandler errorHandler;
 
@@ -155,6 +160,23 @@ public class StatefulTaskContext {
                 new SignalEventDispatcher(
                         offsetContext.getPartition(), topicSelector.getPrimaryTopic(), queue);
 
+        // the change events with transaction metadata are always emitted by the dispatcher
+        this.rowDataEventDispatcher =
+                sourceConfig.getDirectConversionRowType() != null
+                                && !connectorConfig.shouldProvideTransactionMetadata()
+                        ? new RowDataEventDispatcher(
+                                connectorConfig,
+                                databaseSchema,
+                                topicSelector,
+                                queue,
+                                connectorConfig.getTableFilters().dataCollectionFilter(),
+                                dispatcher,
+                                DebeziumUtils.getValueConverters(connectorConfig),
+                                sourceConfig.getDirectConversionRowType(),
+                                ZoneId.of(sourceConfig.getServerTimeZone()),
+                                clock)
+                        : null;
+
         final MySqlChangeEventSourceMetricsFactory changeEventSourceMetricsFactory =
                 new MySqlChangeEventSourceMetricsFactory(
                         new MySqlStreamingChangeEventSourceMetrics(
@@ -365,6 +387,11 @@ public class StatefulTaskContext {
         return signalEventDispatcher;
     }
 
+    @Nullable
+    public RowDataEventDispatcher getRowDataEventDispatcher() {
+        return rowDataEventDispatcher;
+    }
+
     public ChangeEventQueue<DataChangeEvent> getQueue() {
         return queue;
     }
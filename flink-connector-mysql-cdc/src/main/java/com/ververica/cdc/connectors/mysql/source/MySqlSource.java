@@ -159,7 +159,8 @@ public class MySqlSource<T>
                 new MySqlRecordEmitter<>(
                         deserializationSchema,
                         sourceReaderMetrics,
-                        sourceConfig.isIncludeSchemaChanges()),
+                        sourceConfig.isIncludeSchemaChanges(),
+                        sourceConfig.getDirectConversionRowType() != null),
                 readerContext.getConfiguration(),
                 mySqlSourceReaderContext,
                 sourceConfig);
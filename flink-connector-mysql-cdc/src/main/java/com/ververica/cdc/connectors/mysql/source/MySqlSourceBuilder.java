@@ -18,7 +18,9 @@
 
 package com.ververica.cdc.connectors.mysql.source;
 
+import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.table.types.logical.RowType;
 
 import com.ververica.cdc.connectors.mysql.source.config.MySqlSourceConfigFactory;
 import com.ververica.cdc.connectors.mysql.table.StartupOptions;
@@ -229,6 +231,18 @@ public class MySqlSourceBuilder<T> {
         return this;
     }
 
+    /**
+     * Converts the binlog rows of captured tables to {@link org.apache.flink.table.data.RowData} of
+     * the given physical row type directly in the reader. The converted rows are emitted without
+     * calling the {@link #deserializer}, thus this is only used by the SQL connector whose produced
+     * type is the given physical row type.
+     */
+    @Internal
+    public MySqlSourceBuilder<T> directRowConversion(RowType physicalRowType) {
+        this.configFactory.directRowConversion(physicalRowType);
+        return this;
+    }
+
     /**
      * Build the {@link MySqlSource}.
      *
@@ -18,6 +18,8 @@
 
 package com.ververica.cdc.connectors.mysql.source.config;
 
+import org.apache.flink.table.types.logical.RowType;
+
 import com.ververica.cdc.connectors.mysql.source.MySqlSource;
 import com.ververica.cdc.connectors.mysql.table.StartupOptions;
 import io.debezium.config.Configuration;
@@ -57,6 +59,7 @@ public class MySqlSourceConfig implements Serializable {
     private final boolean includeSchemaChanges;
     private final boolean scanNewlyAddedTableEnabled;
     private final Properties jdbcProperties;
+    @Nullable private final RowType directConversionRowType;
 
     // --------------------------------------------------------------------------------------------
     // Debezium Configurations
@@ -86,7 +89,8 @@ public class MySqlSourceConfig implements Serializable {
             boolean includeSchemaChanges,
             boolean scanNewlyAddedTableEnabled,
             Properties dbzProperties,
-            Properties jdbcProperties) {
+            Properties jdbcProperties,
+            @Nullable RowType directConversionRowType) {
         this.hostname = checkNotNull(hostname);
         this.port = port;
         this.username = checkNotNull(username);
@@ -110,6 +114,7 @@ public class MySqlSourceConfig implements Serializable {
         this.dbzConfiguration = Configuration.from(dbzProperties);
         this.dbzMySqlConfig = new MySqlConnectorConfig(dbzConfiguration);
         this.jdbcProperties = jdbcProperties;
+        this.directConversionRowType = directConversionRowType;
     }
 
     public String getHostname() {
@@ -208,4 +213,14 @@ public class MySqlSourceConfig implements Serializable {
     public Properties getJdbcProperties() {
         return jdbcProperties;
     }
+
+    /**
+     * Returns the physical {@link RowType} that the captured rows are converted to directly, or
+     * null if the rows should be emitted as Debezium {@link
+     * org.apache.kafka.connect.source.SourceRecord}s.
+     */
+    @Nullable
+    public RowType getDirectConversionRowType() {
+        return directConversionRowType;
+    }
 }
@@ -19,6 +19,7 @@
 package com.ververica.cdc.connectors.mysql.source.config;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.types.logical.RowType;
 
 import com.ververica.cdc.connectors.mysql.debezium.EmbeddedFlinkDatabaseHistory;
 import com.ververica.cdc.connectors.mysql.source.MySqlSource;
@@ -73,6 +74,7 @@ public class MySqlSourceConfigFactory implements Serializable {
     private Properties jdbcProperties;
     private Duration heartbeatInterval = HEARTBEAT_INTERVAL.defaultValue();
     private Properties dbzProperties;
+    private RowType directConversionRowType;
 
     public MySqlSourceConfigFactory hostname(String hostname) {
         this.hostname = hostname;
@@ -248,6 +250,16 @@ public class MySqlSourceConfigFactory implements Serializable {
         return this;
     }
 
+    /**
+     * Converts the captured rows to {@link org.apache.flink.table.data.RowData} of the given
+     * physical row type directly in the reader, see {@link
+     * MySqlSourceOptions#SCAN_DIRECT_ROW_CONVERSION_ENABLED}.
+     */
+    public MySqlSourceConfigFactory directRowConversion(RowType physicalRowType) {
+        this.directConversionRowType = physicalRowType;
+        return this;
+    }
+
     /** Creates a new {@link MySqlSourceConfig} for the given subtask {@code subtaskId}. */
     public MySqlSourceConfig createConfig(int subtaskId) {
         Properties props = new Properties();
@@ -331,6 +343,7 @@ public class MySqlSourceConfigFactory implements Serializable {
                 includeSchemaChanges,
                 scanNewlyAddedTableEnabled,
                 props,
-                jdbcProperties);
+                jdbcProperties,
+                directConversionRowType);
     }
 }
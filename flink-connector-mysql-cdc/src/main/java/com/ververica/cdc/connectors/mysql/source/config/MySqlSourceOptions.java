@@ -213,4 +213,25 @@ public class MySqlSourceOptions {
                     .defaultValue(false)
                     .withDescription(
                             "Whether capture the scan the newly added tables or not, by default is false.");
+
+    @Experimental
+    public static final ConfigOption<Boolean> SCAN_DIRECT_ROW_CONVERSION_ENABLED =
+            ConfigOptions.key("scan.direct-row-conversion.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to convert the binlog rows of captured tables to RowData directly in the source reader,"
+                                    + " without building the intermediate Debezium Struct and SourceRecord. This only takes effect"
+                                    + " when 'scan.incremental.snapshot.enabled' is enabled and no metadata column is declared,"
+                                    + " by default is false.");
+
+    @Experimental
+    public static final ConfigOption<Boolean> SCAN_CONVERTER_CODE_GENERATION_ENABLED =
+            ConfigOptions.key("scan.converter-code-generation.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to compile a specialised converter class for the physical row type,"
+                                    + " which converts the Debezium change events to RowData in straight-line code,"
+                                    + " by default is false.");
 }
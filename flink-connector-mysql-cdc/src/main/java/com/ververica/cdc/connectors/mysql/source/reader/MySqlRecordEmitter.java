@@ -20,8 +20,10 @@ package com.ververica.cdc.connectors.mysql.source.reader;
 
 import org.apache.flink.api.connector.source.SourceOutput;
 import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.table.data.RowData;
 import org.apache.flink.util.Collector;
 
+import com.ververica.cdc.connectors.mysql.debezium.converter.RowDataChangeRecord;
 import com.ververica.cdc.connectors.mysql.source.metrics.MySqlSourceReaderMetrics;
 import com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset;
 import com.ververica.cdc.connectors.mysql.source.split.MySqlSplitState;
@@ -34,6 +36,8 @@ import org.apache.kafka.connect.source.SourceRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getBinlogPosition;
 import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getFetchTimestamp;
 import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getHistoryRecord;
@@ -44,6 +48,8 @@ import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.isHear
 import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.isHighWatermarkEvent;
 import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.isSchemaChangeEvent;
 import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.isWatermarkEvent;
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkState;
 
 /**
  * The {@link RecordEmitter} implementation for {@link MySqlSourceReader}.
@@ -62,15 +68,20 @@ public final class MySqlRecordEmitter<T>
     private final MySqlSourceReaderMetrics sourceReaderMetrics;
     private final boolean includeSchemaChanges;
     private final OutputCollector<T> outputCollector;
+    // the same collector typed for the rows converted by the binlog reader, null if disabled
+    @Nullable private final Collector<RowData> rowDataCollector;
 
     public MySqlRecordEmitter(
             DebeziumDeserializationSchema<T> debeziumDeserializationSchema,
             MySqlSourceReaderMetrics sourceReaderMetrics,
-            boolean includeSchemaChanges) {
+            boolean includeSchemaChanges,
+            boolean directRowConversion) {
         this.debeziumDeserializationSchema = debeziumDeserializationSchema;
         this.sourceReaderMetrics = sourceReaderMetrics;
         this.includeSchemaChanges = includeSchemaChanges;
         this.outputCollector = new OutputCollector<>();
+        this.rowDataCollector =
+                directRowConversion ? createRowDataCollector(debeziumDeserializationSchema) : null;
     }
 
     @Override
@@ -113,9 +124,33 @@ public final class MySqlRecordEmitter<T>
         }
     }
 
+    /**
+     * Returns the output collector typed for {@link RowData}, which is only valid if the
+     * deserializer produces {@link RowData} as well.
+     */
+    @SuppressWarnings("unchecked")
+    private Collector<RowData> createRowDataCollector(
+            DebeziumDeserializationSchema<T> debeziumDeserializationSchema) {
+        Class<T> producedClass = debeziumDeserializationSchema.getProducedType().getTypeClass();
+        checkArgument(
+                RowData.class.isAssignableFrom(producedClass),
+                "The direct row conversion requires a deserializer producing RowData, but %s produces %s.",
+                debeziumDeserializationSchema.getClass().getName(),
+                producedClass.getName());
+        return (Collector<RowData>) outputCollector;
+    }
+
     private void emitElement(SourceRecord element, SourceOutput<T> output) throws Exception {
         outputCollector.output = output;
-        debeziumDeserializationSchema.deserialize(element, outputCollector);
+        if (element instanceof RowDataChangeRecord) {
+            checkState(
+                    rowDataCollector != null,
+                    "Meet a converted row but the direct row conversion is disabled.");
+            // the record has been converted to RowData by the binlog reader already
+            ((RowDataChangeRecord) element).emit(rowDataCollector);
+        } else {
+            debeziumDeserializationSchema.deserialize(element, outputCollector);
+        }
     }
 
     private void reportMetrics(SourceRecord element) {
@@ -20,6 +20,7 @@ package com.ververica.cdc.connectors.mysql.source.utils;
 
 import org.apache.flink.table.types.logical.RowType;
 
+import com.ververica.cdc.connectors.mysql.debezium.converter.RowDataChangeRecord;
 import com.ververica.cdc.connectors.mysql.debezium.dispatcher.SignalEventDispatcher.WatermarkKind;
 import com.ververica.cdc.connectors.mysql.debezium.reader.DebeziumReader;
 import com.ververica.cdc.connectors.mysql.source.offset.BinlogOffset;
@@ -77,6 +78,10 @@ public class RecordUtils {
     public static void upsertBinlog(
             Map<Struct, SourceRecord> snapshotRecords, SourceRecord binlogRecord) {
         Struct key = (Struct) binlogRecord.key();
+        if (binlogRecord instanceof RowDataChangeRecord) {
+            upsertBinlog(snapshotRecords, key, (RowDataChangeRecord) binlogRecord);
+            return;
+        }
         Struct value = (Struct) binlogRecord.value();
         if (value != null) {
             Envelope.Operation operation =
@@ -113,6 +118,48 @@ public class RecordUtils {
         }
     }
 
+    private static void upsertBinlog(
+            Map<Struct, SourceRecord> snapshotRecords,
+            Struct key,
+            RowDataChangeRecord binlogRecord) {
+        switch (binlogRecord.getOperation()) {
+            case CREATE:
+            case UPDATE:
+                // same as the Debezium records, use the message timestamp as fetch timestamp
+                snapshotRecords.put(
+                        key,
+                        toSnapshotRecord(
+                                binlogRecord,
+                                binlogRecord.getMessageTimestamp(),
+                                binlogRecord.getMessageTimestamp()));
+                break;
+            case DELETE:
+                snapshotRecords.remove(key);
+                break;
+            case READ:
+                throw new IllegalStateException(
+                        String.format(
+                                "Binlog record shouldn't use READ operation, the the record is %s.",
+                                binlogRecord));
+        }
+    }
+
+    private static RowDataChangeRecord toSnapshotRecord(
+            RowDataChangeRecord record, long messageTimestamp, long fetchTimestamp) {
+        return new RowDataChangeRecord(
+                record.sourcePartition(),
+                record.sourceOffset(),
+                record.topic(),
+                record.keySchema(),
+                (Struct) record.key(),
+                record.getTableId(),
+                Envelope.Operation.READ,
+                null,
+                record.getAfter(),
+                messageTimestamp,
+                fetchTimestamp);
+    }
+
     /**
      * Format message timestamp(source.ts_ms) value to 0L for all records read in snapshot phase.
      */
@@ -121,6 +168,11 @@ public class RecordUtils {
         return snapshotRecords.stream()
                 .map(
                         record -> {
+                            if (record instanceof RowDataChangeRecord) {
+                                RowDataChangeRecord rowDataRecord = (RowDataChangeRecord) record;
+                                return toSnapshotRecord(
+                                        rowDataRecord, 0L, rowDataRecord.getFetchTimestamp());
+                            }
                             Envelope envelope = Envelope.fromSchema(record.valueSchema());
                             Struct value = (Struct) record.value();
                             Struct updateAfter = value.getStruct(Envelope.FieldName.AFTER);
@@ -186,6 +238,9 @@ public class RecordUtils {
      * event is operated in MySQL.
      */
     public static Long getMessageTimestamp(SourceRecord record) {
+        if (record instanceof RowDataChangeRecord) {
+            return ((RowDataChangeRecord) record).getMessageTimestamp();
+        }
         Schema schema = record.valueSchema();
         Struct value = (Struct) record.value();
         if (schema.field(Envelope.FieldName.SOURCE) == null) {
@@ -207,6 +262,9 @@ public class RecordUtils {
      * by debezium reader, use it as the process time in Source.
      */
     public static Long getFetchTimestamp(SourceRecord record) {
+        if (record instanceof RowDataChangeRecord) {
+            return ((RowDataChangeRecord) record).getFetchTimestamp();
+        }
         Schema schema = record.valueSchema();
         Struct value = (Struct) record.value();
         if (schema.field(Envelope.FieldName.TIMESTAMP) == null) {
@@ -263,6 +321,9 @@ public class RecordUtils {
     }
 
     public static boolean isDataChangeRecord(SourceRecord record) {
+        if (record instanceof RowDataChangeRecord) {
+            return true;
+        }
         Schema valueSchema = record.valueSchema();
         Struct value = (Struct) record.value();
         return valueSchema.field(Envelope.FieldName.OPERATION) != null
@@ -270,6 +331,9 @@ public class RecordUtils {
     }
 
     public static TableId getTableId(SourceRecord dataRecord) {
+        if (dataRecord instanceof RowDataChangeRecord) {
+            return ((RowDataChangeRecord) dataRecord).getTableId();
+        }
         Struct value = (Struct) dataRecord.value();
         Struct source = value.getStruct(Envelope.FieldName.SOURCE);
         String dbName = source.getString(DATABASE_NAME_KEY);
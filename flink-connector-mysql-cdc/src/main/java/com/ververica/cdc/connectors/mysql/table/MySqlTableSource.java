@@ -32,6 +32,7 @@ import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.types.RowKind;
 
 import com.ververica.cdc.connectors.mysql.source.MySqlSource;
+import com.ververica.cdc.connectors.mysql.source.MySqlSourceBuilder;
 import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
 import com.ververica.cdc.debezium.DebeziumSourceFunction;
 import com.ververica.cdc.debezium.table.MetadataConverter;
@@ -81,6 +82,8 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
     private final boolean scanNewlyAddedTableEnabled;
     private final Properties jdbcProperties;
     private final Duration heartbeatInterval;
+    private final boolean directRowConversionEnabled;
+    private final boolean converterCodeGenerationEnabled;
 
     // --------------------------------------------------------------------------------------------
     // Mutable attributes
@@ -137,7 +140,9 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                 startupOptions,
                 false,
                 new Properties(),
-                heartbeatInterval);
+                heartbeatInterval,
+                false,
+                false);
     }
 
     public MySqlTableSource(
@@ -163,7 +168,9 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
             StartupOptions startupOptions,
             boolean scanNewlyAddedTableEnabled,
             Properties jdbcProperties,
-            Duration heartbeatInterval) {
+            Duration heartbeatInterval,
+            boolean directRowConversionEnabled,
+            boolean converterCodeGenerationEnabled) {
         this.physicalSchema = physicalSchema;
         this.port = port;
         this.hostname = checkNotNull(hostname);
@@ -190,6 +197,8 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
         this.producedDataType = physicalSchema.toPhysicalRowDataType();
         this.metadataKeys = Collections.emptyList();
         this.heartbeatInterval = heartbeatInterval;
+        this.directRowConversionEnabled = directRowConversionEnabled;
+        this.converterCodeGenerationEnabled = converterCodeGenerationEnabled;
     }
 
     @Override
@@ -218,9 +227,10 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                         .setServerTimeZone(serverTimeZone)
                         .setUserDefinedConverterFactory(
                                 MySqlDeserializationConverterFactory.instance())
+                        .setConverterCodeGeneration(converterCodeGenerationEnabled)
                         .build();
         if (enableParallelRead) {
-            MySqlSource<RowData> parallelSource =
+            MySqlSourceBuilder<RowData> parallelSourceBuilder =
                     MySqlSource.<RowData>builder()
                             .hostname(hostname)
                             .port(port)
@@ -243,9 +253,12 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                             .deserializer(deserializer)
                             .scanNewlyAddedTableEnabled(scanNewlyAddedTableEnabled)
                             .jdbcProperties(jdbcProperties)
-                            .heartbeatInterval(heartbeatInterval)
-                            .build();
-            return SourceProvider.of(parallelSource);
+                            .heartbeatInterval(heartbeatInterval);
+            // the metadata columns are only available in the Debezium change events
+            if (directRowConversionEnabled && metadataKeys.isEmpty()) {
+                parallelSourceBuilder.directRowConversion(physicalDataType);
+            }
+            return SourceProvider.of(parallelSourceBuilder.build());
         } else {
             com.ververica.cdc.connectors.mysql.MySqlSource.Builder<RowData> builder =
                     com.ververica.cdc.connectors.mysql.MySqlSource.<RowData>builder()
@@ -322,7 +335,9 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                         startupOptions,
                         scanNewlyAddedTableEnabled,
                         jdbcProperties,
-                        heartbeatInterval);
+                        heartbeatInterval,
+                        directRowConversionEnabled,
+                        converterCodeGenerationEnabled);
         source.metadataKeys = metadataKeys;
         source.producedDataType = producedDataType;
         return source;
@@ -345,6 +360,8 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                 && distributionFactorUpper == that.distributionFactorUpper
                 && distributionFactorLower == that.distributionFactorLower
                 && scanNewlyAddedTableEnabled == that.scanNewlyAddedTableEnabled
+                && directRowConversionEnabled == that.directRowConversionEnabled
+                && converterCodeGenerationEnabled == that.converterCodeGenerationEnabled
                 && Objects.equals(physicalSchema, that.physicalSchema)
                 && Objects.equals(hostname, that.hostname)
                 && Objects.equals(database, that.database)
@@ -391,7 +408,9 @@ public class MySqlTableSource implements ScanTableSource, SupportsReadingMetadat
                 metadataKeys,
                 scanNewlyAddedTableEnabled,
                 jdbcProperties,
-                heartbeatInterval);
+                heartbeatInterval,
+                directRowConversionEnabled,
+                converterCodeGenerationEnabled);
     }
 
     @Override
@@ -59,6 +59,7 @@ import javax.net.ssl.X509TrustManager;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.Serializable;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
@@ -85,9 +86,12 @@ import static io.debezium.util.Strings.isNullOrEmpty;
 /**
  * Copied from Debezium project to fix https://github.com/ververica/flink-cdc-connectors/issues/939.
  *
- * <p>Line 268 ~ 270: Clean cache on rotate event to prevent it from growing indefinitely. We should
+ * <p>Line 272 ~ 274: Clean cache on rotate event to prevent it from growing indefinitely. We should
  * remove this class after we bumped a higher debezium version where the
  * https://issues.redhat.com/browse/DBZ-5126 has been fixed.
+ *
+ * <p>Line 789 ~ 867: Dispatch the row changes through the overridable {@link #dispatchChangeEvent},
+ * which allows the row changes to be converted to Flink's internal data structure directly.
  */
 public class MySqlStreamingChangeEventSource
         implements StreamingChangeEventSource<MySqlOffsetContext> {
@@ -792,10 +796,7 @@ public class MySqlStreamingChangeEventSource
                 x -> taskContext.getSchema().getTableId(x.getTableId()),
                 WriteRowsEventData::getRows,
                 (tableId, row) ->
-                        eventDispatcher.dispatchDataChangeEvent(
-                                tableId,
-                                new MySqlChangeRecordEmitter(
-                                        offsetContext, clock, Operation.CREATE, null, row)));
+                        dispatchChangeEvent(offsetContext, tableId, Operation.CREATE, null, row));
     }
 
     /**
@@ -814,14 +815,12 @@ public class MySqlStreamingChangeEventSource
                 x -> taskContext.getSchema().getTableId(x.getTableId()),
                 UpdateRowsEventData::getRows,
                 (tableId, row) ->
-                        eventDispatcher.dispatchDataChangeEvent(
+                        dispatchChangeEvent(
+                                offsetContext,
                                 tableId,
-                                new MySqlChangeRecordEmitter(
-                                        offsetContext,
-                                        clock,
-                                        Operation.UPDATE,
-                                        row.getKey(),
-                                        row.getValue())));
+                                Operation.UPDATE,
+                                row.getKey(),
+                                row.getValue()));
     }
 
     /**
@@ -840,10 +839,32 @@ public class MySqlStreamingChangeEventSource
                 x -> taskContext.getSchema().getTableId(x.getTableId()),
                 DeleteRowsEventData::getRows,
                 (tableId, row) ->
-                        eventDispatcher.dispatchDataChangeEvent(
-                                tableId,
-                                new MySqlChangeRecordEmitter(
-                                        offsetContext, clock, Operation.DELETE, row, null)));
+                        dispatchChangeEvent(offsetContext, tableId, Operation.DELETE, row, null));
+    }
+
+    /**
+     * Dispatches the change of a single row, subclasses can override this method to dispatch the
+     * row in a different way.
+     *
+     * @param before the column values before the change; null for inserts
+     * @param after the column values after the change; null for deletes
+     * @throws InterruptedException if this thread is interrupted while blocking
+     */
+    protected void dispatchChangeEvent(
+            MySqlOffsetContext offsetContext,
+            TableId tableId,
+            Operation operation,
+            Serializable[] before,
+            Serializable[] after)
+            throws InterruptedException {
+        eventDispatcher.dispatchDataChangeEvent(
+                tableId,
+                new MySqlChangeRecordEmitter(offsetContext, clock, operation, before, after));
+    }
+
+    /** Returns the timestamp of the binlog event that is being handled. */
+    protected Instant getEventTimestamp() {
+        return eventTimestamp;
     }
 
     private <T extends EventData, U> void handleChange(
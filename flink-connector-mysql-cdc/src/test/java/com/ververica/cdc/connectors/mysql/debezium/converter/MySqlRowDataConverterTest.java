@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.mysql.debezium.converter;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.ververica.cdc.connectors.mysql.debezium.DebeziumUtils;
+import com.ververica.cdc.connectors.mysql.source.config.MySqlSourceConfigFactory;
+import com.ververica.cdc.connectors.mysql.table.MySqlDeserializationConverterFactory;
+import com.ververica.cdc.debezium.table.RowDataDebeziumDeserializeSchema;
+import io.debezium.connector.mysql.MySqlConnectorConfig;
+import io.debezium.connector.mysql.MySqlValueConverters;
+import io.debezium.relational.Column;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.relational.TableSchema;
+import io.debezium.relational.TableSchemaBuilder;
+import io.debezium.relational.mapping.ColumnMappers;
+import io.debezium.util.SchemaNameAdjuster;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/** Unit test for {@link MySqlRowDataConverter}. */
+public class MySqlRowDataConverterTest {
+
+    private static final ZoneId SERVER_TIME_ZONE = ZoneId.of("UTC");
+
+    private static final RowType PHYSICAL_ROW_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("id", DataTypes.BIGINT().notNull()),
+                                    DataTypes.FIELD("name", DataTypes.STRING()),
+                                    DataTypes.FIELD("price", DataTypes.DECIMAL(10, 2)),
+                                    DataTypes.FIELD("weight", DataTypes.DOUBLE()),
+                                    DataTypes.FIELD("quantity", DataTypes.INT()))
+                            .getLogicalType();
+
+    private MySqlConnectorConfig connectorConfig;
+    private MySqlValueConverters valueConverters;
+    private Table table;
+
+    @Before
+    public void before() {
+        connectorConfig =
+                new MySqlSourceConfigFactory()
+                        .hostname("localhost")
+                        .port(3306)
+                        .username("user")
+                        .password("password")
+                        .databaseList("inventory")
+                        .tableList("inventory.products")
+                        .serverTimeZone(SERVER_TIME_ZONE.getId())
+                        .createConfig(0)
+                        .getMySqlConnectorConfig();
+        valueConverters = DebeziumUtils.getValueConverters(connectorConfig);
+        table =
+                Table.editor()
+                        .tableId(new TableId("inventory", null, "products"))
+                        .addColumn(
+                                Column.editor()
+                                        .name("id")
+                                        .type("BIGINT")
+                                        .jdbcType(Types.BIGINT)
+                                        .position(1)
+                                        .optional(false)
+                                        .create())
+                        .addColumn(
+                                Column.editor()
+                                        .name("name")
+                                        .type("VARCHAR")
+                                        .jdbcType(Types.VARCHAR)
+                                        .length(255)
+                                        .charsetName("utf8")
+                                        .position(2)
+                                        .optional(true)
+                                        .create())
+                        .addColumn(
+                                Column.editor()
+                                        .name("price")
+                                        .type("DECIMAL")
+                                        .jdbcType(Types.DECIMAL)
+                                        .length(10)
+                                        .scale(2)
+                                        .position(3)
+                                        .optional(true)
+                                        .create())
+                        .addColumn(
+                                Column.editor()
+                                        .name("weight")
+                                        .type("DOUBLE")
+                                        .jdbcType(Types.DOUBLE)
+                                        .position(4)
+                                        .optional(true)
+                                        .create())
+                        .setPrimaryKeyNames("id")
+                        .create();
+    }
+
+    @Test
+    public void testConvertSameAsDeserializer() throws Exception {
+        final TableSchema tableSchema = createTableSchema(ColumnMappers.create(connectorConfig));
+        final MySqlRowDataConverter converter =
+                createConverter(tableSchema, ColumnMappers.create(connectorConfig)).get();
+
+        assertConvertedRow(
+                converter,
+                tableSchema,
+                new Object[] {101L, "scooter", new BigDecimal("3.14"), 5.5});
+        // null column values
+        assertConvertedRow(converter, tableSchema, new Object[] {102L, null, null, null});
+        // the converted row should not be affected by the later conversions
+        final RowData first = converter.convert(new Object[] {103L, "hammer", null, 0.75});
+        final RowData second = converter.convert(new Object[] {104L, "rocks", null, 5.3});
+        assertEquals(103L, first.getLong(0));
+        assertEquals("hammer", first.getString(1).toString());
+        assertEquals(104L, second.getLong(0));
+        assertEquals("rocks", second.getString(1).toString());
+    }
+
+    @Test
+    public void testConvertAbsentField() throws Exception {
+        final TableSchema tableSchema = createTableSchema(ColumnMappers.create(connectorConfig));
+        final MySqlRowDataConverter converter =
+                createConverter(tableSchema, ColumnMappers.create(connectorConfig)).get();
+
+        final RowData row =
+                converter.convert(new Object[] {101L, "scooter", new BigDecimal("3.14"), 5.5});
+        // the field 'quantity' doesn't exist in the table
+        assertTrue(row.isNullAt(4));
+    }
+
+    @Test
+    public void testUnsupportedColumnMapper() {
+        final ColumnMappers columnMappers =
+                ColumnMappers.build().truncateStrings("inventory.products.name", 3).build();
+        final TableSchema tableSchema = createTableSchema(columnMappers);
+
+        assertFalse(createConverter(tableSchema, columnMappers).isPresent());
+    }
+
+    @Test
+    public void testRowSmallerThanSchema() throws Exception {
+        final TableSchema tableSchema = createTableSchema(ColumnMappers.create(connectorConfig));
+        final MySqlRowDataConverter converter =
+                createConverter(tableSchema, ColumnMappers.create(connectorConfig)).get();
+        try {
+            converter.convert(new Object[] {101L, "scooter"});
+            fail("exception expected");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("inventory.products"));
+        }
+    }
+
+    private void assertConvertedRow(
+            MySqlRowDataConverter converter, TableSchema tableSchema, Object[] columnValues)
+            throws Exception {
+        final Struct value = tableSchema.valueFromColumnData(columnValues);
+        final RowData expected =
+                (RowData)
+                        RowDataDebeziumDeserializeSchema.createNotNullConverter(
+                                        PHYSICAL_ROW_TYPE,
+                                        SERVER_TIME_ZONE,
+                                        MySqlDeserializationConverterFactory.instance())
+                                .convert(value, tableSchema.valueSchema());
+        final BinaryRowData expectedBinaryRow =
+                new RowDataSerializer(PHYSICAL_ROW_TYPE).toBinaryRow(expected);
+
+        assertEquals(expectedBinaryRow, converter.convert(columnValues));
+    }
+
+    private TableSchema createTableSchema(ColumnMappers columnMappers) {
+        return new TableSchemaBuilder(
+                        valueConverters,
+                        SchemaNameAdjuster.create(),
+                        connectorConfig.customConverterRegistry(),
+                        connectorConfig.getSourceInfoStructMaker().schema(),
+                        false)
+                .create("mysql_binlog_source", "envelope", table, null, columnMappers, null);
+    }
+
+    private Optional<MySqlRowDataConverter> createConverter(
+            TableSchema tableSchema, ColumnMappers columnMappers) {
+        return MySqlRowDataConverter.create(
+                table,
+                tableSchema,
+                PHYSICAL_ROW_TYPE,
+                valueConverters,
+                columnMappers,
+                connectorConfig.customConverterRegistry(),
+                SERVER_TIME_ZONE);
+    }
+}
@@ -37,6 +37,8 @@ import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /** Unit test for {@link MySqlRecordEmitter}. */
 public class MySqlRecordEmitterTest {
@@ -61,7 +63,22 @@ public class MySqlRecordEmitterTest {
         assertEquals(0, splitState.getStartingOffset().compareTo(fakeOffset));
     }
 
+    @Test
+    public void testDirectRowConversionRequiresRowDataDeserializer() {
+        try {
+            createRecordEmitter(true);
+            fail("Should fail.");
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+            assertTrue(e.getMessage().contains("requires a deserializer producing RowData"));
+        }
+    }
+
     private MySqlRecordEmitter<Void> createRecordEmitter() {
+        return createRecordEmitter(false);
+    }
+
+    private MySqlRecordEmitter<Void> createRecordEmitter(boolean directRowConversion) {
         return new MySqlRecordEmitter<>(
                 new DebeziumDeserializationSchema<Void>() {
                     @Override
@@ -76,7 +93,8 @@ public class MySqlRecordEmitterTest {
                 },
                 new MySqlSourceReaderMetrics(
                         UnregisteredMetricGroups.createUnregisteredOperatorMetricGroup()),
-                false);
+                false,
+                directRowConversion);
     }
 
     private MySqlBinlogSplitState createBinlogSplitState() {
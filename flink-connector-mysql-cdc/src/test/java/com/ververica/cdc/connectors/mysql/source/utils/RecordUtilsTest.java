@@ -18,17 +18,41 @@
 
 package com.ververica.cdc.connectors.mysql.source.utils;
 
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+
+import com.ververica.cdc.connectors.mysql.debezium.converter.RowDataChangeRecord;
+import io.debezium.data.Envelope;
+import io.debezium.relational.TableId;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.formatMessageTimestamp;
+import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getFetchTimestamp;
+import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.getMessageTimestamp;
 import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.splitKeyRangeContains;
+import static com.ververica.cdc.connectors.mysql.source.utils.RecordUtils.upsertBinlog;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /** Tests for {@link RecordUtils}. */
 public class RecordUtilsTest {
 
+    private static final Schema KEY_SCHEMA =
+            SchemaBuilder.struct().field("id", Schema.INT64_SCHEMA).build();
+
     @Test
     public void testSplitKeyRangeContains() {
         // table with only one split
@@ -59,4 +83,65 @@ public class RecordUtilsTest {
                         new Object[] {1L},
                         new Object[] {1024L}));
     }
+
+    @Test
+    public void testUpsertRowDataBinlog() {
+        final Map<Struct, SourceRecord> snapshotRecords = new HashMap<>();
+        snapshotRecords.put(key(101L), rowDataRecord(Envelope.Operation.READ, 101L, "a", 10L));
+        snapshotRecords.put(key(102L), rowDataRecord(Envelope.Operation.READ, 102L, "b", 10L));
+        snapshotRecords.put(key(103L), rowDataRecord(Envelope.Operation.READ, 103L, "c", 10L));
+
+        upsertBinlog(snapshotRecords, rowDataRecord(Envelope.Operation.UPDATE, 101L, "aa", 20L));
+        upsertBinlog(snapshotRecords, rowDataRecord(Envelope.Operation.DELETE, 102L, "b", 30L));
+        upsertBinlog(snapshotRecords, rowDataRecord(Envelope.Operation.CREATE, 104L, "d", 40L));
+
+        assertEquals(3, snapshotRecords.size());
+        assertNull(snapshotRecords.get(key(102L)));
+
+        final RowDataChangeRecord updated = (RowDataChangeRecord) snapshotRecords.get(key(101L));
+        assertEquals(Envelope.Operation.READ, updated.getOperation());
+        assertNull(updated.getBefore());
+        assertEquals("aa", updated.getAfter().getString(1).toString());
+        assertEquals(20L, (long) getFetchTimestamp(updated));
+
+        final RowDataChangeRecord created = (RowDataChangeRecord) snapshotRecords.get(key(104L));
+        assertEquals(Envelope.Operation.READ, created.getOperation());
+        assertEquals(104L, created.getAfter().getLong(0));
+    }
+
+    @Test
+    public void testFormatRowDataMessageTimestamp() {
+        final List<SourceRecord> records =
+                formatMessageTimestamp(
+                        Collections.singletonList(
+                                rowDataRecord(Envelope.Operation.READ, 101L, "a", 10L)));
+
+        assertEquals(1, records.size());
+        assertEquals(0L, (long) getMessageTimestamp(records.get(0)));
+        assertEquals(10L, (long) getFetchTimestamp(records.get(0)));
+    }
+
+    private static Struct key(long id) {
+        return new Struct(KEY_SCHEMA).put("id", id);
+    }
+
+    private static RowDataChangeRecord rowDataRecord(
+            Envelope.Operation operation, long id, String name, long timestamp) {
+        final RowData row = GenericRowData.of(id, StringData.fromString(name));
+        final boolean hasBefore =
+                operation == Envelope.Operation.UPDATE || operation == Envelope.Operation.DELETE;
+        final boolean hasAfter = operation != Envelope.Operation.DELETE;
+        return new RowDataChangeRecord(
+                Collections.singletonMap("server", "mysql_binlog_source"),
+                Collections.singletonMap("pos", timestamp),
+                "mysql_binlog_source.inventory.products",
+                KEY_SCHEMA,
+                key(id),
+                new TableId("inventory", null, "products"),
+                operation,
+                hasBefore ? row : null,
+                hasAfter ? row : null,
+                timestamp,
+                timestamp);
+    }
 }
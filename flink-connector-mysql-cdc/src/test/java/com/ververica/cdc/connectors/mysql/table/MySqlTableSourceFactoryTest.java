@@ -124,7 +124,9 @@ public class MySqlTableSourceFactoryTest {
                         StartupOptions.initial(),
                         false,
                         new Properties(),
-                        HEARTBEAT_INTERVAL.defaultValue());
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        false,
+                        false);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -166,7 +168,9 @@ public class MySqlTableSourceFactoryTest {
                         StartupOptions.initial(),
                         false,
                         new Properties(),
-                        HEARTBEAT_INTERVAL.defaultValue());
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        false,
+                        false);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -205,7 +209,9 @@ public class MySqlTableSourceFactoryTest {
                         StartupOptions.initial(),
                         false,
                         new Properties(),
-                        HEARTBEAT_INTERVAL.defaultValue());
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        false,
+                        false);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -242,7 +248,9 @@ public class MySqlTableSourceFactoryTest {
                         StartupOptions.latest(),
                         false,
                         new Properties(),
-                        HEARTBEAT_INTERVAL.defaultValue());
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        false,
+                        false);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -256,6 +264,7 @@ public class MySqlTableSourceFactoryTest {
         options.put("debezium.snapshot.mode", "never");
         options.put("jdbc.properties.useSSL", "false");
         options.put("heartbeat.interval", "15213ms");
+        options.put("scan.converter-code-generation.enabled", "true");
 
         DynamicTableSource actualSource = createTableSource(options);
         Properties dbzProperties = new Properties();
@@ -286,7 +295,9 @@ public class MySqlTableSourceFactoryTest {
                         StartupOptions.initial(),
                         true,
                         jdbcProperties,
-                        Duration.ofMillis(15213));
+                        Duration.ofMillis(15213),
+                        false,
+                        true);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -345,7 +356,9 @@ public class MySqlTableSourceFactoryTest {
                         StartupOptions.initial(),
                         false,
                         new Properties(),
-                        HEARTBEAT_INTERVAL.defaultValue());
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        false,
+                        false);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -413,7 +426,9 @@ public class MySqlTableSourceFactoryTest {
                         StartupOptions.latest(),
                         false,
                         new Properties(),
-                        HEARTBEAT_INTERVAL.defaultValue());
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        false,
+                        false);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -453,7 +468,9 @@ public class MySqlTableSourceFactoryTest {
                         StartupOptions.initial(),
                         false,
                         new Properties(),
-                        HEARTBEAT_INTERVAL.defaultValue());
+                        HEARTBEAT_INTERVAL.defaultValue(),
+                        false,
+                        false);
         expectedSource.producedDataType = SCHEMA_WITH_METADATA.toSourceRowDataType();
         expectedSource.metadataKeys = Arrays.asList("op_ts", "database_name");
 
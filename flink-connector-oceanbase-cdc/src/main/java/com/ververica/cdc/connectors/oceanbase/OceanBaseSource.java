@@ -34,6 +34,7 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /**
@@ -42,6 +43,8 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
 @PublicEvolving
 public class OceanBaseSource {
 
+    public static final int TRANSACTION_BUFFER_MAX_RECORDS_DEFAULT = 10000;
+
     public static <T> Builder<T> builder() {
         return new Builder<>();
     }
@@ -71,6 +74,8 @@ public class OceanBaseSource {
         private String rsList;
         private String configUrl;
         private String workingMode;
+        private int transactionBufferMaxRecords = TRANSACTION_BUFFER_MAX_RECORDS_DEFAULT;
+        private boolean eagerEmit = false;
 
         private DebeziumDeserializationSchema<T> deserializer;
 
@@ -159,6 +164,25 @@ public class OceanBaseSource {
             return this;
         }
 
+        /**
+         * The max number of records of the pending transactions that are kept in memory, the
+         * records over this limit are spilled to the temporary directories of the task manager.
+         */
+        public Builder<T> transactionBufferMaxRecords(int transactionBufferMaxRecords) {
+            this.transactionBufferMaxRecords = transactionBufferMaxRecords;
+            return this;
+        }
+
+        /**
+         * Whether to emit the change records once they are received instead of waiting for the
+         * commit of their transaction. The downstream may see a part of a transaction when the job
+         * fails over, and the whole transaction is emitted again after the job restarts.
+         */
+        public Builder<T> eagerEmit(boolean eagerEmit) {
+            this.eagerEmit = eagerEmit;
+            return this;
+        }
+
         public Builder<T> deserializer(DebeziumDeserializationSchema<T> deserializer) {
             this.deserializer = deserializer;
             return this;
@@ -192,6 +216,9 @@ public class OceanBaseSource {
             if (connectTimeout == null) {
                 connectTimeout = Duration.ofSeconds(30);
             }
+            checkArgument(
+                    transactionBufferMaxRecords > 0,
+                    "transactionBufferMaxRecords should be positive");
 
             String tableWhiteList =
                     String.format(
@@ -199,31 +226,18 @@ public class OceanBaseSource {
                             checkNotNull(tenantName),
                             checkNotNull(databaseName),
                             checkNotNull(tableName));
-
-            if (logProxyClientId == null) {
-                logProxyClientId = ClientIdGenerator.generate() + "_" + tableWhiteList;
-            }
             ClientConf clientConf =
-                    ClientConf.builder()
-                            .clientId(logProxyClientId)
-                            .connectTimeoutMs((int) connectTimeout.toMillis())
-                            .build();
-
-            ObReaderConfig obReaderConfig = new ObReaderConfig();
-            if (StringUtils.isNotEmpty(rsList)) {
-                obReaderConfig.setRsList(rsList);
-            }
-            if (StringUtils.isNotEmpty(configUrl)) {
-                obReaderConfig.setClusterUrl(configUrl);
-            }
-            if (StringUtils.isNotEmpty(workingMode)) {
-                obReaderConfig.setWorkingMode(workingMode);
-            }
-            obReaderConfig.setUsername(username);
-            obReaderConfig.setPassword(password);
-            obReaderConfig.setTableWhiteList(tableWhiteList);
-            obReaderConfig.setStartTimestamp(startupTimestamp);
-            obReaderConfig.setTimezone(zoneOffset.getId());
+                    createClientConf(logProxyClientId, tableWhiteList, connectTimeout);
+            ObReaderConfig obReaderConfig =
+                    createObReaderConfig(
+                            rsList,
+                            configUrl,
+                            workingMode,
+                            username,
+                            password,
+                            tableWhiteList,
+                            startupTimestamp,
+                            zoneOffset);
 
             return new OceanBaseRichSourceFunction<T>(
                     StartupMode.INITIAL.equals(startupMode),
@@ -240,7 +254,49 @@ public class OceanBaseSource {
                     logProxyPort,
                     clientConf,
                     obReaderConfig,
+                    transactionBufferMaxRecords,
+                    eagerEmit,
                     deserializer);
         }
     }
+
+    /** Creates the config of the log proxy client, which generates a client id if it's null. */
+    public static ClientConf createClientConf(
+            String logProxyClientId, String tableWhiteList, Duration connectTimeout) {
+        if (logProxyClientId == null) {
+            logProxyClientId = ClientIdGenerator.generate() + "_" + tableWhiteList;
+        }
+        return ClientConf.builder()
+                .clientId(logProxyClientId)
+                .connectTimeoutMs((int) connectTimeout.toMillis())
+                .build();
+    }
+
+    /** Creates the config of the log reader, which starts reading at the given timestamp. */
+    public static ObReaderConfig createObReaderConfig(
+            String rsList,
+            String configUrl,
+            String workingMode,
+            String username,
+            String password,
+            String tableWhiteList,
+            long startupTimestamp,
+            ZoneOffset zoneOffset) {
+        ObReaderConfig obReaderConfig = new ObReaderConfig();
+        if (StringUtils.isNotEmpty(rsList)) {
+            obReaderConfig.setRsList(rsList);
+        }
+        if (StringUtils.isNotEmpty(configUrl)) {
+            obReaderConfig.setClusterUrl(configUrl);
+        }
+        if (StringUtils.isNotEmpty(workingMode)) {
+            obReaderConfig.setWorkingMode(workingMode);
+        }
+        obReaderConfig.setUsername(username);
+        obReaderConfig.setPassword(password);
+        obReaderConfig.setTableWhiteList(tableWhiteList);
+        obReaderConfig.setStartTimestamp(startupTimestamp);
+        obReaderConfig.setTimezone(zoneOffset.getId());
+        return obReaderConfig;
+    }
 }
@@ -0,0 +1,416 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.connector.source.Boundedness;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+
+import com.oceanbase.clogproxy.client.config.ClientConf;
+import com.oceanbase.clogproxy.client.config.ObReaderConfig;
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsState;
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsStateSerializer;
+import com.ververica.cdc.connectors.oceanbase.OceanBaseSource;
+import com.ververica.cdc.connectors.oceanbase.source.enumerator.OceanBaseSourceEnumerator;
+import com.ververica.cdc.connectors.oceanbase.source.reader.OceanBaseRecord;
+import com.ververica.cdc.connectors.oceanbase.source.reader.OceanBaseRecordEmitter;
+import com.ververica.cdc.connectors.oceanbase.source.reader.OceanBaseSourceReader;
+import com.ververica.cdc.connectors.oceanbase.source.reader.OceanBaseSplitReader;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSourceSplit;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSourceSplitSerializer;
+import com.ververica.cdc.connectors.oceanbase.table.StartupMode;
+import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The OceanBase CDC Source based on FLIP-27 which reads the snapshot of the captured tables in
+ * parallel and then continues to read the change events from the log proxy.
+ *
+ * <p>The enumerator splits each table into chunks of about {@link Builder#chunkSize(int)} rows by
+ * the first column of its primary key, the snapshot splits are read in parallel and checkpointed
+ * per split. All chunks are read by flashback queries at the timestamp the change events start
+ * from, so the {@code undo_retention} of the tenant needs to cover the duration of the snapshot.
+ *
+ * <pre>
+ *     OceanBaseIncrementalSource
+ *         .&lt;RowData&gt;builder()
+ *         .startupMode(StartupMode.INITIAL)
+ *         .hostname("localhost")
+ *         .port(2881)
+ *         .username("user@test_tenant")
+ *         .password("pswd")
+ *         .tenantName("test_tenant")
+ *         .databaseName("test_db")
+ *         .tableName("test_table")
+ *         .logProxyHost("localhost")
+ *         .logProxyPort(2983)
+ *         .rsList("127.0.0.1:2882:2881")
+ *         .deserializer(deserializer)
+ *         .build();
+ * </pre>
+ *
+ * <p>See {@link Builder} for more details.
+ *
+ * @param <T> the output type of the source.
+ */
+public class OceanBaseIncrementalSource<T>
+        implements Source<T, OceanBaseSourceSplit, HybridPendingSplitsState<OceanBaseSourceSplit>>,
+                ResultTypeQueryable<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int CHUNK_SIZE_DEFAULT = 8096;
+
+    private final StartupMode startupMode;
+    private final long startupTimestamp;
+    private final String username;
+    private final String password;
+    private final String tenantName;
+    private final String databaseName;
+    private final String tableName;
+    private final ZoneOffset zoneOffset;
+    private final Duration connectTimeout;
+    private final String hostname;
+    private final Integer port;
+    private final String logProxyHost;
+    private final int logProxyPort;
+    private final ClientConf logProxyClientConf;
+    private final ObReaderConfig obReaderConfig;
+    private final int chunkSize;
+    private final DebeziumDeserializationSchema<T> deserializer;
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    OceanBaseIncrementalSource(
+            StartupMode startupMode,
+            long startupTimestamp,
+            String username,
+            String password,
+            String tenantName,
+            String databaseName,
+            String tableName,
+            ZoneOffset zoneOffset,
+            Duration connectTimeout,
+            String hostname,
+            Integer port,
+            String logProxyHost,
+            int logProxyPort,
+            ClientConf logProxyClientConf,
+            ObReaderConfig obReaderConfig,
+            int chunkSize,
+            DebeziumDeserializationSchema<T> deserializer) {
+        this.startupMode = startupMode;
+        this.startupTimestamp = startupTimestamp;
+        this.username = username;
+        this.password = password;
+        this.tenantName = tenantName;
+        this.databaseName = databaseName;
+        this.tableName = tableName;
+        this.zoneOffset = zoneOffset;
+        this.connectTimeout = connectTimeout;
+        this.hostname = hostname;
+        this.port = port;
+        this.logProxyHost = logProxyHost;
+        this.logProxyPort = logProxyPort;
+        this.logProxyClientConf = logProxyClientConf;
+        this.obReaderConfig = obReaderConfig;
+        this.chunkSize = chunkSize;
+        this.deserializer = deserializer;
+    }
+
+    @Override
+    public Boundedness getBoundedness() {
+        return Boundedness.CONTINUOUS_UNBOUNDED;
+    }
+
+    @Override
+    public SourceReader<T, OceanBaseSourceSplit> createReader(SourceReaderContext readerContext) {
+        FutureCompletingBlockingQueue<RecordsWithSplitIds<OceanBaseRecord>> elementsQueue =
+                new FutureCompletingBlockingQueue<>();
+        return new OceanBaseSourceReader<>(
+                elementsQueue,
+                () ->
+                        new OceanBaseSplitReader(
+                                hostname,
+                                port,
+                                username,
+                                password,
+                                connectTimeout,
+                                tenantName,
+                                zoneOffset,
+                                logProxyHost,
+                                logProxyPort,
+                                logProxyClientConf,
+                                obReaderConfig),
+                new OceanBaseRecordEmitter<>(deserializer),
+                readerContext.getConfiguration(),
+                readerContext);
+    }
+
+    @Override
+    public SplitEnumerator<OceanBaseSourceSplit, HybridPendingSplitsState<OceanBaseSourceSplit>>
+            createEnumerator(SplitEnumeratorContext<OceanBaseSourceSplit> enumContext) {
+        return restoreEnumerator(enumContext, null);
+    }
+
+    @Override
+    public SplitEnumerator<OceanBaseSourceSplit, HybridPendingSplitsState<OceanBaseSourceSplit>>
+            restoreEnumerator(
+                    SplitEnumeratorContext<OceanBaseSourceSplit> enumContext,
+                    HybridPendingSplitsState<OceanBaseSourceSplit> checkpoint) {
+        return new OceanBaseSourceEnumerator(
+                enumContext,
+                hostname,
+                port,
+                username,
+                password,
+                connectTimeout,
+                databaseName,
+                tableName,
+                startupMode,
+                startupTimestamp,
+                chunkSize,
+                checkpoint);
+    }
+
+    @Override
+    public SimpleVersionedSerializer<OceanBaseSourceSplit> getSplitSerializer() {
+        return OceanBaseSourceSplitSerializer.INSTANCE;
+    }
+
+    @Override
+    public SimpleVersionedSerializer<HybridPendingSplitsState<OceanBaseSourceSplit>>
+            getEnumeratorCheckpointSerializer() {
+        return new HybridPendingSplitsStateSerializer<>(OceanBaseSourceSplitSerializer.INSTANCE);
+    }
+
+    @Override
+    public TypeInformation<T> getProducedType() {
+        return deserializer.getProducedType();
+    }
+
+    /** Builder class of {@link OceanBaseIncrementalSource}. */
+    public static class Builder<T> {
+
+        // common config
+        private StartupMode startupMode;
+        private String username;
+        private String password;
+        private String tenantName;
+        private String databaseName;
+        private String tableName;
+        private String serverTimeZone;
+        private Duration connectTimeout;
+
+        // snapshot reading config
+        private String hostname;
+        private Integer port;
+        private int chunkSize = CHUNK_SIZE_DEFAULT;
+
+        // incremental reading config
+        private String logProxyHost;
+        private Integer logProxyPort;
+        private String logProxyClientId;
+        private Long startupTimestamp;
+        private String rsList;
+        private String configUrl;
+        private String workingMode;
+
+        private DebeziumDeserializationSchema<T> deserializer;
+
+        public Builder<T> startupMode(StartupMode startupMode) {
+            this.startupMode = startupMode;
+            return this;
+        }
+
+        public Builder<T> username(String username) {
+            this.username = username;
+            return this;
+        }
+
+        public Builder<T> password(String password) {
+            this.password = password;
+            return this;
+        }
+
+        public Builder<T> tenantName(String tenantName) {
+            this.tenantName = tenantName;
+            return this;
+        }
+
+        public Builder<T> databaseName(String databaseName) {
+            this.databaseName = databaseName;
+            return this;
+        }
+
+        public Builder<T> tableName(String tableName) {
+            this.tableName = tableName;
+            return this;
+        }
+
+        public Builder<T> serverTimeZone(String serverTimeZone) {
+            this.serverTimeZone = serverTimeZone;
+            return this;
+        }
+
+        public Builder<T> connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder<T> hostname(String hostname) {
+            this.hostname = hostname;
+            return this;
+        }
+
+        public Builder<T> port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /** The approximate number of rows of the chunks that the tables are split into. */
+        public Builder<T> chunkSize(int chunkSize) {
+            checkArgument(chunkSize > 0, "chunkSize must be positive");
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        public Builder<T> logProxyHost(String logProxyHost) {
+            this.logProxyHost = logProxyHost;
+            return this;
+        }
+
+        public Builder<T> logProxyPort(int logProxyPort) {
+            this.logProxyPort = logProxyPort;
+            return this;
+        }
+
+        public Builder<T> logProxyClientId(String logProxyClientId) {
+            this.logProxyClientId = logProxyClientId;
+            return this;
+        }
+
+        public Builder<T> startupTimestamp(Long startupTimestamp) {
+            this.startupTimestamp = startupTimestamp;
+            return this;
+        }
+
+        public Builder<T> rsList(String rsList) {
+            this.rsList = rsList;
+            return this;
+        }
+
+        public Builder<T> configUrl(String configUrl) {
+            this.configUrl = configUrl;
+            return this;
+        }
+
+        public Builder<T> workingMode(String workingMode) {
+            this.workingMode = workingMode;
+            return this;
+        }
+
+        public Builder<T> deserializer(DebeziumDeserializationSchema<T> deserializer) {
+            this.deserializer = deserializer;
+            return this;
+        }
+
+        public OceanBaseIncrementalSource<T> build() {
+            switch (startupMode) {
+                case INITIAL:
+                    checkNotNull(hostname, "hostname shouldn't be null on startup mode 'initial'");
+                    checkNotNull(port, "port shouldn't be null on startup mode 'initial'");
+                    startupTimestamp = 0L;
+                    break;
+                case LATEST_OFFSET:
+                    startupTimestamp = 0L;
+                    break;
+                case TIMESTAMP:
+                    checkNotNull(
+                            startupTimestamp,
+                            "startupTimestamp shouldn't be null on startup mode 'timestamp'");
+                    break;
+                default:
+                    throw new UnsupportedOperationException(
+                            startupMode + " mode is not supported.");
+            }
+
+            if (serverTimeZone == null) {
+                serverTimeZone = "UTC";
+            }
+            ZoneOffset zoneOffset = ZoneId.of(serverTimeZone).getRules().getOffset(Instant.now());
+
+            if (connectTimeout == null) {
+                connectTimeout = Duration.ofSeconds(30);
+            }
+
+            String tableWhiteList =
+                    String.format(
+                            "%s.%s.%s",
+                            checkNotNull(tenantName),
+                            checkNotNull(databaseName),
+                            checkNotNull(tableName));
+
+            return new OceanBaseIncrementalSource<>(
+                    startupMode,
+                    startupTimestamp,
+                    username,
+                    password,
+                    tenantName,
+                    databaseName,
+                    tableName,
+                    zoneOffset,
+                    connectTimeout,
+                    hostname,
+                    port,
+                    checkNotNull(logProxyHost),
+                    checkNotNull(logProxyPort),
+                    OceanBaseSource.createClientConf(
+                            logProxyClientId, tableWhiteList, connectTimeout),
+                    OceanBaseSource.createObReaderConfig(
+                            rsList,
+                            configUrl,
+                            workingMode,
+                            username,
+                            password,
+                            tableWhiteList,
+                            startupTimestamp,
+                            zoneOffset),
+                    chunkSize,
+                    checkNotNull(deserializer));
+        }
+    }
+}
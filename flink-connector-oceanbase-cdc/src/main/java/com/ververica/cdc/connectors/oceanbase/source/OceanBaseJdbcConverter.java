@@ -124,13 +124,7 @@ public class OceanBaseJdbcConverter {
                 Timestamp timestamp = Timestamp.valueOf(value.toString());
                 return io.debezium.time.MicroTimestamp.toEpochMicros(timestamp, null);
             case Types.BIT:
-                long v = Long.parseLong(value.toString());
-                byte[] bytes = ByteBuffer.allocate(8).putLong(v).array();
-                int i = 0;
-                while (bytes[i] == 0 && i < Long.BYTES - 1) {
-                    i++;
-                }
-                return Arrays.copyOfRange(bytes, i, Long.BYTES);
+                return getBitBytes(Long.parseLong(value.toString()));
             case Types.BINARY:
                 return ByteBuffer.wrap(value.toString().getBytes(StandardCharsets.UTF_8));
             default:
@@ -138,6 +132,16 @@ public class OceanBaseJdbcConverter {
         }
     }
 
+    /** Returns the big-endian bytes of the value of a BIT field without the leading zero bytes. */
+    public static byte[] getBitBytes(long value) {
+        byte[] bytes = ByteBuffer.allocate(8).putLong(value).array();
+        int i = 0;
+        while (bytes[i] == 0 && i < Long.BYTES - 1) {
+            i++;
+        }
+        return Arrays.copyOfRange(bytes, i, Long.BYTES);
+    }
+
     private static boolean isBoolean(int jdbcType, String typeName) {
         return jdbcType == Types.BOOLEAN || (jdbcType == Types.BIT && "TINYINT".equals(typeName));
     }
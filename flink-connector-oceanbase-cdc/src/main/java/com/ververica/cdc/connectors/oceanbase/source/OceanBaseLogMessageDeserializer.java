@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source;
+
+import org.apache.flink.util.Collector;
+
+import com.oceanbase.oms.logmessage.LogMessage;
+import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import java.io.Serializable;
+
+/**
+ * A deserializer which converts the log messages of OceanBase into data types directly. When the
+ * {@link DebeziumDeserializationSchema} of {@link OceanBaseRichSourceFunction} also implements this
+ * interface, the change events are passed to it as {@link LogMessage}s instead of being converted
+ * into {@link SourceRecord}s first.
+ *
+ * @param <T> The type created by the deserializer.
+ */
+public interface OceanBaseLogMessageDeserializer<T> extends Serializable {
+
+    /** Deserializes a log message of type INSERT, UPDATE or DELETE. */
+    void deserialize(LogMessage message, Collector<T> out) throws Exception;
+
+    /**
+     * Notifies the deserializer of a DDL log message, after which the state derived from the schema
+     * of the changed tables should not be used anymore.
+     */
+    void onSchemaChange(LogMessage ddlMessage);
+}
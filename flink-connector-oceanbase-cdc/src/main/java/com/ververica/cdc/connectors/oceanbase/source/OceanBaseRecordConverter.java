@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source;
+
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.oceanbase.oms.logmessage.DataMessage;
+import com.oceanbase.oms.logmessage.LogMessage;
+import io.debezium.relational.TableSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Converts the rows of snapshot queries and the log messages of OceanBase into {@link
+ * SourceRecord}s. The table schemas are derived from the first row or message of a table and cached
+ * by topic name.
+ */
+public class OceanBaseRecordConverter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OceanBaseRecordConverter.class);
+
+    private final String tenantName;
+    private final ZoneOffset zoneOffset;
+    private final Map<String, TableSchema> tableSchemaMap = new ConcurrentHashMap<>();
+
+    public OceanBaseRecordConverter(String tenantName, ZoneOffset zoneOffset) {
+        this.tenantName = tenantName;
+        this.zoneOffset = zoneOffset;
+    }
+
+    /**
+     * Converts all remaining rows of the result set of a {@code SELECT *} query on the given table
+     * and passes the records to the consumer.
+     */
+    public void convertSnapshotRows(
+            String databaseName,
+            String tableName,
+            ResultSet rs,
+            long timestamp,
+            RecordConsumer consumer)
+            throws SQLException {
+        String topicName = getDefaultTopicName(tenantName, databaseName, tableName);
+        Map<String, String> partition = getSourcePartition(tenantName, databaseName, tableName);
+        // the offset here is useless
+        Map<String, Object> offset = getSourceOffset(timestamp);
+
+        ResultSetMetaData metaData = rs.getMetaData();
+        String[] columnNames = new String[metaData.getColumnCount()];
+        int[] jdbcTypes = new int[metaData.getColumnCount()];
+        for (int i = 0; i < metaData.getColumnCount(); i++) {
+            columnNames[i] = metaData.getColumnName(i + 1);
+            jdbcTypes[i] =
+                    OceanBaseJdbcConverter.getType(
+                            metaData.getColumnType(i + 1), metaData.getColumnTypeName(i + 1));
+        }
+
+        TableSchema tableSchema = tableSchemaMap.get(topicName);
+        if (tableSchema == null) {
+            tableSchema =
+                    OceanBaseTableSchema.getTableSchema(
+                            topicName, databaseName, tableName, columnNames, jdbcTypes, zoneOffset);
+            tableSchemaMap.put(topicName, tableSchema);
+        }
+
+        Struct source =
+                OceanBaseSchemaUtils.sourceStruct(tenantName, databaseName, tableName, null, null);
+
+        while (rs.next()) {
+            Struct value = new Struct(tableSchema.valueSchema());
+            for (int i = 0; i < metaData.getColumnCount(); i++) {
+                value.put(
+                        columnNames[i],
+                        OceanBaseJdbcConverter.getField(jdbcTypes[i], rs.getObject(i + 1)));
+            }
+            Struct struct = tableSchema.getEnvelopeSchema().create(value, source, null);
+            try {
+                consumer.accept(
+                        new SourceRecord(
+                                partition,
+                                offset,
+                                topicName,
+                                null,
+                                null,
+                                null,
+                                struct.schema(),
+                                struct));
+            } catch (Exception e) {
+                LOG.error("Deserialize snapshot record failed ", e);
+                throw new FlinkRuntimeException(e);
+            }
+        }
+    }
+
+    /** Converts a log message of type INSERT, UPDATE or DELETE into a change record. */
+    public SourceRecord convertLogMessage(LogMessage message) {
+        String databaseName = message.getDbName().replace(tenantName + ".", "");
+        String topicName = getDefaultTopicName(tenantName, databaseName, message.getTableName());
+
+        if (tableSchemaMap.get(topicName) == null) {
+            String[] columnNames = new String[message.getFieldCount()];
+            int[] jdbcTypes = new int[message.getFieldCount()];
+            int i = 0;
+            for (DataMessage.Record.Field field : message.getFieldList()) {
+                if (message.getOpt() == DataMessage.Record.Type.UPDATE && field.isPrev()) {
+                    continue;
+                }
+                columnNames[i] = field.getFieldname();
+                jdbcTypes[i] = OceanBaseJdbcConverter.getType(field.getType());
+                i++;
+            }
+            TableSchema tableSchema =
+                    OceanBaseTableSchema.getTableSchema(
+                            topicName,
+                            databaseName,
+                            message.getTableName(),
+                            columnNames,
+                            jdbcTypes,
+                            zoneOffset);
+            tableSchemaMap.put(topicName, tableSchema);
+        }
+
+        Struct source =
+                OceanBaseSchemaUtils.sourceStruct(
+                        tenantName,
+                        databaseName,
+                        message.getTableName(),
+                        String.valueOf(getCheckpointTimestamp(message)),
+                        message.getOB10UniqueId());
+        Struct struct;
+        switch (message.getOpt()) {
+            case INSERT:
+                Struct after = getLogValueStruct(topicName, message.getFieldList());
+                struct =
+                        tableSchemaMap
+                                .get(topicName)
+                                .getEnvelopeSchema()
+                                .create(after, source, null);
+                break;
+            case UPDATE:
+                List<DataMessage.Record.Field> beforeFields = new ArrayList<>();
+                List<DataMessage.Record.Field> afterFields = new ArrayList<>();
+                for (DataMessage.Record.Field field : message.getFieldList()) {
+                    if (field.isPrev()) {
+                        beforeFields.add(field);
+                    } else {
+                        afterFields.add(field);
+                    }
+                }
+                after = getLogValueStruct(topicName, afterFields);
+                Struct before = getLogValueStruct(topicName, beforeFields);
+                struct =
+                        tableSchemaMap
+                                .get(topicName)
+                                .getEnvelopeSchema()
+                                .update(before, after, source, null);
+                break;
+            case DELETE:
+                before = getLogValueStruct(topicName, message.getFieldList());
+                struct =
+                        tableSchemaMap
+                                .get(topicName)
+                                .getEnvelopeSchema()
+                                .delete(before, source, null);
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported dml type: " + message.getOpt());
+        }
+        return new SourceRecord(
+                getSourcePartition(tenantName, databaseName, message.getTableName()),
+                getSourceOffset(getCheckpointTimestamp(message)),
+                topicName,
+                null,
+                null,
+                null,
+                struct.schema(),
+                struct);
+    }
+
+    /**
+     * Removes the cached schemas of the tables changed by a DDL log message, which are derived
+     * again from the next log messages of the tables.
+     */
+    public void onSchemaChange(LogMessage ddlMessage) {
+        if (ddlMessage.getDbName() == null) {
+            tableSchemaMap.clear();
+            return;
+        }
+        String databaseName = ddlMessage.getDbName().replace(tenantName + ".", "");
+        String tableName = ddlMessage.getTableName();
+        if (tableName == null || tableName.isEmpty()) {
+            String prefix = getDefaultTopicName(tenantName, databaseName, "");
+            tableSchemaMap.keySet().removeIf(topicName -> topicName.startsWith(prefix));
+        } else {
+            tableSchemaMap.remove(getDefaultTopicName(tenantName, databaseName, tableName));
+        }
+    }
+
+    private Struct getLogValueStruct(String topicName, List<DataMessage.Record.Field> fieldList) {
+        TableSchema tableSchema = tableSchemaMap.get(topicName);
+        Struct value = new Struct(tableSchema.valueSchema());
+        Object fieldValue;
+        for (DataMessage.Record.Field field : fieldList) {
+            try {
+                Schema fieldSchema = tableSchema.valueSchema().field(field.getFieldname()).schema();
+                fieldValue =
+                        OceanBaseJdbcConverter.getField(
+                                fieldSchema.type(), field.getType(), field.getValue());
+                value.put(field.getFieldname(), fieldValue);
+            } catch (NumberFormatException e) {
+                tableSchema =
+                        OceanBaseTableSchema.upcastingTableSchema(
+                                topicName,
+                                tableSchema,
+                                fieldList.stream()
+                                        .collect(
+                                                Collectors.toMap(
+                                                        DataMessage.Record.Field::getFieldname,
+                                                        f -> f.getValue().toString())));
+                tableSchemaMap.put(topicName, tableSchema);
+                return getLogValueStruct(topicName, fieldList);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Get log message checkpoint timestamp in seconds. Refer to 'globalSafeTimestamp' in {@link
+     * LogMessage}.
+     *
+     * @param message Log message.
+     * @return Timestamp in seconds.
+     */
+    public static long getCheckpointTimestamp(LogMessage message) {
+        long timestamp = -1;
+        try {
+            if (DataMessage.Record.Type.HEARTBEAT.equals(message.getOpt())) {
+                timestamp = Long.parseLong(message.getTimestamp());
+            } else {
+                timestamp = message.getFileNameOffset();
+            }
+        } catch (Throwable t) {
+            LOG.error("Failed to get checkpoint from log message", t);
+        }
+        return timestamp;
+    }
+
+    private static String getDefaultTopicName(
+            String tenantName, String databaseName, String tableName) {
+        return String.format("%s.%s.%s", tenantName, databaseName, tableName);
+    }
+
+    private static Map<String, String> getSourcePartition(
+            String tenantName, String databaseName, String tableName) {
+        Map<String, String> sourcePartition = new HashMap<>();
+        sourcePartition.put("tenant", tenantName);
+        sourcePartition.put("database", databaseName);
+        sourcePartition.put("table", tableName);
+        return sourcePartition;
+    }
+
+    private static Map<String, Object> getSourceOffset(long timestamp) {
+        Map<String, Object> sourceOffset = new HashMap<>();
+        sourceOffset.put("timestamp", timestamp);
+        return sourceOffset;
+    }
+
+    /** The consumer of the converted records. */
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(SourceRecord record) throws Exception;
+    }
+}
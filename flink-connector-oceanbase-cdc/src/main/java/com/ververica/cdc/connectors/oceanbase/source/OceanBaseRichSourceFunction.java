@@ -25,44 +25,38 @@ import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.common.typeutils.base.LongSerializer;
 import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.state.FunctionInitializationContext;
 import org.apache.flink.runtime.state.FunctionSnapshotContext;
 import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.streaming.api.functions.source.RichSourceFunction;
+import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.flink.util.Collector;
 import org.apache.flink.util.FlinkRuntimeException;
 
-import com.mysql.jdbc.ResultSetMetaData;
 import com.oceanbase.clogproxy.client.LogProxyClient;
 import com.oceanbase.clogproxy.client.config.ClientConf;
 import com.oceanbase.clogproxy.client.config.ObReaderConfig;
 import com.oceanbase.clogproxy.client.exception.LogProxyClientException;
 import com.oceanbase.clogproxy.client.listener.RecordListener;
-import com.oceanbase.oms.logmessage.DataMessage;
 import com.oceanbase.oms.logmessage.LogMessage;
 import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
-import io.debezium.relational.TableSchema;
-import org.apache.kafka.connect.data.Schema;
-import org.apache.kafka.connect.data.Struct;
-import org.apache.kafka.connect.source.SourceRecord;
 import org.apache.kafka.trogdor.common.JsonUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.lang.reflect.Method;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
@@ -93,12 +87,16 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
     private final int logProxyPort;
     private final ClientConf logProxyClientConf;
     private final ObReaderConfig obReaderConfig;
+    private final int transactionBufferMaxRecords;
+    private final boolean eagerEmit;
     private final DebeziumDeserializationSchema<T> deserializer;
 
     private final AtomicBoolean snapshotCompleted = new AtomicBoolean(false);
-    private final List<LogMessage> logMessageBuffer = new LinkedList<>();
 
-    private transient Map<String, TableSchema> tableSchemaMap;
+    private transient OceanBaseRecordConverter recordConverter;
+    private transient OceanBaseTransactionBuffer<T> transactionBuffer;
+    private transient BufferCollector bufferCollector;
+    private transient volatile long commitEmitLag;
     private transient volatile long resolvedTimestamp;
     private transient volatile OceanBaseConnection snapshotConnection;
     private transient LogProxyClient logProxyClient;
@@ -120,6 +118,8 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
             int logProxyPort,
             ClientConf logProxyClientConf,
             ObReaderConfig obReaderConfig,
+            int transactionBufferMaxRecords,
+            boolean eagerEmit,
             DebeziumDeserializationSchema<T> deserializer) {
         this.snapshot = checkNotNull(snapshot);
         this.username = checkNotNull(username);
@@ -135,6 +135,8 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
         this.logProxyPort = checkNotNull(logProxyPort);
         this.logProxyClientConf = checkNotNull(logProxyClientConf);
         this.obReaderConfig = checkNotNull(obReaderConfig);
+        this.transactionBufferMaxRecords = transactionBufferMaxRecords;
+        this.eagerEmit = eagerEmit;
         this.deserializer = checkNotNull(deserializer);
     }
 
@@ -142,8 +144,36 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
     public void open(final Configuration config) throws Exception {
         super.open(config);
         this.outputCollector = new OutputCollector<>();
-        this.tableSchemaMap = new ConcurrentHashMap<>();
+        this.recordConverter = new OceanBaseRecordConverter(tenantName, zoneOffset);
+        this.transactionBuffer =
+                new OceanBaseTransactionBuffer<>(
+                        deserializer
+                                .getProducedType()
+                                .createSerializer(getRuntimeContext().getExecutionConfig()),
+                        transactionBufferMaxRecords,
+                        getSpillDirectories());
+        this.bufferCollector = new BufferCollector();
         this.resolvedTimestamp = -1;
+
+        // make RuntimeContext#getMetricGroup compatible between Flink 1.13 and Flink 1.14
+        final Method getMetricGroupMethod =
+                getRuntimeContext().getClass().getMethod("getMetricGroup");
+        getMetricGroupMethod.setAccessible(true);
+        final MetricGroup metricGroup =
+                (MetricGroup) getMetricGroupMethod.invoke(getRuntimeContext());
+        metricGroup.gauge("transactionBufferedRecords", (Gauge<Long>) transactionBuffer::size);
+        metricGroup.gauge(
+                "transactionSpilledRecords", (Gauge<Long>) transactionBuffer::spilledSize);
+        metricGroup.gauge("currentCommitEmitLag", (Gauge<Long>) () -> commitEmitLag);
+    }
+
+    private String[] getSpillDirectories() {
+        if (getRuntimeContext() instanceof StreamingRuntimeContext) {
+            return ((StreamingRuntimeContext) getRuntimeContext())
+                    .getTaskManagerRuntimeInfo()
+                    .getTmpDirectories();
+        }
+        return new String[] {System.getProperty("java.io.tmpdir")};
     }
 
     @Override
@@ -206,74 +236,19 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
     }
 
     private void readSnapshotFromTable(String databaseName, String tableName) {
-        String topicName = getDefaultTopicName(tenantName, databaseName, tableName);
-        Map<String, String> partition = getSourcePartition(tenantName, databaseName, tableName);
-        // the offset here is useless
-        Map<String, Object> offset = getSourceOffset(resolvedTimestamp);
-
         String fullName = String.format("`%s`.`%s`", databaseName, tableName);
         String selectSql = "SELECT * FROM " + fullName;
         try {
             LOG.info("Start to read snapshot from {}", fullName);
             snapshotConnection.query(
                     selectSql,
-                    rs -> {
-                        ResultSetMetaData metaData = (ResultSetMetaData) rs.getMetaData();
-                        String[] columnNames = new String[metaData.getColumnCount()];
-                        int[] jdbcTypes = new int[metaData.getColumnCount()];
-                        for (int i = 0; i < metaData.getColumnCount(); i++) {
-                            columnNames[i] = metaData.getColumnName(i + 1);
-                            jdbcTypes[i] =
-                                    OceanBaseJdbcConverter.getType(
-                                            metaData.getColumnType(i + 1),
-                                            metaData.getColumnTypeName(i + 1));
-                        }
-
-                        TableSchema tableSchema = tableSchemaMap.get(topicName);
-                        if (tableSchema == null) {
-                            tableSchema =
-                                    OceanBaseTableSchema.getTableSchema(
-                                            topicName,
-                                            databaseName,
-                                            tableName,
-                                            columnNames,
-                                            jdbcTypes,
-                                            zoneOffset);
-                            tableSchemaMap.put(topicName, tableSchema);
-                        }
-
-                        Struct source =
-                                OceanBaseSchemaUtils.sourceStruct(
-                                        tenantName, databaseName, tableName, null, null);
-
-                        while (rs.next()) {
-                            Struct value = new Struct(tableSchema.valueSchema());
-                            for (int i = 0; i < metaData.getColumnCount(); i++) {
-                                value.put(
-                                        columnNames[i],
-                                        OceanBaseJdbcConverter.getField(
-                                                jdbcTypes[i], rs.getObject(i + 1)));
-                            }
-                            Struct struct =
-                                    tableSchema.getEnvelopeSchema().create(value, source, null);
-                            try {
-                                deserializer.deserialize(
-                                        new SourceRecord(
-                                                partition,
-                                                offset,
-                                                topicName,
-                                                null,
-                                                null,
-                                                null,
-                                                struct.schema(),
-                                                struct),
-                                        outputCollector);
-                            } catch (Exception e) {
-                                LOG.error("Deserialize snapshot record failed ", e);
-                                throw new FlinkRuntimeException(e);
-                            }
-                        }
-                    });
+                    rs ->
+                            recordConverter.convertSnapshotRows(
+                                    databaseName,
+                                    tableName,
+                                    rs,
+                                    resolvedTimestamp,
+                                    record -> deserializer.deserialize(record, outputCollector)));
             LOG.info("Read snapshot from {} finished", fullName);
         } catch (SQLException e) {
             LOG.error("Read snapshot from table " + fullName + " failed", e);
@@ -313,33 +288,47 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
                                 if (!started) {
                                     break;
                                 }
-                                logMessageBuffer.add(message);
+                                try {
+                                    if (eagerEmit && isSnapshotFinished()) {
+                                        // emit the records that were buffered during the snapshot
+                                        transactionBuffer.flush(outputCollector);
+                                        deserializeChangeEvent(message, outputCollector);
+                                    } else {
+                                        deserializeChangeEvent(message, bufferCollector);
+                                    }
+                                } catch (Exception e) {
+                                    throw new FlinkRuntimeException(e);
+                                }
                                 break;
                             case COMMIT:
                                 // flush buffer after snapshot completed
-                                if (!shouldReadSnapshot() || snapshotCompleted.get()) {
-                                    logMessageBuffer.forEach(
-                                            msg -> {
-                                                try {
-                                                    deserializer.deserialize(
-                                                            getRecordFromLogMessage(msg),
-                                                            outputCollector);
-                                                } catch (Exception e) {
-                                                    throw new FlinkRuntimeException(e);
-                                                }
-                                            });
-                                    logMessageBuffer.clear();
-                                    long timestamp = getCheckpointTimestamp(message);
+                                if (isSnapshotFinished()) {
+                                    try {
+                                        transactionBuffer.flush(outputCollector);
+                                    } catch (IOException e) {
+                                        throw new FlinkRuntimeException(e);
+                                    }
+                                    long timestamp =
+                                            OceanBaseRecordConverter.getCheckpointTimestamp(
+                                                    message);
+                                    if (timestamp > 0) {
+                                        commitEmitLag =
+                                                System.currentTimeMillis() - timestamp * 1000;
+                                    }
                                     if (timestamp > resolvedTimestamp) {
                                         resolvedTimestamp = timestamp;
                                     }
                                 }
                                 break;
                             case DDL:
-                                // TODO record ddl and remove expired table schema
                                 LOG.trace(
                                         "Ddl: {}",
                                         message.getFieldList().get(0).getValue().toString());
+                                recordConverter.onSchemaChange(message);
+                                if (deserializer instanceof OceanBaseLogMessageDeserializer) {
+                                    ((OceanBaseLogMessageDeserializer<?>) deserializer)
+                                            .onSchemaChange(message);
+                                }
                                 break;
                             default:
                                 throw new UnsupportedOperationException(
@@ -362,156 +351,22 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
         LOG.info("LogProxyClient packet processing started");
     }
 
-    private SourceRecord getRecordFromLogMessage(LogMessage message) {
-        String databaseName = message.getDbName().replace(tenantName + ".", "");
-        String topicName = getDefaultTopicName(tenantName, databaseName, message.getTableName());
-
-        if (tableSchemaMap.get(topicName) == null) {
-            String[] columnNames = new String[message.getFieldCount()];
-            int[] jdbcTypes = new int[message.getFieldCount()];
-            int i = 0;
-            for (DataMessage.Record.Field field : message.getFieldList()) {
-                if (message.getOpt() == DataMessage.Record.Type.UPDATE && field.isPrev()) {
-                    continue;
-                }
-                columnNames[i] = field.getFieldname();
-                jdbcTypes[i] = OceanBaseJdbcConverter.getType(field.getType());
-                i++;
-            }
-            TableSchema tableSchema =
-                    OceanBaseTableSchema.getTableSchema(
-                            topicName, databaseName, tableName, columnNames, jdbcTypes, zoneOffset);
-            tableSchemaMap.put(topicName, tableSchema);
-        }
-
-        Struct source =
-                OceanBaseSchemaUtils.sourceStruct(
-                        tenantName,
-                        databaseName,
-                        message.getTableName(),
-                        String.valueOf(getCheckpointTimestamp(message)),
-                        message.getOB10UniqueId());
-        Struct struct;
-        switch (message.getOpt()) {
-            case INSERT:
-                Struct after = getLogValueStruct(topicName, message.getFieldList());
-                struct =
-                        tableSchemaMap
-                                .get(topicName)
-                                .getEnvelopeSchema()
-                                .create(after, source, null);
-                break;
-            case UPDATE:
-                List<DataMessage.Record.Field> beforeFields = new ArrayList<>();
-                List<DataMessage.Record.Field> afterFields = new ArrayList<>();
-                for (DataMessage.Record.Field field : message.getFieldList()) {
-                    if (field.isPrev()) {
-                        beforeFields.add(field);
-                    } else {
-                        afterFields.add(field);
-                    }
-                }
-                after = getLogValueStruct(topicName, afterFields);
-                Struct before = getLogValueStruct(topicName, beforeFields);
-                struct =
-                        tableSchemaMap
-                                .get(topicName)
-                                .getEnvelopeSchema()
-                                .update(before, after, source, null);
-                break;
-            case DELETE:
-                before = getLogValueStruct(topicName, message.getFieldList());
-                struct =
-                        tableSchemaMap
-                                .get(topicName)
-                                .getEnvelopeSchema()
-                                .delete(before, source, null);
-                break;
-            default:
-                throw new UnsupportedOperationException(
-                        "Unsupported dml type: " + message.getOpt());
-        }
-        return new SourceRecord(
-                getSourcePartition(tenantName, databaseName, message.getTableName()),
-                getSourceOffset(getCheckpointTimestamp(message)),
-                topicName,
-                null,
-                null,
-                null,
-                struct.schema(),
-                struct);
-    }
-
     private boolean shouldReadSnapshot() {
         return resolvedTimestamp == -1 && snapshot;
     }
 
-    private String getDefaultTopicName(String tenantName, String databaseName, String tableName) {
-        return String.format("%s.%s.%s", tenantName, databaseName, tableName);
-    }
-
-    private Map<String, String> getSourcePartition(
-            String tenantName, String databaseName, String tableName) {
-        Map<String, String> sourcePartition = new HashMap<>();
-        sourcePartition.put("tenant", tenantName);
-        sourcePartition.put("database", databaseName);
-        sourcePartition.put("table", tableName);
-        return sourcePartition;
-    }
-
-    private Map<String, Object> getSourceOffset(long timestamp) {
-        Map<String, Object> sourceOffset = new HashMap<>();
-        sourceOffset.put("timestamp", timestamp);
-        return sourceOffset;
-    }
-
-    private Struct getLogValueStruct(String topicName, List<DataMessage.Record.Field> fieldList) {
-        TableSchema tableSchema = tableSchemaMap.get(topicName);
-        Struct value = new Struct(tableSchema.valueSchema());
-        Object fieldValue;
-        for (DataMessage.Record.Field field : fieldList) {
-            try {
-                Schema fieldSchema = tableSchema.valueSchema().field(field.getFieldname()).schema();
-                fieldValue =
-                        OceanBaseJdbcConverter.getField(
-                                fieldSchema.type(), field.getType(), field.getValue());
-                value.put(field.getFieldname(), fieldValue);
-            } catch (NumberFormatException e) {
-                tableSchema =
-                        OceanBaseTableSchema.upcastingTableSchema(
-                                topicName,
-                                tableSchema,
-                                fieldList.stream()
-                                        .collect(
-                                                Collectors.toMap(
-                                                        DataMessage.Record.Field::getFieldname,
-                                                        f -> f.getValue().toString())));
-                tableSchemaMap.put(topicName, tableSchema);
-                return getLogValueStruct(topicName, fieldList);
-            }
+    @SuppressWarnings("unchecked")
+    private void deserializeChangeEvent(LogMessage message, Collector<T> collector)
+            throws Exception {
+        if (deserializer instanceof OceanBaseLogMessageDeserializer) {
+            ((OceanBaseLogMessageDeserializer<T>) deserializer).deserialize(message, collector);
+        } else {
+            deserializer.deserialize(recordConverter.convertLogMessage(message), collector);
         }
-        return value;
     }
 
-    /**
-     * Get log message checkpoint timestamp in seconds. Refer to 'globalSafeTimestamp' in {@link
-     * LogMessage}.
-     *
-     * @param message Log message.
-     * @return Timestamp in seconds.
-     */
-    private long getCheckpointTimestamp(LogMessage message) {
-        long timestamp = -1;
-        try {
-            if (DataMessage.Record.Type.HEARTBEAT.equals(message.getOpt())) {
-                timestamp = Long.parseLong(message.getTimestamp());
-            } else {
-                timestamp = message.getFileNameOffset();
-            }
-        } catch (Throwable t) {
-            LOG.error("Failed to get checkpoint from log message", t);
-        }
-        return timestamp;
+    private boolean isSnapshotFinished() {
+        return !shouldReadSnapshot() || snapshotCompleted.get();
     }
 
     @Override
@@ -565,6 +420,35 @@ public class OceanBaseRichSourceFunction<T> extends RichSourceFunction<T>
         }
     }
 
+    @Override
+    public void close() throws Exception {
+        try {
+            if (transactionBuffer != null) {
+                transactionBuffer.close();
+            }
+        } finally {
+            super.close();
+        }
+    }
+
+    /** Adds the records of the transactions to the {@link OceanBaseTransactionBuffer}. */
+    private class BufferCollector implements Collector<T> {
+
+        @Override
+        public void collect(T record) {
+            try {
+                transactionBuffer.add(record);
+            } catch (IOException e) {
+                throw new FlinkRuntimeException("Failed to buffer the change record", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+    }
+
     private static class OutputCollector<T> implements Collector<T> {
 
         private SourceContext<T> context;
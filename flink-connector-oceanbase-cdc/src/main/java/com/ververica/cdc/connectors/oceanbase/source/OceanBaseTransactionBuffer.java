@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputViewStreamWrapper;
+import org.apache.flink.core.memory.DataOutputViewStreamWrapper;
+import org.apache.flink.util.Collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Buffers the records of the transactions received from the log proxy until they can be emitted.
+ *
+ * <p>At most {@code maxMemoryRecords} records are kept on the heap, the following records are
+ * serialized into a file in one of the spill directories, so that the memory used by a large
+ * transaction is bounded. The records are emitted in the order they were added.
+ *
+ * <p>The buffer is not thread-safe except for the size getters, which are used by the metrics.
+ */
+public class OceanBaseTransactionBuffer<T> implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OceanBaseTransactionBuffer.class);
+
+    private static final int SPILL_BUFFER_SIZE = 64 * 1024;
+
+    private final TypeSerializer<T> serializer;
+    private final int maxMemoryRecords;
+    private final String[] spillDirectories;
+    private final List<T> memoryRecords = new ArrayList<>();
+
+    private File spillFile;
+    private DataOutputViewStreamWrapper spillOutput;
+    private volatile int memoryRecordCount;
+    private volatile long spilledRecordCount;
+
+    public OceanBaseTransactionBuffer(
+            TypeSerializer<T> serializer, int maxMemoryRecords, String[] spillDirectories) {
+        checkArgument(maxMemoryRecords >= 0, "maxMemoryRecords must not be negative");
+        checkArgument(spillDirectories.length > 0, "spillDirectories must not be empty");
+        this.serializer = serializer;
+        this.maxMemoryRecords = maxMemoryRecords;
+        this.spillDirectories = spillDirectories;
+    }
+
+    /** Adds a record to the end of the buffer. */
+    public void add(T record) throws IOException {
+        if (spillOutput == null && memoryRecords.size() < maxMemoryRecords) {
+            memoryRecords.add(record);
+            memoryRecordCount = memoryRecords.size();
+            return;
+        }
+        if (spillOutput == null) {
+            openSpillFile();
+        }
+        serializer.serialize(record, spillOutput);
+        spilledRecordCount++;
+    }
+
+    /** Emits all buffered records in the order they were added and clears the buffer. */
+    public void flush(Collector<T> out) throws IOException {
+        for (T record : memoryRecords) {
+            out.collect(record);
+        }
+        memoryRecords.clear();
+        memoryRecordCount = 0;
+        if (spillOutput != null) {
+            spillOutput.close();
+            spillOutput = null;
+            try (DataInputViewStreamWrapper in =
+                    new DataInputViewStreamWrapper(
+                            new BufferedInputStream(
+                                    new FileInputStream(spillFile), SPILL_BUFFER_SIZE))) {
+                for (long i = 0; i < spilledRecordCount; i++) {
+                    out.collect(serializer.deserialize(in));
+                }
+            } finally {
+                deleteSpillFile();
+            }
+        }
+    }
+
+    /** Returns the number of buffered records, including the spilled ones. */
+    public long size() {
+        return memoryRecordCount + spilledRecordCount;
+    }
+
+    /** Returns the number of buffered records that have been spilled to disk. */
+    public long spilledSize() {
+        return spilledRecordCount;
+    }
+
+    private void openSpillFile() throws IOException {
+        final String directory =
+                spillDirectories[ThreadLocalRandom.current().nextInt(spillDirectories.length)];
+        spillFile = new File(directory, "oceanbase-transaction-" + UUID.randomUUID() + ".spill");
+        LOG.info(
+                "Transaction buffer exceeds {} records, spill the following records to {}",
+                maxMemoryRecords,
+                spillFile);
+        spillOutput =
+                new DataOutputViewStreamWrapper(
+                        new BufferedOutputStream(
+                                new FileOutputStream(spillFile), SPILL_BUFFER_SIZE));
+    }
+
+    private void deleteSpillFile() {
+        if (spillFile != null && !spillFile.delete() && spillFile.exists()) {
+            LOG.warn("Failed to delete the spill file {}", spillFile);
+        }
+        spillFile = null;
+        spilledRecordCount = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        memoryRecords.clear();
+        memoryRecordCount = 0;
+        try {
+            if (spillOutput != null) {
+                spillOutput.close();
+                spillOutput = null;
+            }
+        } finally {
+            deleteSpillFile();
+        }
+    }
+}
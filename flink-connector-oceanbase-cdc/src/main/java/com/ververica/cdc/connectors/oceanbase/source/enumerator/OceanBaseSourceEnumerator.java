@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.enumerator;
+
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsState;
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridSourceEnumerator;
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseConnection;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSnapshotSplit;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSourceSplit;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseStreamSplit;
+import com.ververica.cdc.connectors.oceanbase.source.utils.OceanBaseChunkUtils;
+import com.ververica.cdc.connectors.oceanbase.table.StartupMode;
+import io.debezium.relational.TableId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An OceanBase source enumerator that splits each captured table into chunks of primary key ranges
+ * and hands out the stream split once all snapshot splits have been read.
+ *
+ * <p>All snapshot splits are read at the same timestamp and the stream split starts from that
+ * timestamp, so the change events continue where the snapshot stops.
+ */
+public class OceanBaseSourceEnumerator extends HybridSourceEnumerator<OceanBaseSourceSplit> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OceanBaseSourceEnumerator.class);
+
+    private static final String STREAM_SPLIT_ID = "stream";
+
+    private final String hostname;
+    private final Integer port;
+    private final String username;
+    private final String password;
+    private final Duration connectTimeout;
+    private final String databaseName;
+    private final String tableName;
+    private final StartupMode startupMode;
+    private final long startupTimestamp;
+    private final int chunkSize;
+
+    public OceanBaseSourceEnumerator(
+            SplitEnumeratorContext<OceanBaseSourceSplit> context,
+            String hostname,
+            Integer port,
+            String username,
+            String password,
+            Duration connectTimeout,
+            String databaseName,
+            String tableName,
+            StartupMode startupMode,
+            long startupTimestamp,
+            int chunkSize,
+            @Nullable HybridPendingSplitsState<OceanBaseSourceSplit> restoredState) {
+        super(context, restoredState);
+        this.hostname = hostname;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.connectTimeout = connectTimeout;
+        this.databaseName = databaseName;
+        this.tableName = tableName;
+        this.startupMode = startupMode;
+        this.startupTimestamp = startupTimestamp;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected void createSplits() {
+        if (startupMode != StartupMode.INITIAL) {
+            remainingStreamSplits.add(new OceanBaseStreamSplit(STREAM_SPLIT_ID, startupTimestamp));
+            return;
+        }
+        try (OceanBaseConnection connection =
+                new OceanBaseConnection(
+                        hostname,
+                        port,
+                        username,
+                        password,
+                        connectTimeout,
+                        getClass().getClassLoader())) {
+            final long snapshotTimestamp = OceanBaseChunkUtils.currentTimestamp(connection);
+            for (TableId tableId :
+                    OceanBaseChunkUtils.listTables(connection, databaseName, tableName)) {
+                final List<String> keyColumns =
+                        OceanBaseChunkUtils.primaryKeyColumns(connection, tableId);
+                final List<Object> splitKeys =
+                        keyColumns.isEmpty()
+                                ? Collections.emptyList()
+                                : OceanBaseChunkUtils.splitKeys(
+                                        connection, tableId, keyColumns.get(0), chunkSize);
+                Object lowerBound = null;
+                for (int i = 0; i <= splitKeys.size(); i++) {
+                    final Object upperBound = i < splitKeys.size() ? splitKeys.get(i) : null;
+                    remainingSnapshotSplits.add(
+                            new OceanBaseSnapshotSplit(
+                                    tableId + ":" + i,
+                                    tableId.catalog(),
+                                    tableId.table(),
+                                    keyColumns,
+                                    lowerBound,
+                                    upperBound,
+                                    snapshotTimestamp,
+                                    0,
+                                    false));
+                    lowerBound = upperBound;
+                }
+                LOG.info(
+                        "Split table {} into {} snapshot splits at timestamp {}",
+                        tableId,
+                        splitKeys.size() + 1,
+                        snapshotTimestamp);
+            }
+            remainingStreamSplits.add(new OceanBaseStreamSplit(STREAM_SPLIT_ID, snapshotTimestamp));
+        } catch (Exception e) {
+            throw new FlinkRuntimeException("Failed to create the OceanBase source splits", e);
+        }
+    }
+}
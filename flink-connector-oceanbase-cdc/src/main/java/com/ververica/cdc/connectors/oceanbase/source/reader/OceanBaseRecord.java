@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.reader;
+
+import org.apache.kafka.connect.source.SourceRecord;
+
+/**
+ * A record fetched by the {@link OceanBaseSplitReader}, which is either a row of a snapshot split,
+ * a change event or a commit marker of a stream split.
+ */
+public final class OceanBaseRecord {
+
+    private final SourceRecord record;
+    private final boolean snapshotRecord;
+    private final long commitTimestamp;
+
+    private OceanBaseRecord(SourceRecord record, boolean snapshotRecord, long commitTimestamp) {
+        this.record = record;
+        this.snapshotRecord = snapshotRecord;
+        this.commitTimestamp = commitTimestamp;
+    }
+
+    public static OceanBaseRecord ofSnapshot(SourceRecord record) {
+        return new OceanBaseRecord(record, true, -1);
+    }
+
+    public static OceanBaseRecord ofChange(SourceRecord record) {
+        return new OceanBaseRecord(record, false, -1);
+    }
+
+    public static OceanBaseRecord ofCommit(long commitTimestamp) {
+        return new OceanBaseRecord(null, false, commitTimestamp);
+    }
+
+    public boolean isSnapshotRecord() {
+        return snapshotRecord;
+    }
+
+    /** Returns the source record of the row or change event, null for a commit marker. */
+    public SourceRecord getRecord() {
+        return record;
+    }
+
+    /** Returns the timestamp in seconds of the transaction of the commit marker. */
+    public long getCommitTimestamp() {
+        return commitTimestamp;
+    }
+}
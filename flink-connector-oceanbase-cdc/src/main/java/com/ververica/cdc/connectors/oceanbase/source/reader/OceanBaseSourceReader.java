@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.reader;
+
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+
+import com.ververica.cdc.connectors.base.source.hybrid.reader.HybridSourceReader;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSnapshotSplitState;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSourceSplit;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSourceSplitState;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseStreamSplitState;
+
+import java.util.function.Supplier;
+
+/** The source reader for OceanBase source splits. */
+public class OceanBaseSourceReader<T>
+        extends HybridSourceReader<
+                OceanBaseRecord, T, OceanBaseSourceSplit, OceanBaseSourceSplitState> {
+
+    public OceanBaseSourceReader(
+            FutureCompletingBlockingQueue<RecordsWithSplitIds<OceanBaseRecord>> elementQueue,
+            Supplier<OceanBaseSplitReader> splitReaderSupplier,
+            RecordEmitter<OceanBaseRecord, T, OceanBaseSourceSplitState> recordEmitter,
+            Configuration config,
+            SourceReaderContext context) {
+        super(elementQueue, splitReaderSupplier::get, recordEmitter, config, context);
+    }
+
+    @Override
+    protected OceanBaseSourceSplitState initializedState(OceanBaseSourceSplit split) {
+        if (split.isSnapshotSplit()) {
+            return new OceanBaseSnapshotSplitState(split.asSnapshotSplit());
+        } else {
+            return new OceanBaseStreamSplitState(split.asStreamSplit());
+        }
+    }
+
+    @Override
+    protected OceanBaseSourceSplit toFinishedSplit(OceanBaseSourceSplitState splitState) {
+        return splitState.asSnapshotSplitState().toSourceSplit().asFinished();
+    }
+}
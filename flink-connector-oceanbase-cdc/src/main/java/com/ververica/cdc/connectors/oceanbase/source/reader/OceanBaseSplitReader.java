@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.reader;
+
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+
+import com.oceanbase.clogproxy.client.LogProxyClient;
+import com.oceanbase.clogproxy.client.config.ClientConf;
+import com.oceanbase.clogproxy.client.config.ObReaderConfig;
+import com.oceanbase.clogproxy.client.exception.LogProxyClientException;
+import com.oceanbase.clogproxy.client.listener.RecordListener;
+import com.oceanbase.oms.logmessage.LogMessage;
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseConnection;
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseRecordConverter;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSnapshotSplit;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSourceSplit;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseStreamSplit;
+import com.ververica.cdc.connectors.oceanbase.source.utils.OceanBaseChunkUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link SplitReader} implementation for the OceanBase source. Each fetch reads one snapshot
+ * split completely, which is bounded by the chunk size, and the stream split is polled once there
+ * are no snapshot splits left.
+ */
+public class OceanBaseSplitReader implements SplitReader<OceanBaseRecord, OceanBaseSourceSplit> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OceanBaseSplitReader.class);
+
+    /** The max number of log messages waiting to be fetched from a stream split. */
+    private static final int QUEUE_CAPACITY = 4096;
+
+    /** The max number of log messages fetched from a stream split at once. */
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private static final long POLL_TIMEOUT_MILLIS = 500L;
+
+    private final String hostname;
+    private final Integer port;
+    private final String username;
+    private final String password;
+    private final Duration connectTimeout;
+    private final String logProxyHost;
+    private final int logProxyPort;
+    private final ClientConf logProxyClientConf;
+    private final ObReaderConfig obReaderConfig;
+    private final OceanBaseRecordConverter recordConverter;
+    private final ArrayDeque<OceanBaseSnapshotSplit> snapshotSplits = new ArrayDeque<>();
+    private final List<StreamSplitReader> streamSplitReaders = new ArrayList<>();
+
+    @Nullable private OceanBaseConnection snapshotConnection;
+
+    public OceanBaseSplitReader(
+            String hostname,
+            Integer port,
+            String username,
+            String password,
+            Duration connectTimeout,
+            String tenantName,
+            ZoneOffset zoneOffset,
+            String logProxyHost,
+            int logProxyPort,
+            ClientConf logProxyClientConf,
+            ObReaderConfig obReaderConfig) {
+        this.hostname = hostname;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.connectTimeout = connectTimeout;
+        this.logProxyHost = logProxyHost;
+        this.logProxyPort = logProxyPort;
+        this.logProxyClientConf = logProxyClientConf;
+        this.obReaderConfig = obReaderConfig;
+        this.recordConverter = new OceanBaseRecordConverter(tenantName, zoneOffset);
+    }
+
+    @Override
+    public RecordsWithSplitIds<OceanBaseRecord> fetch() throws IOException {
+        if (!snapshotSplits.isEmpty()) {
+            return readSnapshotSplit(snapshotSplits.poll());
+        }
+        final RecordsBySplits.Builder<OceanBaseRecord> builder = new RecordsBySplits.Builder<>();
+        for (StreamSplitReader reader : streamSplitReaders) {
+            reader.poll(builder);
+        }
+        return builder.build();
+    }
+
+    private RecordsWithSplitIds<OceanBaseRecord> readSnapshotSplit(OceanBaseSnapshotSplit split)
+            throws IOException {
+        LOG.info("Start reading snapshot split {}", split);
+        final RecordsBySplits.Builder<OceanBaseRecord> builder = new RecordsBySplits.Builder<>();
+        try {
+            getSnapshotConnection()
+                    .prepareQuery(
+                            OceanBaseChunkUtils.buildChunkQuery(split),
+                            statement -> OceanBaseChunkUtils.bindChunkQuery(statement, split),
+                            rs -> {
+                                // skip the rows emitted before the split was checkpointed, which
+                                // are only in a stable order if the rows are ordered by the key
+                                final long offset =
+                                        split.getKeyColumns().isEmpty() ? 0L : split.getOffset();
+                                for (long i = 0; i < offset; i++) {
+                                    if (!rs.next()) {
+                                        return;
+                                    }
+                                }
+                                recordConverter.convertSnapshotRows(
+                                        split.getDatabaseName(),
+                                        split.getTableName(),
+                                        rs,
+                                        split.getSnapshotTimestamp(),
+                                        record ->
+                                                builder.add(
+                                                        split, OceanBaseRecord.ofSnapshot(record)));
+                            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to read snapshot split " + split, e);
+        }
+        LOG.info("Finished reading snapshot split {}", split);
+        builder.addFinishedSplit(split.splitId());
+        return builder.build();
+    }
+
+    private OceanBaseConnection getSnapshotConnection() {
+        if (snapshotConnection == null) {
+            snapshotConnection =
+                    new OceanBaseConnection(
+                            hostname,
+                            port,
+                            username,
+                            password,
+                            connectTimeout,
+                            getClass().getClassLoader());
+        }
+        return snapshotConnection;
+    }
+
+    @Override
+    public void handleSplitsChanges(SplitsChange<OceanBaseSourceSplit> splitsChanges) {
+        if (!(splitsChanges instanceof SplitsAddition)) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "The SplitChange type of %s is not supported.",
+                            splitsChanges.getClass()));
+        }
+        LOG.debug("Handling split change {}", splitsChanges);
+        for (OceanBaseSourceSplit split : splitsChanges.splits()) {
+            if (split.isSnapshotSplit()) {
+                snapshotSplits.add(split.asSnapshotSplit());
+            } else {
+                streamSplitReaders.add(new StreamSplitReader(split.asStreamSplit()));
+            }
+        }
+    }
+
+    @Override
+    public void wakeUp() {
+        // the fetch is bounded by the chunk size and the poll timeout of the stream splits
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (StreamSplitReader reader : streamSplitReaders) {
+            reader.close();
+        }
+        streamSplitReaders.clear();
+        if (snapshotConnection != null) {
+            snapshotConnection.close();
+            snapshotConnection = null;
+        }
+    }
+
+    /**
+     * Reads the log messages of a stream split from the log proxy. The messages are handed over to
+     * the fetcher through a bounded queue once they are received, which blocks the listener when
+     * the fetcher falls behind, and the commit messages advance the resolved timestamp of the
+     * split. The DDL messages go through the same queue, so that the record converter is only used
+     * by the fetcher and the schemas are evicted in the order of the log.
+     */
+    private class StreamSplitReader implements RecordListener {
+
+        private final OceanBaseStreamSplit split;
+        private final BlockingQueue<LogMessage> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+        private final LogProxyClient client;
+
+        private boolean started = false;
+        @Nullable private volatile Throwable error;
+
+        private StreamSplitReader(OceanBaseStreamSplit split) {
+            this.split = split;
+            if (split.getStartTimestamp() > 0) {
+                obReaderConfig.updateCheckpoint(Long.toString(split.getStartTimestamp()));
+            }
+            LOG.info("Start reading stream split {}", split);
+            this.client =
+                    new LogProxyClient(
+                            logProxyHost, logProxyPort, obReaderConfig, logProxyClientConf);
+            client.addListener(this);
+            client.start();
+        }
+
+        @Override
+        public void notify(LogMessage message) {
+            try {
+                switch (message.getOpt()) {
+                    case HEARTBEAT:
+                    case BEGIN:
+                        started = true;
+                        break;
+                    case INSERT:
+                    case UPDATE:
+                    case DELETE:
+                        if (started) {
+                            queue.put(message);
+                        }
+                        break;
+                    case COMMIT:
+                    case DDL:
+                        // the cached schemas are evicted by the fetcher in the order of the log,
+                        // after the change messages before the DDL have been converted
+                        queue.put(message);
+                        break;
+                    default:
+                        throw new UnsupportedOperationException(
+                                "Unsupported type: " + message.getOpt());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = e;
+            } catch (RuntimeException e) {
+                error = e;
+                client.stop();
+            }
+        }
+
+        @Override
+        public void onException(LogProxyClientException e) {
+            LOG.error("LogProxyClient exception", e);
+            error = e;
+            client.stop();
+        }
+
+        private void poll(RecordsBySplits.Builder<OceanBaseRecord> builder) throws IOException {
+            if (error != null) {
+                throw new IOException("Failed to read stream split " + split, error);
+            }
+            final List<LogMessage> messages = new ArrayList<>();
+            try {
+                final LogMessage first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    return;
+                }
+                messages.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            queue.drainTo(messages, MAX_BATCH_SIZE - 1);
+            for (LogMessage message : messages) {
+                switch (message.getOpt()) {
+                    case COMMIT:
+                        builder.add(
+                                split,
+                                OceanBaseRecord.ofCommit(
+                                        OceanBaseRecordConverter.getCheckpointTimestamp(message)));
+                        break;
+                    case DDL:
+                        LOG.trace("Ddl: {}", message.getFieldList().get(0).getValue().toString());
+                        recordConverter.onSchemaChange(message);
+                        break;
+                    default:
+                        builder.add(
+                                split,
+                                OceanBaseRecord.ofChange(
+                                        recordConverter.convertLogMessage(message)));
+                }
+            }
+        }
+
+        private void close() {
+            client.stop();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.split;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The split to describe a chunk of a table, i.e. the rows whose split column is within the range
+ * {@code (lowerBound, upperBound]}. A null bound means the range is unbounded on that side, and a
+ * table without primary key is read as a single split without bounds.
+ */
+public class OceanBaseSnapshotSplit extends OceanBaseSourceSplit {
+
+    private final String databaseName;
+    private final String tableName;
+
+    /** The primary key columns of the table, the first one is the split column. */
+    private final List<String> keyColumns;
+
+    /** The value of the split column the split starts after, exclusive. */
+    @Nullable private final Object lowerBound;
+
+    /** The value of the split column the split ends at, inclusive. */
+    @Nullable private final Object upperBound;
+
+    /** The timestamp in seconds to read the split at, 0 to read the latest data. */
+    private final long snapshotTimestamp;
+
+    /** The number of rows of the split that have been emitted. */
+    private final long offset;
+
+    private final boolean finished;
+
+    public OceanBaseSnapshotSplit(
+            String splitId,
+            String databaseName,
+            String tableName,
+            List<String> keyColumns,
+            @Nullable Object lowerBound,
+            @Nullable Object upperBound,
+            long snapshotTimestamp,
+            long offset,
+            boolean finished) {
+        super(splitId);
+        this.databaseName = databaseName;
+        this.tableName = tableName;
+        this.keyColumns = keyColumns;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.snapshotTimestamp = snapshotTimestamp;
+        this.offset = offset;
+        this.finished = finished;
+    }
+
+    public String getDatabaseName() {
+        return databaseName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<String> getKeyColumns() {
+        return keyColumns;
+    }
+
+    @Nullable
+    public Object getLowerBound() {
+        return lowerBound;
+    }
+
+    @Nullable
+    public Object getUpperBound() {
+        return upperBound;
+    }
+
+    public long getSnapshotTimestamp() {
+        return snapshotTimestamp;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    /** Whether all rows of the split have been read. */
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** Returns a copy of this split which has been read completely. */
+    public OceanBaseSnapshotSplit asFinished() {
+        return new OceanBaseSnapshotSplit(
+                splitId,
+                databaseName,
+                tableName,
+                keyColumns,
+                lowerBound,
+                upperBound,
+                snapshotTimestamp,
+                offset,
+                true);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        OceanBaseSnapshotSplit that = (OceanBaseSnapshotSplit) o;
+        return snapshotTimestamp == that.snapshotTimestamp
+                && offset == that.offset
+                && finished == that.finished
+                && Objects.equals(databaseName, that.databaseName)
+                && Objects.equals(tableName, that.tableName)
+                && Objects.equals(keyColumns, that.keyColumns)
+                && Objects.deepEquals(lowerBound, that.lowerBound)
+                && Objects.deepEquals(upperBound, that.upperBound);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                super.hashCode(),
+                databaseName,
+                tableName,
+                keyColumns,
+                snapshotTimestamp,
+                offset,
+                finished);
+    }
+
+    @Override
+    public String toString() {
+        return "OceanBaseSnapshotSplit{"
+                + "splitId='"
+                + splitId
+                + '\''
+                + ", table="
+                + databaseName
+                + '.'
+                + tableName
+                + ", keyColumns="
+                + keyColumns
+                + ", lowerBound="
+                + lowerBound
+                + ", upperBound="
+                + upperBound
+                + ", snapshotTimestamp="
+                + snapshotTimestamp
+                + ", offset="
+                + offset
+                + ", finished="
+                + finished
+                + '}';
+    }
+}
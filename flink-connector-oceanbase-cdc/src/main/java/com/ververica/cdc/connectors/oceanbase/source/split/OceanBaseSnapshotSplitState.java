@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.split;
+
+/**
+ * The state of split to describe the read progress of a {@link OceanBaseSnapshotSplit}.
+ *
+ * <p>The rows of a table with primary key are read in the order of the key, so a restored split
+ * skips the rows that have been emitted. The rows of a table without primary key are read in no
+ * particular order, so such a split is read from scratch again after a failover and its rows may be
+ * emitted more than once.
+ */
+public class OceanBaseSnapshotSplitState extends OceanBaseSourceSplitState {
+
+    private final OceanBaseSnapshotSplit split;
+
+    /** The number of rows of the split that have been emitted. */
+    private long offset;
+
+    public OceanBaseSnapshotSplitState(OceanBaseSnapshotSplit split) {
+        this.split = split;
+        this.offset = split.getOffset();
+    }
+
+    public void increaseOffset() {
+        offset++;
+    }
+
+    @Override
+    public OceanBaseSnapshotSplit toSourceSplit() {
+        if (offset == split.getOffset() || split.getKeyColumns().isEmpty()) {
+            return split;
+        }
+        return new OceanBaseSnapshotSplit(
+                split.splitId(),
+                split.getDatabaseName(),
+                split.getTableName(),
+                split.getKeyColumns(),
+                split.getLowerBound(),
+                split.getUpperBound(),
+                split.getSnapshotTimestamp(),
+                offset,
+                split.isFinished());
+    }
+
+    @Override
+    public String toString() {
+        return "OceanBaseSnapshotSplitState{" + "split=" + split + ", offset=" + offset + '}';
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.split;
+
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplit;
+
+/**
+ * The split of tables which is read by {@link OceanBaseSnapshotSplit} or {@link
+ * OceanBaseStreamSplit}.
+ */
+public abstract class OceanBaseSourceSplit extends HybridSourceSplit {
+
+    public OceanBaseSourceSplit(String splitId) {
+        super(splitId);
+    }
+
+    @Override
+    public final boolean isSnapshotSplit() {
+        return getClass() == OceanBaseSnapshotSplit.class;
+    }
+
+    /** Casts this split into a {@link OceanBaseSnapshotSplit}. */
+    public final OceanBaseSnapshotSplit asSnapshotSplit() {
+        return (OceanBaseSnapshotSplit) this;
+    }
+
+    /** Casts this split into a {@link OceanBaseStreamSplit}. */
+    public final OceanBaseStreamSplit asStreamSplit() {
+        return (OceanBaseStreamSplit) this;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.split;
+
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.util.InstantiationUtil;
+
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplitSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A serializer for the {@link OceanBaseSourceSplit}. */
+public final class OceanBaseSourceSplitSerializer
+        extends HybridSourceSplitSerializer<OceanBaseSourceSplit> {
+
+    public static final OceanBaseSourceSplitSerializer INSTANCE =
+            new OceanBaseSourceSplitSerializer();
+
+    @Override
+    public void writeSplit(OceanBaseSourceSplit split, DataOutputView out) throws IOException {
+        if (split.isSnapshotSplit()) {
+            final OceanBaseSnapshotSplit snapshotSplit = split.asSnapshotSplit();
+            out.writeInt(SNAPSHOT_SPLIT_FLAG);
+            out.writeUTF(snapshotSplit.splitId());
+            out.writeUTF(snapshotSplit.getDatabaseName());
+            out.writeUTF(snapshotSplit.getTableName());
+            out.writeInt(snapshotSplit.getKeyColumns().size());
+            for (String keyColumn : snapshotSplit.getKeyColumns()) {
+                out.writeUTF(keyColumn);
+            }
+            writeBound(snapshotSplit.getLowerBound(), out);
+            writeBound(snapshotSplit.getUpperBound(), out);
+            out.writeLong(snapshotSplit.getSnapshotTimestamp());
+            out.writeLong(snapshotSplit.getOffset());
+            out.writeBoolean(snapshotSplit.isFinished());
+        } else {
+            final OceanBaseStreamSplit streamSplit = split.asStreamSplit();
+            out.writeInt(STREAM_SPLIT_FLAG);
+            out.writeUTF(streamSplit.splitId());
+            out.writeLong(streamSplit.getStartTimestamp());
+        }
+    }
+
+    @Override
+    public OceanBaseSourceSplit readSplit(DataInputView in) throws IOException {
+        final int splitKind = in.readInt();
+        if (splitKind == SNAPSHOT_SPLIT_FLAG) {
+            final String splitId = in.readUTF();
+            final String databaseName = in.readUTF();
+            final String tableName = in.readUTF();
+            final int size = in.readInt();
+            final List<String> keyColumns = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                keyColumns.add(in.readUTF());
+            }
+            return new OceanBaseSnapshotSplit(
+                    splitId,
+                    databaseName,
+                    tableName,
+                    keyColumns,
+                    readBound(in),
+                    readBound(in),
+                    in.readLong(),
+                    in.readLong(),
+                    in.readBoolean());
+        } else if (splitKind == STREAM_SPLIT_FLAG) {
+            return new OceanBaseStreamSplit(in.readUTF(), in.readLong());
+        } else {
+            throw new IOException("Unknown split kind: " + splitKind);
+        }
+    }
+
+    private static void writeBound(Object bound, DataOutputView out) throws IOException {
+        if (bound == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = InstantiationUtil.serializeObject(bound);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static Object readBound(DataInputView in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        try {
+            return InstantiationUtil.deserializeObject(
+                    bytes, OceanBaseSourceSplitSerializer.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Failed to deserialize the bound of the split", e);
+        }
+    }
+}
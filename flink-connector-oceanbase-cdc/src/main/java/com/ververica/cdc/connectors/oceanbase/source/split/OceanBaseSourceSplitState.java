@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.split;
+
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplitState;
+
+/** State of the reader, essentially a mutable version of the {@link OceanBaseSourceSplit}. */
+public abstract class OceanBaseSourceSplitState
+        extends HybridSourceSplitState<OceanBaseSourceSplit> {
+
+    /** Checks whether this split state is a snapshot split state. */
+    public final boolean isSnapshotSplitState() {
+        return getClass() == OceanBaseSnapshotSplitState.class;
+    }
+
+    /** Casts this split state into a {@link OceanBaseSnapshotSplitState}. */
+    public final OceanBaseSnapshotSplitState asSnapshotSplitState() {
+        return (OceanBaseSnapshotSplitState) this;
+    }
+
+    /** Casts this split state into a {@link OceanBaseStreamSplitState}. */
+    public final OceanBaseStreamSplitState asStreamSplitState() {
+        return (OceanBaseStreamSplitState) this;
+    }
+}
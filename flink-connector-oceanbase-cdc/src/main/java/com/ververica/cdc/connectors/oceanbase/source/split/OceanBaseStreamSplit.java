@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.split;
+
+import java.util.Objects;
+
+/**
+ * The split to describe the change events of all captured tables of the tenant, which are read from
+ * the log proxy starting at the given timestamp.
+ */
+public class OceanBaseStreamSplit extends OceanBaseSourceSplit {
+
+    /** The timestamp in seconds to start reading the change events at. */
+    private final long startTimestamp;
+
+    public OceanBaseStreamSplit(String splitId, long startTimestamp) {
+        super(splitId);
+        this.startTimestamp = startTimestamp;
+    }
+
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        OceanBaseStreamSplit that = (OceanBaseStreamSplit) o;
+        return startTimestamp == that.startTimestamp;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), startTimestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "OceanBaseStreamSplit{"
+                + "splitId='"
+                + splitId
+                + '\''
+                + ", startTimestamp="
+                + startTimestamp
+                + '}';
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.split;
+
+/** The state of split to describe the resolved timestamp of a {@link OceanBaseStreamSplit}. */
+public class OceanBaseStreamSplitState extends OceanBaseSourceSplitState {
+
+    private final OceanBaseStreamSplit split;
+
+    /** The commit timestamp in seconds of the last transaction that has been emitted completely. */
+    private long resolvedTimestamp;
+
+    public OceanBaseStreamSplitState(OceanBaseStreamSplit split) {
+        this.split = split;
+        this.resolvedTimestamp = split.getStartTimestamp();
+    }
+
+    public void setResolvedTimestamp(long resolvedTimestamp) {
+        if (resolvedTimestamp > this.resolvedTimestamp) {
+            this.resolvedTimestamp = resolvedTimestamp;
+        }
+    }
+
+    @Override
+    public OceanBaseStreamSplit toSourceSplit() {
+        if (resolvedTimestamp == split.getStartTimestamp()) {
+            return split;
+        }
+        return new OceanBaseStreamSplit(split.splitId(), resolvedTimestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "OceanBaseStreamSplitState{"
+                + "split="
+                + split
+                + ", resolvedTimestamp="
+                + resolvedTimestamp
+                + '}';
+    }
+}
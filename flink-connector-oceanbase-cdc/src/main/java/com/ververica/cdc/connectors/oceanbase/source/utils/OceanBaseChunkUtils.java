@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source.utils;
+
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseTableSchema;
+import com.ververica.cdc.connectors.oceanbase.source.split.OceanBaseSnapshotSplit;
+import io.debezium.jdbc.JdbcConnection;
+import io.debezium.relational.TableId;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/** Utilities to split an OceanBase table into chunks of primary key ranges. */
+public class OceanBaseChunkUtils {
+
+    private OceanBaseChunkUtils() {}
+
+    /** Returns the tables whose database and table names match the given regular expressions. */
+    public static List<TableId> listTables(
+            JdbcConnection connection, String databaseName, String tableName) throws SQLException {
+        final List<TableId> tables = new ArrayList<>();
+        connection.prepareQuery(
+                "SELECT TABLE_SCHEMA, TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                        + "WHERE TABLE_TYPE='BASE TABLE' AND TABLE_SCHEMA REGEXP ? AND TABLE_NAME REGEXP ?",
+                statement -> {
+                    statement.setString(1, databaseName);
+                    statement.setString(2, tableName);
+                },
+                rs -> {
+                    while (rs.next()) {
+                        tables.add(OceanBaseTableSchema.tableId(rs.getString(1), rs.getString(2)));
+                    }
+                });
+        return tables;
+    }
+
+    /** Returns the current timestamp of the server in seconds. */
+    public static long currentTimestamp(JdbcConnection connection) throws SQLException {
+        return connection.queryAndMap(
+                "SELECT UNIX_TIMESTAMP()",
+                rs -> {
+                    if (!rs.next()) {
+                        throw new SQLException("Failed to query the current timestamp");
+                    }
+                    return rs.getLong(1);
+                });
+    }
+
+    /** Returns the primary key columns of the table in the order of the key. */
+    public static List<String> primaryKeyColumns(JdbcConnection connection, TableId tableId)
+            throws SQLException {
+        final List<String> columns = new ArrayList<>();
+        connection.prepareQuery(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.STATISTICS "
+                        + "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? AND INDEX_NAME = 'PRIMARY' "
+                        + "ORDER BY SEQ_IN_INDEX",
+                statement -> {
+                    statement.setString(1, tableId.catalog());
+                    statement.setString(2, tableId.table());
+                },
+                rs -> {
+                    while (rs.next()) {
+                        columns.add(rs.getString(1));
+                    }
+                });
+        return columns;
+    }
+
+    /**
+     * Returns the ordered values of the split column that split the table into chunks of about the
+     * given number of rows, an empty list if the table fits into one chunk.
+     *
+     * <p>Each split point is the largest value of the next chunk size rows after the previous split
+     * point, so a chunk can be larger than the chunk size if the values of the split column are not
+     * unique.
+     */
+    public static List<Object> splitKeys(
+            JdbcConnection connection, TableId tableId, String splitColumn, int chunkSize)
+            throws SQLException {
+        final String column = quote(splitColumn);
+        final String table = quote(tableId);
+        final List<Object> splitKeys = new ArrayList<>();
+        Object previous = null;
+        while (true) {
+            final String sql =
+                    String.format(
+                            "SELECT MAX(%s), COUNT(*) FROM (SELECT %s FROM %s%s ORDER BY %s LIMIT %d) T",
+                            column,
+                            column,
+                            table,
+                            previous == null ? "" : " WHERE " + column + " > ?",
+                            column,
+                            chunkSize);
+            final Object lowerBound = previous;
+            final Object[] next = new Object[2];
+            connection.prepareQuery(
+                    sql,
+                    statement -> {
+                        if (lowerBound != null) {
+                            statement.setObject(1, lowerBound);
+                        }
+                    },
+                    rs -> {
+                        if (rs.next()) {
+                            next[0] = rs.getObject(1);
+                            next[1] = rs.getLong(2);
+                        }
+                    });
+            if (next[0] == null || (Long) next[1] < chunkSize) {
+                return splitKeys;
+            }
+            splitKeys.add(next[0]);
+            previous = next[0];
+        }
+    }
+
+    /**
+     * Returns the query of the rows of the snapshot split, ordered by the primary key so that the
+     * rows are read in the same order when the split is read again.
+     *
+     * <p>A split with a snapshot timestamp is read by a flashback query at the last version before
+     * that timestamp, so the {@code undo_retention} of the tenant needs to cover the duration of
+     * the snapshot phase.
+     */
+    public static String buildChunkQuery(OceanBaseSnapshotSplit split) {
+        final StringBuilder sql =
+                new StringBuilder("SELECT * FROM ")
+                        .append(
+                                quote(
+                                        OceanBaseTableSchema.tableId(
+                                                split.getDatabaseName(), split.getTableName())));
+        if (split.getSnapshotTimestamp() > 0) {
+            sql.append(" AS OF SNAPSHOT ").append(split.getSnapshotTimestamp() * 1_000_000L - 1);
+        }
+        if (!split.getKeyColumns().isEmpty()) {
+            final String splitColumn = quote(split.getKeyColumns().get(0));
+            final List<String> conditions = new ArrayList<>();
+            if (split.getLowerBound() != null) {
+                conditions.add(splitColumn + " > ?");
+            }
+            if (split.getUpperBound() != null) {
+                conditions.add(splitColumn + " <= ?");
+            }
+            if (!conditions.isEmpty()) {
+                sql.append(" WHERE ").append(String.join(" AND ", conditions));
+            }
+            sql.append(" ORDER BY ")
+                    .append(
+                            split.getKeyColumns().stream()
+                                    .map(OceanBaseChunkUtils::quote)
+                                    .collect(Collectors.joining(", ")));
+        }
+        return sql.toString();
+    }
+
+    /** Sets the bounds of the snapshot split to the parameters of its chunk query. */
+    public static void bindChunkQuery(PreparedStatement statement, OceanBaseSnapshotSplit split)
+            throws SQLException {
+        int index = 1;
+        if (split.getLowerBound() != null) {
+            statement.setObject(index++, split.getLowerBound());
+        }
+        if (split.getUpperBound() != null) {
+            statement.setObject(index, split.getUpperBound());
+        }
+    }
+
+    public static String quote(TableId tableId) {
+        return quote(tableId.catalog()) + "." + quote(tableId.table());
+    }
+
+    public static String quote(String name) {
+        return "`" + name.replace("`", "``") + "`";
+    }
+}
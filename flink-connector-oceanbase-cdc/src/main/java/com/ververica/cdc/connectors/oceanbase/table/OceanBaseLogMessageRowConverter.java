@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.table;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.oceanbase.oms.logmessage.ByteString;
+import com.oceanbase.oms.logmessage.DataMessage;
+import com.oceanbase.oms.logmessage.LogMessage;
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseJdbcConverter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts the row images of the log messages of a table into {@link GenericRowData}s of the
+ * physical row type.
+ *
+ * <p>The position in the row and the converter of each field of a row image are resolved once from
+ * the field names of the first log message of the table, so that the fields are converted from the
+ * values of the log message without any lookup by name. The converter must be recreated when the
+ * schema of the table changes, see {@link #matches(LogMessage)}.
+ */
+@Internal
+final class OceanBaseLogMessageRowConverter {
+
+    private static final String CHARSET = StandardCharsets.UTF_8.toString();
+
+    private final int arity;
+    private final String[] imageFieldNames;
+
+    /** The position in the row of the fields of a row image, -1 if the field is not selected. */
+    private final int[] positions;
+
+    private final FieldConverter[] fieldConverters;
+
+    private OceanBaseLogMessageRowConverter(
+            int arity,
+            String[] imageFieldNames,
+            int[] positions,
+            FieldConverter[] fieldConverters) {
+        this.arity = arity;
+        this.imageFieldNames = imageFieldNames;
+        this.positions = positions;
+        this.fieldConverters = fieldConverters;
+    }
+
+    /** Creates a converter for the table of the log message. */
+    static OceanBaseLogMessageRowConverter create(
+            RowType rowType, LogMessage message, ZoneId serverTimeZone) {
+        final List<String> rowFieldNames = rowType.getFieldNames();
+        final boolean update = message.getOpt() == DataMessage.Record.Type.UPDATE;
+        final List<String> imageFieldNames = new ArrayList<>();
+        for (DataMessage.Record.Field field : message.getFieldList()) {
+            if (!update || !field.isPrev()) {
+                imageFieldNames.add(field.getFieldname());
+            }
+        }
+        final int[] positions = new int[imageFieldNames.size()];
+        final FieldConverter[] fieldConverters = new FieldConverter[imageFieldNames.size()];
+        for (int i = 0; i < imageFieldNames.size(); i++) {
+            positions[i] = rowFieldNames.indexOf(imageFieldNames.get(i));
+            if (positions[i] >= 0) {
+                fieldConverters[i] =
+                        createFieldConverter(rowType.getTypeAt(positions[i]), serverTimeZone);
+            }
+        }
+        return new OceanBaseLogMessageRowConverter(
+                rowType.getFieldCount(),
+                imageFieldNames.toArray(new String[0]),
+                positions,
+                fieldConverters);
+    }
+
+    /** Returns whether the row images of the log message have the fields of this converter. */
+    boolean matches(LogMessage message) {
+        final int images = message.getOpt() == DataMessage.Record.Type.UPDATE ? 2 : 1;
+        return message.getFieldCount() == imageFieldNames.length * images;
+    }
+
+    /**
+     * Converts a row image of the log message. The {@code before} flag selects the row image of an
+     * UPDATE log message, and is ignored for other log messages which have only one row image.
+     */
+    GenericRowData convert(LogMessage message, boolean before) {
+        final GenericRowData row = new GenericRowData(arity);
+        final boolean update = message.getOpt() == DataMessage.Record.Type.UPDATE;
+        int i = 0;
+        for (DataMessage.Record.Field field : message.getFieldList()) {
+            if (update && field.isPrev() != before) {
+                continue;
+            }
+            final int position = positions[i];
+            if (position >= 0) {
+                final ByteString value = field.getValue();
+                if (value != null && field.getType() != DataMessage.Record.Field.Type.NULL) {
+                    try {
+                        row.setField(position, fieldConverters[i].convert(field.getType(), value));
+                    } catch (RuntimeException e) {
+                        throw new IllegalArgumentException(
+                                String.format(
+                                        "Failed to convert the value of field %s of table %s",
+                                        imageFieldNames[i], message.getTableName()),
+                                e);
+                    }
+                }
+            }
+            i++;
+        }
+        return row;
+    }
+
+    private static FieldConverter createFieldConverter(LogicalType type, ZoneId serverTimeZone) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                return (fieldType, value) -> {
+                    String str = value.toString();
+                    return "1".equals(str) || "true".equalsIgnoreCase(str);
+                };
+            case TINYINT:
+                return (fieldType, value) -> Byte.parseByte(value.toString());
+            case SMALLINT:
+                return (fieldType, value) -> Short.parseShort(value.toString());
+            case INTEGER:
+                return (fieldType, value) -> Integer.parseInt(value.toString());
+            case BIGINT:
+                return (fieldType, value) -> Long.parseLong(value.toString());
+            case FLOAT:
+                return (fieldType, value) -> Float.parseFloat(value.toString());
+            case DOUBLE:
+                return (fieldType, value) -> Double.parseDouble(value.toString());
+            case DECIMAL:
+                final int precision = ((DecimalType) type).getPrecision();
+                final int scale = ((DecimalType) type).getScale();
+                return (fieldType, value) ->
+                        DecimalData.fromBigDecimal(
+                                new BigDecimal(value.toString()), precision, scale);
+            case CHAR:
+            case VARCHAR:
+                return (fieldType, value) -> StringData.fromString(value.toString(CHARSET));
+            case BINARY:
+            case VARBINARY:
+                return (fieldType, value) ->
+                        fieldType == DataMessage.Record.Field.Type.BIT
+                                ? OceanBaseJdbcConverter.getBitBytes(
+                                        Long.parseLong(value.toString()))
+                                : value.toString().getBytes(StandardCharsets.UTF_8);
+            case DATE:
+                return (fieldType, value) ->
+                        (int) Date.valueOf(value.toString()).toLocalDate().toEpochDay();
+            case TIME_WITHOUT_TIME_ZONE:
+                return (fieldType, value) ->
+                        (int) (LocalTime.parse(value.toString()).toNanoOfDay() / 1_000_000L);
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                return (fieldType, value) ->
+                        TimestampData.fromLocalDateTime(
+                                Timestamp.valueOf(value.toString()).toLocalDateTime());
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                return (fieldType, value) ->
+                        TimestampData.fromInstant(
+                                Timestamp.valueOf(value.toString())
+                                        .toLocalDateTime()
+                                        .atZone(serverTimeZone)
+                                        .toInstant());
+            default:
+                throw new UnsupportedOperationException("Unsupported type: " + type);
+        }
+    }
+
+    /** Converts the value of a field of a log message into the internal data structure. */
+    @FunctionalInterface
+    private interface FieldConverter {
+        Object convert(DataMessage.Record.Field.Type fieldType, ByteString value);
+    }
+}
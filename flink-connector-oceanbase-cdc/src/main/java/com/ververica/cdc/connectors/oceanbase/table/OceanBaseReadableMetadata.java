@@ -23,6 +23,8 @@ import org.apache.flink.table.data.StringData;
 import org.apache.flink.table.data.TimestampData;
 import org.apache.flink.table.types.DataType;
 
+import com.oceanbase.oms.logmessage.LogMessage;
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseRecordConverter;
 import com.ververica.cdc.debezium.table.MetadataConverter;
 import io.debezium.data.Envelope;
 import org.apache.kafka.connect.data.Struct;
@@ -121,4 +123,21 @@ public enum OceanBaseReadableMetadata {
     public MetadataConverter getConverter() {
         return converter;
     }
+
+    /** Reads the metadata of a change event from the log message of the change stream. */
+    public Object read(String tenantName, String databaseName, LogMessage message) {
+        switch (this) {
+            case TENANT:
+                return StringData.fromString(tenantName);
+            case DATABASE:
+                return StringData.fromString(databaseName);
+            case TABLE:
+                return StringData.fromString(message.getTableName());
+            case OP_TS:
+                return TimestampData.fromEpochMillis(
+                        OceanBaseRecordConverter.getCheckpointTimestamp(message) * 1000);
+            default:
+                throw new IllegalStateException("Unknown metadata: " + key);
+        }
+    }
 }
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.table;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.utils.JoinedRowData;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import com.oceanbase.oms.logmessage.LogMessage;
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseLogMessageDeserializer;
+import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Deserialization schema of {@link OceanBaseTableSource} which converts the log messages of the
+ * change stream into {@link RowData} directly, and delegates the {@link SourceRecord}s of the
+ * snapshot to a {@link DebeziumDeserializationSchema}.
+ *
+ * <p>The converters of the log messages are created per table and cached until the schema of the
+ * table changes, which is detected by the DDL log messages and the number of fields of the log
+ * messages.
+ */
+public class OceanBaseRowDataDeserializationSchema
+        implements DebeziumDeserializationSchema<RowData>,
+                OceanBaseLogMessageDeserializer<RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(OceanBaseRowDataDeserializationSchema.class);
+
+    private final DebeziumDeserializationSchema<RowData> recordDeserializer;
+    private final RowType physicalRowType;
+    private final OceanBaseReadableMetadata[] metadata;
+    private final String tenantName;
+    private final ZoneId serverTimeZone;
+
+    /** The converters of the log messages keyed by the database and table name. */
+    private transient Map<String, OceanBaseLogMessageRowConverter> converters;
+
+    public OceanBaseRowDataDeserializationSchema(
+            DebeziumDeserializationSchema<RowData> recordDeserializer,
+            RowType physicalRowType,
+            OceanBaseReadableMetadata[] metadata,
+            String tenantName,
+            ZoneId serverTimeZone) {
+        this.recordDeserializer = checkNotNull(recordDeserializer);
+        this.physicalRowType = checkNotNull(physicalRowType);
+        this.metadata = checkNotNull(metadata);
+        this.tenantName = checkNotNull(tenantName);
+        this.serverTimeZone = checkNotNull(serverTimeZone);
+    }
+
+    @Override
+    public void deserialize(SourceRecord record, Collector<RowData> out) throws Exception {
+        recordDeserializer.deserialize(record, out);
+    }
+
+    @Override
+    public void deserialize(LogMessage message, Collector<RowData> out) {
+        final String databaseName = getDatabaseName(message);
+        final String key = databaseName + "." + message.getTableName();
+        if (converters == null) {
+            converters = new HashMap<>();
+        }
+        OceanBaseLogMessageRowConverter converter = converters.get(key);
+        if (converter == null || !converter.matches(message)) {
+            LOG.debug("Create the log message converter of table {}", key);
+            converter =
+                    OceanBaseLogMessageRowConverter.create(
+                            physicalRowType, message, serverTimeZone);
+            converters.put(key, converter);
+        }
+        switch (message.getOpt()) {
+            case INSERT:
+                emit(databaseName, message, converter.convert(message, false), RowKind.INSERT, out);
+                break;
+            case UPDATE:
+                emit(
+                        databaseName,
+                        message,
+                        converter.convert(message, true),
+                        RowKind.UPDATE_BEFORE,
+                        out);
+                emit(
+                        databaseName,
+                        message,
+                        converter.convert(message, false),
+                        RowKind.UPDATE_AFTER,
+                        out);
+                break;
+            case DELETE:
+                emit(databaseName, message, converter.convert(message, true), RowKind.DELETE, out);
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported dml type: " + message.getOpt());
+        }
+    }
+
+    private void emit(
+            String databaseName,
+            LogMessage message,
+            GenericRowData physicalRow,
+            RowKind rowKind,
+            Collector<RowData> out) {
+        physicalRow.setRowKind(rowKind);
+        if (metadata.length == 0) {
+            out.collect(physicalRow);
+            return;
+        }
+        final GenericRowData metaRow = new GenericRowData(metadata.length);
+        for (int i = 0; i < metadata.length; i++) {
+            metaRow.setField(i, metadata[i].read(tenantName, databaseName, message));
+        }
+        out.collect(new JoinedRowData(rowKind, physicalRow, metaRow));
+    }
+
+    @Override
+    public void onSchemaChange(LogMessage ddlMessage) {
+        if (converters == null) {
+            return;
+        }
+        if (ddlMessage.getDbName() == null) {
+            converters.clear();
+            return;
+        }
+        final String databaseName = getDatabaseName(ddlMessage);
+        final String tableName = ddlMessage.getTableName();
+        if (tableName == null || tableName.isEmpty()) {
+            converters.keySet().removeIf(key -> key.startsWith(databaseName + "."));
+        } else {
+            converters.remove(databaseName + "." + tableName);
+        }
+    }
+
+    private String getDatabaseName(LogMessage message) {
+        return message.getDbName().replace(tenantName + ".", "");
+    }
+
+    @Override
+    public TypeInformation<RowData> getProducedType() {
+        return recordDeserializer.getProducedType();
+    }
+}
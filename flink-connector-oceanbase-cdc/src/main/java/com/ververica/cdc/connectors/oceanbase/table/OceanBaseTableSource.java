@@ -24,6 +24,7 @@ import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.connector.source.SourceFunctionProvider;
+import org.apache.flink.table.connector.source.SourceProvider;
 import org.apache.flink.table.connector.source.abilities.SupportsReadingMetadata;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.DataType;
@@ -31,6 +32,7 @@ import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.types.RowKind;
 
 import com.ververica.cdc.connectors.oceanbase.OceanBaseSource;
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseIncrementalSource;
 import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
 import com.ververica.cdc.debezium.table.MetadataConverter;
 import com.ververica.cdc.debezium.table.RowDataDebeziumDeserializeSchema;
@@ -71,6 +73,11 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
     private final String configUrl;
     private final String workingMode;
 
+    private final boolean enableParallelRead;
+    private final int chunkSize;
+    private final int transactionBufferMaxRecords;
+    private final boolean eagerEmit;
+
     // --------------------------------------------------------------------------------------------
     // Mutable attributes
     // --------------------------------------------------------------------------------------------
@@ -99,7 +106,11 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
             Long startupTimestamp,
             String rsList,
             String configUrl,
-            String workingMode) {
+            String workingMode,
+            boolean enableParallelRead,
+            int chunkSize,
+            int transactionBufferMaxRecords,
+            boolean eagerEmit) {
         this.physicalSchema = physicalSchema;
         this.startupMode = checkNotNull(startupMode);
         this.username = checkNotNull(username);
@@ -118,6 +129,10 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
         this.rsList = rsList;
         this.configUrl = configUrl;
         this.workingMode = workingMode;
+        this.enableParallelRead = enableParallelRead;
+        this.chunkSize = chunkSize;
+        this.transactionBufferMaxRecords = transactionBufferMaxRecords;
+        this.eagerEmit = eagerEmit;
 
         this.producedDataType = physicalSchema.toPhysicalRowDataType();
         this.metadataKeys = Collections.emptyList();
@@ -148,6 +163,32 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
                         .setServerTimeZone(ZoneId.of(serverTimeZone))
                         .build();
 
+        if (enableParallelRead) {
+            OceanBaseIncrementalSource<RowData> source =
+                    OceanBaseIncrementalSource.<RowData>builder()
+                            .startupMode(startupMode)
+                            .username(username)
+                            .password(password)
+                            .tenantName(tenantName)
+                            .databaseName(databaseName)
+                            .tableName(tableName)
+                            .serverTimeZone(serverTimeZone)
+                            .connectTimeout(connectTimeout)
+                            .hostname(hostname)
+                            .port(port)
+                            .chunkSize(chunkSize)
+                            .logProxyHost(logProxyHost)
+                            .logProxyPort(logProxyPort)
+                            .logProxyClientId(logProxyClientId)
+                            .startupTimestamp(startupTimestamp)
+                            .rsList(rsList)
+                            .configUrl(configUrl)
+                            .workingMode(workingMode)
+                            .deserializer(deserializer)
+                            .build();
+            return SourceProvider.of(source);
+        }
+
         OceanBaseSource.Builder<RowData> builder =
                 OceanBaseSource.<RowData>builder()
                         .startupMode(startupMode)
@@ -167,14 +208,25 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
                         .rsList(rsList)
                         .configUrl(configUrl)
                         .workingMode(workingMode)
-                        .deserializer(deserializer);
+                        .transactionBufferMaxRecords(transactionBufferMaxRecords)
+                        .eagerEmit(eagerEmit)
+                        .deserializer(
+                                new OceanBaseRowDataDeserializationSchema(
+                                        deserializer,
+                                        physicalDataType,
+                                        getMetadata(),
+                                        tenantName,
+                                        ZoneId.of(serverTimeZone)));
         return SourceFunctionProvider.of(builder.build(), false);
     }
 
     protected MetadataConverter[] getMetadataConverters() {
-        if (metadataKeys.isEmpty()) {
-            return new MetadataConverter[0];
-        }
+        return Stream.of(getMetadata())
+                .map(OceanBaseReadableMetadata::getConverter)
+                .toArray(MetadataConverter[]::new);
+    }
+
+    private OceanBaseReadableMetadata[] getMetadata() {
         return metadataKeys.stream()
                 .map(
                         key ->
@@ -182,8 +234,7 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
                                         .filter(m -> m.getKey().equals(key))
                                         .findFirst()
                                         .orElseThrow(IllegalStateException::new))
-                .map(OceanBaseReadableMetadata::getConverter)
-                .toArray(MetadataConverter[]::new);
+                .toArray(OceanBaseReadableMetadata[]::new);
     }
 
     @Override
@@ -222,7 +273,11 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
                         startupTimestamp,
                         rsList,
                         configUrl,
-                        workingMode);
+                        workingMode,
+                        enableParallelRead,
+                        chunkSize,
+                        transactionBufferMaxRecords,
+                        eagerEmit);
         source.metadataKeys = metadataKeys;
         source.producedDataType = producedDataType;
         return source;
@@ -255,6 +310,10 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
                 && Objects.equals(this.rsList, that.rsList)
                 && Objects.equals(this.configUrl, that.configUrl)
                 && Objects.equals(this.workingMode, that.workingMode)
+                && this.enableParallelRead == that.enableParallelRead
+                && this.chunkSize == that.chunkSize
+                && this.transactionBufferMaxRecords == that.transactionBufferMaxRecords
+                && this.eagerEmit == that.eagerEmit
                 && Objects.equals(this.producedDataType, that.producedDataType)
                 && Objects.equals(this.metadataKeys, that.metadataKeys);
     }
@@ -280,6 +339,10 @@ public class OceanBaseTableSource implements ScanTableSource, SupportsReadingMet
                 rsList,
                 configUrl,
                 workingMode,
+                enableParallelRead,
+                chunkSize,
+                transactionBufferMaxRecords,
+                eagerEmit,
                 producedDataType,
                 metadataKeys);
     }
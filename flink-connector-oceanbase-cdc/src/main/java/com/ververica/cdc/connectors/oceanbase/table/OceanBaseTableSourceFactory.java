@@ -26,10 +26,15 @@ import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.factories.DynamicTableSourceFactory;
 import org.apache.flink.table.factories.FactoryUtil;
 
+import com.ververica.cdc.connectors.oceanbase.OceanBaseSource;
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseIncrementalSource;
+
 import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
+
 /** Factory for creating configured instance of {@link OceanBaseTableSource}. */
 public class OceanBaseTableSourceFactory implements DynamicTableSourceFactory {
 
@@ -148,6 +153,43 @@ public class OceanBaseTableSourceFactory implements DynamicTableSourceFactory {
                     .withDescription(
                             "The working mode of 'obcdc', can be `storage` (default value, supported from `obcdc` 3.1.3) or `memory`.");
 
+    public static final ConfigOption<Boolean> SCAN_INCREMENTAL_SNAPSHOT_ENABLED =
+            ConfigOptions.key("scan.incremental.snapshot.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to read the snapshot with the FLIP-27 source, which splits the tables"
+                                    + " into chunks of primary key ranges, reads the chunks in parallel and checkpoints"
+                                    + " per chunk, by default is false. The chunks are read by flashback queries, so"
+                                    + " the 'undo_retention' of the tenant must cover the duration of the snapshot.");
+
+    public static final ConfigOption<Integer> SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE =
+            ConfigOptions.key("scan.incremental.snapshot.chunk.size")
+                    .intType()
+                    .defaultValue(OceanBaseIncrementalSource.CHUNK_SIZE_DEFAULT)
+                    .withDescription(
+                            "The approximate number of rows of the chunks of a table when reading the"
+                                    + " snapshot with the FLIP-27 source. Defaults to 8096.");
+
+    public static final ConfigOption<Integer> SCAN_TRANSACTION_BUFFER_MAX_RECORDS =
+            ConfigOptions.key("scan.transaction.buffer.max-records")
+                    .intType()
+                    .defaultValue(OceanBaseSource.TRANSACTION_BUFFER_MAX_RECORDS_DEFAULT)
+                    .withDescription(
+                            "The max number of records of the pending transactions kept in memory, the"
+                                    + " records over this limit are spilled to the temporary directories of"
+                                    + " the task manager. Defaults to 10000.");
+
+    public static final ConfigOption<Boolean> SCAN_TRANSACTION_EAGER_EMIT =
+            ConfigOptions.key("scan.transaction.eager-emit")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to emit the change records once they are received instead of"
+                                    + " waiting for the commit of their transaction, by default is false."
+                                    + " The downstream may see a part of a transaction when the job fails over,"
+                                    + " and the whole transaction is emitted again after the job restarts.");
+
     @Override
     public DynamicTableSource createDynamicTableSource(Context context) {
         final FactoryUtil.TableFactoryHelper helper =
@@ -179,6 +221,15 @@ public class OceanBaseTableSourceFactory implements DynamicTableSourceFactory {
         String configUrl = config.get(CONFIG_URL);
         String workingMode = config.get(WORKING_MODE);
 
+        boolean enableParallelRead = config.get(SCAN_INCREMENTAL_SNAPSHOT_ENABLED);
+        int chunkSize = config.get(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE);
+        checkArgument(chunkSize > 0, "The chunk size must be positive");
+        int transactionBufferMaxRecords = config.get(SCAN_TRANSACTION_BUFFER_MAX_RECORDS);
+        checkArgument(
+                transactionBufferMaxRecords > 0,
+                "The max records of the transaction buffer must be positive");
+        boolean eagerEmit = config.get(SCAN_TRANSACTION_EAGER_EMIT);
+
         return new OceanBaseTableSource(
                 physicalSchema,
                 startupMode,
@@ -197,7 +248,11 @@ public class OceanBaseTableSourceFactory implements DynamicTableSourceFactory {
                 startupTimestamp,
                 rsList,
                 configUrl,
-                workingMode);
+                workingMode,
+                enableParallelRead,
+                chunkSize,
+                transactionBufferMaxRecords,
+                eagerEmit);
     }
 
     @Override
@@ -230,6 +285,10 @@ public class OceanBaseTableSourceFactory implements DynamicTableSourceFactory {
         options.add(SCAN_STARTUP_TIMESTAMP);
         options.add(RS_LIST);
         options.add(CONFIG_URL);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_ENABLED);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_CHUNK_SIZE);
+        options.add(SCAN_TRANSACTION_BUFFER_MAX_RECORDS);
+        options.add(SCAN_TRANSACTION_EAGER_EMIT);
         return options;
     }
 }
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.source;
+
+import org.apache.flink.api.common.functions.util.ListCollector;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.util.Collector;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link OceanBaseTransactionBuffer}. */
+public class OceanBaseTransactionBufferTest {
+
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testFlushInMemory() throws Exception {
+        try (OceanBaseTransactionBuffer<String> buffer = createBuffer(3)) {
+            buffer.add("a");
+            buffer.add("b");
+            assertEquals(2, buffer.size());
+            assertEquals(0, buffer.spilledSize());
+
+            assertEquals(Arrays.asList("a", "b"), flush(buffer));
+            assertEquals(0, buffer.size());
+            assertEquals(Collections.emptyList(), flush(buffer));
+        }
+    }
+
+    @Test
+    public void testFlushWithSpill() throws Exception {
+        final File spillDirectory = temporaryFolder.newFolder();
+        try (OceanBaseTransactionBuffer<String> buffer =
+                new OceanBaseTransactionBuffer<>(
+                        StringSerializer.INSTANCE,
+                        2,
+                        new String[] {spillDirectory.getAbsolutePath()})) {
+            final List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                buffer.add("record-" + i);
+                expected.add("record-" + i);
+            }
+            assertEquals(5, buffer.size());
+            assertEquals(3, buffer.spilledSize());
+            assertEquals(1, spillDirectory.list().length);
+
+            assertEquals(expected, flush(buffer));
+            assertEquals(0, buffer.size());
+            assertEquals(0, buffer.spilledSize());
+            assertArrayEquals(new String[0], spillDirectory.list());
+
+            // the buffer can be reused after it has been flushed
+            buffer.add("x");
+            buffer.add("y");
+            buffer.add("z");
+            assertEquals(Arrays.asList("x", "y", "z"), flush(buffer));
+        }
+    }
+
+    @Test
+    public void testCloseDeletesSpillFile() throws Exception {
+        final File spillDirectory = temporaryFolder.newFolder();
+        OceanBaseTransactionBuffer<String> buffer =
+                new OceanBaseTransactionBuffer<>(
+                        StringSerializer.INSTANCE,
+                        0,
+                        new String[] {spillDirectory.getAbsolutePath()});
+        buffer.add("a");
+        assertEquals(1, spillDirectory.list().length);
+        buffer.close();
+        assertArrayEquals(new String[0], spillDirectory.list());
+        assertEquals(0, buffer.size());
+    }
+
+    private OceanBaseTransactionBuffer<String> createBuffer(int maxMemoryRecords) throws Exception {
+        return new OceanBaseTransactionBuffer<>(
+                StringSerializer.INSTANCE,
+                maxMemoryRecords,
+                new String[] {temporaryFolder.newFolder().getAbsolutePath()});
+    }
+
+    private static List<String> flush(OceanBaseTransactionBuffer<String> buffer) throws Exception {
+        final List<String> records = new ArrayList<>();
+        final Collector<String> collector = new ListCollector<>(records);
+        buffer.flush(collector);
+        return records;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.table;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.oceanbase.oms.logmessage.DataMessage;
+import com.oceanbase.oms.logmessage.LogMessage;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.BIT;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.DATE;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.DATETIME;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.INT32;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.NULL;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.TIME;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.TIMESTAMP;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.VARCHAR;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link OceanBaseLogMessageRowConverter}. */
+public class OceanBaseLogMessageRowConverterTest {
+
+    private static final ZoneId SERVER_TIME_ZONE = ZoneId.of("Asia/Shanghai");
+
+    private static final RowType ROW_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("id", DataTypes.INT()),
+                                    DataTypes.FIELD("name", DataTypes.STRING()),
+                                    DataTypes.FIELD("date_c", DataTypes.DATE()),
+                                    DataTypes.FIELD("time_c", DataTypes.TIME(0)),
+                                    DataTypes.FIELD("datetime_c", DataTypes.TIMESTAMP(3)),
+                                    DataTypes.FIELD("timestamp_c", DataTypes.TIMESTAMP_LTZ(3)),
+                                    DataTypes.FIELD("bit_c", DataTypes.BYTES()))
+                            .getLogicalType();
+
+    @Test
+    public void testConvertTypes() {
+        LogMessage message =
+                new TestLogMessage(DataMessage.Record.Type.INSERT, "tenant.db", "t")
+                        .field("id", INT32, "1")
+                        .field("name", VARCHAR, "flink")
+                        .field("date_c", DATE, "2022-01-01")
+                        .field("time_c", TIME, "12:34:56")
+                        .field("datetime_c", DATETIME, "2022-01-01 12:34:56.789")
+                        .field("timestamp_c", TIMESTAMP, "2022-01-01 12:34:56.789")
+                        .field("bit_c", BIT, "5")
+                        .field("not_selected", VARCHAR, "ignored");
+        GenericRowData row =
+                OceanBaseLogMessageRowConverter.create(ROW_TYPE, message, SERVER_TIME_ZONE)
+                        .convert(message, false);
+
+        assertEquals(7, row.getArity());
+        assertEquals(1, row.getField(0));
+        assertEquals(StringData.fromString("flink"), row.getField(1));
+        assertEquals((int) LocalDate.of(2022, 1, 1).toEpochDay(), row.getField(2));
+        assertEquals((int) (LocalTime.of(12, 34, 56).toNanoOfDay() / 1_000_000L), row.getField(3));
+        assertEquals(
+                TimestampData.fromLocalDateTime(
+                        LocalDateTime.of(2022, 1, 1, 12, 34, 56, 789_000_000)),
+                row.getField(4));
+        // the values of TIMESTAMP_LTZ columns are the local date time in the server time zone
+        assertEquals(
+                TimestampData.fromInstant(Instant.parse("2022-01-01T04:34:56.789Z")),
+                row.getField(5));
+        assertArrayEquals(new byte[] {5}, (byte[]) row.getField(6));
+    }
+
+    @Test
+    public void testConvertNullValues() {
+        LogMessage insert =
+                new TestLogMessage(DataMessage.Record.Type.INSERT, "tenant.db", "t")
+                        .field("id", INT32, "1")
+                        .field("name", VARCHAR, "flink")
+                        .field("date_c", DATE, null)
+                        .field("time_c", TIME, null)
+                        .field("datetime_c", DATETIME, null)
+                        .field("timestamp_c", TIMESTAMP, null)
+                        .field("bit_c", BIT, null);
+        OceanBaseLogMessageRowConverter converter =
+                OceanBaseLogMessageRowConverter.create(ROW_TYPE, insert, SERVER_TIME_ZONE);
+        GenericRowData row = converter.convert(insert, false);
+        for (int i = 2; i < row.getArity(); i++) {
+            assertNull(row.getField(i));
+        }
+
+        // a field of type NULL is null whatever its value is
+        LogMessage delete =
+                new TestLogMessage(DataMessage.Record.Type.DELETE, "tenant.db", "t")
+                        .field("id", INT32, "1")
+                        .field("name", NULL, "")
+                        .field("date_c", NULL, null)
+                        .field("time_c", TIME, null)
+                        .field("datetime_c", DATETIME, null)
+                        .field("timestamp_c", TIMESTAMP, null)
+                        .field("bit_c", BIT, null);
+        assertTrue(converter.matches(delete));
+        row = converter.convert(delete, true);
+        assertEquals(1, row.getField(0));
+        for (int i = 1; i < row.getArity(); i++) {
+            assertNull(row.getField(i));
+        }
+    }
+
+    @Test
+    public void testConvertUpdate() {
+        RowType rowType =
+                (RowType)
+                        DataTypes.ROW(
+                                        DataTypes.FIELD("id", DataTypes.INT()),
+                                        DataTypes.FIELD("name", DataTypes.STRING()))
+                                .getLogicalType();
+        LogMessage update =
+                new TestLogMessage(DataMessage.Record.Type.UPDATE, "tenant.db", "t")
+                        .prevField("id", INT32, "1")
+                        .prevField("name", VARCHAR, "before")
+                        .field("id", INT32, "1")
+                        .field("name", VARCHAR, "after");
+        OceanBaseLogMessageRowConverter converter =
+                OceanBaseLogMessageRowConverter.create(rowType, update, SERVER_TIME_ZONE);
+
+        assertEquals(
+                GenericRowData.of(1, StringData.fromString("before")),
+                converter.convert(update, true));
+        assertEquals(
+                GenericRowData.of(1, StringData.fromString("after")),
+                converter.convert(update, false));
+    }
+
+    @Test
+    public void testMatches() {
+        RowType rowType =
+                (RowType)
+                        DataTypes.ROW(
+                                        DataTypes.FIELD("id", DataTypes.INT()),
+                                        DataTypes.FIELD("name", DataTypes.STRING()))
+                                .getLogicalType();
+        LogMessage insert =
+                new TestLogMessage(DataMessage.Record.Type.INSERT, "tenant.db", "t")
+                        .field("id", INT32, "1")
+                        .field("name", VARCHAR, "flink");
+        OceanBaseLogMessageRowConverter converter =
+                OceanBaseLogMessageRowConverter.create(rowType, insert, SERVER_TIME_ZONE);
+
+        // the row images of an UPDATE log message have twice as many fields
+        assertTrue(
+                converter.matches(
+                        new TestLogMessage(DataMessage.Record.Type.UPDATE, "tenant.db", "t")
+                                .prevField("id", INT32, "1")
+                                .prevField("name", VARCHAR, "flink")
+                                .field("id", INT32, "1")
+                                .field("name", VARCHAR, "cdc")));
+        assertFalse(
+                converter.matches(
+                        new TestLogMessage(DataMessage.Record.Type.INSERT, "tenant.db", "t")
+                                .field("id", INT32, "2")
+                                .field("name", VARCHAR, "cdc")
+                                .field("age", INT32, "18")));
+        assertFalse(
+                converter.matches(
+                        new TestLogMessage(DataMessage.Record.Type.DELETE, "tenant.db", "t")
+                                .field("id", INT32, "1")));
+    }
+}
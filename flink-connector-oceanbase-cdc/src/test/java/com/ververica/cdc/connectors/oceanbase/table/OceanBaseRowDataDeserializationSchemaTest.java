@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.table;
+
+import org.apache.flink.api.common.functions.util.ListCollector;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.RowKind;
+
+import com.oceanbase.oms.logmessage.DataMessage;
+import com.oceanbase.oms.logmessage.LogMessage;
+import com.ververica.cdc.connectors.oceanbase.source.OceanBaseRecordConverter;
+import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+import com.ververica.cdc.debezium.table.MetadataConverter;
+import com.ververica.cdc.debezium.table.RowDataDebeziumDeserializeSchema;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.BIT;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.DATE;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.DATETIME;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.INT32;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.INT64;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.NULL;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.TIME;
+import static com.ververica.cdc.connectors.oceanbase.table.TestLogMessage.VARCHAR;
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link OceanBaseRowDataDeserializationSchema}. */
+public class OceanBaseRowDataDeserializationSchemaTest {
+
+    private static final String TENANT_NAME = "tenant";
+    private static final ZoneId SERVER_TIME_ZONE = ZoneId.of("Asia/Shanghai");
+
+    @Test
+    public void testConvertLikeRecordPath() throws Exception {
+        // TIMESTAMP_LTZ columns are not covered here, as the record path converts the values of
+        // log messages into epoch micros, which the record deserializer can't convert into a
+        // TIMESTAMP_LTZ value, see OceanBaseLogMessageRowConverterTest#testConvertTypes
+        RowType rowType =
+                (RowType)
+                        DataTypes.ROW(
+                                        DataTypes.FIELD("id", DataTypes.INT()),
+                                        DataTypes.FIELD("big_c", DataTypes.BIGINT()),
+                                        DataTypes.FIELD("name", DataTypes.STRING()),
+                                        DataTypes.FIELD("date_c", DataTypes.DATE()),
+                                        DataTypes.FIELD("time_c", DataTypes.TIME(0)),
+                                        DataTypes.FIELD("datetime_c", DataTypes.TIMESTAMP(3)),
+                                        DataTypes.FIELD("bit_c", DataTypes.BYTES()))
+                                .getLogicalType();
+        List<LogMessage> messages =
+                Arrays.asList(
+                        new TestLogMessage(DataMessage.Record.Type.INSERT, "tenant.db", "t")
+                                .field("id", INT32, "1")
+                                .field("big_c", INT64, "9223372036854775807")
+                                .field("name", VARCHAR, "flink")
+                                .field("date_c", DATE, "2022-01-01")
+                                .field("time_c", TIME, "12:34:56")
+                                .field("datetime_c", DATETIME, "2022-01-01 12:34:56.789")
+                                .field("bit_c", BIT, "5"),
+                        new TestLogMessage(DataMessage.Record.Type.UPDATE, "tenant.db", "t")
+                                .prevField("id", INT32, "1")
+                                .prevField("big_c", INT64, "9223372036854775807")
+                                .prevField("name", VARCHAR, "flink")
+                                .prevField("date_c", DATE, "2022-01-01")
+                                .prevField("time_c", TIME, "12:34:56")
+                                .prevField("datetime_c", DATETIME, "2022-01-01 12:34:56.789")
+                                .prevField("bit_c", BIT, "5")
+                                .field("id", INT32, "1")
+                                .field("big_c", INT64, "-1")
+                                .field("name", NULL, null)
+                                .field("date_c", DATE, "1970-01-01")
+                                .field("time_c", TIME, "00:00:00")
+                                .field("datetime_c", DATETIME, "2000-02-29 23:59:59")
+                                .field("bit_c", BIT, "1025"),
+                        new TestLogMessage(DataMessage.Record.Type.DELETE, "tenant.db", "t")
+                                .field("id", INT32, "1")
+                                .field("big_c", INT64, null)
+                                .field("name", NULL, null)
+                                .field("date_c", DATE, null)
+                                .field("time_c", TIME, null)
+                                .field("datetime_c", DATETIME, null)
+                                .field("bit_c", BIT, null));
+
+        List<RowData> expected = new ArrayList<>();
+        ListCollector<RowData> recordCollector = new ListCollector<>(expected);
+        OceanBaseRecordConverter recordConverter =
+                new OceanBaseRecordConverter(TENANT_NAME, ZoneOffset.UTC);
+        DebeziumDeserializationSchema<RowData> recordDeserializer =
+                createRecordDeserializer(rowType);
+        for (LogMessage message : messages) {
+            recordDeserializer.deserialize(
+                    recordConverter.convertLogMessage(message), recordCollector);
+        }
+
+        List<RowData> actual = new ArrayList<>();
+        ListCollector<RowData> collector = new ListCollector<>(actual);
+        OceanBaseRowDataDeserializationSchema deserializer = createDeserializer(rowType);
+        for (LogMessage message : messages) {
+            deserializer.deserialize(message, collector);
+        }
+
+        assertEquals(4, expected.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testRecreateConverterAfterSchemaChange() {
+        RowType rowType = createRowType();
+        OceanBaseRowDataDeserializationSchema deserializer = createDeserializer(rowType);
+        List<RowData> actual = new ArrayList<>();
+        ListCollector<RowData> collector = new ListCollector<>(actual);
+
+        deserializer.deserialize(
+                new TestLogMessage(DataMessage.Record.Type.INSERT, "tenant.db", "t")
+                        .field("id", INT32, "1")
+                        .field("name", VARCHAR, "flink"),
+                collector);
+        deserializer.deserialize(
+                new TestLogMessage(DataMessage.Record.Type.INSERT, "tenant.db", "t2")
+                        .field("id", INT32, "1")
+                        .field("name", VARCHAR, "flink"),
+                collector);
+        // the column 'name' is replaced with the column 'age' which has the same number of fields
+        deserializer.onSchemaChange(
+                new TestLogMessage(DataMessage.Record.Type.DDL, "tenant.db", "t"));
+        deserializer.deserialize(
+                new TestLogMessage(DataMessage.Record.Type.INSERT, "tenant.db", "t")
+                        .field("id", INT32, "2")
+                        .field("age", INT32, "18"),
+                collector);
+        // a DDL log message of the database drops the converters of all its tables
+        deserializer.onSchemaChange(
+                new TestLogMessage(DataMessage.Record.Type.DDL, "tenant.db", ""));
+        deserializer.deserialize(
+                new TestLogMessage(DataMessage.Record.Type.INSERT, "tenant.db", "t2")
+                        .field("id", INT32, "3")
+                        .field("age", INT32, "20"),
+                collector);
+
+        assertEquals(
+                Arrays.asList(
+                        insert(1, "flink", null),
+                        insert(1, "flink", null),
+                        insert(2, null, 18),
+                        insert(3, null, 20)),
+                actual);
+    }
+
+    @Test
+    public void testRecreateConverterOnFieldCountChange() {
+        RowType rowType = createRowType();
+        OceanBaseRowDataDeserializationSchema deserializer = createDeserializer(rowType);
+        List<RowData> actual = new ArrayList<>();
+        ListCollector<RowData> collector = new ListCollector<>(actual);
+
+        deserializer.deserialize(
+                new TestLogMessage(DataMessage.Record.Type.INSERT, "tenant.db", "t")
+                        .field("id", INT32, "1")
+                        .field("name", VARCHAR, "flink"),
+                collector);
+        // the column 'age' is added without a DDL log message
+        deserializer.deserialize(
+                new TestLogMessage(DataMessage.Record.Type.UPDATE, "tenant.db", "t")
+                        .prevField("id", INT32, "1")
+                        .prevField("name", VARCHAR, "flink")
+                        .prevField("age", INT32, null)
+                        .field("id", INT32, "1")
+                        .field("name", VARCHAR, "flink")
+                        .field("age", INT32, "18"),
+                collector);
+        // the column 'name' is dropped without a DDL log message
+        deserializer.deserialize(
+                new TestLogMessage(DataMessage.Record.Type.DELETE, "tenant.db", "t")
+                        .field("id", INT32, "1")
+                        .field("age", INT32, "18"),
+                collector);
+
+        assertEquals(
+                Arrays.asList(
+                        insert(1, "flink", null),
+                        row(RowKind.UPDATE_BEFORE, 1, "flink", null),
+                        row(RowKind.UPDATE_AFTER, 1, "flink", 18),
+                        row(RowKind.DELETE, 1, null, 18)),
+                actual);
+    }
+
+    private static RowType createRowType() {
+        return (RowType)
+                DataTypes.ROW(
+                                DataTypes.FIELD("id", DataTypes.INT()),
+                                DataTypes.FIELD("name", DataTypes.STRING()),
+                                DataTypes.FIELD("age", DataTypes.INT()))
+                        .getLogicalType();
+    }
+
+    private static DebeziumDeserializationSchema<RowData> createRecordDeserializer(
+            RowType rowType) {
+        return RowDataDebeziumDeserializeSchema.newBuilder()
+                .setPhysicalRowType(rowType)
+                .setMetadataConverters(new MetadataConverter[0])
+                .setResultTypeInfo(InternalTypeInfo.of(rowType))
+                .setServerTimeZone(SERVER_TIME_ZONE)
+                .build();
+    }
+
+    private static OceanBaseRowDataDeserializationSchema createDeserializer(RowType rowType) {
+        return new OceanBaseRowDataDeserializationSchema(
+                createRecordDeserializer(rowType),
+                rowType,
+                new OceanBaseReadableMetadata[0],
+                TENANT_NAME,
+                SERVER_TIME_ZONE);
+    }
+
+    private static RowData insert(int id, String name, Integer age) {
+        return row(RowKind.INSERT, id, name, age);
+    }
+
+    private static RowData row(RowKind rowKind, int id, String name, Integer age) {
+        return GenericRowData.ofKind(
+                rowKind, id, name == null ? null : StringData.fromString(name), age);
+    }
+}
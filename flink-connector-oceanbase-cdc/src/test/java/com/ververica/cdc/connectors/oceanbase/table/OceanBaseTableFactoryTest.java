@@ -114,7 +114,11 @@ public class OceanBaseTableFactoryTest {
                         null,
                         RS_LIST,
                         null,
-                        WORKING_MODE);
+                        WORKING_MODE,
+                        false,
+                        8096,
+                        10000,
+                        false);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -126,6 +130,10 @@ public class OceanBaseTableFactoryTest {
         options.put("port", String.valueOf(PORT));
         options.put("logproxy.client.id", LOG_PROXY_CLIENT_ID);
         options.put("rootserver-list", RS_LIST);
+        options.put("scan.incremental.snapshot.enabled", "true");
+        options.put("scan.incremental.snapshot.chunk.size", "1024");
+        options.put("scan.transaction.buffer.max-records", "2048");
+        options.put("scan.transaction.eager-emit", "true");
         DynamicTableSource actualSource = createTableSource(SCHEMA, options);
 
         OceanBaseTableSource expectedSource =
@@ -147,7 +155,11 @@ public class OceanBaseTableFactoryTest {
                         null,
                         RS_LIST,
                         null,
-                        WORKING_MODE);
+                        WORKING_MODE,
+                        true,
+                        1024,
+                        2048,
+                        true);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -182,7 +194,11 @@ public class OceanBaseTableFactoryTest {
                         null,
                         RS_LIST,
                         null,
-                        WORKING_MODE);
+                        WORKING_MODE,
+                        false,
+                        8096,
+                        10000,
+                        false);
         expectedSource.producedDataType = SCHEMA_WITH_METADATA.toSourceRowDataType();
         expectedSource.metadataKeys =
                 Arrays.asList("op_ts", "tenant_name", "database_name", "table_name");
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oceanbase.table;
+
+import com.oceanbase.oms.logmessage.ByteString;
+import com.oceanbase.oms.logmessage.DataMessage;
+import com.oceanbase.oms.logmessage.LogMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A {@link LogMessage} built in memory for the tests of the log message conversion. */
+class TestLogMessage extends LogMessage {
+
+    // the MySQL type codes of the fields, see DataMessage.Record.Field#getType
+    static final int INT32 = 3;
+    static final int NULL = 6;
+    static final int TIMESTAMP = 7;
+    static final int INT64 = 8;
+    static final int DATE = 10;
+    static final int TIME = 11;
+    static final int DATETIME = 12;
+    static final int BIT = 16;
+    static final int VARCHAR = 253;
+
+    private final DataMessage.Record.Type opt;
+    private final String dbName;
+    private final String tableName;
+    private final List<DataMessage.Record.Field> fields = new ArrayList<>();
+
+    TestLogMessage(DataMessage.Record.Type opt, String dbName, String tableName) {
+        super(false);
+        this.opt = opt;
+        this.dbName = dbName;
+        this.tableName = tableName;
+    }
+
+    /** Adds a field of the row image, or of the after image of an UPDATE log message. */
+    TestLogMessage field(String name, int type, String value) {
+        fields.add(createField(name, type, value));
+        return this;
+    }
+
+    /** Adds a field of the before image of an UPDATE log message. */
+    TestLogMessage prevField(String name, int type, String value) {
+        DataMessage.Record.Field field = createField(name, type, value);
+        field.setPrev(true);
+        fields.add(field);
+        return this;
+    }
+
+    private static DataMessage.Record.Field createField(String name, int type, String value) {
+        ByteString byteString = null;
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            byteString = new ByteString(bytes, bytes.length);
+        }
+        return new DataMessage.Record.Field(name, type, "utf8", byteString, false);
+    }
+
+    @Override
+    public DataMessage.Record.Type getOpt() {
+        return opt;
+    }
+
+    @Override
+    public String getDbName() {
+        return dbName;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public int getFieldCount() {
+        return fields.size();
+    }
+
+    @Override
+    public List<DataMessage.Record.Field> getFieldList() {
+        return fields;
+    }
+
+    @Override
+    public String getOB10UniqueId() {
+        return "";
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source;
+
+import org.apache.flink.annotation.Experimental;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.base.config.JdbcSourceConfig;
+import com.ververica.cdc.connectors.base.dialect.JdbcDataSourceDialect;
+import com.ververica.cdc.connectors.base.relational.connection.JdbcConnectionPoolFactory;
+import com.ververica.cdc.connectors.base.source.assigner.splitter.ChunkSplitter;
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.reader.external.FetchTask;
+import com.ververica.cdc.connectors.oracle.source.config.OracleSourceConfig;
+import com.ververica.cdc.connectors.oracle.source.config.OracleSourceConfigFactory;
+import com.ververica.cdc.connectors.oracle.source.fetch.OracleScanFetchTask;
+import com.ververica.cdc.connectors.oracle.source.fetch.OracleSourceFetchTaskContext;
+import com.ververica.cdc.connectors.oracle.source.fetch.OracleStreamFetchTask;
+import com.ververica.cdc.connectors.oracle.source.utils.OracleConnectionUtils;
+import com.ververica.cdc.connectors.oracle.source.utils.TableDiscoveryUtils;
+import io.debezium.connector.oracle.OracleConnection;
+import io.debezium.connector.oracle.OracleConnectorConfig;
+import io.debezium.jdbc.JdbcConnection;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.relational.Tables;
+import io.debezium.relational.history.TableChanges;
+import io.debezium.relational.history.TableChanges.TableChange;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link JdbcDataSourceDialect} implementation for Oracle datasource.
+ *
+ * <p>The watermarks of the splits are the current SCN of the database. The snapshot splits are read
+ * by {@link OracleScanFetchTask} and backfilled with the changes between the low and high watermark
+ * which are mined from the redo log by LogMiner. The stream split is mined by {@link
+ * OracleStreamFetchTask}.
+ */
+@Experimental
+public class OracleDialect implements JdbcDataSourceDialect {
+
+    private static final long serialVersionUID = 1L;
+
+    private final OracleSourceConfig sourceConfig;
+    private transient Map<TableId, TableChange> tableSchemas;
+
+    public OracleDialect(OracleSourceConfigFactory configFactory) {
+        this.sourceConfig = configFactory.create(0);
+    }
+
+    @Override
+    public String getName() {
+        return "Oracle";
+    }
+
+    @Override
+    public Offset displayCurrentOffset(JdbcSourceConfig sourceConfig) {
+        try (OracleConnection connection =
+                OracleConnectionUtils.createOracleConnection(
+                        ((OracleSourceConfig) sourceConfig).getDbzConnectorConfig())) {
+            return OracleConnectionUtils.currentRedoLogOffset(connection);
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException("Read the current SCN error", e);
+        }
+    }
+
+    @Override
+    public boolean isDataCollectionIdCaseSensitive(JdbcSourceConfig sourceConfig) {
+        // keep the table ids as they are read from the database metadata, they are the same as
+        // the table ids of the change events
+        return true;
+    }
+
+    /**
+     * Opens an {@link OracleConnection} instead of a pooled generic connection, only the Oracle
+     * connection resolves the table ids and the column types of Oracle the same way as Debezium.
+     */
+    @Override
+    public OracleConnection openJdbcConnection(JdbcSourceConfig sourceConfig) {
+        final OracleConnectorConfig connectorConfig =
+                ((OracleSourceConfig) sourceConfig).getDbzConnectorConfig();
+        final OracleConnection connection =
+                OracleConnectionUtils.createOracleConnection(connectorConfig);
+        try {
+            connection.connect();
+            if (connectorConfig.getPdbName() != null) {
+                connection.setSessionToPdb(connectorConfig.getPdbName());
+            }
+        } catch (Exception e) {
+            throw new FlinkRuntimeException(e);
+        }
+        return connection;
+    }
+
+    @Override
+    public ChunkSplitter<TableId> createChunkSplitter(JdbcSourceConfig sourceConfig) {
+        return new OracleChunkSplitter(sourceConfig, this);
+    }
+
+    @Override
+    public JdbcConnectionPoolFactory getPooledDataSourceFactory() {
+        return new OracleConnectionPoolFactory();
+    }
+
+    @Override
+    public List<TableId> discoverDataCollections(JdbcSourceConfig sourceConfig) {
+        OracleSourceConfig oracleSourceConfig = (OracleSourceConfig) sourceConfig;
+        try (OracleConnection jdbcConnection = openJdbcConnection(sourceConfig)) {
+            return TableDiscoveryUtils.listTables(
+                    jdbcConnection,
+                    oracleSourceConfig.getDbzConnectorConfig().getCatalogName(),
+                    oracleSourceConfig.getTableFilters());
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException("Error to discover tables: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<TableId, TableChange> discoverDataCollectionSchemas(JdbcSourceConfig sourceConfig) {
+        final List<TableId> capturedTableIds = discoverDataCollections(sourceConfig);
+
+        try (JdbcConnection jdbc = openJdbcConnection(sourceConfig)) {
+            // fetch table schemas
+            Map<TableId, TableChange> tableSchemas = new HashMap<>();
+            for (TableId tableId : capturedTableIds) {
+                tableSchemas.put(tableId, queryTableSchema(jdbc, tableId));
+            }
+            return tableSchemas;
+        } catch (Exception e) {
+            throw new FlinkRuntimeException(
+                    "Error to discover table schemas: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public TableChange queryTableSchema(JdbcConnection jdbc, TableId tableId) {
+        if (tableSchemas == null) {
+            tableSchemas = new HashMap<>();
+        }
+        TableChange tableChange = tableSchemas.get(tableId);
+        if (tableChange == null) {
+            tableChange = readTableSchema(jdbc, tableId);
+            tableSchemas.put(tableId, tableChange);
+        }
+        return tableChange;
+    }
+
+    private TableChange readTableSchema(JdbcConnection jdbc, TableId tableId) {
+        final Tables tables = new Tables();
+        try {
+            jdbc.readSchema(
+                    tables, tableId.catalog(), tableId.schema(), tableId::equals, null, false);
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException(
+                    String.format("Failed to read schema for table %s", tableId), e);
+        }
+        final Table table = tables.forTable(tableId);
+        if (table == null) {
+            throw new FlinkRuntimeException(
+                    String.format("Can't obtain schema for table %s", tableId));
+        }
+        return new TableChange(TableChanges.TableChangeType.CREATE, table);
+    }
+
+    @Override
+    public OracleSourceFetchTaskContext createFetchTaskContext(SourceSplitBase sourceSplitBase) {
+        final OracleConnectorConfig connectorConfig = sourceConfig.getDbzConnectorConfig();
+        final OracleConnection connection =
+                OracleConnectionUtils.createOracleConnection(connectorConfig);
+        return new OracleSourceFetchTaskContext(sourceConfig, this, connection);
+    }
+
+    @Override
+    public FetchTask<SourceSplitBase> createFetchTask(SourceSplitBase sourceSplitBase) {
+        if (sourceSplitBase.isSnapshotSplit()) {
+            return new OracleScanFetchTask(sourceSplitBase.asSnapshotSplit());
+        } else {
+            return new OracleStreamFetchTask(sourceSplitBase.asStreamSplit());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.config;
+
+import com.ververica.cdc.connectors.base.config.JdbcSourceConfigFactory;
+import com.ververica.cdc.connectors.base.relational.history.EmbeddedFlinkDatabaseHistory;
+import io.debezium.config.Configuration;
+
+import java.util.Collections;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/** A factory to initialize {@link OracleSourceConfig}. */
+public class OracleSourceConfigFactory extends JdbcSourceConfigFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String JDBC_DRIVER = "oracle.jdbc.OracleDriver";
+
+    private String database;
+    private String[] schemaList;
+
+    public OracleSourceConfigFactory() {
+        this.port = 1521;
+    }
+
+    /** Name of the Oracle database to monitor. */
+    public OracleSourceConfigFactory database(String database) {
+        this.database = database;
+        return this;
+    }
+
+    /**
+     * An optional list of regular expressions that match schema names to be monitored; any schema
+     * name not included in the list will be excluded from monitoring.
+     */
+    public OracleSourceConfigFactory schemaList(String... schemaList) {
+        this.schemaList = schemaList;
+        return this;
+    }
+
+    @Override
+    public OracleSourceConfig create(int subtaskId) {
+        Properties props = new Properties();
+        // hard code server name, because we don't need to distinguish it, docs:
+        // Logical name that identifies and provides a namespace for the particular Oracle
+        // database server or cluster in which Debezium is capturing changes.
+        props.setProperty("database.server.name", "oracle_logminer");
+        props.setProperty("database.hostname", checkNotNull(hostname));
+        props.setProperty("database.dbname", checkNotNull(database));
+        props.setProperty("database.user", checkNotNull(username));
+        props.setProperty("database.password", checkNotNull(password));
+        props.setProperty("database.port", String.valueOf(port));
+        // the table schemas are kept in the splits and registered to the database history
+        props.setProperty(
+                "database.history", EmbeddedFlinkDatabaseHistory.class.getCanonicalName());
+        props.setProperty(
+                EmbeddedFlinkDatabaseHistory.DATABASE_HISTORY_INSTANCE_NAME,
+                UUID.randomUUID() + "_" + subtaskId);
+        props.setProperty("database.history.skip.unparseable.ddl", String.valueOf(true));
+        // the incremental snapshot source doesn't emit schema change events
+        props.setProperty("include.schema.changes", String.valueOf(false));
+        // disable the offset flush totally
+        props.setProperty("offset.flush.interval.ms", String.valueOf(Long.MAX_VALUE));
+        // disable tombstones
+        props.setProperty("tombstones.on.delete", String.valueOf(false));
+
+        if (schemaList != null) {
+            props.setProperty("schema.include.list", String.join(",", schemaList));
+        }
+        if (tableList != null) {
+            props.setProperty("table.include.list", String.join(",", tableList));
+        }
+
+        // override the user-defined debezium properties
+        if (dbzProperties != null) {
+            dbzProperties.forEach(props::put);
+        }
+
+        return new OracleSourceConfig(
+                startupOptions,
+                Collections.singletonList(database),
+                tableList,
+                splitSize,
+                splitMetaGroupSize,
+                distributionFactorUpper,
+                distributionFactorLower,
+                includeSchemaChanges,
+                props,
+                Configuration.from(props),
+                JDBC_DRIVER,
+                hostname,
+                port,
+                username,
+                password,
+                fetchSize,
+                serverTimeZone,
+                connectTimeout,
+                connectMaxRetries,
+                connectionPoolSize);
+    }
+}
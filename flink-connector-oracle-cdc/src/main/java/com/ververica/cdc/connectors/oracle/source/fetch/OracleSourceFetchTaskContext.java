@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.fetch;
+
+import org.apache.flink.table.types.logical.RowType;
+
+import com.ververica.cdc.connectors.base.config.JdbcSourceConfig;
+import com.ververica.cdc.connectors.base.dialect.JdbcDataSourceDialect;
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher;
+import com.ververica.cdc.connectors.base.relational.history.EmbeddedFlinkDatabaseHistory;
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.reader.external.JdbcSourceFetchTaskContext;
+import com.ververica.cdc.connectors.oracle.source.config.OracleSourceConfig;
+import com.ververica.cdc.connectors.oracle.source.offset.RedoLogOffset;
+import com.ververica.cdc.connectors.oracle.source.utils.OracleQueryUtils;
+import io.debezium.config.Configuration;
+import io.debezium.connector.AbstractSourceInfo;
+import io.debezium.connector.base.ChangeEventQueue;
+import io.debezium.connector.oracle.OracleConnection;
+import io.debezium.connector.oracle.OracleConnectorConfig;
+import io.debezium.connector.oracle.OracleDatabaseSchema;
+import io.debezium.connector.oracle.OracleErrorHandler;
+import io.debezium.connector.oracle.OracleOffsetContext;
+import io.debezium.connector.oracle.OracleTaskContext;
+import io.debezium.connector.oracle.OracleTopicSelector;
+import io.debezium.connector.oracle.OracleValueConverters;
+import io.debezium.connector.oracle.SourceInfo;
+import io.debezium.connector.oracle.logminer.LogMinerOracleOffsetContextLoader;
+import io.debezium.data.Envelope;
+import io.debezium.heartbeat.Heartbeat;
+import io.debezium.pipeline.DataChangeEvent;
+import io.debezium.pipeline.ErrorHandler;
+import io.debezium.pipeline.source.spi.EventMetadataProvider;
+import io.debezium.pipeline.spi.OffsetContext;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.schema.DataCollectionId;
+import io.debezium.schema.TopicSelector;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/** The context for fetch task that fetching data of snapshot split from Oracle data source. */
+public class OracleSourceFetchTaskContext extends JdbcSourceFetchTaskContext {
+
+    private final OracleConnection connection;
+    private final OracleEventMetadataProvider metadataProvider;
+
+    private OracleConnectorConfig connectorConfig;
+    private OracleDatabaseSchema databaseSchema;
+    private OracleTaskContext taskContext;
+    private OracleOffsetContext offsetContext;
+    private TopicSelector<TableId> topicSelector;
+    private JdbcSourceEventDispatcher dispatcher;
+    private ChangeEventQueue<DataChangeEvent> queue;
+    private OracleErrorHandler errorHandler;
+    private OracleSourceStreamingMetrics streamingMetrics;
+
+    public OracleSourceFetchTaskContext(
+            JdbcSourceConfig sourceConfig,
+            JdbcDataSourceDialect dataSourceDialect,
+            OracleConnection connection) {
+        super(sourceConfig, dataSourceDialect);
+        this.connection = connection;
+        this.metadataProvider = new OracleEventMetadataProvider();
+    }
+
+    @Override
+    public void configure(SourceSplitBase sourceSplitBase) {
+        // initial stateful objects
+        if (sourceSplitBase.isSnapshotSplit()) {
+            // we should only capture events for the current table in the backfill read
+            final Configuration dbzConf =
+                    sourceConfig
+                            .getDbzConfiguration()
+                            .edit()
+                            .with(
+                                    "table.include.list",
+                                    sourceSplitBase.asSnapshotSplit().getTableId().toString())
+                            // Disable heartbeat event in snapshot split fetcher
+                            .with(Heartbeat.HEARTBEAT_INTERVAL, 0)
+                            .build();
+            this.connectorConfig = new OracleConnectorConfig(dbzConf);
+        } else {
+            this.connectorConfig = getDbzConnectorConfig();
+        }
+        this.topicSelector = OracleTopicSelector.defaultSelector(connectorConfig);
+        EmbeddedFlinkDatabaseHistory.registerHistory(
+                sourceConfig
+                        .getDbzConfiguration()
+                        .getString(EmbeddedFlinkDatabaseHistory.DATABASE_HISTORY_INSTANCE_NAME),
+                sourceSplitBase.getTableSchemas().values());
+        this.databaseSchema =
+                new OracleDatabaseSchema(
+                        connectorConfig,
+                        new OracleValueConverters(connectorConfig, connection),
+                        schemaNameAdjuster,
+                        topicSelector,
+                        connectorConfig.getAdapter().getTableNameCaseSensitivity(connection));
+        this.offsetContext =
+                loadStartingOffsetState(
+                        new LogMinerOracleOffsetContextLoader(connectorConfig), sourceSplitBase);
+        // the table schemas of the split are recovered from the database history
+        databaseSchema.initializeStorage();
+        databaseSchema.recover(offsetContext);
+
+        this.taskContext = new OracleTaskContext(connectorConfig, databaseSchema);
+        final int queueSize =
+                sourceSplitBase.isSnapshotSplit()
+                        ? Integer.MAX_VALUE
+                        : connectorConfig.getMaxQueueSize();
+        this.queue =
+                new ChangeEventQueue.Builder<DataChangeEvent>()
+                        .pollInterval(connectorConfig.getPollInterval())
+                        .maxBatchSize(connectorConfig.getMaxBatchSize())
+                        .maxQueueSize(queueSize)
+                        .maxQueueSizeInBytes(connectorConfig.getMaxQueueSizeInBytes())
+                        .loggingContextSupplier(
+                                () ->
+                                        taskContext.configureLoggingContext(
+                                                "oracle-cdc-connector-task"))
+                        // do not buffer any element, we use signal event
+                        // .buffering()
+                        .build();
+        this.dispatcher =
+                new JdbcSourceEventDispatcher(
+                        connectorConfig,
+                        topicSelector,
+                        databaseSchema,
+                        queue,
+                        connectorConfig.getTableFilters().dataCollectionFilter(),
+                        DataChangeEvent::new,
+                        metadataProvider,
+                        schemaNameAdjuster);
+        this.errorHandler = new OracleErrorHandler(connectorConfig.getLogicalName(), queue);
+        this.streamingMetrics =
+                new OracleSourceStreamingMetrics(
+                        taskContext, queue, metadataProvider, connectorConfig);
+    }
+
+    @Override
+    public OracleSourceConfig getSourceConfig() {
+        return (OracleSourceConfig) sourceConfig;
+    }
+
+    /** Returns the connection to read the snapshot and to mine the redo log. */
+    public OracleConnection getConnection() {
+        return connection;
+    }
+
+    public OracleTaskContext getTaskContext() {
+        return taskContext;
+    }
+
+    /** Returns the connector config of the current split, which only captures its own table. */
+    public OracleConnectorConfig getConnectorConfig() {
+        return connectorConfig;
+    }
+
+    @Override
+    public OracleConnectorConfig getDbzConnectorConfig() {
+        return (OracleConnectorConfig) super.getDbzConnectorConfig();
+    }
+
+    @Override
+    public OracleOffsetContext getOffsetContext() {
+        return offsetContext;
+    }
+
+    @Override
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    @Override
+    public OracleDatabaseSchema getDatabaseSchema() {
+        return databaseSchema;
+    }
+
+    public OracleSourceStreamingMetrics getStreamingMetrics() {
+        return streamingMetrics;
+    }
+
+    /** Returns the event metadata provider of the records of the split. */
+    public EventMetadataProvider getMetadataProvider() {
+        return metadataProvider;
+    }
+
+    public TopicSelector<TableId> getTopicSelector() {
+        return topicSelector;
+    }
+
+    @Override
+    public RowType getSplitType(Table table) {
+        return OracleQueryUtils.getSplitType(table);
+    }
+
+    @Override
+    public JdbcSourceEventDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    @Override
+    public ChangeEventQueue<DataChangeEvent> getQueue() {
+        return queue;
+    }
+
+    @Override
+    public TableId getTableId(SourceRecord record) {
+        // the tables of Oracle are identified by database, schema and table name
+        final Struct value = (Struct) record.value();
+        final Struct source = value.getStruct(Envelope.FieldName.SOURCE);
+        return new TableId(
+                source.getString(AbstractSourceInfo.DATABASE_NAME_KEY),
+                source.getString(AbstractSourceInfo.SCHEMA_NAME_KEY),
+                source.getString(AbstractSourceInfo.TABLE_NAME_KEY));
+    }
+
+    @Override
+    public Offset getStreamOffset(SourceRecord sourceRecord) {
+        return RedoLogOffset.of(sourceRecord.sourceOffset());
+    }
+
+    /** Loads the connector's persistent offset (if present) via the given loader. */
+    private OracleOffsetContext loadStartingOffsetState(
+            LogMinerOracleOffsetContextLoader loader, SourceSplitBase sourceSplit) {
+        final RedoLogOffset offset =
+                sourceSplit.isSnapshotSplit()
+                        ? RedoLogOffset.INITIAL_OFFSET
+                        : (RedoLogOffset) sourceSplit.asStreamSplit().getStartingOffset();
+        return loader.load(offset.toDebeziumOffset());
+    }
+
+    /** Copied from debezium for accessing here. */
+    public static class OracleEventMetadataProvider implements EventMetadataProvider {
+
+        @Override
+        public Instant getEventTimestamp(
+                DataCollectionId source, OffsetContext offset, Object key, Struct value) {
+            if (value == null) {
+                return null;
+            }
+            final Struct sourceInfo = value.getStruct(Envelope.FieldName.SOURCE);
+            if (sourceInfo == null) {
+                return null;
+            }
+            final Long timestamp = sourceInfo.getInt64(AbstractSourceInfo.TIMESTAMP_KEY);
+            return timestamp == null ? null : Instant.ofEpochMilli(timestamp);
+        }
+
+        @Override
+        public Map<String, String> getEventSourcePosition(
+                DataCollectionId source, OffsetContext offset, Object key, Struct value) {
+            if (value == null) {
+                return null;
+            }
+            final Struct sourceInfo = value.getStruct(Envelope.FieldName.SOURCE);
+            if (sourceInfo == null) {
+                return null;
+            }
+            final Map<String, String> position = new HashMap<>();
+            final String scn = sourceInfo.getString(SourceInfo.SCN_KEY);
+            final String commitScn = sourceInfo.getString(SourceInfo.COMMIT_SCN_KEY);
+            if (scn != null) {
+                position.put(SourceInfo.SCN_KEY, scn);
+            }
+            if (commitScn != null) {
+                position.put(SourceInfo.COMMIT_SCN_KEY, commitScn);
+            }
+            return position;
+        }
+
+        @Override
+        public String getTransactionId(
+                DataCollectionId source, OffsetContext offset, Object key, Struct value) {
+            if (value == null) {
+                return null;
+            }
+            final Struct sourceInfo = value.getStruct(Envelope.FieldName.SOURCE);
+            if (sourceInfo == null) {
+                return null;
+            }
+            return sourceInfo.getString(SourceInfo.TXID_KEY);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.fetch;
+
+import io.debezium.connector.base.ChangeEventQueueMetrics;
+import io.debezium.connector.oracle.OracleConnectorConfig;
+import io.debezium.connector.oracle.OracleStreamingChangeEventSourceMetrics;
+import io.debezium.connector.oracle.OracleTaskContext;
+import io.debezium.connector.oracle.Scn;
+import io.debezium.pipeline.source.spi.EventMetadataProvider;
+
+/**
+ * The {@link OracleStreamingChangeEventSourceMetrics} of the redo log read, which also keeps the
+ * SCN of the last committed transaction.
+ *
+ * <p>The commit of every transaction started in the mined range is reported here, including the
+ * transactions of the tables that aren't captured, so it tells the bounded read how far the mining
+ * has got even if no change of the captured tables is dispatched.
+ */
+public class OracleSourceStreamingMetrics extends OracleStreamingChangeEventSourceMetrics {
+
+    private volatile Scn lastCommittedScn = Scn.NULL;
+
+    public OracleSourceStreamingMetrics(
+            OracleTaskContext taskContext,
+            ChangeEventQueueMetrics queue,
+            EventMetadataProvider metadataProvider,
+            OracleConnectorConfig connectorConfig) {
+        super(taskContext, queue, metadataProvider, connectorConfig);
+    }
+
+    @Override
+    public void setCommittedScn(Scn scn) {
+        super.setCommittedScn(scn);
+        this.lastCommittedScn = scn;
+    }
+
+    /** Returns the SCN of the last committed transaction, or {@link Scn#NULL} if there's none. */
+    public Scn getLastCommittedScn() {
+        return lastCommittedScn;
+    }
+}
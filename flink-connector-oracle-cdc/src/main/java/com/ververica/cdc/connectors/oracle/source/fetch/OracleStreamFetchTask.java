@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.fetch;
+
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.meta.split.StreamSplit;
+import com.ververica.cdc.connectors.base.source.reader.external.FetchTask;
+import com.ververica.cdc.connectors.oracle.source.offset.RedoLogOffset;
+import io.debezium.DebeziumException;
+import io.debezium.connector.oracle.OracleConnection;
+import io.debezium.connector.oracle.OracleConnectorConfig;
+import io.debezium.connector.oracle.OracleDatabaseSchema;
+import io.debezium.connector.oracle.OracleOffsetContext;
+import io.debezium.connector.oracle.Scn;
+import io.debezium.connector.oracle.logminer.LogMinerStreamingChangeEventSource;
+import io.debezium.pipeline.ErrorHandler;
+import io.debezium.pipeline.EventDispatcher;
+import io.debezium.pipeline.source.spi.ChangeEventSource;
+import io.debezium.relational.TableId;
+import io.debezium.util.Clock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.ververica.cdc.connectors.oracle.source.offset.RedoLogOffset.NO_STOPPING_OFFSET;
+
+/** The task to work for fetching data of Oracle table stream split . */
+public class OracleStreamFetchTask implements FetchTask<SourceSplitBase> {
+
+    private final StreamSplit split;
+    private volatile boolean taskRunning = false;
+
+    public OracleStreamFetchTask(StreamSplit split) {
+        this.split = split;
+    }
+
+    @Override
+    public void execute(Context context) throws Exception {
+        OracleSourceFetchTaskContext sourceFetchContext = (OracleSourceFetchTaskContext) context;
+        taskRunning = true;
+        RedoLogSplitReadTask redoLogSplitReadTask =
+                new RedoLogSplitReadTask(
+                        sourceFetchContext.getConnectorConfig(),
+                        sourceFetchContext.getConnection(),
+                        sourceFetchContext.getDispatcher(),
+                        sourceFetchContext.getErrorHandler(),
+                        sourceFetchContext.getDatabaseSchema(),
+                        sourceFetchContext.getStreamingMetrics(),
+                        split);
+        StreamSplitChangeEventSourceContext changeEventSourceContext =
+                new StreamSplitChangeEventSourceContext();
+        redoLogSplitReadTask.execute(
+                changeEventSourceContext, sourceFetchContext.getOffsetContext());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return taskRunning;
+    }
+
+    @Override
+    public StreamSplit getSplit() {
+        return split;
+    }
+
+    /**
+     * A wrapped task to mine all change events of the redo log and also supports read bounded (from
+     * lowWatermark to highWatermark) change events.
+     *
+     * <p>The log mining of Debezium has no stopping SCN, the bounded read stops once the mined
+     * changes have passed the SCN of the ending offset, see {@link
+     * BoundedChangeEventSourceContext}.
+     */
+    public static class RedoLogSplitReadTask extends LogMinerStreamingChangeEventSource {
+
+        private static final Logger LOG = LoggerFactory.getLogger(RedoLogSplitReadTask.class);
+        private final StreamSplit redoLogSplit;
+        private final JdbcSourceEventDispatcher dispatcher;
+        private final ErrorHandler errorHandler;
+        private final OracleSourceStreamingMetrics metrics;
+
+        public RedoLogSplitReadTask(
+                OracleConnectorConfig connectorConfig,
+                OracleConnection connection,
+                JdbcSourceEventDispatcher dispatcher,
+                ErrorHandler errorHandler,
+                OracleDatabaseSchema schema,
+                OracleSourceStreamingMetrics metrics,
+                StreamSplit redoLogSplit) {
+            this(
+                    connectorConfig,
+                    connection,
+                    dispatcher,
+                    dispatcher,
+                    errorHandler,
+                    schema,
+                    metrics,
+                    redoLogSplit);
+        }
+
+        /**
+         * Creates the task which dispatches the change events with the given dispatcher, the
+         * watermark events are always dispatched with the {@link JdbcSourceEventDispatcher}.
+         */
+        public RedoLogSplitReadTask(
+                OracleConnectorConfig connectorConfig,
+                OracleConnection connection,
+                EventDispatcher<TableId> changeEventDispatcher,
+                JdbcSourceEventDispatcher dispatcher,
+                ErrorHandler errorHandler,
+                OracleDatabaseSchema schema,
+                OracleSourceStreamingMetrics metrics,
+                StreamSplit redoLogSplit) {
+            super(
+                    connectorConfig,
+                    connection,
+                    changeEventDispatcher,
+                    errorHandler,
+                    Clock.SYSTEM,
+                    schema,
+                    connectorConfig.getJdbcConfig(),
+                    metrics);
+            this.redoLogSplit = redoLogSplit;
+            this.dispatcher = dispatcher;
+            this.errorHandler = errorHandler;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void execute(ChangeEventSourceContext context, OracleOffsetContext offsetContext) {
+            if (!isBoundedRead()) {
+                super.execute(context, offsetContext);
+                return;
+            }
+            final Scn endingScn = ((RedoLogOffset) redoLogSplit.getEndingOffset()).getScn();
+            super.execute(
+                    new BoundedChangeEventSourceContext(context, offsetContext, endingScn),
+                    offsetContext);
+            if (context.isRunning()) {
+                // send redo log end event
+                try {
+                    dispatcher.dispatchWatermarkEvent(
+                            offsetContext.getPartition(),
+                            redoLogSplit,
+                            redoLogSplit.getEndingOffset(),
+                            JdbcSourceEventDispatcher.WatermarkKind.BINLOG_END);
+                } catch (InterruptedException e) {
+                    LOG.error("Send signal event error.", e);
+                    errorHandler.setProducerThrowable(
+                            new DebeziumException("Error processing redo log signal event", e));
+                }
+                // tell fetcher the redo log task finished
+                ((OracleScanFetchTask.SnapshotRedoLogSplitChangeEventSourceContext) context)
+                        .finished();
+            }
+        }
+
+        private boolean isBoundedRead() {
+            return !NO_STOPPING_OFFSET.equals(redoLogSplit.getEndingOffset());
+        }
+
+        /**
+         * The {@link ChangeEventSource.ChangeEventSourceContext} of the bounded read, which tracks
+         * the mined SCN from the offset of the dispatched events and the commits of the mined
+         * transactions.
+         *
+         * <p>The mined rows are processed in SCN order. The SCN of the offset is moved to the end
+         * of a mining session once no transaction is open, and a commit after the ending SCN is
+         * only processed after all the commits before it. So the changes committed at or before the
+         * ending SCN have been dispatched once either of them is after the ending SCN.
+         */
+        private class BoundedChangeEventSourceContext
+                implements ChangeEventSource.ChangeEventSourceContext {
+
+            private final ChangeEventSourceContext context;
+            private final OracleOffsetContext offsetContext;
+            private final Scn endingScn;
+
+            private BoundedChangeEventSourceContext(
+                    ChangeEventSourceContext context,
+                    OracleOffsetContext offsetContext,
+                    Scn endingScn) {
+                this.context = context;
+                this.offsetContext = offsetContext;
+                this.endingScn = endingScn;
+            }
+
+            @Override
+            public boolean isRunning() {
+                if (!context.isRunning()) {
+                    return false;
+                }
+                return !isAfterEndingScn(offsetContext.getScn())
+                        && !isAfterEndingScn(metrics.getLastCommittedScn());
+            }
+
+            private boolean isAfterEndingScn(Scn scn) {
+                return scn != null && !scn.isNull() && scn.compareTo(endingScn) > 0;
+            }
+        }
+    }
+
+    /**
+     * The {@link ChangeEventSource.ChangeEventSourceContext} implementation for stream split task.
+     */
+    private class StreamSplitChangeEventSourceContext
+            implements ChangeEventSource.ChangeEventSourceContext {
+        @Override
+        public boolean isRunning() {
+            return taskRunning;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.offset;
+
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import io.debezium.connector.oracle.Scn;
+import io.debezium.connector.oracle.SourceInfo;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A structure describes an offset in the redo log of Oracle, the offsets are ordered by the SCN
+ * (system change number) of the change.
+ *
+ * <p>The watermarks of the snapshot splits are the current SCN of the database, a change event is
+ * after a watermark if its SCN is greater than the SCN of the watermark.
+ */
+public class RedoLogOffset extends Offset {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final RedoLogOffset INITIAL_OFFSET = new RedoLogOffset(Scn.NULL);
+    public static final RedoLogOffset NO_STOPPING_OFFSET = new RedoLogOffset(Scn.MAX);
+
+    public RedoLogOffset(Map<String, String> offset) {
+        this.offset = offset;
+    }
+
+    public RedoLogOffset(Scn scn) {
+        this(scn, null);
+    }
+
+    public RedoLogOffset(Scn scn, Scn commitScn) {
+        Map<String, String> offsetMap = new HashMap<>();
+        if (scn != null && !scn.isNull()) {
+            offsetMap.put(SourceInfo.SCN_KEY, scn.toString());
+        }
+        if (commitScn != null && !commitScn.isNull()) {
+            offsetMap.put(SourceInfo.COMMIT_SCN_KEY, commitScn.toString());
+        }
+        this.offset = offsetMap;
+    }
+
+    /** Creates a {@link RedoLogOffset} from the source offset of a Debezium record. */
+    public static RedoLogOffset of(Map<String, ?> sourceOffset) {
+        Map<String, String> offsetStrMap = new HashMap<>();
+        for (Map.Entry<String, ?> entry : sourceOffset.entrySet()) {
+            // skip the absent values, e.g. the commit SCN before the first commit is read
+            if (entry.getValue() != null) {
+                offsetStrMap.put(entry.getKey(), entry.getValue().toString());
+            }
+        }
+        return new RedoLogOffset(offsetStrMap);
+    }
+
+    public Scn getScn() {
+        return scnOffsetValue(SourceInfo.SCN_KEY);
+    }
+
+    public Scn getCommitScn() {
+        return scnOffsetValue(SourceInfo.COMMIT_SCN_KEY);
+    }
+
+    /**
+     * Returns the offset in the format of the Debezium Oracle connector, which can be loaded by
+     * {@link io.debezium.connector.oracle.logminer.LogMinerOracleOffsetContextLoader}. The log
+     * mining starts after the SCN of the offset.
+     */
+    public Map<String, Object> toDebeziumOffset() {
+        Map<String, Object> debeziumOffset = new HashMap<>();
+        for (Map.Entry<String, String> entry : offset.entrySet()) {
+            if (SourceInfo.SCN_KEY.equals(entry.getKey())
+                    || SourceInfo.COMMIT_SCN_KEY.equals(entry.getKey())) {
+                debeziumOffset.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return debeziumOffset;
+    }
+
+    private Scn scnOffsetValue(String key) {
+        final String value = offset.get(key);
+        return value == null ? Scn.NULL : Scn.valueOf(value);
+    }
+
+    @Override
+    public int compareTo(Offset offset) {
+        RedoLogOffset that = (RedoLogOffset) offset;
+        final Scn thisScn = this.getScn();
+        final Scn thatScn = that.getScn();
+        // the initial offset doesn't have a SCN, it is before all the other offsets
+        if (thisScn.isNull() || thatScn.isNull()) {
+            return Boolean.compare(!thisScn.isNull(), !thatScn.isNull());
+        }
+        // Debezium encodes the maximum SCN as a negative number, it is after all the other offsets
+        if (Scn.MAX.equals(thisScn) || Scn.MAX.equals(thatScn)) {
+            return Boolean.compare(Scn.MAX.equals(thisScn), Scn.MAX.equals(thatScn));
+        }
+        return thisScn.compareTo(thatScn);
+    }
+}
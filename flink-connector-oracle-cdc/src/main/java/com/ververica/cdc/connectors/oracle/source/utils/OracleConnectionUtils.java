@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.utils;
+
+import com.ververica.cdc.connectors.oracle.source.offset.RedoLogOffset;
+import io.debezium.connector.oracle.OracleConnection;
+import io.debezium.connector.oracle.OracleConnectorConfig;
+
+import java.sql.SQLException;
+
+/** Utilities to create and use the Oracle connections of Debezium. */
+public class OracleConnectionUtils {
+
+    private OracleConnectionUtils() {}
+
+    /**
+     * Creates an {@link OracleConnection}, which resolves the table ids and the column types of
+     * Oracle the same way as the Debezium connector task.
+     */
+    public static OracleConnection createOracleConnection(OracleConnectorConfig connectorConfig) {
+        return new OracleConnection(
+                connectorConfig.getJdbcConfig(), OracleConnectionUtils.class::getClassLoader);
+    }
+
+    /**
+     * Fetches the current SCN of the database, all the changes committed so far are at or before
+     * the returned offset.
+     */
+    public static RedoLogOffset currentRedoLogOffset(OracleConnection connection)
+            throws SQLException {
+        return new RedoLogOffset(connection.getCurrentScn());
+    }
+}
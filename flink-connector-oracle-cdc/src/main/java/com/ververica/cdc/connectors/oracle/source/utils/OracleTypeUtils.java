@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.utils;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.DecimalType;
+
+import io.debezium.relational.Column;
+import oracle.jdbc.OracleTypes;
+
+import java.sql.Types;
+
+/** Utilities for converting from Oracle types to Flink types. */
+public class OracleTypeUtils {
+
+    /** Returns a corresponding Flink data type from a debezium {@link Column}. */
+    public static DataType fromDbzColumn(Column column) {
+        DataType dataType = convertFromColumn(column);
+        if (column.isOptional()) {
+            return dataType;
+        } else {
+            return dataType.notNull();
+        }
+    }
+
+    /**
+     * Returns a corresponding Flink data type from a debezium {@link Column} with nullable always
+     * be true.
+     */
+    private static DataType convertFromColumn(Column column) {
+        switch (column.jdbcType()) {
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                // a NUMBER without precision has the maximum precision and a floating scale
+                final int precision =
+                        column.length() > 0 && column.length() <= DecimalType.MAX_PRECISION
+                                ? column.length()
+                                : DecimalType.MAX_PRECISION;
+                final int scale = Math.min(Math.max(column.scale().orElse(0), 0), precision);
+                return DataTypes.DECIMAL(precision, scale);
+            case Types.FLOAT:
+            case OracleTypes.BINARY_DOUBLE:
+                return DataTypes.DOUBLE();
+            case OracleTypes.BINARY_FLOAT:
+                return DataTypes.FLOAT();
+            case Types.CHAR:
+            case Types.NCHAR:
+                return DataTypes.CHAR(column.length());
+            case Types.VARCHAR:
+            case Types.NVARCHAR:
+                return DataTypes.STRING();
+            case Types.DATE:
+            case Types.TIMESTAMP:
+                // the DATE of Oracle has a time part, it's reported as TIMESTAMP by the driver
+                return DataTypes.TIMESTAMP(column.scale().orElse(6));
+            case OracleTypes.TIMESTAMPTZ:
+            case OracleTypes.TIMESTAMPLTZ:
+                return DataTypes.TIMESTAMP_WITH_LOCAL_TIME_ZONE(column.scale().orElse(6));
+            case Types.BINARY:
+            case Types.VARBINARY:
+                return DataTypes.BYTES();
+            default:
+                throw new UnsupportedOperationException(
+                        String.format("Doesn't support Oracle type '%s' yet", column.typeName()));
+        }
+    }
+}
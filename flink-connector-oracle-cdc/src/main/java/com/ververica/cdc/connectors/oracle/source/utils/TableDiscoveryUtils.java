@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.utils;
+
+import io.debezium.connector.oracle.OracleConnection;
+import io.debezium.relational.RelationalTableFilters;
+import io.debezium.relational.TableId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Utilities to discovery matched tables. */
+public class TableDiscoveryUtils {
+    private static final Logger LOG = LoggerFactory.getLogger(TableDiscoveryUtils.class);
+
+    public static List<TableId> listTables(
+            OracleConnection jdbc, String catalogName, RelationalTableFilters tableFilters)
+            throws SQLException {
+        final List<TableId> capturedTableIds = new ArrayList<>();
+        LOG.info("Read list of available tables in the database '{}'", catalogName);
+        // the Oracle tables are identified by the catalog name of the connector, which is the
+        // name of the pluggable database if any, the same as the tables in the schema of Debezium
+        for (TableId tableId :
+                jdbc.readTableNames(catalogName, null, null, new String[] {"TABLE"})) {
+            if (tableFilters.dataCollectionFilter().isIncluded(tableId)) {
+                capturedTableIds.add(tableId);
+                LOG.info("\t including '{}' for further processing", tableId);
+            } else {
+                LOG.debug("\t '{}' is filtered out of capturing", tableId);
+            }
+        }
+        return capturedTableIds;
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.DebeziumException;
+import io.debezium.annotation.NotThreadSafe;
+import io.debezium.connector.oracle.Scn;
+import io.debezium.connector.oracle.logminer.TransactionalBuffer.DmlEvent;
+import io.debezium.connector.oracle.logminer.TransactionalBuffer.LogMinerEvent;
+import io.debezium.connector.oracle.logminer.valueholder.LogMinerDmlEntry;
+import io.debezium.connector.oracle.logminer.valueholder.LogMinerDmlEntryImpl;
+import io.debezium.relational.TableId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A local file holding the oldest events of a transaction that are spilled out of the {@link
+ * TransactionalBuffer}. The events are appended in the order they were registered, and are read
+ * back in the same order when the transaction is committed.
+ *
+ * <p>Only DML events are spilled, the LOB events are reconciled in memory.
+ */
+@NotThreadSafe
+final class TransactionSpillFile {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionSpillFile.class);
+
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+    private static final byte SERIALIZED_VALUE = 2;
+
+    private final Path path;
+    private int events;
+
+    private TransactionSpillFile(Path path) {
+        this.path = path;
+        this.events = 0;
+    }
+
+    /**
+     * Creates an empty spill file for the given transaction.
+     *
+     * @param directory the directory of the spill file, created if not exists
+     * @param transactionId unique transaction identifier
+     * @return the spill file, never {@code null}
+     * @throws IOException if the file can't be created
+     */
+    static TransactionSpillFile create(Path directory, String transactionId) throws IOException {
+        Files.createDirectories(directory);
+        return new TransactionSpillFile(
+                Files.createTempFile(directory, "transaction-" + transactionId + "-", ".spill"));
+    }
+
+    /** @return the path of the spill file */
+    Path getPath() {
+        return path;
+    }
+
+    /** @return the number of events in the spill file */
+    int getEvents() {
+        return events;
+    }
+
+    /**
+     * Appends the events to the end of the spill file. The file is only open while appending, so
+     * that the spilled transactions don't hold a file handle each.
+     *
+     * @param events the DML events to append, in the order they were registered
+     * @return the number of bytes appended to the file
+     * @throws IOException if the events can't be written
+     */
+    long append(List<LogMinerEvent> events) throws IOException {
+        final long sizeBefore = Files.size(path);
+        try (DataOutputStream out =
+                new DataOutputStream(
+                        new BufferedOutputStream(
+                                Files.newOutputStream(path, StandardOpenOption.APPEND)))) {
+            for (LogMinerEvent event : events) {
+                writeEvent(out, event);
+            }
+        }
+        this.events += events.size();
+        return Files.size(path) - sizeBefore;
+    }
+
+    /**
+     * Opens a reader of all the events in the spill file.
+     *
+     * @return the reader, which must be closed after use
+     * @throws IOException if the file can't be opened
+     */
+    Reader read() throws IOException {
+        return new Reader(
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(path))), events);
+    }
+
+    /** Deletes the spill file, a failure is only logged as the file isn't read anymore. */
+    void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete the transaction spill file {}", path, e);
+        }
+    }
+
+    private static void writeEvent(DataOutputStream out, LogMinerEvent event) throws IOException {
+        if (!(event instanceof DmlEvent)) {
+            throw new DebeziumException("Unexpected event to spill: " + event);
+        }
+        out.writeInt(event.getOperation());
+        writeString(out, event.getScn().toString());
+        writeString(out, event.getTableId().catalog());
+        writeString(out, event.getTableId().schema());
+        writeString(out, event.getTableId().table());
+        writeString(out, event.getRowId());
+        writeValue(out, event.getRsId());
+
+        final LogMinerDmlEntry entry = event.getEntry();
+        out.writeInt(entry.getOperation());
+        writeString(out, entry.getObjectOwner());
+        writeString(out, entry.getObjectName());
+        writeValues(out, entry.getOldValues());
+        writeValues(out, entry.getNewValues());
+    }
+
+    private static LogMinerEvent readEvent(DataInputStream in) throws IOException {
+        final int operation = in.readInt();
+        final Scn scn = Scn.valueOf(readString(in));
+        final TableId tableId = new TableId(readString(in), readString(in), readString(in));
+        final String rowId = readString(in);
+        final Object rsId = readValue(in);
+
+        final int entryOperation = in.readInt();
+        final String objectOwner = readString(in);
+        final String objectName = readString(in);
+        final Object[] oldValues = readValues(in);
+        final Object[] newValues = readValues(in);
+        final LogMinerDmlEntry entry;
+        switch (entryOperation) {
+            case RowMapper.INSERT:
+                entry = LogMinerDmlEntryImpl.forInsert(newValues);
+                break;
+            case RowMapper.UPDATE:
+                entry = LogMinerDmlEntryImpl.forUpdate(newValues, oldValues);
+                break;
+            case RowMapper.DELETE:
+                entry = LogMinerDmlEntryImpl.forDelete(oldValues);
+                break;
+            default:
+                throw new DebeziumException(
+                        "Unexpected operation of spilled event: " + entryOperation);
+        }
+        entry.setObjectOwner(objectOwner);
+        entry.setObjectName(objectName);
+        return new DmlEvent(operation, entry, scn, tableId, rowId, rsId);
+    }
+
+    private static void writeValues(DataOutputStream out, Object[] values) throws IOException {
+        out.writeInt(values.length);
+        for (Object value : values) {
+            writeValue(out, value);
+        }
+    }
+
+    private static Object[] readValues(DataInputStream in) throws IOException {
+        final Object[] values = new Object[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readValue(in);
+        }
+        return values;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof String) {
+            // the parsed column values are strings, they are converted when the event is emitted
+            out.writeByte(STRING_VALUE);
+            writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Serializable) {
+            out.writeByte(SERIALIZED_VALUE);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+                objectOut.writeObject(value);
+            }
+            writeBytes(out, bytes.toByteArray());
+        } else {
+            throw new DebeziumException(
+                    "Unable to spill value of type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case STRING_VALUE:
+                return new String(readBytes(in), StandardCharsets.UTF_8);
+            case SERIALIZED_VALUE:
+                try (ObjectInputStream objectIn =
+                        new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+                    return objectIn.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Unable to read spilled value", e);
+                }
+            default:
+                throw new IOException("Unexpected type of spilled value: " + type);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        // DataOutput#writeUTF is limited to 64 KB, which is too small for the values of a row
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new String(readBytes(in), StandardCharsets.UTF_8) : null;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /** Reads the events of a spill file in the order they were appended. */
+    static final class Reader implements Iterator<LogMinerEvent>, AutoCloseable {
+
+        private final DataInputStream in;
+        private final int events;
+        private int readEvents;
+
+        private Reader(DataInputStream in, int events) {
+            this.in = in;
+            this.events = events;
+            this.readEvents = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return readEvents < events;
+        }
+
+        @Override
+        public LogMinerEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                final LogMinerEvent event = readEvent(in);
+                readEvents++;
+                return event;
+            } catch (IOException e) {
+                throw new DebeziumException("Failed to read the spilled event", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -20,6 +20,7 @@ package io.debezium.connector.oracle.logminer;
 
 import io.debezium.DebeziumException;
 import io.debezium.annotation.NotThreadSafe;
+import io.debezium.config.Field;
 import io.debezium.connector.oracle.BlobChunkList;
 import io.debezium.connector.oracle.OracleConnectorConfig;
 import io.debezium.connector.oracle.OracleDatabaseSchema;
@@ -34,38 +35,93 @@ import io.debezium.pipeline.source.spi.ChangeEventSource;
 import io.debezium.relational.Table;
 import io.debezium.relational.TableId;
 import io.debezium.util.Clock;
-import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.common.config.ConfigDef;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Supplier;
 
 /**
  * Copied from https://github.com/debezium/debezium project to fix
  * https://issues.redhat.com/browse/DBZ-4936 for 1.6.4.Final version.
  *
- * <p>Line 370 : Use `offsetContext.getCommitScn().compareTo(scn) >= 0` instead of
+ * <p>Line 461 : Use `offsetContext.getCommitScn().compareTo(scn) >= 0` instead of
  * `offsetContext.getCommitScn().compareTo(scn) > 0`. We should remove this class since we bumped
  * higher debezium version after 1.9.1.Final where the issue has been fixed.
+ *
+ * <p>The events of large transactions can be spilled to local files to bound the memory of the
+ * buffer, see {@link #SPILL_TRANSACTION_THRESHOLD_BYTES} and {@link #SPILL_BUFFER_THRESHOLD_BYTES}.
+ * The spilled events are read back in order when the transaction is committed, and discarded when
+ * it is rolled back. Spilling is not supported when LOB is enabled, as the LOB events are merged
+ * with the events before them on commit.
+ *
+ * <p>The transactions are indexed by their first SCN, so that the smallest SCN of the buffer is
+ * looked up in logarithmic time on each commit and rollback. The events of a transaction are
+ * indexed by row id, an undone row marks its events as removed instead of shifting the event list.
  */
 @NotThreadSafe
 public final class TransactionalBuffer implements AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransactionalBuffer.class);
 
+    public static final Field SPILL_TRANSACTION_THRESHOLD_BYTES =
+            Field.create("log.mining.buffer.spill.transaction.threshold.bytes")
+                    .withDisplayName("Transaction spill threshold in bytes")
+                    .withType(ConfigDef.Type.LONG)
+                    .withWidth(ConfigDef.Width.SHORT)
+                    .withImportance(ConfigDef.Importance.LOW)
+                    .withDefault(0L)
+                    .withValidation(Field::isNonNegativeLong)
+                    .withDescription(
+                            "The estimated size of the in-memory events of a transaction after which"
+                                    + " they are spilled to disk. 0 disables the spilling by transaction.");
+
+    public static final Field SPILL_BUFFER_THRESHOLD_BYTES =
+            Field.create("log.mining.buffer.spill.buffer.threshold.bytes")
+                    .withDisplayName("Buffer spill threshold in bytes")
+                    .withType(ConfigDef.Type.LONG)
+                    .withWidth(ConfigDef.Width.SHORT)
+                    .withImportance(ConfigDef.Importance.LOW)
+                    .withDefault(0L)
+                    .withValidation(Field::isNonNegativeLong)
+                    .withDescription(
+                            "The estimated size of the in-memory events of all transactions after"
+                                    + " which the events of the largest transactions are spilled to"
+                                    + " disk until half of it is left. 0 disables the spilling by"
+                                    + " buffer size.");
+
+    public static final Field SPILL_DIRECTORY =
+            Field.create("log.mining.buffer.spill.directory")
+                    .withDisplayName("Spill directory")
+                    .withType(ConfigDef.Type.STRING)
+                    .withWidth(ConfigDef.Width.MEDIUM)
+                    .withImportance(ConfigDef.Importance.LOW)
+                    .withDefault(System.getProperty("java.io.tmpdir"))
+                    .withDescription(
+                            "The local directory of the files the transaction events are spilled to.");
+
     private final OracleConnectorConfig connectorConfig;
     private final Map<String, Transaction> transactions;
+    private final NavigableSet<Transaction> transactionsByFirstScn;
     private final OracleDatabaseSchema schema;
     private final Clock clock;
     private final ErrorHandler errorHandler;
@@ -75,8 +131,14 @@ public final class TransactionalBuffer implements AutoCloseable {
     private final Set<Scn> recentlyEmittedDdls;
     private final OracleStreamingChangeEventSourceMetrics streamingMetrics;
 
+    private final long spillTransactionThreshold;
+    private final long spillBufferThreshold;
+    private final Path spillDirectory;
+    private final TransactionalBufferMetrics bufferMetrics;
+
     private Scn lastCommittedScn;
     private Scn maxCommittedScn;
+    private long bufferedBytes;
 
     /**
      * Constructor to create a new instance.
@@ -94,6 +156,10 @@ public final class TransactionalBuffer implements AutoCloseable {
             ErrorHandler errorHandler,
             OracleStreamingChangeEventSourceMetrics streamingMetrics) {
         this.transactions = new HashMap<>();
+        this.transactionsByFirstScn =
+                new TreeSet<>(
+                        Comparator.comparing((Transaction t) -> t.firstScn)
+                                .thenComparing(t -> t.transactionId));
         this.connectorConfig = connectorConfig;
         this.schema = schema;
         this.clock = clock;
@@ -105,6 +171,23 @@ public final class TransactionalBuffer implements AutoCloseable {
         this.recentlyCommittedTransactionIds = new HashSet<>();
         this.recentlyEmittedDdls = new HashSet<>();
         this.streamingMetrics = streamingMetrics;
+        if (connectorConfig.isLobEnabled()) {
+            this.spillTransactionThreshold = 0L;
+            this.spillBufferThreshold = 0L;
+        } else {
+            this.spillTransactionThreshold =
+                    connectorConfig.getConfig().getLong(SPILL_TRANSACTION_THRESHOLD_BYTES);
+            this.spillBufferThreshold =
+                    connectorConfig.getConfig().getLong(SPILL_BUFFER_THRESHOLD_BYTES);
+        }
+        this.spillDirectory = Paths.get(connectorConfig.getConfig().getString(SPILL_DIRECTORY));
+        this.bufferedBytes = 0L;
+        if (isSpillEnabled()) {
+            this.bufferMetrics = new TransactionalBufferMetrics(connectorConfig);
+            this.bufferMetrics.register(LOGGER);
+        } else {
+            this.bufferMetrics = null;
+        }
     }
 
     /** @return rolled back transactions */
@@ -288,18 +371,26 @@ public final class TransactionalBuffer implements AutoCloseable {
             return;
         }
 
-        transaction.events.removeIf(
-                o -> {
-                    if (o.getRowId().equals(undoRowId)) {
-                        LOGGER.trace(
-                                "Undoing change to {} with row id {} in transaction {}",
-                                tableId,
-                                undoRowId,
-                                transactionId);
-                        return true;
-                    }
-                    return false;
-                });
+        final List<LogMinerEvent> undoneEvents = transaction.undoEvents(undoRowId);
+        if (!undoneEvents.isEmpty()) {
+            LOGGER.trace(
+                    "Undoing {} changes to {} with row id {} in transaction {}",
+                    undoneEvents.size(),
+                    tableId,
+                    undoRowId,
+                    transactionId);
+            if (isSpillEnabled()) {
+                final long undoneBytes =
+                        undoneEvents.stream().mapToLong(TransactionalBuffer::estimateSize).sum();
+                transaction.bufferedBytes -= undoneBytes;
+                bufferedBytes -= undoneBytes;
+                bufferMetrics.setBufferedBytes(bufferedBytes);
+            }
+        }
+        if (transaction.spillFile != null) {
+            // the spilled events of the row are skipped when they are read back on commit
+            transaction.undoneSpilledRowIds.put(undoRowId, transaction.spillFile.getEvents());
+        }
     }
 
     /**
@@ -311,7 +402,7 @@ public final class TransactionalBuffer implements AutoCloseable {
     void registerTransaction(String transactionId, Scn scn) {
         Transaction transaction = transactions.get(transactionId);
         if (transaction == null && !isRecentlyCommitted(transactionId)) {
-            transactions.put(transactionId, new Transaction(transactionId, scn));
+            addTransaction(new Transaction(transactionId, scn));
             streamingMetrics.setActiveTransactions(transactions.size());
         } else if (transaction != null && !isRecentlyCommitted(transactionId)) {
             LOGGER.trace(
@@ -349,7 +440,7 @@ public final class TransactionalBuffer implements AutoCloseable {
             EventDispatcher<TableId> dispatcher) {
 
         Instant start = Instant.now();
-        Transaction transaction = transactions.remove(transactionId);
+        Transaction transaction = removeTransaction(transactionId);
         if (transaction == null) {
             return false;
         }
@@ -359,6 +450,7 @@ public final class TransactionalBuffer implements AutoCloseable {
         abandonedTransactionIds.remove(transactionId);
 
         if (isRecentlyCommitted(transactionId)) {
+            releaseTransaction(transaction);
             return false;
         }
 
@@ -375,6 +467,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                     offsetContext.getCommitScn(),
                     scn,
                     lastCommittedScn);
+            releaseTransaction(transaction);
             streamingMetrics.setActiveTransactions(transactions.size());
             return false;
         }
@@ -382,9 +475,10 @@ public final class TransactionalBuffer implements AutoCloseable {
         reconcileTransaction(transaction);
 
         LOGGER.trace("COMMIT, {}, smallest SCN: {}", debugMessage, smallestScn);
-        try {
-            int counter = transaction.events.size();
-            for (LogMinerEvent event : transaction.events) {
+        int dispatchedEvents = 0;
+        try (TransactionEvents events = new TransactionEvents(transaction)) {
+            while (events.hasNext()) {
+                final LogMinerEvent event = events.next();
                 if (!context.isRunning()) {
                     return false;
                 }
@@ -399,7 +493,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                 offsetContext.setTransactionId(transaction.transactionId);
                 offsetContext.setSourceTime(timestamp.toInstant());
                 offsetContext.setTableId(event.getTableId());
-                if (--counter == 0) {
+                if (!events.hasNext()) {
                     offsetContext.setCommitScn(scn);
                 }
 
@@ -413,10 +507,11 @@ public final class TransactionalBuffer implements AutoCloseable {
                                 event.getEntry().getNewValues(),
                                 schema.tableFor(event.getTableId()),
                                 clock));
+                dispatchedEvents++;
             }
 
             lastCommittedScn = Scn.valueOf(scn.longValue());
-            if (!transaction.events.isEmpty()) {
+            if (dispatchedEvents > 0) {
                 dispatcher.dispatchTransactionCommittedEvent(offsetContext);
             } else {
                 dispatcher.dispatchHeartbeatEvent(offsetContext);
@@ -440,9 +535,10 @@ public final class TransactionalBuffer implements AutoCloseable {
         } catch (Exception e) {
             errorHandler.setProducerThrowable(e);
         } finally {
+            releaseTransaction(transaction);
             streamingMetrics.incrementCommittedTransactions();
             streamingMetrics.setActiveTransactions(transactions.size());
-            streamingMetrics.incrementCommittedDmlCount(transaction.events.size());
+            streamingMetrics.incrementCommittedDmlCount(dispatchedEvents);
             streamingMetrics.setCommittedScn(scn);
             streamingMetrics.setOffsetScn(offsetContext.getScn());
             streamingMetrics.setLastCommitDuration(Duration.between(start, Instant.now()));
@@ -491,10 +587,9 @@ public final class TransactionalBuffer implements AutoCloseable {
     }
 
     Scn getMinimumScn() {
-        return transactions.values().stream()
-                .map(t -> t.firstScn)
-                .min(Scn::compareTo)
-                .orElse(Scn.NULL);
+        return transactionsByFirstScn.isEmpty()
+                ? Scn.NULL
+                : transactionsByFirstScn.first().firstScn;
     }
 
     /**
@@ -510,7 +605,8 @@ public final class TransactionalBuffer implements AutoCloseable {
         if (transaction != null) {
             LOGGER.debug("Transaction rolled back: {}", debugMessage);
 
-            transactions.remove(transactionId);
+            removeTransaction(transactionId);
+            releaseTransaction(transaction);
             abandonedTransactionIds.remove(transactionId);
             rolledBackTransactionIds.add(transactionId);
 
@@ -551,21 +647,21 @@ public final class TransactionalBuffer implements AutoCloseable {
         if (threshold.compareTo(smallestScn) < 0) {
             threshold = smallestScn;
         }
-        Iterator<Map.Entry<String, Transaction>> iter = transactions.entrySet().iterator();
-        while (iter.hasNext()) {
-            Map.Entry<String, Transaction> transaction = iter.next();
-            if (transaction.getValue().firstScn.compareTo(threshold) <= 0) {
-                LogMinerHelper.logWarn(
-                        streamingMetrics,
-                        "Following long running transaction {} will be abandoned and ignored: {} ",
-                        transaction.getKey(),
-                        transaction.getValue().toString());
-                abandonedTransactionIds.add(transaction.getKey());
-                iter.remove();
-
-                streamingMetrics.addAbandonedTransactionId(transaction.getKey());
-                streamingMetrics.setActiveTransactions(transactions.size());
-            }
+        // the transactions are ordered by the first SCN, only the head of them is abandoned
+        while (!transactionsByFirstScn.isEmpty()
+                && transactionsByFirstScn.first().firstScn.compareTo(threshold) <= 0) {
+            Transaction transaction = transactionsByFirstScn.pollFirst();
+            transactions.remove(transaction.transactionId);
+            LogMinerHelper.logWarn(
+                    streamingMetrics,
+                    "Following long running transaction {} will be abandoned and ignored: {} ",
+                    transaction.transactionId,
+                    transaction.toString());
+            abandonedTransactionIds.add(transaction.transactionId);
+            releaseTransaction(transaction);
+
+            streamingMetrics.addAbandonedTransactionId(transaction.transactionId);
+            streamingMetrics.setActiveTransactions(transactions.size());
         }
     }
 
@@ -574,14 +670,7 @@ public final class TransactionalBuffer implements AutoCloseable {
     }
 
     private Scn calculateSmallestScn() {
-        Scn scn =
-                transactions.isEmpty()
-                        ? null
-                        : transactions.values().stream()
-                                .map(transaction -> transaction.firstScn)
-                                .min(Scn::compareTo)
-                                .orElseThrow(
-                                        () -> new DataException("Cannot calculate smallest SCN"));
+        Scn scn = transactionsByFirstScn.isEmpty() ? null : transactionsByFirstScn.first().firstScn;
         streamingMetrics.setOldestScn(scn == null ? Scn.valueOf(-1) : scn);
         return scn;
     }
@@ -604,7 +693,155 @@ public final class TransactionalBuffer implements AutoCloseable {
 
     @Override
     public void close() {
+        transactions.values().forEach(this::releaseTransaction);
         transactions.clear();
+        transactionsByFirstScn.clear();
+        if (bufferMetrics != null) {
+            bufferMetrics.unregister(LOGGER);
+        }
+    }
+
+    private void addTransaction(Transaction transaction) {
+        transactions.put(transaction.transactionId, transaction);
+        transactionsByFirstScn.add(transaction);
+    }
+
+    private Transaction removeTransaction(String transactionId) {
+        final Transaction transaction = transactions.remove(transactionId);
+        if (transaction != null) {
+            transactionsByFirstScn.remove(transaction);
+        }
+        return transaction;
+    }
+
+    private boolean isSpillEnabled() {
+        return spillTransactionThreshold > 0 || spillBufferThreshold > 0;
+    }
+
+    /**
+     * Accounts the memory of the event registered with the transaction, and spills the in-memory
+     * events to disk if the transaction or the whole buffer exceeds its threshold.
+     *
+     * @param transaction the transaction the event is registered with, never {@code null}
+     * @param event the registered event, never {@code null}
+     */
+    private void spillIfRequired(Transaction transaction, LogMinerEvent event) {
+        final long eventBytes = estimateSize(event);
+        transaction.bufferedBytes += eventBytes;
+        bufferedBytes += eventBytes;
+        if (spillTransactionThreshold > 0
+                && transaction.bufferedBytes >= spillTransactionThreshold) {
+            spill(transaction);
+        } else if (spillBufferThreshold > 0 && bufferedBytes >= spillBufferThreshold) {
+            spillLargestTransactions();
+        }
+        bufferMetrics.setBufferedBytes(bufferedBytes);
+    }
+
+    /**
+     * Spills the transactions which hold the most memory until the buffer is at half of its
+     * threshold, so that the transactions are only ranked once for every half threshold of events
+     * instead of on each event while the buffer stays around the threshold.
+     */
+    private void spillLargestTransactions() {
+        final long targetBytes = spillBufferThreshold / 2;
+        final List<Transaction> largestTransactions = new ArrayList<>(transactions.values());
+        largestTransactions.sort(
+                Comparator.comparingLong((Transaction t) -> t.bufferedBytes).reversed());
+        for (Transaction transaction : largestTransactions) {
+            if (bufferedBytes <= targetBytes || transaction.bufferedBytes == 0L) {
+                break;
+            }
+            spill(transaction);
+        }
+    }
+
+    /**
+     * Appends the in-memory events of the transaction to its spill file.
+     *
+     * @param transaction the transaction to spill, never {@code null}
+     * @throws DebeziumException if the events can't be written to disk
+     */
+    private void spill(Transaction transaction) {
+        transaction.compactEvents();
+        if (transaction.events.isEmpty()) {
+            return;
+        }
+        try {
+            if (transaction.spillFile == null) {
+                transaction.spillFile =
+                        TransactionSpillFile.create(spillDirectory, transaction.transactionId);
+                bufferMetrics.incrementSpilledTransactions();
+            }
+            final long spilledBytes = transaction.spillFile.append(transaction.events);
+            bufferMetrics.addSpilledEvents(transaction.events.size(), spilledBytes);
+            LOGGER.debug(
+                    "Spilled {} events of transaction {} to {}, {} events are spilled in total.",
+                    transaction.events.size(),
+                    transaction.transactionId,
+                    transaction.spillFile.getPath(),
+                    transaction.spillFile.getEvents());
+        } catch (IOException e) {
+            throw new DebeziumException(
+                    "Failed to spill the events of transaction "
+                            + transaction.transactionId
+                            + " to "
+                            + spillDirectory,
+                    e);
+        }
+        transaction.clearEvents();
+        bufferedBytes -= transaction.bufferedBytes;
+        transaction.bufferedBytes = 0L;
+    }
+
+    /**
+     * Releases the memory and the spill file of a transaction removed from the buffer.
+     *
+     * @param transaction the removed transaction, never {@code null}
+     */
+    private void releaseTransaction(Transaction transaction) {
+        if (!isSpillEnabled()) {
+            return;
+        }
+        bufferedBytes -= transaction.bufferedBytes;
+        transaction.bufferedBytes = 0L;
+        if (transaction.spillFile != null) {
+            transaction.spillFile.delete();
+            transaction.spillFile = null;
+            bufferMetrics.decrementActiveSpilledTransactions();
+        }
+        bufferMetrics.setBufferedBytes(bufferedBytes);
+    }
+
+    /**
+     * Estimates the heap size of an event, which is dominated by the strings of the parsed column
+     * values.
+     */
+    private static long estimateSize(LogMinerEvent event) {
+        long size = 64 + estimateSize(event.getRowId());
+        if (event.getEntry() != null) {
+            size += estimateSize(event.getEntry().getOldValues());
+            size += estimateSize(event.getEntry().getNewValues());
+        }
+        return size;
+    }
+
+    private static long estimateSize(Object[] values) {
+        long size = 16 + 8L * values.length;
+        for (Object value : values) {
+            size += estimateSize(value);
+        }
+        return size;
+    }
+
+    private static long estimateSize(Object value) {
+        if (value == null) {
+            return 0L;
+        } else if (value instanceof String) {
+            return 40 + 2L * ((String) value).length();
+        } else {
+            return 16L;
+        }
     }
 
     /**
@@ -641,20 +878,26 @@ public final class TransactionalBuffer implements AutoCloseable {
             return false;
         }
 
-        Transaction transaction =
-                transactions.computeIfAbsent(
-                        transactionId, s -> new Transaction(transactionId, scn));
+        Transaction transaction = transactions.get(transactionId);
+        if (transaction == null) {
+            transaction = new Transaction(transactionId, scn);
+            addTransaction(transaction);
+        }
         streamingMetrics.setActiveTransactions(transactions.size());
 
         int eventId = transaction.eventIds++;
-        if (transaction.events.size() > eventId) {
+        if (transaction.size() > eventId) {
             // only return true if new event is added, otherwise false
             return false;
         } else {
             // Adding new event at eventId offset
             LOGGER.trace(
                     "Transaction {}, adding event reference at index {}", transactionId, eventId);
-            transaction.events.add(supplier.get());
+            final LogMinerEvent event = supplier.get();
+            transaction.addEvent(event);
+            if (isSpillEnabled()) {
+                spillIfRequired(transaction, event);
+            }
             streamingMetrics.calculateLagMetrics(changeTime);
             return true;
         }
@@ -724,10 +967,14 @@ public final class TransactionalBuffer implements AutoCloseable {
         LOGGER.trace("Reconciling transaction {}", transaction.transactionId);
         LogMinerEvent prevEvent = null;
 
-        int prevEventSize = transaction.events.size();
-        for (int i = 0; i < transaction.events.size(); ) {
+        // the merged and consumed events are marked as removed, and removed at once at the end
+        int prevEventSize = transaction.size();
+        for (int i = 0; i < transaction.events.size(); ++i) {
 
             final LogMinerEvent event = transaction.events.get(i);
+            if (event == null) {
+                continue;
+            }
             LOGGER.trace("Processing event {}", event);
 
             switch (event.getOperation()) {
@@ -745,10 +992,10 @@ public final class TransactionalBuffer implements AutoCloseable {
                     break;
             }
 
-            ++i;
             prevEvent = event;
             LOGGER.trace("Previous event is now {}", prevEvent);
         }
+        transaction.compactEvents();
 
         if (transaction.events.size() != prevEventSize) {
             LOGGER.trace(
@@ -807,14 +1054,14 @@ public final class TransactionalBuffer implements AutoCloseable {
                 // There are no write and only erase events, discard entire SEL_LOB_LOCATOR
                 // To simulate this, we treat this as a "merge" op so caller doesn't modify previous
                 // event
-                transaction.events.remove(index);
+                transaction.removeEvent(index);
                 return true;
             }
         } else if (lobEraseEvents == 0 && lobWrites.isEmpty()) {
             // There were no LOB operations present, discard entire SEL_LOB_LOCATOR
             // To simulate this, we treat this as a "merge" op so caller doesn't modify previous
             // event
-            transaction.events.remove(index);
+            transaction.removeEvent(index);
             return true;
         }
 
@@ -849,7 +1096,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                 prevEvent.getEntry().getNewValues()[columnIndex] = lobData;
 
                 // Remove the SEL_LOB_LOCATOR event from event list and indicate merged.
-                transaction.events.remove(index);
+                transaction.removeEvent(index);
                 return true;
             }
         } else if (RowMapper.UPDATE == prevEvent.getOperation()) {
@@ -862,7 +1109,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                 prevEvent.getEntry().getNewValues()[columnIndex] = lobData;
 
                 // Remove the SEL_LOB_LOCATOR event from event list and indicate merged.
-                transaction.events.remove(index);
+                transaction.removeEvent(index);
                 return true;
             }
         } else if (RowMapper.SELECT_LOB_LOCATOR == prevEvent.getOperation()) {
@@ -875,7 +1122,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                 prevEvent.getEntry().getNewValues()[columnIndex] = lobData;
 
                 // Remove the SEL_LOB_LOCATOR event from event list and indicate merged.
-                transaction.events.remove(index);
+                transaction.removeEvent(index);
                 return true;
             }
         } else {
@@ -918,7 +1165,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                     mergeNewColumns(event, prevEvent);
 
                     // Remove the UPDATE event from event list and indicate merged.
-                    transaction.events.remove(index);
+                    transaction.removeEvent(index);
                     return true;
                 }
             }
@@ -933,7 +1180,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                     mergeNewColumns(event, prevEvent);
 
                     // Remove the UPDATE event from event list and indicate merged.
-                    transaction.events.remove(index);
+                    transaction.removeEvent(index);
                     return true;
                 }
             }
@@ -955,7 +1202,7 @@ public final class TransactionalBuffer implements AutoCloseable {
                     }
 
                     // Remove the UPDATE event from event list and indicate merged.
-                    transaction.events.remove(index);
+                    transaction.removeEvent(index);
                     return true;
                 }
             }
@@ -977,11 +1224,16 @@ public final class TransactionalBuffer implements AutoCloseable {
     private List<String> readAndCombineLobWriteEvents(
             Transaction transaction, int index, boolean binaryData) {
         List<String> chunks = new ArrayList<>();
+        int lastIndex = index;
         for (int i = index + 1; i < transaction.events.size(); ++i) {
             final LogMinerEvent event = transaction.events.get(i);
+            if (event == null) {
+                continue;
+            }
             if (!(event instanceof LobWriteEvent)) {
                 break;
             }
+            lastIndex = i;
 
             final LobWriteEvent writeEvent = (LobWriteEvent) event;
             if (binaryData
@@ -996,8 +1248,8 @@ public final class TransactionalBuffer implements AutoCloseable {
         if (!chunks.isEmpty()) {
             LOGGER.trace("\tCombined {} LobWriteEvent events", chunks.size());
             // Remove events from the transaction queue queue
-            for (int i = 0; i < chunks.size(); ++i) {
-                transaction.events.remove(index + 1);
+            for (int i = index + 1; i <= lastIndex; ++i) {
+                transaction.removeEvent(i);
             }
         }
 
@@ -1015,17 +1267,19 @@ public final class TransactionalBuffer implements AutoCloseable {
         int events = 0;
         for (int i = index + 1; i < transaction.events.size(); ++i) {
             final LogMinerEvent event = transaction.events.get(i);
+            if (event == null) {
+                // the LOB_WRITE events consumed before
+                continue;
+            }
             if (!(event instanceof LobEraseEvent)) {
                 break;
             }
+            transaction.removeEvent(i);
             events++;
         }
 
         if (events > 0) {
             LOGGER.trace("\tConsumed {} LobErase events", events);
-            for (int i = 0; i < events; ++i) {
-                transaction.events.remove(index + 1);
-            }
         }
 
         return events;
@@ -1161,15 +1415,90 @@ public final class TransactionalBuffer implements AutoCloseable {
         private final String transactionId;
         private final Scn firstScn;
         private Scn lastScn;
+        // the removed events are null until the list is compacted
         private final List<LogMinerEvent> events;
+        private final Map<String, List<Integer>> eventIndexesByRowId;
+        private int removedEvents;
         private int eventIds;
+        private long bufferedBytes;
+        private TransactionSpillFile spillFile;
+        private final Map<String, Integer> undoneSpilledRowIds;
 
         private Transaction(String transactionId, Scn firstScn) {
             this.transactionId = transactionId;
             this.firstScn = firstScn;
             this.events = new ArrayList<>();
+            this.eventIndexesByRowId = new HashMap<>();
+            this.removedEvents = 0;
             this.lastScn = firstScn;
             this.eventIds = 0;
+            this.bufferedBytes = 0L;
+            this.undoneSpilledRowIds = new HashMap<>();
+        }
+
+        /** @return the number of events of the transaction, including the spilled events */
+        private int size() {
+            return (spillFile == null ? 0 : spillFile.getEvents()) + events.size() - removedEvents;
+        }
+
+        private void addEvent(LogMinerEvent event) {
+            eventIndexesByRowId
+                    .computeIfAbsent(event.getRowId(), rowId -> new ArrayList<>())
+                    .add(events.size());
+            events.add(event);
+        }
+
+        private void removeEvent(int index) {
+            if (events.set(index, null) != null) {
+                removedEvents++;
+            }
+        }
+
+        /**
+         * Removes the in-memory events of the given row, the list is compacted once more than half
+         * of it is removed.
+         *
+         * @param rowId unique row identifier
+         * @return the removed events, never {@code null}
+         */
+        private List<LogMinerEvent> undoEvents(String rowId) {
+            final List<Integer> indexes = eventIndexesByRowId.remove(rowId);
+            if (indexes == null) {
+                return Collections.emptyList();
+            }
+            final List<LogMinerEvent> undoneEvents = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                final LogMinerEvent event = events.get(index);
+                if (event != null) {
+                    undoneEvents.add(event);
+                    removeEvent(index);
+                }
+            }
+            if (removedEvents > events.size() / 2) {
+                compactEvents();
+            }
+            return undoneEvents;
+        }
+
+        /** Drops the removed events from the list and rebuilds the row id index. */
+        private void compactEvents() {
+            if (removedEvents == 0) {
+                return;
+            }
+            events.removeIf(Objects::isNull);
+            removedEvents = 0;
+            eventIndexesByRowId.clear();
+            for (int i = 0; i < events.size(); i++) {
+                eventIndexesByRowId
+                        .computeIfAbsent(events.get(i).getRowId(), rowId -> new ArrayList<>())
+                        .add(i);
+            }
+        }
+
+        private void clearEvents() {
+            events.clear();
+            eventIndexesByRowId.clear();
+            removedEvents = 0;
         }
 
         @Override
@@ -1187,8 +1516,74 @@ public final class TransactionalBuffer implements AutoCloseable {
         }
     }
 
+    /**
+     * Iterates the events of a transaction in the order they were registered, the spilled events
+     * first and then the events in memory. The spilled events of undone rows are skipped.
+     */
+    private static final class TransactionEvents implements Iterator<LogMinerEvent>, AutoCloseable {
+
+        private final Transaction transaction;
+        private final TransactionSpillFile.Reader spilledEvents;
+        private final Iterator<LogMinerEvent> bufferedEvents;
+        private int spilledIndex;
+        private LogMinerEvent next;
+
+        private TransactionEvents(Transaction transaction) throws IOException {
+            this.transaction = transaction;
+            this.spilledEvents =
+                    transaction.spillFile == null ? null : transaction.spillFile.read();
+            this.bufferedEvents = transaction.events.iterator();
+            this.spilledIndex = 0;
+            this.next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public LogMinerEvent next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final LogMinerEvent event = next;
+            next = advance();
+            return event;
+        }
+
+        private LogMinerEvent advance() {
+            while (spilledEvents != null && spilledEvents.hasNext()) {
+                final int index = spilledIndex++;
+                final LogMinerEvent event = spilledEvents.next();
+                final Integer undoneEvents = transaction.undoneSpilledRowIds.get(event.getRowId());
+                if (undoneEvents == null || undoneEvents <= index) {
+                    return event;
+                }
+                LOGGER.trace(
+                        "Skipping undone change with row id {} in transaction {}",
+                        event.getRowId(),
+                        transaction.transactionId);
+            }
+            while (bufferedEvents.hasNext()) {
+                final LogMinerEvent event = bufferedEvents.next();
+                if (event != null) {
+                    return event;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (spilledEvents != null) {
+                spilledEvents.close();
+            }
+        }
+    }
+
     /** Base class for all possible LogMiner events. */
-    private static class LogMinerEvent {
+    static class LogMinerEvent {
         private final int operation;
         private final LogMinerDmlEntry entry;
         private final Scn scn;
@@ -1259,7 +1654,7 @@ public final class TransactionalBuffer implements AutoCloseable {
     }
 
     /** Represents a DML event for a given table row. */
-    private static class DmlEvent extends LogMinerEvent {
+    static class DmlEvent extends LogMinerEvent {
         public DmlEvent(
                 int operation,
                 LogMinerDmlEntry entry,
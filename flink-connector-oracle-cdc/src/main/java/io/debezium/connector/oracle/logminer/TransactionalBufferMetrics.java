@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.annotation.ThreadSafe;
+import io.debezium.config.CommonConnectorConfig;
+import io.debezium.metrics.Metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** The metrics of the spilling of the {@link TransactionalBuffer}. */
+@ThreadSafe
+public class TransactionalBufferMetrics extends Metrics
+        implements TransactionalBufferMetricsMXBean {
+
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicLong spilledTransactionCount = new AtomicLong();
+    private final AtomicLong activeSpilledTransactionCount = new AtomicLong();
+    private final AtomicLong spilledEventCount = new AtomicLong();
+    private final AtomicLong spilledBytes = new AtomicLong();
+
+    public TransactionalBufferMetrics(CommonConnectorConfig connectorConfig) {
+        super(connectorConfig, "transactional-buffer");
+    }
+
+    void setBufferedBytes(long bytes) {
+        bufferedBytes.set(bytes);
+    }
+
+    void incrementSpilledTransactions() {
+        spilledTransactionCount.incrementAndGet();
+        activeSpilledTransactionCount.incrementAndGet();
+    }
+
+    void decrementActiveSpilledTransactions() {
+        activeSpilledTransactionCount.decrementAndGet();
+    }
+
+    void addSpilledEvents(int events, long bytes) {
+        spilledEventCount.addAndGet(events);
+        spilledBytes.addAndGet(bytes);
+    }
+
+    @Override
+    public long getBufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    @Override
+    public long getSpilledTransactionCount() {
+        return spilledTransactionCount.get();
+    }
+
+    @Override
+    public long getActiveSpilledTransactionCount() {
+        return activeSpilledTransactionCount.get();
+    }
+
+    @Override
+    public long getSpilledEventCount() {
+        return spilledEventCount.get();
+    }
+
+    @Override
+    public long getSpilledBytes() {
+        return spilledBytes.get();
+    }
+
+    @Override
+    public void reset() {
+        spilledTransactionCount.set(0);
+        spilledEventCount.set(0);
+        spilledBytes.set(0);
+    }
+}
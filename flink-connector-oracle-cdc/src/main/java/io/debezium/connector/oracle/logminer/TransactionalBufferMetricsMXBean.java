@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+/** Exposes the spilling of the {@link TransactionalBuffer} via JMX. */
+public interface TransactionalBufferMetricsMXBean {
+
+    /** @return the estimated size in bytes of the events buffered in memory */
+    long getBufferedBytes();
+
+    /** @return the number of transactions spilled to disk since the last reset */
+    long getSpilledTransactionCount();
+
+    /** @return the number of buffered transactions that have events spilled to disk */
+    long getActiveSpilledTransactionCount();
+
+    /** @return the number of events spilled to disk since the last reset */
+    long getSpilledEventCount();
+
+    /** @return the number of bytes spilled to disk since the last reset */
+    long getSpilledBytes();
+
+    /** Resets the counters of the spilling. */
+    void reset();
+}
@@ -0,0 +1,394 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.fetch;
+
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher;
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import com.ververica.cdc.connectors.base.source.meta.split.SnapshotSplit;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.reader.external.JdbcSourceScanFetcher;
+import com.ververica.cdc.connectors.base.utils.SourceRecordUtils;
+import com.ververica.cdc.connectors.oracle.source.OracleDialect;
+import com.ververica.cdc.connectors.oracle.source.config.OracleSourceConfigFactory;
+import com.ververica.cdc.connectors.oracle.source.utils.OracleConnectionUtils;
+import com.ververica.cdc.connectors.oracle.utils.OracleTestUtils;
+import io.debezium.connector.oracle.OracleConnection;
+import io.debezium.data.Envelope;
+import io.debezium.pipeline.DataChangeEvent;
+import io.debezium.pipeline.EventDispatcher;
+import io.debezium.pipeline.spi.OffsetContext;
+import io.debezium.relational.TableId;
+import io.debezium.schema.DataCollectionSchema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.OracleContainer;
+import org.testcontainers.containers.output.Slf4jLogConsumer;
+import org.testcontainers.lifecycle.Startables;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+/** IT tests for the backfill read of {@link OracleScanFetchTask}. */
+public class OracleScanFetchTaskITCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OracleScanFetchTaskITCase.class);
+
+    private final OracleContainer oracleContainer =
+            OracleTestUtils.ORACLE_CONTAINER.withLogConsumer(new Slf4jLogConsumer(LOG));
+
+    private final List<Connection> connections = new ArrayList<>();
+
+    @Before
+    public void before() {
+        LOG.info("Starting containers...");
+        Startables.deepStart(Stream.of(oracleContainer)).join();
+        LOG.info("Containers are started.");
+    }
+
+    @After
+    public void after() throws SQLException {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        oracleContainer.stop();
+    }
+
+    @Test
+    public void testBackfillChangesDuringSnapshot() throws Exception {
+        final OracleSourceConfigFactory configFactory = createConfigFactory();
+        final OracleDialect dialect = new OracleDialect(configFactory);
+        final List<SnapshotSplit> splits = createSplits(configFactory, dialect);
+
+        final SplitHooks hooks = new SplitHooks();
+        hooks.afterSnapshot(
+                splits.get(1),
+                () -> {
+                    try (Connection connection = openConnection()) {
+                        execute(
+                                connection,
+                                "UPDATE debezium.products SET DESCRIPTION = 'during snapshot'"
+                                        + " WHERE ID = 106",
+                                "DELETE FROM debezium.products WHERE ID = 107");
+                    }
+                });
+        // the changes after the high watermark are read by the stream split
+        hooks.afterHighWatermark(
+                splits.get(1),
+                () -> {
+                    try (Connection connection = openConnection()) {
+                        execute(
+                                connection,
+                                "UPDATE debezium.products SET DESCRIPTION = 'after snapshot'"
+                                        + " WHERE ID = 108");
+                    }
+                });
+
+        final List<String> expected =
+                Arrays.asList(
+                        "101,Small 2-wheel scooter",
+                        "102,12V car battery",
+                        "103,12-pack of drill bits with sizes ranging from #40 to #3",
+                        "104,12oz carpenters hammer",
+                        "105,14oz carpenters hammer",
+                        "106,during snapshot",
+                        "108,water resistent black wind breaker",
+                        "109,24 inch spare tire");
+        assertEquals(expected, readSplits(configFactory, dialect, hooks, splits));
+    }
+
+    @Test(timeout = 300_000L)
+    public void testBackfillStopsWhileTransactionIsOpen() throws Exception {
+        final OracleSourceConfigFactory configFactory = createConfigFactory();
+        final OracleDialect dialect = new OracleDialect(configFactory);
+        final List<SnapshotSplit> splits = createSplits(configFactory, dialect);
+
+        final Connection openTransaction = openConnection();
+        openTransaction.setAutoCommit(false);
+        final SplitHooks hooks = new SplitHooks();
+        // the transaction of the table which isn't captured is open across the high watermark,
+        // so the SCN of the offset stays before the high watermark during the backfill read
+        hooks.afterSnapshot(
+                splits.get(1),
+                () -> {
+                    execute(
+                            openTransaction,
+                            "INSERT INTO debezium.category VALUES (1, 'open transaction')");
+                    try (Connection connection = openConnection()) {
+                        execute(
+                                connection,
+                                "UPDATE debezium.products SET DESCRIPTION = 'during snapshot'"
+                                        + " WHERE ID = 106");
+                    }
+                });
+        // the bounded read stops at the first commit after the high watermark, even though it
+        // doesn't change the captured table
+        hooks.afterHighWatermark(
+                splits.get(1),
+                () -> {
+                    try (Connection connection = openConnection()) {
+                        execute(
+                                connection,
+                                "INSERT INTO debezium.category VALUES (2, 'after snapshot')");
+                    }
+                });
+
+        final List<String> expected =
+                Arrays.asList(
+                        "101,Small 2-wheel scooter",
+                        "102,12V car battery",
+                        "103,12-pack of drill bits with sizes ranging from #40 to #3",
+                        "104,12oz carpenters hammer",
+                        "105,14oz carpenters hammer",
+                        "106,during snapshot",
+                        "107,box of assorted rocks",
+                        "108,water resistent black wind breaker",
+                        "109,24 inch spare tire");
+        try {
+            assertEquals(expected, readSplits(configFactory, dialect, hooks, splits));
+        } finally {
+            openTransaction.rollback();
+        }
+    }
+
+    private List<SnapshotSplit> createSplits(
+            OracleSourceConfigFactory configFactory, OracleDialect dialect) {
+        final List<TableId> tableIds = dialect.discoverDataCollections(configFactory.create(0));
+        assertEquals(1, tableIds.size());
+        final List<SnapshotSplit> splits =
+                new ArrayList<>(
+                        dialect.createChunkSplitter(configFactory.create(0))
+                                .generateSplits(tableIds.get(0)));
+        // [null, 105), [105, 109), [109, null)
+        assertEquals(3, splits.size());
+        return splits;
+    }
+
+    private List<String> readSplits(
+            OracleSourceConfigFactory configFactory,
+            OracleDialect dialect,
+            SplitHooks hooks,
+            List<SnapshotSplit> splits)
+            throws Exception {
+        final HookedFetchTaskContext context =
+                new HookedFetchTaskContext(configFactory, dialect, hooks);
+        final JdbcSourceScanFetcher fetcher = new JdbcSourceScanFetcher(context, 0);
+        final List<String> actual = new ArrayList<>();
+        try {
+            for (SnapshotSplit split : splits) {
+                actual.addAll(readSplit(fetcher, dialect, split));
+            }
+        } finally {
+            fetcher.close();
+        }
+        Collections.sort(actual);
+        return actual;
+    }
+
+    private List<String> readSplit(
+            JdbcSourceScanFetcher fetcher, OracleDialect dialect, SnapshotSplit split)
+            throws Exception {
+        while (!fetcher.isFinished()) {
+            Thread.sleep(10);
+        }
+        fetcher.submitTask(dialect.createFetchTask(split));
+        final List<String> rows = new ArrayList<>();
+        Iterator<SourceRecord> records;
+        while ((records = fetcher.pollSplitRecords()) != null) {
+            while (records.hasNext()) {
+                final SourceRecord record = records.next();
+                if (SourceRecordUtils.isDataChangeRecord(record)) {
+                    final Struct after =
+                            ((Struct) record.value()).getStruct(Envelope.FieldName.AFTER);
+                    rows.add(after.get("ID") + "," + after.get("DESCRIPTION"));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private OracleSourceConfigFactory createConfigFactory() {
+        final OracleSourceConfigFactory configFactory = new OracleSourceConfigFactory();
+        configFactory
+                .database("XE")
+                .schemaList("DEBEZIUM")
+                .hostname(oracleContainer.getHost())
+                .port(oracleContainer.getOraclePort())
+                .username(OracleTestUtils.CONNECTOR_USER)
+                .password(OracleTestUtils.CONNECTOR_PWD)
+                .tableList("DEBEZIUM.PRODUCTS")
+                .splitSize(4)
+                .fetchSize(2);
+        return configFactory;
+    }
+
+    private Connection openConnection() throws SQLException {
+        final Connection connection = OracleTestUtils.getJdbcConnection(oracleContainer);
+        connections.add(connection);
+        return connection;
+    }
+
+    private static void execute(Connection connection, String... sqlStatements)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : sqlStatements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    /** A statement which is executed at a point of the read of a snapshot split. */
+    @FunctionalInterface
+    private interface SplitHook {
+        void run() throws Exception;
+    }
+
+    /** The hooks which change the tables while the snapshot splits are read. */
+    private static class SplitHooks {
+
+        private final Map<String, SplitHook> afterSnapshotHooks = new HashMap<>();
+        private final Map<String, SplitHook> afterHighWatermarkHooks = new HashMap<>();
+
+        void afterSnapshot(SnapshotSplit split, SplitHook hook) {
+            afterSnapshotHooks.put(split.splitId(), hook);
+        }
+
+        void afterHighWatermark(SnapshotSplit split, SplitHook hook) {
+            afterHighWatermarkHooks.put(split.splitId(), hook);
+        }
+
+        private static void run(Map<String, SplitHook> hooks, String splitId) {
+            final SplitHook hook = hooks.remove(splitId);
+            if (hook != null) {
+                try {
+                    hook.run();
+                } catch (Exception e) {
+                    throw new FlinkRuntimeException("Failed to run the hook of " + splitId, e);
+                }
+            }
+        }
+    }
+
+    /** A {@link OracleSourceFetchTaskContext} which runs the hooks of the splits. */
+    private static class HookedFetchTaskContext extends OracleSourceFetchTaskContext {
+
+        private final SplitHooks hooks;
+        private JdbcSourceEventDispatcher dispatcher;
+
+        HookedFetchTaskContext(
+                OracleSourceConfigFactory configFactory, OracleDialect dialect, SplitHooks hooks) {
+            super(configFactory.create(0), dialect, createConnection(configFactory));
+            this.hooks = hooks;
+        }
+
+        private static OracleConnection createConnection(OracleSourceConfigFactory configFactory) {
+            return OracleConnectionUtils.createOracleConnection(
+                    configFactory.create(0).getDbzConnectorConfig());
+        }
+
+        @Override
+        public void configure(SourceSplitBase sourceSplitBase) {
+            super.configure(sourceSplitBase);
+            this.dispatcher = new HookedDispatcher(this, sourceSplitBase.splitId(), hooks);
+        }
+
+        @Override
+        public JdbcSourceEventDispatcher getDispatcher() {
+            return dispatcher;
+        }
+    }
+
+    /** A {@link JdbcSourceEventDispatcher} which runs the hooks of a split. */
+    private static class HookedDispatcher extends JdbcSourceEventDispatcher {
+
+        private final String splitId;
+        private final SplitHooks hooks;
+
+        HookedDispatcher(OracleSourceFetchTaskContext context, String splitId, SplitHooks hooks) {
+            super(
+                    context.getConnectorConfig(),
+                    context.getTopicSelector(),
+                    context.getDatabaseSchema(),
+                    context.getQueue(),
+                    context.getConnectorConfig().getTableFilters().dataCollectionFilter(),
+                    DataChangeEvent::new,
+                    context.getMetadataProvider(),
+                    context.getSchemaNameAdjuster());
+            this.splitId = splitId;
+            this.hooks = hooks;
+        }
+
+        @Override
+        public EventDispatcher.SnapshotReceiver getSnapshotChangeEventReceiver() {
+            final EventDispatcher.SnapshotReceiver receiver =
+                    super.getSnapshotChangeEventReceiver();
+            return new EventDispatcher.SnapshotReceiver() {
+                @Override
+                public void changeRecord(
+                        DataCollectionSchema schema,
+                        Envelope.Operation operation,
+                        Object key,
+                        Struct value,
+                        OffsetContext offset,
+                        ConnectHeaders headers)
+                        throws InterruptedException {
+                    receiver.changeRecord(schema, operation, key, value, offset, headers);
+                }
+
+                @Override
+                public void completeSnapshot() throws InterruptedException {
+                    receiver.completeSnapshot();
+                    // the snapshot query has been read, the high watermark is not determined yet
+                    SplitHooks.run(hooks.afterSnapshotHooks, splitId);
+                }
+            };
+        }
+
+        @Override
+        public void dispatchWatermarkEvent(
+                Map<String, ?> sourcePartition,
+                SourceSplitBase sourceSplit,
+                Offset watermark,
+                WatermarkKind watermarkKind)
+                throws InterruptedException {
+            super.dispatchWatermarkEvent(sourcePartition, sourceSplit, watermark, watermarkKind);
+            if (watermarkKind == WatermarkKind.HIGH) {
+                SplitHooks.run(hooks.afterHighWatermarkHooks, splitId);
+            }
+        }
+    }
+}
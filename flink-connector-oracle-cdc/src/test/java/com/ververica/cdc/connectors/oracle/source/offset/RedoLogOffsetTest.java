@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.oracle.source.offset;
+
+import io.debezium.connector.oracle.Scn;
+import io.debezium.connector.oracle.SourceInfo;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Unit test for {@link RedoLogOffset}. */
+public class RedoLogOffsetTest {
+
+    @Test
+    public void testCompareOffsets() {
+        final RedoLogOffset low = new RedoLogOffset(Scn.valueOf(1000L), Scn.valueOf(990L));
+        final RedoLogOffset high = new RedoLogOffset(Scn.valueOf(2000L));
+
+        assertTrue(high.isAfter(low));
+        assertTrue(low.isBefore(high));
+        assertTrue(low.isAtOrBefore(new RedoLogOffset(Scn.valueOf(1000L))));
+        assertTrue(RedoLogOffset.INITIAL_OFFSET.isBefore(low));
+        assertTrue(RedoLogOffset.NO_STOPPING_OFFSET.isAfter(high));
+        assertFalse(RedoLogOffset.NO_STOPPING_OFFSET.isBefore(high));
+    }
+
+    @Test
+    public void testConvertFromSourceOffset() {
+        final Map<String, Object> sourceOffset = new HashMap<>();
+        sourceOffset.put(SourceInfo.SCN_KEY, "3000");
+        sourceOffset.put(SourceInfo.COMMIT_SCN_KEY, null);
+        sourceOffset.put(SourceInfo.TXID_KEY, "0a001b00c1030000");
+        sourceOffset.put("snapshot", false);
+
+        final RedoLogOffset offset = RedoLogOffset.of(sourceOffset);
+        assertEquals(Scn.valueOf(3000L), offset.getScn());
+        assertTrue(offset.getCommitScn().isNull());
+
+        final Map<String, Object> debeziumOffset = offset.toDebeziumOffset();
+        assertEquals("3000", debeziumOffset.get(SourceInfo.SCN_KEY));
+        assertFalse(debeziumOffset.containsKey(SourceInfo.COMMIT_SCN_KEY));
+        assertFalse(debeziumOffset.containsKey(SourceInfo.TXID_KEY));
+        assertFalse(debeziumOffset.containsKey("snapshot"));
+    }
+
+    @Test
+    public void testConvertWatermarkOffset() {
+        final RedoLogOffset offset = new RedoLogOffset(Scn.valueOf(4000L), Scn.valueOf(3990L));
+
+        final Map<String, Object> debeziumOffset = offset.toDebeziumOffset();
+        assertEquals("4000", debeziumOffset.get(SourceInfo.SCN_KEY));
+        assertEquals("3990", debeziumOffset.get(SourceInfo.COMMIT_SCN_KEY));
+        assertEquals(offset, RedoLogOffset.of(debeziumOffset));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import io.debezium.connector.oracle.Scn;
+import io.debezium.connector.oracle.logminer.TransactionalBuffer.DmlEvent;
+import io.debezium.connector.oracle.logminer.TransactionalBuffer.LogMinerEvent;
+import io.debezium.connector.oracle.logminer.valueholder.LogMinerDmlEntry;
+import io.debezium.connector.oracle.logminer.valueholder.LogMinerDmlEntryImpl;
+import io.debezium.relational.TableId;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** Unit test for {@link TransactionSpillFile}. */
+public class TransactionSpillFileTest {
+
+    private static final TableId TABLE_ID = new TableId("ORCLCDB", "DEBEZIUM", "PRODUCTS");
+
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testReadSpilledEventsInOrder() throws Exception {
+        final TransactionSpillFile spillFile =
+                TransactionSpillFile.create(temporaryFolder.getRoot().toPath(), "0a001b00c1030000");
+
+        final List<LogMinerEvent> events =
+                Arrays.asList(
+                        dmlEvent(
+                                RowMapper.INSERT,
+                                1L,
+                                LogMinerDmlEntryImpl.forInsert(new Object[] {"101", "scooter"})),
+                        dmlEvent(
+                                RowMapper.UPDATE,
+                                2L,
+                                LogMinerDmlEntryImpl.forUpdate(
+                                        new Object[] {"101", null},
+                                        new Object[] {"101", "scooter"})),
+                        dmlEvent(
+                                RowMapper.DELETE,
+                                3L,
+                                LogMinerDmlEntryImpl.forDelete(
+                                        new Object[] {"101", new BigDecimal("3.14")})));
+        assertTrue(spillFile.append(events.subList(0, 2)) > 0);
+        assertTrue(spillFile.append(events.subList(2, 3)) > 0);
+        assertEquals(3, spillFile.getEvents());
+
+        final List<LogMinerEvent> spilledEvents = new ArrayList<>();
+        try (TransactionSpillFile.Reader reader = spillFile.read()) {
+            reader.forEachRemaining(spilledEvents::add);
+        }
+        assertEquals(events.size(), spilledEvents.size());
+        for (int i = 0; i < events.size(); i++) {
+            final LogMinerEvent expected = events.get(i);
+            final LogMinerEvent actual = spilledEvents.get(i);
+            assertEquals(expected.getOperation(), actual.getOperation());
+            assertEquals(expected.getScn(), actual.getScn());
+            assertEquals(expected.getTableId(), actual.getTableId());
+            assertEquals(expected.getRowId(), actual.getRowId());
+            assertEquals(expected.getRsId(), actual.getRsId());
+            assertEquals(expected.getEntry().getOperation(), actual.getEntry().getOperation());
+            assertEquals(expected.getEntry().getObjectOwner(), actual.getEntry().getObjectOwner());
+            assertEquals(expected.getEntry().getObjectName(), actual.getEntry().getObjectName());
+            assertArrayEquals(expected.getEntry().getOldValues(), actual.getEntry().getOldValues());
+            assertArrayEquals(expected.getEntry().getNewValues(), actual.getEntry().getNewValues());
+        }
+        assertNull(spilledEvents.get(1).getEntry().getNewValues()[1]);
+
+        spillFile.delete();
+        assertFalse(Files.exists(spillFile.getPath()));
+    }
+
+    @Test
+    public void testReadEmptySpillFile() throws Exception {
+        final TransactionSpillFile spillFile =
+                TransactionSpillFile.create(temporaryFolder.getRoot().toPath(), "0a001b00c1030001");
+        assertEquals(0L, spillFile.append(Collections.emptyList()));
+        try (TransactionSpillFile.Reader reader = spillFile.read()) {
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    private static LogMinerEvent dmlEvent(int operation, long scn, LogMinerDmlEntry entry) {
+        entry.setObjectOwner(TABLE_ID.schema());
+        entry.setObjectName(TABLE_ID.table());
+        return new DmlEvent(
+                operation,
+                entry,
+                Scn.valueOf(scn),
+                TABLE_ID,
+                "AAAR1sAAEAAAACXAAA",
+                " 0x000004.000003cd.0010 ");
+    }
+}
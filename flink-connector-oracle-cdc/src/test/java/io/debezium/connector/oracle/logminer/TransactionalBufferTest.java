@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.debezium.connector.oracle.logminer;
+
+import com.ververica.cdc.connectors.oracle.source.fetch.OracleSourceFetchTaskContext.OracleEventMetadataProvider;
+import io.debezium.config.Configuration;
+import io.debezium.connector.base.ChangeEventQueue;
+import io.debezium.connector.oracle.OracleConnectorConfig;
+import io.debezium.connector.oracle.OracleDatabaseSchema;
+import io.debezium.connector.oracle.OracleErrorHandler;
+import io.debezium.connector.oracle.OracleOffsetContext;
+import io.debezium.connector.oracle.OracleStreamingChangeEventSourceMetrics;
+import io.debezium.connector.oracle.OracleTaskContext;
+import io.debezium.connector.oracle.OracleTopicSelector;
+import io.debezium.connector.oracle.OracleValueConverters;
+import io.debezium.connector.oracle.Scn;
+import io.debezium.connector.oracle.SourceInfo;
+import io.debezium.connector.oracle.StreamingAdapter.TableNameCaseSensitivity;
+import io.debezium.connector.oracle.logminer.valueholder.LogMinerDmlEntry;
+import io.debezium.connector.oracle.logminer.valueholder.LogMinerDmlEntryImpl;
+import io.debezium.pipeline.DataChangeEvent;
+import io.debezium.pipeline.EventDispatcher;
+import io.debezium.pipeline.source.spi.ChangeEventSource.ChangeEventSourceContext;
+import io.debezium.pipeline.spi.ChangeRecordEmitter;
+import io.debezium.pipeline.spi.OffsetContext;
+import io.debezium.relational.Column;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.relational.history.MemoryDatabaseHistory;
+import io.debezium.util.Clock;
+import io.debezium.util.SchemaNameAdjuster;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** Unit test for {@link TransactionalBuffer}. */
+public class TransactionalBufferTest {
+
+    private static final TableId TABLE_ID = new TableId("ORCLCDB", "DEBEZIUM", "PRODUCTS");
+    private static final String TRANSACTION_ID = "0a001b00c1030000";
+
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private OracleDatabaseSchema schema;
+    private TransactionalBuffer buffer;
+    private OracleErrorHandler errorHandler;
+    private OracleOffsetContext offsetContext;
+    private CapturingDispatcher dispatcher;
+
+    @After
+    public void after() {
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
+    @Test
+    public void testUndoAndReinsertSameRow() throws Exception {
+        createBuffer(Configuration.empty());
+
+        registerInsert(TRANSACTION_ID, 2L, "AAA", "101", "scooter");
+        buffer.undoDmlOperation(TRANSACTION_ID, "AAA", TABLE_ID);
+        registerInsert(TRANSACTION_ID, 3L, "AAA", "101", "car battery");
+
+        assertTrue(commit(TRANSACTION_ID, 4L));
+        assertEquals(Collections.singletonList("c:101,car battery"), dispatcher.events);
+        assertEquals(1, dispatcher.committedTransactions);
+        assertNull(errorHandler.getProducerThrowable());
+    }
+
+    @Test
+    public void testUndoAfterCompaction() throws Exception {
+        createBuffer(Configuration.empty());
+
+        registerInsert(TRANSACTION_ID, 2L, "AAA", "101", "scooter");
+        registerInsert(TRANSACTION_ID, 3L, "AAB", "102", "car battery");
+        registerInsert(TRANSACTION_ID, 4L, "AAC", "103", "drill bits");
+        // the second undo removes more than half of the events and compacts the rest
+        buffer.undoDmlOperation(TRANSACTION_ID, "AAA", TABLE_ID);
+        buffer.undoDmlOperation(TRANSACTION_ID, "AAC", TABLE_ID);
+        registerInsert(TRANSACTION_ID, 5L, "AAD", "104", "hammer");
+        registerInsert(TRANSACTION_ID, 6L, "AAE", "105", "rocks");
+        // the row index is rebuilt on compaction, so the moved events are still found
+        buffer.undoDmlOperation(TRANSACTION_ID, "AAB", TABLE_ID);
+        buffer.undoDmlOperation(TRANSACTION_ID, "AAE", TABLE_ID);
+        registerInsert(TRANSACTION_ID, 7L, "AAC", "103", "spare tire");
+
+        assertTrue(commit(TRANSACTION_ID, 8L));
+        assertEquals(Arrays.asList("c:104,hammer", "c:103,spare tire"), dispatcher.events);
+        assertNull(errorHandler.getProducerThrowable());
+    }
+
+    @Test
+    public void testUndoSpilledRows() throws Exception {
+        // every event is spilled to disk as soon as it is registered
+        createBuffer(
+                Configuration.create()
+                        .with(TransactionalBuffer.SPILL_TRANSACTION_THRESHOLD_BYTES, 1L)
+                        .with(
+                                TransactionalBuffer.SPILL_DIRECTORY,
+                                temporaryFolder.getRoot().getAbsolutePath())
+                        .build());
+
+        registerInsert(TRANSACTION_ID, 2L, "AAA", "101", "scooter");
+        registerInsert(TRANSACTION_ID, 3L, "AAB", "102", "car battery");
+        buffer.undoDmlOperation(TRANSACTION_ID, "AAA", TABLE_ID);
+        registerInsert(TRANSACTION_ID, 4L, "AAA", "101", "drill bits");
+        assertEquals(1, temporaryFolder.getRoot().list().length);
+
+        assertTrue(commit(TRANSACTION_ID, 5L));
+        assertEquals(Arrays.asList("c:102,car battery", "c:101,drill bits"), dispatcher.events);
+        assertNull(errorHandler.getProducerThrowable());
+        assertEquals(0, temporaryFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void testMergeLobUpdateAcrossUndoneRow() throws Exception {
+        createBuffer(Configuration.create().with("lob.enabled", true).build());
+        schema.refresh(
+                Table.editor()
+                        .tableId(TABLE_ID)
+                        .addColumns(
+                                column("ID", "VARCHAR2", Types.VARCHAR, 1),
+                                column("DESCRIPTION", "CLOB", Types.CLOB, 2))
+                        .setPrimaryKeyNames("ID")
+                        .create());
+
+        registerInsert(TRANSACTION_ID, 2L, "AAA", "101", "EMPTY_CLOB()");
+        registerInsert(TRANSACTION_ID, 3L, "AAB", "102", "EMPTY_CLOB()");
+        // leaves a removed event between the insert and the update of the LOB column
+        buffer.undoDmlOperation(TRANSACTION_ID, "AAB", TABLE_ID);
+        buffer.registerDmlOperation(
+                RowMapper.UPDATE,
+                TRANSACTION_ID,
+                Scn.valueOf(2L),
+                TABLE_ID,
+                () ->
+                        LogMinerDmlEntryImpl.forUpdate(
+                                new Object[] {"101", "scooter"}, new Object[] {"101", null}),
+                Instant.now(),
+                "AAA",
+                "0x000001");
+
+        assertTrue(commit(TRANSACTION_ID, 4L));
+        assertEquals(Collections.singletonList("c:101,scooter"), dispatcher.events);
+        assertNull(errorHandler.getProducerThrowable());
+    }
+
+    @Test
+    public void testAbandonTransactionsInFirstScnOrder() throws Exception {
+        createBuffer(Configuration.empty());
+
+        buffer.registerTransaction("tx-10", Scn.valueOf(10L));
+        buffer.registerTransaction("tx-20", Scn.valueOf(20L));
+        buffer.registerTransaction("tx-05", Scn.valueOf(5L));
+        registerInsert("tx-05", 6L, "AAA", "101", "scooter");
+        registerInsert("tx-20", 21L, "AAB", "102", "car battery");
+        assertEquals(Scn.valueOf(5L), buffer.getMinimumScn());
+
+        buffer.abandonLongTransactions(Scn.valueOf(10L), offsetContext);
+        assertFalse(buffer.isTransactionRegistered("tx-05"));
+        assertFalse(buffer.isTransactionRegistered("tx-10"));
+        assertTrue(buffer.isTransactionRegistered("tx-20"));
+        assertEquals(Scn.valueOf(20L), buffer.getMinimumScn());
+
+        // the later events of the abandoned transactions are ignored
+        registerInsert("tx-10", 22L, "AAC", "103", "drill bits");
+        assertFalse(buffer.isTransactionRegistered("tx-10"));
+        assertFalse(commit("tx-10", 23L));
+        assertTrue(commit("tx-20", 24L));
+        assertEquals(Collections.singletonList("c:102,car battery"), dispatcher.events);
+        assertTrue(buffer.isEmpty());
+        assertNull(errorHandler.getProducerThrowable());
+    }
+
+    // ------------------------------------------------------------------------------------
+
+    private void createBuffer(Configuration overrides) throws Exception {
+        final OracleConnectorConfig connectorConfig =
+                new OracleConnectorConfig(
+                        Configuration.create()
+                                .with("database.server.name", "oracle_logminer")
+                                .with("database.dbname", "ORCLCDB")
+                                .with("database.history", MemoryDatabaseHistory.class.getName())
+                                .with(overrides)
+                                .build());
+        schema =
+                new OracleDatabaseSchema(
+                        connectorConfig,
+                        new OracleValueConverters(connectorConfig, null),
+                        SchemaNameAdjuster.create(),
+                        OracleTopicSelector.defaultSelector(connectorConfig),
+                        TableNameCaseSensitivity.INSENSITIVE);
+        final OracleTaskContext taskContext = new OracleTaskContext(connectorConfig, schema);
+        final ChangeEventQueue<DataChangeEvent> queue =
+                new ChangeEventQueue.Builder<DataChangeEvent>()
+                        .pollInterval(connectorConfig.getPollInterval())
+                        .maxBatchSize(connectorConfig.getMaxBatchSize())
+                        .maxQueueSize(connectorConfig.getMaxQueueSize())
+                        .loggingContextSupplier(
+                                () -> taskContext.configureLoggingContext("oracle-test"))
+                        .build();
+        final OracleEventMetadataProvider metadataProvider = new OracleEventMetadataProvider();
+
+        errorHandler = new OracleErrorHandler(connectorConfig.getLogicalName(), queue);
+        offsetContext =
+                new LogMinerOracleOffsetContextLoader(connectorConfig)
+                        .load(Collections.singletonMap(SourceInfo.SCN_KEY, "1"));
+        dispatcher = new CapturingDispatcher(connectorConfig, schema, queue, metadataProvider);
+        buffer =
+                new TransactionalBuffer(
+                        connectorConfig,
+                        schema,
+                        Clock.system(),
+                        errorHandler,
+                        new OracleStreamingChangeEventSourceMetrics(
+                                taskContext, queue, metadataProvider, connectorConfig));
+    }
+
+    private void registerInsert(
+            String transactionId, long scn, String rowId, String id, String description) {
+        final Supplier<LogMinerDmlEntry> entry =
+                () -> LogMinerDmlEntryImpl.forInsert(new Object[] {id, description});
+        buffer.registerDmlOperation(
+                RowMapper.INSERT,
+                transactionId,
+                Scn.valueOf(scn),
+                TABLE_ID,
+                entry,
+                Instant.now(),
+                rowId,
+                "0x000001");
+    }
+
+    private boolean commit(String transactionId, long scn) {
+        final ChangeEventSourceContext context =
+                new ChangeEventSourceContext() {
+                    @Override
+                    public boolean isRunning() {
+                        return true;
+                    }
+                };
+        return buffer.commit(
+                transactionId,
+                Scn.valueOf(scn),
+                offsetContext,
+                new Timestamp(System.currentTimeMillis()),
+                context,
+                "commit of " + transactionId,
+                dispatcher);
+    }
+
+    private static Column column(String name, String typeName, int jdbcType, int position) {
+        return Column.editor()
+                .name(name)
+                .type(typeName)
+                .jdbcType(jdbcType)
+                .position(position)
+                .optional(position > 1)
+                .create();
+    }
+
+    /** Records the dispatched changes as {@code <op>:<new column values>}. */
+    private static class CapturingDispatcher extends EventDispatcher<TableId> {
+
+        private final List<String> events = new ArrayList<>();
+        private int committedTransactions;
+
+        CapturingDispatcher(
+                OracleConnectorConfig connectorConfig,
+                OracleDatabaseSchema schema,
+                ChangeEventQueue<DataChangeEvent> queue,
+                OracleEventMetadataProvider metadataProvider) {
+            super(
+                    connectorConfig,
+                    OracleTopicSelector.defaultSelector(connectorConfig),
+                    schema,
+                    queue,
+                    connectorConfig.getTableFilters().dataCollectionFilter(),
+                    DataChangeEvent::new,
+                    metadataProvider,
+                    SchemaNameAdjuster.create());
+        }
+
+        @Override
+        public boolean dispatchDataChangeEvent(TableId tableId, ChangeRecordEmitter emitter) {
+            final LogMinerChangeRecordEmitter recordEmitter = (LogMinerChangeRecordEmitter) emitter;
+            events.add(
+                    recordEmitter.getOperation().code()
+                            + ":"
+                            + Arrays.stream(recordEmitter.getNewColumnValues())
+                                    .map(String::valueOf)
+                                    .collect(Collectors.joining(",")));
+            return true;
+        }
+
+        @Override
+        public void dispatchTransactionCommittedEvent(OffsetContext offset) {
+            committedTransactions++;
+        }
+
+        @Override
+        public void dispatchHeartbeatEvent(OffsetContext offset) {}
+    }
+}
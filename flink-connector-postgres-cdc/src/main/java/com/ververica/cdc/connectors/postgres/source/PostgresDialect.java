@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.source;
+
+import org.apache.flink.annotation.Experimental;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.base.config.JdbcSourceConfig;
+import com.ververica.cdc.connectors.base.dialect.JdbcDataSourceDialect;
+import com.ververica.cdc.connectors.base.relational.connection.JdbcConnectionPoolFactory;
+import com.ververica.cdc.connectors.base.source.assigner.splitter.ChunkSplitter;
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.reader.external.FetchTask;
+import com.ververica.cdc.connectors.postgres.source.config.PostgresSourceConfig;
+import com.ververica.cdc.connectors.postgres.source.config.PostgresSourceConfigFactory;
+import com.ververica.cdc.connectors.postgres.source.fetch.PostgresScanFetchTask;
+import com.ververica.cdc.connectors.postgres.source.fetch.PostgresSourceFetchTaskContext;
+import com.ververica.cdc.connectors.postgres.source.fetch.PostgresStreamFetchTask;
+import com.ververica.cdc.connectors.postgres.source.offset.PostgresOffset;
+import com.ververica.cdc.connectors.postgres.source.utils.PostgresConnectionUtils;
+import com.ververica.cdc.connectors.postgres.source.utils.TableDiscoveryUtils;
+import io.debezium.connector.postgresql.connection.PostgresConnection;
+import io.debezium.jdbc.JdbcConnection;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.relational.Tables;
+import io.debezium.relational.history.TableChanges;
+import io.debezium.relational.history.TableChanges.TableChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link JdbcDataSourceDialect} implementation for PostgreSQL datasource.
+ *
+ * <p>The snapshot splits are read by {@link PostgresScanFetchTask} and backfilled with the changes
+ * between the low and high watermark from the write-ahead log. The stream split is read from the
+ * replication slot by {@link PostgresStreamFetchTask}, and the slot is confirmed up to the offset
+ * of a completed checkpoint, so PostgreSQL can recycle the write-ahead log before the offset.
+ */
+@Experimental
+public class PostgresDialect implements JdbcDataSourceDialect {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostgresDialect.class);
+
+    private final PostgresSourceConfig sourceConfig;
+    private transient Map<TableId, TableChange> tableSchemas;
+    private transient volatile PostgresStreamFetchTask streamFetchTask;
+
+    public PostgresDialect(PostgresSourceConfigFactory configFactory) {
+        this.sourceConfig = configFactory.create(0);
+    }
+
+    @Override
+    public String getName() {
+        return "PostgreSQL";
+    }
+
+    @Override
+    public Offset displayCurrentOffset(JdbcSourceConfig sourceConfig) {
+        try (PostgresConnection connection =
+                new PostgresConnection(
+                        ((PostgresSourceConfig) sourceConfig)
+                                .getDbzConnectorConfig()
+                                .getJdbcConfig())) {
+            return PostgresConnectionUtils.currentOffset(connection);
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException("Read the WAL position error", e);
+        }
+    }
+
+    @Override
+    public boolean isDataCollectionIdCaseSensitive(JdbcSourceConfig sourceConfig) {
+        // PostgreSQL compares the quoted identifiers case-sensitively
+        return true;
+    }
+
+    @Override
+    public ChunkSplitter<TableId> createChunkSplitter(JdbcSourceConfig sourceConfig) {
+        return new PostgresChunkSplitter(sourceConfig, this);
+    }
+
+    @Override
+    public JdbcConnectionPoolFactory getPooledDataSourceFactory() {
+        return new PostgresConnectionPoolFactory();
+    }
+
+    @Override
+    public List<TableId> discoverDataCollections(JdbcSourceConfig sourceConfig) {
+        PostgresSourceConfig postgresSourceConfig = (PostgresSourceConfig) sourceConfig;
+        try (JdbcConnection jdbcConnection = openJdbcConnection(sourceConfig)) {
+            return TableDiscoveryUtils.listTables(
+                    jdbcConnection, postgresSourceConfig.getTableFilters());
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException("Error to discover tables: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<TableId, TableChange> discoverDataCollectionSchemas(JdbcSourceConfig sourceConfig) {
+        final List<TableId> capturedTableIds = discoverDataCollections(sourceConfig);
+
+        try (JdbcConnection jdbc = openJdbcConnection(sourceConfig)) {
+            // fetch table schemas
+            Map<TableId, TableChange> tableSchemas = new HashMap<>();
+            for (TableId tableId : capturedTableIds) {
+                tableSchemas.put(tableId, queryTableSchema(jdbc, tableId));
+            }
+            return tableSchemas;
+        } catch (Exception e) {
+            throw new FlinkRuntimeException(
+                    "Error to discover table schemas: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public TableChange queryTableSchema(JdbcConnection jdbc, TableId tableId) {
+        if (tableSchemas == null) {
+            tableSchemas = new HashMap<>();
+        }
+        TableChange tableChange = tableSchemas.get(tableId);
+        if (tableChange == null) {
+            tableChange = readTableSchema(jdbc, tableId);
+            tableSchemas.put(tableId, tableChange);
+        }
+        return tableChange;
+    }
+
+    private TableChange readTableSchema(JdbcConnection jdbc, TableId tableId) {
+        final Tables tables = new Tables();
+        try {
+            jdbc.readSchema(tables, null, tableId.schema(), tableId::equals, null, false);
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException(
+                    String.format("Failed to read schema for table %s", tableId), e);
+        }
+        final Table table = tables.forTable(tableId);
+        if (table == null) {
+            throw new FlinkRuntimeException(
+                    String.format("Can't obtain schema for table %s", tableId));
+        }
+        return new TableChange(TableChanges.TableChangeType.CREATE, table);
+    }
+
+    @Override
+    public PostgresSourceFetchTaskContext createFetchTaskContext(SourceSplitBase sourceSplitBase) {
+        final PostgresConnection jdbcConnection =
+                PostgresConnectionUtils.createPostgresConnection(
+                        sourceConfig.getDbzConnectorConfig());
+        return new PostgresSourceFetchTaskContext(sourceConfig, this, jdbcConnection);
+    }
+
+    @Override
+    public FetchTask<SourceSplitBase> createFetchTask(SourceSplitBase sourceSplitBase) {
+        if (sourceSplitBase.isSnapshotSplit()) {
+            return new PostgresScanFetchTask(sourceSplitBase.asSnapshotSplit());
+        } else {
+            streamFetchTask = new PostgresStreamFetchTask(sourceSplitBase.asStreamSplit());
+            return streamFetchTask;
+        }
+    }
+
+    @Override
+    public void notifyCheckpointComplete(long checkpointId, Offset streamOffset) {
+        final PostgresStreamFetchTask fetchTask = streamFetchTask;
+        if (fetchTask != null) {
+            LOG.debug(
+                    "Confirming the offset {} of checkpoint {} to the replication slot",
+                    streamOffset,
+                    checkpointId);
+            fetchTask.commitOffset((PostgresOffset) streamOffset);
+        }
+    }
+}
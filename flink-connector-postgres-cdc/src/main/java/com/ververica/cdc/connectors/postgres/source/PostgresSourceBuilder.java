@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.source;
+
+import org.apache.flink.annotation.Experimental;
+
+import com.ververica.cdc.connectors.base.options.StartupOptions;
+import com.ververica.cdc.connectors.base.source.JdbcIncrementalSource;
+import com.ververica.cdc.connectors.postgres.source.config.PostgresSourceConfigFactory;
+import com.ververica.cdc.connectors.postgres.source.offset.PostgresOffsetFactory;
+import com.ververica.cdc.debezium.DebeziumDeserializationSchema;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The builder class for {@link PostgresIncrementalSource} to make it easier for the users to
+ * construct a {@link PostgresIncrementalSource}.
+ *
+ * <pre>{@code
+ * PostgresSourceBuilder
+ *     .<String>builder()
+ *     .hostname("localhost")
+ *     .port(5432)
+ *     .database("postgres")
+ *     .schemaList("inventory")
+ *     .tableList("inventory.products")
+ *     .username(username)
+ *     .password(password)
+ *     .slotName("flink")
+ *     .deserializer(new JsonDebeziumDeserializationSchema())
+ *     .build();
+ * }</pre>
+ *
+ * <p>Check the Java docs of each individual method to learn more about the settings to build a
+ * {@link PostgresIncrementalSource}.
+ */
+@Experimental
+public class PostgresSourceBuilder<T> {
+    private final PostgresSourceConfigFactory configFactory = new PostgresSourceConfigFactory();
+    private PostgresOffsetFactory offsetFactory;
+    private PostgresDialect dialect;
+    private DebeziumDeserializationSchema<T> deserializer;
+
+    public static <T> PostgresSourceBuilder<T> builder() {
+        return new PostgresSourceBuilder<>();
+    }
+
+    public PostgresSourceBuilder<T> hostname(String hostname) {
+        this.configFactory.hostname(hostname);
+        return this;
+    }
+
+    /** Integer port number of the PostgreSQL database server. */
+    public PostgresSourceBuilder<T> port(int port) {
+        this.configFactory.port(port);
+        return this;
+    }
+
+    /** The name of the PostgreSQL database from which to stream the changes. */
+    public PostgresSourceBuilder<T> database(String database) {
+        this.configFactory.database(database);
+        return this;
+    }
+
+    /**
+     * An optional list of regular expressions that match schema names to be monitored; any schema
+     * name not included in the list will be excluded from monitoring.
+     */
+    public PostgresSourceBuilder<T> schemaList(String... schemaList) {
+        this.configFactory.schemaList(schemaList);
+        return this;
+    }
+
+    /**
+     * An optional list of regular expressions that match fully-qualified table identifiers for
+     * tables to be monitored; any table not included in the list will be excluded from monitoring.
+     * Each identifier is of the form {@code <schemaName>.<tableName>}.
+     */
+    public PostgresSourceBuilder<T> tableList(String... tableList) {
+        this.configFactory.tableList(tableList);
+        return this;
+    }
+
+    /** Name of the PostgreSQL database to use when connecting to the PostgreSQL database server. */
+    public PostgresSourceBuilder<T> username(String username) {
+        this.configFactory.username(username);
+        return this;
+    }
+
+    /** Password to use when connecting to the PostgreSQL database server. */
+    public PostgresSourceBuilder<T> password(String password) {
+        this.configFactory.password(password);
+        return this;
+    }
+
+    /**
+     * The name of the Postgres logical decoding plug-in installed on the server. Supported values
+     * are decoderbufs, wal2json, wal2json_rds, wal2json_streaming, wal2json_rds_streaming and
+     * pgoutput.
+     */
+    public PostgresSourceBuilder<T> decodingPluginName(String name) {
+        this.configFactory.decodingPluginName(name);
+        return this;
+    }
+
+    /**
+     * The name of the PostgreSQL logical decoding slot that was created for streaming changes from
+     * a particular plug-in for a particular database/schema. The server uses this slot to stream
+     * events to the connector that you are configuring. Slot names must conform to <a
+     * href="https://www.postgresql.org/docs/current/static/warm-standby.html#STREAMING-REPLICATION-SLOTS-MANIPULATION">PostgreSQL
+     * replication slot naming rules</a>, which state: "Each replication slot has a name, which can
+     * contain lower-case letters, numbers, and the underscore character."
+     */
+    public PostgresSourceBuilder<T> slotName(String slotName) {
+        this.configFactory.slotName(slotName);
+        return this;
+    }
+
+    /**
+     * The split size (number of rows) of table snapshot, captured tables are split into multiple
+     * splits when read the snapshot of table.
+     */
+    public PostgresSourceBuilder<T> splitSize(int splitSize) {
+        this.configFactory.splitSize(splitSize);
+        return this;
+    }
+
+    /**
+     * The group size of split meta, if the meta size exceeds the group size, the meta will be
+     * divided into multiple groups.
+     */
+    public PostgresSourceBuilder<T> splitMetaGroupSize(int splitMetaGroupSize) {
+        this.configFactory.splitMetaGroupSize(splitMetaGroupSize);
+        return this;
+    }
+
+    /**
+     * The upper bound of split key evenly distribution factor, the factor is used to determine
+     * whether the table is evenly distribution or not.
+     */
+    public PostgresSourceBuilder<T> distributionFactorUpper(double distributionFactorUpper) {
+        this.configFactory.distributionFactorUpper(distributionFactorUpper);
+        return this;
+    }
+
+    /**
+     * The lower bound of split key evenly distribution factor, the factor is used to determine
+     * whether the table is evenly distribution or not.
+     */
+    public PostgresSourceBuilder<T> distributionFactorLower(double distributionFactorLower) {
+        this.configFactory.distributionFactorLower(distributionFactorLower);
+        return this;
+    }
+
+    /** The maximum fetch size for per poll when read table snapshot. */
+    public PostgresSourceBuilder<T> fetchSize(int fetchSize) {
+        this.configFactory.fetchSize(fetchSize);
+        return this;
+    }
+
+    /**
+     * The maximum time that the connector should wait after trying to connect to the PostgreSQL
+     * database server before timing out.
+     */
+    public PostgresSourceBuilder<T> connectTimeout(Duration connectTimeout) {
+        this.configFactory.connectTimeout(connectTimeout);
+        return this;
+    }
+
+    /** The max retry times to get connection. */
+    public PostgresSourceBuilder<T> connectMaxRetries(int connectMaxRetries) {
+        this.configFactory.connectMaxRetries(connectMaxRetries);
+        return this;
+    }
+
+    /** The connection pool size. */
+    public PostgresSourceBuilder<T> connectionPoolSize(int connectionPoolSize) {
+        this.configFactory.connectionPoolSize(connectionPoolSize);
+        return this;
+    }
+
+    /** Specifies the startup options. */
+    public PostgresSourceBuilder<T> startupOptions(StartupOptions startupOptions) {
+        this.configFactory.startupOptions(startupOptions);
+        return this;
+    }
+
+    /** The Debezium PostgreSQL connector properties. For example, "snapshot.mode". */
+    public PostgresSourceBuilder<T> debeziumProperties(Properties properties) {
+        this.configFactory.debeziumProperties(properties);
+        return this;
+    }
+
+    /**
+     * The deserializer used to convert from consumed {@link
+     * org.apache.kafka.connect.source.SourceRecord}.
+     */
+    public PostgresSourceBuilder<T> deserializer(DebeziumDeserializationSchema<T> deserializer) {
+        this.deserializer = deserializer;
+        return this;
+    }
+
+    /**
+     * Build the {@link PostgresIncrementalSource}.
+     *
+     * @return a PostgresIncrementalSource with the settings made for this builder.
+     */
+    public PostgresIncrementalSource<T> build() {
+        this.offsetFactory = new PostgresOffsetFactory();
+        this.dialect = new PostgresDialect(configFactory);
+        return new PostgresIncrementalSource<>(
+                configFactory, checkNotNull(deserializer), offsetFactory, dialect);
+    }
+
+    /** The {@link JdbcIncrementalSource} implementation for PostgreSQL. */
+    public static class PostgresIncrementalSource<T> extends JdbcIncrementalSource<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        public PostgresIncrementalSource(
+                PostgresSourceConfigFactory configFactory,
+                DebeziumDeserializationSchema<T> deserializationSchema,
+                PostgresOffsetFactory offsetFactory,
+                PostgresDialect dataSourceDialect) {
+            super(configFactory, deserializationSchema, offsetFactory, dataSourceDialect);
+        }
+    }
+}
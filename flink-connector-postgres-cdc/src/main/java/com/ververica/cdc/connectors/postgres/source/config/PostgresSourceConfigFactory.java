@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.source.config;
+
+import com.ververica.cdc.connectors.base.config.JdbcSourceConfigFactory;
+import io.debezium.config.Configuration;
+
+import java.util.Collections;
+import java.util.Properties;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/** A factory to initialize {@link PostgresSourceConfig}. */
+public class PostgresSourceConfigFactory extends JdbcSourceConfigFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String JDBC_DRIVER = "org.postgresql.Driver";
+
+    private String pluginName = "decoderbufs";
+    private String slotName = "flink";
+    private String database;
+    private String[] schemaList;
+
+    public PostgresSourceConfigFactory() {
+        this.port = 5432;
+    }
+
+    /** The name of the PostgreSQL database from which to stream the changes. */
+    public PostgresSourceConfigFactory database(String database) {
+        this.database = database;
+        return this;
+    }
+
+    /**
+     * An optional list of regular expressions that match schema names to be monitored; any schema
+     * name not included in the list will be excluded from monitoring.
+     */
+    public PostgresSourceConfigFactory schemaList(String... schemaList) {
+        this.schemaList = schemaList;
+        return this;
+    }
+
+    /** The name of the Postgres logical decoding plug-in installed on the server. */
+    public PostgresSourceConfigFactory decodingPluginName(String name) {
+        this.pluginName = name;
+        return this;
+    }
+
+    /**
+     * The name of the PostgreSQL logical decoding slot that was created for streaming changes from
+     * a particular plug-in for a particular database/schema.
+     */
+    public PostgresSourceConfigFactory slotName(String slotName) {
+        this.slotName = slotName;
+        return this;
+    }
+
+    @Override
+    public PostgresSourceConfig create(int subtaskId) {
+        Properties props = new Properties();
+        // hard code server name, because we don't need to distinguish it, docs:
+        // Logical name that identifies and provides a namespace for the particular
+        // PostgreSQL database server/cluster being monitored.
+        props.setProperty("database.server.name", "postgres_cdc_source");
+        props.setProperty("database.hostname", checkNotNull(hostname));
+        props.setProperty("database.dbname", checkNotNull(database));
+        props.setProperty("database.user", checkNotNull(username));
+        props.setProperty("database.password", checkNotNull(password));
+        props.setProperty("database.port", String.valueOf(port));
+        props.setProperty("plugin.name", pluginName);
+        props.setProperty("slot.name", slotName);
+        // PostgreSQL doesn't emit schema change events
+        props.setProperty("include.schema.changes", String.valueOf(false));
+        // disable the offset flush totally
+        props.setProperty("offset.flush.interval.ms", String.valueOf(Long.MAX_VALUE));
+        // disable tombstones
+        props.setProperty("tombstones.on.delete", String.valueOf(false));
+
+        if (schemaList != null) {
+            props.setProperty("schema.include.list", String.join(",", schemaList));
+        }
+        if (tableList != null) {
+            props.setProperty("table.include.list", String.join(",", tableList));
+        }
+
+        // override the user-defined debezium properties
+        if (dbzProperties != null) {
+            dbzProperties.forEach(props::put);
+        }
+
+        return new PostgresSourceConfig(
+                startupOptions,
+                Collections.singletonList(database),
+                tableList,
+                splitSize,
+                splitMetaGroupSize,
+                distributionFactorUpper,
+                distributionFactorLower,
+                includeSchemaChanges,
+                props,
+                Configuration.from(props),
+                JDBC_DRIVER,
+                hostname,
+                port,
+                username,
+                password,
+                fetchSize,
+                serverTimeZone,
+                connectTimeout,
+                connectMaxRetries,
+                connectionPoolSize);
+    }
+}
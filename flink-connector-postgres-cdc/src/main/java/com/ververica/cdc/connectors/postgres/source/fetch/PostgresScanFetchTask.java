@@ -0,0 +1,473 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.source.fetch;
+
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher;
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher.WatermarkKind;
+import com.ververica.cdc.connectors.base.source.meta.split.SnapshotSplit;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.meta.split.StreamSplit;
+import com.ververica.cdc.connectors.base.source.reader.external.FetchTask;
+import com.ververica.cdc.connectors.postgres.source.fetch.PostgresStreamFetchTask.StreamSplitReadTask;
+import com.ververica.cdc.connectors.postgres.source.offset.PostgresOffset;
+import io.debezium.DebeziumException;
+import io.debezium.connector.postgresql.PostgresConnectorConfig;
+import io.debezium.connector.postgresql.PostgresOffsetContext;
+import io.debezium.connector.postgresql.PostgresSchema;
+import io.debezium.connector.postgresql.connection.PostgresConnection;
+import io.debezium.pipeline.EventDispatcher;
+import io.debezium.pipeline.source.AbstractSnapshotChangeEventSource;
+import io.debezium.pipeline.source.spi.ChangeEventSource;
+import io.debezium.pipeline.source.spi.SnapshotProgressListener;
+import io.debezium.pipeline.spi.ChangeRecordEmitter;
+import io.debezium.pipeline.spi.OffsetContext;
+import io.debezium.pipeline.spi.SnapshotResult;
+import io.debezium.relational.Column;
+import io.debezium.relational.RelationalSnapshotChangeEventSource;
+import io.debezium.relational.SnapshotChangeRecordEmitter;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.util.Clock;
+import io.debezium.util.ColumnUtils;
+import io.debezium.util.Strings;
+import io.debezium.util.Threads;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+
+import static com.ververica.cdc.connectors.postgres.source.utils.PostgresConnectionUtils.currentOffset;
+import static com.ververica.cdc.connectors.postgres.source.utils.PostgresQueryUtils.buildSplitScanQuery;
+import static com.ververica.cdc.connectors.postgres.source.utils.PostgresQueryUtils.readTableSplitDataStatement;
+
+/**
+ * The task to work for fetching data of PostgreSQL table snapshot split .
+ *
+ * <p>The backfill reads of the splits of a reader share a replication slot, which is created before
+ * the low watermark of the first split is determined, so the write-ahead log between the low and
+ * high watermark of each split is retained until the split is backfilled. The slot is moved forward
+ * to the low watermark of each split before its backfill read, see {@link
+ * PostgresSourceFetchTaskContext#advanceBackfillSlot}.
+ */
+public class PostgresScanFetchTask implements FetchTask<SourceSplitBase> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostgresScanFetchTask.class);
+
+    private final SnapshotSplit split;
+    private volatile boolean taskRunning = false;
+
+    private PostgresSnapshotSplitReadTask snapshotSplitReadTask;
+
+    public PostgresScanFetchTask(SnapshotSplit split) {
+        this.split = split;
+    }
+
+    @Override
+    public SnapshotSplit getSplit() {
+        return split;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return taskRunning;
+    }
+
+    @Override
+    public void execute(Context context) throws Exception {
+        PostgresSourceFetchTaskContext sourceFetchContext =
+                (PostgresSourceFetchTaskContext) context;
+        taskRunning = true;
+        sourceFetchContext.ensureReplicationSlot();
+        // the backfill slot must exist before the low watermark is determined, so the write-ahead
+        // log after the low watermark is retained until the split is backfilled
+        sourceFetchContext.ensureBackfillSlot();
+
+        snapshotSplitReadTask =
+                new PostgresSnapshotSplitReadTask(
+                        sourceFetchContext.getConnectorConfig(),
+                        sourceFetchContext.getOffsetContext(),
+                        SnapshotProgressListener.NO_OP,
+                        sourceFetchContext.getDatabaseSchema(),
+                        sourceFetchContext.getConnection(),
+                        sourceFetchContext.getDispatcher(),
+                        split,
+                        sourceFetchContext.getSourceConfig().getFetchSize());
+        SnapshotSplitChangeEventSourceContext changeEventSourceContext =
+                new SnapshotSplitChangeEventSourceContext();
+        SnapshotResult snapshotResult =
+                snapshotSplitReadTask.execute(
+                        changeEventSourceContext, sourceFetchContext.getOffsetContext());
+
+        final StreamSplit backfillStreamSplit = createBackfillStreamSplit(changeEventSourceContext);
+        // optimization that skip the stream read when the low watermark equals high
+        // watermark
+        final boolean streamBackfillRequired =
+                backfillStreamSplit
+                        .getEndingOffset()
+                        .isAfter(backfillStreamSplit.getStartingOffset());
+        if (!streamBackfillRequired) {
+            dispatchStreamEndEvent(
+                    backfillStreamSplit,
+                    sourceFetchContext.getOffsetContext().getPartition(),
+                    sourceFetchContext.getDispatcher());
+            taskRunning = false;
+            return;
+        }
+        // execute stream read task
+        if (snapshotResult.isCompletedOrSkipped()) {
+            final PostgresOffset lowWatermark =
+                    (PostgresOffset) backfillStreamSplit.getStartingOffset();
+            // the write-ahead log before the low watermark has been read by the previous splits
+            sourceFetchContext.advanceBackfillSlot(lowWatermark);
+            final StreamSplitReadTask backfillReadTask =
+                    createBackfillStreamReadTask(backfillStreamSplit, sourceFetchContext);
+            final PostgresOffsetContext.Loader loader =
+                    new PostgresOffsetContext.Loader(sourceFetchContext.getConnectorConfig());
+            final PostgresOffsetContext backfillOffsetContext =
+                    loader.load(lowWatermark.toDebeziumOffset());
+            backfillReadTask.execute(
+                    new SnapshotStreamSplitChangeEventSourceContext(), backfillOffsetContext);
+        } else {
+            taskRunning = false;
+            throw new IllegalStateException(
+                    String.format("Read snapshot for postgres split %s fail", split));
+        }
+    }
+
+    private StreamSplit createBackfillStreamSplit(
+            SnapshotSplitChangeEventSourceContext sourceContext) {
+        return new StreamSplit(
+                split.splitId(),
+                sourceContext.getLowWatermark(),
+                sourceContext.getHighWatermark(),
+                new ArrayList<>(),
+                split.getTableSchemas(),
+                0);
+    }
+
+    private StreamSplitReadTask createBackfillStreamReadTask(
+            StreamSplit backfillStreamSplit, PostgresSourceFetchTaskContext context)
+            throws SQLException {
+        LOG.info(
+                "Backfilling split '{}' from {} to {}",
+                split.splitId(),
+                backfillStreamSplit.getStartingOffset(),
+                backfillStreamSplit.getEndingOffset());
+        // task to read the write-ahead log and backfill for current split, the connector config
+        // of the split only captures events for the current table
+        return new StreamSplitReadTask(
+                context.getConnectorConfig(),
+                context.getSnapshotter(),
+                context.getConnection(),
+                context.getDispatcher(),
+                context.getErrorHandler(),
+                context.getDatabaseSchema(),
+                context.getTaskContext(),
+                // the read task closes the replication connection when it's finished
+                context.getTaskContext().createReplicationConnection(false),
+                backfillStreamSplit);
+    }
+
+    private void dispatchStreamEndEvent(
+            StreamSplit backfillStreamSplit,
+            Map<String, ?> sourcePartition,
+            JdbcSourceEventDispatcher eventDispatcher)
+            throws InterruptedException {
+        eventDispatcher.dispatchWatermarkEvent(
+                sourcePartition,
+                backfillStreamSplit,
+                backfillStreamSplit.getEndingOffset(),
+                WatermarkKind.BINLOG_END);
+    }
+
+    /** A wrapped task to fetch snapshot split of table. */
+    public static class PostgresSnapshotSplitReadTask extends AbstractSnapshotChangeEventSource {
+
+        private static final Logger LOG =
+                LoggerFactory.getLogger(PostgresSnapshotSplitReadTask.class);
+
+        /** Interval for showing a log statement with the progress while scanning a single table. */
+        private static final Duration LOG_INTERVAL = Duration.ofMillis(10_000);
+
+        private final PostgresConnectorConfig connectorConfig;
+        private final PostgresSchema databaseSchema;
+        private final PostgresConnection jdbcConnection;
+        private final JdbcSourceEventDispatcher dispatcher;
+        private final Clock clock;
+        private final SnapshotSplit snapshotSplit;
+        private final PostgresOffsetContext offsetContext;
+        private final SnapshotProgressListener snapshotProgressListener;
+        private final int fetchSize;
+
+        public PostgresSnapshotSplitReadTask(
+                PostgresConnectorConfig connectorConfig,
+                PostgresOffsetContext previousOffset,
+                SnapshotProgressListener snapshotProgressListener,
+                PostgresSchema databaseSchema,
+                PostgresConnection jdbcConnection,
+                JdbcSourceEventDispatcher dispatcher,
+                SnapshotSplit snapshotSplit,
+                int fetchSize) {
+            super(connectorConfig, snapshotProgressListener);
+            this.offsetContext = previousOffset;
+            this.connectorConfig = connectorConfig;
+            this.databaseSchema = databaseSchema;
+            this.jdbcConnection = jdbcConnection;
+            this.dispatcher = dispatcher;
+            this.clock = Clock.SYSTEM;
+            this.snapshotSplit = snapshotSplit;
+            this.snapshotProgressListener = snapshotProgressListener;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public SnapshotResult execute(
+                ChangeEventSourceContext context, OffsetContext previousOffset)
+                throws InterruptedException {
+            SnapshottingTask snapshottingTask = getSnapshottingTask(previousOffset);
+            final SnapshotContext ctx;
+            try {
+                ctx = prepare(context);
+            } catch (Exception e) {
+                LOG.error("Failed to initialize snapshot context.", e);
+                throw new RuntimeException(e);
+            }
+            try {
+                return doExecute(context, previousOffset, ctx, snapshottingTask);
+            } catch (InterruptedException e) {
+                LOG.warn("Snapshot was interrupted before completion");
+                throw e;
+            } catch (Exception t) {
+                throw new DebeziumException(t);
+            }
+        }
+
+        @Override
+        protected SnapshotResult doExecute(
+                ChangeEventSourceContext context,
+                OffsetContext previousOffset,
+                SnapshotContext snapshotContext,
+                SnapshottingTask snapshottingTask)
+                throws Exception {
+            final RelationalSnapshotChangeEventSource.RelationalSnapshotContext ctx =
+                    (RelationalSnapshotChangeEventSource.RelationalSnapshotContext) snapshotContext;
+            ctx.offset = offsetContext;
+
+            final PostgresOffset lowWatermark = currentOffset(jdbcConnection);
+            LOG.info(
+                    "Snapshot step 1 - Determining low watermark {} for split {}",
+                    lowWatermark,
+                    snapshotSplit);
+            ((SnapshotSplitChangeEventSourceContext) (context)).setLowWatermark(lowWatermark);
+            dispatcher.dispatchWatermarkEvent(
+                    offsetContext.getPartition(), snapshotSplit, lowWatermark, WatermarkKind.LOW);
+
+            LOG.info("Snapshot step 2 - Snapshotting data");
+            createDataEvents(ctx, snapshotSplit.getTableId());
+
+            final PostgresOffset highWatermark = currentOffset(jdbcConnection);
+            LOG.info(
+                    "Snapshot step 3 - Determining high watermark {} for split {}",
+                    highWatermark,
+                    snapshotSplit);
+            ((SnapshotSplitChangeEventSourceContext) (context)).setHighWatermark(highWatermark);
+            dispatcher.dispatchWatermarkEvent(
+                    offsetContext.getPartition(), snapshotSplit, highWatermark, WatermarkKind.HIGH);
+            return SnapshotResult.completed(ctx.offset);
+        }
+
+        @Override
+        protected SnapshottingTask getSnapshottingTask(OffsetContext previousOffset) {
+            return new SnapshottingTask(false, true);
+        }
+
+        @Override
+        protected SnapshotContext prepare(ChangeEventSourceContext changeEventSourceContext)
+                throws Exception {
+            return new PostgresSnapshotContext();
+        }
+
+        private static class PostgresSnapshotContext
+                extends RelationalSnapshotChangeEventSource.RelationalSnapshotContext {
+
+            public PostgresSnapshotContext() throws SQLException {
+                super("");
+            }
+        }
+
+        private void createDataEvents(
+                RelationalSnapshotChangeEventSource.RelationalSnapshotContext snapshotContext,
+                TableId tableId)
+                throws Exception {
+            EventDispatcher.SnapshotReceiver snapshotReceiver =
+                    dispatcher.getSnapshotChangeEventReceiver();
+            LOG.debug("Snapshotting table {}", tableId);
+            createDataEventsForTable(
+                    snapshotContext, snapshotReceiver, databaseSchema.tableFor(tableId));
+            snapshotReceiver.completeSnapshot();
+        }
+
+        /** Dispatches the data change events for the records of a single table. */
+        private void createDataEventsForTable(
+                RelationalSnapshotChangeEventSource.RelationalSnapshotContext snapshotContext,
+                EventDispatcher.SnapshotReceiver snapshotReceiver,
+                Table table)
+                throws InterruptedException {
+
+            long exportStart = clock.currentTimeInMillis();
+            LOG.info(
+                    "Exporting data from split '{}' of table {}",
+                    snapshotSplit.splitId(),
+                    table.id());
+
+            final String selectSql =
+                    buildSplitScanQuery(
+                            snapshotSplit.getTableId(),
+                            snapshotSplit.getSplitKeyType(),
+                            snapshotSplit.getSplitStart() == null,
+                            snapshotSplit.getSplitEnd() == null);
+            LOG.info(
+                    "For split '{}' of table {} using select statement: '{}'",
+                    snapshotSplit.splitId(),
+                    table.id(),
+                    selectSql);
+
+            try (PreparedStatement selectStatement =
+                            readTableSplitDataStatement(
+                                    jdbcConnection,
+                                    selectSql,
+                                    snapshotSplit.getSplitStart() == null,
+                                    snapshotSplit.getSplitEnd() == null,
+                                    snapshotSplit.getSplitStart(),
+                                    snapshotSplit.getSplitEnd(),
+                                    snapshotSplit.getSplitKeyType().getFieldCount(),
+                                    fetchSize);
+                    ResultSet rs = selectStatement.executeQuery()) {
+
+                ColumnUtils.ColumnArray columnArray = ColumnUtils.toArray(rs, table);
+                long rows = 0;
+                Threads.Timer logTimer = getTableScanLogTimer();
+
+                while (rs.next()) {
+                    rows++;
+                    final Object[] row = new Object[columnArray.getGreatestColumnPosition()];
+                    for (int i = 0; i < columnArray.getColumns().length; i++) {
+                        Column actualColumn = table.columns().get(i);
+                        row[columnArray.getColumns()[i].position() - 1] =
+                                jdbcConnection.getColumnValue(
+                                        rs, i + 1, actualColumn, table, databaseSchema);
+                    }
+                    if (logTimer.expired()) {
+                        long stop = clock.currentTimeInMillis();
+                        LOG.info(
+                                "Exported {} records for split '{}' after {}",
+                                rows,
+                                snapshotSplit.splitId(),
+                                Strings.duration(stop - exportStart));
+                        snapshotProgressListener.rowsScanned(table.id(), rows);
+                        logTimer = getTableScanLogTimer();
+                    }
+                    dispatcher.dispatchSnapshotEvent(
+                            table.id(),
+                            getChangeRecordEmitter(snapshotContext, table.id(), row),
+                            snapshotReceiver);
+                }
+                LOG.info(
+                        "Finished exporting {} records for split '{}', total duration '{}'",
+                        rows,
+                        snapshotSplit.splitId(),
+                        Strings.duration(clock.currentTimeInMillis() - exportStart));
+            } catch (SQLException e) {
+                throw new ConnectException("Snapshotting of table " + table.id() + " failed", e);
+            } finally {
+                // the split is read with a cursor in a transaction, don't leave it open
+                try {
+                    jdbcConnection.commit();
+                } catch (SQLException e) {
+                    LOG.warn("Failed to commit the snapshot transaction of split.", e);
+                }
+            }
+        }
+
+        protected ChangeRecordEmitter getChangeRecordEmitter(
+                SnapshotContext snapshotContext, TableId tableId, Object[] row) {
+            snapshotContext.offset.event(tableId, clock.currentTime());
+            return new SnapshotChangeRecordEmitter(snapshotContext.offset, row, clock);
+        }
+
+        private Threads.Timer getTableScanLogTimer() {
+            return Threads.timer(clock, LOG_INTERVAL);
+        }
+    }
+
+    /**
+     * {@link ChangeEventSource.ChangeEventSourceContext} implementation that keeps low/high
+     * watermark for each {@link SnapshotSplit}.
+     */
+    public class SnapshotSplitChangeEventSourceContext
+            implements ChangeEventSource.ChangeEventSourceContext {
+
+        private PostgresOffset lowWatermark;
+        private PostgresOffset highWatermark;
+
+        public PostgresOffset getLowWatermark() {
+            return lowWatermark;
+        }
+
+        public void setLowWatermark(PostgresOffset lowWatermark) {
+            this.lowWatermark = lowWatermark;
+        }
+
+        public PostgresOffset getHighWatermark() {
+            return highWatermark;
+        }
+
+        public void setHighWatermark(PostgresOffset highWatermark) {
+            this.highWatermark = highWatermark;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return lowWatermark != null && highWatermark != null;
+        }
+    }
+
+    /**
+     * The {@link ChangeEventSource.ChangeEventSourceContext} implementation for bounded stream task
+     * of a snapshot split task.
+     */
+    public class SnapshotStreamSplitChangeEventSourceContext
+            implements ChangeEventSource.ChangeEventSourceContext {
+
+        public void finished() {
+            taskRunning = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return taskRunning;
+        }
+    }
+}
@@ -0,0 +1,472 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.source.fetch;
+
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.base.config.JdbcSourceConfig;
+import com.ververica.cdc.connectors.base.dialect.JdbcDataSourceDialect;
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher;
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.reader.external.JdbcSourceFetchTaskContext;
+import com.ververica.cdc.connectors.postgres.source.config.PostgresSourceConfig;
+import com.ververica.cdc.connectors.postgres.source.offset.PostgresOffset;
+import com.ververica.cdc.connectors.postgres.source.utils.PostgresQueryUtils;
+import io.debezium.config.Configuration;
+import io.debezium.connector.AbstractSourceInfo;
+import io.debezium.connector.base.ChangeEventQueue;
+import io.debezium.connector.postgresql.PostgresConnectorConfig;
+import io.debezium.connector.postgresql.PostgresErrorHandler;
+import io.debezium.connector.postgresql.PostgresOffsetContext;
+import io.debezium.connector.postgresql.PostgresSchema;
+import io.debezium.connector.postgresql.PostgresTaskContext;
+import io.debezium.connector.postgresql.PostgresTopicSelector;
+import io.debezium.connector.postgresql.PostgresValueConverter;
+import io.debezium.connector.postgresql.SourceInfo;
+import io.debezium.connector.postgresql.TypeRegistry;
+import io.debezium.connector.postgresql.connection.PostgresConnection;
+import io.debezium.connector.postgresql.connection.ReplicationConnection;
+import io.debezium.connector.postgresql.snapshot.NeverSnapshotter;
+import io.debezium.connector.postgresql.spi.SlotState;
+import io.debezium.connector.postgresql.spi.Snapshotter;
+import io.debezium.data.Envelope;
+import io.debezium.heartbeat.Heartbeat;
+import io.debezium.pipeline.DataChangeEvent;
+import io.debezium.pipeline.ErrorHandler;
+import io.debezium.pipeline.source.spi.EventMetadataProvider;
+import io.debezium.pipeline.spi.OffsetContext;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.schema.DataCollectionId;
+import io.debezium.schema.TopicSelector;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/** The context for fetch task that fetching data of snapshot split from PostgreSQL data source. */
+public class PostgresSourceFetchTaskContext extends JdbcSourceFetchTaskContext {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostgresSourceFetchTaskContext.class);
+
+    private final PostgresConnection connection;
+    private final PostgresEventMetadataProvider metadataProvider;
+    private final Snapshotter snapshotter;
+    private final String backfillSlotName;
+
+    private boolean replicationSlotCreated;
+    private boolean backfillSlotCreated;
+    private boolean backfillSlotAdvanceSupported = true;
+    private PostgresConnectorConfig connectorConfig;
+    private PostgresSchemaImpl databaseSchema;
+    private PostgresTaskContextImpl taskContext;
+    private PostgresOffsetContext offsetContext;
+    private TopicSelector<TableId> topicSelector;
+    private JdbcSourceEventDispatcher dispatcher;
+    private ChangeEventQueue<DataChangeEvent> queue;
+    private PostgresErrorHandler errorHandler;
+
+    public PostgresSourceFetchTaskContext(
+            JdbcSourceConfig sourceConfig,
+            JdbcDataSourceDialect dataSourceDialect,
+            PostgresConnection connection) {
+        super(sourceConfig, dataSourceDialect);
+        this.connection = connection;
+        this.metadataProvider = new PostgresEventMetadataProvider();
+        this.snapshotter = new NeverSnapshotter();
+        // the replication slot names may only contain lower case letters, numbers and underscores
+        this.backfillSlotName =
+                getSourceConfig().getSlotName()
+                        + "_"
+                        + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+    }
+
+    @Override
+    public void configure(SourceSplitBase sourceSplitBase) {
+        // initial stateful objects
+        if (sourceSplitBase.isSnapshotSplit()) {
+            // we should only capture events for the current table in the backfill read, and the
+            // backfill reads of the splits share a slot which is dropped when the reader is closed
+            final Configuration dbzConf =
+                    sourceConfig
+                            .getDbzConfiguration()
+                            .edit()
+                            .with(
+                                    "table.include.list",
+                                    sourceSplitBase.asSnapshotSplit().getTableId().toString())
+                            .with(PostgresConnectorConfig.SLOT_NAME, backfillSlotName)
+                            .with(PostgresConnectorConfig.DROP_SLOT_ON_STOP, false)
+                            // the publication is shared with the stream split, don't narrow it
+                            .with(PostgresConnectorConfig.PUBLICATION_AUTOCREATE_MODE, "disabled")
+                            // Disable heartbeat event in snapshot split fetcher
+                            .with(Heartbeat.HEARTBEAT_INTERVAL, 0)
+                            .build();
+            this.connectorConfig = new PostgresConnectorConfig(dbzConf);
+        } else {
+            this.connectorConfig = getDbzConnectorConfig();
+        }
+        this.topicSelector = PostgresTopicSelector.create(connectorConfig);
+        this.databaseSchema = createDatabaseSchema(connectorConfig);
+        try {
+            databaseSchema.refresh(connection);
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException("Failed to refresh the schemas of PostgreSQL", e);
+        }
+        this.offsetContext =
+                loadStartingOffsetState(
+                        new PostgresOffsetContext.Loader(connectorConfig), sourceSplitBase);
+        this.taskContext =
+                new PostgresTaskContextImpl(connectorConfig, databaseSchema, topicSelector);
+
+        final int queueSize =
+                sourceSplitBase.isSnapshotSplit()
+                        ? Integer.MAX_VALUE
+                        : connectorConfig.getMaxQueueSize();
+        this.queue =
+                new ChangeEventQueue.Builder<DataChangeEvent>()
+                        .pollInterval(connectorConfig.getPollInterval())
+                        .maxBatchSize(connectorConfig.getMaxBatchSize())
+                        .maxQueueSize(queueSize)
+                        .maxQueueSizeInBytes(connectorConfig.getMaxQueueSizeInBytes())
+                        .loggingContextSupplier(
+                                () ->
+                                        taskContext.configureLoggingContext(
+                                                "postgres-cdc-connector-task"))
+                        // do not buffer any element, we use signal event
+                        // .buffering()
+                        .build();
+        this.dispatcher =
+                new JdbcSourceEventDispatcher(
+                        connectorConfig,
+                        topicSelector,
+                        databaseSchema,
+                        queue,
+                        connectorConfig.getTableFilters().dataCollectionFilter(),
+                        DataChangeEvent::new,
+                        metadataProvider,
+                        schemaNameAdjuster);
+        this.errorHandler = new PostgresErrorHandler(connectorConfig.getLogicalName(), queue);
+    }
+
+    /**
+     * Creates the replication slot of the stream split if it doesn't exist yet. The slot must exist
+     * before the first snapshot split is read, so that PostgreSQL retains the write-ahead log from
+     * the lowest high watermark on, where the stream split starts reading.
+     */
+    public void ensureReplicationSlot() throws Exception {
+        if (replicationSlotCreated) {
+            return;
+        }
+        final PostgresConnectorConfig streamConnectorConfig = getDbzConnectorConfig();
+        final String slotName = getSourceConfig().getSlotName();
+        final String pluginName =
+                PostgresConnectorConfig.LogicalDecoder.parse(
+                                streamConnectorConfig
+                                        .getConfig()
+                                        .getString(PostgresConnectorConfig.PLUGIN_NAME))
+                        .getPostgresPluginName();
+        if (connection.getReplicationSlotState(slotName, pluginName) == null) {
+            LOG.info("Creating the replication slot {} for the stream split", slotName);
+            final ReplicationConnection replicationConnection =
+                    new PostgresTaskContextImpl(
+                                    streamConnectorConfig,
+                                    createDatabaseSchema(streamConnectorConfig),
+                                    PostgresTopicSelector.create(streamConnectorConfig))
+                            .createReplicationConnection(false);
+            try {
+                replicationConnection.initConnection();
+            } catch (SQLException e) {
+                // the slot may have been created by another subtask concurrently
+                final SlotState slotState =
+                        connection.getReplicationSlotState(slotName, pluginName);
+                if (slotState == null) {
+                    throw e;
+                }
+            } finally {
+                replicationConnection.close();
+            }
+        }
+        replicationSlotCreated = true;
+    }
+
+    /**
+     * Creates the replication slot of the backfill reads if it doesn't exist yet. The slot is
+     * created once per reader before the low watermark of its first snapshot split is determined,
+     * because creating a slot waits for all the running transactions to finish, and is reused by
+     * the backfill reads of all the following snapshot splits of the reader.
+     */
+    public void ensureBackfillSlot() throws Exception {
+        if (backfillSlotCreated) {
+            return;
+        }
+        LOG.info("Creating the replication slot {} for the backfill reads", backfillSlotName);
+        final ReplicationConnection replicationConnection =
+                taskContext.createReplicationConnection(false);
+        try {
+            replicationConnection.initConnection();
+        } finally {
+            // the slot is kept, see PostgresConnectorConfig.DROP_SLOT_ON_STOP in configure()
+            replicationConnection.close();
+        }
+        backfillSlotCreated = true;
+    }
+
+    /**
+     * Moves the replication slot of the backfill reads forward to the given offset, so that
+     * PostgreSQL neither decodes nor retains the write-ahead log which was read by the previous
+     * snapshot splits. This is an optimization only, the slot is not moved on PostgreSQL versions
+     * before 11 which don't support it.
+     */
+    public void advanceBackfillSlot(PostgresOffset offset) {
+        if (!backfillSlotAdvanceSupported) {
+            return;
+        }
+        try {
+            if (connection.connection().getMetaData().getDatabaseMajorVersion() < 11) {
+                LOG.info(
+                        "The replication slot {} isn't advanced, which requires PostgreSQL 11",
+                        backfillSlotName);
+                backfillSlotAdvanceSupported = false;
+                return;
+            }
+            connection.prepareQuery(
+                    "SELECT pg_replication_slot_advance(?, CAST(? AS pg_lsn))",
+                    statement -> {
+                        statement.setString(1, backfillSlotName);
+                        statement.setString(2, offset.getLsn().asString());
+                    },
+                    rs -> {});
+            connection.commit();
+        } catch (SQLException e) {
+            // e.g. the slot is still released by the previous backfill read
+            LOG.warn(
+                    "Failed to advance the replication slot {} to {}",
+                    backfillSlotName,
+                    offset.getLsn(),
+                    e);
+        }
+    }
+
+    /** Drops the replication slot of the backfill reads and closes the connection. */
+    @Override
+    public void close() throws Exception {
+        try {
+            if (backfillSlotCreated) {
+                LOG.info(
+                        "Dropping the replication slot {} of the backfill reads", backfillSlotName);
+                connection.dropReplicationSlot(backfillSlotName);
+                backfillSlotCreated = false;
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    private PostgresSchemaImpl createDatabaseSchema(PostgresConnectorConfig connectorConfig) {
+        final TypeRegistry typeRegistry = connection.getTypeRegistry();
+        return new PostgresSchemaImpl(
+                connectorConfig,
+                typeRegistry,
+                PostgresTopicSelector.create(connectorConfig),
+                PostgresValueConverter.of(
+                        connectorConfig, connection.getDatabaseCharset(), typeRegistry));
+    }
+
+    @Override
+    public PostgresSourceConfig getSourceConfig() {
+        return (PostgresSourceConfig) sourceConfig;
+    }
+
+    public PostgresConnection getConnection() {
+        return connection;
+    }
+
+    public PostgresTaskContextImpl getTaskContext() {
+        return taskContext;
+    }
+
+    /** Returns the connector config of the current split, which only captures its own table. */
+    public PostgresConnectorConfig getConnectorConfig() {
+        return connectorConfig;
+    }
+
+    @Override
+    public PostgresConnectorConfig getDbzConnectorConfig() {
+        return (PostgresConnectorConfig) super.getDbzConnectorConfig();
+    }
+
+    @Override
+    public PostgresOffsetContext getOffsetContext() {
+        return offsetContext;
+    }
+
+    public Snapshotter getSnapshotter() {
+        return snapshotter;
+    }
+
+    @Override
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    @Override
+    public PostgresSchema getDatabaseSchema() {
+        return databaseSchema;
+    }
+
+    @Override
+    public RowType getSplitType(Table table) {
+        return PostgresQueryUtils.getSplitType(table);
+    }
+
+    @Override
+    public JdbcSourceEventDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    @Override
+    public ChangeEventQueue<DataChangeEvent> getQueue() {
+        return queue;
+    }
+
+    @Override
+    public TableId getTableId(SourceRecord record) {
+        // the change events of PostgreSQL don't carry the database as catalog of the table id
+        final Struct value = (Struct) record.value();
+        final Struct source = value.getStruct(Envelope.FieldName.SOURCE);
+        return new TableId(
+                null,
+                source.getString(SourceInfo.SCHEMA_NAME_KEY),
+                source.getString(SourceInfo.TABLE_NAME_KEY));
+    }
+
+    @Override
+    public Offset getStreamOffset(SourceRecord sourceRecord) {
+        return PostgresOffset.of(sourceRecord.sourceOffset());
+    }
+
+    /** Loads the connector's persistent offset (if present) via the given loader. */
+    private PostgresOffsetContext loadStartingOffsetState(
+            PostgresOffsetContext.Loader loader, SourceSplitBase sourceSplit) {
+        final PostgresOffset offset =
+                sourceSplit.isSnapshotSplit()
+                        ? PostgresOffset.INITIAL_OFFSET
+                        : (PostgresOffset) sourceSplit.asStreamSplit().getStartingOffset();
+        return loader.load(offset.toDebeziumOffset());
+    }
+
+    /** A subclass implementation of {@link PostgresSchema} which can be refreshed from here. */
+    public static class PostgresSchemaImpl extends PostgresSchema {
+
+        public PostgresSchemaImpl(
+                PostgresConnectorConfig config,
+                TypeRegistry typeRegistry,
+                TopicSelector<TableId> topicSelector,
+                PostgresValueConverter valueConverter) {
+            super(config, typeRegistry, topicSelector, valueConverter);
+        }
+
+        public void refresh(PostgresConnection connection) throws SQLException {
+            refresh(connection, false);
+        }
+    }
+
+    /** A subclass implementation of {@link PostgresTaskContext} which creates the connections. */
+    public static class PostgresTaskContextImpl extends PostgresTaskContext {
+
+        public PostgresTaskContextImpl(
+                PostgresConnectorConfig config,
+                PostgresSchema schema,
+                TopicSelector<TableId> topicSelector) {
+            super(config, schema, topicSelector);
+        }
+
+        @Override
+        public ReplicationConnection createReplicationConnection(boolean doSnapshot)
+                throws SQLException {
+            return super.createReplicationConnection(doSnapshot);
+        }
+    }
+
+    /** Copied from debezium for accessing here. */
+    public static class PostgresEventMetadataProvider implements EventMetadataProvider {
+
+        @Override
+        public Instant getEventTimestamp(
+                DataCollectionId source, OffsetContext offset, Object key, Struct value) {
+            if (value == null) {
+                return null;
+            }
+            final Struct sourceInfo = value.getStruct(Envelope.FieldName.SOURCE);
+            if (sourceInfo == null) {
+                return null;
+            }
+            if (sourceInfo.schema().field(SourceInfo.TIMESTAMP_USEC_KEY) != null) {
+                final Long timestamp = sourceInfo.getInt64(SourceInfo.TIMESTAMP_USEC_KEY);
+                return timestamp == null ? null : Instant.ofEpochMilli(timestamp / 1000);
+            }
+            final Long timestamp = sourceInfo.getInt64(AbstractSourceInfo.TIMESTAMP_KEY);
+            return timestamp == null ? null : Instant.ofEpochMilli(timestamp);
+        }
+
+        @Override
+        public Map<String, String> getEventSourcePosition(
+                DataCollectionId source, OffsetContext offset, Object key, Struct value) {
+            if (value == null) {
+                return null;
+            }
+            final Struct sourceInfo = value.getStruct(Envelope.FieldName.SOURCE);
+            if (sourceInfo == null) {
+                return null;
+            }
+            final Long xmin = sourceInfo.getInt64(SourceInfo.XMIN_KEY);
+            final Long lsn = sourceInfo.getInt64(SourceInfo.LSN_KEY);
+            final Map<String, String> position = new HashMap<>();
+            if (xmin != null) {
+                position.put(SourceInfo.XMIN_KEY, Long.toString(xmin));
+            }
+            if (lsn != null) {
+                position.put(SourceInfo.LSN_KEY, Long.toString(lsn));
+            }
+            return position;
+        }
+
+        @Override
+        public String getTransactionId(
+                DataCollectionId source, OffsetContext offset, Object key, Struct value) {
+            if (value == null) {
+                return null;
+            }
+            final Struct sourceInfo = value.getStruct(Envelope.FieldName.SOURCE);
+            if (sourceInfo == null) {
+                return null;
+            }
+            final Long txId = sourceInfo.getInt64(SourceInfo.TXID_KEY);
+            return txId == null ? null : Long.toString(txId);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.source.fetch;
+
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.meta.split.StreamSplit;
+import com.ververica.cdc.connectors.base.source.reader.external.FetchTask;
+import com.ververica.cdc.connectors.postgres.source.offset.PostgresOffset;
+import io.debezium.DebeziumException;
+import io.debezium.connector.postgresql.PostgresConnectorConfig;
+import io.debezium.connector.postgresql.PostgresOffsetContext;
+import io.debezium.connector.postgresql.PostgresSchema;
+import io.debezium.connector.postgresql.PostgresStreamingChangeEventSource;
+import io.debezium.connector.postgresql.PostgresTaskContext;
+import io.debezium.connector.postgresql.connection.PostgresConnection;
+import io.debezium.connector.postgresql.connection.ReplicationConnection;
+import io.debezium.connector.postgresql.spi.Snapshotter;
+import io.debezium.pipeline.ErrorHandler;
+import io.debezium.pipeline.source.spi.ChangeEventSource;
+import io.debezium.util.Clock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.ververica.cdc.connectors.postgres.source.offset.PostgresOffset.NO_STOPPING_OFFSET;
+
+/** The task to work for fetching data of PostgreSQL table stream split . */
+public class PostgresStreamFetchTask implements FetchTask<SourceSplitBase> {
+
+    private final StreamSplit split;
+    private volatile boolean taskRunning = false;
+    private volatile StreamSplitReadTask streamSplitReadTask;
+
+    public PostgresStreamFetchTask(StreamSplit split) {
+        this.split = split;
+    }
+
+    @Override
+    public void execute(Context context) throws Exception {
+        PostgresSourceFetchTaskContext sourceFetchContext =
+                (PostgresSourceFetchTaskContext) context;
+        taskRunning = true;
+        streamSplitReadTask =
+                new StreamSplitReadTask(
+                        sourceFetchContext.getConnectorConfig(),
+                        sourceFetchContext.getSnapshotter(),
+                        sourceFetchContext.getConnection(),
+                        sourceFetchContext.getDispatcher(),
+                        sourceFetchContext.getErrorHandler(),
+                        sourceFetchContext.getDatabaseSchema(),
+                        sourceFetchContext.getTaskContext(),
+                        sourceFetchContext.getTaskContext().createReplicationConnection(false),
+                        split);
+        StreamSplitChangeEventSourceContext changeEventSourceContext =
+                new StreamSplitChangeEventSourceContext();
+        streamSplitReadTask.execute(
+                changeEventSourceContext, sourceFetchContext.getOffsetContext());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return taskRunning;
+    }
+
+    @Override
+    public StreamSplit getSplit() {
+        return split;
+    }
+
+    /**
+     * Confirms the given offset to the replication slot, so PostgreSQL can recycle the write-ahead
+     * log before it. The offset must have been checkpointed, because the stream split can't be
+     * restored from an offset whose write-ahead log has been recycled.
+     */
+    public void commitOffset(PostgresOffset offset) {
+        final StreamSplitReadTask readTask = streamSplitReadTask;
+        if (readTask != null) {
+            readTask.commitOffset(offset.toDebeziumOffset());
+        }
+    }
+
+    /**
+     * A wrapped task to read all change events of the write-ahead log and also supports read
+     * bounded (from lowWatermark to highWatermark) change events.
+     */
+    public static class StreamSplitReadTask extends PostgresStreamingChangeEventSource {
+
+        private static final Logger LOG = LoggerFactory.getLogger(StreamSplitReadTask.class);
+        private final StreamSplit streamSplit;
+        private final JdbcSourceEventDispatcher dispatcher;
+        private final ErrorHandler errorHandler;
+
+        public StreamSplitReadTask(
+                PostgresConnectorConfig connectorConfig,
+                Snapshotter snapshotter,
+                PostgresConnection connection,
+                JdbcSourceEventDispatcher dispatcher,
+                ErrorHandler errorHandler,
+                PostgresSchema schema,
+                PostgresTaskContext taskContext,
+                ReplicationConnection replicationConnection,
+                StreamSplit streamSplit) {
+            super(
+                    connectorConfig,
+                    snapshotter,
+                    connection,
+                    dispatcher,
+                    errorHandler,
+                    Clock.SYSTEM,
+                    schema,
+                    taskContext,
+                    replicationConnection);
+            this.streamSplit = streamSplit;
+            this.dispatcher = dispatcher;
+            this.errorHandler = errorHandler;
+        }
+
+        @Override
+        public void execute(ChangeEventSourceContext context, PostgresOffsetContext offsetContext)
+                throws InterruptedException {
+            if (isBoundedRead()) {
+                // the streaming stops once the change events up to the high watermark are read
+                offsetContext.setStreamingStoppingLsn(
+                        ((PostgresOffset) streamSplit.getEndingOffset()).getLsn());
+            }
+            super.execute(context, offsetContext);
+            if (isBoundedRead() && context.isRunning()) {
+                // send stream end event
+                try {
+                    dispatcher.dispatchWatermarkEvent(
+                            offsetContext.getPartition(),
+                            streamSplit,
+                            streamSplit.getEndingOffset(),
+                            JdbcSourceEventDispatcher.WatermarkKind.BINLOG_END);
+                } catch (InterruptedException e) {
+                    LOG.error("Send signal event error.", e);
+                    errorHandler.setProducerThrowable(
+                            new DebeziumException("Error processing WAL signal event", e));
+                }
+                // tell fetcher the stream task finished
+                ((PostgresScanFetchTask.SnapshotStreamSplitChangeEventSourceContext) context)
+                        .finished();
+            }
+        }
+
+        private boolean isBoundedRead() {
+            return !NO_STOPPING_OFFSET.equals(streamSplit.getEndingOffset());
+        }
+    }
+
+    /**
+     * The {@link ChangeEventSource.ChangeEventSourceContext} implementation for stream split task.
+     */
+    private class StreamSplitChangeEventSourceContext
+            implements ChangeEventSource.ChangeEventSourceContext {
+        @Override
+        public boolean isRunning() {
+            return taskRunning;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.source.offset;
+
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import io.debezium.connector.postgresql.PostgresOffsetContext;
+import io.debezium.connector.postgresql.SourceInfo;
+import io.debezium.connector.postgresql.connection.Lsn;
+import io.debezium.time.Conversions;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A structure describes an offset in the PostgreSQL write-ahead log, the offsets are ordered by the
+ * log sequence number (LSN) of the change events.
+ */
+public class PostgresOffset extends Offset {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final PostgresOffset INITIAL_OFFSET = new PostgresOffset(0L, null, Instant.EPOCH);
+    public static final PostgresOffset NO_STOPPING_OFFSET =
+            new PostgresOffset(Long.MAX_VALUE, null, Instant.EPOCH);
+
+    public PostgresOffset(Map<String, String> offset) {
+        this.offset = offset;
+    }
+
+    public PostgresOffset(long lsn, Long txId, Instant lastCommitTs) {
+        Map<String, String> offsetMap = new HashMap<>();
+        offsetMap.put(SourceInfo.LSN_KEY, String.valueOf(lsn));
+        if (txId != null) {
+            offsetMap.put(SourceInfo.TXID_KEY, String.valueOf(txId));
+        }
+        offsetMap.put(
+                SourceInfo.TIMESTAMP_USEC_KEY,
+                String.valueOf(Conversions.toEpochMicros(lastCommitTs)));
+        this.offset = offsetMap;
+    }
+
+    /** Creates a {@link PostgresOffset} from the source offset of a Debezium record. */
+    public static PostgresOffset of(Map<String, ?> sourceOffset) {
+        Map<String, String> offsetStrMap = new HashMap<>();
+        for (Map.Entry<String, ?> entry : sourceOffset.entrySet()) {
+            offsetStrMap.put(
+                    entry.getKey(), entry.getValue() == null ? null : entry.getValue().toString());
+        }
+        return new PostgresOffset(offsetStrMap);
+    }
+
+    public Lsn getLsn() {
+        return Lsn.valueOf(longOffsetValue(offset, SourceInfo.LSN_KEY));
+    }
+
+    /**
+     * Returns the offset in the format of the Debezium PostgreSQL connector, which can be loaded by
+     * {@link PostgresOffsetContext.Loader} and committed to the replication slot.
+     */
+    public Map<String, Object> toDebeziumOffset() {
+        Map<String, Object> debeziumOffset = new HashMap<>();
+        debeziumOffset.put(SourceInfo.LSN_KEY, longOffsetValue(offset, SourceInfo.LSN_KEY));
+        for (String key :
+                new String[] {
+                    SourceInfo.TXID_KEY,
+                    PostgresOffsetContext.LAST_COMPLETELY_PROCESSED_LSN_KEY,
+                    PostgresOffsetContext.LAST_COMMIT_LSN_KEY
+                }) {
+            if (offset.get(key) != null) {
+                debeziumOffset.put(key, longOffsetValue(offset, key));
+            }
+        }
+        debeziumOffset.put(
+                SourceInfo.TIMESTAMP_USEC_KEY,
+                longOffsetValue(offset, SourceInfo.TIMESTAMP_USEC_KEY));
+        return debeziumOffset;
+    }
+
+    @Override
+    public int compareTo(Offset offset) {
+        PostgresOffset that = (PostgresOffset) offset;
+        return Long.compare(
+                longOffsetValue(this.offset, SourceInfo.LSN_KEY),
+                longOffsetValue(that.offset, SourceInfo.LSN_KEY));
+    }
+}
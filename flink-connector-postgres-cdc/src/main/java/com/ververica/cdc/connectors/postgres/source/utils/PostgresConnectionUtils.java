@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.source.utils;
+
+import com.ververica.cdc.connectors.postgres.source.offset.PostgresOffset;
+import io.debezium.connector.postgresql.PostgresConnectorConfig;
+import io.debezium.connector.postgresql.PostgresValueConverter;
+import io.debezium.connector.postgresql.connection.PostgresConnection;
+
+import java.nio.charset.Charset;
+import java.sql.SQLException;
+import java.time.Instant;
+
+/** Utilities to create and use the PostgreSQL connections of Debezium. */
+public class PostgresConnectionUtils {
+
+    private PostgresConnectionUtils() {}
+
+    /**
+     * Creates a {@link PostgresConnection} which resolves the PostgreSQL types and converts the
+     * column values the same way as the Debezium connector task.
+     */
+    public static PostgresConnection createPostgresConnection(
+            PostgresConnectorConfig connectorConfig) {
+        final Charset databaseCharset;
+        try (PostgresConnection tempConnection =
+                new PostgresConnection(connectorConfig.getJdbcConfig())) {
+            databaseCharset = tempConnection.getDatabaseCharset();
+        }
+        return new PostgresConnection(
+                connectorConfig.getJdbcConfig(),
+                typeRegistry ->
+                        PostgresValueConverter.of(connectorConfig, databaseCharset, typeRegistry));
+    }
+
+    /** Fetches the current position of the write-ahead log. */
+    public static PostgresOffset currentOffset(PostgresConnection connection) throws SQLException {
+        // don't query txid_current() which assigns a new transaction id
+        return new PostgresOffset(connection.currentXLogLocation(), null, Instant.now());
+    }
+}
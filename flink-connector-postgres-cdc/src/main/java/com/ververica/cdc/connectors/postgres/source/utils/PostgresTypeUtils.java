@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.source.utils;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.types.DataType;
+
+import io.debezium.relational.Column;
+
+/** Utilities for converting from PostgreSQL types to Flink types. */
+public class PostgresTypeUtils {
+
+    // ------ PostgreSQL Type ------
+    private static final String PG_BOOLEAN = "bool";
+    private static final String PG_SMALLINT = "int2";
+    private static final String PG_SMALLSERIAL = "smallserial";
+    private static final String PG_INTEGER = "int4";
+    private static final String PG_SERIAL = "serial";
+    private static final String PG_BIGINT = "int8";
+    private static final String PG_BIGSERIAL = "bigserial";
+    private static final String PG_REAL = "float4";
+    private static final String PG_DOUBLE_PRECISION = "float8";
+    private static final String PG_NUMERIC = "numeric";
+    private static final String PG_CHAR = "bpchar";
+    private static final String PG_CHARACTER_VARYING = "varchar";
+    private static final String PG_TEXT = "text";
+    private static final String PG_UUID = "uuid";
+    private static final String PG_DATE = "date";
+    private static final String PG_TIME = "time";
+    private static final String PG_TIMESTAMP = "timestamp";
+    private static final String PG_TIMESTAMPTZ = "timestamptz";
+    private static final String PG_BYTEA = "bytea";
+
+    /** Returns a corresponding Flink data type from a debezium {@link Column}. */
+    public static DataType fromDbzColumn(Column column) {
+        DataType dataType = convertFromColumn(column);
+        if (column.isOptional()) {
+            return dataType;
+        } else {
+            return dataType.notNull();
+        }
+    }
+
+    /**
+     * Returns a corresponding Flink data type from a debezium {@link Column} with nullable always
+     * be true.
+     */
+    private static DataType convertFromColumn(Column column) {
+        String typeName = column.typeName();
+        switch (typeName) {
+            case PG_BOOLEAN:
+                return DataTypes.BOOLEAN();
+            case PG_SMALLINT:
+            case PG_SMALLSERIAL:
+                return DataTypes.SMALLINT();
+            case PG_INTEGER:
+            case PG_SERIAL:
+                return DataTypes.INT();
+            case PG_BIGINT:
+            case PG_BIGSERIAL:
+                return DataTypes.BIGINT();
+            case PG_REAL:
+                return DataTypes.FLOAT();
+            case PG_DOUBLE_PRECISION:
+                return DataTypes.DOUBLE();
+            case PG_NUMERIC:
+                // the numeric without precision is reported with a precision larger than 38
+                return column.length() > 0 && column.length() <= 38
+                        ? DataTypes.DECIMAL(column.length(), column.scale().orElse(0))
+                        : DataTypes.DECIMAL(38, 18);
+            case PG_CHAR:
+                return DataTypes.CHAR(column.length());
+            case PG_CHARACTER_VARYING:
+            case PG_TEXT:
+            case PG_UUID:
+                return DataTypes.STRING();
+            case PG_DATE:
+                return DataTypes.DATE();
+            case PG_TIME:
+                return DataTypes.TIME(column.scale().orElse(0));
+            case PG_TIMESTAMP:
+                return DataTypes.TIMESTAMP(column.scale().orElse(6));
+            case PG_TIMESTAMPTZ:
+                return DataTypes.TIMESTAMP_WITH_LOCAL_TIME_ZONE(column.scale().orElse(6));
+            case PG_BYTEA:
+                return DataTypes.BYTES();
+            default:
+                throw new UnsupportedOperationException(
+                        String.format("Doesn't support PostgreSQL type '%s' yet", typeName));
+        }
+    }
+}
@@ -21,6 +21,7 @@ package com.ververica.cdc.connectors.postgres.table;
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
 import org.apache.flink.configuration.ReadableConfig;
+import org.apache.flink.table.api.ValidationException;
 import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.factories.DynamicTableFactory;
@@ -101,6 +102,17 @@ public class PostgreSQLTableFactory implements DynamicTableSourceFactory {
                                     + "from a particular plug-in for a particular database/schema. The server uses this slot "
                                     + "to stream events to the connector that you are configuring. Default is \"flink\".");
 
+    private static final ConfigOption<Boolean> SCAN_TOASTED_VALUE_FILL_ENABLED =
+            ConfigOptions.key("scan.toasted-value.fill.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to fill the unchanged TOAST values of UPDATE events and the missing before rows "
+                                    + "of UPDATE and DELETE events from the latest rows kept in Flink state, so that "
+                                    + "the table doesn't need REPLICA IDENTITY FULL. The table must have a primary key. "
+                                    + "The state keeps a row per primary key, and the rows of keys which are not read "
+                                    + "from the snapshot can't be filled. Default is false.");
+
     @Override
     public DynamicTableSource createDynamicTableSource(DynamicTableFactory.Context context) {
         final FactoryUtil.TableFactoryHelper helper =
@@ -117,8 +129,15 @@ public class PostgreSQLTableFactory implements DynamicTableSourceFactory {
         int port = config.get(PORT);
         String pluginName = config.get(DECODING_PLUGIN_NAME);
         String slotName = config.get(SLOT_NAME);
+        boolean toastedValueFill = config.get(SCAN_TOASTED_VALUE_FILL_ENABLED);
         ResolvedSchema physicalSchema =
                 getPhysicalSchema(context.getCatalogTable().getResolvedSchema());
+        if (toastedValueFill && !physicalSchema.getPrimaryKey().isPresent()) {
+            throw new ValidationException(
+                    String.format(
+                            "The primary key is necessary when enable '%s' to 'true'",
+                            SCAN_TOASTED_VALUE_FILL_ENABLED.key()));
+        }
 
         return new PostgreSQLTableSource(
                 physicalSchema,
@@ -131,7 +150,8 @@ public class PostgreSQLTableFactory implements DynamicTableSourceFactory {
                 password,
                 pluginName,
                 slotName,
-                getDebeziumProperties(context.getCatalogTable().getOptions()));
+                getDebeziumProperties(context.getCatalogTable().getOptions()),
+                toastedValueFill);
     }
 
     @Override
@@ -157,6 +177,7 @@ public class PostgreSQLTableFactory implements DynamicTableSourceFactory {
         options.add(PORT);
         options.add(DECODING_PLUGIN_NAME);
         options.add(SLOT_NAME);
+        options.add(SCAN_TOASTED_VALUE_FILL_ENABLED);
         return options;
     }
 }
@@ -19,8 +19,11 @@
 package com.ververica.cdc.connectors.postgres.table;
 
 import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.connector.ChangelogMode;
+import org.apache.flink.table.connector.source.DataStreamScanProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.connector.source.SourceFunctionProvider;
@@ -63,6 +66,7 @@ public class PostgreSQLTableSource implements ScanTableSource, SupportsReadingMe
     private final String pluginName;
     private final String slotName;
     private final Properties dbzProperties;
+    private final boolean toastedValueFill;
 
     // --------------------------------------------------------------------------------------------
     // Mutable attributes
@@ -85,7 +89,8 @@ public class PostgreSQLTableSource implements ScanTableSource, SupportsReadingMe
             String password,
             String pluginName,
             String slotName,
-            Properties dbzProperties) {
+            Properties dbzProperties,
+            boolean toastedValueFill) {
         this.physicalSchema = physicalSchema;
         this.port = port;
         this.hostname = checkNotNull(hostname);
@@ -97,6 +102,7 @@ public class PostgreSQLTableSource implements ScanTableSource, SupportsReadingMe
         this.pluginName = checkNotNull(pluginName);
         this.slotName = slotName;
         this.dbzProperties = dbzProperties;
+        this.toastedValueFill = toastedValueFill;
         this.producedDataType = physicalSchema.toPhysicalRowDataType();
         this.metadataKeys = Collections.emptyList();
     }
@@ -123,7 +129,8 @@ public class PostgreSQLTableSource implements ScanTableSource, SupportsReadingMe
                         .setPhysicalRowType(physicalDataType)
                         .setMetadataConverters(metadataConverters)
                         .setResultTypeInfo(typeInfo)
-                        .setValueValidator(new PostgresValueValidator(schemaName, tableName))
+                        .setValueValidator(
+                                new PostgresValueValidator(schemaName, tableName, toastedValueFill))
                         .build();
         DebeziumSourceFunction<RowData> sourceFunction =
                 PostgreSQLSource.<RowData>builder()
@@ -139,9 +146,58 @@ public class PostgreSQLTableSource implements ScanTableSource, SupportsReadingMe
                         .debeziumProperties(dbzProperties)
                         .deserializer(deserializer)
                         .build();
+        if (toastedValueFill) {
+            return createToastedValueFillProvider(sourceFunction, physicalDataType, typeInfo);
+        }
         return SourceFunctionProvider.of(sourceFunction, false);
     }
 
+    /**
+     * Creates a provider which keys the rows of the source by the primary key and fills the
+     * unchanged TOAST values with {@link PostgresToastValueFiller}.
+     */
+    private ScanRuntimeProvider createToastedValueFillProvider(
+            DebeziumSourceFunction<RowData> sourceFunction,
+            RowType physicalDataType,
+            TypeInformation<RowData> typeInfo) {
+        RowType producedRowType = (RowType) producedDataType.getLogicalType();
+        PostgresToastValueFiller.PrimaryKeySelector keySelector =
+                new PostgresToastValueFiller.PrimaryKeySelector(
+                        producedRowType, getPrimaryKeyIndexes());
+        PostgresToastValueFiller filler =
+                new PostgresToastValueFiller(
+                        producedRowType,
+                        physicalDataType,
+                        dbzProperties == null
+                                ? PostgresToastValueFiller.DEFAULT_TOASTED_VALUE_PLACEHOLDER
+                                : dbzProperties.getProperty(
+                                        "toasted.value.placeholder",
+                                        PostgresToastValueFiller
+                                                .DEFAULT_TOASTED_VALUE_PLACEHOLDER));
+        return new DataStreamScanProvider() {
+            @Override
+            public DataStream<RowData> produceDataStream(StreamExecutionEnvironment execEnv) {
+                return execEnv.addSource(sourceFunction, asSummaryString(), typeInfo)
+                        .keyBy(keySelector, keySelector.getKeyTypeInfo())
+                        .process(filler, typeInfo)
+                        .name("PostgreSQL-CDC TOAST Value Filler");
+            }
+
+            @Override
+            public boolean isBounded() {
+                return false;
+            }
+        };
+    }
+
+    private int[] getPrimaryKeyIndexes() {
+        List<String> columnNames = physicalSchema.getColumnNames();
+        return physicalSchema
+                .getPrimaryKey()
+                .map(pk -> pk.getColumns().stream().mapToInt(columnNames::indexOf).toArray())
+                .orElseThrow(() -> new IllegalStateException("The primary key is necessary"));
+    }
+
     private MetadataConverter[] getMetadataConverters() {
         if (metadataKeys.isEmpty()) {
             return new MetadataConverter[0];
@@ -172,7 +228,8 @@ public class PostgreSQLTableSource implements ScanTableSource, SupportsReadingMe
                         password,
                         pluginName,
                         slotName,
-                        dbzProperties);
+                        dbzProperties,
+                        toastedValueFill);
         source.metadataKeys = metadataKeys;
         source.producedDataType = producedDataType;
         return source;
@@ -198,6 +255,7 @@ public class PostgreSQLTableSource implements ScanTableSource, SupportsReadingMe
                 && Objects.equals(pluginName, that.pluginName)
                 && Objects.equals(slotName, that.slotName)
                 && Objects.equals(dbzProperties, that.dbzProperties)
+                && toastedValueFill == that.toastedValueFill
                 && Objects.equals(producedDataType, that.producedDataType)
                 && Objects.equals(metadataKeys, that.metadataKeys);
     }
@@ -216,6 +274,7 @@ public class PostgreSQLTableSource implements ScanTableSource, SupportsReadingMe
                 pluginName,
                 slotName,
                 dbzProperties,
+                toastedValueFill,
                 producedDataType,
                 metadataKeys);
     }
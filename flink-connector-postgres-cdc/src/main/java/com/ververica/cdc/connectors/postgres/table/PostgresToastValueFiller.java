@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.table;
+
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.functions.KeyedProcessFunction;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.RowKind;
+import org.apache.flink.util.Collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Fills the unchanged TOAST values of the change events of a Postgres table without {@code REPLICA
+ * IDENTITY FULL}.
+ *
+ * <p>Without {@code REPLICA IDENTITY FULL}, the UPDATE events have no before image and the TOAST
+ * columns which are not changed by an UPDATE carry a placeholder instead of their values, while the
+ * DELETE events carry only the primary key. This function keeps the latest physical row of every
+ * primary key in keyed state, replaces the placeholders with the values of the kept row, emits the
+ * kept row as the missing before image of UPDATE events and as the complete row of DELETE events.
+ *
+ * <p>The rows of a primary key which has not been seen since the snapshot, e.g. when the source
+ * doesn't read the snapshot, are emitted as they are.
+ *
+ * <p>Debezium emits the before image of an UPDATE, if there is one, right before its after image.
+ * The key of the last UPDATE_BEFORE row is kept in an operator field and compared with the key of
+ * the next UPDATE_AFTER row, so that an UPDATE_AFTER row of another key still gets its before image
+ * from the keyed state.
+ */
+public class PostgresToastValueFiller extends KeyedProcessFunction<RowData, RowData, RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostgresToastValueFiller.class);
+
+    /** The default value of the Debezium option 'toasted.value.placeholder'. */
+    public static final String DEFAULT_TOASTED_VALUE_PLACEHOLDER = "__debezium_unavailable_value";
+
+    private final RowType physicalRowType;
+    private final RowData.FieldGetter[] fieldGetters;
+    private final int[] stringFields;
+    private final int[] binaryFields;
+    private final String placeholder;
+
+    private transient StringData stringPlaceholder;
+    private transient byte[] binaryPlaceholder;
+    private transient ValueState<RowData> latestRow;
+
+    /** The key of the last UPDATE_BEFORE row, if it's the last row processed. */
+    private transient RowData updateBeforeKey;
+
+    /**
+     * @param producedRowType the row type of the input rows, which are the physical fields followed
+     *     by the metadata fields
+     * @param physicalRowType the row type of the physical fields
+     * @param placeholder the placeholder of the unchanged TOAST values
+     */
+    public PostgresToastValueFiller(
+            RowType producedRowType, RowType physicalRowType, String placeholder) {
+        checkArgument(producedRowType.getFieldCount() >= physicalRowType.getFieldCount());
+        this.physicalRowType = physicalRowType;
+        this.fieldGetters = createFieldGetters(producedRowType);
+        final List<Integer> stringFields = new ArrayList<>();
+        final List<Integer> binaryFields = new ArrayList<>();
+        for (int i = 0; i < physicalRowType.getFieldCount(); i++) {
+            switch (physicalRowType.getTypeAt(i).getTypeRoot()) {
+                case CHAR:
+                case VARCHAR:
+                    stringFields.add(i);
+                    break;
+                case BINARY:
+                case VARBINARY:
+                    binaryFields.add(i);
+                    break;
+                default:
+                    break;
+            }
+        }
+        this.stringFields = stringFields.stream().mapToInt(Integer::intValue).toArray();
+        this.binaryFields = binaryFields.stream().mapToInt(Integer::intValue).toArray();
+        this.placeholder = placeholder;
+    }
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        stringPlaceholder = StringData.fromString(placeholder);
+        binaryPlaceholder = placeholder.getBytes(StandardCharsets.UTF_8);
+        latestRow =
+                getRuntimeContext()
+                        .getState(
+                                new ValueStateDescriptor<>(
+                                        "latest-row", InternalTypeInfo.of(physicalRowType)));
+    }
+
+    @Override
+    public void processElement(RowData row, Context ctx, Collector<RowData> out) throws Exception {
+        final RowData latest = latestRow.value();
+        final RowData lastUpdateBeforeKey = updateBeforeKey;
+        updateBeforeKey = null;
+        switch (row.getRowKind()) {
+            case INSERT:
+                latestRow.update(copyPhysicalFields(row));
+                out.collect(row);
+                break;
+            case UPDATE_BEFORE:
+                // the before image exists when the table has REPLICA IDENTITY FULL
+                updateBeforeKey = ctx.getCurrentKey();
+                out.collect(fill(row, latest));
+                break;
+            case UPDATE_AFTER:
+                final boolean beforeEmitted = ctx.getCurrentKey().equals(lastUpdateBeforeKey);
+                if (!beforeEmitted && latest != null) {
+                    out.collect(join(latest, row, RowKind.UPDATE_BEFORE));
+                }
+                final GenericRowData after = fill(row, latest);
+                latestRow.update(copyPhysicalFields(after));
+                out.collect(after);
+                break;
+            case DELETE:
+                latestRow.clear();
+                out.collect(latest == null ? row : join(latest, row, RowKind.DELETE));
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported row kind: " + row.getRowKind());
+        }
+    }
+
+    /** Replaces the placeholders of the row with the values of the latest row. */
+    private GenericRowData fill(RowData row, RowData latest) {
+        final GenericRowData filled = join(row, row, row.getRowKind());
+        for (int i : stringFields) {
+            if (stringPlaceholder.equals(filled.getField(i))) {
+                fillField(filled, i, latest);
+            }
+        }
+        for (int i : binaryFields) {
+            final Object value = filled.getField(i);
+            if (value instanceof byte[] && Arrays.equals(binaryPlaceholder, (byte[]) value)) {
+                fillField(filled, i, latest);
+            }
+        }
+        return filled;
+    }
+
+    private void fillField(GenericRowData row, int pos, RowData latest) {
+        if (latest == null) {
+            LOG.debug(
+                    "No row is kept for the primary key of {}, field {} keeps the placeholder",
+                    row,
+                    physicalRowType.getFieldNames().get(pos));
+            return;
+        }
+        row.setField(pos, fieldGetters[pos].getFieldOrNull(latest));
+    }
+
+    /** Joins the physical fields of a row with the metadata fields of another row. */
+    private GenericRowData join(RowData physical, RowData metadata, RowKind rowKind) {
+        final GenericRowData joined = new GenericRowData(rowKind, fieldGetters.length);
+        final int physicalFields = physicalRowType.getFieldCount();
+        for (int i = 0; i < fieldGetters.length; i++) {
+            joined.setField(
+                    i, fieldGetters[i].getFieldOrNull(i < physicalFields ? physical : metadata));
+        }
+        return joined;
+    }
+
+    private GenericRowData copyPhysicalFields(RowData row) {
+        final GenericRowData physical = new GenericRowData(physicalRowType.getFieldCount());
+        for (int i = 0; i < physical.getArity(); i++) {
+            physical.setField(i, fieldGetters[i].getFieldOrNull(row));
+        }
+        return physical;
+    }
+
+    private static RowData.FieldGetter[] createFieldGetters(RowType rowType) {
+        final RowData.FieldGetter[] fieldGetters = new RowData.FieldGetter[rowType.getFieldCount()];
+        for (int i = 0; i < fieldGetters.length; i++) {
+            fieldGetters[i] = RowData.createFieldGetter(rowType.getTypeAt(i), i);
+        }
+        return fieldGetters;
+    }
+
+    /**
+     * Selects the primary key of a row as a binary row, which has a deterministic hash code as
+     * required by the keyed state.
+     */
+    public static class PrimaryKeySelector implements KeySelector<RowData, RowData> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RowType keyType;
+        private final RowData.FieldGetter[] keyGetters;
+        private final RowDataSerializer keySerializer;
+
+        public PrimaryKeySelector(RowType rowType, int[] primaryKeyIndexes) {
+            checkArgument(primaryKeyIndexes.length > 0, "The primary key must not be empty");
+            final LogicalType[] keyTypes = new LogicalType[primaryKeyIndexes.length];
+            final String[] keyNames = new String[primaryKeyIndexes.length];
+            this.keyGetters = new RowData.FieldGetter[primaryKeyIndexes.length];
+            for (int i = 0; i < primaryKeyIndexes.length; i++) {
+                keyTypes[i] = rowType.getTypeAt(primaryKeyIndexes[i]);
+                keyNames[i] = rowType.getFieldNames().get(primaryKeyIndexes[i]);
+                keyGetters[i] = RowData.createFieldGetter(keyTypes[i], primaryKeyIndexes[i]);
+            }
+            this.keyType = RowType.of(keyTypes, keyNames);
+            this.keySerializer = new RowDataSerializer(keyType);
+        }
+
+        @Override
+        public RowData getKey(RowData row) {
+            final GenericRowData key = new GenericRowData(keyGetters.length);
+            for (int i = 0; i < keyGetters.length; i++) {
+                key.setField(i, keyGetters[i].getFieldOrNull(row));
+            }
+            return keySerializer.toBinaryRow(key).copy();
+        }
+
+        public InternalTypeInfo<RowData> getKeyTypeInfo() {
+            return InternalTypeInfo.of(keyType);
+        }
+    }
+}
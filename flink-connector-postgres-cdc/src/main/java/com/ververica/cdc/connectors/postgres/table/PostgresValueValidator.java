@@ -23,7 +23,12 @@ import org.apache.flink.types.RowKind;
 
 import com.ververica.cdc.debezium.table.RowDataDebeziumDeserializeSchema;
 
-/** The {@link RowDataDebeziumDeserializeSchema.ValueValidator} for Postgres connector. */
+/**
+ * The {@link RowDataDebeziumDeserializeSchema.ValueValidator} for Postgres connector.
+ *
+ * <p>When the unchanged TOAST values are filled by {@link PostgresToastValueFiller}, the missing
+ * before images of UPDATE events are accepted, as they are restored from the state of the filler.
+ */
 public final class PostgresValueValidator
         implements RowDataDebeziumDeserializeSchema.ValueValidator {
     private static final long serialVersionUID = -1870679469578028765L;
@@ -35,14 +40,20 @@ public final class PostgresValueValidator
                     + "Please see more in Debezium documentation: https://debezium.io/documentation/reference/1.5/connectors/postgresql.html#postgresql-replica-identity";
 
     private final String schemaTable;
+    private final boolean toastValueFill;
 
     public PostgresValueValidator(String schema, String table) {
+        this(schema, table, false);
+    }
+
+    public PostgresValueValidator(String schema, String table, boolean toastValueFill) {
         this.schemaTable = schema + "." + table;
+        this.toastValueFill = toastValueFill;
     }
 
     @Override
     public void validate(RowData rowData, RowKind rowKind) throws Exception {
-        if (rowData == null) {
+        if (rowData == null && !(toastValueFill && rowKind == RowKind.UPDATE_BEFORE)) {
             throw new IllegalStateException(String.format(REPLICA_IDENTITY_EXCEPTION, schemaTable));
         }
     }
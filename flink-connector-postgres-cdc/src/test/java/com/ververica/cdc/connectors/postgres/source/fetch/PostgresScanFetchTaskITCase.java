@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.source.fetch;
+
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher;
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import com.ververica.cdc.connectors.base.source.meta.split.SnapshotSplit;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.reader.external.JdbcSourceScanFetcher;
+import com.ververica.cdc.connectors.base.utils.SourceRecordUtils;
+import com.ververica.cdc.connectors.postgres.PostgresTestBase;
+import com.ververica.cdc.connectors.postgres.source.PostgresDialect;
+import com.ververica.cdc.connectors.postgres.source.config.PostgresSourceConfigFactory;
+import com.ververica.cdc.connectors.postgres.source.utils.PostgresConnectionUtils;
+import io.debezium.connector.postgresql.PostgresTopicSelector;
+import io.debezium.connector.postgresql.connection.PostgresConnection;
+import io.debezium.data.Envelope;
+import io.debezium.pipeline.DataChangeEvent;
+import io.debezium.pipeline.EventDispatcher;
+import io.debezium.pipeline.spi.OffsetContext;
+import io.debezium.relational.TableId;
+import io.debezium.schema.DataCollectionSchema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.testcontainers.containers.PostgreSQLContainer.POSTGRESQL_PORT;
+
+/** IT tests for the backfill read of {@link PostgresScanFetchTask}. */
+public class PostgresScanFetchTaskITCase extends PostgresTestBase {
+
+    private static final String SLOT_NAME = "backfill_it";
+
+    private final List<Connection> connections = new ArrayList<>();
+
+    @Before
+    public void before() {
+        initializePostgresTable("inventory");
+    }
+
+    @After
+    public void after() throws SQLException {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        try (Connection connection = getJdbcConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(
+                    String.format(
+                            "SELECT pg_drop_replication_slot(slot_name) FROM pg_replication_slots"
+                                    + " WHERE slot_name = '%s'",
+                            SLOT_NAME));
+        }
+    }
+
+    @Test
+    public void testBackfillChangesDuringSnapshot() throws Exception {
+        final PostgresSourceConfigFactory configFactory = createConfigFactory();
+        final PostgresDialect dialect = new PostgresDialect(configFactory);
+        final List<SnapshotSplit> splits =
+                new ArrayList<>(
+                        dialect.createChunkSplitter(configFactory.create(0))
+                                .generateSplits(new TableId(null, "inventory", "products")));
+        // [null, 105), [105, 109), [109, null)
+        assertEquals(3, splits.size());
+
+        final Connection interleavedTransaction = openConnection();
+        interleavedTransaction.setAutoCommit(false);
+        final SplitHooks hooks = new SplitHooks();
+        // the interleaved transaction starts before the low watermark of the second split and
+        // commits after the snapshot of the second split, its change events are before the low
+        // watermark but it is committed before the high watermark
+        hooks.afterHighWatermark(
+                splits.get(0),
+                () ->
+                        execute(
+                                interleavedTransaction,
+                                "UPDATE inventory.products SET description = 'interleaved'"
+                                        + " WHERE id = 105"));
+        hooks.afterSnapshot(
+                splits.get(1),
+                () -> {
+                    try (Connection connection = openConnection()) {
+                        execute(
+                                connection,
+                                "UPDATE inventory.products SET description = 'during snapshot'"
+                                        + " WHERE id = 106",
+                                "DELETE FROM inventory.products WHERE id = 107");
+                    }
+                    interleavedTransaction.commit();
+                });
+        // the changes after the high watermark are read by the stream split
+        hooks.afterHighWatermark(
+                splits.get(1),
+                () -> {
+                    try (Connection connection = openConnection()) {
+                        execute(
+                                connection,
+                                "UPDATE inventory.products SET description = 'after snapshot'"
+                                        + " WHERE id = 108");
+                    }
+                });
+
+        final HookedFetchTaskContext context =
+                new HookedFetchTaskContext(configFactory, dialect, hooks);
+        final JdbcSourceScanFetcher fetcher = new JdbcSourceScanFetcher(context, 0);
+        final List<String> actual = new ArrayList<>();
+        try {
+            for (SnapshotSplit split : splits) {
+                actual.addAll(readSplit(fetcher, dialect, split));
+                // the backfill reads of all the splits share one replication slot
+                assertEquals(1, countBackfillSlots());
+            }
+        } finally {
+            fetcher.close();
+        }
+        assertEquals(0, countBackfillSlots());
+
+        final List<String> expected =
+                Arrays.asList(
+                        "101,Small 2-wheel scooter",
+                        "102,12V car battery",
+                        "103,12-pack of drill bits with sizes ranging from #40 to #3",
+                        "104,12oz carpenter's hammer",
+                        "105,interleaved",
+                        "106,during snapshot",
+                        "108,water resistent black wind breaker",
+                        "109,24 inch spare tire");
+        Collections.sort(actual);
+        assertEquals(expected, actual);
+    }
+
+    private List<String> readSplit(
+            JdbcSourceScanFetcher fetcher, PostgresDialect dialect, SnapshotSplit split)
+            throws Exception {
+        while (!fetcher.isFinished()) {
+            Thread.sleep(10);
+        }
+        fetcher.submitTask(dialect.createFetchTask(split));
+        final List<String> rows = new ArrayList<>();
+        Iterator<SourceRecord> records;
+        while ((records = fetcher.pollSplitRecords()) != null) {
+            while (records.hasNext()) {
+                final SourceRecord record = records.next();
+                if (SourceRecordUtils.isDataChangeRecord(record)) {
+                    final Struct after =
+                            ((Struct) record.value()).getStruct(Envelope.FieldName.AFTER);
+                    rows.add(after.getInt32("id") + "," + after.getString("description"));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private PostgresSourceConfigFactory createConfigFactory() {
+        final PostgresSourceConfigFactory configFactory = new PostgresSourceConfigFactory();
+        configFactory
+                .database(POSTGERS_CONTAINER.getDatabaseName())
+                .schemaList("inventory")
+                .slotName(SLOT_NAME)
+                .hostname(POSTGERS_CONTAINER.getHost())
+                .port(POSTGERS_CONTAINER.getMappedPort(POSTGRESQL_PORT))
+                .username(POSTGERS_CONTAINER.getUsername())
+                .password(POSTGERS_CONTAINER.getPassword())
+                .tableList("inventory.products")
+                .splitSize(4)
+                .fetchSize(2);
+        return configFactory;
+    }
+
+    private Connection openConnection() throws SQLException {
+        final Connection connection = getJdbcConnection();
+        connections.add(connection);
+        return connection;
+    }
+
+    private static void execute(Connection connection, String... sqlStatements)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : sqlStatements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private int countBackfillSlots() throws SQLException {
+        try (Connection connection = getJdbcConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs =
+                        statement.executeQuery(
+                                String.format(
+                                        "SELECT COUNT(*) FROM pg_replication_slots"
+                                                + " WHERE slot_name LIKE '%s\\_%%'",
+                                        SLOT_NAME))) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /** A statement which is executed at a point of the read of a snapshot split. */
+    @FunctionalInterface
+    private interface SplitHook {
+        void run() throws Exception;
+    }
+
+    /** The hooks which change the table while the snapshot splits are read. */
+    private static class SplitHooks {
+
+        private final Map<String, SplitHook> afterSnapshotHooks = new HashMap<>();
+        private final Map<String, SplitHook> afterHighWatermarkHooks = new HashMap<>();
+
+        void afterSnapshot(SnapshotSplit split, SplitHook hook) {
+            afterSnapshotHooks.put(split.splitId(), hook);
+        }
+
+        void afterHighWatermark(SnapshotSplit split, SplitHook hook) {
+            afterHighWatermarkHooks.put(split.splitId(), hook);
+        }
+
+        private static void run(Map<String, SplitHook> hooks, String splitId) {
+            final SplitHook hook = hooks.remove(splitId);
+            if (hook != null) {
+                try {
+                    hook.run();
+                } catch (Exception e) {
+                    throw new FlinkRuntimeException("Failed to run the hook of " + splitId, e);
+                }
+            }
+        }
+    }
+
+    /** A {@link PostgresSourceFetchTaskContext} which runs the hooks of the splits. */
+    private static class HookedFetchTaskContext extends PostgresSourceFetchTaskContext {
+
+        private final SplitHooks hooks;
+        private JdbcSourceEventDispatcher dispatcher;
+
+        HookedFetchTaskContext(
+                PostgresSourceConfigFactory configFactory,
+                PostgresDialect dialect,
+                SplitHooks hooks) {
+            super(configFactory.create(0), dialect, createConnection(configFactory));
+            this.hooks = hooks;
+        }
+
+        private static PostgresConnection createConnection(
+                PostgresSourceConfigFactory configFactory) {
+            return PostgresConnectionUtils.createPostgresConnection(
+                    configFactory.create(0).getDbzConnectorConfig());
+        }
+
+        @Override
+        public void configure(SourceSplitBase sourceSplitBase) {
+            super.configure(sourceSplitBase);
+            this.dispatcher = new HookedDispatcher(this, sourceSplitBase.splitId(), hooks);
+        }
+
+        @Override
+        public JdbcSourceEventDispatcher getDispatcher() {
+            return dispatcher;
+        }
+    }
+
+    /** A {@link JdbcSourceEventDispatcher} which runs the hooks of a split. */
+    private static class HookedDispatcher extends JdbcSourceEventDispatcher {
+
+        private final String splitId;
+        private final SplitHooks hooks;
+
+        HookedDispatcher(PostgresSourceFetchTaskContext context, String splitId, SplitHooks hooks) {
+            super(
+                    context.getConnectorConfig(),
+                    PostgresTopicSelector.create(context.getConnectorConfig()),
+                    context.getDatabaseSchema(),
+                    context.getQueue(),
+                    context.getConnectorConfig().getTableFilters().dataCollectionFilter(),
+                    DataChangeEvent::new,
+                    new PostgresSourceFetchTaskContext.PostgresEventMetadataProvider(),
+                    context.getSchemaNameAdjuster());
+            this.splitId = splitId;
+            this.hooks = hooks;
+        }
+
+        @Override
+        public EventDispatcher.SnapshotReceiver getSnapshotChangeEventReceiver() {
+            final EventDispatcher.SnapshotReceiver receiver =
+                    super.getSnapshotChangeEventReceiver();
+            return new EventDispatcher.SnapshotReceiver() {
+                @Override
+                public void changeRecord(
+                        DataCollectionSchema schema,
+                        Envelope.Operation operation,
+                        Object key,
+                        Struct value,
+                        OffsetContext offset,
+                        ConnectHeaders headers)
+                        throws InterruptedException {
+                    receiver.changeRecord(schema, operation, key, value, offset, headers);
+                }
+
+                @Override
+                public void completeSnapshot() throws InterruptedException {
+                    receiver.completeSnapshot();
+                    // the snapshot query has been read, the high watermark is not determined yet
+                    SplitHooks.run(hooks.afterSnapshotHooks, splitId);
+                }
+            };
+        }
+
+        @Override
+        public void dispatchWatermarkEvent(
+                Map<String, ?> sourcePartition,
+                SourceSplitBase sourceSplit,
+                Offset watermark,
+                WatermarkKind watermarkKind)
+                throws InterruptedException {
+            super.dispatchWatermarkEvent(sourcePartition, sourceSplit, watermark, watermarkKind);
+            if (watermarkKind == WatermarkKind.HIGH) {
+                SplitHooks.run(hooks.afterHighWatermarkHooks, splitId);
+            }
+        }
+    }
+}
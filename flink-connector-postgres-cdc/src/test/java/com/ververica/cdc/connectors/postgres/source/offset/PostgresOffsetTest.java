@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.source.offset;
+
+import io.debezium.connector.postgresql.PostgresOffsetContext;
+import io.debezium.connector.postgresql.SourceInfo;
+import io.debezium.connector.postgresql.connection.Lsn;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Unit test for {@link PostgresOffset}. */
+public class PostgresOffsetTest {
+
+    @Test
+    public void testCompareOffsets() {
+        final PostgresOffset low = new PostgresOffset(1000L, 10L, Instant.now());
+        final PostgresOffset high = new PostgresOffset(2000L, null, Instant.now());
+
+        assertTrue(high.isAfter(low));
+        assertTrue(low.isBefore(high));
+        assertTrue(low.isAtOrBefore(new PostgresOffset(1000L, 11L, Instant.EPOCH)));
+        assertTrue(PostgresOffset.INITIAL_OFFSET.isBefore(low));
+        assertTrue(PostgresOffset.NO_STOPPING_OFFSET.isAfter(high));
+        assertFalse(PostgresOffset.NO_STOPPING_OFFSET.isBefore(high));
+    }
+
+    @Test
+    public void testConvertFromSourceOffset() {
+        final Map<String, Object> sourceOffset = new HashMap<>();
+        sourceOffset.put(SourceInfo.LSN_KEY, 3000L);
+        sourceOffset.put(SourceInfo.TXID_KEY, 42L);
+        sourceOffset.put(SourceInfo.TIMESTAMP_USEC_KEY, 1_600_000_000_000_000L);
+        sourceOffset.put(PostgresOffsetContext.LAST_COMPLETELY_PROCESSED_LSN_KEY, 2990L);
+        sourceOffset.put(PostgresOffsetContext.LAST_COMMIT_LSN_KEY, 2980L);
+        sourceOffset.put("snapshot", false);
+
+        final PostgresOffset offset = PostgresOffset.of(sourceOffset);
+        assertEquals(Lsn.valueOf(3000L), offset.getLsn());
+
+        final Map<String, Object> debeziumOffset = offset.toDebeziumOffset();
+        assertEquals(3000L, debeziumOffset.get(SourceInfo.LSN_KEY));
+        assertEquals(42L, debeziumOffset.get(SourceInfo.TXID_KEY));
+        assertEquals(1_600_000_000_000_000L, debeziumOffset.get(SourceInfo.TIMESTAMP_USEC_KEY));
+        assertEquals(
+                2990L, debeziumOffset.get(PostgresOffsetContext.LAST_COMPLETELY_PROCESSED_LSN_KEY));
+        assertEquals(2980L, debeziumOffset.get(PostgresOffsetContext.LAST_COMMIT_LSN_KEY));
+        assertFalse(debeziumOffset.containsKey("snapshot"));
+    }
+
+    @Test
+    public void testConvertWatermarkOffset() {
+        final PostgresOffset offset = new PostgresOffset(4000L, null, Instant.ofEpochSecond(1));
+
+        final Map<String, Object> debeziumOffset = offset.toDebeziumOffset();
+        assertEquals(4000L, debeziumOffset.get(SourceInfo.LSN_KEY));
+        assertEquals(1_000_000L, debeziumOffset.get(SourceInfo.TIMESTAMP_USEC_KEY));
+        assertFalse(debeziumOffset.containsKey(SourceInfo.TXID_KEY));
+        assertEquals(offset, PostgresOffset.of(debeziumOffset));
+    }
+}
@@ -107,7 +107,8 @@ public class PostgreSQLTableFactoryTest {
                         MY_PASSWORD,
                         "decoderbufs",
                         "flink",
-                        PROPERTIES);
+                        PROPERTIES,
+                        false);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -118,6 +119,7 @@ public class PostgreSQLTableFactoryTest {
         options.put("decoding.plugin.name", "wal2json");
         options.put("debezium.snapshot.mode", "never");
         options.put("slot.name", "flink");
+        options.put("scan.toasted-value.fill.enabled", "true");
 
         DynamicTableSource actualSource = createTableSource(options);
         Properties dbzProperties = new Properties();
@@ -134,7 +136,8 @@ public class PostgreSQLTableFactoryTest {
                         MY_PASSWORD,
                         "wal2json",
                         "flink",
-                        dbzProperties);
+                        dbzProperties,
+                        true);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -161,7 +164,8 @@ public class PostgreSQLTableFactoryTest {
                         MY_PASSWORD,
                         "decoderbufs",
                         "flink",
-                        new Properties());
+                        new Properties(),
+                        false);
         expectedSource.producedDataType = SCHEMA_WITH_METADATA.toSourceRowDataType();
         expectedSource.metadataKeys =
                 Arrays.asList("op_ts", "database_name", "schema_name", "table_name");
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.postgres.table;
+
+import org.apache.flink.streaming.util.KeyedOneInputStreamOperatorTestHarness;
+import org.apache.flink.streaming.util.ProcessFunctionTestHarnesses;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.RowKind;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.ververica.cdc.connectors.postgres.table.PostgresToastValueFiller.DEFAULT_TOASTED_VALUE_PLACEHOLDER;
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link PostgresToastValueFiller}. */
+public class PostgresToastValueFillerTest {
+
+    private static final RowType PHYSICAL_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("id", DataTypes.INT().notNull()),
+                                    DataTypes.FIELD("name", DataTypes.STRING()),
+                                    DataTypes.FIELD("doc", DataTypes.STRING()),
+                                    DataTypes.FIELD("data", DataTypes.BYTES()))
+                            .getLogicalType();
+
+    private static final RowType PRODUCED_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD("id", DataTypes.INT().notNull()),
+                                    DataTypes.FIELD("name", DataTypes.STRING()),
+                                    DataTypes.FIELD("doc", DataTypes.STRING()),
+                                    DataTypes.FIELD("data", DataTypes.BYTES()),
+                                    DataTypes.FIELD("op_ts", DataTypes.BIGINT()))
+                            .getLogicalType();
+
+    private static final byte[] BINARY_PLACEHOLDER =
+            DEFAULT_TOASTED_VALUE_PLACEHOLDER.getBytes(StandardCharsets.UTF_8);
+
+    private KeyedOneInputStreamOperatorTestHarness<RowData, RowData, RowData> harness;
+
+    @Before
+    public void setUp() throws Exception {
+        PostgresToastValueFiller.PrimaryKeySelector keySelector =
+                new PostgresToastValueFiller.PrimaryKeySelector(PRODUCED_TYPE, new int[] {0});
+        harness =
+                ProcessFunctionTestHarnesses.forKeyedProcessFunction(
+                        new PostgresToastValueFiller(
+                                PRODUCED_TYPE, PHYSICAL_TYPE, DEFAULT_TOASTED_VALUE_PLACEHOLDER),
+                        keySelector,
+                        keySelector.getKeyTypeInfo());
+    }
+
+    @Test
+    public void testFillUpdateAndDelete() throws Exception {
+        harness.processElement(row(RowKind.INSERT, 1, "a", "doc-1", bytes("data-1"), 1L), 0);
+        harness.processElement(
+                row(
+                        RowKind.UPDATE_AFTER,
+                        1,
+                        "b",
+                        DEFAULT_TOASTED_VALUE_PLACEHOLDER,
+                        BINARY_PLACEHOLDER,
+                        2L),
+                0);
+        harness.processElement(row(RowKind.DELETE, 1, null, null, null, 3L), 0);
+
+        assertRows(
+                Arrays.asList(
+                        row(RowKind.INSERT, 1, "a", "doc-1", bytes("data-1"), 1L),
+                        row(RowKind.UPDATE_BEFORE, 1, "a", "doc-1", bytes("data-1"), 2L),
+                        row(RowKind.UPDATE_AFTER, 1, "b", "doc-1", bytes("data-1"), 2L),
+                        row(RowKind.DELETE, 1, "b", "doc-1", bytes("data-1"), 3L)));
+    }
+
+    @Test
+    public void testUpdateWithBeforeImage() throws Exception {
+        harness.processElement(row(RowKind.INSERT, 1, "a", "doc-1", bytes("data-1"), 1L), 0);
+        harness.processElement(row(RowKind.UPDATE_BEFORE, 1, "a", "doc-1", null, 2L), 0);
+        harness.processElement(row(RowKind.UPDATE_AFTER, 1, "b", "doc-2", null, 2L), 0);
+
+        assertRows(
+                Arrays.asList(
+                        row(RowKind.INSERT, 1, "a", "doc-1", bytes("data-1"), 1L),
+                        row(RowKind.UPDATE_BEFORE, 1, "a", "doc-1", null, 2L),
+                        row(RowKind.UPDATE_AFTER, 1, "b", "doc-2", null, 2L)));
+    }
+
+    @Test
+    public void testUpdateAfterBeforeImageOfAnotherKey() throws Exception {
+        harness.processElement(row(RowKind.INSERT, 1, "a", "doc-1", null, 1L), 0);
+        harness.processElement(row(RowKind.INSERT, 2, "b", "doc-2", null, 1L), 0);
+        // the UPDATE_AFTER row of key 1 is missing
+        harness.processElement(row(RowKind.UPDATE_BEFORE, 1, "a", "doc-1", null, 2L), 0);
+        harness.processElement(
+                row(RowKind.UPDATE_AFTER, 2, "c", DEFAULT_TOASTED_VALUE_PLACEHOLDER, null, 3L), 0);
+
+        assertRows(
+                Arrays.asList(
+                        row(RowKind.INSERT, 1, "a", "doc-1", null, 1L),
+                        row(RowKind.INSERT, 2, "b", "doc-2", null, 1L),
+                        row(RowKind.UPDATE_BEFORE, 1, "a", "doc-1", null, 2L),
+                        row(RowKind.UPDATE_BEFORE, 2, "b", "doc-2", null, 3L),
+                        row(RowKind.UPDATE_AFTER, 2, "c", "doc-2", null, 3L)));
+    }
+
+    @Test
+    public void testUnknownKey() throws Exception {
+        harness.processElement(
+                row(RowKind.UPDATE_AFTER, 2, "b", DEFAULT_TOASTED_VALUE_PLACEHOLDER, null, 1L), 0);
+        harness.processElement(row(RowKind.UPDATE_AFTER, 2, "c", "doc-2", null, 2L), 0);
+
+        assertRows(
+                Arrays.asList(
+                        row(
+                                RowKind.UPDATE_AFTER,
+                                2,
+                                "b",
+                                DEFAULT_TOASTED_VALUE_PLACEHOLDER,
+                                null,
+                                1L),
+                        row(
+                                RowKind.UPDATE_BEFORE,
+                                2,
+                                "b",
+                                DEFAULT_TOASTED_VALUE_PLACEHOLDER,
+                                null,
+                                2L),
+                        row(RowKind.UPDATE_AFTER, 2, "c", "doc-2", null, 2L)));
+    }
+
+    private void assertRows(List<RowData> expected) {
+        assertEquals(expected, harness.extractOutputValues());
+    }
+
+    private static RowData row(
+            RowKind kind, int id, String name, String doc, byte[] data, long opTs) {
+        return GenericRowData.ofKind(
+                kind, id, StringData.fromString(name), StringData.fromString(doc), data, opTs);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.sqlserver.source;
+
+import org.apache.flink.annotation.Experimental;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.base.config.JdbcSourceConfig;
+import com.ververica.cdc.connectors.base.dialect.JdbcDataSourceDialect;
+import com.ververica.cdc.connectors.base.relational.connection.JdbcConnectionPoolFactory;
+import com.ververica.cdc.connectors.base.source.assigner.splitter.ChunkSplitter;
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.reader.external.FetchTask;
+import com.ververica.cdc.connectors.sqlserver.source.config.SqlServerSourceConfig;
+import com.ververica.cdc.connectors.sqlserver.source.config.SqlServerSourceConfigFactory;
+import com.ververica.cdc.connectors.sqlserver.source.fetch.SqlServerScanFetchTask;
+import com.ververica.cdc.connectors.sqlserver.source.fetch.SqlServerSourceFetchTaskContext;
+import com.ververica.cdc.connectors.sqlserver.source.fetch.SqlServerStreamFetchTask;
+import com.ververica.cdc.connectors.sqlserver.source.utils.SqlServerConnectionUtils;
+import com.ververica.cdc.connectors.sqlserver.source.utils.TableDiscoveryUtils;
+import io.debezium.connector.sqlserver.SqlServerConnection;
+import io.debezium.connector.sqlserver.SqlServerConnectorConfig;
+import io.debezium.jdbc.JdbcConnection;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.relational.Tables;
+import io.debezium.relational.history.TableChanges;
+import io.debezium.relational.history.TableChanges.TableChange;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link JdbcDataSourceDialect} implementation for SQL Server datasource.
+ *
+ * <p>The watermarks of the splits are the maximum LSN of the CDC change tables. The snapshot splits
+ * are read by {@link SqlServerScanFetchTask} and backfilled with the changes between the low and
+ * high watermark from the change table of the captured table. The stream split is read from all the
+ * change tables by {@link SqlServerStreamFetchTask}.
+ */
+@Experimental
+public class SqlServerDialect implements JdbcDataSourceDialect {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SqlServerSourceConfig sourceConfig;
+    private transient Map<TableId, TableChange> tableSchemas;
+
+    public SqlServerDialect(SqlServerSourceConfigFactory configFactory) {
+        this.sourceConfig = configFactory.create(0);
+    }
+
+    @Override
+    public String getName() {
+        return "SQL Server";
+    }
+
+    @Override
+    public Offset displayCurrentOffset(JdbcSourceConfig sourceConfig) {
+        try (SqlServerConnection connection =
+                SqlServerConnectionUtils.createSqlServerConnection(
+                        ((SqlServerSourceConfig) sourceConfig).getDbzConnectorConfig())) {
+            return SqlServerConnectionUtils.currentLsn(connection);
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException("Read the max LSN error", e);
+        }
+    }
+
+    @Override
+    public boolean isDataCollectionIdCaseSensitive(JdbcSourceConfig sourceConfig) {
+        // keep the table ids as they are read from the database metadata, they are the same as
+        // the table ids of the change events
+        return true;
+    }
+
+    @Override
+    public ChunkSplitter<TableId> createChunkSplitter(JdbcSourceConfig sourceConfig) {
+        return new SqlServerChunkSplitter(sourceConfig, this);
+    }
+
+    @Override
+    public JdbcConnectionPoolFactory getPooledDataSourceFactory() {
+        return new SqlServerConnectionPoolFactory();
+    }
+
+    @Override
+    public List<TableId> discoverDataCollections(JdbcSourceConfig sourceConfig) {
+        SqlServerSourceConfig sqlServerSourceConfig = (SqlServerSourceConfig) sourceConfig;
+        try (JdbcConnection jdbcConnection = openJdbcConnection(sourceConfig)) {
+            return TableDiscoveryUtils.listTables(
+                    jdbcConnection,
+                    sqlServerSourceConfig.getDatabaseName(),
+                    sqlServerSourceConfig.getTableFilters());
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException("Error to discover tables: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<TableId, TableChange> discoverDataCollectionSchemas(JdbcSourceConfig sourceConfig) {
+        final List<TableId> capturedTableIds = discoverDataCollections(sourceConfig);
+
+        try (JdbcConnection jdbc = openJdbcConnection(sourceConfig)) {
+            // fetch table schemas
+            Map<TableId, TableChange> tableSchemas = new HashMap<>();
+            for (TableId tableId : capturedTableIds) {
+                tableSchemas.put(tableId, queryTableSchema(jdbc, tableId));
+            }
+            return tableSchemas;
+        } catch (Exception e) {
+            throw new FlinkRuntimeException(
+                    "Error to discover table schemas: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public TableChange queryTableSchema(JdbcConnection jdbc, TableId tableId) {
+        if (tableSchemas == null) {
+            tableSchemas = new HashMap<>();
+        }
+        TableChange tableChange = tableSchemas.get(tableId);
+        if (tableChange == null) {
+            tableChange = readTableSchema(jdbc, tableId);
+            tableSchemas.put(tableId, tableChange);
+        }
+        return tableChange;
+    }
+
+    private TableChange readTableSchema(JdbcConnection jdbc, TableId tableId) {
+        final Tables tables = new Tables();
+        try {
+            jdbc.readSchema(
+                    tables, tableId.catalog(), tableId.schema(), tableId::equals, null, false);
+        } catch (SQLException e) {
+            throw new FlinkRuntimeException(
+                    String.format("Failed to read schema for table %s", tableId), e);
+        }
+        final Table table = tables.forTable(tableId);
+        if (table == null) {
+            throw new FlinkRuntimeException(
+                    String.format("Can't obtain schema for table %s", tableId));
+        }
+        return new TableChange(TableChanges.TableChangeType.CREATE, table);
+    }
+
+    @Override
+    public SqlServerSourceFetchTaskContext createFetchTaskContext(SourceSplitBase sourceSplitBase) {
+        final SqlServerConnectorConfig connectorConfig = sourceConfig.getDbzConnectorConfig();
+        final SqlServerConnection dataConnection =
+                SqlServerConnectionUtils.createSqlServerConnection(connectorConfig);
+        final SqlServerConnection metadataConnection =
+                SqlServerConnectionUtils.createSqlServerConnection(connectorConfig);
+        return new SqlServerSourceFetchTaskContext(
+                sourceConfig, this, dataConnection, metadataConnection);
+    }
+
+    @Override
+    public FetchTask<SourceSplitBase> createFetchTask(SourceSplitBase sourceSplitBase) {
+        if (sourceSplitBase.isSnapshotSplit()) {
+            return new SqlServerScanFetchTask(sourceSplitBase.asSnapshotSplit());
+        } else {
+            return new SqlServerStreamFetchTask(sourceSplitBase.asStreamSplit());
+        }
+    }
+}
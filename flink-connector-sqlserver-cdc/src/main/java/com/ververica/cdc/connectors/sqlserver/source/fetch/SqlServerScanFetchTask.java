@@ -0,0 +1,521 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.sqlserver.source.fetch;
+
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher;
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher.WatermarkKind;
+import com.ververica.cdc.connectors.base.source.meta.split.SnapshotSplit;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.meta.split.StreamSplit;
+import com.ververica.cdc.connectors.base.source.reader.external.FetchTask;
+import com.ververica.cdc.connectors.sqlserver.source.offset.LsnOffset;
+import io.debezium.DebeziumException;
+import io.debezium.connector.sqlserver.Lsn;
+import io.debezium.connector.sqlserver.SqlServerChangeRecordEmitter;
+import io.debezium.connector.sqlserver.SqlServerChangeTable;
+import io.debezium.connector.sqlserver.SqlServerChangeTablePointer;
+import io.debezium.connector.sqlserver.SqlServerConnection;
+import io.debezium.connector.sqlserver.SqlServerConnectorConfig;
+import io.debezium.connector.sqlserver.SqlServerDatabaseSchema;
+import io.debezium.connector.sqlserver.SqlServerOffsetContext;
+import io.debezium.connector.sqlserver.TxLogPosition;
+import io.debezium.pipeline.EventDispatcher;
+import io.debezium.pipeline.source.AbstractSnapshotChangeEventSource;
+import io.debezium.pipeline.source.spi.ChangeEventSource;
+import io.debezium.pipeline.source.spi.SnapshotProgressListener;
+import io.debezium.pipeline.spi.ChangeRecordEmitter;
+import io.debezium.pipeline.spi.OffsetContext;
+import io.debezium.pipeline.spi.SnapshotResult;
+import io.debezium.relational.Column;
+import io.debezium.relational.RelationalSnapshotChangeEventSource;
+import io.debezium.relational.SnapshotChangeRecordEmitter;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.util.Clock;
+import io.debezium.util.ColumnUtils;
+import io.debezium.util.Strings;
+import io.debezium.util.Threads;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static com.ververica.cdc.connectors.sqlserver.source.utils.SqlServerConnectionUtils.currentLsn;
+import static com.ververica.cdc.connectors.sqlserver.source.utils.SqlServerQueryUtils.buildSplitScanQuery;
+import static com.ververica.cdc.connectors.sqlserver.source.utils.SqlServerQueryUtils.readTableSplitDataStatement;
+
+/**
+ * The task to work for fetching data of SQL Server table snapshot split .
+ *
+ * <p>The watermarks are the maximum LSN of the CDC change tables. The changes between the low and
+ * high watermark are backfilled from the change table of the split table directly, instead of
+ * reading all the change tables by the streaming change event source.
+ */
+public class SqlServerScanFetchTask implements FetchTask<SourceSplitBase> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlServerScanFetchTask.class);
+
+    private final SnapshotSplit split;
+    private volatile boolean taskRunning = false;
+
+    private SqlServerSnapshotSplitReadTask snapshotSplitReadTask;
+
+    public SqlServerScanFetchTask(SnapshotSplit split) {
+        this.split = split;
+    }
+
+    @Override
+    public SnapshotSplit getSplit() {
+        return split;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return taskRunning;
+    }
+
+    @Override
+    public void execute(Context context) throws Exception {
+        SqlServerSourceFetchTaskContext sourceFetchContext =
+                (SqlServerSourceFetchTaskContext) context;
+        taskRunning = true;
+        snapshotSplitReadTask =
+                new SqlServerSnapshotSplitReadTask(
+                        sourceFetchContext.getConnectorConfig(),
+                        sourceFetchContext.getOffsetContext(),
+                        SnapshotProgressListener.NO_OP,
+                        sourceFetchContext.getDatabaseSchema(),
+                        sourceFetchContext.getDataConnection(),
+                        sourceFetchContext.getDispatcher(),
+                        split,
+                        sourceFetchContext.getSourceConfig().getFetchSize());
+        SnapshotSplitChangeEventSourceContext changeEventSourceContext =
+                new SnapshotSplitChangeEventSourceContext();
+        SnapshotResult snapshotResult =
+                snapshotSplitReadTask.execute(
+                        changeEventSourceContext, sourceFetchContext.getOffsetContext());
+        if (!snapshotResult.isCompletedOrSkipped()) {
+            taskRunning = false;
+            throw new IllegalStateException(
+                    String.format("Read snapshot for SQL Server split %s fail", split));
+        }
+
+        final StreamSplit backfillStreamSplit = createBackfillStreamSplit(changeEventSourceContext);
+        // optimization that skip the backfill read when the low watermark equals high
+        // watermark
+        final boolean streamBackfillRequired =
+                backfillStreamSplit
+                        .getEndingOffset()
+                        .isAfter(backfillStreamSplit.getStartingOffset());
+        if (streamBackfillRequired) {
+            backfill(backfillStreamSplit, sourceFetchContext);
+        }
+        dispatchStreamEndEvent(
+                backfillStreamSplit,
+                sourceFetchContext.getOffsetContext().getPartition(),
+                sourceFetchContext.getDispatcher());
+        taskRunning = false;
+    }
+
+    private StreamSplit createBackfillStreamSplit(
+            SnapshotSplitChangeEventSourceContext sourceContext) {
+        return new StreamSplit(
+                split.splitId(),
+                sourceContext.getLowWatermark(),
+                sourceContext.getHighWatermark(),
+                new ArrayList<>(),
+                split.getTableSchemas(),
+                0);
+    }
+
+    /**
+     * Reads the changes of the split table between the low and high watermark from the change table
+     * of its capture instance, the changes of other tables don't need to be read.
+     */
+    private void backfill(StreamSplit backfillStreamSplit, SqlServerSourceFetchTaskContext context)
+            throws Exception {
+        final SqlServerConnection connection = context.getDataConnection();
+        final SqlServerConnectorConfig connectorConfig = context.getConnectorConfig();
+        final JdbcSourceEventDispatcher dispatcher = context.getDispatcher();
+        final TableId tableId = split.getTableId();
+        final LsnOffset lowWatermark = (LsnOffset) backfillStreamSplit.getStartingOffset();
+        final LsnOffset highWatermark = (LsnOffset) backfillStreamSplit.getEndingOffset();
+
+        final Lsn toLsn = highWatermark.getCommitLsn();
+        final SqlServerChangeTable changeTable = getChangeTable(connection, tableId, toLsn);
+        // the reading interval is inclusive, and the changes of the low watermark have been read
+        // by the snapshot
+        Lsn fromLsn =
+                lowWatermark.getCommitLsn().isAvailable()
+                        ? connection.incrementLsn(lowWatermark.getCommitLsn())
+                        : lowWatermark.getCommitLsn();
+        final Lsn minLsn = connection.getMinLsn(changeTable.getCaptureInstance());
+        if (minLsn.compareTo(fromLsn) > 0) {
+            fromLsn = minLsn;
+        }
+        if (!fromLsn.isAvailable() || fromLsn.compareTo(toLsn) > 0) {
+            return;
+        }
+        LOG.info(
+                "Backfilling split '{}' from {} to {} of capture instance {}",
+                split.splitId(),
+                fromLsn,
+                toLsn,
+                changeTable.getCaptureInstance());
+
+        changeTable.setSourceTable(context.getDatabaseSchema().tableFor(tableId));
+        final SqlServerOffsetContext offsetContext =
+                new SqlServerOffsetContext.Loader(connectorConfig)
+                        .load(lowWatermark.toDebeziumOffset());
+        final Clock clock = Clock.SYSTEM;
+        connection.getChangesForTables(
+                new SqlServerChangeTable[] {changeTable},
+                fromLsn,
+                toLsn,
+                resultSets -> {
+                    final SqlServerChangeTablePointer pointer =
+                            new SqlServerChangeTablePointer(
+                                    changeTable,
+                                    resultSets[0],
+                                    connectorConfig.getSourceTimestampMode());
+                    pointer.next();
+                    while (!pointer.isCompleted()) {
+                        final TxLogPosition position = pointer.getChangePosition();
+                        final int operation = pointer.getOperation();
+                        final Object[] data = pointer.getData();
+                        Object[] dataNext = null;
+                        int eventCount = 1;
+                        if (operation == SqlServerChangeRecordEmitter.OP_UPDATE_BEFORE) {
+                            if (!pointer.next()
+                                    || pointer.getOperation()
+                                            != SqlServerChangeRecordEmitter.OP_UPDATE_AFTER) {
+                                throw new IllegalStateException(
+                                        String.format(
+                                                "The update before event at %s for table %s"
+                                                        + " was not followed by after event",
+                                                position, tableId));
+                            }
+                            dataNext = pointer.getData();
+                            eventCount = 2;
+                        }
+                        offsetContext.setChangePosition(position, eventCount);
+                        // the commit time of the transaction isn't read from the change table,
+                        // the backfill events are stamped with the processing time
+                        offsetContext.event(tableId, clock.currentTime());
+                        dispatcher.dispatchDataChangeEvent(
+                                tableId,
+                                new SqlServerChangeRecordEmitter(
+                                        offsetContext, operation, data, dataNext, clock));
+                        pointer.next();
+                    }
+                });
+    }
+
+    /**
+     * Returns the change table of the given table. A table may have two capture instances while its
+     * schema is being changed, the latest one which was created at or before the given LSN is used.
+     */
+    private static SqlServerChangeTable getChangeTable(
+            SqlServerConnection connection, TableId tableId, Lsn toLsn) throws SQLException {
+        final List<SqlServerChangeTable> changeTables = new ArrayList<>();
+        for (SqlServerChangeTable changeTable : connection.listOfChangeTables()) {
+            final TableId sourceTableId = changeTable.getSourceTableId();
+            if (sourceTableId.schema().equals(tableId.schema())
+                    && sourceTableId.table().equals(tableId.table())) {
+                changeTables.add(changeTable);
+            }
+        }
+        if (changeTables.isEmpty()) {
+            throw new IllegalStateException(
+                    String.format("The CDC of SQL Server isn't enabled for table %s", tableId));
+        }
+        changeTables.sort(Comparator.comparing(SqlServerChangeTable::getStartLsn).reversed());
+        for (SqlServerChangeTable changeTable : changeTables) {
+            if (changeTable.getStartLsn().compareTo(toLsn) <= 0) {
+                return changeTable;
+            }
+        }
+        return changeTables.get(changeTables.size() - 1);
+    }
+
+    private void dispatchStreamEndEvent(
+            StreamSplit backfillStreamSplit,
+            Map<String, ?> sourcePartition,
+            JdbcSourceEventDispatcher eventDispatcher)
+            throws InterruptedException {
+        eventDispatcher.dispatchWatermarkEvent(
+                sourcePartition,
+                backfillStreamSplit,
+                backfillStreamSplit.getEndingOffset(),
+                WatermarkKind.BINLOG_END);
+    }
+
+    /** A wrapped task to fetch snapshot split of table. */
+    public static class SqlServerSnapshotSplitReadTask extends AbstractSnapshotChangeEventSource {
+
+        private static final Logger LOG =
+                LoggerFactory.getLogger(SqlServerSnapshotSplitReadTask.class);
+
+        /** Interval for showing a log statement with the progress while scanning a single table. */
+        private static final Duration LOG_INTERVAL = Duration.ofMillis(10_000);
+
+        private final SqlServerConnectorConfig connectorConfig;
+        private final SqlServerDatabaseSchema databaseSchema;
+        private final SqlServerConnection jdbcConnection;
+        private final JdbcSourceEventDispatcher dispatcher;
+        private final Clock clock;
+        private final SnapshotSplit snapshotSplit;
+        private final SqlServerOffsetContext offsetContext;
+        private final SnapshotProgressListener snapshotProgressListener;
+        private final int fetchSize;
+
+        public SqlServerSnapshotSplitReadTask(
+                SqlServerConnectorConfig connectorConfig,
+                SqlServerOffsetContext previousOffset,
+                SnapshotProgressListener snapshotProgressListener,
+                SqlServerDatabaseSchema databaseSchema,
+                SqlServerConnection jdbcConnection,
+                JdbcSourceEventDispatcher dispatcher,
+                SnapshotSplit snapshotSplit,
+                int fetchSize) {
+            super(connectorConfig, snapshotProgressListener);
+            this.offsetContext = previousOffset;
+            this.connectorConfig = connectorConfig;
+            this.databaseSchema = databaseSchema;
+            this.jdbcConnection = jdbcConnection;
+            this.dispatcher = dispatcher;
+            this.clock = Clock.SYSTEM;
+            this.snapshotSplit = snapshotSplit;
+            this.snapshotProgressListener = snapshotProgressListener;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public SnapshotResult execute(
+                ChangeEventSourceContext context, OffsetContext previousOffset)
+                throws InterruptedException {
+            SnapshottingTask snapshottingTask = getSnapshottingTask(previousOffset);
+            final SnapshotContext ctx;
+            try {
+                ctx = prepare(context);
+            } catch (Exception e) {
+                LOG.error("Failed to initialize snapshot context.", e);
+                throw new RuntimeException(e);
+            }
+            try {
+                return doExecute(context, previousOffset, ctx, snapshottingTask);
+            } catch (InterruptedException e) {
+                LOG.warn("Snapshot was interrupted before completion");
+                throw e;
+            } catch (Exception t) {
+                throw new DebeziumException(t);
+            }
+        }
+
+        @Override
+        protected SnapshotResult doExecute(
+                ChangeEventSourceContext context,
+                OffsetContext previousOffset,
+                SnapshotContext snapshotContext,
+                SnapshottingTask snapshottingTask)
+                throws Exception {
+            final RelationalSnapshotChangeEventSource.RelationalSnapshotContext ctx =
+                    (RelationalSnapshotChangeEventSource.RelationalSnapshotContext) snapshotContext;
+            ctx.offset = offsetContext;
+
+            final LsnOffset lowWatermark = currentLsn(jdbcConnection);
+            LOG.info(
+                    "Snapshot step 1 - Determining low watermark {} for split {}",
+                    lowWatermark,
+                    snapshotSplit);
+            ((SnapshotSplitChangeEventSourceContext) (context)).setLowWatermark(lowWatermark);
+            dispatcher.dispatchWatermarkEvent(
+                    offsetContext.getPartition(), snapshotSplit, lowWatermark, WatermarkKind.LOW);
+
+            LOG.info("Snapshot step 2 - Snapshotting data");
+            createDataEvents(ctx, snapshotSplit.getTableId());
+
+            final LsnOffset highWatermark = currentLsn(jdbcConnection);
+            LOG.info(
+                    "Snapshot step 3 - Determining high watermark {} for split {}",
+                    highWatermark,
+                    snapshotSplit);
+            ((SnapshotSplitChangeEventSourceContext) (context)).setHighWatermark(highWatermark);
+            dispatcher.dispatchWatermarkEvent(
+                    offsetContext.getPartition(), snapshotSplit, highWatermark, WatermarkKind.HIGH);
+            return SnapshotResult.completed(ctx.offset);
+        }
+
+        @Override
+        protected SnapshottingTask getSnapshottingTask(OffsetContext previousOffset) {
+            return new SnapshottingTask(false, true);
+        }
+
+        @Override
+        protected SnapshotContext prepare(ChangeEventSourceContext changeEventSourceContext)
+                throws Exception {
+            return new SqlServerSnapshotContext();
+        }
+
+        private static class SqlServerSnapshotContext
+                extends RelationalSnapshotChangeEventSource.RelationalSnapshotContext {
+
+            public SqlServerSnapshotContext() throws SQLException {
+                super("");
+            }
+        }
+
+        private void createDataEvents(
+                RelationalSnapshotChangeEventSource.RelationalSnapshotContext snapshotContext,
+                TableId tableId)
+                throws Exception {
+            EventDispatcher.SnapshotReceiver snapshotReceiver =
+                    dispatcher.getSnapshotChangeEventReceiver();
+            LOG.debug("Snapshotting table {}", tableId);
+            createDataEventsForTable(
+                    snapshotContext, snapshotReceiver, databaseSchema.tableFor(tableId));
+            snapshotReceiver.completeSnapshot();
+        }
+
+        /** Dispatches the data change events for the records of a single table. */
+        private void createDataEventsForTable(
+                RelationalSnapshotChangeEventSource.RelationalSnapshotContext snapshotContext,
+                EventDispatcher.SnapshotReceiver snapshotReceiver,
+                Table table)
+                throws InterruptedException {
+
+            long exportStart = clock.currentTimeInMillis();
+            LOG.info(
+                    "Exporting data from split '{}' of table {}",
+                    snapshotSplit.splitId(),
+                    table.id());
+
+            final String selectSql =
+                    buildSplitScanQuery(
+                            snapshotSplit.getTableId(),
+                            snapshotSplit.getSplitKeyType(),
+                            snapshotSplit.getSplitStart() == null,
+                            snapshotSplit.getSplitEnd() == null);
+            LOG.info(
+                    "For split '{}' of table {} using select statement: '{}'",
+                    snapshotSplit.splitId(),
+                    table.id(),
+                    selectSql);
+
+            try (PreparedStatement selectStatement =
+                            readTableSplitDataStatement(
+                                    jdbcConnection,
+                                    selectSql,
+                                    snapshotSplit.getSplitStart() == null,
+                                    snapshotSplit.getSplitEnd() == null,
+                                    snapshotSplit.getSplitStart(),
+                                    snapshotSplit.getSplitEnd(),
+                                    snapshotSplit.getSplitKeyType().getFieldCount(),
+                                    fetchSize);
+                    ResultSet rs = selectStatement.executeQuery()) {
+
+                ColumnUtils.ColumnArray columnArray = ColumnUtils.toArray(rs, table);
+                long rows = 0;
+                Threads.Timer logTimer = getTableScanLogTimer();
+
+                while (rs.next()) {
+                    rows++;
+                    final Object[] row = new Object[columnArray.getGreatestColumnPosition()];
+                    for (int i = 0; i < columnArray.getColumns().length; i++) {
+                        Column actualColumn = table.columns().get(i);
+                        row[columnArray.getColumns()[i].position() - 1] =
+                                jdbcConnection.getColumnValue(
+                                        rs, i + 1, actualColumn, table, databaseSchema);
+                    }
+                    if (logTimer.expired()) {
+                        long stop = clock.currentTimeInMillis();
+                        LOG.info(
+                                "Exported {} records for split '{}' after {}",
+                                rows,
+                                snapshotSplit.splitId(),
+                                Strings.duration(stop - exportStart));
+                        snapshotProgressListener.rowsScanned(table.id(), rows);
+                        logTimer = getTableScanLogTimer();
+                    }
+                    dispatcher.dispatchSnapshotEvent(
+                            table.id(),
+                            getChangeRecordEmitter(snapshotContext, table.id(), row),
+                            snapshotReceiver);
+                }
+                LOG.info(
+                        "Finished exporting {} records for split '{}', total duration '{}'",
+                        rows,
+                        snapshotSplit.splitId(),
+                        Strings.duration(clock.currentTimeInMillis() - exportStart));
+            } catch (SQLException e) {
+                throw new ConnectException("Snapshotting of table " + table.id() + " failed", e);
+            }
+        }
+
+        protected ChangeRecordEmitter getChangeRecordEmitter(
+                SnapshotContext snapshotContext, TableId tableId, Object[] row) {
+            snapshotContext.offset.event(tableId, clock.currentTime());
+            return new SnapshotChangeRecordEmitter(snapshotContext.offset, row, clock);
+        }
+
+        private Threads.Timer getTableScanLogTimer() {
+            return Threads.timer(clock, LOG_INTERVAL);
+        }
+    }
+
+    /**
+     * {@link ChangeEventSource.ChangeEventSourceContext} implementation that keeps low/high
+     * watermark for each {@link SnapshotSplit}.
+     */
+    public class SnapshotSplitChangeEventSourceContext
+            implements ChangeEventSource.ChangeEventSourceContext {
+
+        private LsnOffset lowWatermark;
+        private LsnOffset highWatermark;
+
+        public LsnOffset getLowWatermark() {
+            return lowWatermark;
+        }
+
+        public void setLowWatermark(LsnOffset lowWatermark) {
+            this.lowWatermark = lowWatermark;
+        }
+
+        public LsnOffset getHighWatermark() {
+            return highWatermark;
+        }
+
+        public void setHighWatermark(LsnOffset highWatermark) {
+            this.highWatermark = highWatermark;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return lowWatermark != null && highWatermark != null;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.sqlserver.source.fetch;
+
+import org.apache.flink.table.types.logical.RowType;
+
+import com.ververica.cdc.connectors.base.config.JdbcSourceConfig;
+import com.ververica.cdc.connectors.base.dialect.JdbcDataSourceDialect;
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher;
+import com.ververica.cdc.connectors.base.relational.history.EmbeddedFlinkDatabaseHistory;
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.reader.external.JdbcSourceFetchTaskContext;
+import com.ververica.cdc.connectors.sqlserver.source.config.SqlServerSourceConfig;
+import com.ververica.cdc.connectors.sqlserver.source.offset.LsnOffset;
+import com.ververica.cdc.connectors.sqlserver.source.utils.SqlServerQueryUtils;
+import io.debezium.config.Configuration;
+import io.debezium.connector.AbstractSourceInfo;
+import io.debezium.connector.base.ChangeEventQueue;
+import io.debezium.connector.sqlserver.SourceInfo;
+import io.debezium.connector.sqlserver.SqlServerConnection;
+import io.debezium.connector.sqlserver.SqlServerConnectorConfig;
+import io.debezium.connector.sqlserver.SqlServerDatabaseSchema;
+import io.debezium.connector.sqlserver.SqlServerErrorHandler;
+import io.debezium.connector.sqlserver.SqlServerOffsetContext;
+import io.debezium.connector.sqlserver.SqlServerTaskContext;
+import io.debezium.connector.sqlserver.SqlServerTopicSelector;
+import io.debezium.connector.sqlserver.SqlServerValueConverters;
+import io.debezium.data.Envelope;
+import io.debezium.heartbeat.Heartbeat;
+import io.debezium.pipeline.DataChangeEvent;
+import io.debezium.pipeline.ErrorHandler;
+import io.debezium.pipeline.source.spi.EventMetadataProvider;
+import io.debezium.pipeline.spi.OffsetContext;
+import io.debezium.relational.Table;
+import io.debezium.relational.TableId;
+import io.debezium.schema.DataCollectionId;
+import io.debezium.schema.TopicSelector;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/** The context for fetch task that fetching data of snapshot split from SQL Server data source. */
+public class SqlServerSourceFetchTaskContext extends JdbcSourceFetchTaskContext {
+
+    private final SqlServerConnection dataConnection;
+    private final SqlServerConnection metadataConnection;
+    private final SqlServerEventMetadataProvider metadataProvider;
+
+    private SqlServerConnectorConfig connectorConfig;
+    private SqlServerDatabaseSchema databaseSchema;
+    private SqlServerTaskContext taskContext;
+    private SqlServerOffsetContext offsetContext;
+    private TopicSelector<TableId> topicSelector;
+    private JdbcSourceEventDispatcher dispatcher;
+    private ChangeEventQueue<DataChangeEvent> queue;
+    private SqlServerErrorHandler errorHandler;
+
+    public SqlServerSourceFetchTaskContext(
+            JdbcSourceConfig sourceConfig,
+            JdbcDataSourceDialect dataSourceDialect,
+            SqlServerConnection dataConnection,
+            SqlServerConnection metadataConnection) {
+        super(sourceConfig, dataSourceDialect);
+        this.dataConnection = dataConnection;
+        this.metadataConnection = metadataConnection;
+        this.metadataProvider = new SqlServerEventMetadataProvider();
+    }
+
+    @Override
+    public void configure(SourceSplitBase sourceSplitBase) {
+        // initial stateful objects
+        if (sourceSplitBase.isSnapshotSplit()) {
+            // we should only capture events for the current table in the backfill read
+            final Configuration dbzConf =
+                    sourceConfig
+                            .getDbzConfiguration()
+                            .edit()
+                            .with(
+                                    "table.include.list",
+                                    sourceSplitBase.asSnapshotSplit().getTableId().toString())
+                            // Disable heartbeat event in snapshot split fetcher
+                            .with(Heartbeat.HEARTBEAT_INTERVAL, 0)
+                            .build();
+            this.connectorConfig = new SqlServerConnectorConfig(dbzConf);
+        } else {
+            this.connectorConfig = getDbzConnectorConfig();
+        }
+        this.topicSelector = SqlServerTopicSelector.defaultSelector(connectorConfig);
+        EmbeddedFlinkDatabaseHistory.registerHistory(
+                sourceConfig
+                        .getDbzConfiguration()
+                        .getString(EmbeddedFlinkDatabaseHistory.DATABASE_HISTORY_INSTANCE_NAME),
+                sourceSplitBase.getTableSchemas().values());
+        this.databaseSchema =
+                new SqlServerDatabaseSchema(
+                        connectorConfig,
+                        new SqlServerValueConverters(
+                                connectorConfig.getDecimalMode(),
+                                connectorConfig.getTemporalPrecisionMode(),
+                                connectorConfig.binaryHandlingMode()),
+                        topicSelector,
+                        schemaNameAdjuster);
+        this.offsetContext =
+                loadStartingOffsetState(
+                        new SqlServerOffsetContext.Loader(connectorConfig), sourceSplitBase);
+        // the table schemas of the split are recovered from the database history
+        databaseSchema.initializeStorage();
+        databaseSchema.recover(offsetContext);
+
+        this.taskContext = new SqlServerTaskContext(connectorConfig, databaseSchema);
+        final int queueSize =
+                sourceSplitBase.isSnapshotSplit()
+                        ? Integer.MAX_VALUE
+                        : connectorConfig.getMaxQueueSize();
+        this.queue =
+                new ChangeEventQueue.Builder<DataChangeEvent>()
+                        .pollInterval(connectorConfig.getPollInterval())
+                        .maxBatchSize(connectorConfig.getMaxBatchSize())
+                        .maxQueueSize(queueSize)
+                        .maxQueueSizeInBytes(connectorConfig.getMaxQueueSizeInBytes())
+                        .loggingContextSupplier(
+                                () ->
+                                        taskContext.configureLoggingContext(
+                                                "sqlserver-cdc-connector-task"))
+                        // do not buffer any element, we use signal event
+                        // .buffering()
+                        .build();
+        this.dispatcher =
+                new JdbcSourceEventDispatcher(
+                        connectorConfig,
+                        topicSelector,
+                        databaseSchema,
+                        queue,
+                        connectorConfig.getTableFilters().dataCollectionFilter(),
+                        DataChangeEvent::new,
+                        metadataProvider,
+                        schemaNameAdjuster);
+        this.errorHandler = new SqlServerErrorHandler(connectorConfig.getLogicalName(), queue);
+    }
+
+    @Override
+    public SqlServerSourceConfig getSourceConfig() {
+        return (SqlServerSourceConfig) sourceConfig;
+    }
+
+    /** Returns the connection to read the snapshot and the change tables. */
+    public SqlServerConnection getDataConnection() {
+        return dataConnection;
+    }
+
+    /** Returns the connection to query the metadata of the change tables while streaming. */
+    public SqlServerConnection getMetadataConnection() {
+        return metadataConnection;
+    }
+
+    public SqlServerTaskContext getTaskContext() {
+        return taskContext;
+    }
+
+    /** Returns the connector config of the current split, which only captures its own table. */
+    public SqlServerConnectorConfig getConnectorConfig() {
+        return connectorConfig;
+    }
+
+    @Override
+    public SqlServerConnectorConfig getDbzConnectorConfig() {
+        return (SqlServerConnectorConfig) super.getDbzConnectorConfig();
+    }
+
+    @Override
+    public SqlServerOffsetContext getOffsetContext() {
+        return offsetContext;
+    }
+
+    @Override
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    @Override
+    public SqlServerDatabaseSchema getDatabaseSchema() {
+        return databaseSchema;
+    }
+
+    @Override
+    public RowType getSplitType(Table table) {
+        return SqlServerQueryUtils.getSplitType(table);
+    }
+
+    @Override
+    public JdbcSourceEventDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    @Override
+    public ChangeEventQueue<DataChangeEvent> getQueue() {
+        return queue;
+    }
+
+    @Override
+    public TableId getTableId(SourceRecord record) {
+        // the tables of SQL Server are identified by database, schema and table name
+        final Struct value = (Struct) record.value();
+        final Struct source = value.getStruct(Envelope.FieldName.SOURCE);
+        return new TableId(
+                source.getString(AbstractSourceInfo.DATABASE_NAME_KEY),
+                source.getString(AbstractSourceInfo.SCHEMA_NAME_KEY),
+                source.getString(AbstractSourceInfo.TABLE_NAME_KEY));
+    }
+
+    @Override
+    public Offset getStreamOffset(SourceRecord sourceRecord) {
+        return LsnOffset.of(sourceRecord.sourceOffset());
+    }
+
+    /** Loads the connector's persistent offset (if present) via the given loader. */
+    private SqlServerOffsetContext loadStartingOffsetState(
+            SqlServerOffsetContext.Loader loader, SourceSplitBase sourceSplit) {
+        final LsnOffset offset =
+                sourceSplit.isSnapshotSplit()
+                        ? LsnOffset.INITIAL_OFFSET
+                        : (LsnOffset) sourceSplit.asStreamSplit().getStartingOffset();
+        return loader.load(offset.toDebeziumOffset());
+    }
+
+    /** Copied from debezium for accessing here. */
+    public static class SqlServerEventMetadataProvider implements EventMetadataProvider {
+
+        @Override
+        public Instant getEventTimestamp(
+                DataCollectionId source, OffsetContext offset, Object key, Struct value) {
+            if (value == null) {
+                return null;
+            }
+            final Struct sourceInfo = value.getStruct(Envelope.FieldName.SOURCE);
+            if (sourceInfo == null) {
+                return null;
+            }
+            final Long timestamp = sourceInfo.getInt64(AbstractSourceInfo.TIMESTAMP_KEY);
+            return timestamp == null ? null : Instant.ofEpochMilli(timestamp);
+        }
+
+        @Override
+        public Map<String, String> getEventSourcePosition(
+                DataCollectionId source, OffsetContext offset, Object key, Struct value) {
+            if (value == null) {
+                return null;
+            }
+            final Struct sourceInfo = value.getStruct(Envelope.FieldName.SOURCE);
+            if (sourceInfo == null) {
+                return null;
+            }
+            final Map<String, String> position = new HashMap<>();
+            final String commitLsn = sourceInfo.getString(SourceInfo.COMMIT_LSN_KEY);
+            final String changeLsn = sourceInfo.getString(SourceInfo.CHANGE_LSN_KEY);
+            if (commitLsn != null) {
+                position.put(SourceInfo.COMMIT_LSN_KEY, commitLsn);
+            }
+            if (changeLsn != null) {
+                position.put(SourceInfo.CHANGE_LSN_KEY, changeLsn);
+            }
+            return position;
+        }
+
+        @Override
+        public String getTransactionId(
+                DataCollectionId source, OffsetContext offset, Object key, Struct value) {
+            if (value == null) {
+                return null;
+            }
+            final Struct sourceInfo = value.getStruct(Envelope.FieldName.SOURCE);
+            if (sourceInfo == null) {
+                return null;
+            }
+            return sourceInfo.getString(SourceInfo.COMMIT_LSN_KEY);
+        }
+    }
+}
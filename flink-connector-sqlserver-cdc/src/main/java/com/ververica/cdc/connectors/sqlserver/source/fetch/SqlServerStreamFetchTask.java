@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.sqlserver.source.fetch;
+
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.meta.split.StreamSplit;
+import com.ververica.cdc.connectors.base.source.reader.external.FetchTask;
+import io.debezium.connector.sqlserver.SqlServerStreamingChangeEventSource;
+import io.debezium.pipeline.source.spi.ChangeEventSource;
+import io.debezium.util.Clock;
+
+/**
+ * The task to work for fetching data of SQL Server table stream split .
+ *
+ * <p>The stream split is read from the change tables of all the captured tables by the streaming
+ * change event source of Debezium, the bounded reads of the snapshot splits are done by {@link
+ * SqlServerScanFetchTask} itself.
+ */
+public class SqlServerStreamFetchTask implements FetchTask<SourceSplitBase> {
+
+    private final StreamSplit split;
+    private volatile boolean taskRunning = false;
+
+    public SqlServerStreamFetchTask(StreamSplit split) {
+        this.split = split;
+    }
+
+    @Override
+    public void execute(Context context) throws Exception {
+        SqlServerSourceFetchTaskContext sourceFetchContext =
+                (SqlServerSourceFetchTaskContext) context;
+        taskRunning = true;
+        // the streaming commits the transaction of the data connection after every iteration
+        sourceFetchContext.getDataConnection().setAutoCommit(false);
+        SqlServerStreamingChangeEventSource streamSplitReadTask =
+                new SqlServerStreamingChangeEventSource(
+                        sourceFetchContext.getConnectorConfig(),
+                        sourceFetchContext.getDataConnection(),
+                        sourceFetchContext.getMetadataConnection(),
+                        sourceFetchContext.getDispatcher(),
+                        sourceFetchContext.getErrorHandler(),
+                        Clock.SYSTEM,
+                        sourceFetchContext.getDatabaseSchema());
+        StreamSplitChangeEventSourceContext changeEventSourceContext =
+                new StreamSplitChangeEventSourceContext();
+        streamSplitReadTask.execute(
+                changeEventSourceContext, sourceFetchContext.getOffsetContext());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return taskRunning;
+    }
+
+    @Override
+    public StreamSplit getSplit() {
+        return split;
+    }
+
+    /**
+     * The {@link ChangeEventSource.ChangeEventSourceContext} implementation for stream split task.
+     */
+    private class StreamSplitChangeEventSourceContext
+            implements ChangeEventSource.ChangeEventSourceContext {
+        @Override
+        public boolean isRunning() {
+            return taskRunning;
+        }
+    }
+}
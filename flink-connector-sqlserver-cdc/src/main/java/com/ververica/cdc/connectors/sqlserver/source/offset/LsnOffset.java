@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.sqlserver.source.offset;
+
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import io.debezium.connector.sqlserver.Lsn;
+import io.debezium.connector.sqlserver.SourceInfo;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A structure describes an offset in the change tables of SQL Server CDC, the offsets are ordered
+ * by the commit LSN of the transaction, the LSN of the change in the transaction and the serial
+ * number of the event.
+ *
+ * <p>The watermarks of the snapshot splits are the maximum LSN of the change tables, they only have
+ * a commit LSN and are placed after all the changes of the transaction.
+ */
+public class LsnOffset extends Offset {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String SNAPSHOT_COMPLETED_KEY = "snapshot_completed";
+
+    public static final LsnOffset INITIAL_OFFSET = new LsnOffset(null, null, null);
+    public static final LsnOffset NO_STOPPING_OFFSET =
+            new LsnOffset(Lsn.valueOf("ffffffff:ffffffff:ffff"), null, null);
+
+    public LsnOffset(Map<String, String> offset) {
+        this.offset = offset;
+    }
+
+    public LsnOffset(Lsn commitLsn, Lsn changeLsn, Long eventSerialNo) {
+        Map<String, String> offsetMap = new HashMap<>();
+        if (commitLsn != null && commitLsn.isAvailable()) {
+            offsetMap.put(SourceInfo.COMMIT_LSN_KEY, commitLsn.toString());
+        }
+        if (changeLsn != null && changeLsn.isAvailable()) {
+            offsetMap.put(SourceInfo.CHANGE_LSN_KEY, changeLsn.toString());
+        }
+        if (eventSerialNo != null) {
+            offsetMap.put(SourceInfo.EVENT_SERIAL_NO_KEY, String.valueOf(eventSerialNo));
+        }
+        this.offset = offsetMap;
+    }
+
+    /** Creates a {@link LsnOffset} from the source offset of a Debezium record. */
+    public static LsnOffset of(Map<String, ?> sourceOffset) {
+        Map<String, String> offsetStrMap = new HashMap<>();
+        for (Map.Entry<String, ?> entry : sourceOffset.entrySet()) {
+            // skip the absent values, e.g. the transaction id when the metadata isn't provided
+            if (entry.getValue() != null) {
+                offsetStrMap.put(entry.getKey(), entry.getValue().toString());
+            }
+        }
+        return new LsnOffset(offsetStrMap);
+    }
+
+    public Lsn getCommitLsn() {
+        return Lsn.valueOf(offset.get(SourceInfo.COMMIT_LSN_KEY));
+    }
+
+    public Lsn getChangeLsn() {
+        return Lsn.valueOf(offset.get(SourceInfo.CHANGE_LSN_KEY));
+    }
+
+    /**
+     * Returns the offset in the format of the Debezium SQL Server connector, which can be loaded by
+     * {@link io.debezium.connector.sqlserver.SqlServerOffsetContext.Loader}.
+     *
+     * <p>An offset without change LSN is a watermark, all the changes of its commit LSN have been
+     * read, so the streaming starts from the next LSN. Otherwise the streaming reads the commit LSN
+     * again and skips the changes at or before the change LSN and event serial number.
+     */
+    public Map<String, Object> toDebeziumOffset() {
+        Map<String, Object> debeziumOffset = new HashMap<>();
+        debeziumOffset.put(SourceInfo.COMMIT_LSN_KEY, offset.get(SourceInfo.COMMIT_LSN_KEY));
+        debeziumOffset.put(SourceInfo.CHANGE_LSN_KEY, offset.get(SourceInfo.CHANGE_LSN_KEY));
+        debeziumOffset.put(SNAPSHOT_COMPLETED_KEY, !getChangeLsn().isAvailable());
+        if (offset.get(SourceInfo.EVENT_SERIAL_NO_KEY) != null) {
+            debeziumOffset.put(
+                    SourceInfo.EVENT_SERIAL_NO_KEY,
+                    longOffsetValue(offset, SourceInfo.EVENT_SERIAL_NO_KEY));
+        }
+        return debeziumOffset;
+    }
+
+    @Override
+    public int compareTo(Offset offset) {
+        LsnOffset that = (LsnOffset) offset;
+        int flag = this.getCommitLsn().compareTo(that.getCommitLsn());
+        if (flag != 0) {
+            return flag;
+        }
+        // the watermarks only have a commit LSN, they are at the end of the transaction, all the
+        // changes of the transaction are before them
+        final Lsn thisChangeLsn = this.getChangeLsn();
+        final Lsn thatChangeLsn = that.getChangeLsn();
+        if (!thisChangeLsn.isAvailable() || !thatChangeLsn.isAvailable()) {
+            return Boolean.compare(!thisChangeLsn.isAvailable(), !thatChangeLsn.isAvailable());
+        }
+        flag = thisChangeLsn.compareTo(thatChangeLsn);
+        if (flag != 0) {
+            return flag;
+        }
+        return Long.compare(
+                longOffsetValue(this.offset, SourceInfo.EVENT_SERIAL_NO_KEY),
+                longOffsetValue(that.offset, SourceInfo.EVENT_SERIAL_NO_KEY));
+    }
+}
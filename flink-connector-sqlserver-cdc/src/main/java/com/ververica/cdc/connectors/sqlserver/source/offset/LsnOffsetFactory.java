@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.sqlserver.source.offset;
+
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import com.ververica.cdc.connectors.base.source.meta.offset.OffsetFactory;
+
+import java.util.Map;
+
+/** An offset factory class create {@link LsnOffset} instance. */
+public class LsnOffsetFactory extends OffsetFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    public LsnOffsetFactory() {}
+
+    @Override
+    public Offset newOffset(Map<String, String> offset) {
+        return new LsnOffset(offset);
+    }
+
+    @Override
+    public Offset newOffset(String filename, Long position) {
+        throw new FlinkRuntimeException(
+                "not supported create new Offset by filename and position for SQL Server.");
+    }
+
+    @Override
+    public Offset newOffset(Long position) {
+        throw new FlinkRuntimeException(
+                "not supported create new Offset by position for SQL Server.");
+    }
+
+    @Override
+    public Offset createInitialOffset() {
+        return LsnOffset.INITIAL_OFFSET;
+    }
+
+    @Override
+    public Offset createNoStoppingOffset() {
+        return LsnOffset.NO_STOPPING_OFFSET;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.sqlserver.source.utils;
+
+import com.ververica.cdc.connectors.sqlserver.source.offset.LsnOffset;
+import io.debezium.connector.sqlserver.SqlServerConnection;
+import io.debezium.connector.sqlserver.SqlServerConnectorConfig;
+import io.debezium.connector.sqlserver.SqlServerValueConverters;
+import io.debezium.util.Clock;
+
+import java.sql.SQLException;
+
+/** Utilities to create and use the SQL Server connections of Debezium. */
+public class SqlServerConnectionUtils {
+
+    private SqlServerConnectionUtils() {}
+
+    /**
+     * Creates a {@link SqlServerConnection} which converts the column values the same way as the
+     * Debezium connector task.
+     */
+    public static SqlServerConnection createSqlServerConnection(
+            SqlServerConnectorConfig connectorConfig) {
+        final SqlServerValueConverters valueConverters =
+                new SqlServerValueConverters(
+                        connectorConfig.getDecimalMode(),
+                        connectorConfig.getTemporalPrecisionMode(),
+                        connectorConfig.binaryHandlingMode());
+        return new SqlServerConnection(
+                connectorConfig.jdbcConfig(),
+                Clock.system(),
+                connectorConfig.getSourceTimestampMode(),
+                valueConverters);
+    }
+
+    /**
+     * Fetches the maximum LSN of the CDC change tables, all the changes committed so far are at or
+     * before the returned offset once the capture job has caught up.
+     */
+    public static LsnOffset currentLsn(SqlServerConnection connection) throws SQLException {
+        return new LsnOffset(connection.getMaxLsn(), null, null);
+    }
+}
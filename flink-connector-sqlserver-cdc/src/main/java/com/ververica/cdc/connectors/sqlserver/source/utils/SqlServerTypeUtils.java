@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.sqlserver.source.utils;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.types.DataType;
+
+import io.debezium.relational.Column;
+
+import java.sql.Types;
+
+/** Utilities for converting from SQL Server types to Flink types. */
+public class SqlServerTypeUtils {
+
+    /** Microsoft SQL Server specific JDBC type of {@code datetimeoffset}. */
+    private static final int DATETIMEOFFSET = -155;
+
+    /** Returns a corresponding Flink data type from a debezium {@link Column}. */
+    public static DataType fromDbzColumn(Column column) {
+        DataType dataType = convertFromColumn(column);
+        if (column.isOptional()) {
+            return dataType;
+        } else {
+            return dataType.notNull();
+        }
+    }
+
+    /**
+     * Returns a corresponding Flink data type from a debezium {@link Column} with nullable always
+     * be true.
+     */
+    private static DataType convertFromColumn(Column column) {
+        switch (column.jdbcType()) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return DataTypes.BOOLEAN();
+            case Types.TINYINT:
+            case Types.SMALLINT:
+                // the TINYINT of SQL Server is unsigned
+                return DataTypes.SMALLINT();
+            case Types.INTEGER:
+                return DataTypes.INT();
+            case Types.BIGINT:
+                return DataTypes.BIGINT();
+            case Types.REAL:
+                return DataTypes.FLOAT();
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return DataTypes.DOUBLE();
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return DataTypes.DECIMAL(column.length(), column.scale().orElse(0));
+            case Types.CHAR:
+            case Types.NCHAR:
+                return DataTypes.CHAR(column.length());
+            case Types.VARCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.LONGNVARCHAR:
+                return DataTypes.STRING();
+            case Types.DATE:
+                return DataTypes.DATE();
+            case Types.TIME:
+                return DataTypes.TIME(column.scale().orElse(0));
+            case Types.TIMESTAMP:
+                return DataTypes.TIMESTAMP(column.scale().orElse(6));
+            case DATETIMEOFFSET:
+                return DataTypes.TIMESTAMP_WITH_LOCAL_TIME_ZONE(column.scale().orElse(7));
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return DataTypes.BYTES();
+            default:
+                throw new UnsupportedOperationException(
+                        String.format(
+                                "Doesn't support SQL Server type '%s' yet", column.typeName()));
+        }
+    }
+}
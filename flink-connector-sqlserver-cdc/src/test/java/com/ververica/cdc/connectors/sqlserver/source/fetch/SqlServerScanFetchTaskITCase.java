@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.sqlserver.source.fetch;
+
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.base.relational.JdbcSourceEventDispatcher;
+import com.ververica.cdc.connectors.base.source.meta.offset.Offset;
+import com.ververica.cdc.connectors.base.source.meta.split.SnapshotSplit;
+import com.ververica.cdc.connectors.base.source.meta.split.SourceSplitBase;
+import com.ververica.cdc.connectors.base.source.reader.external.JdbcSourceScanFetcher;
+import com.ververica.cdc.connectors.base.utils.SourceRecordUtils;
+import com.ververica.cdc.connectors.sqlserver.SqlServerTestBase;
+import com.ververica.cdc.connectors.sqlserver.source.SqlServerDialect;
+import com.ververica.cdc.connectors.sqlserver.source.config.SqlServerSourceConfigFactory;
+import com.ververica.cdc.connectors.sqlserver.source.utils.SqlServerConnectionUtils;
+import io.debezium.connector.sqlserver.SqlServerConnection;
+import io.debezium.connector.sqlserver.SqlServerTopicSelector;
+import io.debezium.data.Envelope;
+import io.debezium.pipeline.DataChangeEvent;
+import io.debezium.pipeline.EventDispatcher;
+import io.debezium.pipeline.spi.OffsetContext;
+import io.debezium.relational.TableId;
+import io.debezium.schema.DataCollectionSchema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.awaitility.Awaitility;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.testcontainers.containers.MSSQLServerContainer.MS_SQL_SERVER_PORT;
+
+/** IT tests for the backfill read of {@link SqlServerScanFetchTask}. */
+public class SqlServerScanFetchTaskITCase extends SqlServerTestBase {
+
+    @Before
+    public void before() {
+        initializeSqlServerTable("inventory");
+    }
+
+    @Test
+    public void testBackfillChangesDuringSnapshot() throws Exception {
+        final SqlServerSourceConfigFactory configFactory = createConfigFactory();
+        final SqlServerDialect dialect = new SqlServerDialect(configFactory);
+        final List<TableId> tableIds = dialect.discoverDataCollections(configFactory.create(0));
+        assertEquals(1, tableIds.size());
+        final List<SnapshotSplit> splits =
+                new ArrayList<>(
+                        dialect.createChunkSplitter(configFactory.create(0))
+                                .generateSplits(tableIds.get(0)));
+        // [null, 105), [105, 109), [109, null)
+        assertEquals(3, splits.size());
+
+        final SplitHooks hooks = new SplitHooks();
+        // the change before the low watermark of the second split is read by its snapshot
+        hooks.afterHighWatermark(
+                splits.get(0),
+                () -> {
+                    executeAndWaitForCapture(
+                            1,
+                            "UPDATE inventory.dbo.products SET description = 'before snapshot'"
+                                    + " WHERE id = 105");
+                });
+        // the watermarks are the maximum LSN of the change tables, the changes during the
+        // snapshot are only before the high watermark once the capture job has read them
+        hooks.afterSnapshot(
+                splits.get(1),
+                () -> {
+                    executeAndWaitForCapture(
+                            2,
+                            "UPDATE inventory.dbo.products SET description = 'during snapshot'"
+                                    + " WHERE id = 106",
+                            "DELETE FROM inventory.dbo.products WHERE id = 107");
+                });
+        // the changes after the high watermark are read by the stream split
+        hooks.afterHighWatermark(
+                splits.get(1),
+                () -> {
+                    try (Connection connection = getJdbcConnection()) {
+                        execute(
+                                connection,
+                                "UPDATE inventory.dbo.products SET description = 'after snapshot'"
+                                        + " WHERE id = 108");
+                    }
+                });
+
+        final HookedFetchTaskContext context =
+                new HookedFetchTaskContext(configFactory, dialect, hooks);
+        final JdbcSourceScanFetcher fetcher = new JdbcSourceScanFetcher(context, 0);
+        final List<String> actual = new ArrayList<>();
+        try {
+            for (SnapshotSplit split : splits) {
+                actual.addAll(readSplit(fetcher, dialect, split));
+            }
+        } finally {
+            fetcher.close();
+        }
+
+        final List<String> expected =
+                Arrays.asList(
+                        "101,Small 2-wheel scooter",
+                        "102,12V car battery",
+                        "103,12-pack of drill bits with sizes ranging from #40 to #3",
+                        "104,12oz carpenter's hammer",
+                        "105,before snapshot",
+                        "106,during snapshot",
+                        "108,water resistent black wind breaker",
+                        "109,24 inch spare tire");
+        Collections.sort(actual);
+        assertEquals(expected, actual);
+    }
+
+    private List<String> readSplit(
+            JdbcSourceScanFetcher fetcher, SqlServerDialect dialect, SnapshotSplit split)
+            throws Exception {
+        while (!fetcher.isFinished()) {
+            Thread.sleep(10);
+        }
+        fetcher.submitTask(dialect.createFetchTask(split));
+        final List<String> rows = new ArrayList<>();
+        Iterator<SourceRecord> records;
+        while ((records = fetcher.pollSplitRecords()) != null) {
+            while (records.hasNext()) {
+                final SourceRecord record = records.next();
+                if (SourceRecordUtils.isDataChangeRecord(record)) {
+                    final Struct after =
+                            ((Struct) record.value()).getStruct(Envelope.FieldName.AFTER);
+                    rows.add(after.getInt32("id") + "," + after.getString("description"));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private SqlServerSourceConfigFactory createConfigFactory() {
+        final SqlServerSourceConfigFactory configFactory = new SqlServerSourceConfigFactory();
+        configFactory
+                .database("inventory")
+                .hostname(MSSQL_SERVER_CONTAINER.getHost())
+                .port(MSSQL_SERVER_CONTAINER.getMappedPort(MS_SQL_SERVER_PORT))
+                .username(MSSQL_SERVER_CONTAINER.getUsername())
+                .password(MSSQL_SERVER_CONTAINER.getPassword())
+                .tableList("dbo.products")
+                .splitSize(4)
+                .fetchSize(2);
+        return configFactory;
+    }
+
+    /**
+     * Executes the statements and waits until the capture job has written the given number of
+     * changes of them to the change table, the statements are committed in one transaction.
+     */
+    private void executeAndWaitForCapture(int changes, String... sqlStatements)
+            throws SQLException {
+        final int capturedChanges = countCapturedChanges();
+        try (Connection connection = getJdbcConnection()) {
+            connection.setAutoCommit(false);
+            execute(connection, sqlStatements);
+            connection.commit();
+        }
+        Awaitility.await("Capturing the changes")
+                .atMost(60, TimeUnit.SECONDS)
+                .until(() -> countCapturedChanges() >= capturedChanges + changes);
+    }
+
+    private int countCapturedChanges() throws SQLException {
+        // an update is captured as the before and after rows
+        try (Connection connection = getJdbcConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs =
+                        statement.executeQuery(
+                                "SELECT COUNT(*) FROM inventory.cdc.dbo_products_CT"
+                                        + " WHERE __$operation <> 3")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void execute(Connection connection, String... sqlStatements)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : sqlStatements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    /** A statement which is executed at a point of the read of a snapshot split. */
+    @FunctionalInterface
+    private interface SplitHook {
+        void run() throws Exception;
+    }
+
+    /** The hooks which change the table while the snapshot splits are read. */
+    private static class SplitHooks {
+
+        private final Map<String, SplitHook> afterSnapshotHooks = new HashMap<>();
+        private final Map<String, SplitHook> afterHighWatermarkHooks = new HashMap<>();
+
+        void afterSnapshot(SnapshotSplit split, SplitHook hook) {
+            afterSnapshotHooks.put(split.splitId(), hook);
+        }
+
+        void afterHighWatermark(SnapshotSplit split, SplitHook hook) {
+            afterHighWatermarkHooks.put(split.splitId(), hook);
+        }
+
+        private static void run(Map<String, SplitHook> hooks, String splitId) {
+            final SplitHook hook = hooks.remove(splitId);
+            if (hook != null) {
+                try {
+                    hook.run();
+                } catch (Exception e) {
+                    throw new FlinkRuntimeException("Failed to run the hook of " + splitId, e);
+                }
+            }
+        }
+    }
+
+    /** A {@link SqlServerSourceFetchTaskContext} which runs the hooks of the splits. */
+    private static class HookedFetchTaskContext extends SqlServerSourceFetchTaskContext {
+
+        private final SplitHooks hooks;
+        private JdbcSourceEventDispatcher dispatcher;
+
+        HookedFetchTaskContext(
+                SqlServerSourceConfigFactory configFactory,
+                SqlServerDialect dialect,
+                SplitHooks hooks) {
+            super(
+                    configFactory.create(0),
+                    dialect,
+                    createConnection(configFactory),
+                    createConnection(configFactory));
+            this.hooks = hooks;
+        }
+
+        private static SqlServerConnection createConnection(
+                SqlServerSourceConfigFactory configFactory) {
+            return SqlServerConnectionUtils.createSqlServerConnection(
+                    configFactory.create(0).getDbzConnectorConfig());
+        }
+
+        @Override
+        public void configure(SourceSplitBase sourceSplitBase) {
+            super.configure(sourceSplitBase);
+            this.dispatcher = new HookedDispatcher(this, sourceSplitBase.splitId(), hooks);
+        }
+
+        @Override
+        public JdbcSourceEventDispatcher getDispatcher() {
+            return dispatcher;
+        }
+    }
+
+    /** A {@link JdbcSourceEventDispatcher} which runs the hooks of a split. */
+    private static class HookedDispatcher extends JdbcSourceEventDispatcher {
+
+        private final String splitId;
+        private final SplitHooks hooks;
+
+        HookedDispatcher(
+                SqlServerSourceFetchTaskContext context, String splitId, SplitHooks hooks) {
+            super(
+                    context.getConnectorConfig(),
+                    SqlServerTopicSelector.defaultSelector(context.getConnectorConfig()),
+                    context.getDatabaseSchema(),
+                    context.getQueue(),
+                    context.getConnectorConfig().getTableFilters().dataCollectionFilter(),
+                    DataChangeEvent::new,
+                    new SqlServerSourceFetchTaskContext.SqlServerEventMetadataProvider(),
+                    context.getSchemaNameAdjuster());
+            this.splitId = splitId;
+            this.hooks = hooks;
+        }
+
+        @Override
+        public EventDispatcher.SnapshotReceiver getSnapshotChangeEventReceiver() {
+            final EventDispatcher.SnapshotReceiver receiver =
+                    super.getSnapshotChangeEventReceiver();
+            return new EventDispatcher.SnapshotReceiver() {
+                @Override
+                public void changeRecord(
+                        DataCollectionSchema schema,
+                        Envelope.Operation operation,
+                        Object key,
+                        Struct value,
+                        OffsetContext offset,
+                        ConnectHeaders headers)
+                        throws InterruptedException {
+                    receiver.changeRecord(schema, operation, key, value, offset, headers);
+                }
+
+                @Override
+                public void completeSnapshot() throws InterruptedException {
+                    receiver.completeSnapshot();
+                    // the snapshot query has been read, the high watermark is not determined yet
+                    SplitHooks.run(hooks.afterSnapshotHooks, splitId);
+                }
+            };
+        }
+
+        @Override
+        public void dispatchWatermarkEvent(
+                Map<String, ?> sourcePartition,
+                SourceSplitBase sourceSplit,
+                Offset watermark,
+                WatermarkKind watermarkKind)
+                throws InterruptedException {
+            super.dispatchWatermarkEvent(sourcePartition, sourceSplit, watermark, watermarkKind);
+            if (watermarkKind == WatermarkKind.HIGH) {
+                SplitHooks.run(hooks.afterHighWatermarkHooks, splitId);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.sqlserver.source.offset;
+
+import io.debezium.config.Configuration;
+import io.debezium.connector.sqlserver.Lsn;
+import io.debezium.connector.sqlserver.SourceInfo;
+import io.debezium.connector.sqlserver.SqlServerConnectorConfig;
+import io.debezium.connector.sqlserver.SqlServerOffsetContext;
+import io.debezium.connector.sqlserver.TxLogPosition;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Unit test for {@link LsnOffset}. */
+public class LsnOffsetTest {
+
+    private static final Lsn COMMIT_LSN = Lsn.valueOf("0000002d:00000dc8:0003");
+    private static final Lsn CHANGE_LSN = Lsn.valueOf("0000002d:00000dc0:0002");
+
+    @Test
+    public void testCompareOffsets() {
+        final LsnOffset watermark = new LsnOffset(COMMIT_LSN, null, null);
+        final LsnOffset change = new LsnOffset(COMMIT_LSN, CHANGE_LSN, 1L);
+        final LsnOffset nextChange = new LsnOffset(COMMIT_LSN, CHANGE_LSN, 2L);
+        final LsnOffset nextCommit =
+                new LsnOffset(Lsn.valueOf("0000002d:00000dd0:0003"), CHANGE_LSN, 1L);
+
+        assertTrue(nextChange.isAfter(change));
+        assertTrue(nextCommit.isAfter(watermark));
+        // the changes of the commit are before the watermark of the commit
+        assertTrue(change.isBefore(watermark));
+        assertFalse(nextChange.isAtOrAfter(watermark));
+        assertEquals(0, watermark.compareTo(new LsnOffset(COMMIT_LSN, null, null)));
+        assertTrue(LsnOffset.INITIAL_OFFSET.isBefore(change));
+        assertTrue(LsnOffset.NO_STOPPING_OFFSET.isAfter(nextCommit));
+        assertFalse(LsnOffset.NO_STOPPING_OFFSET.isBefore(nextCommit));
+    }
+
+    @Test
+    public void testConvertFromSourceOffset() {
+        final Map<String, Object> sourceOffset = new HashMap<>();
+        sourceOffset.put(SourceInfo.COMMIT_LSN_KEY, COMMIT_LSN.toString());
+        sourceOffset.put(SourceInfo.CHANGE_LSN_KEY, CHANGE_LSN.toString());
+        sourceOffset.put(SourceInfo.EVENT_SERIAL_NO_KEY, 2L);
+
+        final LsnOffset offset = LsnOffset.of(sourceOffset);
+        assertEquals(COMMIT_LSN, offset.getCommitLsn());
+        assertEquals(CHANGE_LSN, offset.getChangeLsn());
+
+        final SqlServerOffsetContext offsetContext = load(offset);
+        assertEquals(
+                TxLogPosition.valueOf(COMMIT_LSN, CHANGE_LSN), offsetContext.getChangePosition());
+        assertEquals(2L, offsetContext.getEventSerialNo());
+        // the streaming reads the commit again to skip the read changes of the commit
+        assertFalse(offsetContext.isSnapshotCompleted());
+        assertEquals(offset, LsnOffset.of(offsetContext.getOffset()));
+    }
+
+    @Test
+    public void testConvertWatermarkOffset() {
+        final LsnOffset offset = new LsnOffset(COMMIT_LSN, null, null);
+
+        final SqlServerOffsetContext offsetContext = load(offset);
+        assertEquals(COMMIT_LSN, offsetContext.getChangePosition().getCommitLsn());
+        assertFalse(offsetContext.getChangePosition().getInTxLsn().isAvailable());
+        // the streaming starts from the next LSN of the watermark
+        assertTrue(offsetContext.isSnapshotCompleted());
+    }
+
+    private static SqlServerOffsetContext load(LsnOffset offset) {
+        final SqlServerConnectorConfig connectorConfig =
+                new SqlServerConnectorConfig(
+                        Configuration.create()
+                                .with("database.server.name", "sqlserver_test")
+                                .with("database.dbname", "inventory")
+                                .build());
+        return new SqlServerOffsetContext.Loader(connectorConfig).load(offset.toDebeziumOffset());
+    }
+}
@@ -18,6 +18,7 @@
 
 package com.ververica.cdc.connectors.tidb;
 
+import org.apache.flink.annotation.Experimental;
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
 import org.apache.flink.configuration.Configuration;
@@ -82,6 +83,39 @@ public class TDBSourceOptions {
                     .noDefaultValue()
                     .withDescription("TiKV GRPC batch scan concurrency");
 
+    @Experimental
+    public static final ConfigOption<Boolean> SCAN_CONVERTER_CODE_GENERATION_ENABLED =
+            ConfigOptions.key("scan.converter-code-generation.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to compile a specialised converter class for the physical row type,"
+                                    + " which converts the TiKV rows to RowData in straight-line code, by default is false.");
+
+    @Experimental
+    public static final ConfigOption<Boolean> SCAN_INCREMENTAL_SNAPSHOT_ENABLED =
+            ConfigOptions.key("scan.incremental.snapshot.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to read the snapshot with the FLIP-27 source, which splits the table"
+                                    + " by TiKV regions, reads the splits in parallel and checkpoints per split,"
+                                    + " by default is false. The source registers a service GC safe point at the"
+                                    + " snapshot's start ts in PD, which keeps TiKV from garbage collecting it until"
+                                    + " the change streams have started. The job fails if it's restored after the"
+                                    + " start ts has been garbage collected, e.g. from a checkpoint older than"
+                                    + " tidb_gc_life_time.");
+
+    public static final ConfigOption<Integer> SCAN_CHANGE_EVENT_BUFFER_MAX_ROWS =
+            ConfigOptions.key("scan.change-event-buffer.max-rows")
+                    .intType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max number of prewrite rows buffered before their transactions are resolved."
+                                    + " Once reached, the change stream is read one event at a time until the"
+                                    + " buffered rows are flushed, which slows down the TiKV change stream."
+                                    + " Unbounded if not set.");
+
     public static TiConfiguration getTiConfiguration(
             final String pdAddrsStr, final Map<String, String> options) {
         final Configuration configuration = Configuration.fromMap(options);
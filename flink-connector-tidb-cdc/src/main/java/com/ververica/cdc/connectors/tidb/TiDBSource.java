@@ -21,11 +21,21 @@ package com.ververica.cdc.connectors.tidb;
 import org.apache.flink.streaming.api.functions.source.RichParallelSourceFunction;
 
 import com.ververica.cdc.connectors.tidb.table.StartupOptions;
+import com.ververica.cdc.connectors.tidb.table.utils.ColumnValueRange;
+import com.ververica.cdc.connectors.tidb.table.utils.TableKeyRangeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.tikv.common.TiConfiguration;
+import org.tikv.common.TiSession;
+
+import java.util.Collections;
+import java.util.List;
 
 /** A builder to build a SourceFunction which can read snapshot and continue to read CDC events. */
 public class TiDBSource {
 
+    private static final Logger LOG = LoggerFactory.getLogger(TiDBSource.class);
+
     public static <T> Builder<T> builder() {
         return new Builder<>();
     }
@@ -36,6 +46,8 @@ public class TiDBSource {
         private String tableName;
         private StartupOptions startupOptions = StartupOptions.initial();
         private TiConfiguration tiConf;
+        private int changeEventBufferMaxRows = TiKVChangeEventBuffer.UNBOUNDED;
+        private List<ColumnValueRange> columnValueRanges = Collections.emptyList();
 
         private TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema;
         private TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema;
@@ -78,6 +90,25 @@ public class TiDBSource {
             return this;
         }
 
+        /**
+         * The max number of prewrite rows buffered before their transactions are resolved. Once
+         * reached, the source reads the change stream one event at a time until the buffered rows
+         * are flushed, unbounded by default.
+         */
+        public Builder<T> changeEventBufferMaxRows(int changeEventBufferMaxRows) {
+            this.changeEventBufferMaxRows = changeEventBufferMaxRows;
+            return this;
+        }
+
+        /**
+         * The value ranges of the columns that all rows to read are within. Key ranges that cannot
+         * contain such rows are not read if a range is on the primary key handle of the table.
+         */
+        public Builder<T> columnValueRanges(List<ColumnValueRange> columnValueRanges) {
+            this.columnValueRanges = columnValueRanges;
+            return this;
+        }
+
         public RichParallelSourceFunction<T> build() {
 
             return new TiKVRichParallelSourceFunction<>(
@@ -86,7 +117,30 @@ public class TiDBSource {
                     tiConf,
                     startupOptions.startupMode,
                     database,
-                    tableName);
+                    tableName,
+                    changeEventBufferMaxRows,
+                    fetchRegionSplitKeys(),
+                    columnValueRanges);
+        }
+
+        /**
+         * Fetches the current region boundaries of the table, which the subtasks use to divide the
+         * table into key ranges of about the same number of regions. Fetched once when the job is
+         * built so that all subtasks see the same boundaries.
+         */
+        private List<byte[]> fetchRegionSplitKeys() {
+            try (TiSession session = TiSession.create(tiConf)) {
+                final long tableId = session.getCatalog().getTable(database, tableName).getId();
+                return TableKeyRangeUtils.getTableRegionSplitKeys(
+                        session.getRegionManager(), tableId);
+            } catch (Exception e) {
+                LOG.warn(
+                        "Failed to fetch the regions of table {}.{}, the subtasks will divide the handle space evenly.",
+                        database,
+                        tableName,
+                        e);
+                return Collections.emptyList();
+            }
         }
     }
 }
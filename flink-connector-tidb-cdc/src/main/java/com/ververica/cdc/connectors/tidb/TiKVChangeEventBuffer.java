@@ -0,0 +1,370 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb;
+
+import org.apache.flink.util.Preconditions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tikv.kvproto.Cdcpb;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A buffer which keeps the prewrite and commit rows received from the TiKV change stream until the
+ * resolved ts passes their commit ts, and then releases the committed rows in commit ts order.
+ *
+ * <p>The rows are identified by the (start ts, table id, handle) of their record key, which is read
+ * from the key bytes directly. The prewrites are kept in an open addressing hash table and the
+ * commits in a binary heap ordered by (commit ts, table id, handle), both over primitive arrays, so
+ * buffering a row allocates no key objects and a commit keeps no protobuf row.
+ *
+ * <p>The buffer may be bounded by the number of buffered prewrite rows. The bound is soft: TiKV
+ * only advances the resolved ts through the change stream itself, so the reader keeps consuming
+ * once the buffer {@link #isFull() is full}, but one event at a time with a flush in between.
+ */
+public class TiKVChangeEventBuffer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TiKVChangeEventBuffer.class);
+
+    /** The max buffered rows of an unbounded buffer. */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    /** Length of a record key with an integer handle: 't' + table id + "_r" + handle. */
+    private static final int RECORD_KEY_LENGTH = 19;
+
+    private static final int TABLE_ID_OFFSET = 1;
+    private static final int HANDLE_OFFSET = 11;
+
+    private final int maxBufferedRows;
+    private final PrewriteTable prewrites = new PrewriteTable();
+    private final CommitQueue commits = new CommitQueue();
+
+    public TiKVChangeEventBuffer() {
+        this(UNBOUNDED);
+    }
+
+    public TiKVChangeEventBuffer(int maxBufferedRows) {
+        Preconditions.checkArgument(maxBufferedRows > 0, "maxBufferedRows must be positive");
+        this.maxBufferedRows = maxBufferedRows;
+    }
+
+    /** Buffers a row received from the change stream, index keys are ignored. */
+    public void handleRow(final Cdcpb.Event.Row row) {
+        final ByteString key = row.getKey();
+        if (!isRecordKey(key)) {
+            // Don't handle index key for now
+            return;
+        }
+        LOG.debug("binlog record, type: {}, data: {}", row.getType(), row);
+        final ByteBuffer keyBuffer = key.asReadOnlyByteBuffer();
+        final long tableId = decodeLong(keyBuffer, TABLE_ID_OFFSET);
+        final long handle = decodeLong(keyBuffer, HANDLE_OFFSET);
+        switch (row.getType()) {
+            case COMMITTED:
+                prewrites.put(row.getStartTs(), tableId, handle, row);
+                commits.add(row.getCommitTs(), row.getStartTs(), tableId, handle);
+                break;
+            case COMMIT:
+                commits.add(row.getCommitTs(), row.getStartTs(), tableId, handle);
+                break;
+            case PREWRITE:
+                prewrites.put(row.getStartTs(), tableId, handle, row);
+                break;
+            case ROLLBACK:
+                prewrites.remove(row.getStartTs(), tableId, handle);
+                break;
+            default:
+                LOG.warn("Unsupported row type:" + row.getType());
+        }
+    }
+
+    /**
+     * Returns the prewrite row of the next transaction committed at or before the given resolved
+     * ts, or null if there is no such row.
+     */
+    public Cdcpb.Event.Row pollCommittedRow(final long resolvedTs) {
+        while (!commits.isEmpty() && commits.peekCommitTs() <= resolvedTs) {
+            final long commitTs = commits.peekCommitTs();
+            final Cdcpb.Event.Row prewriteRow =
+                    prewrites.remove(
+                            commits.peekStartTs(), commits.peekTableId(), commits.peekHandle());
+            commits.poll();
+            if (prewriteRow != null) {
+                return prewriteRow;
+            }
+            // the commit of a row can be received twice when a region is re-subscribed
+            LOG.debug("Skip the committed row without prewrite at commitTs {}", commitTs);
+        }
+        return null;
+    }
+
+    public boolean hasCommittedRows() {
+        return !commits.isEmpty();
+    }
+
+    /** Returns the number of buffered prewrite rows. */
+    public int size() {
+        return prewrites.size();
+    }
+
+    /** Whether the buffer reaches its max buffered rows. */
+    public boolean isFull() {
+        return prewrites.size() >= maxBufferedRows;
+    }
+
+    private static boolean isRecordKey(final ByteString key) {
+        return key.size() >= RECORD_KEY_LENGTH && key.byteAt(9) == '_' && key.byteAt(10) == 'r';
+    }
+
+    /** Decodes a memcomparable encoded long, i.e. big endian with the sign bit flipped. */
+    private static long decodeLong(final ByteBuffer key, final int offset) {
+        return key.getLong(key.position() + offset) ^ Long.MIN_VALUE;
+    }
+
+    // ---------------------------------------
+    // static Utils classes
+    // ---------------------------------------
+
+    /** An open addressing hash table from (start ts, table id, handle) to the prewrite row. */
+    private static final class PrewriteTable {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long[] startTs;
+        private long[] tableIds;
+        private long[] handles;
+        private Cdcpb.Event.Row[] rows;
+        private int mask;
+        private int size;
+
+        private PrewriteTable() {
+            allocate(INITIAL_CAPACITY);
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void put(long ts, long tableId, long handle, Cdcpb.Event.Row row) {
+            int slot = hash(ts, tableId, handle) & mask;
+            while (rows[slot] != null) {
+                if (startTs[slot] == ts && tableIds[slot] == tableId && handles[slot] == handle) {
+                    rows[slot] = row;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            startTs[slot] = ts;
+            tableIds[slot] = tableId;
+            handles[slot] = handle;
+            rows[slot] = row;
+            if (++size > rows.length >> 1) {
+                resize(rows.length << 1);
+            }
+        }
+
+        private Cdcpb.Event.Row remove(long ts, long tableId, long handle) {
+            int slot = hash(ts, tableId, handle) & mask;
+            while (rows[slot] != null) {
+                if (startTs[slot] == ts && tableIds[slot] == tableId && handles[slot] == handle) {
+                    final Cdcpb.Event.Row row = rows[slot];
+                    deleteSlot(slot);
+                    if (--size == 0 && rows.length > INITIAL_CAPACITY) {
+                        // release the memory held after a burst of large transactions
+                        allocate(INITIAL_CAPACITY);
+                    }
+                    return row;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        /** Deletes the slot and shifts back the following entries of the probe sequence. */
+        private void deleteSlot(int slot) {
+            int hole = slot;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                if (rows[next] == null) {
+                    break;
+                }
+                final int ideal = hash(startTs[next], tableIds[next], handles[next]) & mask;
+                // the entry stays if its ideal slot is cyclically within (hole, next]
+                final boolean stays =
+                        hole <= next
+                                ? hole < ideal && ideal <= next
+                                : hole < ideal || ideal <= next;
+                if (!stays) {
+                    startTs[hole] = startTs[next];
+                    tableIds[hole] = tableIds[next];
+                    handles[hole] = handles[next];
+                    rows[hole] = rows[next];
+                    hole = next;
+                }
+            }
+            rows[hole] = null;
+        }
+
+        private void resize(int capacity) {
+            final long[] oldStartTs = startTs;
+            final long[] oldTableIds = tableIds;
+            final long[] oldHandles = handles;
+            final Cdcpb.Event.Row[] oldRows = rows;
+            allocate(capacity);
+            for (int i = 0; i < oldRows.length; i++) {
+                if (oldRows[i] != null) {
+                    int slot = hash(oldStartTs[i], oldTableIds[i], oldHandles[i]) & mask;
+                    while (rows[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    startTs[slot] = oldStartTs[i];
+                    tableIds[slot] = oldTableIds[i];
+                    handles[slot] = oldHandles[i];
+                    rows[slot] = oldRows[i];
+                    size++;
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            startTs = new long[capacity];
+            tableIds = new long[capacity];
+            handles = new long[capacity];
+            rows = new Cdcpb.Event.Row[capacity];
+            mask = capacity - 1;
+            size = 0;
+        }
+
+        private static int hash(long ts, long tableId, long handle) {
+            long h = ts * 0x9E3779B97F4A7C15L;
+            h = (h ^ tableId) * 0xC2B2AE3D27D4EB4FL;
+            h = (h ^ handle) * 0x165667B19E3779F9L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    /** A binary min heap of commits ordered by (commit ts, table id, handle). */
+    private static final class CommitQueue {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long[] commitTs = new long[INITIAL_CAPACITY];
+        private long[] startTs = new long[INITIAL_CAPACITY];
+        private long[] tableIds = new long[INITIAL_CAPACITY];
+        private long[] handles = new long[INITIAL_CAPACITY];
+        private int size;
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private long peekCommitTs() {
+            return commitTs[0];
+        }
+
+        private long peekStartTs() {
+            return startTs[0];
+        }
+
+        private long peekTableId() {
+            return tableIds[0];
+        }
+
+        private long peekHandle() {
+            return handles[0];
+        }
+
+        private void add(long commit, long start, long tableId, long handle) {
+            if (size == commitTs.length) {
+                final int capacity = size << 1;
+                commitTs = Arrays.copyOf(commitTs, capacity);
+                startTs = Arrays.copyOf(startTs, capacity);
+                tableIds = Arrays.copyOf(tableIds, capacity);
+                handles = Arrays.copyOf(handles, capacity);
+            }
+            int i = size++;
+            while (i > 0) {
+                final int parent = (i - 1) >>> 1;
+                if (compare(commit, tableId, handle, parent) >= 0) {
+                    break;
+                }
+                move(parent, i);
+                i = parent;
+            }
+            set(i, commit, start, tableId, handle);
+        }
+
+        private void poll() {
+            final int last = --size;
+            if (last == 0) {
+                return;
+            }
+            final long commit = commitTs[last];
+            final long start = startTs[last];
+            final long tableId = tableIds[last];
+            final long handle = handles[last];
+            int i = 0;
+            while (true) {
+                int child = (i << 1) + 1;
+                if (child >= last) {
+                    break;
+                }
+                if (child + 1 < last
+                        && compare(
+                                        commitTs[child + 1],
+                                        tableIds[child + 1],
+                                        handles[child + 1],
+                                        child)
+                                < 0) {
+                    child++;
+                }
+                if (compare(commit, tableId, handle, child) <= 0) {
+                    break;
+                }
+                move(child, i);
+                i = child;
+            }
+            set(i, commit, start, tableId, handle);
+        }
+
+        private int compare(long commit, long tableId, long handle, int slot) {
+            int res = Long.compare(commit, commitTs[slot]);
+            if (res == 0) {
+                res = Long.compare(tableId, tableIds[slot]);
+            }
+            if (res == 0) {
+                res = Long.compare(handle, handles[slot]);
+            }
+            return res;
+        }
+
+        private void move(int from, int to) {
+            set(to, commitTs[from], startTs[from], tableIds[from], handles[from]);
+        }
+
+        private void set(int slot, long commit, long start, long tableId, long handle) {
+            commitTs[slot] = commit;
+            startTs[slot] = start;
+            tableIds[slot] = tableId;
+            handles[slot] = handle;
+        }
+    }
+}
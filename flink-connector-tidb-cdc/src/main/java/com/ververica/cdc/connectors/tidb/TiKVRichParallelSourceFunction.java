@@ -18,6 +18,7 @@
 
 package com.ververica.cdc.connectors.tidb;
 
+import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.state.CheckpointListener;
 import org.apache.flink.api.common.state.ListState;
 import org.apache.flink.api.common.state.ListStateDescriptor;
@@ -33,6 +34,7 @@ import org.apache.flink.util.Collector;
 import org.apache.flink.util.Preconditions;
 
 import com.ververica.cdc.connectors.tidb.table.StartupMode;
+import com.ververica.cdc.connectors.tidb.table.utils.ColumnValueRange;
 import com.ververica.cdc.connectors.tidb.table.utils.TableKeyRangeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,15 +42,16 @@ import org.tikv.cdc.CDCClient;
 import org.tikv.common.TiConfiguration;
 import org.tikv.common.TiSession;
 import org.tikv.common.key.RowKey;
+import org.tikv.common.meta.TiTableInfo;
 import org.tikv.kvproto.Cdcpb;
 import org.tikv.kvproto.Coprocessor;
 import org.tikv.kvproto.Kvrpcpb;
 import org.tikv.shade.com.google.protobuf.ByteString;
 import org.tikv.txn.KVClient;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.TreeMap;
 
 /**
  * The source implementation for TiKV that read snapshot events first and then read the change
@@ -62,12 +65,24 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
     private static final long SNAPSHOT_VERSION_EPOCH = -1L;
     private static final long STREAMING_VERSION_START_EPOCH = 0L;
 
+    /** State name of the resolved ts, which is kept in union list state. */
+    public static final String RESOLVED_TS_STATE_NAME = "resolvedTsUnionState";
+
+    /**
+     * State name of the resolved ts of the savepoints taken by the earlier versions, which kept it
+     * in split list state. It's only read on restore.
+     */
+    public static final String LEGACY_RESOLVED_TS_STATE_NAME = "resolvedTsState";
+
     private final TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema;
     private final TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema;
     private final TiConfiguration tiConf;
     private final StartupMode startupMode;
     private final String database;
     private final String tableName;
+    private final int changeEventBufferMaxRows;
+    private final ArrayList<byte[]> regionSplitKeys;
+    private final ArrayList<ColumnValueRange> columnValueRanges;
 
     // Task local variables
     private transient TiSession session = null;
@@ -75,9 +90,11 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
     private transient CDCClient cdcClient = null;
     private transient SourceContext<T> sourceContext = null;
     private transient volatile long resolvedTs = -1L;
-    private transient TreeMap<RowKeyWithTs, Cdcpb.Event.Row> prewrites = null;
-    private transient TreeMap<RowKeyWithTs, Cdcpb.Event.Row> commits = null;
+    private transient long restoredResolvedTs = -1L;
+    private transient boolean restoredFromLegacyState = false;
+    private transient TiKVChangeEventBuffer changeEventBuffer = null;
     private transient OutputCollector<T> outputCollector;
+    private transient volatile boolean running = true;
 
     // offset state
     private transient ListState<Long> offsetState;
@@ -89,27 +106,58 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
             StartupMode startupMode,
             String database,
             String tableName) {
+        this(
+                snapshotEventDeserializationSchema,
+                changeEventDeserializationSchema,
+                tiConf,
+                startupMode,
+                database,
+                tableName,
+                TiKVChangeEventBuffer.UNBOUNDED,
+                Collections.emptyList(),
+                Collections.emptyList());
+    }
+
+    public TiKVRichParallelSourceFunction(
+            TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema,
+            TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema,
+            TiConfiguration tiConf,
+            StartupMode startupMode,
+            String database,
+            String tableName,
+            int changeEventBufferMaxRows,
+            List<byte[]> regionSplitKeys,
+            List<ColumnValueRange> columnValueRanges) {
         this.snapshotEventDeserializationSchema = snapshotEventDeserializationSchema;
         this.changeEventDeserializationSchema = changeEventDeserializationSchema;
         this.tiConf = tiConf;
         this.startupMode = startupMode;
         this.database = database;
         this.tableName = tableName;
+        this.changeEventBufferMaxRows = changeEventBufferMaxRows;
+        this.regionSplitKeys = new ArrayList<>(regionSplitKeys);
+        this.columnValueRanges = new ArrayList<>(columnValueRanges);
     }
 
     @Override
     public void open(final Configuration config) throws Exception {
         super.open(config);
         session = TiSession.create(tiConf);
-        long tableId = session.getCatalog().getTable(database, tableName).getId();
+        TiTableInfo tableInfo = session.getCatalog().getTable(database, tableName);
         keyRange =
-                TableKeyRangeUtils.getTableKeyRange(
-                        tableId,
-                        getRuntimeContext().getNumberOfParallelSubtasks(),
-                        getRuntimeContext().getIndexOfThisSubtask());
-        cdcClient = new CDCClient(session, keyRange);
-        prewrites = new TreeMap<>();
-        commits = new TreeMap<>();
+                TableKeyRangeUtils.narrowKeyRange(
+                        TableKeyRangeUtils.getTableKeyRange(
+                                tableInfo.getId(),
+                                // the legacy state was taken for the even split key ranges
+                                restoredFromLegacyState ? Collections.emptyList() : regionSplitKeys,
+                                getRuntimeContext().getNumberOfParallelSubtasks(),
+                                getRuntimeContext().getIndexOfThisSubtask()),
+                        tableInfo,
+                        columnValueRanges);
+        if (keyRange != null) {
+            cdcClient = new CDCClient(session, keyRange);
+        }
+        changeEventBuffer = new TiKVChangeEventBuffer(changeEventBufferMaxRows);
         outputCollector = new OutputCollector<>();
         resolvedTs =
                 startupMode == StartupMode.INITIAL
@@ -122,45 +170,31 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
         sourceContext = ctx;
         outputCollector.context = sourceContext;
 
-        if (startupMode == StartupMode.INITIAL) {
+        if (keyRange == null) {
+            LOG.info("No row of the key range of this subtask matches the filters, skip reading");
+            while (running) {
+                Thread.sleep(100);
+            }
+            return;
+        }
+
+        if (restoredResolvedTs > STREAMING_VERSION_START_EPOCH) {
+            LOG.info("Skip snapshot read, restore from resolvedTs: {}", restoredResolvedTs);
+            resolvedTs = restoredResolvedTs;
+        } else if (startupMode == StartupMode.INITIAL) {
             synchronized (sourceContext.getCheckpointLock()) {
                 readSnapshotEvents();
             }
         } else {
             LOG.info("Skip snapshot read");
+            resolvedTs = session.getTimestamp().getVersion();
         }
 
         LOG.info("start read change events");
-        resolvedTs = session.getTimestamp().getVersion();
         cdcClient.start(resolvedTs);
         readChangeEvents();
     }
 
-    private void handleRow(final Cdcpb.Event.Row row) {
-        if (!TableKeyRangeUtils.isRecordKey(row.getKey().toByteArray())) {
-            // Don't handle index key for now
-            return;
-        }
-        LOG.debug("binlog record, type: {}, data: {}", row.getType(), row);
-        switch (row.getType()) {
-            case COMMITTED:
-                prewrites.put(RowKeyWithTs.ofStart(row), row);
-                commits.put(RowKeyWithTs.ofCommit(row), row);
-                break;
-            case COMMIT:
-                commits.put(RowKeyWithTs.ofCommit(row), row);
-                break;
-            case PREWRITE:
-                prewrites.put(RowKeyWithTs.ofStart(row), row);
-                break;
-            case ROLLBACK:
-                prewrites.remove(RowKeyWithTs.ofStart(row));
-                break;
-            default:
-                LOG.warn("Unsupported row type:" + row.getType());
-        }
-    }
-
     protected void readSnapshotEvents() throws Exception {
         LOG.info("read snapshot events");
         final KVClient scanClient = session.createKVClient();
@@ -200,10 +234,14 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
                 if (row == null) {
                     break;
                 }
-                handleRow(row);
+                changeEventBuffer.handleRow(row);
+                if (changeEventBuffer.isFull()) {
+                    // flush the resolved rows before taking more rows from the change stream
+                    break;
+                }
             }
             resolvedTs = cdcClient.getMinResolvedTs();
-            if (commits.size() > 0) {
+            if (changeEventBuffer.hasCommittedRows()) {
                 flushRows(resolvedTs);
             }
         }
@@ -212,10 +250,8 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
     protected void flushRows(final long timestamp) throws Exception {
         Preconditions.checkState(sourceContext != null, "sourceContext shouldn't be null");
         synchronized (sourceContext) {
-            while (!commits.isEmpty() && commits.firstKey().timestamp <= timestamp) {
-                final Cdcpb.Event.Row commitRow = commits.pollFirstEntry().getValue();
-                final Cdcpb.Event.Row prewriteRow =
-                        prewrites.remove(RowKeyWithTs.ofStart(commitRow));
+            Cdcpb.Event.Row prewriteRow;
+            while ((prewriteRow = changeEventBuffer.pollCommittedRow(timestamp)) != null) {
                 changeEventDeserializationSchema.deserialize(prewriteRow, outputCollector);
             }
         }
@@ -223,6 +259,7 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
 
     @Override
     public void cancel() {
+        running = false;
         try {
             if (cdcClient != null) {
                 cdcClient.close();
@@ -240,29 +277,63 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
                 resolvedTs);
         flushRows(resolvedTs);
         offsetState.clear();
-        offsetState.add(resolvedTs);
+        if (keyRange != null) {
+            // a subtask that skips reading has no position to restore from
+            offsetState.add(resolvedTs);
+        }
     }
 
     @Override
     public void initializeState(final FunctionInitializationContext context) throws Exception {
         LOG.info("initialize checkpoint");
+        // the key ranges of the subtasks may change on restore, so every subtask restarts from
+        // the smallest resolvedTs of all subtasks
         offsetState =
                 context.getOperatorStateStore()
-                        .getListState(
+                        .getUnionListState(
                                 new ListStateDescriptor<>(
-                                        "resolvedTsState", LongSerializer.INSTANCE));
+                                        RESOLVED_TS_STATE_NAME, LongSerializer.INSTANCE));
         if (context.isRestored()) {
+            Long minResolvedTs = null;
             for (final Long offset : offsetState.get()) {
-                resolvedTs = offset;
-                LOG.info("Restore State from resolvedTs: {}", resolvedTs);
-                return;
+                minResolvedTs = minResolvedTs == null ? offset : Math.min(minResolvedTs, offset);
+            }
+            // the savepoints of the earlier versions keep the resolvedTs of every subtask in split
+            // list state, which is restored to the subtask with the same index if the parallelism
+            // isn't changed
+            final ListState<Long> legacyOffsetState =
+                    context.getOperatorStateStore()
+                            .getListState(
+                                    new ListStateDescriptor<>(
+                                            LEGACY_RESOLVED_TS_STATE_NAME,
+                                            LongSerializer.INSTANCE));
+            for (final Long offset : legacyOffsetState.get()) {
+                minResolvedTs = minResolvedTs == null ? offset : Math.min(minResolvedTs, offset);
+                restoredFromLegacyState = true;
+            }
+            legacyOffsetState.clear();
+            if (minResolvedTs != null) {
+                restoredResolvedTs = minResolvedTs;
+                LOG.info(
+                        "Restore State from resolvedTs: {}, legacy state: {}",
+                        restoredResolvedTs,
+                        restoredFromLegacyState);
             }
         } else {
-            resolvedTs = 0;
-            LOG.info("Initialize State from resolvedTs: {}", resolvedTs);
+            LOG.info("Initialize State without resolvedTs");
         }
     }
 
+    @VisibleForTesting
+    long getRestoredResolvedTs() {
+        return restoredResolvedTs;
+    }
+
+    @VisibleForTesting
+    boolean isRestoredFromLegacyState() {
+        return restoredFromLegacyState;
+    }
+
     @Override
     public void notifyCheckpointComplete(long checkpointId) throws Exception {
         // do nothing
@@ -276,62 +347,6 @@ public class TiKVRichParallelSourceFunction<T> extends RichParallelSourceFunctio
     // ---------------------------------------
     // static Utils classes
     // ---------------------------------------
-    private static class RowKeyWithTs implements Comparable<RowKeyWithTs> {
-        private final long timestamp;
-        private final RowKey rowKey;
-
-        private RowKeyWithTs(final long timestamp, final RowKey rowKey) {
-            this.timestamp = timestamp;
-            this.rowKey = rowKey;
-        }
-
-        private RowKeyWithTs(final long timestamp, final byte[] key) {
-            this(timestamp, RowKey.decode(key));
-        }
-
-        public long getTimestamp() {
-            return timestamp;
-        }
-
-        public RowKey getRowKey() {
-            return rowKey;
-        }
-
-        @Override
-        public int compareTo(final RowKeyWithTs that) {
-            int res = Long.compare(this.timestamp, that.timestamp);
-            if (res == 0) {
-                res = Long.compare(this.rowKey.getTableId(), that.rowKey.getTableId());
-            }
-            if (res == 0) {
-                res = Long.compare(this.rowKey.getHandle(), that.rowKey.getHandle());
-            }
-            return res;
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(this.timestamp, this.rowKey.getTableId(), this.rowKey.getHandle());
-        }
-
-        @Override
-        public boolean equals(final Object thatObj) {
-            if (thatObj instanceof RowKeyWithTs) {
-                final RowKeyWithTs that = (RowKeyWithTs) thatObj;
-                return this.timestamp == that.timestamp && this.rowKey.equals(that.rowKey);
-            }
-            return false;
-        }
-
-        static RowKeyWithTs ofStart(final Cdcpb.Event.Row row) {
-            return new RowKeyWithTs(row.getStartTs(), row.getKey().toByteArray());
-        }
-
-        static RowKeyWithTs ofCommit(final Cdcpb.Event.Row row) {
-            return new RowKeyWithTs(row.getCommitTs(), row.getKey().toByteArray());
-        }
-    }
-
     private static class OutputCollector<T> implements Collector<T> {
 
         private SourceContext<T> context;
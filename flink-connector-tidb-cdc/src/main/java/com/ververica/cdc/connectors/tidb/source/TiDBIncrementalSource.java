@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.connector.source.Boundedness;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsState;
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsStateSerializer;
+import com.ververica.cdc.connectors.tidb.TiKVChangeEventBuffer;
+import com.ververica.cdc.connectors.tidb.TiKVChangeEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.TiKVSnapshotEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.source.enumerator.TiKVSourceEnumerator;
+import com.ververica.cdc.connectors.tidb.source.reader.TiKVRecord;
+import com.ververica.cdc.connectors.tidb.source.reader.TiKVRecordEmitter;
+import com.ververica.cdc.connectors.tidb.source.reader.TiKVSourceReader;
+import com.ververica.cdc.connectors.tidb.source.reader.TiKVSplitReader;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplit;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplitSerializer;
+import com.ververica.cdc.connectors.tidb.table.StartupMode;
+import com.ververica.cdc.connectors.tidb.table.StartupOptions;
+import com.ververica.cdc.connectors.tidb.table.utils.ColumnValueRange;
+import org.tikv.common.TiConfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The TiDB CDC Source based on FLIP-27 which reads the snapshot of the captured tables in parallel
+ * and then continues to read the change events.
+ *
+ * <p>The enumerator splits each table at the boundaries of its TiKV regions, the snapshot splits
+ * are read at one start ts and checkpointed per split, and the change stream of each table starts
+ * from that same ts after all snapshot splits have been read.
+ *
+ * <pre>
+ *     TiDBIncrementalSource
+ *         .&lt;RowData&gt;builder()
+ *         .database("db")
+ *         .tableList("table1", "table2")
+ *         .tiConf(tiConf)
+ *         .snapshotEventDeserializer(snapshotEventDeserializer)
+ *         .changeEventDeserializer(changeEventDeserializer)
+ *         .build();
+ * </pre>
+ *
+ * <p>See {@link Builder} for more details.
+ *
+ * @param <T> the output type of the source.
+ */
+public class TiDBIncrementalSource<T>
+        implements Source<T, TiKVSourceSplit, HybridPendingSplitsState<TiKVSourceSplit>>,
+                ResultTypeQueryable<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema;
+    private final TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema;
+    private final TiConfiguration tiConf;
+    private final StartupMode startupMode;
+    private final String database;
+    private final List<String> tableList;
+    private final int changeEventBufferMaxRows;
+    private final List<ColumnValueRange> columnValueRanges;
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    TiDBIncrementalSource(
+            TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema,
+            TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema,
+            TiConfiguration tiConf,
+            StartupMode startupMode,
+            String database,
+            List<String> tableList,
+            int changeEventBufferMaxRows,
+            List<ColumnValueRange> columnValueRanges) {
+        this.snapshotEventDeserializationSchema = snapshotEventDeserializationSchema;
+        this.changeEventDeserializationSchema = changeEventDeserializationSchema;
+        this.tiConf = tiConf;
+        this.startupMode = startupMode;
+        this.database = database;
+        this.tableList = tableList;
+        this.changeEventBufferMaxRows = changeEventBufferMaxRows;
+        this.columnValueRanges = columnValueRanges;
+    }
+
+    @Override
+    public Boundedness getBoundedness() {
+        return Boundedness.CONTINUOUS_UNBOUNDED;
+    }
+
+    @Override
+    public SourceReader<T, TiKVSourceSplit> createReader(SourceReaderContext readerContext) {
+        FutureCompletingBlockingQueue<RecordsWithSplitIds<TiKVRecord>> elementsQueue =
+                new FutureCompletingBlockingQueue<>();
+        return new TiKVSourceReader<>(
+                elementsQueue,
+                () -> new TiKVSplitReader(tiConf, changeEventBufferMaxRows),
+                new TiKVRecordEmitter<>(
+                        snapshotEventDeserializationSchema, changeEventDeserializationSchema),
+                readerContext.getConfiguration(),
+                readerContext);
+    }
+
+    @Override
+    public SplitEnumerator<TiKVSourceSplit, HybridPendingSplitsState<TiKVSourceSplit>>
+            createEnumerator(SplitEnumeratorContext<TiKVSourceSplit> enumContext) {
+        return new TiKVSourceEnumerator(
+                enumContext, tiConf, startupMode, database, tableList, columnValueRanges, null);
+    }
+
+    @Override
+    public SplitEnumerator<TiKVSourceSplit, HybridPendingSplitsState<TiKVSourceSplit>>
+            restoreEnumerator(
+                    SplitEnumeratorContext<TiKVSourceSplit> enumContext,
+                    HybridPendingSplitsState<TiKVSourceSplit> checkpoint) {
+        return new TiKVSourceEnumerator(
+                enumContext,
+                tiConf,
+                startupMode,
+                database,
+                tableList,
+                columnValueRanges,
+                checkpoint);
+    }
+
+    @Override
+    public SimpleVersionedSerializer<TiKVSourceSplit> getSplitSerializer() {
+        return TiKVSourceSplitSerializer.INSTANCE;
+    }
+
+    @Override
+    public SimpleVersionedSerializer<HybridPendingSplitsState<TiKVSourceSplit>>
+            getEnumeratorCheckpointSerializer() {
+        return new HybridPendingSplitsStateSerializer<>(TiKVSourceSplitSerializer.INSTANCE);
+    }
+
+    @Override
+    public TypeInformation<T> getProducedType() {
+        return snapshotEventDeserializationSchema.getProducedType();
+    }
+
+    /** Builder class of {@link TiDBIncrementalSource}. */
+    public static class Builder<T> {
+        private String database;
+        private List<String> tableList;
+        private StartupOptions startupOptions = StartupOptions.initial();
+        private TiConfiguration tiConf;
+        private int changeEventBufferMaxRows = TiKVChangeEventBuffer.UNBOUNDED;
+        private List<ColumnValueRange> columnValueRanges = Collections.emptyList();
+
+        private TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema;
+        private TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema;
+
+        /** Database name to be monitored. */
+        public Builder<T> database(String database) {
+            this.database = database;
+            return this;
+        }
+
+        /** Names of the tables in the database to be monitored. */
+        public Builder<T> tableList(String... tableList) {
+            this.tableList = Arrays.asList(tableList);
+            return this;
+        }
+
+        /** The deserializer used to convert from consumed snapshot event from TiKV. */
+        public Builder<T> snapshotEventDeserializer(
+                TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema) {
+            this.snapshotEventDeserializationSchema = snapshotEventDeserializationSchema;
+            return this;
+        }
+
+        /** The deserializer used to convert from consumed change event from TiKV. */
+        public Builder<T> changeEventDeserializer(
+                TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema) {
+            this.changeEventDeserializationSchema = changeEventDeserializationSchema;
+            return this;
+        }
+
+        /** Specifies the startup options. */
+        public Builder<T> startupOptions(StartupOptions startupOptions) {
+            this.startupOptions = startupOptions;
+            return this;
+        }
+
+        /** TIDB config. */
+        public Builder<T> tiConf(TiConfiguration tiConf) {
+            this.tiConf = tiConf;
+            return this;
+        }
+
+        /**
+         * The max number of prewrite rows buffered per stream split before their transactions are
+         * resolved, unbounded by default.
+         */
+        public Builder<T> changeEventBufferMaxRows(int changeEventBufferMaxRows) {
+            this.changeEventBufferMaxRows = changeEventBufferMaxRows;
+            return this;
+        }
+
+        /**
+         * The value ranges of the columns that all rows to read are within. Key ranges that cannot
+         * contain such rows are not split if a range is on the primary key handle of a table.
+         */
+        public Builder<T> columnValueRanges(List<ColumnValueRange> columnValueRanges) {
+            this.columnValueRanges = columnValueRanges;
+            return this;
+        }
+
+        public TiDBIncrementalSource<T> build() {
+            checkNotNull(database, "database is required");
+            checkArgument(
+                    tableList != null && !tableList.isEmpty(), "tableList should not be empty");
+            checkNotNull(tiConf, "tiConf is required");
+            return new TiDBIncrementalSource<>(
+                    checkNotNull(snapshotEventDeserializationSchema),
+                    checkNotNull(changeEventDeserializationSchema),
+                    tiConf,
+                    startupOptions.startupMode,
+                    database,
+                    tableList,
+                    changeEventBufferMaxRows,
+                    new ArrayList<>(columnValueRanges));
+        }
+    }
+}
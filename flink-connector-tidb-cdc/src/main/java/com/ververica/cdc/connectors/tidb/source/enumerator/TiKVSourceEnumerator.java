@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.enumerator;
+
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsState;
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridSourceEnumerator;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSnapshotSplit;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplit;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVStreamSplit;
+import com.ververica.cdc.connectors.tidb.table.StartupMode;
+import com.ververica.cdc.connectors.tidb.table.utils.ColumnValueRange;
+import com.ververica.cdc.connectors.tidb.table.utils.ServiceSafePointUtils;
+import com.ververica.cdc.connectors.tidb.table.utils.TableKeyRangeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tikv.common.TiConfiguration;
+import org.tikv.common.TiSession;
+import org.tikv.common.meta.TiTableInfo;
+import org.tikv.kvproto.Coprocessor;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * A TiKV source enumerator that splits each captured table into one snapshot split per TiKV region
+ * and hands out the stream splits once all snapshot splits have been read.
+ *
+ * <p>All snapshot splits are read at the same start ts and the stream splits start from that ts, so
+ * the change stream continues exactly where the snapshot stops.
+ *
+ * <p>The versions at the start ts must not be garbage collected before the stream splits start, so
+ * the enumerator registers a service GC safe point at the start ts in PD and refreshes it until all
+ * stream splits have been assigned, like TiCDC does for its changefeeds. The enumerator fails if
+ * the start ts has already been garbage collected, e.g. when the job is restored from a checkpoint
+ * taken longer than the GC life time ago.
+ */
+public class TiKVSourceEnumerator extends HybridSourceEnumerator<TiKVSourceSplit> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TiKVSourceEnumerator.class);
+
+    /** TTL of the service GC safe point, which outlives a failover of the job manager. */
+    private static final long SERVICE_SAFE_POINT_TTL_SECONDS = 600L;
+
+    private static final long SERVICE_SAFE_POINT_REFRESH_INTERVAL_MS = 60_000L;
+
+    private final TiConfiguration tiConf;
+    private final StartupMode startupMode;
+    private final String database;
+    private final List<String> tableList;
+    private final List<ColumnValueRange> columnValueRanges;
+    private final String serviceId = "flink-cdc-tidb-" + UUID.randomUUID();
+
+    private TiSession session;
+
+    /** The ts that the unassigned stream splits start from, which is kept by the GC safe point. */
+    private long startTs;
+
+    /** Whether all stream splits have been assigned, the GC safe point isn't refreshed any more. */
+    private volatile boolean streamSplitsAssigned;
+
+    public TiKVSourceEnumerator(
+            SplitEnumeratorContext<TiKVSourceSplit> context,
+            TiConfiguration tiConf,
+            StartupMode startupMode,
+            String database,
+            List<String> tableList,
+            List<ColumnValueRange> columnValueRanges,
+            @Nullable HybridPendingSplitsState<TiKVSourceSplit> restoredState) {
+        super(context, restoredState);
+        this.tiConf = tiConf;
+        this.startupMode = startupMode;
+        this.database = database;
+        this.tableList = tableList;
+        this.columnValueRanges = columnValueRanges;
+    }
+
+    @Override
+    public void start() {
+        session = TiSession.create(tiConf);
+        super.start();
+        // the snapshot splits are read at the ts the stream splits start from, so the unassigned
+        // stream splits tell the ts to keep after a restore as well
+        final OptionalLong minStartTs =
+                remainingStreamSplits.stream()
+                        .mapToLong(split -> split.asStreamSplit().getResolvedTs())
+                        .min();
+        streamSplitsAssigned = !minStartTs.isPresent();
+        if (!streamSplitsAssigned) {
+            startTs = minStartTs.getAsLong();
+            checkServiceSafePoint(
+                    ServiceSafePointUtils.updateServiceSafePoint(
+                            session, serviceId, SERVICE_SAFE_POINT_TTL_SECONDS, startTs));
+            context.callAsync(
+                    this::refreshServiceSafePoint,
+                    this::handleServiceSafePointRefreshed,
+                    SERVICE_SAFE_POINT_REFRESH_INTERVAL_MS,
+                    SERVICE_SAFE_POINT_REFRESH_INTERVAL_MS);
+        }
+    }
+
+    @Override
+    protected void createSplits() {
+        try {
+            startTs = session.getTimestamp().getVersion();
+            for (String tableName : tableList) {
+                final TiTableInfo tableInfo = session.getCatalog().getTable(database, tableName);
+                if (tableInfo == null) {
+                    throw new FlinkRuntimeException(
+                            String.format("Table %s.%s does not exist", database, tableName));
+                }
+                final long tableId = tableInfo.getId();
+                if (startupMode == StartupMode.INITIAL) {
+                    final List<Coprocessor.KeyRange> regionRanges =
+                            TableKeyRangeUtils.getTableRegionKeyRanges(
+                                    session.getRegionManager(), tableId);
+                    int splits = 0;
+                    for (int i = 0; i < regionRanges.size(); i++) {
+                        final Coprocessor.KeyRange range =
+                                TableKeyRangeUtils.narrowKeyRange(
+                                        regionRanges.get(i), tableInfo, columnValueRanges);
+                        if (range == null) {
+                            continue;
+                        }
+                        splits++;
+                        remainingSnapshotSplits.add(
+                                new TiKVSnapshotSplit(
+                                        tableId + ":" + i,
+                                        tableId,
+                                        range.getStart().toByteArray(),
+                                        range.getEnd().toByteArray(),
+                                        startTs,
+                                        false));
+                    }
+                    LOG.info(
+                            "Split table {}.{} into {} snapshot splits at ts {}",
+                            database,
+                            tableName,
+                            splits,
+                            startTs);
+                }
+                final Coprocessor.KeyRange tableRange =
+                        TableKeyRangeUtils.narrowKeyRange(
+                                TableKeyRangeUtils.getTableKeyRange(tableId),
+                                tableInfo,
+                                columnValueRanges);
+                if (tableRange == null) {
+                    LOG.info(
+                            "No row of table {}.{} matches the filters, skip reading it",
+                            database,
+                            tableName);
+                    continue;
+                }
+                remainingStreamSplits.add(
+                        new TiKVStreamSplit(
+                                "stream-" + tableId,
+                                tableId,
+                                tableRange.getStart().toByteArray(),
+                                tableRange.getEnd().toByteArray(),
+                                startTs));
+            }
+        } catch (FlinkRuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FlinkRuntimeException("Failed to create the TiKV source splits", e);
+        }
+    }
+
+    /** Refreshes the GC safe point in the worker thread, returns null once it isn't needed. */
+    @Nullable
+    private Long refreshServiceSafePoint() {
+        if (streamSplitsAssigned) {
+            return null;
+        }
+        return ServiceSafePointUtils.updateServiceSafePoint(
+                session, serviceId, SERVICE_SAFE_POINT_TTL_SECONDS, startTs);
+    }
+
+    private void handleServiceSafePointRefreshed(@Nullable Long minSafePoint, Throwable t) {
+        if (t != null) {
+            // the safe point is kept until the TTL expires, the next refresh may still succeed
+            LOG.warn("Failed to refresh the service GC safe point {}", serviceId, t);
+        } else if (minSafePoint != null) {
+            checkServiceSafePoint(minSafePoint);
+        }
+    }
+
+    private void checkServiceSafePoint(long minSafePoint) {
+        if (minSafePoint > startTs) {
+            throw new FlinkRuntimeException(
+                    String.format(
+                            "The start ts %s of the TiKV source has been garbage collected, the GC"
+                                    + " safe point of the cluster is %s. Please increase"
+                                    + " tidb_gc_life_time and restart the job without state.",
+                            startTs, minSafePoint));
+        }
+    }
+
+    @Override
+    protected void onStreamSplitsAssigned() {
+        // the GC safe point expires after its TTL, which leaves time to start the streams
+        streamSplitsAssigned = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (session != null) {
+            try {
+                session.close();
+            } catch (Exception e) {
+                throw new IOException("Failed to close the TiKV session", e);
+            }
+        }
+    }
+}
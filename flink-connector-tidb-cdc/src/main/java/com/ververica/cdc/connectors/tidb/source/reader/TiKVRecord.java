@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.reader;
+
+import org.tikv.kvproto.Cdcpb;
+import org.tikv.kvproto.Kvrpcpb;
+
+/**
+ * A record fetched by the {@link TiKVSplitReader}, which is either a snapshot row, a committed
+ * change row or a resolved ts marker of a stream split.
+ */
+public final class TiKVRecord {
+
+    private final Kvrpcpb.KvPair snapshotRow;
+    private final Cdcpb.Event.Row changeRow;
+    private final long resolvedTs;
+
+    private TiKVRecord(Kvrpcpb.KvPair snapshotRow, Cdcpb.Event.Row changeRow, long resolvedTs) {
+        this.snapshotRow = snapshotRow;
+        this.changeRow = changeRow;
+        this.resolvedTs = resolvedTs;
+    }
+
+    public static TiKVRecord ofSnapshotRow(Kvrpcpb.KvPair snapshotRow) {
+        return new TiKVRecord(snapshotRow, null, -1L);
+    }
+
+    public static TiKVRecord ofChangeRow(Cdcpb.Event.Row changeRow) {
+        return new TiKVRecord(null, changeRow, -1L);
+    }
+
+    public static TiKVRecord ofResolvedTs(long resolvedTs) {
+        return new TiKVRecord(null, null, resolvedTs);
+    }
+
+    public boolean isSnapshotRow() {
+        return snapshotRow != null;
+    }
+
+    public boolean isChangeRow() {
+        return changeRow != null;
+    }
+
+    public Kvrpcpb.KvPair getSnapshotRow() {
+        return snapshotRow;
+    }
+
+    public Cdcpb.Event.Row getChangeRow() {
+        return changeRow;
+    }
+
+    public long getResolvedTs() {
+        return resolvedTs;
+    }
+}
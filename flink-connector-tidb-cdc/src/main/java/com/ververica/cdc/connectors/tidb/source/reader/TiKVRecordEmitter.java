@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.reader;
+
+import org.apache.flink.api.connector.source.SourceOutput;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.util.Collector;
+
+import com.ververica.cdc.connectors.tidb.TiKVChangeEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.TiKVSnapshotEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplitState;
+import org.tikv.common.key.Key;
+
+/**
+ * The {@link RecordEmitter} implementation for {@link TiKVSourceReader}.
+ *
+ * <p>The {@link RecordEmitter} deserializes the rows with the snapshot or change event deserializer
+ * and updates the split state to the position after the emitted row.
+ */
+public final class TiKVRecordEmitter<T>
+        implements RecordEmitter<TiKVRecord, T, TiKVSourceSplitState> {
+
+    private final TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema;
+    private final TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema;
+    private final OutputCollector<T> outputCollector;
+
+    public TiKVRecordEmitter(
+            TiKVSnapshotEventDeserializationSchema<T> snapshotEventDeserializationSchema,
+            TiKVChangeEventDeserializationSchema<T> changeEventDeserializationSchema) {
+        this.snapshotEventDeserializationSchema = snapshotEventDeserializationSchema;
+        this.changeEventDeserializationSchema = changeEventDeserializationSchema;
+        this.outputCollector = new OutputCollector<>();
+    }
+
+    @Override
+    public void emitRecord(
+            TiKVRecord element, SourceOutput<T> output, TiKVSourceSplitState splitState)
+            throws Exception {
+        outputCollector.output = output;
+        if (element.isSnapshotRow()) {
+            snapshotEventDeserializationSchema.deserialize(
+                    element.getSnapshotRow(), outputCollector);
+            splitState
+                    .asSnapshotSplitState()
+                    .setNextKey(Key.toRawKey(element.getSnapshotRow().getKey()).next().getBytes());
+        } else if (element.isChangeRow()) {
+            changeEventDeserializationSchema.deserialize(element.getChangeRow(), outputCollector);
+        } else {
+            splitState.asStreamSplitState().setResolvedTs(element.getResolvedTs());
+        }
+    }
+
+    private static class OutputCollector<T> implements Collector<T> {
+        private SourceOutput<T> output;
+
+        @Override
+        public void collect(T record) {
+            output.collect(record);
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+    }
+}
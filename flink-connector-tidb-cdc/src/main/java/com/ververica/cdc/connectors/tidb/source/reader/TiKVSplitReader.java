@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.reader;
+
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+
+import com.ververica.cdc.connectors.tidb.TiKVChangeEventBuffer;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSnapshotSplit;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplit;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVStreamSplit;
+import com.ververica.cdc.connectors.tidb.table.utils.TableKeyRangeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tikv.cdc.CDCClient;
+import org.tikv.common.TiConfiguration;
+import org.tikv.common.TiSession;
+import org.tikv.common.key.Key;
+import org.tikv.kvproto.Cdcpb;
+import org.tikv.kvproto.Kvrpcpb;
+import org.tikv.shade.com.google.protobuf.ByteString;
+import org.tikv.txn.KVClient;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@link SplitReader} implementation for the TiKV source. Snapshot splits are scanned one batch
+ * per fetch so the reader can checkpoint in between, stream splits are polled together once there
+ * are no snapshot splits left.
+ */
+public class TiKVSplitReader implements SplitReader<TiKVRecord, TiKVSourceSplit> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TiKVSplitReader.class);
+
+    /** The maximum number of change rows polled from one stream split per fetch. */
+    private static final int STREAM_BATCH_SIZE = 1000;
+
+    private final TiConfiguration tiConf;
+    private final int changeEventBufferMaxRows;
+    private final ArrayDeque<TiKVSnapshotSplit> snapshotSplits = new ArrayDeque<>();
+    private final List<StreamSplitReader> streamSplitReaders = new ArrayList<>();
+
+    private TiSession session;
+    private KVClient scanClient;
+
+    @Nullable private TiKVSnapshotSplit currentSnapshotSplit;
+    private ByteString nextKey;
+
+    public TiKVSplitReader(TiConfiguration tiConf, int changeEventBufferMaxRows) {
+        this.tiConf = tiConf;
+        this.changeEventBufferMaxRows = changeEventBufferMaxRows;
+    }
+
+    @Override
+    public RecordsWithSplitIds<TiKVRecord> fetch() throws IOException {
+        if (currentSnapshotSplit == null && !snapshotSplits.isEmpty()) {
+            currentSnapshotSplit = snapshotSplits.poll();
+            nextKey = ByteString.copyFrom(currentSnapshotSplit.getStartKey());
+            LOG.info("Start reading snapshot split {}", currentSnapshotSplit);
+        }
+        try {
+            if (currentSnapshotSplit != null) {
+                return pollSnapshotSplit();
+            }
+            return pollStreamSplits();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (RuntimeException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private RecordsWithSplitIds<TiKVRecord> pollSnapshotSplit() {
+        final RecordsBySplits.Builder<TiKVRecord> builder = new RecordsBySplits.Builder<>();
+        final TiKVSnapshotSplit split = currentSnapshotSplit;
+        final ByteString endKey = ByteString.copyFrom(split.getEndKey());
+        final List<Kvrpcpb.KvPair> segment =
+                Key.toRawKey(nextKey).compareTo(Key.toRawKey(endKey)) < 0
+                        ? getScanClient().scan(nextKey, endKey, split.getStartTs())
+                        : new ArrayList<>();
+        if (segment.isEmpty()) {
+            LOG.info("Finished reading snapshot split {}", split);
+            builder.addFinishedSplit(split.splitId());
+            currentSnapshotSplit = null;
+            nextKey = null;
+        } else {
+            for (final Kvrpcpb.KvPair pair : segment) {
+                if (TableKeyRangeUtils.isRecordKey(pair.getKey().toByteArray())) {
+                    builder.add(split, TiKVRecord.ofSnapshotRow(pair));
+                }
+            }
+            nextKey = Key.toRawKey(segment.get(segment.size() - 1).getKey()).next().toByteString();
+        }
+        return builder.build();
+    }
+
+    private RecordsWithSplitIds<TiKVRecord> pollStreamSplits() throws InterruptedException {
+        final RecordsBySplits.Builder<TiKVRecord> builder = new RecordsBySplits.Builder<>();
+        for (StreamSplitReader reader : streamSplitReaders) {
+            reader.poll(builder);
+        }
+        return builder.build();
+    }
+
+    private KVClient getScanClient() {
+        if (scanClient == null) {
+            scanClient = getSession().createKVClient();
+        }
+        return scanClient;
+    }
+
+    private TiSession getSession() {
+        if (session == null) {
+            session = TiSession.create(tiConf);
+        }
+        return session;
+    }
+
+    @Override
+    public void handleSplitsChanges(SplitsChange<TiKVSourceSplit> splitsChanges) {
+        if (!(splitsChanges instanceof SplitsAddition)) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "The SplitChange type of %s is not supported.",
+                            splitsChanges.getClass()));
+        }
+        LOG.debug("Handling split change {}", splitsChanges);
+        for (TiKVSourceSplit split : splitsChanges.splits()) {
+            if (split.isSnapshotSplit()) {
+                snapshotSplits.add(split.asSnapshotSplit());
+            } else {
+                streamSplitReaders.add(new StreamSplitReader(split.asStreamSplit()));
+            }
+        }
+    }
+
+    @Override
+    public void wakeUp() {
+        // the fetch is bounded by the scan batch and the change stream poll timeout
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (StreamSplitReader reader : streamSplitReaders) {
+            reader.close();
+        }
+        streamSplitReaders.clear();
+        if (scanClient != null) {
+            scanClient.close();
+            scanClient = null;
+        }
+        if (session != null) {
+            session.close();
+            session = null;
+        }
+    }
+
+    /** Reads the change events of a stream split and emits them once they are resolved. */
+    private class StreamSplitReader {
+
+        private final TiKVStreamSplit split;
+        private final TiKVChangeEventBuffer changeEventBuffer;
+        private CDCClient cdcClient;
+        private long resolvedTs;
+
+        private StreamSplitReader(TiKVStreamSplit split) {
+            this.split = split;
+            this.changeEventBuffer = new TiKVChangeEventBuffer(changeEventBufferMaxRows);
+            this.resolvedTs = split.getResolvedTs();
+        }
+
+        private void poll(RecordsBySplits.Builder<TiKVRecord> builder) throws InterruptedException {
+            if (cdcClient == null) {
+                LOG.info("Start reading stream split {} from resolvedTs {}", split, resolvedTs);
+                cdcClient = new CDCClient(getSession(), split.getKeyRange());
+                cdcClient.start(resolvedTs);
+            }
+            for (int i = 0; i < STREAM_BATCH_SIZE; i++) {
+                final Cdcpb.Event.Row row = cdcClient.get();
+                if (row == null) {
+                    break;
+                }
+                changeEventBuffer.handleRow(row);
+                if (changeEventBuffer.isFull()) {
+                    // flush the resolved rows before taking more rows from the change stream
+                    break;
+                }
+            }
+            final long minResolvedTs = cdcClient.getMinResolvedTs();
+            if (minResolvedTs <= resolvedTs) {
+                return;
+            }
+            resolvedTs = minResolvedTs;
+            Cdcpb.Event.Row prewriteRow;
+            while ((prewriteRow = changeEventBuffer.pollCommittedRow(resolvedTs)) != null) {
+                builder.add(split, TiKVRecord.ofChangeRow(prewriteRow));
+            }
+            // the marker moves the checkpointed resolvedTs after all rows it covers
+            builder.add(split, TiKVRecord.ofResolvedTs(resolvedTs));
+        }
+
+        private void close() {
+            if (cdcClient != null) {
+                cdcClient.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.split;
+
+import org.tikv.common.util.KeyRangeUtils;
+import org.tikv.kvproto.Coprocessor;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The split to describe the key range of a table that is served by one TiKV region. All the
+ * snapshot splits of a source are scanned at the same start ts, which is also the ts the change
+ * stream starts from.
+ */
+public class TiKVSnapshotSplit extends TiKVSourceSplit {
+
+    /** The raw key to start scanning from, inclusive. */
+    private final byte[] startKey;
+
+    /** The raw key to stop scanning at, exclusive. */
+    private final byte[] endKey;
+
+    private final long startTs;
+
+    private final boolean finished;
+
+    public TiKVSnapshotSplit(
+            String splitId,
+            long tableId,
+            byte[] startKey,
+            byte[] endKey,
+            long startTs,
+            boolean finished) {
+        super(splitId, tableId);
+        this.startKey = startKey;
+        this.endKey = endKey;
+        this.startTs = startTs;
+        this.finished = finished;
+    }
+
+    public byte[] getStartKey() {
+        return startKey;
+    }
+
+    public byte[] getEndKey() {
+        return endKey;
+    }
+
+    public long getStartTs() {
+        return startTs;
+    }
+
+    /** Whether all rows of the split have been read. */
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public Coprocessor.KeyRange getKeyRange() {
+        return KeyRangeUtils.makeCoprocRange(
+                ByteString.copyFrom(startKey), ByteString.copyFrom(endKey));
+    }
+
+    /** Returns a copy of this split which has been read completely. */
+    public TiKVSnapshotSplit asFinished() {
+        return new TiKVSnapshotSplit(splitId, tableId, startKey, endKey, startTs, true);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        TiKVSnapshotSplit that = (TiKVSnapshotSplit) o;
+        return startTs == that.startTs
+                && finished == that.finished
+                && Arrays.equals(startKey, that.startKey)
+                && Arrays.equals(endKey, that.endKey);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(super.hashCode(), startTs, finished);
+        result = 31 * result + Arrays.hashCode(startKey);
+        result = 31 * result + Arrays.hashCode(endKey);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "TiKVSnapshotSplit{"
+                + "splitId='"
+                + splitId
+                + '\''
+                + ", tableId="
+                + tableId
+                + ", startTs="
+                + startTs
+                + ", finished="
+                + finished
+                + '}';
+    }
+}
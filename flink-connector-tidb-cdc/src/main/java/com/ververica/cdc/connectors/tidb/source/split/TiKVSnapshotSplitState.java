@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.split;
+
+/** The state of split to describe the scan progress of a {@link TiKVSnapshotSplit}. */
+public class TiKVSnapshotSplitState extends TiKVSourceSplitState {
+
+    private final TiKVSnapshotSplit split;
+
+    /** The raw key to resume scanning from. */
+    private byte[] nextKey;
+
+    public TiKVSnapshotSplitState(TiKVSnapshotSplit split) {
+        this.split = split;
+        this.nextKey = split.getStartKey();
+    }
+
+    public byte[] getNextKey() {
+        return nextKey;
+    }
+
+    public void setNextKey(byte[] nextKey) {
+        this.nextKey = nextKey;
+    }
+
+    @Override
+    public TiKVSnapshotSplit toSourceSplit() {
+        return new TiKVSnapshotSplit(
+                split.splitId(),
+                split.getTableId(),
+                nextKey,
+                split.getEndKey(),
+                split.getStartTs(),
+                split.isFinished());
+    }
+
+    @Override
+    public String toString() {
+        return "TiKVSnapshotSplitState{" + "split=" + split + '}';
+    }
+}
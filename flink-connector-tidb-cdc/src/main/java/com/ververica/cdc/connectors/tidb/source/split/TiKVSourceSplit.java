@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.split;
+
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplit;
+
+import java.util.Objects;
+
+/** The split of table which is read by {@link TiKVSnapshotSplit} or {@link TiKVStreamSplit}. */
+public abstract class TiKVSourceSplit extends HybridSourceSplit {
+
+    protected final long tableId;
+
+    public TiKVSourceSplit(String splitId, long tableId) {
+        super(splitId);
+        this.tableId = tableId;
+    }
+
+    public long getTableId() {
+        return tableId;
+    }
+
+    @Override
+    public final boolean isSnapshotSplit() {
+        return getClass() == TiKVSnapshotSplit.class;
+    }
+
+    /** Casts this split into a {@link TiKVSnapshotSplit}. */
+    public final TiKVSnapshotSplit asSnapshotSplit() {
+        return (TiKVSnapshotSplit) this;
+    }
+
+    /** Casts this split into a {@link TiKVStreamSplit}. */
+    public final TiKVStreamSplit asStreamSplit() {
+        return (TiKVStreamSplit) this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        TiKVSourceSplit that = (TiKVSourceSplit) o;
+        return tableId == that.tableId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), tableId);
+    }
+}
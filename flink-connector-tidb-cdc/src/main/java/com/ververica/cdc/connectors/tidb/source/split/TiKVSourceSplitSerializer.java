@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.split;
+
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplitSerializer;
+
+import java.io.IOException;
+
+/** A serializer for the {@link TiKVSourceSplit}. */
+public final class TiKVSourceSplitSerializer extends HybridSourceSplitSerializer<TiKVSourceSplit> {
+
+    public static final TiKVSourceSplitSerializer INSTANCE = new TiKVSourceSplitSerializer();
+
+    @Override
+    public void writeSplit(TiKVSourceSplit split, DataOutputView out) throws IOException {
+        if (split.isSnapshotSplit()) {
+            final TiKVSnapshotSplit snapshotSplit = split.asSnapshotSplit();
+            out.writeInt(SNAPSHOT_SPLIT_FLAG);
+            out.writeUTF(snapshotSplit.splitId());
+            out.writeLong(snapshotSplit.getTableId());
+            writeBytes(snapshotSplit.getStartKey(), out);
+            writeBytes(snapshotSplit.getEndKey(), out);
+            out.writeLong(snapshotSplit.getStartTs());
+            out.writeBoolean(snapshotSplit.isFinished());
+        } else {
+            final TiKVStreamSplit streamSplit = split.asStreamSplit();
+            out.writeInt(STREAM_SPLIT_FLAG);
+            out.writeUTF(streamSplit.splitId());
+            out.writeLong(streamSplit.getTableId());
+            writeBytes(streamSplit.getStartKey(), out);
+            writeBytes(streamSplit.getEndKey(), out);
+            out.writeLong(streamSplit.getResolvedTs());
+        }
+    }
+
+    @Override
+    public TiKVSourceSplit readSplit(DataInputView in) throws IOException {
+        final int splitKind = in.readInt();
+        if (splitKind == SNAPSHOT_SPLIT_FLAG) {
+            return new TiKVSnapshotSplit(
+                    in.readUTF(),
+                    in.readLong(),
+                    readBytes(in),
+                    readBytes(in),
+                    in.readLong(),
+                    in.readBoolean());
+        } else if (splitKind == STREAM_SPLIT_FLAG) {
+            return new TiKVStreamSplit(
+                    in.readUTF(), in.readLong(), readBytes(in), readBytes(in), in.readLong());
+        } else {
+            throw new IOException("Unknown split kind: " + splitKind);
+        }
+    }
+
+    private static void writeBytes(byte[] bytes, DataOutputView out) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputView in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
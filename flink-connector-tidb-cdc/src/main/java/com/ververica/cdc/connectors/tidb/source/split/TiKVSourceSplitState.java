@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.split;
+
+import com.ververica.cdc.connectors.base.source.hybrid.split.HybridSourceSplitState;
+
+/** State of the reader, essentially a mutable version of the {@link TiKVSourceSplit}. */
+public abstract class TiKVSourceSplitState extends HybridSourceSplitState<TiKVSourceSplit> {
+
+    /** Checks whether this split state is a snapshot split state. */
+    public final boolean isSnapshotSplitState() {
+        return getClass() == TiKVSnapshotSplitState.class;
+    }
+
+    /** Casts this split state into a {@link TiKVSnapshotSplitState}. */
+    public final TiKVSnapshotSplitState asSnapshotSplitState() {
+        return (TiKVSnapshotSplitState) this;
+    }
+
+    /** Casts this split state into a {@link TiKVStreamSplitState}. */
+    public final TiKVStreamSplitState asStreamSplitState() {
+        return (TiKVStreamSplitState) this;
+    }
+}
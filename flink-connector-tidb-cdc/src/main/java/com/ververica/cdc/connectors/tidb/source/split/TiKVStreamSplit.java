@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.split;
+
+import org.tikv.common.util.KeyRangeUtils;
+import org.tikv.kvproto.Coprocessor;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/** The split to describe the change stream of a table key range from a resolved ts. */
+public class TiKVStreamSplit extends TiKVSourceSplit {
+
+    private final byte[] startKey;
+    private final byte[] endKey;
+    private final long resolvedTs;
+
+    public TiKVStreamSplit(
+            String splitId, long tableId, byte[] startKey, byte[] endKey, long resolvedTs) {
+        super(splitId, tableId);
+        this.startKey = startKey;
+        this.endKey = endKey;
+        this.resolvedTs = resolvedTs;
+    }
+
+    public byte[] getStartKey() {
+        return startKey;
+    }
+
+    public byte[] getEndKey() {
+        return endKey;
+    }
+
+    /** All the changes committed at or before the resolved ts have been emitted. */
+    public long getResolvedTs() {
+        return resolvedTs;
+    }
+
+    public Coprocessor.KeyRange getKeyRange() {
+        return KeyRangeUtils.makeCoprocRange(
+                ByteString.copyFrom(startKey), ByteString.copyFrom(endKey));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        TiKVStreamSplit that = (TiKVStreamSplit) o;
+        return resolvedTs == that.resolvedTs
+                && Arrays.equals(startKey, that.startKey)
+                && Arrays.equals(endKey, that.endKey);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(super.hashCode(), resolvedTs);
+        result = 31 * result + Arrays.hashCode(startKey);
+        result = 31 * result + Arrays.hashCode(endKey);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "TiKVStreamSplit{"
+                + "splitId='"
+                + splitId
+                + '\''
+                + ", tableId="
+                + tableId
+                + ", resolvedTs="
+                + resolvedTs
+                + '}';
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source.split;
+
+/** The state of split to describe the resolved ts of a {@link TiKVStreamSplit}. */
+public class TiKVStreamSplitState extends TiKVSourceSplitState {
+
+    private final TiKVStreamSplit split;
+
+    private long resolvedTs;
+
+    public TiKVStreamSplitState(TiKVStreamSplit split) {
+        this.split = split;
+        this.resolvedTs = split.getResolvedTs();
+    }
+
+    public long getResolvedTs() {
+        return resolvedTs;
+    }
+
+    public void setResolvedTs(long resolvedTs) {
+        this.resolvedTs = resolvedTs;
+    }
+
+    @Override
+    public TiKVStreamSplit toSourceSplit() {
+        return new TiKVStreamSplit(
+                split.splitId(),
+                split.getTableId(),
+                split.getStartKey(),
+                split.getEndKey(),
+                resolvedTs);
+    }
+
+    @Override
+    public String toString() {
+        return "TiKVStreamSplitState{" + "split=" + split + ", resolvedTs=" + resolvedTs + '}';
+    }
+}
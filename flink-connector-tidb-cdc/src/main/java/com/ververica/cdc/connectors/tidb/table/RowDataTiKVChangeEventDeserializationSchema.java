@@ -31,7 +31,6 @@ import org.tikv.common.key.RowKey;
 import org.tikv.kvproto.Cdcpb.Event.Row;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
-import static org.tikv.common.codec.TableCodec.decodeObjects;
 
 /**
  * Deserialization schema from TiKV Change Event to Flink Table/SQL internal data structure {@link
@@ -53,7 +52,31 @@ public class RowDataTiKVChangeEventDeserializationSchema
             TypeInformation<RowData> resultTypeInfo,
             TiKVMetadataConverter[] metadataConverters,
             RowType physicalDataType) {
-        super(tiConf, database, tableName, metadataConverters, physicalDataType);
+        this(
+                tiConf,
+                database,
+                tableName,
+                resultTypeInfo,
+                metadataConverters,
+                physicalDataType,
+                false);
+    }
+
+    public RowDataTiKVChangeEventDeserializationSchema(
+            TiConfiguration tiConf,
+            String database,
+            String tableName,
+            TypeInformation<RowData> resultTypeInfo,
+            TiKVMetadataConverter[] metadataConverters,
+            RowType physicalDataType,
+            boolean converterCodeGeneration) {
+        super(
+                tiConf,
+                database,
+                tableName,
+                metadataConverters,
+                physicalDataType,
+                converterCodeGeneration);
         this.resultTypeInfo = checkNotNull(resultTypeInfo);
     }
 
@@ -68,7 +91,7 @@ public class RowDataTiKVChangeEventDeserializationSchema
 
         switch (row.getOpType()) {
             case DELETE:
-                tikvValues = decodeObjects(row.getOldValue().toByteArray(), handle, tableInfo);
+                tikvValues = decodeObjects(row.getOldValue().toByteArray(), handle);
                 RowData rowDataDelete =
                         (RowData) physicalConverter.convert(tikvValues, tableInfo, null);
                 rowDataDelete.setRowKind(RowKind.DELETE);
@@ -76,11 +99,7 @@ public class RowDataTiKVChangeEventDeserializationSchema
                 break;
             case PUT:
                 try {
-                    tikvValues =
-                            decodeObjects(
-                                    row.getValue().toByteArray(),
-                                    RowKey.decode(row.getKey().toByteArray()).getHandle(),
-                                    tableInfo);
+                    tikvValues = decodeObjects(row.getValue().toByteArray(), handle);
                     if (row.getOldValue() == null || row.getOldValue().isEmpty()) {
                         RowData rowDataUpdateBefore =
                                 (RowData) physicalConverter.convert(tikvValues, tableInfo, null);
@@ -33,6 +33,7 @@ import org.apache.flink.util.FlinkRuntimeException;
 import com.ververica.cdc.debezium.utils.TemporalConversions;
 import org.tikv.common.TiConfiguration;
 import org.tikv.common.TiSession;
+import org.tikv.common.codec.ProjectedRowDecoder;
 import org.tikv.common.meta.TiColumnInfo;
 import org.tikv.common.meta.TiTableInfo;
 import org.tikv.kvproto.Kvrpcpb;
@@ -72,18 +73,39 @@ public class RowDataTiKVEventDeserializationSchemaBase implements Serializable {
      */
     protected final TiKVDeserializationRuntimeConverter physicalConverter;
 
+    /** Names of the physical columns to produce, other columns of the table are not decoded. */
+    private final String[] physicalFieldNames;
+
+    /** Whether the column at each offset of the table is produced, computed from tableInfo. */
+    private transient boolean[] requiredColumns;
+
     public RowDataTiKVEventDeserializationSchemaBase(
             TiConfiguration tiConf,
             String database,
             String tableName,
             TiKVMetadataConverter[] metadataConverters,
             RowType physicalDataType) {
+        this(tiConf, database, tableName, metadataConverters, physicalDataType, false);
+    }
+
+    public RowDataTiKVEventDeserializationSchemaBase(
+            TiConfiguration tiConf,
+            String database,
+            String tableName,
+            TiKVMetadataConverter[] metadataConverters,
+            RowType physicalDataType,
+            boolean converterCodeGeneration) {
         this.tiConf = checkNotNull(tiConf);
         this.database = checkNotNull(database);
         this.tableName = checkNotNull(tableName);
         this.hasMetadata = checkNotNull(metadataConverters).length > 0;
         this.appendMetadataCollector = new TiKVAppendMetadataCollector(metadataConverters);
-        this.physicalConverter = createConverter(checkNotNull(physicalDataType));
+        this.physicalConverter =
+                converterCodeGeneration
+                        ? TiKVDeserializationRuntimeConverterCodeGenerator.generateRowConverter(
+                                checkNotNull(physicalDataType))
+                        : createConverter(checkNotNull(physicalDataType));
+        this.physicalFieldNames = physicalDataType.getFieldNames().toArray(new String[0]);
     }
 
     protected TiTableInfo fetchTableInfo() {
@@ -94,6 +116,21 @@ public class RowDataTiKVEventDeserializationSchemaBase implements Serializable {
         }
     }
 
+    /** Decodes the physical columns of a row value of {@link #tableInfo}. */
+    protected Object[] decodeObjects(byte[] value, long handle) {
+        if (requiredColumns == null) {
+            final boolean[] required = new boolean[tableInfo.getColumns().size()];
+            for (String fieldName : physicalFieldNames) {
+                final TiColumnInfo columnInfo = tableInfo.getColumn(fieldName);
+                if (columnInfo != null) {
+                    required[columnInfo.getOffset()] = true;
+                }
+            }
+            requiredColumns = required;
+        }
+        return ProjectedRowDecoder.decodeObjects(value, handle, tableInfo, requiredColumns);
+    }
+
     public void emit(
             TiKVMetadataConverter.TiKVRowValue inRecord,
             RowData physicalRow,
@@ -29,7 +29,6 @@ import org.tikv.common.key.RowKey;
 import org.tikv.kvproto.Kvrpcpb.KvPair;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
-import static org.tikv.common.codec.TableCodec.decodeObjects;
 
 /**
  * Deserialization schema from TiKV Snapshot Event to Flink Table/SQL internal data structure {@link
@@ -51,7 +50,31 @@ public class RowDataTiKVSnapshotEventDeserializationSchema
             TypeInformation<RowData> resultTypeInfo,
             TiKVMetadataConverter[] metadataConverters,
             RowType physicalDataType) {
-        super(tiConf, database, tableName, metadataConverters, physicalDataType);
+        this(
+                tiConf,
+                database,
+                tableName,
+                resultTypeInfo,
+                metadataConverters,
+                physicalDataType,
+                false);
+    }
+
+    public RowDataTiKVSnapshotEventDeserializationSchema(
+            TiConfiguration tiConf,
+            String database,
+            String tableName,
+            TypeInformation<RowData> resultTypeInfo,
+            TiKVMetadataConverter[] metadataConverters,
+            RowType physicalDataType,
+            boolean converterCodeGeneration) {
+        super(
+                tiConf,
+                database,
+                tableName,
+                metadataConverters,
+                physicalDataType,
+                converterCodeGeneration);
         this.resultTypeInfo = checkNotNull(resultTypeInfo);
     }
 
@@ -68,8 +91,7 @@ public class RowDataTiKVSnapshotEventDeserializationSchema
         Object[] tikvValues =
                 decodeObjects(
                         record.getValue().toByteArray(),
-                        RowKey.decode(record.getKey().toByteArray()).getHandle(),
-                        tableInfo);
+                        RowKey.decode(record.getKey().toByteArray()).getHandle());
 
         emit(
                 new TiKVMetadataConverter.TiKVRowValue(record),
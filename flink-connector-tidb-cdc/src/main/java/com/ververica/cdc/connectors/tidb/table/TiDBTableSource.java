@@ -24,16 +24,24 @@ import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.connector.source.SourceFunctionProvider;
+import org.apache.flink.table.connector.source.SourceProvider;
+import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
+import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsReadingMetadata;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.utils.DataTypeUtils;
 import org.apache.flink.types.RowKind;
 
 import com.ververica.cdc.connectors.tidb.TDBSourceOptions;
 import com.ververica.cdc.connectors.tidb.TiDBSource;
+import com.ververica.cdc.connectors.tidb.source.TiDBIncrementalSource;
+import com.ververica.cdc.connectors.tidb.table.utils.ColumnValueRange;
 import org.tikv.common.TiConfiguration;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -47,7 +55,11 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * A {@link DynamicTableSource} that describes how to create a TiDB change event stream from a
  * logical description.
  */
-public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata {
+public class TiDBTableSource
+        implements ScanTableSource,
+                SupportsReadingMetadata,
+                SupportsProjectionPushDown,
+                SupportsFilterPushDown {
 
     private final ResolvedSchema physicalSchema;
     private final String database;
@@ -55,14 +67,23 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
     private final String pdAddresses;
     private final StartupOptions startupOptions;
     private final Map<String, String> options;
+    private final boolean converterCodeGenerationEnabled;
+    private final boolean enableParallelRead;
+    private final int changeEventBufferMaxRows;
 
     // --------------------------------------------------------------------------------------------
     // Mutable attributes
     // --------------------------------------------------------------------------------------------
 
+    /** Data type of the physical columns to read, all physical columns if not projected. */
+    protected DataType physicalDataType;
+
     /** Data type that describes the final output of the source. */
     protected DataType producedDataType;
 
+    /** Value ranges of the columns derived from the pushed down filters. */
+    protected List<ColumnValueRange> columnValueRanges;
+
     /** Metadata that is appended at the end of a physical source row. */
     protected List<String> metadataKeys;
 
@@ -72,15 +93,23 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
             String tableName,
             String pdAddresses,
             StartupOptions startupOptions,
-            Map<String, String> options) {
+            Map<String, String> options,
+            boolean converterCodeGenerationEnabled,
+            boolean enableParallelRead,
+            int changeEventBufferMaxRows) {
         this.physicalSchema = physicalSchema;
         this.database = checkNotNull(database);
         this.tableName = checkNotNull(tableName);
         this.pdAddresses = checkNotNull(pdAddresses);
         this.startupOptions = startupOptions;
+        this.physicalDataType = physicalSchema.toPhysicalRowDataType();
         this.producedDataType = physicalSchema.toPhysicalRowDataType();
         this.options = options;
+        this.converterCodeGenerationEnabled = converterCodeGenerationEnabled;
+        this.enableParallelRead = enableParallelRead;
+        this.changeEventBufferMaxRows = changeEventBufferMaxRows;
         this.metadataKeys = Collections.emptyList();
+        this.columnValueRanges = Collections.emptyList();
     }
 
     @Override
@@ -95,8 +124,7 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
     @Override
     public ScanRuntimeProvider getScanRuntimeProvider(ScanContext scanContext) {
         final TiConfiguration tiConf = TDBSourceOptions.getTiConfiguration(pdAddresses, options);
-        RowType physicalDataType =
-                (RowType) physicalSchema.toPhysicalRowDataType().getLogicalType();
+        RowType physicalDataType = (RowType) this.physicalDataType.getLogicalType();
         TypeInformation<RowData> typeInfo = scanContext.createTypeInformation(producedDataType);
         TiKVMetadataConverter[] metadataConverters = getMetadataConverters();
 
@@ -107,7 +135,8 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
                         tableName,
                         typeInfo,
                         metadataConverters,
-                        physicalDataType);
+                        physicalDataType,
+                        converterCodeGenerationEnabled);
 
         RowDataTiKVChangeEventDeserializationSchema changeEventDeserializationSchema =
                 new RowDataTiKVChangeEventDeserializationSchema(
@@ -116,8 +145,23 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
                         tableName,
                         typeInfo,
                         metadataConverters,
-                        physicalDataType);
+                        physicalDataType,
+                        converterCodeGenerationEnabled);
 
+        if (enableParallelRead) {
+            TiDBIncrementalSource<RowData> parallelSource =
+                    TiDBIncrementalSource.<RowData>builder()
+                            .database(database)
+                            .tableList(tableName)
+                            .startupOptions(startupOptions)
+                            .tiConf(tiConf)
+                            .snapshotEventDeserializer(snapshotEventDeserializationSchema)
+                            .changeEventDeserializer(changeEventDeserializationSchema)
+                            .changeEventBufferMaxRows(changeEventBufferMaxRows)
+                            .columnValueRanges(columnValueRanges)
+                            .build();
+            return SourceProvider.of(parallelSource);
+        }
         TiDBSource.Builder<RowData> builder =
                 TiDBSource.<RowData>builder()
                         .database(database)
@@ -125,7 +169,9 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
                         .startupOptions(startupOptions)
                         .tiConf(tiConf)
                         .snapshotEventDeserializer(snapshotEventDeserializationSchema)
-                        .changeEventDeserializer(changeEventDeserializationSchema);
+                        .changeEventDeserializer(changeEventDeserializationSchema)
+                        .changeEventBufferMaxRows(changeEventBufferMaxRows)
+                        .columnValueRanges(columnValueRanges);
         return SourceFunctionProvider.of(builder.build(), false);
     }
 
@@ -133,9 +179,19 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
     public DynamicTableSource copy() {
         TiDBTableSource source =
                 new TiDBTableSource(
-                        physicalSchema, database, tableName, pdAddresses, startupOptions, options);
+                        physicalSchema,
+                        database,
+                        tableName,
+                        pdAddresses,
+                        startupOptions,
+                        options,
+                        converterCodeGenerationEnabled,
+                        enableParallelRead,
+                        changeEventBufferMaxRows);
+        source.physicalDataType = physicalDataType;
         source.producedDataType = producedDataType;
         source.metadataKeys = metadataKeys;
+        source.columnValueRanges = columnValueRanges;
         return source;
     }
 
@@ -172,8 +228,13 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
                 && Objects.equals(pdAddresses, that.pdAddresses)
                 && Objects.equals(startupOptions, that.startupOptions)
                 && Objects.equals(options, that.options)
+                && converterCodeGenerationEnabled == that.converterCodeGenerationEnabled
+                && enableParallelRead == that.enableParallelRead
+                && changeEventBufferMaxRows == that.changeEventBufferMaxRows
+                && Objects.equals(physicalDataType, that.physicalDataType)
                 && Objects.equals(producedDataType, that.producedDataType)
-                && Objects.equals(metadataKeys, that.metadataKeys);
+                && Objects.equals(metadataKeys, that.metadataKeys)
+                && Objects.equals(columnValueRanges, that.columnValueRanges);
     }
 
     @Override
@@ -185,8 +246,13 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
                 pdAddresses,
                 startupOptions,
                 options,
+                converterCodeGenerationEnabled,
+                enableParallelRead,
+                changeEventBufferMaxRows,
+                physicalDataType,
                 producedDataType,
-                metadataKeys);
+                metadataKeys,
+                columnValueRanges);
     }
 
     @Override
@@ -194,6 +260,28 @@ public class TiDBTableSource implements ScanTableSource, SupportsReadingMetadata
         return "TiDB-CDC";
     }
 
+    @Override
+    public boolean supportsNestedProjection() {
+        return false;
+    }
+
+    @Override
+    public void applyProjection(int[][] projectedFields) {
+        // only the projected columns are decoded from the TiKV row values
+        this.physicalDataType =
+                DataTypeUtils.projectRow(physicalSchema.toPhysicalRowDataType(), projectedFields);
+        this.producedDataType = physicalDataType;
+    }
+
+    @Override
+    public Result applyFilters(List<ResolvedExpression> filters) {
+        // the filters are only used to skip the key ranges that cannot contain matching rows, so
+        // all of them are still evaluated on the produced rows
+        final List<ResolvedExpression> acceptedFilters = new ArrayList<>();
+        this.columnValueRanges = ColumnValueRange.fromFilters(filters, acceptedFilters);
+        return Result.of(acceptedFilters, filters);
+    }
+
     @Override
     public Map<String, DataType> listReadableMetadata() {
         return Stream.of(TiKVReadableMetadata.createTiKVReadableMetadata(database, tableName))
@@ -26,6 +26,8 @@ import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.factories.DynamicTableSourceFactory;
 import org.apache.flink.table.factories.FactoryUtil;
 
+import com.ververica.cdc.connectors.tidb.TiKVChangeEventBuffer;
+
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -33,6 +35,9 @@ import java.util.Set;
 
 import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.DATABASE_NAME;
 import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.PD_ADDRESSES;
+import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.SCAN_CHANGE_EVENT_BUFFER_MAX_ROWS;
+import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.SCAN_CONVERTER_CODE_GENERATION_ENABLED;
+import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.SCAN_INCREMENTAL_SNAPSHOT_ENABLED;
 import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.SCAN_STARTUP_MODE;
 import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.TABLE_NAME;
 import static com.ververica.cdc.connectors.tidb.TDBSourceOptions.TIKV_BATCH_GET_CONCURRENCY;
@@ -65,7 +70,11 @@ public class TiDBTableSourceFactory implements DynamicTableSourceFactory {
                 tableName,
                 pdAddresses,
                 startupOptions,
-                TiKVOptions.getTiKVOptions(context.getCatalogTable().getOptions()));
+                TiKVOptions.getTiKVOptions(context.getCatalogTable().getOptions()),
+                config.get(SCAN_CONVERTER_CODE_GENERATION_ENABLED),
+                config.get(SCAN_INCREMENTAL_SNAPSHOT_ENABLED),
+                config.getOptional(SCAN_CHANGE_EVENT_BUFFER_MAX_ROWS)
+                        .orElse(TiKVChangeEventBuffer.UNBOUNDED));
     }
 
     @Override
@@ -90,6 +99,9 @@ public class TiDBTableSourceFactory implements DynamicTableSourceFactory {
         options.add(TIKV_GRPC_SCAN_TIMEOUT);
         options.add(TIKV_BATCH_GET_CONCURRENCY);
         options.add(TIKV_BATCH_SCAN_CONCURRENCY);
+        options.add(SCAN_CONVERTER_CODE_GENERATION_ENABLED);
+        options.add(SCAN_INCREMENTAL_SNAPSHOT_ENABLED);
+        options.add(SCAN_CHANGE_EVENT_BUFFER_MAX_ROWS);
         return options;
     }
 
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.table;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.types.logical.RowType;
+
+import com.ververica.cdc.debezium.table.GeneratedConverter;
+import org.tikv.common.meta.TiColumnInfo;
+import org.tikv.common.meta.TiTableInfo;
+import org.tikv.common.types.DataType;
+
+import java.util.List;
+
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.addReferenceMember;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.generateClass;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.getUserCodeClassLoader;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.newClassName;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.quoteString;
+import static com.ververica.cdc.debezium.utils.CodeGeneratorUtils.typeTerm;
+
+/**
+ * Generates a {@link TiKVDeserializationRuntimeConverter} class for a {@link RowType}, which
+ * converts the decoded column values of a TiKV row one after another in straight-line code.
+ *
+ * <p>Every field is converted at its own call site and the null checks are inlined, so the call
+ * sites of the field converters created by {@link
+ * RowDataTiKVEventDeserializationSchemaBase#createNotNullConverter} stay monomorphic and can be
+ * inlined by the JIT compiler.
+ */
+@Internal
+public final class TiKVDeserializationRuntimeConverterCodeGenerator {
+
+    private TiKVDeserializationRuntimeConverterCodeGenerator() {}
+
+    /**
+     * Generates a null safe converter which converts the decoded column values of a TiKV row into a
+     * {@link GenericRowData} of the given row type.
+     */
+    public static TiKVDeserializationRuntimeConverter generateRowConverter(RowType rowType) {
+        final String className = newClassName("TiKVRowConverter");
+        final String converterType = typeTerm(TiKVDeserializationRuntimeConverter.class);
+        final String columnInfoType = typeTerm(TiColumnInfo.class);
+        final String tableInfoType = typeTerm(TiTableInfo.class);
+        final List<RowType.RowField> fields = rowType.getFields();
+        final Object[] references = new Object[fields.size()];
+        final StringBuilder memberDeclarations = new StringBuilder();
+        final StringBuilder memberInitializations = new StringBuilder();
+        final StringBuilder columnResolutions = new StringBuilder();
+        final StringBuilder fieldConversions = new StringBuilder();
+
+        for (int i = 0; i < fields.size(); i++) {
+            final RowType.RowField field = fields.get(i);
+            references[i] =
+                    RowDataTiKVEventDeserializationSchemaBase.createNotNullConverter(
+                            field.getType());
+            addReferenceMember(
+                    memberDeclarations, memberInitializations, converterType, "converter" + i, i);
+            columnResolutions
+                    .append("    columnInfos[")
+                    .append(i)
+                    .append("] = tableInfo.getColumn(")
+                    .append(quoteString(field.getName()))
+                    .append(");\n");
+            fieldConversions
+                    .append("    columnInfo = columnInfos[")
+                    .append(i)
+                    .append("];\n")
+                    .append("    if (columnInfo != null) {\n")
+                    .append("      type = columnInfo.getType();\n")
+                    .append("      value = values[columnInfo.getOffset()];\n")
+                    .append("      if (value != null) {\n")
+                    .append("        if (type.isUnsigned()) {\n")
+                    .append("          value = ")
+                    .append(typeTerm(RowDataTiKVEventDeserializationSchemaBase.class))
+                    .append(".dealUnsignedColumnValue(type, value);\n")
+                    .append("        }\n")
+                    .append("        row.setField(")
+                    .append(i)
+                    .append(", converter")
+                    .append(i)
+                    .append(".convert(value, tableInfo, type));\n")
+                    .append("      }\n")
+                    .append("    }\n");
+        }
+
+        // the columns are looked up by name once per table info instead of once per row, the
+        // table info only changes on schema changes
+        memberDeclarations
+                .append("  private final ")
+                .append(columnInfoType)
+                .append("[] columnInfos = new ")
+                .append(columnInfoType)
+                .append('[')
+                .append(fields.size())
+                .append("];\n")
+                .append("  private ")
+                .append(tableInfoType)
+                .append(" resolvedTableInfo;\n");
+
+        final String methods =
+                "  public Object convert(Object object, "
+                        + tableInfoType
+                        + " tableInfo, "
+                        + typeTerm(DataType.class)
+                        + " dataType) throws Exception {\n"
+                        + "    if (object == null) {\n"
+                        + "      return null;\n"
+                        + "    }\n"
+                        + "    if (tableInfo != resolvedTableInfo) {\n"
+                        + "      resolveColumns(tableInfo);\n"
+                        + "    }\n"
+                        + "    final Object[] values = (Object[]) object;\n"
+                        + "    final "
+                        + typeTerm(GenericRowData.class)
+                        + " row = new "
+                        + typeTerm(GenericRowData.class)
+                        + "("
+                        + fields.size()
+                        + ");\n"
+                        + "    "
+                        + columnInfoType
+                        + " columnInfo;\n"
+                        + "    "
+                        + typeTerm(DataType.class)
+                        + " type;\n"
+                        + "    Object value;\n"
+                        + fieldConversions
+                        + "    return row;\n"
+                        + "  }\n"
+                        + "\n"
+                        + "  private void resolveColumns("
+                        + tableInfoType
+                        + " tableInfo) {\n"
+                        + columnResolutions
+                        + "    resolvedTableInfo = tableInfo;\n"
+                        + "  }\n";
+        final String code =
+                generateClass(
+                        className,
+                        TiKVDeserializationRuntimeConverter.class,
+                        memberDeclarations,
+                        memberInitializations,
+                        methods);
+
+        return new CodeGeneratedConverter(new GeneratedConverter<>(className, code, references));
+    }
+
+    /**
+     * A serializable {@link TiKVDeserializationRuntimeConverter} which compiles the generated
+     * converter class when it's used for the first time.
+     */
+    private static final class CodeGeneratedConverter
+            implements TiKVDeserializationRuntimeConverter {
+
+        private static final long serialVersionUID = 1L;
+
+        private final GeneratedConverter<TiKVDeserializationRuntimeConverter> generatedConverter;
+
+        private transient TiKVDeserializationRuntimeConverter converter;
+
+        private CodeGeneratedConverter(
+                GeneratedConverter<TiKVDeserializationRuntimeConverter> generatedConverter) {
+            this.generatedConverter = generatedConverter;
+        }
+
+        @Override
+        public Object convert(Object object, TiTableInfo tableInfo, DataType dataType)
+                throws Exception {
+            if (converter == null) {
+                converter = generatedConverter.newInstance(getUserCodeClassLoader());
+            }
+            return converter.convert(object, tableInfo, dataType);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.table.utils;
+
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An inclusive range of the values of an integer column, derived from the comparisons of the column
+ * with literals in the pushed down filters. The source uses it to skip the key ranges of rows whose
+ * handle is outside of the range.
+ */
+public class ColumnValueRange implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String columnName;
+    private final long lowerBound;
+    private final long upperBound;
+
+    public ColumnValueRange(String columnName, long lowerBound, long upperBound) {
+        this.columnName = columnName;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public long getLowerBound() {
+        return lowerBound;
+    }
+
+    public long getUpperBound() {
+        return upperBound;
+    }
+
+    public boolean isEmpty() {
+        return lowerBound > upperBound;
+    }
+
+    /**
+     * Returns the filters that can be represented as a {@link ColumnValueRange} and the ranges they
+     * imply, intersected per column. Filters are expected in conjunctive normal form, so that each
+     * of them holds for every produced row.
+     */
+    public static List<ColumnValueRange> fromFilters(
+            List<ResolvedExpression> filters, List<ResolvedExpression> acceptedFilters) {
+        final Map<String, ColumnValueRange> ranges = new LinkedHashMap<>();
+        for (ResolvedExpression filter : filters) {
+            final Optional<ColumnValueRange> range = fromFilter(filter);
+            if (range.isPresent()) {
+                acceptedFilters.add(filter);
+                ranges.merge(range.get().columnName, range.get(), ColumnValueRange::intersect);
+            }
+        }
+        return new ArrayList<>(ranges.values());
+    }
+
+    private static Optional<ColumnValueRange> fromFilter(ResolvedExpression filter) {
+        if (!(filter instanceof CallExpression)) {
+            return Optional.empty();
+        }
+        final CallExpression call = (CallExpression) filter;
+        final List<ResolvedExpression> children = call.getResolvedChildren();
+        if (children.size() != 2) {
+            return Optional.empty();
+        }
+        FunctionDefinition function = call.getFunctionDefinition();
+        ResolvedExpression field = children.get(0);
+        ResolvedExpression literal = children.get(1);
+        if (field instanceof ValueLiteralExpression
+                && literal instanceof FieldReferenceExpression) {
+            // literal op column, e.g. 10 < id
+            field = children.get(1);
+            literal = children.get(0);
+            function = flip(function);
+        }
+        if (function == null
+                || !(field instanceof FieldReferenceExpression)
+                || !(literal instanceof ValueLiteralExpression)
+                || !isIntegerType(field.getOutputDataType().getLogicalType().getTypeRoot())) {
+            return Optional.empty();
+        }
+        final Optional<Number> value = ((ValueLiteralExpression) literal).getValueAs(Number.class);
+        if (!value.isPresent()
+                || !isIntegerType(literal.getOutputDataType().getLogicalType().getTypeRoot())) {
+            return Optional.empty();
+        }
+        final String columnName = ((FieldReferenceExpression) field).getName();
+        final long v = value.get().longValue();
+        if (function == BuiltInFunctionDefinitions.EQUALS) {
+            return Optional.of(new ColumnValueRange(columnName, v, v));
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN) {
+            return Optional.of(
+                    v == Long.MAX_VALUE
+                            ? new ColumnValueRange(columnName, Long.MAX_VALUE, Long.MIN_VALUE)
+                            : new ColumnValueRange(columnName, v + 1, Long.MAX_VALUE));
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL) {
+            return Optional.of(new ColumnValueRange(columnName, v, Long.MAX_VALUE));
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN) {
+            return Optional.of(
+                    v == Long.MIN_VALUE
+                            ? new ColumnValueRange(columnName, Long.MAX_VALUE, Long.MIN_VALUE)
+                            : new ColumnValueRange(columnName, Long.MIN_VALUE, v - 1));
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL) {
+            return Optional.of(new ColumnValueRange(columnName, Long.MIN_VALUE, v));
+        }
+        return Optional.empty();
+    }
+
+    private static FunctionDefinition flip(FunctionDefinition function) {
+        if (function == BuiltInFunctionDefinitions.EQUALS) {
+            return function;
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN) {
+            return BuiltInFunctionDefinitions.LESS_THAN;
+        } else if (function == BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL) {
+            return BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL;
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN) {
+            return BuiltInFunctionDefinitions.GREATER_THAN;
+        } else if (function == BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL) {
+            return BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL;
+        }
+        return null;
+    }
+
+    private static boolean isIntegerType(LogicalTypeRoot typeRoot) {
+        switch (typeRoot) {
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private ColumnValueRange intersect(ColumnValueRange other) {
+        return new ColumnValueRange(
+                columnName,
+                Math.max(lowerBound, other.lowerBound),
+                Math.min(upperBound, other.upperBound));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ColumnValueRange that = (ColumnValueRange) o;
+        return lowerBound == that.lowerBound
+                && upperBound == that.upperBound
+                && Objects.equals(columnName, that.columnName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(columnName, lowerBound, upperBound);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnValueRange{"
+                + "columnName='"
+                + columnName
+                + '\''
+                + ", lowerBound="
+                + lowerBound
+                + ", upperBound="
+                + upperBound
+                + '}';
+    }
+}
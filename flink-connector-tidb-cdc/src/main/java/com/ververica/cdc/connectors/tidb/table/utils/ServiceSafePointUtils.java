@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.table.utils;
+
+import org.apache.flink.util.FlinkRuntimeException;
+
+import org.tikv.common.TiSession;
+import org.tikv.kvproto.PDGrpc;
+import org.tikv.kvproto.Pdpb;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utils to keep the MVCC versions read by a source from being garbage collected by TiKV.
+ *
+ * <p>A service GC safe point is registered in PD, the GC safe point of the cluster doesn't advance
+ * beyond it until it's removed or its TTL expires, like the service GC safe points of TiCDC and BR.
+ */
+public class ServiceSafePointUtils {
+
+    private ServiceSafePointUtils() {}
+
+    /**
+     * Registers or refreshes the service GC safe point of the given service and returns the minimum
+     * service GC safe point of the cluster. PD keeps the safe point only if it isn't smaller than
+     * the minimum one, so the versions at the given safe point may have been garbage collected if
+     * the returned value is larger than it.
+     */
+    public static long updateServiceSafePoint(
+            TiSession session, String serviceId, long ttlSeconds, long safePoint) {
+        FlinkRuntimeException lastException =
+                new FlinkRuntimeException("No PD address is configured");
+        for (URI pdAddress : session.getConf().getPdAddrs()) {
+            try {
+                final Pdpb.GetMembersResponse members =
+                        newBlockingStub(session, pdAddress)
+                                .getMembers(
+                                        Pdpb.GetMembersRequest.newBuilder()
+                                                .setHeader(Pdpb.RequestHeader.getDefaultInstance())
+                                                .build());
+                checkResponse(members.getHeader());
+                // the service GC safe points can only be updated through the PD leader
+                final URI leaderAddress = URI.create(members.getLeader().getClientUrls(0));
+                final Pdpb.UpdateServiceGCSafePointResponse response =
+                        newBlockingStub(session, leaderAddress)
+                                .updateServiceGCSafePoint(
+                                        Pdpb.UpdateServiceGCSafePointRequest.newBuilder()
+                                                .setHeader(
+                                                        Pdpb.RequestHeader.newBuilder()
+                                                                .setClusterId(
+                                                                        members.getHeader()
+                                                                                .getClusterId()))
+                                                .setServiceId(ByteString.copyFromUtf8(serviceId))
+                                                .setTTL(ttlSeconds)
+                                                .setSafePoint(safePoint)
+                                                .build());
+                checkResponse(response.getHeader());
+                return response.getMinSafePoint();
+            } catch (Exception e) {
+                lastException =
+                        new FlinkRuntimeException(
+                                String.format(
+                                        "Failed to update the service GC safe point %s of %s through PD %s",
+                                        safePoint, serviceId, pdAddress),
+                                e);
+            }
+        }
+        throw lastException;
+    }
+
+    private static PDGrpc.PDBlockingStub newBlockingStub(TiSession session, URI address) {
+        return PDGrpc.newBlockingStub(
+                        session.getChannelFactory()
+                                .getChannel(
+                                        address.getHost() + ":" + address.getPort(),
+                                        session.getPDClient().getHostMapping()))
+                .withDeadlineAfter(session.getConf().getTimeout(), TimeUnit.MILLISECONDS);
+    }
+
+    private static void checkResponse(Pdpb.ResponseHeader header) {
+        if (header.hasError()) {
+            throw new FlinkRuntimeException(
+                    String.format(
+                            "PD responds with error %s: %s",
+                            header.getError().getType(), header.getError().getMessage()));
+        }
+    }
+}
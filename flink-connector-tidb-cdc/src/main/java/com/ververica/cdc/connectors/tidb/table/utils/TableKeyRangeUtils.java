@@ -22,11 +22,18 @@ import org.apache.flink.util.Preconditions;
 
 import org.apache.flink.shaded.guava30.com.google.common.collect.ImmutableList;
 
+import org.tikv.common.key.Key;
 import org.tikv.common.key.RowKey;
+import org.tikv.common.meta.TiColumnInfo;
+import org.tikv.common.meta.TiTableInfo;
+import org.tikv.common.region.RegionManager;
+import org.tikv.common.region.TiRegion;
 import org.tikv.common.util.KeyRangeUtils;
 import org.tikv.kvproto.Coprocessor.KeyRange;
+import org.tikv.shade.com.google.protobuf.ByteString;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 
 /** Utils to obtain the keyRange of table. */
@@ -70,6 +77,121 @@ public class TableKeyRangeUtils {
         return getTableKeyRanges(tableId, num).get(idx);
     }
 
+    /**
+     * Splits the record key range of the table at the boundaries of the TiKV regions it currently
+     * spans, so that each returned range is served by exactly one region.
+     */
+    public static List<KeyRange> getTableRegionKeyRanges(
+            final RegionManager regionManager, final long tableId) {
+        final ByteString tableEnd = RowKey.createBeyondMax(tableId).toByteString();
+        final Key tableEndKey = Key.toRawKey(tableEnd);
+        final List<KeyRange> keyRanges = new ArrayList<>();
+        ByteString start = RowKey.createMin(tableId).toByteString();
+        while (Key.toRawKey(start).compareTo(tableEndKey) < 0) {
+            final TiRegion region = regionManager.getRegionByKey(start);
+            // an empty end key means the region is unbounded
+            final ByteString end =
+                    Key.toRawKey(region.getEndKey(), true).compareTo(tableEndKey) < 0
+                            ? region.getEndKey()
+                            : tableEnd;
+            keyRanges.add(KeyRangeUtils.makeCoprocRange(start, end));
+            start = end;
+        }
+        return keyRanges;
+    }
+
+    /** Returns the keys at which the TiKV regions split the record key range of the table. */
+    public static List<byte[]> getTableRegionSplitKeys(
+            final RegionManager regionManager, final long tableId) {
+        final List<KeyRange> regionKeyRanges = getTableRegionKeyRanges(regionManager, tableId);
+        final List<byte[]> splitKeys = new ArrayList<>();
+        for (int i = 0; i < regionKeyRanges.size() - 1; i++) {
+            splitKeys.add(regionKeyRanges.get(i).getEnd().toByteArray());
+        }
+        return splitKeys;
+    }
+
+    /**
+     * Returns the key range of the subtask when the regions of the table, separated by the given
+     * split keys, are divided into num contiguous groups of about the same number of regions. Falls
+     * back to dividing the handle space evenly when there are fewer regions than subtasks.
+     */
+    public static KeyRange getTableKeyRange(
+            final long tableId, final List<byte[]> regionSplitKeys, final int num, final int idx) {
+        Preconditions.checkArgument(idx >= 0 && idx < num, "Illegal value of idx");
+        final int regions = regionSplitKeys.size() + 1;
+        if (regions < num || !isWithinTable(tableId, regionSplitKeys)) {
+            return getTableKeyRange(tableId, num, idx);
+        }
+        final ByteString start =
+                idx == 0
+                        ? RowKey.createMin(tableId).toByteString()
+                        : ByteString.copyFrom(regionSplitKeys.get(idx * regions / num - 1));
+        final ByteString end =
+                idx == num - 1
+                        ? RowKey.createBeyondMax(tableId).toByteString()
+                        : ByteString.copyFrom(regionSplitKeys.get((idx + 1) * regions / num - 1));
+        return KeyRangeUtils.makeCoprocRange(start, end);
+    }
+
+    /** Whether the keys are sorted and strictly within the record key range of the table. */
+    private static boolean isWithinTable(final long tableId, final List<byte[]> keys) {
+        Key previous = RowKey.createMin(tableId);
+        for (byte[] key : keys) {
+            final Key current = Key.toRawKey(key);
+            if (current.compareTo(previous) <= 0) {
+                return false;
+            }
+            previous = current;
+        }
+        return previous.compareTo(RowKey.createBeyondMax(tableId)) < 0;
+    }
+
+    /**
+     * Narrows the key range to the rows whose handle is within the value range of the primary key
+     * column, if the primary key is the handle of the table. Returns null if no row of the key
+     * range can match.
+     */
+    public static KeyRange narrowKeyRange(
+            final KeyRange keyRange,
+            final TiTableInfo tableInfo,
+            final List<ColumnValueRange> columnValueRanges) {
+        if (!tableInfo.isPkHandle()) {
+            return keyRange;
+        }
+        final TiColumnInfo pkColumn = tableInfo.getPKIsHandleColumn();
+        // unsigned handles are stored as the signed long of the same bits, so ranges would wrap
+        if (pkColumn == null || pkColumn.getType().isUnsigned()) {
+            return keyRange;
+        }
+        Key start = Key.toRawKey(keyRange.getStart());
+        Key end = Key.toRawKey(keyRange.getEnd(), true);
+        boolean narrowed = false;
+        for (ColumnValueRange range : columnValueRanges) {
+            if (!range.getColumnName().equalsIgnoreCase(pkColumn.getName())) {
+                continue;
+            }
+            if (range.isEmpty()) {
+                return null;
+            }
+            final Key lower = RowKey.toRowKey(tableInfo.getId(), range.getLowerBound());
+            final Key upper =
+                    range.getUpperBound() == Long.MAX_VALUE
+                            ? RowKey.createBeyondMax(tableInfo.getId())
+                            : RowKey.toRowKey(tableInfo.getId(), range.getUpperBound() + 1);
+            start = lower.compareTo(start) > 0 ? lower : start;
+            end = upper.compareTo(end) < 0 ? upper : end;
+            narrowed = true;
+        }
+        if (!narrowed) {
+            return keyRange;
+        }
+        if (start.compareTo(end) >= 0) {
+            return null;
+        }
+        return KeyRangeUtils.makeCoprocRange(start.toByteString(), end.toByteString());
+    }
+
     public static boolean isRecordKey(final byte[] key) {
         return key[9] == '_' && key[10] == 'r';
     }
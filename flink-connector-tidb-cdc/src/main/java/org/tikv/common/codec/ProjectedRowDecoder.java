@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.tikv.common.codec;
+
+import org.tikv.common.meta.TiColumnInfo;
+import org.tikv.common.meta.TiTableInfo;
+
+import java.util.List;
+
+/**
+ * Decodes only the required columns of a TiKV row value, the other columns are left null.
+ *
+ * <p>Row format v2 keeps the column ids in a sorted index, so the required columns are looked up
+ * and decoded without touching the others, the same way as {@link TableCodecV2}. Row format v1 is a
+ * sequence of (column id, value) pairs that must be parsed in full, so it falls back to {@link
+ * TableCodec#decodeObjects}. The class lives in the TiKV codec package to access the search result
+ * of {@link RowV2}.
+ */
+public class ProjectedRowDecoder {
+
+    private ProjectedRowDecoder() {}
+
+    public static Object[] decodeObjects(
+            byte[] value, Long handle, TiTableInfo tableInfo, boolean[] requiredColumns) {
+        if (value.length == 0 || (value[0] & 0xff) != RowV2.CODEC_VER) {
+            return TableCodec.decodeObjects(value, handle, tableInfo);
+        }
+        final List<TiColumnInfo> columns = tableInfo.getColumns();
+        final Object[] values = new Object[columns.size()];
+        final RowV2 row = RowV2.createNew(value);
+        for (int i = 0; i < values.length; i++) {
+            if (i < requiredColumns.length && !requiredColumns[i]) {
+                continue;
+            }
+            final TiColumnInfo column = columns.get(i);
+            if (column.isPrimaryKey() && tableInfo.isPkHandle()) {
+                values[i] = handle;
+                continue;
+            }
+            final RowV2.ColIDSearchResult result = row.findColID(column.getId());
+            if (!result.isNull && !result.notFound) {
+                values[i] = RowDecoderV2.decodeCol(row.getData(result.idx), column.getType());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb;
+
+import org.junit.Test;
+import org.tikv.common.key.RowKey;
+import org.tikv.kvproto.Cdcpb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** Unit tests for {@link TiKVChangeEventBuffer}. */
+public class TiKVChangeEventBufferTest {
+
+    private static final long TABLE_ID = 42L;
+
+    @Test
+    public void testReleaseCommittedRowsInCommitTsOrder() {
+        TiKVChangeEventBuffer buffer = new TiKVChangeEventBuffer();
+        buffer.handleRow(row(Cdcpb.Event.LogType.PREWRITE, 10, 0, 1L));
+        buffer.handleRow(row(Cdcpb.Event.LogType.PREWRITE, 11, 0, -1L));
+        buffer.handleRow(row(Cdcpb.Event.LogType.PREWRITE, 12, 0, 3L));
+        buffer.handleRow(row(Cdcpb.Event.LogType.COMMIT, 11, 15, -1L));
+        buffer.handleRow(row(Cdcpb.Event.LogType.COMMIT, 10, 20, 1L));
+        buffer.handleRow(row(Cdcpb.Event.LogType.ROLLBACK, 12, 0, 3L));
+        buffer.handleRow(row(Cdcpb.Event.LogType.COMMITTED, 13, 14, 4L));
+
+        assertNull(buffer.pollCommittedRow(13));
+        assertEquals(Arrays.asList(4L, -1L), handles(buffer, 17));
+        assertEquals(1, buffer.size());
+        assertNull(buffer.pollCommittedRow(17));
+        assertTrue(buffer.hasCommittedRows());
+        assertEquals(
+                1L, RowKey.decode(buffer.pollCommittedRow(20).getKey().toByteArray()).getHandle());
+        assertFalse(buffer.hasCommittedRows());
+        // the rolled back row is never released
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void testManyRows() {
+        TiKVChangeEventBuffer buffer = new TiKVChangeEventBuffer(5000);
+        for (long handle = 0; handle < 5000; handle++) {
+            buffer.handleRow(row(Cdcpb.Event.LogType.PREWRITE, 100 + handle % 7, 0, handle));
+        }
+        assertTrue(buffer.isFull());
+        for (long handle = 4999; handle >= 0; handle--) {
+            buffer.handleRow(
+                    row(Cdcpb.Event.LogType.COMMIT, 100 + handle % 7, 10000 - handle, handle));
+        }
+        List<Long> released = handles(buffer, Long.MAX_VALUE);
+        assertEquals(5000, released.size());
+        for (int i = 0; i < released.size(); i++) {
+            assertEquals(Long.valueOf(4999 - i), released.get(i));
+        }
+        assertEquals(0, buffer.size());
+        assertFalse(buffer.isFull());
+    }
+
+    @Test
+    public void testDuplicatedCommitIsSkipped() {
+        TiKVChangeEventBuffer buffer = new TiKVChangeEventBuffer();
+        buffer.handleRow(row(Cdcpb.Event.LogType.PREWRITE, 10, 0, 1L));
+        buffer.handleRow(row(Cdcpb.Event.LogType.COMMIT, 10, 20, 1L));
+        buffer.handleRow(row(Cdcpb.Event.LogType.COMMIT, 10, 20, 1L));
+        assertEquals(1, handles(buffer, 20).size());
+        assertFalse(buffer.hasCommittedRows());
+    }
+
+    private static List<Long> handles(TiKVChangeEventBuffer buffer, long resolvedTs) {
+        List<Long> handles = new ArrayList<>();
+        Cdcpb.Event.Row row;
+        while ((row = buffer.pollCommittedRow(resolvedTs)) != null) {
+            handles.add(RowKey.decode(row.getKey().toByteArray()).getHandle());
+        }
+        return handles;
+    }
+
+    private static Cdcpb.Event.Row row(
+            Cdcpb.Event.LogType type, long startTs, long commitTs, long handle) {
+        return Cdcpb.Event.Row.newBuilder()
+                .setType(type)
+                .setStartTs(startTs)
+                .setCommitTs(commitTs)
+                .setKey(RowKey.toRowKey(TABLE_ID, handle).toByteString())
+                .build();
+    }
+}
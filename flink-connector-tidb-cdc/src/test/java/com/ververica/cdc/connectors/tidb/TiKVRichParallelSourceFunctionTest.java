@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb;
+
+import org.apache.flink.api.common.state.ListState;
+import org.apache.flink.api.common.state.ListStateDescriptor;
+import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.runtime.state.FunctionInitializationContext;
+import org.apache.flink.runtime.state.FunctionSnapshotContext;
+import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
+import org.apache.flink.streaming.api.functions.source.SourceFunction;
+import org.apache.flink.streaming.api.operators.StreamSource;
+import org.apache.flink.streaming.util.AbstractStreamOperatorTestHarness;
+
+import com.ververica.cdc.connectors.tidb.table.StartupMode;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for the state of {@link TiKVRichParallelSourceFunction}. */
+public class TiKVRichParallelSourceFunctionTest {
+
+    @Test
+    public void testRestoreFromLegacyState() throws Exception {
+        final OperatorSubtaskState legacyState =
+                takeState(Collections.emptyList(), Collections.singletonList(42L));
+
+        final TiKVRichParallelSourceFunction<String> source = createSource();
+        restore(source, legacyState);
+
+        assertEquals(42L, source.getRestoredResolvedTs());
+        assertTrue(source.isRestoredFromLegacyState());
+    }
+
+    @Test
+    public void testRestoreMinResolvedTsOfBothStates() throws Exception {
+        final OperatorSubtaskState state =
+                takeState(Arrays.asList(30L, 20L), Collections.singletonList(25L));
+
+        final TiKVRichParallelSourceFunction<String> source = createSource();
+        restore(source, state);
+
+        assertEquals(20L, source.getRestoredResolvedTs());
+        assertTrue(source.isRestoredFromLegacyState());
+    }
+
+    @Test
+    public void testRestoreFromUnionState() throws Exception {
+        final OperatorSubtaskState state =
+                takeState(Arrays.asList(30L, 20L), Collections.emptyList());
+
+        final TiKVRichParallelSourceFunction<String> source = createSource();
+        restore(source, state);
+
+        assertEquals(20L, source.getRestoredResolvedTs());
+        assertFalse(source.isRestoredFromLegacyState());
+    }
+
+    private static TiKVRichParallelSourceFunction<String> createSource() {
+        return new TiKVRichParallelSourceFunction<>(
+                null, null, null, StartupMode.INITIAL, "test_db", "test_table");
+    }
+
+    private static void restore(
+            TiKVRichParallelSourceFunction<String> source, OperatorSubtaskState state)
+            throws Exception {
+        try (AbstractStreamOperatorTestHarness<String> harness =
+                new AbstractStreamOperatorTestHarness<>(new StreamSource<>(source), 1, 1, 0)) {
+            harness.setup();
+            harness.initializeState(state);
+        }
+    }
+
+    /** Takes the state of a source which writes the resolved ts of both state layouts. */
+    private static OperatorSubtaskState takeState(
+            List<Long> resolvedTsList, List<Long> legacyResolvedTsList) throws Exception {
+        final StateWritingSource source =
+                new StateWritingSource(resolvedTsList, legacyResolvedTsList);
+        try (AbstractStreamOperatorTestHarness<String> harness =
+                new AbstractStreamOperatorTestHarness<>(new StreamSource<>(source), 1, 1, 0)) {
+            harness.setup();
+            harness.open();
+            return harness.snapshot(0L, 0L);
+        }
+    }
+
+    private static class StateWritingSource
+            implements SourceFunction<String>, CheckpointedFunction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Long> resolvedTsList;
+        private final List<Long> legacyResolvedTsList;
+
+        private transient ListState<Long> resolvedTsState;
+        private transient ListState<Long> legacyResolvedTsState;
+
+        private StateWritingSource(List<Long> resolvedTsList, List<Long> legacyResolvedTsList) {
+            this.resolvedTsList = resolvedTsList;
+            this.legacyResolvedTsList = legacyResolvedTsList;
+        }
+
+        @Override
+        public void initializeState(FunctionInitializationContext context) throws Exception {
+            resolvedTsState =
+                    context.getOperatorStateStore()
+                            .getUnionListState(
+                                    new ListStateDescriptor<>(
+                                            TiKVRichParallelSourceFunction.RESOLVED_TS_STATE_NAME,
+                                            LongSerializer.INSTANCE));
+            legacyResolvedTsState =
+                    context.getOperatorStateStore()
+                            .getListState(
+                                    new ListStateDescriptor<>(
+                                            TiKVRichParallelSourceFunction
+                                                    .LEGACY_RESOLVED_TS_STATE_NAME,
+                                            LongSerializer.INSTANCE));
+        }
+
+        @Override
+        public void snapshotState(FunctionSnapshotContext context) throws Exception {
+            resolvedTsState.update(resolvedTsList);
+            legacyResolvedTsState.update(legacyResolvedTsList);
+        }
+
+        @Override
+        public void run(SourceContext<String> ctx) {}
+
+        @Override
+        public void cancel() {}
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source;
+
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
+import org.apache.flink.api.common.restartstrategy.RestartStrategies;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.runtime.minicluster.MiniCluster;
+import org.apache.flink.runtime.minicluster.RpcServiceSharing;
+import org.apache.flink.runtime.testutils.MiniClusterResourceConfiguration;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.table.api.EnvironmentSettings;
+import org.apache.flink.table.api.TableResult;
+import org.apache.flink.table.api.bridge.java.StreamTableEnvironment;
+import org.apache.flink.table.planner.factories.TestValuesTableFactory;
+import org.apache.flink.test.util.MiniClusterWithClientResource;
+import org.apache.flink.util.CloseableIterator;
+import org.apache.flink.util.Collector;
+
+import com.ververica.cdc.connectors.tidb.TDBSourceOptions;
+import com.ververica.cdc.connectors.tidb.TiDBTestBase;
+import com.ververica.cdc.connectors.tidb.TiKVChangeEventDeserializationSchema;
+import com.ververica.cdc.connectors.tidb.TiKVSnapshotEventDeserializationSchema;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.tikv.common.key.RowKey;
+import org.tikv.kvproto.Cdcpb;
+import org.tikv.kvproto.Kvrpcpb;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** IT tests for {@link TiDBIncrementalSource} on a table split into several TiKV regions. */
+public class TiDBIncrementalSourceITCase extends TiDBTestBase {
+
+    private static final int DEFAULT_PARALLELISM = 2;
+
+    private static final String DATABASE = "region_split";
+
+    private static final int ROWS = 20_000;
+
+    @Rule public final Timeout timeoutPerTest = Timeout.seconds(300);
+
+    @Rule
+    public final MiniClusterWithClientResource miniClusterResource =
+            new MiniClusterWithClientResource(
+                    new MiniClusterResourceConfiguration.Builder()
+                            .setNumberTaskManagers(1)
+                            .setNumberSlotsPerTaskManager(DEFAULT_PARALLELISM)
+                            .setRpcServiceSharing(RpcServiceSharing.DEDICATED)
+                            .withHaLeadershipControl()
+                            .build());
+
+    private final StreamExecutionEnvironment env =
+            StreamExecutionEnvironment.getExecutionEnvironment()
+                    .setParallelism(DEFAULT_PARALLELISM);
+
+    @Before
+    public void before() throws Exception {
+        TestValuesTableFactory.clearAllData();
+        env.enableCheckpointing(200L);
+        env.setRestartStrategy(RestartStrategies.fixedDelayRestart(1, 0));
+
+        initializeTidbTable(DATABASE);
+        try (Connection connection = getJdbcConnection(DATABASE);
+                Statement statement = connection.createStatement()) {
+            final StringBuilder values = new StringBuilder();
+            for (int id = 0; id < ROWS; id++) {
+                values.append(values.length() == 0 ? "" : ",")
+                        .append(String.format("(%d,'product-%d')", id, id));
+                if ((id + 1) % 1000 == 0) {
+                    statement.execute("INSERT INTO products VALUES " + values);
+                    values.setLength(0);
+                }
+            }
+            assertTrue(countRegions(statement) > 1);
+        }
+    }
+
+    @Test
+    public void testStreamStartsAtSnapshotTs() throws Exception {
+        final TiDBIncrementalSource<String> source =
+                TiDBIncrementalSource.<String>builder()
+                        .database(DATABASE)
+                        .tableList("products")
+                        .tiConf(
+                                TDBSourceOptions.getTiConfiguration(
+                                        pdAddress(), Collections.emptyMap()))
+                        .snapshotEventDeserializer(new SnapshotKeyDeserializer())
+                        .changeEventDeserializer(new ChangeKeyDeserializer())
+                        .build();
+
+        try (CloseableIterator<String> events =
+                env.fromSource(source, WatermarkStrategy.noWatermarks(), "TiDB Source")
+                        .executeAndCollect()) {
+            final List<String> received = new ArrayList<>();
+            received.add(events.next());
+
+            // the rows change after the snapshot started, i.e. after its start ts
+            try (Connection connection = getJdbcConnection(DATABASE);
+                    Statement statement = connection.createStatement()) {
+                statement.execute("UPDATE products SET name='updated-1' WHERE id=1");
+                statement.execute("DELETE FROM products WHERE id=2");
+                statement.execute(
+                        String.format("INSERT INTO products VALUES (%d,'product-new')", ROWS));
+            }
+            while (received.size() < ROWS + 3) {
+                received.add(events.next());
+            }
+
+            // each region is read once at the start ts, the stream continues from the start ts
+            // without replaying the rows the snapshot has read
+            final Map<String, Integer> counts = new HashMap<>();
+            received.forEach(event -> counts.merge(event, 1, Integer::sum));
+            for (int id = 0; id < ROWS; id++) {
+                assertEquals("snapshot:" + id, 1, (int) counts.remove("snapshot:" + id));
+            }
+            final Map<String, Integer> expectedChanges = new HashMap<>();
+            for (String change : Arrays.asList("PUT:1", "DELETE:2", "PUT:" + ROWS)) {
+                expectedChanges.put(change, 1);
+            }
+            assertEquals(expectedChanges, counts);
+        }
+    }
+
+    @Test
+    public void testRestoreInsideRegionSplit() throws Exception {
+        final StreamTableEnvironment tEnv =
+                StreamTableEnvironment.create(
+                        env,
+                        EnvironmentSettings.newInstance()
+                                .useBlinkPlanner()
+                                .inStreamingMode()
+                                .build());
+        tEnv.executeSql(
+                String.format(
+                        "CREATE TABLE tidb_source ("
+                                + " `id` INT NOT NULL,"
+                                + " name STRING,"
+                                + " PRIMARY KEY (`id`) NOT ENFORCED"
+                                + ") WITH ("
+                                + " 'connector' = 'tidb-cdc',"
+                                + " 'scan.incremental.snapshot.enabled' = 'true',"
+                                + " 'tikv.grpc.timeout_in_ms' = '20000',"
+                                + " 'pd-addresses' = '%s',"
+                                + " 'database-name' = '%s',"
+                                + " 'table-name' = '%s'"
+                                + ")",
+                        pdAddress(), DATABASE, "products"));
+        tEnv.executeSql(
+                "CREATE TABLE sink ("
+                        + " `id` INT NOT NULL,"
+                        + " name STRING,"
+                        + " PRIMARY KEY (`id`) NOT ENFORCED"
+                        + ") WITH ("
+                        + " 'connector' = 'values',"
+                        + " 'sink-insert-only' = 'false'"
+                        + ")");
+        final TableResult result = tEnv.executeSql("INSERT INTO sink SELECT * FROM tidb_source");
+
+        // the region splits are checkpointed while they are scanned, the restored splits continue
+        // after the last emitted key at the same start ts
+        final TreeMap<Integer, String> expected = new TreeMap<>();
+        for (int id = 0; id < ROWS; id++) {
+            expected.put(id, "product-" + id);
+        }
+        waitForSinkSize("sink", 1);
+        restartTaskManager(miniClusterResource.getMiniCluster());
+        waitForSinkResults("sink", expected);
+
+        try (Connection connection = getJdbcConnection(DATABASE);
+                Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE products SET name='updated-1' WHERE id=1");
+            statement.execute("DELETE FROM products WHERE id=2");
+        }
+        expected.put(1, "updated-1");
+        expected.remove(2);
+        waitForSinkResults("sink", expected);
+
+        result.getJobClient().get().cancel().get();
+    }
+
+    private static String pdAddress() {
+        return PD.getContainerIpAddress() + ":" + PD.getMappedPort(PD_PORT_ORIGIN);
+    }
+
+    private static int countRegions(Statement statement) throws SQLException {
+        int regions = 0;
+        try (ResultSet resultSet = statement.executeQuery("SHOW TABLE products REGIONS")) {
+            while (resultSet.next()) {
+                regions++;
+            }
+        }
+        return regions;
+    }
+
+    private static void restartTaskManager(MiniCluster miniCluster) throws Exception {
+        miniCluster.terminateTaskManager(0).get();
+        Thread.sleep(100);
+        miniCluster.startTaskManager();
+    }
+
+    private static void waitForSinkSize(String sinkName, int expectedSize)
+            throws InterruptedException {
+        while (rawResults(sinkName).size() < expectedSize) {
+            Thread.sleep(100);
+        }
+    }
+
+    private static void waitForSinkResults(String sinkName, TreeMap<Integer, String> expected)
+            throws InterruptedException {
+        final List<String> sortedExpected = new ArrayList<>();
+        expected.forEach((id, name) -> sortedExpected.add(String.format("+I[%d, %s]", id, name)));
+        Collections.sort(sortedExpected);
+        while (!sortedExpected.equals(results(sinkName))) {
+            Thread.sleep(100);
+        }
+    }
+
+    private static List<String> rawResults(String sinkName) {
+        synchronized (TestValuesTableFactory.class) {
+            try {
+                return TestValuesTableFactory.getRawResults(sinkName);
+            } catch (IllegalArgumentException e) {
+                // job is not started yet
+                return Collections.emptyList();
+            }
+        }
+    }
+
+    private static List<String> results(String sinkName) {
+        synchronized (TestValuesTableFactory.class) {
+            try {
+                final List<String> results =
+                        new ArrayList<>(TestValuesTableFactory.getResults(sinkName));
+                Collections.sort(results);
+                return results;
+            } catch (IllegalArgumentException e) {
+                // job is not started yet
+                return Collections.emptyList();
+            }
+        }
+    }
+
+    /** Emits the handle of each snapshot row as {@code snapshot:<handle>}. */
+    private static class SnapshotKeyDeserializer
+            implements TiKVSnapshotEventDeserializationSchema<String> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void deserialize(Kvrpcpb.KvPair record, Collector<String> out) {
+            out.collect("snapshot:" + RowKey.decode(record.getKey().toByteArray()).getHandle());
+        }
+
+        @Override
+        public TypeInformation<String> getProducedType() {
+            return Types.STRING;
+        }
+    }
+
+    /** Emits the handle of each committed change as {@code <op type>:<handle>}. */
+    private static class ChangeKeyDeserializer
+            implements TiKVChangeEventDeserializationSchema<String> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void deserialize(Cdcpb.Event.Row record, Collector<String> out) {
+            out.collect(
+                    record.getOpType()
+                            + ":"
+                            + RowKey.decode(record.getKey().toByteArray()).getHandle());
+        }
+
+        @Override
+        public TypeInformation<String> getProducedType() {
+            return Types.STRING;
+        }
+    }
+}
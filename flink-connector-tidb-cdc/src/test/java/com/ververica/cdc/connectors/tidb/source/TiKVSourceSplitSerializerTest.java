@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.source;
+
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsState;
+import com.ververica.cdc.connectors.base.source.hybrid.enumerator.HybridPendingSplitsStateSerializer;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSnapshotSplit;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSnapshotSplitState;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplit;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVSourceSplitSerializer;
+import com.ververica.cdc.connectors.tidb.source.split.TiKVStreamSplit;
+import org.junit.Test;
+import org.tikv.common.key.RowKey;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for the serializers of {@link TiKVSourceSplit} and {@link HybridPendingSplitsState}. */
+public class TiKVSourceSplitSerializerTest {
+
+    private static final long TABLE_ID = 42L;
+
+    @Test
+    public void testSnapshotSplitSerde() throws Exception {
+        TiKVSnapshotSplit split = snapshotSplit("42:0", 0L, 100L);
+        assertEquals(split, serdeSplit(split));
+        assertEquals(split.asFinished(), serdeSplit(split.asFinished()));
+    }
+
+    @Test
+    public void testStreamSplitSerde() throws Exception {
+        TiKVStreamSplit split =
+                new TiKVStreamSplit(
+                        "stream-42",
+                        TABLE_ID,
+                        RowKey.createMin(TABLE_ID).getBytes(),
+                        RowKey.createBeyondMax(TABLE_ID).getBytes(),
+                        434_000_000L);
+        assertEquals(split, serdeSplit(split));
+    }
+
+    @Test
+    public void testSnapshotSplitStateKeepsProgress() throws Exception {
+        TiKVSnapshotSplit split = snapshotSplit("42:1", 100L, 200L);
+        TiKVSnapshotSplitState state = new TiKVSnapshotSplitState(split);
+        byte[] nextKey = RowKey.toRowKey(TABLE_ID, 150L).getBytes();
+        state.setNextKey(nextKey);
+
+        TiKVSnapshotSplit restored = serdeSplit(state.toSourceSplit()).asSnapshotSplit();
+        assertArrayEquals(nextKey, restored.getStartKey());
+        assertArrayEquals(split.getEndKey(), restored.getEndKey());
+        assertEquals(split.getStartTs(), restored.getStartTs());
+    }
+
+    @Test
+    public void testPendingSplitsStateSerde() throws Exception {
+        HybridPendingSplitsState<TiKVSourceSplit> state =
+                new HybridPendingSplitsState<>(
+                        true,
+                        Arrays.asList(snapshotSplit("42:2", 200L, 300L)),
+                        new HashSet<>(Arrays.asList("42:0", "42:1")),
+                        new HashSet<>(Collections.singletonList("42:0")),
+                        Collections.singletonList(
+                                new TiKVStreamSplit(
+                                        "stream-42",
+                                        TABLE_ID,
+                                        RowKey.createMin(TABLE_ID).getBytes(),
+                                        RowKey.createBeyondMax(TABLE_ID).getBytes(),
+                                        434_000_000L)));
+        HybridPendingSplitsStateSerializer<TiKVSourceSplit> serializer =
+                new HybridPendingSplitsStateSerializer<>(TiKVSourceSplitSerializer.INSTANCE);
+        HybridPendingSplitsState<TiKVSourceSplit> restored =
+                serializer.deserialize(serializer.getVersion(), serializer.serialize(state));
+        assertEquals(state, restored);
+        assertTrue(restored.isInitialized());
+    }
+
+    private static TiKVSnapshotSplit snapshotSplit(String splitId, long start, long end) {
+        return new TiKVSnapshotSplit(
+                splitId,
+                TABLE_ID,
+                RowKey.toRowKey(TABLE_ID, start).getBytes(),
+                RowKey.toRowKey(TABLE_ID, end).getBytes(),
+                434_000_000L,
+                false);
+    }
+
+    private static TiKVSourceSplit serdeSplit(TiKVSourceSplit split) throws Exception {
+        TiKVSourceSplitSerializer serializer = TiKVSourceSplitSerializer.INSTANCE;
+        return serializer.deserialize(serializer.getVersion(), serializer.serialize(split));
+    }
+}
@@ -30,6 +30,7 @@ import org.apache.flink.table.catalog.UniqueConstraint;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.factories.FactoryUtil;
 
+import com.ververica.cdc.connectors.tidb.TiKVChangeEventBuffer;
 import org.junit.Test;
 
 import java.util.ArrayList;
@@ -87,7 +88,10 @@ public class TiDBTableSourceFactoryTest {
                         MY_TABLE,
                         PD_ADDRESS,
                         StartupOptions.latest(),
-                        OPTIONS);
+                        OPTIONS,
+                        false,
+                        false,
+                        TiKVChangeEventBuffer.UNBOUNDED);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -100,6 +104,9 @@ public class TiDBTableSourceFactoryTest {
         properties.put("tikv.batch_put_concurrency", "4");
         properties.put("tikv.batch_scan_concurrency", "4");
         properties.put("tikv.batch_delete_concurrency", "4");
+        properties.put("scan.converter-code-generation.enabled", "true");
+        properties.put("scan.incremental.snapshot.enabled", "true");
+        properties.put("scan.change-event-buffer.max-rows", "10000");
 
         // validation for source
         DynamicTableSource actualSource = createTableSource(properties);
@@ -117,7 +124,10 @@ public class TiDBTableSourceFactoryTest {
                         MY_TABLE,
                         PD_ADDRESS,
                         StartupOptions.latest(),
-                        options);
+                        options,
+                        true,
+                        true,
+                        10000);
         assertEquals(expectedSource, actualSource);
     }
 
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.table.utils;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Unit tests for {@link ColumnValueRange}. */
+public class ColumnValueRangeTest {
+
+    private static final FieldReferenceExpression ID =
+            new FieldReferenceExpression("id", DataTypes.BIGINT(), 0, 0);
+    private static final FieldReferenceExpression NAME =
+            new FieldReferenceExpression("name", DataTypes.STRING(), 0, 1);
+
+    @Test
+    public void testRangesFromFilters() {
+        ResolvedExpression lower =
+                call(BuiltInFunctionDefinitions.GREATER_THAN, ID, new ValueLiteralExpression(10L));
+        // literal first, 100 >= id
+        ResolvedExpression upper =
+                call(
+                        BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL,
+                        new ValueLiteralExpression(100L),
+                        ID);
+        ResolvedExpression name =
+                call(BuiltInFunctionDefinitions.EQUALS, NAME, new ValueLiteralExpression("a"));
+
+        List<ResolvedExpression> accepted = new ArrayList<>();
+        List<ColumnValueRange> ranges =
+                ColumnValueRange.fromFilters(Arrays.asList(lower, name, upper), accepted);
+
+        assertEquals(Collections.singletonList(new ColumnValueRange("id", 11L, 100L)), ranges);
+        assertEquals(Arrays.asList(lower, upper), accepted);
+    }
+
+    @Test
+    public void testContradictingFilters() {
+        List<ColumnValueRange> ranges =
+                ColumnValueRange.fromFilters(
+                        Arrays.asList(
+                                call(
+                                        BuiltInFunctionDefinitions.EQUALS,
+                                        ID,
+                                        new ValueLiteralExpression(5L)),
+                                call(
+                                        BuiltInFunctionDefinitions.LESS_THAN,
+                                        ID,
+                                        new ValueLiteralExpression(5L))),
+                        new ArrayList<>());
+
+        assertEquals(1, ranges.size());
+        assertTrue(ranges.get(0).isEmpty());
+    }
+
+    private static CallExpression call(
+            FunctionDefinition function, ResolvedExpression left, ResolvedExpression right) {
+        return new CallExpression(function, Arrays.asList(left, right), DataTypes.BOOLEAN());
+    }
+}
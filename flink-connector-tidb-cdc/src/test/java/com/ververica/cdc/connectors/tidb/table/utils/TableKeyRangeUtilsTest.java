@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ververica.cdc.connectors.tidb.table.utils;
+
+import org.junit.Test;
+import org.tikv.common.key.RowKey;
+import org.tikv.kvproto.Coprocessor.KeyRange;
+import org.tikv.shade.com.google.protobuf.ByteString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/** Unit tests for {@link TableKeyRangeUtils}. */
+public class TableKeyRangeUtilsTest {
+
+    private static final long TABLE_ID = 42L;
+
+    @Test
+    public void testKeyRangesFollowRegions() {
+        // 7 regions with the rows concentrated at the end of the handle space
+        List<byte[]> splitKeys = new ArrayList<>();
+        for (long handle = Long.MAX_VALUE - 6_000L; handle < Long.MAX_VALUE; handle += 1_000L) {
+            splitKeys.add(RowKey.toRowKey(TABLE_ID, handle).getBytes());
+        }
+
+        List<KeyRange> ranges = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ranges.add(TableKeyRangeUtils.getTableKeyRange(TABLE_ID, splitKeys, 3, i));
+        }
+
+        // regions [0, 2), [2, 4), [4, 7)
+        assertEquals(RowKey.createMin(TABLE_ID).toByteString(), ranges.get(0).getStart());
+        assertEquals(key(splitKeys.get(1)), ranges.get(0).getEnd());
+        assertEquals(key(splitKeys.get(1)), ranges.get(1).getStart());
+        assertEquals(key(splitKeys.get(3)), ranges.get(1).getEnd());
+        assertEquals(key(splitKeys.get(3)), ranges.get(2).getStart());
+        assertEquals(RowKey.createBeyondMax(TABLE_ID).toByteString(), ranges.get(2).getEnd());
+    }
+
+    @Test
+    public void testFallbackToEvenSplit() {
+        List<byte[]> fewRegions =
+                Collections.singletonList(RowKey.toRowKey(TABLE_ID, 100L).getBytes());
+        assertEquals(
+                TableKeyRangeUtils.getTableKeyRange(TABLE_ID, 4, 1),
+                TableKeyRangeUtils.getTableKeyRange(TABLE_ID, fewRegions, 4, 1));
+
+        List<byte[]> otherTable =
+                Arrays.asList(
+                        RowKey.toRowKey(TABLE_ID + 1, 1L).getBytes(),
+                        RowKey.toRowKey(TABLE_ID + 1, 2L).getBytes());
+        assertEquals(
+                TableKeyRangeUtils.getTableKeyRange(TABLE_ID, 2, 0),
+                TableKeyRangeUtils.getTableKeyRange(TABLE_ID, otherTable, 2, 0));
+    }
+
+    private static ByteString key(byte[] bytes) {
+        return ByteString.copyFrom(bytes);
+    }
+}